@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Random;
+
+/**
+ * Draws random indices with probability proportional to a fixed list of weights, taking O(1) time per draw no matter
+ * how many weights there are. This uses Vose's alias method: building takes O(n) time and stores, for each index, the
+ * chance to keep that index and an "alias" index to use otherwise. A draw picks one index uniformly, then flips one
+ * biased coin.
+ * <p>
+ * The weights can't change without rebuilding the whole table with {@link #set(FloatList)} or a similar method; if
+ * weights change often, {@link FenwickSampler} takes O(log n) time per draw but only O(log n) time per weight change.
+ * Draws can pick an item from an {@link ObjectList} or {@link IntList} that is parallel to the weights, using
+ * {@link #sample(Random, ObjectList)} or {@link #sample(Random, IntList)}, without boxing.
+ *
+ * @author Tommy Ettinger
+ * @see FenwickSampler
+ */
+public class AliasSampler {
+	/**
+	 * For each index, the chance of keeping that index when it is chosen uniformly, from 0.0 to 1.0.
+	 */
+	protected double[] probability;
+	/**
+	 * For each index, the index to use when the coin flip with {@link #probability} fails.
+	 */
+	protected int[] alias;
+	protected int size;
+
+	/**
+	 * Creates an empty AliasSampler; {@link #sampleIndex(Random)} will return -1 until weights are set.
+	 */
+	public AliasSampler () {
+		probability = new double[0];
+		alias = Utilities.EMPTY_INTS;
+	}
+
+	/**
+	 * Creates an AliasSampler using the given weights.
+	 *
+	 * @param weights non-negative, finite weights, with at least one greater than 0
+	 */
+	public AliasSampler (FloatList weights) {
+		this();
+		set(weights);
+	}
+
+	/**
+	 * Creates an AliasSampler using the given weights.
+	 *
+	 * @param weights non-negative, finite weights, with at least one greater than 0
+	 */
+	public AliasSampler (DoubleList weights) {
+		this();
+		set(weights);
+	}
+
+	/**
+	 * Creates an AliasSampler using the given weights.
+	 *
+	 * @param weights non-negative, finite weights, with at least one greater than 0
+	 */
+	public AliasSampler (float[] weights) {
+		this();
+		set(weights, 0, weights.length);
+	}
+
+	/**
+	 * Creates an AliasSampler using the given weights.
+	 *
+	 * @param weights non-negative, finite weights, with at least one greater than 0
+	 */
+	public AliasSampler (double[] weights) {
+		this();
+		set(weights, 0, weights.length);
+	}
+
+	/**
+	 * Rebuilds this with the given weights, reusing this sampler's arrays if they are large enough.
+	 *
+	 * @param weights non-negative, finite weights, with at least one greater than 0
+	 * @return this, for chaining
+	 */
+	public AliasSampler set (FloatList weights) {
+		return set(weights.items, 0, weights.size());
+	}
+
+	/**
+	 * Rebuilds this with the given weights, reusing this sampler's arrays if they are large enough.
+	 *
+	 * @param weights non-negative, finite weights, with at least one greater than 0
+	 * @return this, for chaining
+	 */
+	public AliasSampler set (DoubleList weights) {
+		return set(weights.items, 0, weights.size());
+	}
+
+	/**
+	 * Rebuilds this with {@code length} weights from {@code weights}, starting at {@code offset}.
+	 *
+	 * @param weights an array of non-negative, finite weights, with at least one greater than 0 in the given range
+	 * @param offset  the first index in weights to use
+	 * @param length  how many weights to use
+	 * @return this, for chaining
+	 * @throws IllegalArgumentException if a weight is negative or not finite, or if all weights are 0
+	 */
+	public AliasSampler set (float[] weights, int offset, int length) {
+		double[] p = prepare(length);
+		double total = 0.0;
+		for (int i = 0; i < length; i++) {
+			total += (p[i] = check(weights[offset + i]));
+		}
+		build(total);
+		return this;
+	}
+
+	/**
+	 * Rebuilds this with {@code length} weights from {@code weights}, starting at {@code offset}.
+	 *
+	 * @param weights an array of non-negative, finite weights, with at least one greater than 0 in the given range
+	 * @param offset  the first index in weights to use
+	 * @param length  how many weights to use
+	 * @return this, for chaining
+	 * @throws IllegalArgumentException if a weight is negative or not finite, or if all weights are 0
+	 */
+	public AliasSampler set (double[] weights, int offset, int length) {
+		double[] p = prepare(length);
+		double total = 0.0;
+		for (int i = 0; i < length; i++) {
+			total += (p[i] = check(weights[offset + i]));
+		}
+		build(total);
+		return this;
+	}
+
+	private double[] prepare (int length) {
+		if (probability.length < length) {
+			probability = new double[length];
+			alias = new int[length];
+		}
+		size = length;
+		return probability;
+	}
+
+	static double check (double weight) {
+		if (!(weight >= 0.0 && weight <= Double.MAX_VALUE))
+			throw new IllegalArgumentException("Weights must be non-negative and finite, but got " + weight);
+		return weight;
+	}
+
+	/**
+	 * Vose's alias method, run on the first {@link #size} items of {@link #probability}, which hold the raw weights.
+	 * The worklists of small and large indices share one array, with small ones growing up from the start and large ones
+	 * growing down from the end, since every index is in exactly one of them.
+	 */
+	private void build (double total) {
+		final int n = size;
+		if (n == 0) {return;}
+		if (!(total > 0.0) || total > Double.MAX_VALUE)
+			throw new IllegalArgumentException("Weights must have a finite, positive sum, but the sum was " + total);
+		final double[] p = probability;
+		final int[] alias = this.alias;
+		final int[] work = new int[n];
+		final double scale = n / total;
+		int small = 0, large = n, fallback = 0;
+		for (int i = 0; i < n; i++) {
+			p[i] *= scale;
+			if (p[i] < 1.0) {work[small++] = i;} else {work[--large] = i;}
+		}
+		while (small > 0 && large < n) {
+			final int s = work[--small], l = work[large++];
+			alias[s] = fallback = l;
+			p[l] += p[s] - 1.0;
+			if (p[l] < 1.0) {work[small++] = l;} else {work[--large] = l;}
+		}
+		// Anything left over is 1.0 except for rounding error.
+		while (large < n) {
+			final int l = work[large++];
+			p[l] = 1.0;
+			alias[l] = l;
+		}
+		// Rounding error can leave a small index with no partner; it keeps its own chance and falls back to an index
+		// that was large at some point, so a weight of 0 still can't be drawn.
+		while (small > 0) {
+			final int s = work[--small];
+			alias[s] = fallback;
+		}
+	}
+
+	/**
+	 * Gets a random index from 0 (inclusive) to {@link #size()} (exclusive), with each index chosen with probability
+	 * proportional to its weight; an index with weight 0 is never chosen. Returns -1 if this is empty.
+	 *
+	 * @param random a {@link Random} or a subclass, such as any from juniper
+	 * @return a randomly chosen index, or -1 if this is empty
+	 */
+	public int sampleIndex (Random random) {
+		if (size == 0) {return -1;}
+		final int i = random.nextInt(size);
+		return random.nextDouble() < probability[i] ? i : alias[i];
+	}
+
+	/**
+	 * Gets the item in {@code payload} at an index chosen by {@link #sampleIndex(Random)}, or null if this is empty.
+	 *
+	 * @param random  a {@link Random} or a subclass, such as any from juniper
+	 * @param payload items parallel to the weights; must have at least {@link #size()} items
+	 * @param <T>     the type of items in payload
+	 * @return a randomly chosen item from payload, or null if this is empty
+	 */
+	public <T> @Nullable T sample (Random random, ObjectList<T> payload) {
+		final int i = sampleIndex(random);
+		return i < 0 ? null : payload.get(i);
+	}
+
+	/**
+	 * Gets the item in {@code payload} at an index chosen by {@link #sampleIndex(Random)}, or 0 if this is empty.
+	 *
+	 * @param random  a {@link Random} or a subclass, such as any from juniper
+	 * @param payload items parallel to the weights; must have at least {@link #size()} items
+	 * @return a randomly chosen item from payload, or 0 if this is empty
+	 */
+	public int sample (Random random, IntList payload) {
+		final int i = sampleIndex(random);
+		return i < 0 ? 0 : payload.get(i);
+	}
+
+	/**
+	 * Gets how many weights this samples from.
+	 */
+	public int size () {
+		return size;
+	}
+
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Gets the probability that {@link #sampleIndex(Random)} returns {@code index}, which is its weight divided by the
+	 * total of all weights. This takes O(n) time, since the table doesn't store the original weights.
+	 *
+	 * @param index an index from 0 (inclusive) to {@link #size()} (exclusive)
+	 * @return the probability of drawing index, from 0.0 to 1.0
+	 */
+	public double chanceOf (int index) {
+		if (index < 0 || index >= size) {return 0.0;}
+		double sum = probability[index];
+		for (int i = 0; i < size; i++) {
+			if (alias[i] == index && i != index) {sum += 1.0 - probability[i];}
+		}
+		return sum / size;
+	}
+
+	/**
+	 * Removes all weights; this keeps the arrays it already allocated.
+	 */
+	public void clear () {
+		size = 0;
+	}
+
+	@Override
+	public String toString () {
+		final double[] chances = new double[size];
+		for (int i = 0; i < size; i++) {
+			chances[i] += probability[i];
+			chances[alias[i]] += 1.0 - probability[i];
+		}
+		StringBuilder sb = new StringBuilder(size * 8 + 2).append('[');
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {sb.append(", ");}
+			sb.append(chances[i] / size);
+		}
+		return sb.append(']').toString();
+	}
+}
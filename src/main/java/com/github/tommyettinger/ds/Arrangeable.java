@@ -82,6 +82,37 @@ public interface Arrangeable {
 		for (int i = size() - 1; i > 0; i--) swap(i, Hasher.randomize2Bounded(++seed, i + 1));
 	}
 
+	/**
+	 * Rearranges this Arrangeable in-place so that the item at each index {@code i} afterward is the item that was at
+	 * index {@code permutation.get(i)} before. This is the form of permutation returned by the {@code argsort()} methods
+	 * on lists such as {@link IntList#argsort(com.github.tommyettinger.ds.support.sort.IntComparator)}, so applying the
+	 * result of argsort to the list it came from sorts that list, and applying it to any other Arrangeable with the same
+	 * size moves that Arrangeable's items the same way.
+	 * <br>
+	 * This follows each cycle of the permutation using {@link #swap(int, int)}, so it doesn't copy the items; the only
+	 * allocation is one bit per index to remember which indices are already in place. The permutation is not modified,
+	 * so it can be applied to several Arrangeables.
+	 *
+	 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+	 * @throws IllegalArgumentException if permutation has a different size or is not a valid permutation; nothing is
+	 *                                  rearranged in either case
+	 */
+	default void applyPermutation (IntList permutation) {
+		final int n = size();
+		if (permutation.size() != n)
+			throw new IllegalArgumentException("The permutation must have the same size as this Arrangeable.");
+		final int[] order = Utilities.checkPermutation(permutation, n, false);
+		final long[] done = new long[n + 63 >>> 6];
+		for (int i = 0; i < n; i++) {
+			if ((done[i >>> 6] & 1L << i) != 0L) continue;
+			done[i >>> 6] |= 1L << i;
+			for (int j = i, k; (k = order[j]) != i; j = k) {
+				swap(j, k);
+				done[k >>> 6] |= 1L << k;
+			}
+		}
+	}
+
 	/**
 	 * An empty interface that merges Arrangeable and java.util.List APIs.
 	 * This is only really meant to make {@link Select} and {@link QuickSelect} able to take more List types
@@ -18,6 +18,7 @@ package com.github.tommyettinger.ds;
 
 import com.github.tommyettinger.ds.support.sort.BooleanComparator;
 import com.github.tommyettinger.ds.support.sort.BooleanComparators;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
 import com.github.tommyettinger.ds.support.util.BooleanIterator;
 import com.github.tommyettinger.function.BooleanPredicate;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -509,8 +510,8 @@ public class BooleanDeque extends BooleanList implements RandomAccess, Arrangeab
 				if (index > 0)
 					System.arraycopy(items, head, newArray, 0, index);
 				this.head = 0;
-				System.arraycopy(items, head + index, newArray, index + gapSize, size - head - index);
-				this.tail += gapSize;
+				System.arraycopy(items, head + index, newArray, index + gapSize, size - index);
+				this.tail = size + gapSize - 1;
 			} else {
 				// Wrapped
 				final int headPart = items.length - head;
@@ -522,6 +523,7 @@ public class BooleanDeque extends BooleanList implements RandomAccess, Arrangeab
 					System.arraycopy(items, 0, newArray, index + gapSize + headPart - index, tail + 1);
 					this.tail = size + gapSize - 1;
 				} else {
+					this.head = 0;
 					System.arraycopy(items, head, newArray, 0, headPart);
 					int wrapped = index - headPart; // same as: head + index - values.length;
 					System.arraycopy(items, 0, newArray, headPart, wrapped);
@@ -1083,6 +1085,24 @@ public class BooleanDeque extends BooleanList implements RandomAccess, Arrangeab
 		return addAll(array, 0, array.length);
 	}
 
+	/**
+	 * Adds every remaining item from {@code it} to the tail of this deque, reading it in batches with
+	 * {@link BooleanIterator#nextBatch(boolean[], int, int)}.
+	 *
+	 * @param it a BooleanIterator; it will have no items remaining after this call
+	 * @return true if this deque was modified
+	 */
+	@Override
+	public boolean addAll (BooleanIterator it) {
+		if (!it.hasNext()) {return false;}
+		final boolean[] buffer = new boolean[64];
+		int n;
+		while ((n = it.nextBatch(buffer, 0, buffer.length)) > 0) {
+			addAll(buffer, 0, n);
+		}
+		return true;
+	}
+
 	/**
 	 * Like {@link #addAll(boolean[])}, but only uses at most {@code length} items from {@code array}, starting at {@code offset}.
 	 * @see #addAll(boolean[])
@@ -1426,11 +1446,12 @@ public class BooleanDeque extends BooleanList implements RandomAccess, Arrangeab
 	 */
 	public boolean @NonNull [] toArray () {
 		boolean[] next = new boolean[size];
+		if (size == 0) return next;
 		if (head <= tail) {
 			System.arraycopy(items, head, next, 0, tail - head + 1);
 		} else {
-			System.arraycopy(items, head, next, 0, size - head);
-			System.arraycopy(items, 0, next, size - head, tail + 1);
+			System.arraycopy(items, head, next, 0, items.length - head);
+			System.arraycopy(items, 0, next, items.length - head, tail + 1);
 		}
 		return next;
 	}
@@ -1439,11 +1460,12 @@ public class BooleanDeque extends BooleanList implements RandomAccess, Arrangeab
 	public boolean[] toArray(boolean[] array) {
 		if (array.length < size)
 			array = new boolean[size];
+		if (size == 0) return array;
 		if (head <= tail) {
 			System.arraycopy(items, head, array, 0, tail - head + 1);
 		} else {
-			System.arraycopy(items, head, array, 0, size - head);
-			System.arraycopy(items, 0, array, size - head, tail + 1);
+			System.arraycopy(items, head, array, 0, items.length - head);
+			System.arraycopy(items, 0, array, items.length - head, tail + 1);
 		}
 		return array;
 	}
@@ -2398,6 +2420,61 @@ public class BooleanDeque extends BooleanList implements RandomAccess, Arrangeab
 		}
 	}
 
+	/**
+	 * Like {@link BooleanList#argsort(BooleanComparator)}, but reads the items in deque order, so index 0 is the head.
+	 *
+	 * @param c the comparator to determine the order of the BooleanDeque; if null, this uses the natural order
+	 * @return a new IntList holding every index of this BooleanDeque, sorted by the item at each index
+	 */
+	@Override
+	public IntList argsort (@Nullable final BooleanComparator c) {
+		final boolean[] items = toArray();
+		final BooleanComparator comp = c == null ? BooleanComparators.NATURAL_COMPARATOR : c;
+		final int n = size;
+		final IntList order = new IntList(n);
+		final int[] indices = order.setSize(n);
+		for (int i = 0; i < n; i++) {
+			indices[i] = i;
+		}
+		IntComparators.mergeSort(indices, 0, n, (a, b) -> comp.compare(items[a], items[b]));
+		return order;
+	}
+	/**
+	 * Rearranges this BooleanDeque in-place so that the item at each index {@code i} afterward is the item that was at
+	 * index {@code permutation.get(i)} before, where index 0 is the head. Like
+	 * {@link BooleanList#applyPermutation(IntList)}, this moves items along each cycle of the permutation.
+	 *
+	 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+	 * @throws IllegalArgumentException if permutation has a different size or is not a valid permutation; nothing is
+	 *                                  rearranged in either case
+	 */
+	@Override
+	public void applyPermutation (IntList permutation) {
+		final int n = size;
+		if (permutation.size() != n)
+			throw new IllegalArgumentException("The permutation must have the same size as this BooleanDeque.");
+		final int[] order = Utilities.checkPermutation(permutation, n, false);
+		final boolean[] items = this.items;
+		final int head = this.head, cap = items.length;
+		final long[] done = new long[n + 63 >>> 6];
+		for (int i = 0; i < n; i++) {
+			if ((done[i >>> 6] & 1L << i) != 0L) continue;
+			done[i >>> 6] |= 1L << i;
+			int j = i, k, pj = head + i;
+			if (pj >= cap) pj -= cap;
+			final boolean temp = items[pj];
+			while ((k = order[j]) != i) {
+				int pk = head + k;
+				if (pk >= cap) pk -= cap;
+				items[pj] = items[pk];
+				done[k >>> 6] |= 1L << k;
+				j = k;
+				pj = pk;
+			}
+			items[pj] = temp;
+		}
+	}
+
 	/**
 	 * Gets a randomly selected item from this BooleanDeque. Throws a {@link NoSuchElementException} if empty.
 	 * @param random any Random or subclass of it, such as {@link com.github.tommyettinger.digital.AlternateRandom}.
@@ -2454,6 +2531,32 @@ public class BooleanDeque extends BooleanList implements RandomAccess, Arrangeab
             return list.get(latest);
 		}
 
+		/**
+		 * When iterating forward, this copies up to {@code max} items with at most two array copies, one for each side
+		 * of where the deque's storage wraps around; in descending order, this copies one item at a time.
+		 */
+		@Override
+		public int nextBatch (boolean[] dest, int offset, int max) {
+			if (direction != 1) {
+				int count = 0;
+				while (count < max && hasNext()) {dest[offset + count++] = nextBoolean();}
+				return count;
+			}
+			if (!valid) {throw new RuntimeException("#iterator() cannot be used nested.");}
+			final BooleanDeque deque = (BooleanDeque)list;
+			final int n = Math.min(max, deque.size - index);
+			if (n <= 0) {return 0;}
+			final boolean[] items = deque.items;
+			int start = deque.head + index;
+			if (start >= items.length) {start -= items.length;}
+			final int first = Math.min(n, items.length - start);
+			System.arraycopy(items, start, dest, offset, first);
+			System.arraycopy(items, 0, dest, offset + first, n - first);
+			index += n;
+			latest = index - 1;
+			return n;
+		}
+
 		/**
 		 * Returns {@code true} if the iteration has more elements.
 		 * (In other words, returns {@code true} if {@link #next} would
@@ -18,6 +18,8 @@ package com.github.tommyettinger.ds;
 
 import com.github.tommyettinger.ds.support.sort.BooleanComparator;
 import com.github.tommyettinger.ds.support.sort.BooleanComparators;
+import com.github.tommyettinger.ds.support.sort.IntComparator;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
 import com.github.tommyettinger.ds.support.util.BooleanIterator;
 import com.github.tommyettinger.function.BooleanPredicate;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -256,6 +258,26 @@ public class BooleanList implements PrimitiveCollection.OfBoolean, Ordered.OfBoo
 		return changed;
 	}
 
+	/**
+	 * Adds every remaining item from {@code it} to the end of this list, reading batches straight into the backing
+	 * array with {@link BooleanIterator#nextBatch(boolean[], int, int)}.
+	 *
+	 * @param it a BooleanIterator; it will have no items remaining after this call
+	 * @return true if this list was modified
+	 */
+	@Override
+	public boolean addAll (BooleanIterator it) {
+		if (!it.hasNext()) {return false;}
+		final int start = size;
+		int n;
+		do {
+			if (size == items.length) {ensureCapacity(1);}
+			n = it.nextBatch(items, size, items.length - size);
+			size += n;
+		} while (n > 0);
+		return size != start;
+	}
+
 	// Modified from libGDX
 	public boolean addAll (boolean... array) {
 		return addAll(array, 0, array.length);
@@ -327,6 +349,28 @@ public class BooleanList implements PrimitiveCollection.OfBoolean, Ordered.OfBoo
 		return count > 0;
 	}
 
+	/**
+	 * Returns a view of {@code count} items of this list, starting at {@code offset}, that shares this list's storage
+	 * instead of copying it. Setting items in the view, or sorting or rearranging it, writes through to this list.
+	 *
+	 * @param offset the first index to view
+	 * @param count  how many items to view
+	 * @return a new BooleanListView over the given range
+	 */
+	public BooleanListView slice (int offset, int count) {
+		if (count < 0) {throw new IndexOutOfBoundsException("count can't be negative: " + count);}
+		return new BooleanListView(this, offset, count, true);
+	}
+
+	/**
+	 * Returns a view of this whole list that can't change it, and that still sees any items added to this later.
+	 *
+	 * @return a new read-only BooleanListView over this list
+	 */
+	public BooleanListView readOnlyView () {
+		return new BooleanListView(this, 0, -1, false);
+	}
+
 	/**
 	 * Returns this BooleanList, since it is its own order. This is only here to satisfy
 	 * the {@link Ordered.OfBoolean} interface.
@@ -677,6 +721,86 @@ public class BooleanList implements PrimitiveCollection.OfBoolean, Ordered.OfBoo
 		BooleanComparators.sort(items, from, to, c);
 	}
 
+	/**
+	 * Gets the indices of this BooleanList's items in the order that {@link #sort(BooleanComparator)} would put them in,
+	 * without changing this BooleanList. The result can be passed to {@link #applyPermutation(IntList)} on this or any
+	 * other {@link Arrangeable} with the same size to move their items into that order. Like sort(), this is stable,
+	 * so indices of equal items stay in ascending order. This uses
+	 * {@link IntComparators#mergeSort(int[], int, int, IntComparator)}, which allocates a temporary int array.
+	 *
+	 * @param c the comparator to determine the order of the BooleanList; if null, this uses the natural order
+	 * @return a new IntList holding every index of this BooleanList, sorted by the item at each index
+	 */
+	public IntList argsort (@Nullable final BooleanComparator c) {
+		final boolean[] items = this.items;
+		final BooleanComparator comp = c == null ? BooleanComparators.NATURAL_COMPARATOR : c;
+		final int n = size;
+		final IntList order = new IntList(n);
+		final int[] indices = order.setSize(n);
+		for (int i = 0; i < n; i++) {
+			indices[i] = i;
+		}
+		IntComparators.mergeSort(indices, 0, n, (a, b) -> comp.compare(items[a], items[b]));
+		return order;
+	}
+
+	/**
+	 * Sorts this BooleanList using {@code c}, and rearranges each of {@code others} in the same way, so items that were
+	 * at the same index in this and in another Arrangeable are still at the same index as each other afterward. This
+	 * is useful when several lists of the same size hold different columns of the same rows. The sort is stable.
+	 * <br>
+	 * This calls {@link #argsort(BooleanComparator)} once, then {@link #applyPermutation(IntList)} on this and on each
+	 * of others.
+	 *
+	 * @param c      the comparator to determine the order of the BooleanList; if null, this uses the natural order
+	 * @param others any number of Arrangeables that must each have the same size as this BooleanList
+	 * @return the permutation that was applied, as returned by {@link #argsort(BooleanComparator)}
+	 * @throws IllegalArgumentException if any of others has a different size; nothing is rearranged in that case
+	 */
+	public IntList coSort (@Nullable final BooleanComparator c, Arrangeable... others) {
+		for (Arrangeable other : others) {
+			if (other.size() != size)
+				throw new IllegalArgumentException("Every Arrangeable must have the same size as this BooleanList.");
+		}
+		final IntList order = argsort(c);
+		applyPermutation(order);
+		for (Arrangeable other : others) {
+			other.applyPermutation(order);
+		}
+		return order;
+	}
+
+	/**
+	 * Rearranges this BooleanList in-place so that the item at each index {@code i} afterward is the item that was at
+	 * index {@code permutation.get(i)} before. This moves items directly along each cycle of the permutation, so it
+	 * writes each item once and doesn't copy the list; the only allocation is one bit per index.
+	 *
+	 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+	 * @throws IllegalArgumentException if permutation has a different size or is not a valid permutation; nothing is
+	 *                                  rearranged in either case
+	 */
+	@Override
+	public void applyPermutation (IntList permutation) {
+		final int n = size;
+		if (permutation.size() != n)
+			throw new IllegalArgumentException("The permutation must have the same size as this BooleanList.");
+		final int[] order = Utilities.checkPermutation(permutation, n, false);
+		final boolean[] items = this.items;
+		final long[] done = new long[n + 63 >>> 6];
+		for (int i = 0; i < n; i++) {
+			if ((done[i >>> 6] & 1L << i) != 0L) continue;
+			done[i >>> 6] |= 1L << i;
+			final boolean temp = items[i];
+			int j = i, k;
+			while ((k = order[j]) != i) {
+				items[j] = items[k];
+				done[k >>> 6] |= 1L << k;
+				j = k;
+			}
+			items[j] = temp;
+		}
+	}
+
 	@Override
 	public void reverse () {
 		boolean[] items = this.items;
@@ -838,6 +962,21 @@ public class BooleanList implements PrimitiveCollection.OfBoolean, Ordered.OfBoo
 			return list.get(latest = index++);
 		}
 
+		/**
+		 * Copies up to {@code max} items from the list straight into {@code dest} with one array copy. After this,
+		 * {@link #remove()} and {@link #set(boolean)} affect the last item copied.
+		 */
+		@Override
+		public int nextBatch (boolean[] dest, int offset, int max) {
+			if (!valid) {throw new RuntimeException("#iterator() cannot be used nested.");}
+			final int n = Math.min(max, list.size() - index);
+			if (n <= 0) {return 0;}
+			System.arraycopy(list.items, index, dest, offset, n);
+			index += n;
+			latest = index - 1;
+			return n;
+		}
+
 		/**
 		 * Returns {@code true} if the iteration has more elements.
 		 * (In other words, returns {@code true} if {@link #nextBoolean} would
@@ -18,6 +18,8 @@ package com.github.tommyettinger.ds;
 
 import com.github.tommyettinger.ds.support.sort.ByteComparator;
 import com.github.tommyettinger.ds.support.sort.ByteComparators;
+import com.github.tommyettinger.ds.support.sort.IntComparator;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
 import com.github.tommyettinger.ds.support.util.ByteIterator;
 import com.github.tommyettinger.function.ByteToByteFunction;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -37,6 +39,12 @@ import java.util.Random;
  * @see ByteBag ByteBag is an unordered variant on ByteList.
  */
 public class ByteList implements PrimitiveCollection.OfByte, Ordered.OfByte, Arrangeable {
+	/**
+	 * When one sorted list is more than {@code 1 << GALLOP_SHIFT} times as large as the other, the sorted-list
+	 * operations such as {@link #intersectSorted(ByteList, ByteList)} use galloping search instead of a linear merge.
+	 */
+	protected static final int GALLOP_SHIFT = 4;
+
 	/**
 	 * Returns true if this implementation retains order, which it does.
 	 * @return true
@@ -257,6 +265,26 @@ public class ByteList implements PrimitiveCollection.OfByte, Ordered.OfByte, Arr
 		return changed;
 	}
 
+	/**
+	 * Adds every remaining item from {@code it} to the end of this list, reading batches straight into the backing
+	 * array with {@link ByteIterator#nextBatch(byte[], int, int)}.
+	 *
+	 * @param it a ByteIterator; it will have no items remaining after this call
+	 * @return true if this list was modified
+	 */
+	@Override
+	public boolean addAll (ByteIterator it) {
+		if (!it.hasNext()) {return false;}
+		final int start = size;
+		int n;
+		do {
+			if (size == items.length) {ensureCapacity(1);}
+			n = it.nextBatch(items, size, items.length - size);
+			size += n;
+		} while (n > 0);
+		return size != start;
+	}
+
 	// Modified from libGDX
 	public boolean addAll (byte... array) {
 		return addAll(array, 0, array.length);
@@ -419,6 +447,28 @@ public class ByteList implements PrimitiveCollection.OfByte, Ordered.OfByte, Arr
 		return count > 0;
 	}
 
+	/**
+	 * Returns a view of {@code count} items of this list, starting at {@code offset}, that shares this list's storage
+	 * instead of copying it. Setting items in the view, or sorting or rearranging it, writes through to this list.
+	 *
+	 * @param offset the first index to view
+	 * @param count  how many items to view
+	 * @return a new ByteListView over the given range
+	 */
+	public ByteListView slice (int offset, int count) {
+		if (count < 0) {throw new IndexOutOfBoundsException("count can't be negative: " + count);}
+		return new ByteListView(this, offset, count, true);
+	}
+
+	/**
+	 * Returns a view of this whole list that can't change it, and that still sees any items added to this later.
+	 *
+	 * @return a new read-only ByteListView over this list
+	 */
+	public ByteListView readOnlyView () {
+		return new ByteListView(this, 0, -1, false);
+	}
+
 	/**
 	 * Returns this ByteList, since it is its own order. This is only here to satisfy
 	 * the {@link Ordered.OfByte} interface.
@@ -771,6 +821,449 @@ public class ByteList implements PrimitiveCollection.OfByte, Ordered.OfByte, Arr
 		ByteComparators.sort(items, from, to, c);
 	}
 
+	/**
+	 * Gets the indices of this ByteList's items in the order that {@link #sort(ByteComparator)} would put them in,
+	 * without changing this ByteList. The result can be passed to {@link #applyPermutation(IntList)} on this or any
+	 * other {@link Arrangeable} with the same size to move their items into that order. Like sort(), this is stable,
+	 * so indices of equal items stay in ascending order. This uses
+	 * {@link IntComparators#mergeSort(int[], int, int, IntComparator)}, which allocates a temporary int array.
+	 *
+	 * @param c the comparator to determine the order of the ByteList; if null, this uses the natural order
+	 * @return a new IntList holding every index of this ByteList, sorted by the item at each index
+	 */
+	public IntList argsort (@Nullable final ByteComparator c) {
+		final byte[] items = this.items;
+		final ByteComparator comp = c == null ? ByteComparators.NATURAL_COMPARATOR : c;
+		final int n = size;
+		final IntList order = new IntList(n);
+		final int[] indices = order.setSize(n);
+		for (int i = 0; i < n; i++) {
+			indices[i] = i;
+		}
+		IntComparators.mergeSort(indices, 0, n, (a, b) -> comp.compare(items[a], items[b]));
+		return order;
+	}
+
+	/**
+	 * Sorts this ByteList using {@code c}, and rearranges each of {@code others} in the same way, so items that were
+	 * at the same index in this and in another Arrangeable are still at the same index as each other afterward. This
+	 * is useful when several lists of the same size hold different columns of the same rows. The sort is stable.
+	 * <br>
+	 * This calls {@link #argsort(ByteComparator)} once, then {@link #applyPermutation(IntList)} on this and on each
+	 * of others.
+	 *
+	 * @param c      the comparator to determine the order of the ByteList; if null, this uses the natural order
+	 * @param others any number of Arrangeables that must each have the same size as this ByteList
+	 * @return the permutation that was applied, as returned by {@link #argsort(ByteComparator)}
+	 * @throws IllegalArgumentException if any of others has a different size; nothing is rearranged in that case
+	 */
+	public IntList coSort (@Nullable final ByteComparator c, Arrangeable... others) {
+		for (Arrangeable other : others) {
+			if (other.size() != size)
+				throw new IllegalArgumentException("Every Arrangeable must have the same size as this ByteList.");
+		}
+		final IntList order = argsort(c);
+		applyPermutation(order);
+		for (Arrangeable other : others) {
+			other.applyPermutation(order);
+		}
+		return order;
+	}
+
+	/**
+	 * Rearranges this ByteList in-place so that the item at each index {@code i} afterward is the item that was at
+	 * index {@code permutation.get(i)} before. This moves items directly along each cycle of the permutation, so it
+	 * writes each item once and doesn't copy the list; the only allocation is one bit per index.
+	 *
+	 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+	 * @throws IllegalArgumentException if permutation has a different size or is not a valid permutation; nothing is
+	 *                                  rearranged in either case
+	 */
+	@Override
+	public void applyPermutation (IntList permutation) {
+		final int n = size;
+		if (permutation.size() != n)
+			throw new IllegalArgumentException("The permutation must have the same size as this ByteList.");
+		final int[] order = Utilities.checkPermutation(permutation, n, false);
+		final byte[] items = this.items;
+		final long[] done = new long[n + 63 >>> 6];
+		for (int i = 0; i < n; i++) {
+			if ((done[i >>> 6] & 1L << i) != 0L) continue;
+			done[i >>> 6] |= 1L << i;
+			final byte temp = items[i];
+			int j = i, k;
+			while ((k = order[j]) != i) {
+				items[j] = items[k];
+				done[k >>> 6] |= 1L << k;
+				j = k;
+			}
+			items[j] = temp;
+		}
+	}
+
+	/**
+	 * Gets the backing array with this list's items in order starting at index 0, for the methods here that read
+	 * {@link #items} directly, such as {@link #binarySearch(byte)} and {@link #unionSorted(ByteList, ByteList)}. A ByteList
+	 * always stores its items this way; {@link ByteDeque} overrides this to move its head to index 0 first.
+	 *
+	 * @return the backing array, holding the items of this list from index 0 to {@link #size()} (exclusive)
+	 */
+	protected byte[] orderedItems () {
+		return items;
+	}
+
+	/**
+	 * Searches this ByteList for {@code value} using binary search. This ByteList must be sorted in ascending
+	 * order, as by {@link #sort()}, or the result is undefined. This uses
+	 * {@link Arrays#binarySearch(byte[], int, int, byte)}.
+	 *
+	 * @param value the byte to search for
+	 * @return the index of value if it is present, or {@code (-(insertion point) - 1)} if it is not
+	 */
+	public int binarySearch (byte value) {
+		return Arrays.binarySearch(orderedItems(), 0, size, value);
+	}
+
+	/**
+	 * Gets the first index in this sorted ByteList that holds an item greater than or equal to {@code value}, or
+	 * {@link #size()} if there is no such item. This ByteList must be sorted in ascending order, as by
+	 * {@link #sort()}, or the result is undefined.
+	 *
+	 * @param value the byte to search for
+	 * @return the lowest index that value could be inserted at while keeping this sorted
+	 */
+	public int lowerBound (byte value) {
+		return lowerBound(orderedItems(), 0, size, value);
+	}
+
+	/**
+	 * Gets the first index in this sorted ByteList that holds an item greater than {@code value}, or
+	 * {@link #size()} if there is no such item. This ByteList must be sorted in ascending order, as by
+	 * {@link #sort()}, or the result is undefined.
+	 *
+	 * @param value the byte to search for
+	 * @return the highest index that value could be inserted at while keeping this sorted
+	 */
+	public int upperBound (byte value) {
+		return upperBound(orderedItems(), 0, size, value);
+	}
+
+	/**
+	 * Appends every item that is in both this and {@code other} to {@code dest}, in ascending order. This and other
+	 * must both be sorted in ascending order, as by {@link #sort()}. Items are treated as a multiset, so an item that
+	 * appears twice in this and three times in other is appended twice.
+	 * <br>
+	 * This runs in linear time when the sizes are similar. When one list is much larger than the other, this instead
+	 * uses galloping (exponential) search to skip through the larger list, which only takes time proportional to
+	 * {@code small * log(large / small)}.
+	 *
+	 * @param other another sorted ByteList
+	 * @param dest  the ByteList to append to; must not be this or other
+	 * @return dest, after modifications
+	 */
+	public ByteList intersectSorted (ByteList other, ByteList dest) {
+		if (dest instanceof ByteDeque) {
+			dest.addAll(intersectSorted(other, new ByteList()));
+			return dest;
+		}
+		final boolean thisSmaller = size <= other.size;
+		final byte[] a = orderedItems(), b = other.orderedItems();
+		final byte[] s = thisSmaller ? a : b, l = thisSmaller ? b : a;
+		final int sn = thisSmaller ? size : other.size, ln = thisSmaller ? other.size : size;
+		final byte[] d = dest.ensureCapacity(sn);
+		int n = dest.size;
+		if (ln >>> GALLOP_SHIFT > sn) {
+			for (int i = 0, j = 0; i < sn && j < ln; i++) {
+				j = gallop(l, j, ln, s[i]);
+				if (j < ln && l[j] == s[i]) {
+					d[n++] = s[i];
+					j++;
+				}
+			}
+		} else {
+			for (int i = 0, j = 0; i < sn && j < ln; ) {
+				if (s[i] < l[j]) i++;
+				else if (s[i] > l[j]) j++;
+				else {
+					d[n++] = s[i++];
+					j++;
+				}
+			}
+		}
+		dest.size = n;
+		return dest;
+	}
+
+	/**
+	 * Appends every item that is in this or {@code other} to {@code dest}, in ascending order. This and other must
+	 * both be sorted in ascending order, as by {@link #sort()}. Items are treated as a multiset, so an item that
+	 * appears twice in this and three times in other is appended three times. To keep every item from both lists,
+	 * use {@link #mergeSorted(ByteList, ByteList)}.
+	 * <br>
+	 * When one list is much larger than the other, this uses galloping search to find long runs in either list, and
+	 * copies each run with {@link System#arraycopy(Object, int, Object, int, int)}.
+	 *
+	 * @param other another sorted ByteList
+	 * @param dest  the ByteList to append to; must not be this or other
+	 * @return dest, after modifications
+	 */
+	public ByteList unionSorted (ByteList other, ByteList dest) {
+		if (dest instanceof ByteDeque) {
+			dest.addAll(unionSorted(other, new ByteList()));
+			return dest;
+		}
+		final byte[] a = orderedItems(), b = other.orderedItems();
+		final int an = size, bn = other.size;
+		final byte[] d = dest.ensureCapacity(an + bn);
+		int n = dest.size, i = 0, j = 0;
+		if (Math.max(an, bn) >>> GALLOP_SHIFT > Math.min(an, bn)) {
+			while (i < an && j < bn) {
+				if (a[i] < b[j]) {
+					final int k = gallop(a, i, an, b[j]);
+					System.arraycopy(a, i, d, n, k - i);
+					n += k - i;
+					i = k;
+				} else if (a[i] > b[j]) {
+					final int k = gallop(b, j, bn, a[i]);
+					System.arraycopy(b, j, d, n, k - j);
+					n += k - j;
+					j = k;
+				} else {
+					d[n++] = a[i++];
+					j++;
+				}
+			}
+		} else {
+			while (i < an && j < bn) {
+				if (a[i] < b[j]) d[n++] = a[i++];
+				else if (a[i] > b[j]) d[n++] = b[j++];
+				else {
+					d[n++] = a[i++];
+					j++;
+				}
+			}
+		}
+		System.arraycopy(a, i, d, n, an - i);
+		n += an - i;
+		System.arraycopy(b, j, d, n, bn - j);
+		dest.size = n + bn - j;
+		return dest;
+	}
+
+	/**
+	 * Appends every item in this and every item in {@code other} to {@code dest}, in ascending order. This and other
+	 * must both be sorted in ascending order, as by {@link #sort()}. Unlike {@link #unionSorted(ByteList, ByteList)},
+	 * this keeps every item, so dest grows by exactly {@code size() + other.size()}. Equal items from this come before
+	 * those from other.
+	 * <br>
+	 * When one list is much larger than the other, this uses galloping search to find long runs in either list, and
+	 * copies each run with {@link System#arraycopy(Object, int, Object, int, int)}.
+	 *
+	 * @param other another sorted ByteList
+	 * @param dest  the ByteList to append to; must not be this or other
+	 * @return dest, after modifications
+	 */
+	public ByteList mergeSorted (ByteList other, ByteList dest) {
+		if (dest instanceof ByteDeque) {
+			dest.addAll(mergeSorted(other, new ByteList()));
+			return dest;
+		}
+		final byte[] a = orderedItems(), b = other.orderedItems();
+		final int an = size, bn = other.size;
+		final byte[] d = dest.ensureCapacity(an + bn);
+		int n = dest.size, i = 0, j = 0;
+		if (Math.max(an, bn) >>> GALLOP_SHIFT > Math.min(an, bn)) {
+			while (i < an && j < bn) {
+				if (a[i] > b[j]) {
+					final int k = gallop(b, j, bn, a[i]);
+					System.arraycopy(b, j, d, n, k - j);
+					n += k - j;
+					j = k;
+				} else {
+					final int k = gallopPast(a, i, an, b[j]);
+					System.arraycopy(a, i, d, n, k - i);
+					n += k - i;
+					i = k;
+				}
+			}
+		} else {
+			while (i < an && j < bn) {
+				d[n++] = a[i] > b[j] ? b[j++] : a[i++];
+			}
+		}
+		System.arraycopy(a, i, d, n, an - i);
+		n += an - i;
+		System.arraycopy(b, j, d, n, bn - j);
+		dest.size = n + bn - j;
+		return dest;
+	}
+
+	/**
+	 * Appends every item that is in this but not in {@code other} to {@code dest}, in ascending order. This and other
+	 * must both be sorted in ascending order, as by {@link #sort()}. Items are treated as a multiset, so an item that
+	 * appears three times in this and once in other is appended twice.
+	 * <br>
+	 * When one list is much larger than the other, this uses galloping search to skip through other, or to find long
+	 * runs in this that can be copied at once.
+	 *
+	 * @param other another sorted ByteList
+	 * @param dest  the ByteList to append to; must not be this or other
+	 * @return dest, after modifications
+	 */
+	public ByteList differenceSorted (ByteList other, ByteList dest) {
+		if (dest instanceof ByteDeque) {
+			dest.addAll(differenceSorted(other, new ByteList()));
+			return dest;
+		}
+		final byte[] a = orderedItems(), b = other.orderedItems();
+		final int an = size, bn = other.size;
+		final byte[] d = dest.ensureCapacity(an);
+		int n = dest.size, i = 0, j = 0;
+		if (Math.max(an, bn) >>> GALLOP_SHIFT > Math.min(an, bn)) {
+			while (i < an && j < bn) {
+				if (a[i] < b[j]) {
+					final int k = gallop(a, i, an, b[j]);
+					System.arraycopy(a, i, d, n, k - i);
+					n += k - i;
+					i = k;
+				} else if (a[i] > b[j]) {
+					j = gallop(b, j, bn, a[i]);
+				} else {
+					i++;
+					j++;
+				}
+			}
+		} else {
+			while (i < an && j < bn) {
+				if (a[i] < b[j]) d[n++] = a[i++];
+				else if (a[i] > b[j]) j++;
+				else {
+					i++;
+					j++;
+				}
+			}
+		}
+		System.arraycopy(a, i, d, n, an - i);
+		dest.size = n + an - i;
+		return dest;
+	}
+
+	/**
+	 * Appends every item that is in all of {@code lists} to {@code dest}, in ascending order. Each of lists must be
+	 * sorted in ascending order, as by {@link #sort()}. Items are treated as a multiset, so an item is appended as
+	 * many times as it appears in the list where it appears the fewest times.
+	 * <br>
+	 * This intersects all lists in one pass, without making intermediate lists. It goes through the smallest list,
+	 * and uses galloping search to find each of its items in the other lists, keeping a cursor in each. When an item
+	 * is missing from some list, this skips ahead in the smallest list to the next item in that list. This is much
+	 * faster than intersecting the lists one pair at a time when the smallest list is much smaller than the others.
+	 *
+	 * @param dest  the ByteList to append to; must not be any of lists
+	 * @param lists any number of sorted ByteLists
+	 * @return dest, after modifications
+	 */
+	public static ByteList intersectAllSorted (ByteList dest, ByteList... lists) {
+		if (dest instanceof ByteDeque) {
+			dest.addAll(intersectAllSorted(new ByteList(), lists));
+			return dest;
+		}
+		final int k = lists.length;
+		if (k == 0) return dest;
+		if (k == 1) {
+			dest.addAll(lists[0]);
+			return dest;
+		}
+		final ByteList[] ls = lists.clone();
+		for (int m = 1; m < k; m++) {
+			for (int q = m; q > 0 && ls[q - 1].size > ls[q].size; q--) {
+				final ByteList t = ls[q];
+				ls[q] = ls[q - 1];
+				ls[q - 1] = t;
+			}
+		}
+		final byte[] s = ls[0].orderedItems();
+		final int sn = ls[0].size;
+		final int[] cursors = new int[k];
+		final byte[] d = dest.ensureCapacity(sn);
+		int n = dest.size;
+		outer:
+		for (int i = 0; i < sn; ) {
+			final byte v = s[i];
+			for (int m = 1; m < k; m++) {
+				final byte[] l = ls[m].orderedItems();
+				final int ln = ls[m].size;
+				final int c = cursors[m] = gallop(l, cursors[m], ln, v);
+				if (c == ln) break outer;
+				if (l[c] != v) {
+					i = gallop(s, i + 1, sn, l[c]);
+					continue outer;
+				}
+			}
+			d[n++] = v;
+			i++;
+			for (int m = 1; m < k; m++) {
+				cursors[m]++;
+			}
+		}
+		dest.size = n;
+		return dest;
+	}
+
+	/**
+	 * Gets the first index from {@code from} (inclusive) to {@code to} (exclusive) in sorted {@code items} with an item
+	 * greater than or equal to {@code value}, or {@code to} if there is none.
+	 */
+	private static int lowerBound (final byte[] items, int from, int to, final byte value) {
+		while (from < to) {
+			final int mid = from + to >>> 1;
+			if (items[mid] < value) from = mid + 1;
+			else to = mid;
+		}
+		return from;
+	}
+
+	/**
+	 * Gets the first index from {@code from} (inclusive) to {@code to} (exclusive) in sorted {@code items} with an item
+	 * greater than {@code value}, or {@code to} if there is none.
+	 */
+	private static int upperBound (final byte[] items, int from, int to, final byte value) {
+		while (from < to) {
+			final int mid = from + to >>> 1;
+			if (items[mid] <= value) from = mid + 1;
+			else to = mid;
+		}
+		return from;
+	}
+
+	/**
+	 * Like {@link #lowerBound(byte[], int, int, byte)}, but checks positions {@code from}, {@code from + 1},
+	 * {@code from + 3}, {@code from + 7}, and so on before using binary search, so it is fast when the result is close
+	 * to from.
+	 */
+	private static int gallop (final byte[] items, int from, final int to, final byte value) {
+		int hi = from, step = 1;
+		while (hi < to && items[hi] < value) {
+			from = hi + 1;
+			hi = to - hi > step ? hi + step : to;
+			step <<= 1;
+		}
+		return lowerBound(items, from, hi, value);
+	}
+
+	/**
+	 * Like {@link #upperBound(byte[], int, int, byte)}, but gallops from {@code from} like
+	 * {@link #gallop(byte[], int, int, byte)}.
+	 */
+	private static int gallopPast (final byte[] items, int from, final int to, final byte value) {
+		int hi = from, step = 1;
+		while (hi < to && items[hi] <= value) {
+			from = hi + 1;
+			hi = to - hi > step ? hi + step : to;
+			step <<= 1;
+		}
+		return upperBound(items, from, hi, value);
+	}
+
 	@Override
 	public void reverse () {
 		byte[] items = this.items;
@@ -932,6 +1425,21 @@ public class ByteList implements PrimitiveCollection.OfByte, Ordered.OfByte, Arr
 			return list.get(latest = index++);
 		}
 
+		/**
+		 * Copies up to {@code max} items from the list straight into {@code dest} with one array copy. After this,
+		 * {@link #remove()} and {@link #set(byte)} affect the last item copied.
+		 */
+		@Override
+		public int nextBatch (byte[] dest, int offset, int max) {
+			if (!valid) {throw new RuntimeException("#iterator() cannot be used nested.");}
+			final int n = Math.min(max, list.size() - index);
+			if (n <= 0) {return 0;}
+			System.arraycopy(list.items, index, dest, offset, n);
+			index += n;
+			latest = index - 1;
+			return n;
+		}
+
 		/**
 		 * Returns {@code true} if the iteration has more elements.
 		 * (In other words, returns {@code true} if {@link #nextByte} would
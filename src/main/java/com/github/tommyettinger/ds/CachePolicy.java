@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.digital.BitConversion;
+
+import java.util.Arrays;
+
+/**
+ * Decides which entry a bounded cache such as {@link ObjectObjectCache} or {@link IntObjectCache} should evict next.
+ * A policy never sees keys or values, only the numbered slots a cache stores its entries in, plus a hash for each key;
+ * this lets the same policies work for every kind of cache. Every operation here takes constant time and allocates
+ * nothing, so a cache hit never allocates.
+ * <br>
+ * The slots are linked into up to three doubly-linked queues using int arrays, eldest first. Use
+ * {@link #create(Type, int)} to get one of the built-in policies; the cache calls {@link #onInsert(int, int)},
+ * {@link #onAccess(int, int)}, {@link #onMiss(int)}, and {@link #onRemove(int)} as entries come and go, and
+ * {@link #victim()} when it needs room.
+ *
+ * @author Tommy Ettinger
+ */
+public abstract class CachePolicy {
+	/**
+	 * The built-in eviction policies.
+	 */
+	public enum Type {
+		/**
+		 * Least-recently-used: evicts the entry that was read or written longest ago.
+		 */
+		LRU,
+		/**
+		 * Least-frequently-used: evicts the entry that was read the fewest times, breaking ties by age. Counts never
+		 * decay, so entries that were popular long ago can stay in the cache after they stop being used.
+		 */
+		LFU,
+		/**
+		 * Window TinyLFU: new entries go into a small LRU window, and when one leaves the window, it only replaces an
+		 * entry in the main area if a {@link FrequencySketch} estimates it has been used more often. The main area is
+		 * split into probation and protected segments, each LRU. Recorded frequencies are halved periodically, so this
+		 * adapts when usage changes. This is usually the best choice when some keys are much more popular than others.
+		 */
+		W_TINY_LFU
+	}
+
+	/**
+	 * Creates a new policy of the given type for a cache that can hold up to {@code capacity} entries.
+	 *
+	 * @param type     which policy to use
+	 * @param capacity the maximum number of entries the cache can hold, and the number of slots
+	 * @return a new CachePolicy
+	 */
+	public static CachePolicy create (Type type, int capacity) {
+		switch (type) {
+			case LFU:
+				return new Lfu(capacity);
+			case W_TINY_LFU:
+				return new WindowTinyLfu(capacity);
+			default:
+				return new Lru(capacity);
+		}
+	}
+
+	protected final int[] prev;
+	protected final int[] next;
+	protected final byte[] queueOf;
+	protected final int[] head;
+	protected final int[] tail;
+	protected final int[] count;
+
+	protected CachePolicy (int capacity, int queues) {
+		capacity = Math.max(1, capacity);
+		prev = new int[capacity];
+		next = new int[capacity];
+		queueOf = new byte[capacity];
+		head = new int[queues];
+		tail = new int[queues];
+		count = new int[queues];
+		Arrays.fill(head, -1);
+		Arrays.fill(tail, -1);
+	}
+
+	/**
+	 * Called after a new entry was put into {@code slot}.
+	 *
+	 * @param slot the slot the new entry is in
+	 * @param hash the hashCode of the new entry's key
+	 */
+	public abstract void onInsert (int slot, int hash);
+
+	/**
+	 * Called when the entry in {@code slot} was found by a lookup, or had its value replaced.
+	 *
+	 * @param slot the slot of the entry that was used
+	 * @param hash the hashCode of the entry's key
+	 */
+	public abstract void onAccess (int slot, int hash);
+
+	/**
+	 * Called when a lookup did not find its key. Only policies that track keys not in the cache need this.
+	 *
+	 * @param hash the hashCode of the key that was not found
+	 */
+	public void onMiss (int hash) {
+	}
+
+	/**
+	 * Called before the entry in {@code slot} is removed, whether it was evicted or removed explicitly.
+	 *
+	 * @param slot the slot of the entry being removed
+	 */
+	public void onRemove (int slot) {
+		unlink(slot);
+	}
+
+	/**
+	 * Chooses the slot of the entry to evict next. The cache must have at least one entry.
+	 *
+	 * @return the slot of an entry to evict
+	 */
+	public abstract int victim ();
+
+	/**
+	 * Forgets all entries, as when the cache is cleared.
+	 */
+	public void clear () {
+		Arrays.fill(head, -1);
+		Arrays.fill(tail, -1);
+		Arrays.fill(count, 0);
+	}
+
+	/**
+	 * Removes slot from whichever queue it is in.
+	 */
+	protected void unlink (int slot) {
+		final int q = queueOf[slot], p = prev[slot], n = next[slot];
+		if (p == -1) {head[q] = n;} else {next[p] = n;}
+		if (n == -1) {tail[q] = p;} else {prev[n] = p;}
+		count[q]--;
+	}
+
+	/**
+	 * Adds slot to the newest end of queue q.
+	 */
+	protected void linkLast (int q, int slot) {
+		linkAfter(q, slot, tail[q]);
+	}
+
+	/**
+	 * Adds slot to queue q just after the slot {@code after}, or at the eldest end if after is -1.
+	 */
+	protected void linkAfter (int q, int slot, int after) {
+		final int n = after == -1 ? head[q] : next[after];
+		queueOf[slot] = (byte)q;
+		prev[slot] = after;
+		next[slot] = n;
+		if (after == -1) {head[q] = slot;} else {next[after] = slot;}
+		if (n == -1) {tail[q] = slot;} else {prev[n] = slot;}
+		count[q]++;
+	}
+
+	/**
+	 * Least-recently-used eviction with one queue; see {@link Type#LRU}.
+	 */
+	public static class Lru extends CachePolicy {
+		public Lru (int capacity) {
+			super(capacity, 1);
+		}
+
+		@Override
+		public void onInsert (int slot, int hash) {
+			linkLast(0, slot);
+		}
+
+		@Override
+		public void onAccess (int slot, int hash) {
+			if (tail[0] != slot) {
+				unlink(slot);
+				linkLast(0, slot);
+			}
+		}
+
+		@Override
+		public int victim () {
+			return head[0];
+		}
+	}
+
+	/**
+	 * Least-frequently-used eviction in constant time; see {@link Type#LFU}. All entries are in one queue sorted by
+	 * use count, with entries that have the same count kept together from eldest to newest, and an {@link IntIntMap}
+	 * tracks the newest entry with each count. A use moves an entry from the end of its group to the end of the next
+	 * group up, which is always nearby.
+	 */
+	public static class Lfu extends CachePolicy {
+		protected final int[] uses;
+		protected final IntIntMap groupTail;
+
+		public Lfu (int capacity) {
+			super(capacity, 1);
+			uses = new int[prev.length];
+			groupTail = new IntIntMap(16);
+		}
+
+		@Override
+		public void onInsert (int slot, int hash) {
+			uses[slot] = 1;
+			linkAfter(0, slot, groupTail.getOrDefault(1, -1));
+			groupTail.put(1, slot);
+		}
+
+		@Override
+		public void onAccess (int slot, int hash) {
+			final int f = uses[slot];
+			if (f == Integer.MAX_VALUE) {return;}
+			int after = groupTail.getOrDefault(f + 1, -1);
+			if (after == -1) {
+				after = groupTail.get(f);
+				if (after == slot) {after = prev[slot];}
+			}
+			leaveGroup(slot);
+			unlink(slot);
+			linkAfter(0, slot, after);
+			uses[slot] = f + 1;
+			groupTail.put(f + 1, slot);
+		}
+
+		@Override
+		public void onRemove (int slot) {
+			leaveGroup(slot);
+			unlink(slot);
+		}
+
+		protected void leaveGroup (int slot) {
+			final int f = uses[slot];
+			if (groupTail.get(f) == slot) {
+				final int p = prev[slot];
+				if (p != -1 && uses[p] == f) {groupTail.put(f, p);} else {groupTail.remove(f);}
+			}
+		}
+
+		@Override
+		public int victim () {
+			return head[0];
+		}
+
+		@Override
+		public void clear () {
+			super.clear();
+			groupTail.clear();
+		}
+	}
+
+	/**
+	 * Window TinyLFU eviction; see {@link Type#W_TINY_LFU}. About 1% of the capacity is the window, and 80% of the
+	 * rest is the protected segment; entries reach the protected segment by being used again while on probation.
+	 */
+	public static class WindowTinyLfu extends CachePolicy {
+		protected static final int WINDOW = 0, PROBATION = 1, PROTECTED = 2;
+
+		protected final int[] hashes;
+		protected final int windowMax;
+		protected final int protectedMax;
+		protected final FrequencySketch sketch;
+
+		public WindowTinyLfu (int capacity) {
+			super(capacity, 3);
+			capacity = prev.length;
+			hashes = new int[capacity];
+			windowMax = Math.max(1, capacity / 100);
+			protectedMax = (capacity - windowMax) * 4 / 5;
+			sketch = new FrequencySketch(capacity);
+		}
+
+		@Override
+		public void onInsert (int slot, int hash) {
+			hashes[slot] = hash;
+			sketch.increment(hash);
+			linkLast(WINDOW, slot);
+			if (count[WINDOW] > windowMax) {
+				final int eldest = head[WINDOW];
+				unlink(eldest);
+				linkLast(PROBATION, eldest);
+			}
+		}
+
+		@Override
+		public void onAccess (int slot, int hash) {
+			sketch.increment(hash);
+			final int q = queueOf[slot];
+			unlink(slot);
+			if (q == PROBATION) {
+				linkLast(PROTECTED, slot);
+				if (count[PROTECTED] > protectedMax) {
+					final int eldest = head[PROTECTED];
+					unlink(eldest);
+					linkLast(PROBATION, eldest);
+				}
+			} else {
+				linkLast(q, slot);
+			}
+		}
+
+		@Override
+		public void onMiss (int hash) {
+			sketch.increment(hash);
+		}
+
+		/**
+		 * If the window is full, its eldest entry is a candidate to enter the main area when a new entry arrives; it
+		 * competes with the eldest entry on probation (or protected, if probation is empty), and whichever was used
+		 * less often according to the sketch is evicted. A tie goes against the candidate.
+		 */
+		@Override
+		public int victim () {
+			final int candidate = count[WINDOW] >= windowMax ? head[WINDOW] : -1;
+			final int incumbent = count[PROBATION] != 0 ? head[PROBATION] : head[PROTECTED];
+			if (candidate == -1) {return incumbent == -1 ? head[WINDOW] : incumbent;}
+			if (incumbent == -1) {return candidate;}
+			return sketch.frequency(hashes[candidate]) > sketch.frequency(hashes[incumbent]) ? incumbent : candidate;
+		}
+
+		@Override
+		public void clear () {
+			super.clear();
+			sketch.clear();
+		}
+	}
+
+	/**
+	 * A count-min sketch of 4-bit counters, used to estimate how often a key has been seen recently, in a fixed amount
+	 * of memory. Each key updates one counter in each of 4 rows, and its estimate is the smallest of those counters,
+	 * which is never less than the true count (up to the maximum of 15). After about 10 times as many increments as
+	 * the capacity, every counter is halved, so old popularity fades.
+	 */
+	public static class FrequencySketch {
+		protected final long[] table;
+		protected final int shift;
+		protected final int sampleSize;
+		protected int additions;
+
+		public FrequencySketch (int capacity) {
+			final int bits = Math.min(26, Math.max(3, 32 - Integer.numberOfLeadingZeros(Math.max(1, capacity) - 1)));
+			table = new long[1 << bits];
+			shift = 32 - bits;
+			sampleSize = Math.max(10 * capacity, 16);
+		}
+
+		/**
+		 * Gets the position, as a long index times 16 plus a counter index, that {@code hash} uses in the given row.
+		 */
+		protected int position (int hash, int row) {
+			final int h = BitConversion.imul(hash ^ hash >>> 15, Utilities.GOOD_MULTIPLIERS[row << 5]);
+			return (h >>> shift) << 4 | (h >>> 8 & 3) << 2 | row;
+		}
+
+		/**
+		 * Records one occurrence of a key with the given hash.
+		 *
+		 * @param hash the hashCode of a key
+		 */
+		public void increment (int hash) {
+			boolean added = false;
+			for (int row = 0; row < 4; row++) {
+				final int p = position(hash, row);
+				final int offset = (p & 15) << 2;
+				final long word = table[p >>> 4];
+				if ((word >>> offset & 15L) != 15L) {
+					table[p >>> 4] = word + (1L << offset);
+					added = true;
+				}
+			}
+			if (added && ++additions >= sampleSize) {
+				for (int i = 0; i < table.length; i++) {
+					table[i] = table[i] >>> 1 & 0x7777777777777777L;
+				}
+				additions >>>= 1;
+			}
+		}
+
+		/**
+		 * Estimates how many times a key with the given hash has been seen recently, from 0 to 15.
+		 *
+		 * @param hash the hashCode of a key
+		 * @return the estimated count, which is never less than the true recent count unless that is over 15
+		 */
+		public int frequency (int hash) {
+			int min = 15;
+			for (int row = 0; row < 4; row++) {
+				final int p = position(hash, row);
+				min = Math.min(min, (int)(table[p >>> 4] >>> ((p & 15) << 2) & 15L));
+			}
+			return min;
+		}
+
+		public void clear () {
+			Arrays.fill(table, 0L);
+			additions = 0;
+		}
+	}
+}
@@ -136,8 +136,88 @@ public class CaseInsensitiveMap<V> extends ObjectObjectMap<CharSequence, V> {
 		return false;
 	}
 
+	/**
+	 * Always returns false. Keys that are equal ignoring case can have different hashCodes, so this can't treeify
+	 * colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this map that uses a {@link MinimalPerfectHash} to find keys, still ignoring case.
+	 *
+	 * @return a new {@link CaseInsensitiveMap.Frozen} with the same contents as this
+	 */
+	@Override
+	public CaseInsensitiveMap.Frozen<V> toFrozen () {
+		return new CaseInsensitiveMap.Frozen<>(this);
+	}
+
+	/**
+	 * An immutable map with CharSequence keys that are compared ignoring case, as returned by {@link #toFrozen()}.
+	 * This is a {@link FrozenObjectObjectMap} that hashes keys with {@link Utilities#hashCodeIgnoreCase(CharSequence)}.
+	 *
+	 * @param <V> the type of values
+	 */
+	public static class Frozen<V> extends FrozenObjectObjectMap<CharSequence, V> {
+		/**
+		 * Creates a new frozen map with the same keys and values as the given map, which should compare its keys
+		 * ignoring case, such as a CaseInsensitiveMap or {@link CaseInsensitiveOrderedMap}.
+		 *
+		 * @param map a map with case-insensitive keys to copy; will not be modified
+		 */
+		public Frozen (ObjectObjectMap<? extends CharSequence, ? extends V> map) {
+			super(map);
+		}
+
+		/**
+		 * Recreates a frozen map from the state of another CaseInsensitiveMap.Frozen; see
+		 * {@link FrozenObjectObjectMap#FrozenObjectObjectMap(int, int, int[], Object[], Object[])}.
+		 */
+		public Frozen (int seed, int slotCount, int[] displacements, @Nullable Object[] keyTable, @Nullable Object[] valueTable) {
+			super(seed, slotCount, displacements, keyTable, valueTable);
+		}
+
+		@Override
+		protected int hash (@NonNull Object item) {
+			if (item instanceof CharSequence)
+				return Utilities.hashCodeIgnoreCase((CharSequence)item);
+			return super.hash(item);
+		}
+
+		@Override
+		protected boolean equate (Object left, @Nullable Object right) {
+			if ((left instanceof CharSequence) && (right instanceof CharSequence)) {
+				return Utilities.equalsIgnoreCase((CharSequence)left, (CharSequence)right);
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode () {
+			int h = size;
+			@Nullable CharSequence[] keyTable = this.keyTable;
+			@Nullable V[] valueTable = this.valueTable;
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				@Nullable CharSequence key = keyTable[i];
+				if (key != null) {
+					h ^= Utilities.hashCodeIgnoreCase(key);
+					V value = valueTable[i];
+					if (value != null) {h ^= value.hashCode();}
+				}
+			}
+			return h;
+		}
+	}
+
 	@Override
 	public int hashCode () {
+		settle();
 		int h = size;
 		@Nullable CharSequence[] keyTable = this.keyTable;
 		@Nullable V[] valueTable = this.valueTable;
@@ -159,6 +239,7 @@ public class CaseInsensitiveMap<V> extends ObjectObjectMap<CharSequence, V> {
 		if (!(obj instanceof CaseInsensitiveMap)) {return false;}
 		CaseInsensitiveMap other = (CaseInsensitiveMap)obj;
 		if (other.size != size) {return false;}
+		settle();
 		@Nullable Object[] keyTable = this.keyTable;
 		@Nullable V[] valueTable = this.valueTable;
 		for (int i = 0, n = keyTable.length; i < n; i++) {
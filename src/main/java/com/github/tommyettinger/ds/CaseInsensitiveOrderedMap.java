@@ -158,8 +158,32 @@ public class CaseInsensitiveOrderedMap<V> extends ObjectObjectOrderedMap<CharSeq
 		return false;
 	}
 
+	/**
+	 * Always returns false. Keys that are equal ignoring case can have different hashCodes, so this can't treeify
+	 * colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this map that uses a {@link MinimalPerfectHash} to find keys, still ignoring case.
+	 * The frozen copy doesn't keep the insertion order.
+	 *
+	 * @return a new {@link CaseInsensitiveMap.Frozen} with the same contents as this
+	 */
+	@Override
+	public CaseInsensitiveMap.Frozen<V> toFrozen () {
+		return new CaseInsensitiveMap.Frozen<>(this);
+	}
+
 	@Override
 	public int hashCode () {
+		settle();
 		int h = size;
 		@Nullable CharSequence[] keyTable = this.keyTable;
 		@Nullable V[] valueTable = this.valueTable;
@@ -181,6 +205,7 @@ public class CaseInsensitiveOrderedMap<V> extends ObjectObjectOrderedMap<CharSeq
 		if (!(obj instanceof Map)) {return false;}
 		Map other = (Map)obj;
 		if (other.size() != size) {return false;}
+		settle();
 		Object[] keyTable = this.keyTable;
 		V[] valueTable = this.valueTable;
 		for (int i = 0, n = keyTable.length; i < n; i++) {
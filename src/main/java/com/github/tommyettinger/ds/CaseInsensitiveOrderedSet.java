@@ -197,6 +197,29 @@ public class CaseInsensitiveOrderedSet extends ObjectOrderedSet<CharSequence> {
 		return false;
 	}
 
+	/**
+	 * Always returns false. Keys that are equal ignoring case can have different hashCodes, so this can't treeify
+	 * colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this set that uses a {@link MinimalPerfectHash} to find items, still ignoring case.
+	 * The frozen copy doesn't keep the insertion order.
+	 *
+	 * @return a new {@link CaseInsensitiveSet.Frozen} with the same contents as this
+	 */
+	@Override
+	public CaseInsensitiveSet.Frozen toFrozen () {
+		return new CaseInsensitiveSet.Frozen(this);
+	}
+
 	@Override
 	public int hashCode () {
 		int h = size;
@@ -155,6 +155,78 @@ public class CaseInsensitiveSet extends ObjectSet<CharSequence> {
 		return false;
 	}
 
+	/**
+	 * Always returns false. Keys that are equal ignoring case can have different hashCodes, so this can't treeify
+	 * colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this set that uses a {@link MinimalPerfectHash} to find items, still ignoring case.
+	 *
+	 * @return a new {@link CaseInsensitiveSet.Frozen} with the same contents as this
+	 */
+	@Override
+	public CaseInsensitiveSet.Frozen toFrozen () {
+		return new CaseInsensitiveSet.Frozen(this);
+	}
+
+	/**
+	 * An immutable set of CharSequences that are compared ignoring case, as returned by {@link #toFrozen()}.
+	 * This is a {@link FrozenObjectSet} that hashes items with {@link Utilities#hashCodeIgnoreCase(CharSequence)}.
+	 */
+	public static class Frozen extends FrozenObjectSet<CharSequence> {
+		/**
+		 * Creates a new frozen set with the same items as the given set, which should compare its items ignoring case,
+		 * such as a CaseInsensitiveSet or {@link CaseInsensitiveOrderedSet}.
+		 *
+		 * @param set a set with case-insensitive items to copy; will not be modified
+		 */
+		public Frozen (ObjectSet<? extends CharSequence> set) {
+			super(set);
+		}
+
+		/**
+		 * Recreates a frozen set from the state of another CaseInsensitiveSet.Frozen; see
+		 * {@link FrozenObjectSet#FrozenObjectSet(int, int, int[], Object[])}.
+		 */
+		public Frozen (int seed, int slotCount, int[] displacements, @Nullable Object[] keyTable) {
+			super(seed, slotCount, displacements, keyTable);
+		}
+
+		@Override
+		protected int hash (@NonNull Object item) {
+			if (item instanceof CharSequence)
+				return Utilities.hashCodeIgnoreCase((CharSequence)item);
+			return super.hash(item);
+		}
+
+		@Override
+		protected boolean equate (Object left, @Nullable Object right) {
+			if ((left instanceof CharSequence) && (right instanceof CharSequence)) {
+				return Utilities.equalsIgnoreCase((CharSequence)left, (CharSequence)right);
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode () {
+			int h = size;
+			@Nullable CharSequence[] keyTable = this.keyTable;
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				@Nullable CharSequence key = keyTable[i];
+				if (key != null) {h += Utilities.hashCodeIgnoreCase(key);}
+			}
+			return h ^ h >>> 16;
+		}
+	}
+
 	@Override
 	public int hashCode () {
 		int h = size;
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.function.ObjIntPredicate;
+import com.github.tommyettinger.function.ObjSupplier;
+
+/**
+ * Keeps cleared collections of one type around so they can be obtained again instead of allocated, which lets code that
+ * needs temporary lists, sets, or maps every frame reach a steady state with no allocation. Call {@link #obtain()} to
+ * get an empty collection, and {@link #free(Object)} when done with it; free() clears it with the pool's reset
+ * function, then keeps it if there is room. The static methods such as {@link #ofIntList(int, int)} make pools for
+ * common types of collection.
+ * <br>
+ * Two limits keep a pool from holding too much memory. The {@link #getMaximumCapacity() maximum capacity} is passed to
+ * the reset function, which shrinks a hash-based collection with its {@code clear(int)} method, or tells the pool to
+ * drop a list whose backing array is larger than that. The {@link #getMaximumFree() maximum free} count limits how many
+ * idle collections are kept; past that, freed collections are dropped for the garbage collector. The pool counts hits
+ * (obtain() reused a collection), misses (it had to allocate), and drops, so {@link #getHitRate()} can show whether the
+ * limits are too tight.
+ * <br>
+ * A pool is not synchronized, since this library doesn't assume threads are available. Code that uses several threads
+ * should give each thread its own pool, for instance by storing pools in a {@link ThreadLocal} on platforms that have
+ * one; that also avoids any contention.
+ *
+ * @param <T> the type of collection this pools
+ * @author Tommy Ettinger
+ */
+public class CollectionPool<T> {
+	protected final ObjSupplier<T> factory;
+	protected final ObjIntPredicate<T> reset;
+	protected final ObjectList<T> free;
+	protected int maximumCapacity;
+	protected int maximumFree;
+	protected long hits, misses, dropped;
+
+	/**
+	 * Creates a pool that allocates with {@code factory} and clears freed items with {@code reset}.
+	 *
+	 * @param factory         called to make a new item when the pool is empty, often a constructor reference
+	 * @param reset           called with a freed item and {@link #getMaximumCapacity()}; it should clear the item,
+	 *                        shrinking it if it is larger than the maximum capacity, and return true to keep it in the
+	 *                        pool or false to drop it
+	 * @param maximumCapacity passed to reset; collections larger than this should be shrunk or dropped
+	 * @param maximumFree     the most idle items this pool will keep
+	 */
+	public CollectionPool (ObjSupplier<T> factory, ObjIntPredicate<T> reset, int maximumCapacity, int maximumFree) {
+		if (maximumCapacity < 0) {throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);}
+		if (maximumFree < 0) {throw new IllegalArgumentException("maximumFree must be >= 0: " + maximumFree);}
+		this.factory = factory;
+		this.reset = reset;
+		this.maximumCapacity = maximumCapacity;
+		this.maximumFree = maximumFree;
+		free = new ObjectList<>(Math.min(maximumFree, 16));
+	}
+
+	/**
+	 * Gets an empty item, reusing one that was freed if there is one, or allocating a new one with the factory
+	 * otherwise.
+	 *
+	 * @return an empty item
+	 */
+	public T obtain () {
+		final int n = free.size();
+		if (n == 0) {
+			misses++;
+			return factory.get();
+		}
+		hits++;
+		return free.remove(n - 1);
+	}
+
+	/**
+	 * Clears {@code item} with the reset function and keeps it for a later {@link #obtain()}, unless the reset function
+	 * rejects it or this already holds {@link #getMaximumFree()} idle items. The caller must not use item after this.
+	 *
+	 * @param item an item to return to the pool; must not be null, and must not already be in the pool
+	 * @return true if item was kept, or false if it was dropped
+	 */
+	public boolean free (T item) {
+		if (item == null) {throw new IllegalArgumentException("item cannot be null.");}
+		if (free.size() >= maximumFree || !reset.test(item, maximumCapacity)) {
+			dropped++;
+			return false;
+		}
+		free.add(item);
+		return true;
+	}
+
+	/**
+	 * Calls {@link #free(Object)} on each item in {@code items}, skipping nulls. This doesn't change items itself.
+	 *
+	 * @param items items to return to the pool
+	 */
+	public void freeAll (Iterable<? extends T> items) {
+		for (T item : items) {
+			if (item != null) {free(item);}
+		}
+	}
+
+	/**
+	 * Allocates items until this holds {@code count} idle items, or {@link #getMaximumFree()} if that is smaller. This
+	 * doesn't count as hits or misses.
+	 *
+	 * @param count how many idle items this should have
+	 */
+	public void fill (int count) {
+		for (int i = free.size(), n = Math.min(count, maximumFree); i < n; i++) {free.add(factory.get());}
+	}
+
+	/**
+	 * Drops every idle item, leaving them to the garbage collector.
+	 */
+	public void clear () {
+		free.clear();
+	}
+
+	/**
+	 * Gets how many idle items this holds.
+	 */
+	public int getFree () {
+		return free.size();
+	}
+
+	public int getMaximumFree () {
+		return maximumFree;
+	}
+
+	/**
+	 * Sets how many idle items this will keep, dropping some now if it holds more than that.
+	 *
+	 * @param maximumFree the most idle items this should keep
+	 */
+	public void setMaximumFree (int maximumFree) {
+		if (maximumFree < 0) {throw new IllegalArgumentException("maximumFree must be >= 0: " + maximumFree);}
+		this.maximumFree = maximumFree;
+		if (free.size() > maximumFree) {free.removeRange(maximumFree, free.size());}
+	}
+
+	public int getMaximumCapacity () {
+		return maximumCapacity;
+	}
+
+	/**
+	 * Sets the capacity passed to the reset function; this only affects items freed after this call.
+	 *
+	 * @param maximumCapacity the largest capacity a freed collection should keep
+	 */
+	public void setMaximumCapacity (int maximumCapacity) {
+		if (maximumCapacity < 0) {throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);}
+		this.maximumCapacity = maximumCapacity;
+	}
+
+	/**
+	 * Gets how many calls to {@link #obtain()} reused an idle item.
+	 */
+	public long getHits () {
+		return hits;
+	}
+
+	/**
+	 * Gets how many calls to {@link #obtain()} had to allocate a new item.
+	 */
+	public long getMisses () {
+		return misses;
+	}
+
+	/**
+	 * Gets how many calls to {@link #free(Object)} dropped the item instead of keeping it.
+	 */
+	public long getDropped () {
+		return dropped;
+	}
+
+	/**
+	 * Gets the fraction of calls to {@link #obtain()} that reused an idle item, from 0.0 to 1.0, or 0.0 if obtain()
+	 * hasn't been called since the statistics were last reset.
+	 */
+	public double getHitRate () {
+		final long total = hits + misses;
+		return total == 0L ? 0.0 : (double)hits / total;
+	}
+
+	/**
+	 * Sets the hit, miss, and drop counts back to 0.
+	 */
+	public void resetStatistics () {
+		hits = misses = dropped = 0L;
+	}
+
+	@Override
+	public String toString () {
+		return "CollectionPool{free=" + free.size() + ", hits=" + hits + ", misses=" + misses + ", dropped=" + dropped + '}';
+	}
+
+	/**
+	 * Makes a pool of {@link ObjectList}s. An ObjectList can't report its capacity, so one that holds more than
+	 * {@code maximumCapacity} items when it is freed is dropped instead of kept.
+	 *
+	 * @param maximumCapacity freed lists with more items than this are dropped
+	 * @param maximumFree     the most idle lists the pool will keep
+	 * @param <T>             the type of items in the lists
+	 * @return a new pool of ObjectLists
+	 */
+	public static <T> CollectionPool<ObjectList<T>> ofObjectList (int maximumCapacity, int maximumFree) {
+		return new CollectionPool<>(ObjectList::new, (list, cap) -> {
+			if (list.size() > cap) {return false;}
+			list.clear();
+			return true;
+		}, maximumCapacity, maximumFree);
+	}
+
+	/**
+	 * Makes a pool of {@link IntList}s. One with a backing array larger than {@code maximumCapacity} when it is freed is
+	 * dropped instead of kept, since shrinking it would just make it grow again.
+	 *
+	 * @param maximumCapacity freed lists with a larger backing array than this are dropped
+	 * @param maximumFree     the most idle lists the pool will keep
+	 * @return a new pool of IntLists
+	 */
+	public static CollectionPool<IntList> ofIntList (int maximumCapacity, int maximumFree) {
+		return new CollectionPool<>(IntList::new, (list, cap) -> {
+			if (list.items.length > cap) {return false;}
+			list.clear();
+			return true;
+		}, maximumCapacity, maximumFree);
+	}
+
+	/**
+	 * Makes a pool of {@link FloatList}s. One with a backing array larger than {@code maximumCapacity} when it is freed
+	 * is dropped instead of kept, since shrinking it would just make it grow again.
+	 *
+	 * @param maximumCapacity freed lists with a larger backing array than this are dropped
+	 * @param maximumFree     the most idle lists the pool will keep
+	 * @return a new pool of FloatLists
+	 */
+	public static CollectionPool<FloatList> ofFloatList (int maximumCapacity, int maximumFree) {
+		return new CollectionPool<>(FloatList::new, (list, cap) -> {
+			if (list.items.length > cap) {return false;}
+			list.clear();
+			return true;
+		}, maximumCapacity, maximumFree);
+	}
+
+	/**
+	 * Makes a pool of {@link ObjectSet}s, which are shrunk with {@link ObjectSet#clear(int)} when freed.
+	 *
+	 * @param maximumCapacity freed sets are shrunk to hold about this many items
+	 * @param maximumFree     the most idle sets the pool will keep
+	 * @param <T>             the type of items in the sets
+	 * @return a new pool of ObjectSets
+	 */
+	public static <T> CollectionPool<ObjectSet<T>> ofObjectSet (int maximumCapacity, int maximumFree) {
+		return new CollectionPool<>(ObjectSet::new, (set, cap) -> {
+			set.clear(cap);
+			return true;
+		}, maximumCapacity, maximumFree);
+	}
+
+	/**
+	 * Makes a pool of {@link IntSet}s, which are shrunk with {@link IntSet#clear(int)} when freed.
+	 *
+	 * @param maximumCapacity freed sets are shrunk to hold about this many items
+	 * @param maximumFree     the most idle sets the pool will keep
+	 * @return a new pool of IntSets
+	 */
+	public static CollectionPool<IntSet> ofIntSet (int maximumCapacity, int maximumFree) {
+		return new CollectionPool<>(IntSet::new, (set, cap) -> {
+			set.clear(cap);
+			return true;
+		}, maximumCapacity, maximumFree);
+	}
+
+	/**
+	 * Makes a pool of {@link ObjectObjectMap}s, which are shrunk with {@link ObjectObjectMap#clear(int)} when freed.
+	 *
+	 * @param maximumCapacity freed maps are shrunk to hold about this many entries
+	 * @param maximumFree     the most idle maps the pool will keep
+	 * @param <K>             the type of keys in the maps
+	 * @param <V>             the type of values in the maps
+	 * @return a new pool of ObjectObjectMaps
+	 */
+	public static <K, V> CollectionPool<ObjectObjectMap<K, V>> ofObjectObjectMap (int maximumCapacity, int maximumFree) {
+		return new CollectionPool<>(ObjectObjectMap::new, (map, cap) -> {
+			map.clear(cap);
+			return true;
+		}, maximumCapacity, maximumFree);
+	}
+
+	/**
+	 * Makes a pool of {@link IntIntMap}s, which are shrunk with {@link IntIntMap#clear(int)} when freed.
+	 *
+	 * @param maximumCapacity freed maps are shrunk to hold about this many entries
+	 * @param maximumFree     the most idle maps the pool will keep
+	 * @return a new pool of IntIntMaps
+	 */
+	public static CollectionPool<IntIntMap> ofIntIntMap (int maximumCapacity, int maximumFree) {
+		return new CollectionPool<>(IntIntMap::new, (map, cap) -> {
+			map.clear(cap);
+			return true;
+		}, maximumCapacity, maximumFree);
+	}
+}
@@ -0,0 +1,965 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.digital.BitConversion;
+import com.github.tommyettinger.ds.support.util.IntAppender;
+import com.github.tommyettinger.ds.support.util.IntIterator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.github.tommyettinger.ds.Utilities.tableSize;
+
+/**
+ * An insertion-ordered map where the keys and values are ints, laid out like a "compact dict". This is the int-keyed
+ * counterpart to {@link CompactObjectObjectMap}; see its documentation for how the layout works. No allocation is done
+ * except when growing the table size.
+ * <p>
+ * Keys and values are stored once, densely, in {@link #keys} and {@link #values}, in insertion order, and the hash
+ * table only holds positions into them, using 1, 2, or 4 bytes per slot. Compared to {@link IntIntOrderedMap}, which
+ * keeps each key in its hash table and again in its order list, this uses less memory, iterates in order by reading
+ * the dense arrays front to back, and {@link #getAt(int)} reads a value directly. The key 0 is kept in the dense arrays
+ * like any other, at {@link #zeroIndex}, but is never put in the hash table; any other 0 in {@link #keys} marks a
+ * removed entry. Index-based methods close up those gaps first, so they are O(1) unless a removal happened since the
+ * last one.
+ *
+ * @author Tommy Ettinger
+ */
+public class CompactIntIntMap implements Iterable<IntIntMap.Entry> {
+
+	protected int size;
+
+	/**
+	 * The keys in insertion order. A 0 here is a removed entry unless it is at {@link #zeroIndex}. Only the first
+	 * {@link #end} items are used.
+	 */
+	protected int[] keys;
+
+	/**
+	 * The values in insertion order, parallel to {@link #keys}.
+	 */
+	protected int[] values;
+
+	/**
+	 * How many items at the start of {@link #keys} are in use, including removed ones; new entries go here.
+	 */
+	protected int end;
+
+	/**
+	 * The position of the key 0 in {@link #keys}, or -1 if 0 is not a key in this map.
+	 */
+	protected int zeroIndex = -1;
+
+	/**
+	 * The hash table when {@link #indexBytes} is 1; each item is 0 for an empty slot, or a position in {@link #keys}
+	 * plus 1, read as unsigned.
+	 */
+	protected byte[] byteIndex;
+
+	/**
+	 * The hash table when {@link #indexBytes} is 2; each item is 0 for an empty slot, or a position in {@link #keys}
+	 * plus 1, read as unsigned.
+	 */
+	protected short[] shortIndex;
+
+	/**
+	 * The hash table when {@link #indexBytes} is 4; each item is 0 for an empty slot, or a position in {@link #keys}
+	 * plus 1.
+	 */
+	protected int[] intIndex;
+
+	/**
+	 * How many bytes each slot of the hash table uses: 1, 2, or 4. Only the index array of that width is non-empty.
+	 */
+	protected int indexBytes;
+
+	/**
+	 * Between 0f (exclusive) and 1f (inclusive), this determines how full the hash table can get before this increases
+	 * its size.
+	 */
+	protected float loadFactor;
+
+	/**
+	 * The most entries, including removed ones, that can be in the dense arrays before they must be compacted or grown;
+	 * this is also the length of {@link #keys} and {@link #values}.
+	 */
+	protected int threshold;
+
+	/**
+	 * Used by {@link #place(int)} to bit-shift the upper bits of an {@code int} into a usable range (&gt;= 0 and &lt;=
+	 * {@link #mask}).
+	 */
+	protected int shift;
+
+	/**
+	 * A bitmask used to confine hashcodes to the size of the hash table. Must be all 1 bits in its low positions, ie a
+	 * power of two minus 1.
+	 */
+	protected int mask;
+
+	/**
+	 * Used by {@link #place(int)} to mix keys. Changes on every call to {@link #resize(int)}.
+	 */
+	protected int hashMultiplier;
+
+	/**
+	 * Returned by {@link #get(int)} when no value exists for the given key, as well as some other methods to indicate
+	 * that no value in the Map could be returned. Defaults to 0.
+	 */
+	public int defaultValue = 0;
+
+	/**
+	 * Creates a new map with an initial capacity of {@link Utilities#getDefaultTableCapacity()} and a load factor of {@link Utilities#getDefaultLoadFactor()}.
+	 */
+	public CompactIntIntMap () {
+		this(Utilities.getDefaultTableCapacity(), Utilities.getDefaultLoadFactor());
+	}
+
+	/**
+	 * Creates a new map with the given starting capacity and a load factor of {@link Utilities#getDefaultLoadFactor()}.
+	 *
+	 * @param initialCapacity how many entries this can hold before it has to grow
+	 */
+	public CompactIntIntMap (int initialCapacity) {
+		this(initialCapacity, Utilities.getDefaultLoadFactor());
+	}
+
+	/**
+	 * Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity items before
+	 * growing the backing table.
+	 *
+	 * @param initialCapacity how many entries this can hold before it has to grow
+	 * @param loadFactor      what fraction of the capacity can be filled before this has to resize; 0 &lt; loadFactor &lt;= 1
+	 */
+	public CompactIntIntMap (int initialCapacity, float loadFactor) {
+		if (loadFactor <= 0f || loadFactor > 1f) {throw new IllegalArgumentException("loadFactor must be > 0 and <= 1: " + loadFactor);}
+		this.loadFactor = loadFactor;
+		setTableSize(tableSize(initialCapacity + 1, loadFactor));
+		keys = new int[threshold];
+		values = new int[threshold];
+	}
+
+	/**
+	 * Creates a new map identical to the specified map.
+	 *
+	 * @param map a CompactIntIntMap to copy
+	 */
+	public CompactIntIntMap (CompactIntIntMap map) {
+		this.loadFactor = map.loadFactor;
+		this.threshold = map.threshold;
+		this.mask = map.mask;
+		this.shift = map.shift;
+		this.hashMultiplier = map.hashMultiplier;
+		this.indexBytes = map.indexBytes;
+		byteIndex = Arrays.copyOf(map.byteIndex, map.byteIndex.length);
+		shortIndex = Arrays.copyOf(map.shortIndex, map.shortIndex.length);
+		intIndex = Arrays.copyOf(map.intIndex, map.intIndex.length);
+		keys = Arrays.copyOf(map.keys, map.keys.length);
+		values = Arrays.copyOf(map.values, map.values.length);
+		end = map.end;
+		zeroIndex = map.zeroIndex;
+		size = map.size;
+		defaultValue = map.defaultValue;
+	}
+
+	/**
+	 * Given two side-by-side arrays, one of keys, one of values, this constructs a map and inserts each pair of key and value into it.
+	 * If keys and values have different lengths, this only uses the length of the smaller array.
+	 *
+	 * @param keys   an array of keys
+	 * @param values an array of values
+	 */
+	public CompactIntIntMap (int[] keys, int[] values) {
+		this(Math.min(keys.length, values.length));
+		putAll(keys, values);
+	}
+
+	/**
+	 * Sets {@link #mask}, {@link #threshold}, and everything else that depends on the size of the hash table, and
+	 * allocates an empty hash table of the narrowest type that can hold a position for every entry. This doesn't
+	 * change the dense arrays.
+	 *
+	 * @param tableSize the number of slots in the hash table; must be a power of two, at least 2
+	 */
+	protected void setTableSize (int tableSize) {
+		threshold = Math.max(1, Math.min((int)(tableSize * loadFactor), tableSize - 1));
+		mask = tableSize - 1;
+		shift = BitConversion.countLeadingZeros(mask) + 32;
+		hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
+		byteIndex = Utilities.EMPTY_BYTES;
+		shortIndex = Utilities.EMPTY_SHORTS;
+		intIndex = Utilities.EMPTY_INTS;
+		if (threshold <= 0xFF) {
+			indexBytes = 1;
+			byteIndex = new byte[tableSize];
+		} else if (threshold <= 0xFFFF) {
+			indexBytes = 2;
+			shortIndex = new short[tableSize];
+		} else {
+			indexBytes = 4;
+			intIndex = new int[tableSize];
+		}
+	}
+
+	/**
+	 * Gets the item in the hash table at {@code slot}, which is 0 for an empty slot or a position in {@link #keys}
+	 * plus 1.
+	 *
+	 * @param slot an index in the hash table, from 0 to {@link #mask} inclusive
+	 * @return 0 if the slot is empty, or one more than the position of its entry in the dense arrays
+	 */
+	protected int indexAt (int slot) {
+		switch (indexBytes) {
+			case 1:
+				return byteIndex[slot] & 0xFF;
+			case 2:
+				return shortIndex[slot] & 0xFFFF;
+			default:
+				return intIndex[slot];
+		}
+	}
+
+	/**
+	 * Sets the item in the hash table at {@code slot}.
+	 *
+	 * @param slot  an index in the hash table, from 0 to {@link #mask} inclusive
+	 * @param entry 0 to empty the slot, or one more than a position in the dense arrays
+	 */
+	protected void setIndex (int slot, int entry) {
+		switch (indexBytes) {
+			case 1:
+				byteIndex[slot] = (byte)entry;
+				break;
+			case 2:
+				shortIndex[slot] = (short)entry;
+				break;
+			default:
+				intIndex[slot] = entry;
+		}
+	}
+
+	/**
+	 * Returns an index &gt;= 0 and &lt;= {@link #mask} for the specified {@code item}, mixed.
+	 *
+	 * @param item any int; it is usually mixed or masked here
+	 * @return an index between 0 and {@link #mask} (both inclusive)
+	 */
+	protected int place (int item) {
+		return BitConversion.imul(item, hashMultiplier) >>> shift;
+	}
+
+	/**
+	 * Returns true if the item at {@code position} in the dense arrays is a live entry, not a removed one.
+	 */
+	protected boolean isLive (int position) {
+		return keys[position] != 0 || position == zeroIndex;
+	}
+
+	/**
+	 * Returns the position of the key in the dense arrays if already present, else -1. This position can be larger
+	 * than the key's index in iteration order if entries were removed before it.
+	 *
+	 * @param key any int key
+	 * @return -1 if the key was not found, or the position of the existing key in {@link #keys}
+	 */
+	protected int locateKey (int key) {
+		if (key == 0) {return zeroIndex;}
+		final int[] keys = this.keys;
+		for (int slot = place(key); ; slot = slot + 1 & mask) {
+			final int entry = indexAt(slot);
+			if (entry == 0) {return -1;}
+			if (keys[entry - 1] == key) {return entry - 1;}
+		}
+	}
+
+	/**
+	 * Records that {@code key} is at {@code position} in the dense arrays, either in the hash table or, for the key 0,
+	 * in {@link #zeroIndex}. Doesn't check for an existing key or change the dense arrays.
+	 */
+	protected void insertIndex (int key, int position) {
+		if (key == 0) {
+			zeroIndex = position;
+			return;
+		}
+		int slot = place(key);
+		while (indexAt(slot) != 0) {slot = slot + 1 & mask;}
+		setIndex(slot, position + 1);
+	}
+
+	/**
+	 * Returns the old value associated with the specified key, or this map's {@link #defaultValue} if there was no prior value.
+	 * A new key goes at the end of the iteration order; a key that was already present keeps its place.
+	 */
+	public int put (int key, int value) {
+		return putOrDefault(key, value, defaultValue);
+	}
+
+	/**
+	 * Returns the old value associated with the specified key, or the given {@code defaultValue} if there was no prior value.
+	 */
+	public int putOrDefault (int key, int value, int defaultValue) {
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			int oldValue = values[i];
+			values[i] = value;
+			return oldValue;
+		}
+		append(key, value);
+		return defaultValue;
+	}
+
+	/**
+	 * Adds a key that is known to be absent at the end of the dense arrays, compacting or growing them first if they
+	 * are full.
+	 */
+	protected void append (int key, int value) {
+		if (end == threshold) {
+			// Grow if the dense arrays are mostly live entries; otherwise closing the gaps leaves enough room.
+			if (size >= threshold - (threshold >>> 2)) {resize(mask + 1 << 1);}
+			else {compact();}
+		}
+		keys[end] = key;
+		values[end] = value;
+		insertIndex(key, end++);
+		size++;
+	}
+
+	/**
+	 * Puts every key-value pair in the given map into this map, in the other map's order.
+	 *
+	 * @param map a CompactIntIntMap to copy entries from
+	 */
+	public void putAll (CompactIntIntMap map) {
+		ensureCapacity(map.size);
+		final int[] keys = map.keys;
+		final int[] values = map.values;
+		for (int i = 0, n = map.end; i < n; i++) {
+			if (map.isLive(i)) {put(keys[i], values[i]);}
+		}
+	}
+
+	/**
+	 * Given two side-by-side arrays, one of keys, one of values, this inserts each pair of key and value into this map with put().
+	 *
+	 * @param keys   an array of keys
+	 * @param values an array of values
+	 */
+	public void putAll (int[] keys, int[] values) {
+		int length = Math.min(keys.length, values.length);
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {
+			put(keys[i], values[i]);
+		}
+	}
+
+	/**
+	 * Returns the value for the specified key, or {@link #defaultValue} if the key is not in the map.
+	 *
+	 * @param key any {@code int}
+	 */
+	public int get (int key) {
+		return getOrDefault(key, defaultValue);
+	}
+
+	/**
+	 * Returns the value for the specified key, or the given default value if the key is not in the map.
+	 */
+	public int getOrDefault (int key, int defaultValue) {
+		int i = locateKey(key);
+		return i < 0 ? defaultValue : values[i];
+	}
+
+	/**
+	 * Returns the key's current value and increments the stored value. If the key is not in the map, defaultValue + increment is
+	 * put into the map and defaultValue is returned.
+	 */
+	public int getAndIncrement (int key, int defaultValue, int increment) {
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			int oldValue = values[i];
+			values[i] += increment;
+			return oldValue;
+		}
+		append(key, defaultValue + increment);
+		return defaultValue;
+	}
+
+	/**
+	 * Removes the given key and returns its value, or returns {@link #defaultValue} if it was not present.
+	 */
+	public int remove (int key) {
+		if (size == 0) return defaultValue;
+		if (key == 0) {
+			if (zeroIndex < 0) return defaultValue;
+			int oldValue = values[zeroIndex];
+			removeEntry(-1, zeroIndex);
+			return oldValue;
+		}
+		final int[] keys = this.keys;
+		int slot = place(key), entry;
+		for (; ; slot = slot + 1 & mask) {
+			if ((entry = indexAt(slot)) == 0) {return defaultValue;}
+			if (keys[entry - 1] == key) {break;}
+		}
+		int oldValue = values[entry - 1];
+		removeEntry(slot, entry - 1);
+		return oldValue;
+	}
+
+	/**
+	 * Removes the entry at {@code position} in the dense arrays, whose hash table slot is {@code slot} (or -1 for the
+	 * key 0), leaving a gap in the dense arrays and closing the gap in the hash table by shifting later entries in its
+	 * probe run back.
+	 */
+	protected void removeEntry (int slot, int position) {
+		final int[] keys = this.keys;
+		keys[position] = 0;
+		values[position] = 0;
+		if (position == end - 1) {end = position;}
+		size--;
+		if (slot < 0) {
+			zeroIndex = -1;
+			return;
+		}
+		final int mask = this.mask;
+		int pos = slot, last, entry, ideal;
+		for (; ; ) {
+			pos = ((last = pos) + 1) & mask;
+			for (; ; ) {
+				if ((entry = indexAt(pos)) == 0) {
+					setIndex(last, 0);
+					return;
+				}
+				ideal = place(keys[entry - 1]);
+				if (last <= pos ? last >= ideal || ideal > pos : last >= ideal && ideal > pos) break;
+				pos = (pos + 1) & mask;
+			}
+			setIndex(last, entry);
+		}
+	}
+
+	/**
+	 * Removes the entry at {@code position} in the dense arrays, finding its hash table slot first.
+	 */
+	protected void removePosition (int position) {
+		if (position == zeroIndex) {
+			removeEntry(-1, position);
+			return;
+		}
+		int slot = place(keys[position]);
+		while (indexAt(slot) != position + 1) {slot = slot + 1 & mask;}
+		removeEntry(slot, position);
+	}
+
+	/**
+	 * Moves every live entry to the front of the dense arrays, keeping their order, and rebuilds the hash table at its
+	 * current size. After this, the position of each entry in the dense arrays is its index in iteration order.
+	 */
+	protected void compact () {
+		if (end == size) {return;}
+		final int[] keys = this.keys;
+		final int[] values = this.values;
+		final int zero = zeroIndex;
+		int n = 0;
+		for (int i = 0; i < end; i++) {
+			int key = keys[i];
+			if (key != 0 || i == zero) {
+				if (i == zero) {zeroIndex = n;}
+				keys[n] = key;
+				values[n++] = values[i];
+			}
+		}
+		Arrays.fill(keys, n, end, 0);
+		Arrays.fill(values, n, end, 0);
+		end = n;
+		Arrays.fill(byteIndex, (byte)0);
+		Arrays.fill(shortIndex, (short)0);
+		Arrays.fill(intIndex, 0);
+		for (int i = 0; i < n; i++) {
+			if (keys[i] != 0) {insertIndex(keys[i], i);}
+		}
+	}
+
+	/**
+	 * Returns true if the map has one or more items.
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	/**
+	 * Returns the number of key-value mappings in this map.
+	 *
+	 * @return the number of key-value mappings in this map
+	 */
+	public int size () {
+		return size;
+	}
+
+	/**
+	 * Returns true if the map is empty.
+	 */
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Gets the default value, an {@code int} which is returned by {@link #get(int)} if the key is not found.
+	 * If not changed, the default value is 0.
+	 *
+	 * @return the current default value
+	 */
+	public int getDefaultValue () {
+		return defaultValue;
+	}
+
+	/**
+	 * Sets the default value, an {@code int} which is returned by {@link #get(int)} if the key is not found.
+	 * If not changed, the default value is 0. Note that {@link #getOrDefault(int, int)} is also available,
+	 * which allows specifying a "not-found" value per-call.
+	 *
+	 * @param defaultValue may be any int; should usually be one that doesn't occur as a typical value
+	 */
+	public void setDefaultValue (int defaultValue) {
+		this.defaultValue = defaultValue;
+	}
+
+	/**
+	 * Gets the int value at the given {@code index} in the insertion order. The index should be between 0
+	 * (inclusive) and {@link #size()} (exclusive).
+	 *
+	 * @param index an index in the insertion order, between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @return the value at the given index
+	 */
+	public int getAt (int index) {
+		compact();
+		return values[index];
+	}
+
+	/**
+	 * Gets the int key at the given {@code index} in the insertion order. The index should be between 0
+	 * (inclusive) and {@link #size()} (exclusive).
+	 *
+	 * @param index an index in the insertion order, between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @return the key at the given index
+	 */
+	public int keyAt (int index) {
+		compact();
+		return keys[index];
+	}
+
+	/**
+	 * Changes the int value at the given {@code index} in the insertion order to {@code v}, without changing keys. The
+	 * index should be between 0 (inclusive) and {@link #size()} (exclusive).
+	 *
+	 * @param index an index in the insertion order, between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @param v     the new int value to assign
+	 * @return the previous value at the given index
+	 */
+	public int setAt (int index, int v) {
+		compact();
+		int old = values[index];
+		values[index] = v;
+		return old;
+	}
+
+	/**
+	 * Removes the entry at the given index in the insertion order. The index should be between 0 (inclusive) and
+	 * {@link #size()} (exclusive).
+	 *
+	 * @param index the index of the entry to remove; must be at least 0 and less than {@link #size()}
+	 * @return the value of the removed entry
+	 */
+	public int removeAt (int index) {
+		compact();
+		int old = values[index];
+		removePosition(index);
+		return old;
+	}
+
+	/**
+	 * Gets the index of {@code key} in the insertion order, or -1 if it is not present.
+	 *
+	 * @param key a key that may be present
+	 * @return the index of the key in the insertion order, or -1 if it is not present
+	 */
+	public int indexOf (int key) {
+		compact();
+		return locateKey(key);
+	}
+
+	/**
+	 * Reduces the size of the backing arrays to be the specified capacity / loadFactor, or less. If the capacity is already less,
+	 * nothing is done. If the map contains more items than the specified capacity, the next highest power of two capacity is used
+	 * instead.
+	 */
+	public void shrink (int maximumCapacity) {
+		if (maximumCapacity < 0) {throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);}
+		int tableSize = tableSize(Math.max(maximumCapacity, size) + 1, loadFactor);
+		if (mask + 1 > tableSize) {resize(tableSize);}
+	}
+
+	/**
+	 * Clears the map and reduces the size of the backing arrays to be the specified capacity / loadFactor, if they are larger.
+	 */
+	public void clear (int maximumCapacity) {
+		int tableSize = tableSize(maximumCapacity + 1, loadFactor);
+		if (mask + 1 <= tableSize) {
+			clear();
+			return;
+		}
+		size = 0;
+		end = 0;
+		zeroIndex = -1;
+		setTableSize(tableSize);
+		keys = new int[threshold];
+		values = new int[threshold];
+	}
+
+	public void clear () {
+		if (end == 0) {return;}
+		size = 0;
+		Arrays.fill(keys, 0, end, 0);
+		Arrays.fill(values, 0, end, 0);
+		end = 0;
+		zeroIndex = -1;
+		Arrays.fill(byteIndex, (byte)0);
+		Arrays.fill(shortIndex, (short)0);
+		Arrays.fill(intIndex, 0);
+	}
+
+	/**
+	 * Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may
+	 * be an expensive operation.
+	 */
+	public boolean containsValue (int value) {
+		return findPosition(value) >= 0;
+	}
+
+	public boolean containsKey (int key) {
+		return locateKey(key) >= 0;
+	}
+
+	/**
+	 * Returns a key that maps to the specified value, or {@code defaultKey} if value is not in the map.
+	 * Note, this traverses the entire map and compares every value, which may be an expensive operation. If more than
+	 * one key maps to value, this returns the earliest one in insertion order.
+	 *
+	 * @param value      the value to search for
+	 * @param defaultKey the key to return when value cannot be found
+	 * @return a key that maps to value, if present, or defaultKey if value cannot be found
+	 */
+	public int findKey (int value, int defaultKey) {
+		int i = findPosition(value);
+		return i < 0 ? defaultKey : keys[i];
+	}
+
+	/**
+	 * Returns the first position in the dense arrays of a live entry with the given value, or -1 if there is none.
+	 */
+	protected int findPosition (int value) {
+		final int[] values = this.values;
+		for (int i = 0; i < end; i++) {
+			if (values[i] == value && isLive(i)) {return i;}
+		}
+		return -1;
+	}
+
+	/**
+	 * Increases the size of the backing array to accommodate the specified number of additional items / loadFactor. Useful before
+	 * adding many items to avoid multiple backing array resizes.
+	 *
+	 * @param additionalCapacity how many additional items this should be able to hold without resizing (probably)
+	 */
+	public void ensureCapacity (int additionalCapacity) {
+		int tableSize = tableSize(size + additionalCapacity + 1, loadFactor);
+		if (mask + 1 < tableSize) {resize(tableSize);}
+	}
+
+	/**
+	 * Copies every live entry, in order, into new dense arrays sized for a hash table with {@code newSize} slots, and
+	 * rebuilds the hash table at that size.
+	 *
+	 * @param newSize the number of slots in the hash table; must be a power of two
+	 */
+	protected void resize (int newSize) {
+		final int[] oldKeys = keys;
+		final int[] oldValues = values;
+		final int oldEnd = end, oldZero = zeroIndex;
+		setTableSize(newSize);
+		final int[] keys = this.keys = new int[threshold];
+		final int[] values = this.values = new int[threshold];
+		int n = 0;
+		for (int i = 0; i < oldEnd; i++) {
+			int key = oldKeys[i];
+			if (key != 0 || i == oldZero) {
+				keys[n] = key;
+				values[n] = oldValues[i];
+				insertIndex(key, n++);
+			}
+		}
+		end = n;
+	}
+
+	/**
+	 * Gets the number of slots in the hash table, which is always a power of two.
+	 *
+	 * @return the length of the hash table
+	 */
+	public int getTableSize () {
+		return mask + 1;
+	}
+
+	/**
+	 * Gets how many bytes each slot in the hash table uses: 1 while this can hold at most 255 entries before resizing,
+	 * 2 while it can hold at most 65535, or 4 otherwise.
+	 *
+	 * @return 1, 2, or 4
+	 */
+	public int getIndexBytes () {
+		return indexBytes;
+	}
+
+	public float getLoadFactor () {
+		return loadFactor;
+	}
+
+	public void setLoadFactor (float loadFactor) {
+		if (loadFactor <= 0f || loadFactor > 1f) {throw new IllegalArgumentException("loadFactor must be > 0 and <= 1: " + loadFactor);}
+		this.loadFactor = loadFactor;
+		resize(tableSize(size + 1, loadFactor));
+	}
+
+	@Override
+	public int hashCode () {
+		int h = size;
+		final int[] keys = this.keys;
+		final int[] values = this.values;
+		for (int i = 0; i < end; i++) {
+			if (isLive(i)) {
+				h ^= keys[i];
+				h ^= values[i];
+			}
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals (Object obj) {
+		if (obj == this) {return true;}
+		if (!(obj instanceof CompactIntIntMap)) {return false;}
+		CompactIntIntMap other = (CompactIntIntMap)obj;
+		if (other.size != size) {return false;}
+		final int[] keys = this.keys;
+		final int[] values = this.values;
+		for (int i = 0; i < end; i++) {
+			if (isLive(i)) {
+				int o = other.locateKey(keys[i]);
+				if (o < 0 || other.values[o] != values[i]) {return false;}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString () {
+		return toString(", ", true);
+	}
+
+	public String toString (String entrySeparator, boolean braces) {
+		return appendTo(new StringBuilder(32), entrySeparator, "=", braces, StringBuilder::append, StringBuilder::append).toString();
+	}
+
+	/**
+	 * Appends to a StringBuilder from the contents of this CompactIntIntMap, in insertion order, but uses the given
+	 * {@link IntAppender} and {@link IntAppender} to convert each key and each value to a customizable representation
+	 * and append them to a StringBuilder. To use the default String representation, you can use
+	 * {@code StringBuilder::append} as an appender.
+	 *
+	 * @param sb                a StringBuilder that this can append to
+	 * @param entrySeparator    how to separate entries, such as {@code ", "}
+	 * @param keyValueSeparator how to separate each key from its value, such as {@code "="} or {@code ":"}
+	 * @param braces            true to wrap the output in curly braces, or false to omit them
+	 * @param keyAppender       a function that takes a StringBuilder and an int, and returns the modified StringBuilder
+	 * @param valueAppender     a function that takes a StringBuilder and an int, and returns the modified StringBuilder
+	 * @return {@code sb}, with the key-value pairs of this map appended
+	 */
+	public StringBuilder appendTo (StringBuilder sb, String entrySeparator, String keyValueSeparator, boolean braces,
+		IntAppender keyAppender, IntAppender valueAppender) {
+		if (size == 0) {return braces ? sb.append("{}") : sb;}
+		if (braces) {sb.append('{');}
+		boolean first = true;
+		for (int i = 0; i < end; i++) {
+			if (!isLive(i)) {continue;}
+			if (first) {first = false;}
+			else {sb.append(entrySeparator);}
+			keyAppender.apply(sb, keys[i]).append(keyValueSeparator);
+			valueAppender.apply(sb, values[i]);
+		}
+		if (braces) {sb.append('}');}
+		return sb;
+	}
+
+	/**
+	 * Returns a new iterator over the entries in this map, in insertion order. The same {@link IntIntMap.Entry}
+	 * instance is returned by each call to next(), with its key and value changed. Remove is supported.
+	 *
+	 * @return an iterator over the entries in this map
+	 */
+	@Override
+	public @NonNull EntryIterator iterator () {
+		return new EntryIterator(this);
+	}
+
+	/**
+	 * Returns a new iterator over the keys in this map, in insertion order. Remove is supported.
+	 *
+	 * @return an iterator over the keys in this map
+	 */
+	public KeyIterator keys () {
+		return new KeyIterator(this);
+	}
+
+	/**
+	 * Returns a new iterator over the values in this map, in insertion order. Remove is supported.
+	 *
+	 * @return an iterator over the values in this map
+	 */
+	public ValueIterator values () {
+		return new ValueIterator(this);
+	}
+
+	public static abstract class MapIterator {
+		public boolean hasNext;
+
+		protected final CompactIntIntMap map;
+		protected int nextIndex, currentIndex;
+
+		public MapIterator (CompactIntIntMap map) {
+			this.map = map;
+			reset();
+		}
+
+		public void reset () {
+			currentIndex = -1;
+			nextIndex = -1;
+			findNextIndex();
+		}
+
+		protected void findNextIndex () {
+			for (int n = map.end; ++nextIndex < n; ) {
+				if (map.isLive(nextIndex)) {
+					hasNext = true;
+					return;
+				}
+			}
+			hasNext = false;
+		}
+
+		public boolean hasNext () {
+			return hasNext;
+		}
+
+		/**
+		 * Removes the entry most recently returned by next(). This leaves a gap in the dense arrays and never moves
+		 * other entries, so iteration continues normally.
+		 */
+		public void remove () {
+			int i = currentIndex;
+			if (i < 0) {throw new IllegalStateException("next must be called before remove.");}
+			map.removePosition(i);
+			currentIndex = -1;
+		}
+	}
+
+	public static class KeyIterator extends MapIterator implements IntIterator {
+		public KeyIterator (CompactIntIntMap map) {
+			super(map);
+		}
+
+		@Override
+		public int nextInt () {
+			if (!hasNext) {throw new NoSuchElementException();}
+			int key = map.keys[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return key;
+		}
+
+		/**
+		 * Returns a new IntList containing the remaining keys.
+		 */
+		public IntList toList () {
+			IntList list = new IntList(map.size);
+			while (hasNext) {list.add(nextInt());}
+			return list;
+		}
+	}
+
+	public static class ValueIterator extends MapIterator implements IntIterator {
+		public ValueIterator (CompactIntIntMap map) {
+			super(map);
+		}
+
+		@Override
+		public int nextInt () {
+			if (!hasNext) {throw new NoSuchElementException();}
+			int value = map.values[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return value;
+		}
+
+		/**
+		 * Returns a new IntList containing the remaining values.
+		 */
+		public IntList toList () {
+			IntList list = new IntList(map.size);
+			while (hasNext) {list.add(nextInt());}
+			return list;
+		}
+	}
+
+	public static class EntryIterator extends MapIterator implements Iterable<IntIntMap.Entry>, Iterator<IntIntMap.Entry> {
+		protected IntIntMap.Entry entry = new IntIntMap.Entry();
+
+		public EntryIterator (CompactIntIntMap map) {
+			super(map);
+		}
+
+		/**
+		 * Note the same entry instance is returned each time this method is called.
+		 */
+		@Override
+		public IntIntMap.Entry next () {
+			if (!hasNext) {throw new NoSuchElementException();}
+			entry.key = map.keys[nextIndex];
+			entry.value = map.values[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return entry;
+		}
+
+		@Override
+		public @NonNull EntryIterator iterator () {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,1090 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.digital.BitConversion;
+import com.github.tommyettinger.ds.support.util.Appender;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.github.tommyettinger.ds.Utilities.neverIdentical;
+import static com.github.tommyettinger.ds.Utilities.tableSize;
+
+/**
+ * An insertion-ordered map where the keys and values are objects, laid out like a "compact dict". Null keys are not
+ * allowed. No allocation is done except when growing the table size.
+ * <p>
+ * Keys and values are stored once, densely, in {@link #keys} and {@link #values}, in the order they were first put in
+ * the map. The hash table itself, {@link #byteIndex}, {@link #shortIndex} or {@link #intIndex}, only holds positions
+ * into those dense arrays, using linear probing; it uses the narrowest type that can hold every position, so a map
+ * with up to 255 entries needs only one byte per table slot. Compared to {@link ObjectObjectOrderedMap}, which keeps
+ * each key in its hash table and again in its order list, this uses less memory, iterates in order by reading the
+ * dense arrays front to back without hashing anything, and {@link #getAt(int)} reads a value directly.
+ * <p>
+ * Removing an entry leaves a gap in the dense arrays, which iteration skips; the gaps are closed up when the dense
+ * arrays fill, or when an index-based method such as {@link #getAt(int)} is called while there are gaps. This means
+ * index-based methods are O(1) unless a removal happened since the last one, and then they take O(n) once. Calling
+ * an index-based method while iterating, after an entry was removed, can change the positions an iterator uses.
+ * <p>
+ * You can customize most behavior of this map by extending it. {@link #place(Object)} can be overridden to change how
+ * hashCodes are calculated (which can be useful for types like {@link StringBuilder} that don't implement hashCode()),
+ * and {@link #equate(Object, Object)} can be overridden to change how equality is calculated.
+ *
+ * @author Tommy Ettinger
+ */
+public class CompactObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V>> {
+
+	protected int size;
+
+	/**
+	 * The keys in insertion order, with null where an entry was removed. Only the first {@link #end} items are used.
+	 */
+	protected @Nullable K[] keys;
+
+	/**
+	 * The values in insertion order, parallel to {@link #keys}.
+	 */
+	protected @Nullable V[] values;
+
+	/**
+	 * How many items at the start of {@link #keys} are in use, including removed ones; new entries go here.
+	 */
+	protected int end;
+
+	/**
+	 * The hash table when {@link #indexBytes} is 1; each item is 0 for an empty slot, or a position in {@link #keys}
+	 * plus 1, read as unsigned.
+	 */
+	protected byte[] byteIndex;
+
+	/**
+	 * The hash table when {@link #indexBytes} is 2; each item is 0 for an empty slot, or a position in {@link #keys}
+	 * plus 1, read as unsigned.
+	 */
+	protected short[] shortIndex;
+
+	/**
+	 * The hash table when {@link #indexBytes} is 4; each item is 0 for an empty slot, or a position in {@link #keys}
+	 * plus 1.
+	 */
+	protected int[] intIndex;
+
+	/**
+	 * How many bytes each slot of the hash table uses: 1, 2, or 4. Only the index array of that width is non-empty.
+	 */
+	protected int indexBytes;
+
+	/**
+	 * Between 0f (exclusive) and 1f (inclusive), this determines how full the hash table can get before this increases
+	 * its size.
+	 */
+	protected float loadFactor;
+
+	/**
+	 * The most entries, including removed ones, that can be in the dense arrays before they must be compacted or grown;
+	 * this is also the length of {@link #keys} and {@link #values}.
+	 */
+	protected int threshold;
+
+	/**
+	 * Used by {@link #place(Object)} to bit-shift the upper bits of an {@code int} into a usable range (&gt;= 0 and &lt;=
+	 * {@link #mask}). The shift can be negative, which is convenient to match the number of bits in mask: if mask is a
+	 * 7-bit number, a shift of -7 shifts the upper 7 bits into the lowest 7 positions.
+	 */
+	protected int shift;
+
+	/**
+	 * A bitmask used to confine hashcodes to the size of the hash table. Must be all 1 bits in its low positions, ie a
+	 * power of two minus 1.
+	 */
+	protected int mask;
+
+	/**
+	 * Used by {@link #place(Object)} to mix hashCode() results. Changes on every call to {@link #resize(int)}.
+	 */
+	protected int hashMultiplier;
+
+	/**
+	 * Returned by {@link #get(Object)} when no value exists for the given key, as well as some other methods to indicate that
+	 * no value in the Map could be returned.
+	 */
+	@Nullable public V defaultValue = null;
+
+	/**
+	 * Creates a new map with an initial capacity of {@link Utilities#getDefaultTableCapacity()} and a load factor of {@link Utilities#getDefaultLoadFactor()}.
+	 */
+	public CompactObjectObjectMap () {
+		this(Utilities.getDefaultTableCapacity(), Utilities.getDefaultLoadFactor());
+	}
+
+	/**
+	 * Creates a new map with the given starting capacity and a load factor of {@link Utilities#getDefaultLoadFactor()}.
+	 *
+	 * @param initialCapacity how many entries this can hold before it has to grow
+	 */
+	public CompactObjectObjectMap (int initialCapacity) {
+		this(initialCapacity, Utilities.getDefaultLoadFactor());
+	}
+
+	/**
+	 * Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity items before
+	 * growing the backing table.
+	 *
+	 * @param initialCapacity how many entries this can hold before it has to grow
+	 * @param loadFactor      what fraction of the capacity can be filled before this has to resize; 0 &lt; loadFactor &lt;= 1
+	 */
+	public CompactObjectObjectMap (int initialCapacity, float loadFactor) {
+		if (loadFactor <= 0f || loadFactor > 1f) {throw new IllegalArgumentException("loadFactor must be > 0 and <= 1: " + loadFactor);}
+		this.loadFactor = loadFactor;
+		setTableSize(tableSize(initialCapacity + 1, loadFactor));
+		keys = (K[])new Object[threshold];
+		values = (V[])new Object[threshold];
+	}
+
+	/**
+	 * Creates a new map identical to the specified map.
+	 *
+	 * @param map a CompactObjectObjectMap to copy
+	 */
+	public CompactObjectObjectMap (CompactObjectObjectMap<? extends K, ? extends V> map) {
+		this.loadFactor = map.loadFactor;
+		this.threshold = map.threshold;
+		this.mask = map.mask;
+		this.shift = map.shift;
+		this.hashMultiplier = map.hashMultiplier;
+		this.indexBytes = map.indexBytes;
+		byteIndex = Arrays.copyOf(map.byteIndex, map.byteIndex.length);
+		shortIndex = Arrays.copyOf(map.shortIndex, map.shortIndex.length);
+		intIndex = Arrays.copyOf(map.intIndex, map.intIndex.length);
+		keys = Arrays.copyOf(map.keys, map.keys.length);
+		values = Arrays.copyOf(map.values, map.values.length);
+		end = map.end;
+		size = map.size;
+		defaultValue = map.defaultValue;
+	}
+
+	/**
+	 * Creates a new map identical to the specified map.
+	 *
+	 * @param map a Map to copy
+	 */
+	public CompactObjectObjectMap (Map<? extends K, ? extends V> map) {
+		this(map.size());
+		putAll(map);
+	}
+
+	/**
+	 * Given two side-by-side arrays, one of keys, one of values, this constructs a map and inserts each pair of key and value into it.
+	 * If keys and values have different lengths, this only uses the length of the smaller array.
+	 *
+	 * @param keys   an array of keys
+	 * @param values an array of values
+	 */
+	public CompactObjectObjectMap (K[] keys, V[] values) {
+		this(Math.min(keys.length, values.length));
+		putAll(keys, values);
+	}
+
+	/**
+	 * Given two side-by-side collections, one of keys, one of values, this constructs a map and inserts each pair of key and value into it.
+	 * If keys and values have different lengths, this only uses the length of the smaller collection.
+	 *
+	 * @param keys   a Collection of keys
+	 * @param values a Collection of values
+	 */
+	public CompactObjectObjectMap (Collection<? extends K> keys, Collection<? extends V> values) {
+		this(Math.min(keys.size(), values.size()));
+		putAll(keys, values);
+	}
+
+	/**
+	 * Sets {@link #mask}, {@link #threshold}, and everything else that depends on the size of the hash table, and
+	 * allocates an empty hash table of the narrowest type that can hold a position for every entry. This doesn't
+	 * change the dense arrays.
+	 *
+	 * @param tableSize the number of slots in the hash table; must be a power of two, at least 2
+	 */
+	protected void setTableSize (int tableSize) {
+		threshold = Math.max(1, Math.min((int)(tableSize * loadFactor), tableSize - 1));
+		mask = tableSize - 1;
+		shift = BitConversion.countLeadingZeros(mask) + 32;
+		hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
+		byteIndex = Utilities.EMPTY_BYTES;
+		shortIndex = Utilities.EMPTY_SHORTS;
+		intIndex = Utilities.EMPTY_INTS;
+		if (threshold <= 0xFF) {
+			indexBytes = 1;
+			byteIndex = new byte[tableSize];
+		} else if (threshold <= 0xFFFF) {
+			indexBytes = 2;
+			shortIndex = new short[tableSize];
+		} else {
+			indexBytes = 4;
+			intIndex = new int[tableSize];
+		}
+	}
+
+	/**
+	 * Gets the item in the hash table at {@code slot}, which is 0 for an empty slot or a position in {@link #keys}
+	 * plus 1.
+	 *
+	 * @param slot an index in the hash table, from 0 to {@link #mask} inclusive
+	 * @return 0 if the slot is empty, or one more than the position of its entry in the dense arrays
+	 */
+	protected int indexAt (int slot) {
+		switch (indexBytes) {
+			case 1:
+				return byteIndex[slot] & 0xFF;
+			case 2:
+				return shortIndex[slot] & 0xFFFF;
+			default:
+				return intIndex[slot];
+		}
+	}
+
+	/**
+	 * Sets the item in the hash table at {@code slot}.
+	 *
+	 * @param slot  an index in the hash table, from 0 to {@link #mask} inclusive
+	 * @param entry 0 to empty the slot, or one more than a position in the dense arrays
+	 */
+	protected void setIndex (int slot, int entry) {
+		switch (indexBytes) {
+			case 1:
+				byteIndex[slot] = (byte)entry;
+				break;
+			case 2:
+				shortIndex[slot] = (short)entry;
+				break;
+			default:
+				intIndex[slot] = entry;
+		}
+	}
+
+	/**
+	 * Returns an index &gt;= 0 and &lt;= {@link #mask} for the specified {@code item}, mixed.
+	 *
+	 * @param item a non-null Object; its hashCode() method should be used by most implementations
+	 * @return an index between 0 and {@link #mask} (both inclusive)
+	 */
+	protected int place (@NonNull Object item) {
+		return BitConversion.imul(item.hashCode(), hashMultiplier) >>> shift;
+	}
+
+	/**
+	 * Compares the objects left and right, which are usually keys, for equality, returning true if they are considered
+	 * equal. This is used by the rest of this class to determine whether two keys are considered equal. Normally, this
+	 * returns {@code left.equals(right)}, but subclasses can override it to use reference equality, fuzzy equality, deep
+	 * array equality, or any other custom definition of equality. Usually, {@link #place(Object)} is also overridden if
+	 * this method is.
+	 *
+	 * @param left  must be non-null; typically a key being compared, but not necessarily
+	 * @param right may be null; typically a key being compared, but can often be null for an empty key slot, or some other type
+	 * @return true if left and right are considered equal for the purposes of this class
+	 */
+	protected boolean equate (Object left, @Nullable Object right) {
+		return left.equals(right);
+	}
+
+	/**
+	 * Returns the position of the key in the dense arrays if already present, else -1. This position can be larger
+	 * than the key's index in iteration order if entries were removed before it.
+	 *
+	 * @param key a non-null K key
+	 * @return -1 if the key was not found, or the position of the existing key in {@link #keys}
+	 */
+	protected int locateKey (Object key) {
+		final K[] keys = this.keys;
+		for (int slot = place(key); ; slot = slot + 1 & mask) {
+			final int entry = indexAt(slot);
+			if (entry == 0) {return -1;}
+			if (equate(key, keys[entry - 1])) {return entry - 1;}
+		}
+	}
+
+	/**
+	 * Puts {@code position + 1} in the first empty slot of the hash table for {@code key}. Doesn't check for an
+	 * existing key or change the dense arrays.
+	 */
+	protected void insertIndex (@NonNull Object key, int position) {
+		int slot = place(key);
+		while (indexAt(slot) != 0) {slot = slot + 1 & mask;}
+		setIndex(slot, position + 1);
+	}
+
+	/**
+	 * Returns the old value associated with the specified key, or this map's {@link #defaultValue} if there was no prior value.
+	 * A new key goes at the end of the iteration order; a key that was already present keeps its place.
+	 */
+	@Override
+	@Nullable
+	public V put (K key, @Nullable V value) {
+		return putOrDefault(key, value, defaultValue);
+	}
+
+	@Nullable
+	public V putOrDefault (K key, @Nullable V value, @Nullable V defaultValue) {
+		if (key == null) return defaultValue;
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			V oldValue = values[i];
+			values[i] = value;
+			return oldValue;
+		}
+		if (end == threshold) {
+			// Grow if the dense arrays are mostly live entries; otherwise closing the gaps leaves enough room.
+			if (size >= threshold - (threshold >>> 2)) {resize(mask + 1 << 1);}
+			else {compact();}
+		}
+		keys[end] = key;
+		values[end] = value;
+		insertIndex(key, end++);
+		size++;
+		return defaultValue;
+	}
+
+	/**
+	 * Copies all the mappings from the specified map to this map. The effect of this call is equivalent to that of
+	 * calling {@link #put(Object, Object) put(k, v)} on this map once for each mapping from key {@code k} to value
+	 * {@code v} in the specified map.
+	 *
+	 * @param m mappings to be stored in this map
+	 */
+	@Override
+	public void putAll (Map<? extends K, ? extends V> m) {
+		ensureCapacity(m.size());
+		for (Map.Entry<? extends K, ? extends V> kv : m.entrySet()) {put(kv.getKey(), kv.getValue());}
+	}
+
+	/**
+	 * Given two side-by-side collections, one of keys, one of values, this inserts each pair of key and value into this map with put().
+	 *
+	 * @param keys   a Collection of keys
+	 * @param values a Collection of values
+	 */
+	public void putAll (Collection<? extends K> keys, Collection<? extends V> values) {
+		int length = Math.min(keys.size(), values.size());
+		ensureCapacity(length);
+		K key;
+		Iterator<? extends K> ki = keys.iterator();
+		Iterator<? extends V> vi = values.iterator();
+		while (ki.hasNext() && vi.hasNext()) {
+			key = ki.next();
+			if (key != null) {
+				put(key, vi.next());
+			}
+		}
+	}
+
+	/**
+	 * Given two side-by-side arrays, one of keys, one of values, this inserts each pair of key and value into this map with put().
+	 *
+	 * @param keys   an array of keys
+	 * @param values an array of values
+	 */
+	public void putAll (K[] keys, V[] values) {
+		int length = Math.min(keys.length, values.length);
+		ensureCapacity(length);
+		K key;
+		for (int i = 0; i < length; i++) {
+			key = keys[i];
+			if (key != null) {put(key, values[i]);}
+		}
+	}
+
+	/**
+	 * Returns the value for the specified key, or {@link #defaultValue} if the key is not in the map.
+	 * Note that {@link #defaultValue} is often null, which is also a valid value that can be assigned to a
+	 * legitimate key. Checking that the result of this method is null does not guarantee that the
+	 * {@code key} is not present.
+	 *
+	 * @param key a non-null Object that should almost always be a {@code K} (or an instance of a subclass of {@code K})
+	 */
+	@Override
+	@Nullable
+	public V get (Object key) {
+		return getOrDefault(key, defaultValue);
+	}
+
+	/**
+	 * Returns the value for the specified key, or the given default value if the key is not in the map.
+	 */
+	@Override
+	@Nullable
+	public V getOrDefault (Object key, @Nullable V defaultValue) {
+		if (key == null) return defaultValue;
+		int i = locateKey(key);
+		return i < 0 ? defaultValue : values[i];
+	}
+
+	@Override
+	@Nullable
+	public V remove (Object key) {
+		if (key == null || size == 0) return defaultValue;
+		final K[] keys = this.keys;
+		int slot = place(key), entry;
+		for (; ; slot = slot + 1 & mask) {
+			if ((entry = indexAt(slot)) == 0) {return defaultValue;}
+			if (equate(key, keys[entry - 1])) {break;}
+		}
+		V oldValue = values[entry - 1];
+		removeEntry(slot, entry - 1);
+		return oldValue;
+	}
+
+	/**
+	 * Removes the entry at {@code position} in the dense arrays, whose hash table slot is {@code slot}, leaving a gap
+	 * in the dense arrays and closing the gap in the hash table by shifting later entries in its probe run back.
+	 */
+	protected void removeEntry (int slot, int position) {
+		final K[] keys = this.keys;
+		keys[position] = null;
+		values[position] = null;
+		if (position == end - 1) {end = position;}
+		size--;
+		final int mask = this.mask;
+		int pos = slot, last, entry, ideal;
+		for (; ; ) {
+			pos = ((last = pos) + 1) & mask;
+			for (; ; ) {
+				if ((entry = indexAt(pos)) == 0) {
+					setIndex(last, 0);
+					return;
+				}
+				ideal = place(keys[entry - 1]);
+				if (last <= pos ? last >= ideal || ideal > pos : last >= ideal && ideal > pos) break;
+				pos = (pos + 1) & mask;
+			}
+			setIndex(last, entry);
+		}
+	}
+
+	/**
+	 * Removes the entry at {@code position} in the dense arrays, finding its hash table slot first.
+	 */
+	protected void removePosition (int position) {
+		int slot = place(keys[position]);
+		while (indexAt(slot) != position + 1) {slot = slot + 1 & mask;}
+		removeEntry(slot, position);
+	}
+
+	/**
+	 * Moves every live entry to the front of the dense arrays, keeping their order, and rebuilds the hash table at its
+	 * current size. After this, the position of each entry in the dense arrays is its index in iteration order.
+	 */
+	protected void compact () {
+		if (end == size) {return;}
+		final K[] keys = this.keys;
+		final V[] values = this.values;
+		int n = 0;
+		for (int i = 0; i < end; i++) {
+			K key = keys[i];
+			if (key != null) {
+				keys[n] = key;
+				values[n++] = values[i];
+			}
+		}
+		Utilities.clear(keys, n, end - n);
+		Utilities.clear(values, n, end - n);
+		end = n;
+		Arrays.fill(byteIndex, (byte)0);
+		Arrays.fill(shortIndex, (short)0);
+		Arrays.fill(intIndex, 0);
+		for (int i = 0; i < n; i++) {insertIndex(keys[i], i);}
+	}
+
+	/**
+	 * Returns true if the map has one or more items.
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	/**
+	 * Returns the number of key-value mappings in this map.
+	 *
+	 * @return the number of key-value mappings in this map
+	 */
+	@Override
+	public int size () {
+		return size;
+	}
+
+	/**
+	 * Returns true if the map is empty.
+	 */
+	@Override
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Gets the default value, a {@code V} which is returned by {@link #get(Object)} if the key is not found.
+	 * If not changed, the default value is null.
+	 *
+	 * @return the current default value
+	 */
+	@Nullable
+	public V getDefaultValue () {
+		return defaultValue;
+	}
+
+	/**
+	 * Sets the default value, a {@code V} which is returned by {@link #get(Object)} if the key is not found.
+	 * If not changed, the default value is null. Note that {@link #getOrDefault(Object, Object)} is also available,
+	 * which allows specifying a "not-found" value per-call.
+	 *
+	 * @param defaultValue may be any V object or null; should usually be one that doesn't occur as a typical value
+	 */
+	public void setDefaultValue (@Nullable V defaultValue) {
+		this.defaultValue = defaultValue;
+	}
+
+	/**
+	 * Gets the V value at the given {@code index} in the insertion order. The index should be between 0
+	 * (inclusive) and {@link #size()} (exclusive).
+	 *
+	 * @param index an index in the insertion order, between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @return the value at the given index
+	 */
+	@Nullable
+	public V getAt (int index) {
+		compact();
+		return values[index];
+	}
+
+	/**
+	 * Gets the K key at the given {@code index} in the insertion order. The index should be between 0
+	 * (inclusive) and {@link #size()} (exclusive).
+	 *
+	 * @param index an index in the insertion order, between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @return the key at the given index
+	 */
+	@Nullable
+	public K keyAt (int index) {
+		compact();
+		return keys[index];
+	}
+
+	/**
+	 * Changes the V value at the given {@code index} in the insertion order to {@code v}, without changing keys. The
+	 * index should be between 0 (inclusive) and {@link #size()} (exclusive).
+	 *
+	 * @param index an index in the insertion order, between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @param v     the new V value to assign
+	 * @return the previous value at the given index
+	 */
+	@Nullable
+	public V setAt (int index, @Nullable V v) {
+		compact();
+		V old = values[index];
+		values[index] = v;
+		return old;
+	}
+
+	/**
+	 * Removes the entry at the given index in the insertion order. The index should be between 0 (inclusive) and
+	 * {@link #size()} (exclusive).
+	 *
+	 * @param index the index of the entry to remove; must be at least 0 and less than {@link #size()}
+	 * @return the value of the removed entry
+	 */
+	@Nullable
+	public V removeAt (int index) {
+		compact();
+		V old = values[index];
+		removePosition(index);
+		return old;
+	}
+
+	/**
+	 * Gets the index of {@code key} in the insertion order, or -1 if it is not present.
+	 *
+	 * @param key a key that may be present
+	 * @return the index of the key in the insertion order, or -1 if it is not present
+	 */
+	public int indexOf (Object key) {
+		if (key == null) return -1;
+		compact();
+		return locateKey(key);
+	}
+
+	/**
+	 * Reduces the size of the backing arrays to be the specified capacity / loadFactor, or less. If the capacity is already less,
+	 * nothing is done. If the map contains more items than the specified capacity, the next highest power of two capacity is used
+	 * instead.
+	 */
+	public void shrink (int maximumCapacity) {
+		if (maximumCapacity < 0) {throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);}
+		int tableSize = tableSize(Math.max(maximumCapacity, size) + 1, loadFactor);
+		if (mask + 1 > tableSize) {resize(tableSize);}
+	}
+
+	/**
+	 * Clears the map and reduces the size of the backing arrays to be the specified capacity / loadFactor, if they are larger.
+	 */
+	public void clear (int maximumCapacity) {
+		int tableSize = tableSize(maximumCapacity + 1, loadFactor);
+		if (mask + 1 <= tableSize) {
+			clear();
+			return;
+		}
+		size = 0;
+		end = 0;
+		setTableSize(tableSize);
+		keys = (K[])new Object[threshold];
+		values = (V[])new Object[threshold];
+	}
+
+	@Override
+	public void clear () {
+		if (end == 0) {return;}
+		size = 0;
+		Utilities.clear(keys, 0, end);
+		Utilities.clear(values, 0, end);
+		end = 0;
+		Arrays.fill(byteIndex, (byte)0);
+		Arrays.fill(shortIndex, (short)0);
+		Arrays.fill(intIndex, 0);
+	}
+
+	/**
+	 * Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may
+	 * be an expensive operation.
+	 *
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *                 {@link #equals(Object)}.
+	 */
+	public boolean containsValue (@Nullable Object value, boolean identity) {
+		return findPosition(value, identity) >= 0;
+	}
+
+	@Override
+	public boolean containsKey (Object key) {
+		return key != null && locateKey(key) >= 0;
+	}
+
+	@Override
+	public boolean containsValue (Object value) {
+		return containsValue(value, false);
+	}
+
+	/**
+	 * Returns the key for the specified value, or null if it is not in the map. Note this traverses the entire map and compares
+	 * every value, which may be an expensive operation. If more than one key maps to value, this returns the earliest one in
+	 * insertion order.
+	 *
+	 * @param value    the value to search for
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *                 {@link #equals(Object)}.
+	 * @return a key that maps to value, if present, or null if value cannot be found
+	 */
+	@Nullable
+	public K findKey (@Nullable Object value, boolean identity) {
+		int i = findPosition(value, identity);
+		return i < 0 ? null : keys[i];
+	}
+
+	/**
+	 * Returns the first position in the dense arrays of a live entry with the given value, or -1 if there is none.
+	 */
+	protected int findPosition (@Nullable Object value, boolean identity) {
+		final K[] keys = this.keys;
+		final V[] values = this.values;
+		if (value == null) {
+			for (int i = 0; i < end; i++) {if (keys[i] != null && values[i] == null) {return i;}}
+		} else if (identity) {
+			for (int i = 0; i < end; i++) {if (values[i] == value && keys[i] != null) {return i;}}
+		} else {
+			for (int i = 0; i < end; i++) {if (value.equals(values[i]) && keys[i] != null) {return i;}}
+		}
+		return -1;
+	}
+
+	/**
+	 * Increases the size of the backing array to accommodate the specified number of additional items / loadFactor. Useful before
+	 * adding many items to avoid multiple backing array resizes.
+	 *
+	 * @param additionalCapacity how many additional items this should be able to hold without resizing (probably)
+	 */
+	public void ensureCapacity (int additionalCapacity) {
+		int tableSize = tableSize(size + additionalCapacity + 1, loadFactor);
+		if (mask + 1 < tableSize) {resize(tableSize);}
+	}
+
+	/**
+	 * Copies every live entry, in order, into new dense arrays sized for a hash table with {@code newSize} slots, and
+	 * rebuilds the hash table at that size.
+	 *
+	 * @param newSize the number of slots in the hash table; must be a power of two
+	 */
+	protected void resize (int newSize) {
+		final K[] oldKeys = keys;
+		final V[] oldValues = values;
+		final int oldEnd = end;
+		setTableSize(newSize);
+		final K[] keys = this.keys = (K[])new Object[threshold];
+		final V[] values = this.values = (V[])new Object[threshold];
+		int n = 0;
+		for (int i = 0; i < oldEnd; i++) {
+			K key = oldKeys[i];
+			if (key != null) {
+				keys[n] = key;
+				values[n] = oldValues[i];
+				insertIndex(key, n++);
+			}
+		}
+		end = n;
+	}
+
+	/**
+	 * Gets the number of slots in the hash table, which is always a power of two.
+	 *
+	 * @return the length of the hash table
+	 */
+	public int getTableSize () {
+		return mask + 1;
+	}
+
+	/**
+	 * Gets how many bytes each slot in the hash table uses: 1 while this can hold at most 255 entries before resizing,
+	 * 2 while it can hold at most 65535, or 4 otherwise.
+	 *
+	 * @return 1, 2, or 4
+	 */
+	public int getIndexBytes () {
+		return indexBytes;
+	}
+
+	public float getLoadFactor () {
+		return loadFactor;
+	}
+
+	public void setLoadFactor (float loadFactor) {
+		if (loadFactor <= 0f || loadFactor > 1f) {throw new IllegalArgumentException("loadFactor must be > 0 and <= 1: " + loadFactor);}
+		this.loadFactor = loadFactor;
+		resize(tableSize(size + 1, loadFactor));
+	}
+
+	@Override
+	public int hashCode () {
+		int h = size;
+		final K[] keys = this.keys;
+		final V[] values = this.values;
+		for (int i = 0; i < end; i++) {
+			K key = keys[i];
+			if (key != null) {
+				h ^= key.hashCode();
+				V value = values[i];
+				if (value != null) {h ^= value.hashCode();}
+			}
+		}
+		return h;
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	@Override
+	public boolean equals (Object obj) {
+		if (obj == this) {return true;}
+		if (!(obj instanceof Map)) {return false;}
+		Map other = (Map)obj;
+		if (other.size() != size) {return false;}
+		final K[] keys = this.keys;
+		final V[] values = this.values;
+		try {
+			for (int i = 0; i < end; i++) {
+				K key = keys[i];
+				if (key != null) {
+					V value = values[i];
+					if (value == null) {
+						if (other.getOrDefault(key, neverIdentical) != null) {return false;}
+					} else {
+						if (!value.equals(other.get(key))) {return false;}
+					}
+				}
+			}
+		} catch (ClassCastException | NullPointerException unused) {
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	public String toString () {
+		return toString(", ", true);
+	}
+
+	public String toString (String entrySeparator, boolean braces) {
+		return appendTo(new StringBuilder(32), entrySeparator, "=", braces, StringBuilder::append, StringBuilder::append).toString();
+	}
+
+	/**
+	 * Appends to a StringBuilder from the contents of this CompactObjectObjectMap, in insertion order, but uses the
+	 * given {@link Appender} and {@link Appender} to convert each key and each value to a customizable representation
+	 * and append them to a StringBuilder. To use the default String representation, you can use
+	 * {@code StringBuilder::append} as an appender.
+	 *
+	 * @param sb                a StringBuilder that this can append to
+	 * @param entrySeparator    how to separate entries, such as {@code ", "}
+	 * @param keyValueSeparator how to separate each key from its value, such as {@code "="} or {@code ":"}
+	 * @param braces            true to wrap the output in curly braces, or false to omit them
+	 * @param keyAppender       a function that takes a StringBuilder and a K, and returns the modified StringBuilder
+	 * @param valueAppender     a function that takes a StringBuilder and a V, and returns the modified StringBuilder
+	 * @return {@code sb}, with the key-value pairs of this map appended
+	 */
+	public StringBuilder appendTo (StringBuilder sb, String entrySeparator, String keyValueSeparator, boolean braces,
+		Appender<K> keyAppender, Appender<V> valueAppender) {
+		if (size == 0) {return braces ? sb.append("{}") : sb;}
+		if (braces) {sb.append('{');}
+		final K[] keys = this.keys;
+		final V[] values = this.values;
+		boolean first = true;
+		for (int i = 0; i < end; i++) {
+			K key = keys[i];
+			if (key == null) {continue;}
+			if (first) {first = false;}
+			else {sb.append(entrySeparator);}
+			if (key == this) sb.append("(this)");
+			else keyAppender.apply(sb, key);
+			sb.append(keyValueSeparator);
+			V value = values[i];
+			if (value == this) sb.append("(this)");
+			else valueAppender.apply(sb, value);
+		}
+		if (braces) {sb.append('}');}
+		return sb;
+	}
+
+	/**
+	 * Gets the iterator of a new {@link Entries} produced by {@link #entrySet()}.
+	 *
+	 * @return an {@link Iterator} over {@link Map.Entry} key-value pairs; remove is supported.
+	 */
+	@Override
+	public @NonNull Iterator<Map.Entry<K, V>> iterator () {
+		return entrySet().iterator();
+	}
+
+	/**
+	 * Returns a Set view of the entries in the map, in insertion order. Remove is supported by the Set's iterator. A
+	 * new Entries object is returned each time this is called.
+	 *
+	 * @return a {@link java.util.Set} of {@link Map.Entry} key-value pairs
+	 */
+	@Override
+	public @NonNull Entries<K, V> entrySet () {
+		return new Entries<>(this);
+	}
+
+	/**
+	 * Returns a Collection of the values in the map, in insertion order. Remove is supported. A new Values object is
+	 * returned each time this is called.
+	 *
+	 * @return a {@link Collection} of V values
+	 */
+	@Override
+	public @NonNull Values<K, V> values () {
+		return new Values<>(this);
+	}
+
+	/**
+	 * Returns a Set view of the keys in the map, in insertion order. Remove is supported. A new Keys object is returned
+	 * each time this is called.
+	 *
+	 * @return a {@link java.util.Set} of K keys
+	 */
+	@Override
+	public @NonNull Keys<K, V> keySet () {
+		return new Keys<>(this);
+	}
+
+	public static abstract class MapIterator<K, V, I> implements Iterable<I>, Iterator<I> {
+		public boolean hasNext;
+
+		protected final CompactObjectObjectMap<K, V> map;
+		protected int nextIndex, currentIndex;
+
+		public MapIterator (CompactObjectObjectMap<K, V> map) {
+			this.map = map;
+			reset();
+		}
+
+		public void reset () {
+			currentIndex = -1;
+			nextIndex = -1;
+			findNextIndex();
+		}
+
+		protected void findNextIndex () {
+			final K[] keys = map.keys;
+			for (int n = map.end; ++nextIndex < n; ) {
+				if (keys[nextIndex] != null) {
+					hasNext = true;
+					return;
+				}
+			}
+			hasNext = false;
+		}
+
+		@Override
+		public @NonNull Iterator<I> iterator () {
+			return this;
+		}
+
+		@Override
+		public boolean hasNext () {
+			return hasNext;
+		}
+
+		/**
+		 * Removes the entry most recently returned by next(). This leaves a gap in the dense arrays and never moves
+		 * other entries, so iteration continues normally.
+		 */
+		@Override
+		public void remove () {
+			int i = currentIndex;
+			if (i < 0) {throw new IllegalStateException("next must be called before remove.");}
+			map.removePosition(i);
+			currentIndex = -1;
+		}
+	}
+
+	public static class Entries<K, V> extends AbstractSet<Map.Entry<K, V>> {
+		protected ObjectObjectMap.Entry<K, V> entry = new ObjectObjectMap.Entry<>();
+		protected MapIterator<K, V, Map.Entry<K, V>> iter;
+
+		public Entries (CompactObjectObjectMap<K, V> map) {
+			iter = new MapIterator<K, V, Map.Entry<K, V>>(map) {
+				/**
+				 * Note the same entry instance is returned each time this method is called.
+				 */
+				@Override
+				public Map.Entry<K, V> next () {
+					if (!hasNext) {throw new NoSuchElementException();}
+					entry.key = map.keys[nextIndex];
+					entry.value = map.values[nextIndex];
+					currentIndex = nextIndex;
+					findNextIndex();
+					return entry;
+				}
+			};
+		}
+
+		@Override
+		public boolean contains (Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry<?, ?> e = (Map.Entry<?, ?>)o;
+			Object key = e.getKey();
+			if (key == null) return false;
+			int i = iter.map.locateKey(key);
+			if (i < 0) return false;
+			Object value = iter.map.values[i], other = e.getValue();
+			return value == null ? other == null : value.equals(other);
+		}
+
+		@Override
+		public @NonNull MapIterator<K, V, Map.Entry<K, V>> iterator () {
+			return iter;
+		}
+
+		@Override
+		public int size () {
+			return iter.map.size;
+		}
+	}
+
+	public static class Values<K, V> extends AbstractCollection<V> {
+		protected MapIterator<K, V, V> iter;
+
+		public Values (CompactObjectObjectMap<K, V> map) {
+			iter = new MapIterator<K, V, V>(map) {
+				@Override
+				@Nullable
+				public V next () {
+					if (!hasNext) {throw new NoSuchElementException();}
+					V value = map.values[nextIndex];
+					currentIndex = nextIndex;
+					findNextIndex();
+					return value;
+				}
+			};
+		}
+
+		@Override
+		public boolean contains (Object o) {
+			return iter.map.containsValue(o);
+		}
+
+		@Override
+		public @NonNull MapIterator<K, V, V> iterator () {
+			return iter;
+		}
+
+		@Override
+		public int size () {
+			return iter.map.size;
+		}
+	}
+
+	public static class Keys<K, V> extends AbstractSet<K> {
+		protected MapIterator<K, V, K> iter;
+
+		public Keys (CompactObjectObjectMap<K, V> map) {
+			iter = new MapIterator<K, V, K>(map) {
+				@Override
+				public K next () {
+					if (!hasNext) {throw new NoSuchElementException();}
+					K key = map.keys[nextIndex];
+					currentIndex = nextIndex;
+					findNextIndex();
+					return key;
+				}
+			};
+		}
+
+		@Override
+		public boolean contains (Object o) {
+			return iter.map.containsKey(o);
+		}
+
+		@Override
+		public boolean remove (Object o) {
+			if (!iter.map.containsKey(o)) return false;
+			iter.map.remove(o);
+			return true;
+		}
+
+		@Override
+		public @NonNull MapIterator<K, V, K> iterator () {
+			return iter;
+		}
+
+		@Override
+		public int size () {
+			return iter.map.size;
+		}
+	}
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A flattened, read-only form of a {@link Junction} (or any other {@link Term}) that can match many Collections quickly.
+ * Every distinct {@link Junction.Leaf} value in the Junction is assigned a bit position, and every {@link Junction.Any},
+ * {@link Junction.All}, {@link Junction.One}, and {@link Junction.Not} becomes a node holding a bit mask of its Leaf
+ * children, plus a list of any child nodes that aren't Leaf values. Matching a Collection first finds which of the Leaf
+ * values it contains (checking each distinct value only once), then evaluates the nodes with word-level {@code &} and
+ * {@code |} operations on those masks. Nested Any and All Terms are merged into their parent when they are the same type,
+ * and double negations are removed, so a Junction doesn't need to be canonicalized before it is compiled.
+ * <br>
+ * When every Leaf value is an Enum constant of the same type, bit positions are the constants' ordinals, so
+ * {@link #match(EnumSet)} can evaluate directly on the bits an {@link EnumSet} already stores, without checking any items
+ * one at a time. Similarly, when every Leaf value is an Integer and they span a small enough range, bit positions are
+ * offsets from the smallest Integer, and {@link #match(OffsetBitSet)} only needs to align the bits of an
+ * {@link OffsetBitSet} to that range. Any other Collection is checked with {@link Collection#contains(Object)} once per
+ * distinct Leaf value.
+ * <br>
+ * The compiled form doesn't change if the Junction it was compiled from changes later. A CompiledJunction keeps a small
+ * scratch array that it reuses for every match, so one instance should not be used by multiple threads at once; the copy
+ * constructor {@link #CompiledJunction(CompiledJunction)} shares everything except that scratch array, so it is a cheap way
+ * to get one instance per thread.
+ *
+ * @param <T> any Comparable type, such as String or any enum type; the same as the Junction's type
+ */
+public class CompiledJunction<T extends Comparable<T>> {
+	protected static final byte ANY = 0, ALL = 1, ONE = 2, NOT = 3;
+
+	/**
+	 * The distinct Leaf values in the compiled Term, in the order they were first encountered.
+	 */
+	protected final ObjectList<T> items;
+	/**
+	 * The bit position for each item in {@link #items}, at the same index.
+	 */
+	protected final int[] positions;
+	/**
+	 * How many 32-bit words are needed to hold the highest bit position.
+	 */
+	protected final int words;
+	/**
+	 * If every item is an Integer and positions are relative to the smallest one, this is that smallest Integer.
+	 */
+	protected final int base;
+	/**
+	 * True if every item is an Enum constant of the same type, and each position is that item's ordinal.
+	 */
+	protected final boolean enumPositions;
+	/**
+	 * True if every item is an Integer, and each position is that item minus {@link #base}.
+	 */
+	protected final boolean intPositions;
+
+	protected final byte[] kinds;
+	/**
+	 * Holds {@link #words} ints for each node; bit {@code p} is set if the item at position {@code p} is a Leaf child of that node.
+	 */
+	protected final int[] masks;
+	/**
+	 * The child nodes (that aren't Leaf values) of node {@code n} are in {@link #children} from index
+	 * {@code childStarts[n]}, inclusive, to {@code childStarts[n+1]}, exclusive.
+	 */
+	protected final int[] childStarts;
+	protected final int[] children;
+
+	protected transient final int[] present;
+
+	/**
+	 * Compiles the given Junction (or any other Term) into a flat matcher. This does not modify {@code term}.
+	 *
+	 * @param term a Junction or other Term to compile; will not be modified
+	 */
+	public CompiledJunction(Term<T> term) {
+		ObjectList<Term<T>> nodes = new ObjectList<>(8);
+		items = new ObjectList<>(8);
+		ObjectIntMap<T> leafIndices = new ObjectIntMap<>(8);
+		ObjectList<IntList> leafChildren = new ObjectList<>(8);
+		ObjectList<IntList> nodeChildren = new ObjectList<>(8);
+		IntList kindList = new IntList(8);
+		Term<T> root = unwrap(term);
+		// Any root that isn't a node (that is, a Leaf) is treated as an Any with one Leaf.
+		if (kindOf(root) < 0) root = Junction.Any.of(root);
+		nodes.add(root);
+		for (int n = 0; n < nodes.size(); n++) {
+			Term<T> node = nodes.get(n);
+			int kind = kindOf(node);
+			kindList.add(kind);
+			IntList leaves = new IntList(4), subs = new IntList(4);
+			leafChildren.add(leaves);
+			nodeChildren.add(subs);
+			ObjectList<Term<T>> contents = new ObjectList<>(4);
+			gather(node, kind, contents);
+			for (int c = 0; c < contents.size(); c++) {
+				Term<T> child = contents.get(c);
+				if (kindOf(child) < 0) {
+					T item = child.value();
+					int idx = leafIndices.getOrDefault(item, -1);
+					if (idx < 0) {
+						idx = items.size();
+						leafIndices.put(item, idx);
+						items.add(item);
+					}
+					if (kind == ONE && leaves.contains(idx)) {
+						// A One counts each child that matches, so a repeated Leaf must count again; a mask bit can only
+						// count once, so the repeat becomes an Any node holding just that Leaf.
+						subs.add(nodes.size());
+						nodes.add(Junction.Any.of(child));
+					} else
+						leaves.add(idx);
+				} else {
+					subs.add(nodes.size());
+					nodes.add(child);
+				}
+			}
+		}
+
+		final int itemCount = items.size();
+		positions = new int[itemCount];
+		boolean allEnum = itemCount > 0, allInt = itemCount > 0;
+		Class<?> declaring = null;
+		int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+		for (int i = 0; i < itemCount; i++) {
+			T item = items.get(i);
+			if (allEnum) {
+				if (item instanceof Enum<?> && (declaring == null || declaring == ((Enum<?>)item).getDeclaringClass()))
+					declaring = ((Enum<?>)item).getDeclaringClass();
+				else
+					allEnum = false;
+			}
+			if (allInt) {
+				if (item instanceof Integer) {
+					min = Math.min(min, (Integer)item);
+					max = Math.max(max, (Integer)item);
+				} else
+					allInt = false;
+			}
+		}
+		// Integer positions are only worth using if they don't make the masks much larger than one bit per item.
+		allInt = allInt && (long)max - min < Math.max(1024L, itemCount * 32L);
+		enumPositions = allEnum;
+		intPositions = allInt && !allEnum;
+		base = intPositions ? min : 0;
+		int highest = -1;
+		for (int i = 0; i < itemCount; i++) {
+			T item = items.get(i);
+			positions[i] = enumPositions ? ((Enum<?>)item).ordinal() : intPositions ? (Integer)item - base : i;
+			highest = Math.max(highest, positions[i]);
+		}
+		words = highest + 32 >>> 5;
+
+		final int nodeCount = nodes.size();
+		kinds = new byte[nodeCount];
+		masks = new int[nodeCount * words];
+		childStarts = new int[nodeCount + 1];
+		for (int n = 0; n < nodeCount; n++) {
+			kinds[n] = (byte)kindList.get(n);
+			childStarts[n + 1] = childStarts[n] + nodeChildren.get(n).size();
+			IntList leaves = leafChildren.get(n);
+			for (int i = 0; i < leaves.size(); i++) {
+				int p = positions[leaves.get(i)];
+				masks[n * words + (p >>> 5)] |= 1 << p;
+			}
+		}
+		children = new int[childStarts[nodeCount]];
+		for (int n = 0; n < nodeCount; n++) {
+			IntList subs = nodeChildren.get(n);
+			System.arraycopy(subs.items, 0, children, childStarts[n], subs.size());
+		}
+		present = new int[words];
+	}
+
+	/**
+	 * Creates a CompiledJunction that shares the compiled data of {@code other}, but has its own scratch space, so it can be
+	 * used on a different thread than other.
+	 *
+	 * @param other another CompiledJunction to share compiled data with
+	 */
+	public CompiledJunction(CompiledJunction<T> other) {
+		items = other.items;
+		positions = other.positions;
+		words = other.words;
+		base = other.base;
+		enumPositions = other.enumPositions;
+		intPositions = other.intPositions;
+		kinds = other.kinds;
+		masks = other.masks;
+		childStarts = other.childStarts;
+		children = other.children;
+		present = new int[words];
+	}
+
+	/**
+	 * Gets past any Junction wrappers and double negations, without modifying anything.
+	 */
+	static <T extends Comparable<T>> Term<T> unwrap(Term<T> term) {
+		while (true) {
+			if (term instanceof Junction)
+				term = ((Junction<T>)term).root;
+			else if (term instanceof Junction.Not && unwrapNot((Junction.Not<T>)term) instanceof Junction.Not)
+				term = unwrapNot((Junction.Not<T>)unwrapNot((Junction.Not<T>)term));
+			else
+				return term;
+		}
+	}
+
+	static <T extends Comparable<T>> Term<T> unwrapNot(Junction.Not<T> not) {
+		Term<T> inner = not.term;
+		while (inner instanceof Junction) inner = ((Junction<T>)inner).root;
+		return inner;
+	}
+
+	/**
+	 * Returns the node kind for the given Term, or -1 if it should be treated as a Leaf.
+	 */
+	private static int kindOf(Term<?> term) {
+		if (term instanceof Junction.Any) return ANY;
+		if (term instanceof Junction.All) return ALL;
+		if (term instanceof Junction.One) return ONE;
+		if (term instanceof Junction.Not) return NOT;
+		return -1;
+	}
+
+	/**
+	 * Appends the (unwrapped) children of {@code node} to {@code contents}, merging nested Any into Any and nested All into All.
+	 */
+	private static <T extends Comparable<T>> void gather(Term<T> node, int kind, ObjectList<Term<T>> contents) {
+		if (kind == NOT) {
+			contents.add(unwrap(unwrapNot((Junction.Not<T>)node)));
+			return;
+		}
+		ObjectList<Term<T>> list = kind == ANY ? ((Junction.Any<T>)node).contents
+			: kind == ALL ? ((Junction.All<T>)node).contents : ((Junction.One<T>)node).contents;
+		for (int i = 0, n = list.size(); i < n; i++) {
+			Term<T> child = unwrap(list.get(i));
+			if (kind != ONE && kindOf(child) == kind)
+				gather(child, kind, contents);
+			else
+				contents.add(child);
+		}
+	}
+
+	/**
+	 * Evaluates the node at index {@code node} given a bitset of which item positions are present.
+	 */
+	protected boolean evaluate(int node, int[] present) {
+		final int start = node * words;
+		final int[] masks = this.masks;
+		switch (kinds[node]) {
+			case ANY: {
+				for (int w = 0; w < words; w++) {
+					if ((present[w] & masks[start + w]) != 0) return true;
+				}
+				for (int c = childStarts[node], e = childStarts[node + 1]; c < e; c++) {
+					if (evaluate(children[c], present)) return true;
+				}
+				return false;
+			}
+			case ALL: {
+				for (int w = 0; w < words; w++) {
+					final int m = masks[start + w];
+					if ((present[w] & m) != m) return false;
+				}
+				for (int c = childStarts[node], e = childStarts[node + 1]; c < e; c++) {
+					if (!evaluate(children[c], present)) return false;
+				}
+				return true;
+			}
+			case ONE: {
+				int count = 0;
+				for (int w = 0; w < words && count <= 1; w++) {
+					count += Integer.bitCount(present[w] & masks[start + w]);
+				}
+				for (int c = childStarts[node], e = childStarts[node + 1]; c < e && count <= 1; c++) {
+					if (evaluate(children[c], present)) count++;
+				}
+				return count == 1;
+			}
+			default: {
+				for (int w = 0; w < words; w++) {
+					if ((present[w] & masks[start + w]) != 0) return false;
+				}
+				for (int c = childStarts[node], e = childStarts[node + 1]; c < e; c++) {
+					if (evaluate(children[c], present)) return false;
+				}
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Returns true if {@code coll} matches the compiled Junction, or false otherwise. This calls
+	 * {@link Collection#contains(Object)} on coll once for each distinct Leaf value, so it is fastest when coll is a
+	 * hashed set. If coll is an {@link EnumSet}, this delegates to {@link #match(EnumSet)}.
+	 *
+	 * @param coll a Collection of T that will not be modified
+	 * @return true if coll matches, or false otherwise
+	 */
+	public boolean match(Collection<? extends T> coll) {
+		if (coll instanceof EnumSet) return match((EnumSet)coll);
+		final int[] present = this.present;
+		Arrays.fill(present, 0);
+		for (int i = 0, n = items.size(); i < n; i++) {
+			if (coll.contains(items.get(i))) {
+				final int p = positions[i];
+				present[p >>> 5] |= 1 << p;
+			}
+		}
+		return evaluate(0, present);
+	}
+
+	/**
+	 * Returns true if {@code set} matches the compiled Junction, or false otherwise. If every Leaf value in the Junction
+	 * was an Enum constant of the same type as the items {@code set} can hold, this evaluates directly on the bits stored
+	 * in set, without checking any items individually.
+	 *
+	 * @param set an EnumSet that will not be modified
+	 * @return true if set matches, or false otherwise
+	 */
+	public boolean match(EnumSet set) {
+		final Enum<?> @Nullable [] universe = set.universe;
+		final int[] present = this.present;
+		if (enumPositions) {
+			if (set.table == null || universe == null || set.size == 0) {
+				Arrays.fill(present, 0);
+				return evaluate(0, present);
+			}
+			final Enum<?> first = (Enum<?>)items.get(0);
+			if (first.ordinal() < universe.length && universe[first.ordinal()] == first)
+				return evaluate(0, set.table);
+		}
+		Arrays.fill(present, 0);
+		for (int i = 0, n = items.size(); i < n; i++) {
+			if (set.contains(items.get(i))) {
+				final int p = positions[i];
+				present[p >>> 5] |= 1 << p;
+			}
+		}
+		return evaluate(0, present);
+	}
+
+	/**
+	 * Returns true if {@code set} matches the compiled Junction, or false otherwise. This is only useful if {@code T} is
+	 * Integer. If every Leaf value in the Junction was an Integer in a small enough range, this only needs to shift the
+	 * bits stored in set into alignment with that range, which takes a few operations per 32 positions, and then evaluates
+	 * on those bits. Otherwise, this checks each distinct Leaf value with {@link OffsetBitSet#contains(int)}.
+	 *
+	 * @param set an OffsetBitSet that will not be modified
+	 * @return true if set matches, or false otherwise
+	 */
+	public boolean match(OffsetBitSet set) {
+		final int[] present = this.present;
+		if (intPositions) {
+			final int[] bits = set.bits;
+			final int start = base - set.offset;
+			final int shift = start & 31;
+			for (int w = 0, word = start >> 5; w < words; w++, word++) {
+				final int lo = word >= 0 && word < bits.length ? bits[word] : 0;
+				if (shift == 0) {
+					present[w] = lo;
+				} else {
+					final int hi = word + 1 >= 0 && word + 1 < bits.length ? bits[word + 1] : 0;
+					present[w] = lo >>> shift | hi << 32 - shift;
+				}
+			}
+			return evaluate(0, present);
+		}
+		Arrays.fill(present, 0);
+		for (int i = 0, n = items.size(); i < n; i++) {
+			T item = items.get(i);
+			if (item instanceof Integer && set.contains((Integer)item)) {
+				final int p = positions[i];
+				present[p >>> 5] |= 1 << p;
+			}
+		}
+		return evaluate(0, present);
+	}
+
+	/**
+	 * Checks every Collection in {@code batch} with {@link #match(Collection)}, and adds each one that matches to
+	 * {@code output}. This doesn't allocate, other than what {@code output} may need to grow.
+	 *
+	 * @param batch an Iterable of Collections of T to check; none will be modified
+	 * @param output a Collection that will receive each Collection in batch that matches
+	 * @param <C> the type of Collection being checked
+	 * @return how many Collections in batch matched
+	 */
+	public <C extends Collection<? extends T>> int filter(Iterable<? extends C> batch, Collection<? super C> output) {
+		int count = 0;
+		for (C coll : batch) {
+			if (match(coll)) {
+				output.add(coll);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Checks every EnumSet in {@code batch} with {@link #match(EnumSet)}, and adds each one that matches to
+	 * {@code output}. This doesn't allocate, other than what {@code output} may need to grow.
+	 *
+	 * @param batch an Iterable of EnumSet to check; none will be modified
+	 * @param output a Collection that will receive each EnumSet in batch that matches
+	 * @return how many EnumSets in batch matched
+	 */
+	public int filterEnumSets(Iterable<? extends EnumSet> batch, Collection<? super EnumSet> output) {
+		int count = 0;
+		for (EnumSet set : batch) {
+			if (match(set)) {
+				output.add(set);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Checks every OffsetBitSet in {@code batch} with {@link #match(OffsetBitSet)}, and adds each one that matches to
+	 * {@code output}. This doesn't allocate, other than what {@code output} may need to grow.
+	 *
+	 * @param batch an Iterable of OffsetBitSet to check; none will be modified
+	 * @param output a Collection that will receive each OffsetBitSet in batch that matches
+	 * @return how many OffsetBitSets in batch matched
+	 */
+	public int filterBitSets(Iterable<? extends OffsetBitSet> batch, Collection<? super OffsetBitSet> output) {
+		int count = 0;
+		for (OffsetBitSet set : batch) {
+			if (match(set)) {
+				output.add(set);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Checks every Collection in {@code batch} with {@link #match(Collection)}, and adds the index of each one that
+	 * matches to {@code output}. This doesn't allocate, other than what {@code output} may need to grow.
+	 *
+	 * @param batch an ObjectList of Collections of T to check; none will be modified
+	 * @param output an IntList that will receive the index in batch of each Collection that matches
+	 * @return how many Collections in batch matched
+	 */
+	public int matchIndices(ObjectList<? extends Collection<? extends T>> batch, IntList output) {
+		int count = 0;
+		for (int i = 0, n = batch.size(); i < n; i++) {
+			if (match(batch.get(i))) {
+				output.add(i);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the distinct Leaf values this was compiled with, in the order they were first encountered. The returned
+	 * list is used directly, and should not be modified.
+	 *
+	 * @return the ObjectList of distinct Leaf values this uses
+	 */
+	public ObjectList<T> getItems() {
+		return items;
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.digital.BitConversion;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Approximately counts how many times each key has been seen, using a fixed amount of memory no matter how many
+ * distinct keys there are. This can replace an {@link ObjectIntMap} or {@link LongIntMap} used only to count, when
+ * there are too many distinct keys to store them all. The count for a key is never less than its true count, and is
+ * usually close; with a width of {@code w}, an estimate is more than the true count by at most {@code 2 * total / w}
+ * with probability {@code 1 - 0.5 ^ depth}, where total is the sum of all increments.
+ * <br>
+ * The sketch is {@code depth} rows of {@code width} int counters. Each row hashes a key with
+ * {@link BitConversion#imul(int, int)} and a different multiplier from {@link Utilities#GOOD_MULTIPLIERS} to pick a
+ * counter, and a key's estimate is the smallest of its counters. Keys with equal hashCodes always share counters.
+ * Counters saturate at {@link Integer#MAX_VALUE} rather than overflowing.
+ * <br>
+ * Sketches with the same width, depth, and seed can be combined with {@link #merge(CountMinSketch)}, which gives the
+ * same result as if every key had been counted in one sketch; this allows counting on separate threads and merging
+ * at the end. A CountMinSketch itself is not thread-safe.
+ *
+ * @author Tommy Ettinger
+ */
+public class CountMinSketch {
+	protected final int[] table;
+	protected final int width;
+	protected final int depth;
+	protected final int shift;
+	protected final int seed;
+	protected long total;
+
+	/**
+	 * Creates a CountMinSketch with width 1024 and depth 4, which uses 16 KB.
+	 */
+	public CountMinSketch () {
+		this(1024, 4, 0);
+	}
+
+	/**
+	 * Creates a CountMinSketch with the given width (rounded up to a power of two) and depth.
+	 *
+	 * @param width how many counters are in each row; larger is more accurate
+	 * @param depth how many rows there are, from 1 to 16; more rows make a large error less likely
+	 */
+	public CountMinSketch (int width, int depth) {
+		this(width, depth, 0);
+	}
+
+	/**
+	 * Creates a CountMinSketch with the given width (rounded up to a power of two), depth, and seed. Sketches can only
+	 * be merged if they have the same width, depth, and seed.
+	 *
+	 * @param width how many counters are in each row; larger is more accurate
+	 * @param depth how many rows there are, from 1 to 16; more rows make a large error less likely
+	 * @param seed  any int; changes which counters each key uses
+	 */
+	public CountMinSketch (int width, int depth, int seed) {
+		final int bits = Math.min(30, Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(2, width) - 1)));
+		this.width = 1 << bits;
+		this.depth = Math.min(Math.max(depth, 1), 16);
+		this.shift = 32 - bits;
+		this.seed = seed;
+		table = new int[this.width * this.depth];
+	}
+
+	/**
+	 * Creates a copy of another CountMinSketch, with the same counts, which can be merged with it.
+	 *
+	 * @param other another CountMinSketch to copy
+	 */
+	public CountMinSketch (CountMinSketch other) {
+		width = other.width;
+		depth = other.depth;
+		shift = other.shift;
+		seed = other.seed;
+		total = other.total;
+		table = Arrays.copyOf(other.table, other.table.length);
+	}
+
+	/**
+	 * Gets the index in {@link #table} that {@code hash} uses in the given row.
+	 */
+	protected int place (int hash, int row) {
+		return row * width + (BitConversion.imul(hash ^ hash >>> 16, Utilities.GOOD_MULTIPLIERS[(seed + row * 37) & 511]) >>> shift);
+	}
+
+	protected int getAndIncrementHash (int hash, int increment) {
+		int min = Integer.MAX_VALUE;
+		for (int row = 0; row < depth; row++) {
+			final int i = place(hash, row);
+			final int c = table[i];
+			min = Math.min(min, c);
+			table[i] = c + increment < c ? Integer.MAX_VALUE : c + increment;
+		}
+		total += increment;
+		return min;
+	}
+
+	protected int getHash (int hash) {
+		int min = Integer.MAX_VALUE;
+		for (int row = 0; row < depth; row++) {
+			min = Math.min(min, table[place(hash, row)]);
+		}
+		return min;
+	}
+
+	/**
+	 * Estimates how many times key has been counted.
+	 *
+	 * @param key any Object, or null; null keys are never counted, so this returns 0 for them
+	 * @return an estimate that is at least the true count
+	 */
+	public int get (@Nullable Object key) {
+		if (key == null) {return 0;}
+		return getHash(key.hashCode());
+	}
+
+	/**
+	 * Estimates how many times key has been counted.
+	 *
+	 * @param key any long
+	 * @return an estimate that is at least the true count
+	 */
+	public int get (long key) {
+		return getHash((int)(key ^ key >>> 32));
+	}
+
+	/**
+	 * Counts key {@code increment} more times, returning the estimate from before this call.
+	 *
+	 * @param key       any Object; if null, this does nothing and returns 0
+	 * @param increment how much to add to the count for key; should not be negative
+	 * @return the estimated count before this call
+	 */
+	public int getAndIncrement (@Nullable Object key, int increment) {
+		if (key == null) {return 0;}
+		return getAndIncrementHash(key.hashCode(), increment);
+	}
+
+	/**
+	 * Counts key {@code increment} more times, returning the estimate from before this call.
+	 *
+	 * @param key       any long
+	 * @param increment how much to add to the count for key; should not be negative
+	 * @return the estimated count before this call
+	 */
+	public int getAndIncrement (long key, int increment) {
+		return getAndIncrementHash((int)(key ^ key >>> 32), increment);
+	}
+
+	/**
+	 * Counts key once more.
+	 *
+	 * @param key any Object; if null, this does nothing
+	 */
+	public void add (@Nullable Object key) {
+		getAndIncrement(key, 1);
+	}
+
+	/**
+	 * Counts key once more.
+	 *
+	 * @param key any long
+	 */
+	public void add (long key) {
+		getAndIncrement(key, 1);
+	}
+
+	/**
+	 * Adds every count from other into this sketch. Both sketches must have the same width, depth, and seed.
+	 *
+	 * @param other another CountMinSketch with the same width, depth, and seed; will not be modified
+	 * @throws IllegalArgumentException if the sketches are not compatible
+	 */
+	public void merge (CountMinSketch other) {
+		if (other.width != width || other.depth != depth || other.seed != seed) {
+			throw new IllegalArgumentException("Only sketches with the same width, depth, and seed can be merged.");
+		}
+		final int[] o = other.table;
+		for (int i = 0; i < table.length; i++) {
+			final int sum = table[i] + o[i];
+			table[i] = sum < table[i] ? Integer.MAX_VALUE : sum;
+		}
+		total += other.total;
+	}
+
+	/**
+	 * Gets the sum of all increments, which is exact.
+	 *
+	 * @return the total of all counts
+	 */
+	public long getTotal () {
+		return total;
+	}
+
+	public int getWidth () {
+		return width;
+	}
+
+	public int getDepth () {
+		return depth;
+	}
+
+	public int getSeed () {
+		return seed;
+	}
+
+	/**
+	 * Sets every count to 0.
+	 */
+	public void clear () {
+		Arrays.fill(table, 0);
+		total = 0L;
+	}
+}
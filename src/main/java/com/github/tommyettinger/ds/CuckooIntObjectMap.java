@@ -0,0 +1,744 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.digital.BitConversion;
+import com.github.tommyettinger.ds.support.util.IntIterator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import static com.github.tommyettinger.ds.Utilities.tableSize;
+
+/**
+ * An unordered map where the keys are unboxed ints and values are objects, using bucketized cuckoo hashing. No
+ * allocation is done except when growing the table size.
+ * <p>
+ * This works like {@link CuckooObjectObjectMap}: each key can only be in one of two buckets of {@link #BUCKET_SIZE}
+ * slots, chosen by {@link #place(int)} and {@link #placeAlternate(int)}, so a lookup reads at most two short runs of
+ * the table (plus a stash, only if it isn't empty). Compared to {@link IntObjectMap}, lookups don't slow down as the
+ * table fills or as keys cluster, but insertions can be slower when both buckets for a key are full, since other keys
+ * must be moved to make room. Distinct int keys always have distinct hashes here, so the stash should stay empty
+ * unless keys are chosen specifically to attack the current hash multipliers.
+ * <p>
+ * The key 0 is stored separately, as with {@link IntObjectMap}, because 0 marks an empty slot.
+ *
+ * @author Nathan Sweet
+ * @author Tommy Ettinger
+ */
+public class CuckooIntObjectMap<V> implements Iterable<IntObjectMap.Entry<V>> {
+	/**
+	 * How many slots each bucket has; a key can be in any slot of either of its two buckets.
+	 */
+	protected static final int BUCKET_SIZE = 4;
+	/**
+	 * How many keys can be moved to make room for one new key before a key is put in the stash instead.
+	 */
+	protected static final int MAX_KICKS = 64;
+
+	protected int size;
+
+	/**
+	 * Holds {@link #capacity} slots of keys in buckets, followed by the stash and any room for it to grow.
+	 */
+	protected int[] keyTable;
+	protected @Nullable V[] valueTable;
+
+	protected boolean hasZeroValue;
+	@Nullable protected V zeroValue;
+
+	/**
+	 * The number of slots in the buckets of {@link #keyTable}, not counting the stash. Always a power of two.
+	 */
+	protected int capacity;
+
+	/**
+	 * How many keys are in the stash, which starts at index {@link #capacity} in {@link #keyTable}.
+	 */
+	protected int stashSize;
+
+	/**
+	 * Between 0f (exclusive) and 1f (inclusive), this determines how full the buckets can get before this increases
+	 * their size.
+	 */
+	protected float loadFactor;
+
+	/**
+	 * Precalculated value of {@code (int)(capacity * loadFactor)}, used to determine when to resize.
+	 */
+	protected int threshold;
+
+	/**
+	 * Used by {@link #place(int)} and {@link #placeAlternate(int)} to get a bucket index from the upper bits of a mixed
+	 * hash; this should always equal {@code BitConversion.countLeadingZeros(mask) + 32}.
+	 */
+	protected int shift;
+
+	/**
+	 * One less than the number of buckets, which is a power of two.
+	 */
+	protected int mask;
+
+	/**
+	 * Used by {@link #place(int)} to mix keys. Changes on every call to {@link #resize(int)}.
+	 */
+	protected int hashMultiplier;
+
+	/**
+	 * Used by {@link #placeAlternate(int)} to mix keys. Changes on every call to {@link #resize(int)}.
+	 */
+	protected int alternateMultiplier;
+
+	/**
+	 * The state used to choose which key to move out of a full bucket.
+	 */
+	protected int kickState = 0x9E3779B9;
+
+	/**
+	 * Returned by {@link #get(int)} when no value exists for the given key, as well as some other methods to indicate
+	 * that no value in the Map could be returned.
+	 */
+	@Nullable public V defaultValue = null;
+
+	/**
+	 * Creates a new map with an initial capacity of {@link Utilities#getDefaultTableCapacity()} and a load factor of {@link Utilities#getDefaultLoadFactor()}.
+	 */
+	public CuckooIntObjectMap () {
+		this(Utilities.getDefaultTableCapacity(), Utilities.getDefaultLoadFactor());
+	}
+
+	/**
+	 * Creates a new map with the given starting capacity and a load factor of {@link Utilities#getDefaultLoadFactor()}.
+	 *
+	 * @param initialCapacity If not a power of two, it is increased to the next nearest power of two.
+	 */
+	public CuckooIntObjectMap (int initialCapacity) {
+		this(initialCapacity, Utilities.getDefaultLoadFactor());
+	}
+
+	/**
+	 * Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity items before
+	 * growing the backing table.
+	 *
+	 * @param initialCapacity If not a power of two, it is increased to the next nearest power of two.
+	 * @param loadFactor      what fraction of the capacity can be filled before this has to resize; 0 &lt; loadFactor &lt;= 1
+	 */
+	public CuckooIntObjectMap (int initialCapacity, float loadFactor) {
+		if (loadFactor <= 0f || loadFactor > 1f) {throw new IllegalArgumentException("loadFactor must be > 0 and <= 1: " + loadFactor);}
+		this.loadFactor = loadFactor;
+		int tableSize = Math.max(BUCKET_SIZE << 1, tableSize(initialCapacity, loadFactor));
+		setTableSize(tableSize);
+		keyTable = new int[tableSize];
+		valueTable = (V[])new Object[tableSize];
+	}
+
+	/**
+	 * Creates a new map identical to the specified map.
+	 *
+	 * @param map a CuckooIntObjectMap to copy
+	 */
+	public CuckooIntObjectMap (CuckooIntObjectMap<? extends V> map) {
+		this.loadFactor = map.loadFactor;
+		this.threshold = map.threshold;
+		this.capacity = map.capacity;
+		this.stashSize = map.stashSize;
+		this.mask = map.mask;
+		this.shift = map.shift;
+		this.hashMultiplier = map.hashMultiplier;
+		this.alternateMultiplier = map.alternateMultiplier;
+		this.kickState = map.kickState;
+		keyTable = Arrays.copyOf(map.keyTable, map.keyTable.length);
+		valueTable = Arrays.copyOf(map.valueTable, map.valueTable.length);
+		size = map.size;
+		zeroValue = map.zeroValue;
+		hasZeroValue = map.hasZeroValue;
+		defaultValue = map.defaultValue;
+	}
+
+	/**
+	 * Given two side-by-side arrays, one of keys, one of values, this constructs a map and inserts each pair of key and value into it.
+	 * If keys and values have different lengths, this only uses the length of the smaller array.
+	 *
+	 * @param keys   an array of keys
+	 * @param values an array of values
+	 */
+	public CuckooIntObjectMap (int[] keys, V[] values) {
+		this(Math.min(keys.length, values.length));
+		putAll(keys, values);
+	}
+
+	/**
+	 * Sets {@link #capacity} and everything that depends on it, without changing the tables.
+	 *
+	 * @param tableSize the number of slots in buckets; must be a power of two, at least {@code 2 * BUCKET_SIZE}
+	 */
+	protected void setTableSize (int tableSize) {
+		capacity = tableSize;
+		threshold = (int)(tableSize * loadFactor);
+		mask = tableSize / BUCKET_SIZE - 1;
+		shift = BitConversion.countLeadingZeros(mask) + 32;
+		hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
+		alternateMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift + 256];
+	}
+
+	/**
+	 * Returns the index of the first bucket for the specified {@code item}. Multiply this by {@link #BUCKET_SIZE} to
+	 * get the first slot of that bucket in {@link #keyTable}.
+	 *
+	 * @param item any int; it is usually mixed here
+	 * @return a bucket index between 0 and {@link #mask} (both inclusive)
+	 */
+	protected int place (int item) {
+		return BitConversion.imul(item, hashMultiplier) >>> shift;
+	}
+
+	/**
+	 * Returns the index of the second bucket for the specified {@code item}, which should be mixed differently from
+	 * {@link #place(int)}.
+	 *
+	 * @param item any int; it is usually mixed here
+	 * @return a bucket index between 0 and {@link #mask} (both inclusive)
+	 */
+	protected int placeAlternate (int item) {
+		return BitConversion.imul(item, alternateMultiplier) >>> shift;
+	}
+
+	/**
+	 * Returns the index of the key if already present, else -1. This checks both buckets for the key, then the stash
+	 * if it isn't empty. The key must not be 0.
+	 *
+	 * @param key a non-zero int key
+	 * @return -1 if the key was not found, or the non-negative index of the existing key if found
+	 */
+	protected int locateKey (int key) {
+		final int[] keyTable = this.keyTable;
+		int i = place(key) * BUCKET_SIZE;
+		for (int n = i + BUCKET_SIZE; i < n; i++) {
+			if (keyTable[i] == key) {return i;}
+		}
+		i = placeAlternate(key) * BUCKET_SIZE;
+		for (int n = i + BUCKET_SIZE; i < n; i++) {
+			if (keyTable[i] == key) {return i;}
+		}
+		for (int n = (i = capacity) + stashSize; i < n; i++) {
+			if (keyTable[i] == key) {return i;}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the old value associated with the specified key, or this map's {@link #defaultValue} if there was no prior value.
+	 */
+	@Nullable
+	public V put (int key, @Nullable V value) {
+		if (key == 0) {
+			V oldValue = defaultValue;
+			if (hasZeroValue) {oldValue = zeroValue;} else {size++;}
+			hasZeroValue = true;
+			zeroValue = value;
+			return oldValue;
+		}
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			V oldValue = valueTable[i];
+			valueTable[i] = value;
+			return oldValue;
+		}
+		final boolean placed = putResize(key, value);
+		if (++size >= threshold || !placed && size >= capacity >>> 1) {resize(capacity << 1);}
+		return defaultValue;
+	}
+
+	/**
+	 * Given two side-by-side arrays, one of keys, one of values, this inserts each pair of key and value into this map with put().
+	 *
+	 * @param keys   an array of keys
+	 * @param values an array of values
+	 */
+	public void putAll (int[] keys, V[] values) {
+		int length = Math.min(keys.length, values.length);
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {
+			put(keys[i], values[i]);
+		}
+	}
+
+	/**
+	 * Puts every key-value pair in the given map into this, with the values from the given map
+	 * overwriting the previous values if two keys are identical.
+	 *
+	 * @param map a map with compatible value type; will not be modified
+	 */
+	public void putAll (CuckooIntObjectMap<? extends V> map) {
+		ensureCapacity(map.size);
+		if (map.hasZeroValue) {put(0, map.zeroValue);}
+		final int[] keyTable = map.keyTable;
+		final V[] valueTable = map.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0) {put(key, valueTable[i]);}
+		}
+	}
+
+	/**
+	 * Skips checks for existing keys, doesn't increment size. If both buckets for key are full, this moves keys to
+	 * their other buckets until one has room, up to {@link #MAX_KICKS} times; if that still doesn't make room, the
+	 * last key that was moved out goes into the stash.
+	 *
+	 * @return true if every key is in a bucket, or false if one had to be put in the stash
+	 */
+	protected boolean putResize (int key, @Nullable V value) {
+		final int[] keyTable = this.keyTable;
+		final V[] valueTable = this.valueTable;
+		final int first = place(key) * BUCKET_SIZE;
+		for (int i = first, n = first + BUCKET_SIZE; i < n; i++) {
+			if (keyTable[i] == 0) {
+				keyTable[i] = key;
+				valueTable[i] = value;
+				return true;
+			}
+		}
+		final int second = placeAlternate(key) * BUCKET_SIZE;
+		for (int i = second, n = second + BUCKET_SIZE; i < n; i++) {
+			if (keyTable[i] == 0) {
+				keyTable[i] = key;
+				valueTable[i] = value;
+				return true;
+			}
+		}
+		int bucket = (kickState & 1) == 0 ? first : second;
+		for (int kick = 0; kick < MAX_KICKS; kick++) {
+			kickState = kickState * 0x2C9277B5 + 0xAC564B05;
+			final int victim = bucket + (kickState >>> 16 & BUCKET_SIZE - 1);
+			final int evictedKey = keyTable[victim];
+			final V evictedValue = valueTable[victim];
+			keyTable[victim] = key;
+			valueTable[victim] = value;
+			key = evictedKey;
+			value = evictedValue;
+			int other = place(key) * BUCKET_SIZE;
+			if (other == bucket) {other = placeAlternate(key) * BUCKET_SIZE;}
+			for (int i = other, n = other + BUCKET_SIZE; i < n; i++) {
+				if (keyTable[i] == 0) {
+					keyTable[i] = key;
+					valueTable[i] = value;
+					return true;
+				}
+			}
+			bucket = other;
+		}
+		putStash(key, value);
+		return false;
+	}
+
+	/**
+	 * Appends a key and value to the stash, growing the room for the stash if needed. Doesn't increment size.
+	 */
+	protected void putStash (int key, @Nullable V value) {
+		final int i = capacity + stashSize;
+		if (i == keyTable.length) {
+			keyTable = Arrays.copyOf(keyTable, i + Math.max(BUCKET_SIZE, stashSize));
+			valueTable = Arrays.copyOf(valueTable, keyTable.length);
+		}
+		keyTable[i] = key;
+		valueTable[i] = value;
+		stashSize++;
+	}
+
+	/**
+	 * Removes the entry at {@code index} in the stash, moving the last stash entry into its place.
+	 */
+	protected void removeStashIndex (int index) {
+		final int last = capacity + --stashSize;
+		keyTable[index] = keyTable[last];
+		valueTable[index] = valueTable[last];
+		keyTable[last] = 0;
+		valueTable[last] = null;
+	}
+
+	/**
+	 * Returns the value for the specified key, or {@link #defaultValue} if the key is not in the map.
+	 */
+	@Nullable
+	public V get (int key) {
+		return getOrDefault(key, defaultValue);
+	}
+
+	/**
+	 * Returns the value for the specified key, or the given default value if the key is not in the map.
+	 */
+	@Nullable
+	public V getOrDefault (int key, @Nullable V defaultValue) {
+		if (key == 0) {return hasZeroValue ? zeroValue : defaultValue;}
+		final int i = locateKey(key);
+		return i < 0 ? defaultValue : valueTable[i];
+	}
+
+	/**
+	 * Returns the value for the removed key, or this map's {@link #defaultValue} if the key was not in the map.
+	 */
+	@Nullable
+	public V remove (int key) {
+		if (key == 0) {
+			if (!hasZeroValue) {return defaultValue;}
+			V oldValue = zeroValue;
+			hasZeroValue = false;
+			zeroValue = null;
+			size--;
+			return oldValue;
+		}
+		final int i = locateKey(key);
+		if (i < 0) {return defaultValue;}
+		V oldValue = valueTable[i];
+		if (i >= capacity) {
+			removeStashIndex(i);
+		} else {
+			keyTable[i] = 0;
+			valueTable[i] = null;
+		}
+		size--;
+		return oldValue;
+	}
+
+	public boolean containsKey (int key) {
+		if (key == 0) {return hasZeroValue;}
+		return locateKey(key) >= 0;
+	}
+
+	/**
+	 * Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may
+	 * be an expensive operation.
+	 *
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *                 {@link #equals(Object)}.
+	 */
+	public boolean containsValue (@Nullable Object value, boolean identity) {
+		if (hasZeroValue && (identity ? zeroValue == value : Objects.equals(zeroValue, value))) {return true;}
+		final int[] keyTable = this.keyTable;
+		final V[] valueTable = this.valueTable;
+		for (int i = keyTable.length - 1; i >= 0; i--) {
+			if (keyTable[i] != 0 && (identity ? valueTable[i] == value : Objects.equals(valueTable[i], value))) {return true;}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the map has one or more items.
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	/**
+	 * Returns the number of key-value mappings in this map.
+	 */
+	public int size () {
+		return size;
+	}
+
+	/**
+	 * Returns true if the map is empty.
+	 */
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	public void clear () {
+		if (size == 0) {return;}
+		size = 0;
+		stashSize = 0;
+		hasZeroValue = false;
+		zeroValue = null;
+		Arrays.fill(keyTable, 0);
+		Utilities.clear(valueTable);
+	}
+
+	/**
+	 * Increases the size of the backing array to accommodate the specified number of additional items / loadFactor. Useful before
+	 * adding many items to avoid multiple backing array resizes.
+	 *
+	 * @param additionalCapacity how many additional items this should be able to hold without resizing (probably)
+	 */
+	public void ensureCapacity (int additionalCapacity) {
+		int tableSize = tableSize(size + additionalCapacity, loadFactor);
+		if (capacity < tableSize) {resize(tableSize);}
+	}
+
+	/**
+	 * Moves every entry, including any in the stash, into new buckets with {@code newSize} slots, using new hash
+	 * multipliers. Keys that still can't be placed go into the new stash.
+	 *
+	 * @param newSize the number of slots in buckets; must be a power of two
+	 */
+	protected void resize (int newSize) {
+		final int[] oldKeyTable = keyTable;
+		final V[] oldValueTable = valueTable;
+		final int oldEnd = capacity + stashSize;
+		setTableSize(newSize);
+		stashSize = 0;
+		keyTable = new int[newSize];
+		valueTable = (V[])new Object[newSize];
+		for (int i = 0; i < oldEnd; i++) {
+			int key = oldKeyTable[i];
+			if (key != 0) {putResize(key, oldValueTable[i]);}
+		}
+	}
+
+	/**
+	 * Gets the number of slots in the buckets of the backing table, not counting the stash.
+	 *
+	 * @return the number of slots in buckets; always a power of two
+	 */
+	public int getTableSize () {
+		return capacity;
+	}
+
+	/**
+	 * Gets how many keys are in the stash, which is searched after both buckets for a key. This is usually 0.
+	 *
+	 * @return how many keys could not be placed in either of their buckets
+	 */
+	public int getStashSize () {
+		return stashSize;
+	}
+
+	public float getLoadFactor () {
+		return loadFactor;
+	}
+
+	@Override
+	public int hashCode () {
+		int h = hasZeroValue && zeroValue != null ? zeroValue.hashCode() ^ size : size;
+		final int[] keyTable = this.keyTable;
+		final V[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0) {
+				h ^= key;
+				V v = valueTable[i];
+				if (v != null) {h ^= v.hashCode();}
+			}
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals (Object obj) {
+		if (obj == this) {return true;}
+		if (!(obj instanceof CuckooIntObjectMap)) {return false;}
+		CuckooIntObjectMap<?> other = (CuckooIntObjectMap<?>)obj;
+		if (other.size != size) {return false;}
+		if (other.hasZeroValue != hasZeroValue) {return false;}
+		if (hasZeroValue && !Objects.equals(zeroValue, other.zeroValue)) {return false;}
+		final int[] keyTable = this.keyTable;
+		final V[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0) {
+				int o = other.locateKey(key);
+				if (o < 0 || !Objects.equals(valueTable[i], other.valueTable[o])) {return false;}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString () {
+		if (size == 0) {return "{}";}
+		StringBuilder sb = new StringBuilder(32).append('{');
+		if (hasZeroValue) {sb.append("0=").append(zeroValue == this ? "(this)" : zeroValue);}
+		final int[] keyTable = this.keyTable;
+		final V[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key == 0) {continue;}
+			if (sb.length() > 1) {sb.append(", ");}
+			V value = valueTable[i];
+			sb.append(key).append('=').append(value == this ? "(this)" : value);
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Returns a new iterator over the entries in this map. The same {@link IntObjectMap.Entry} instance is returned by
+	 * each call to next(), with its key and value changed. Remove is supported.
+	 *
+	 * @return an iterator over the entries in this map
+	 */
+	@Override
+	public @NonNull EntryIterator<V> iterator () {
+		return new EntryIterator<>(this);
+	}
+
+	/**
+	 * Returns a new iterator over the keys in this map. Remove is supported.
+	 *
+	 * @return an iterator over the keys in this map
+	 */
+	public KeyIterator<V> keys () {
+		return new KeyIterator<>(this);
+	}
+
+	/**
+	 * Returns a new iterator over the values in this map. Remove is supported.
+	 *
+	 * @return an iterator over the values in this map
+	 */
+	public ValueIterator<V> values () {
+		return new ValueIterator<>(this);
+	}
+
+	public static abstract class MapIterator<V> {
+		static protected final int INDEX_ILLEGAL = -2, INDEX_ZERO = -1;
+
+		public boolean hasNext;
+
+		protected final CuckooIntObjectMap<V> map;
+		protected int nextIndex, currentIndex;
+
+		public MapIterator (CuckooIntObjectMap<V> map) {
+			this.map = map;
+			reset();
+		}
+
+		public void reset () {
+			currentIndex = INDEX_ILLEGAL;
+			nextIndex = INDEX_ZERO;
+			if (map.hasZeroValue) {hasNext = true;}
+			else {findNextIndex();}
+		}
+
+		protected void findNextIndex () {
+			final int[] keyTable = map.keyTable;
+			for (int n = map.capacity + map.stashSize; ++nextIndex < n; ) {
+				if (keyTable[nextIndex] != 0) {
+					hasNext = true;
+					return;
+				}
+			}
+			hasNext = false;
+		}
+
+		public boolean hasNext () {
+			return hasNext;
+		}
+
+		/**
+		 * Removes the entry most recently returned by next(). Removing from a bucket never moves other entries, but
+		 * removing from the stash moves the last stash entry into the removed one's place, so that slot is visited
+		 * again.
+		 */
+		public void remove () {
+			int i = currentIndex;
+			if (i == INDEX_ZERO && map.hasZeroValue) {
+				map.hasZeroValue = false;
+				map.zeroValue = null;
+			} else if (i < 0) {
+				throw new IllegalStateException("next must be called before remove.");
+			} else if (i >= map.capacity) {
+				map.removeStashIndex(i);
+				nextIndex = i - 1;
+				findNextIndex();
+			} else {
+				map.keyTable[i] = 0;
+				map.valueTable[i] = null;
+			}
+			currentIndex = INDEX_ILLEGAL;
+			map.size--;
+		}
+	}
+
+	public static class KeyIterator<V> extends MapIterator<V> implements IntIterator {
+		public KeyIterator (CuckooIntObjectMap<V> map) {
+			super(map);
+		}
+
+		@Override
+		public int nextInt () {
+			if (!hasNext) {throw new NoSuchElementException();}
+			int key = nextIndex == INDEX_ZERO ? 0 : map.keyTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return key;
+		}
+
+		/**
+		 * Returns a new IntList containing the remaining keys.
+		 */
+		public IntList toList () {
+			IntList list = new IntList(map.size);
+			while (hasNext) {list.add(nextInt());}
+			return list;
+		}
+	}
+
+	public static class ValueIterator<V> extends MapIterator<V> implements Iterable<V>, Iterator<V> {
+		public ValueIterator (CuckooIntObjectMap<V> map) {
+			super(map);
+		}
+
+		@Override
+		@Nullable
+		public V next () {
+			if (!hasNext) {throw new NoSuchElementException();}
+			V value = nextIndex == INDEX_ZERO ? map.zeroValue : map.valueTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return value;
+		}
+
+		@Override
+		public @NonNull ValueIterator<V> iterator () {
+			return this;
+		}
+	}
+
+	public static class EntryIterator<V> extends MapIterator<V> implements Iterable<IntObjectMap.Entry<V>>, Iterator<IntObjectMap.Entry<V>> {
+		protected IntObjectMap.Entry<V> entry = new IntObjectMap.Entry<>();
+
+		public EntryIterator (CuckooIntObjectMap<V> map) {
+			super(map);
+		}
+
+		/**
+		 * Note the same entry instance is returned each time this method is called.
+		 */
+		@Override
+		public IntObjectMap.Entry<V> next () {
+			if (!hasNext) {throw new NoSuchElementException();}
+			if (nextIndex == INDEX_ZERO) {
+				entry.key = 0;
+				entry.value = map.zeroValue;
+			} else {
+				entry.key = map.keyTable[nextIndex];
+				entry.value = map.valueTable[nextIndex];
+			}
+			currentIndex = nextIndex;
+			findNextIndex();
+			return entry;
+		}
+
+		@Override
+		public @NonNull EntryIterator<V> iterator () {
+			return this;
+		}
+	}
+}
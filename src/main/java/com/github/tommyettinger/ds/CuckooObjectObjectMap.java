@@ -0,0 +1,991 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.digital.BitConversion;
+import com.github.tommyettinger.ds.support.util.Appender;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.github.tommyettinger.ds.Utilities.neverIdentical;
+import static com.github.tommyettinger.ds.Utilities.tableSize;
+
+/**
+ * An unordered map where the keys and values are objects, using bucketized cuckoo hashing. Null keys are not allowed.
+ * No allocation is done except when growing the table size.
+ * <p>
+ * Each key can only be in one of two buckets of {@link #BUCKET_SIZE} slots, chosen by {@link #place(Object)} and
+ * {@link #placeAlternate(Object)}, so a lookup reads at most two short, contiguous runs of the table, however full it
+ * is. This avoids the long probe runs that linear probing (as in {@link ObjectObjectMap}) can build up with clustered
+ * hashCodes or a high load factor, which keeps the worst case for {@link #get(Object)} and
+ * {@link #containsKey(Object)} low. The cost is paid when inserting: if both buckets for a new key are full, a key in
+ * one of them is moved ("kicked") to its other bucket, which may repeat a few times. Two buckets of four slots can be
+ * filled to well over 90% before that starts failing, so higher load factors work well here.
+ * <p>
+ * A key that still has no room after {@link #MAX_KICKS} moves goes into a stash after the main table, which is only
+ * searched when it isn't empty. If that happens while the table is at least half full, the table grows instead. Keys
+ * that all share one hashCode can't be separated by any hash, so a flood of them ends up in the stash, and is searched
+ * in linear time, much like linear probing would do with them.
+ * <p>
+ * You can customize most behavior of this map by extending it. {@link #place(Object)} and
+ * {@link #placeAlternate(Object)} can be overridden to change how hashCodes are calculated (which can be useful for
+ * types like {@link StringBuilder} that don't implement hashCode()), and {@link #equate(Object, Object)} can be
+ * overridden to change how equality is calculated.
+ *
+ * @author Nathan Sweet
+ * @author Tommy Ettinger
+ */
+public class CuckooObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V>> {
+	/**
+	 * How many slots each bucket has; a key can be in any slot of either of its two buckets.
+	 */
+	protected static final int BUCKET_SIZE = 4;
+	/**
+	 * How many keys can be moved to make room for one new key before a key is put in the stash instead.
+	 */
+	protected static final int MAX_KICKS = 64;
+
+	protected int size;
+
+	/**
+	 * Holds {@link #capacity} slots of keys in buckets, followed by the stash and any room for it to grow.
+	 */
+	protected @Nullable K[] keyTable;
+	protected @Nullable V[] valueTable;
+
+	/**
+	 * The number of slots in the buckets of {@link #keyTable}, not counting the stash. Always a power of two.
+	 */
+	protected int capacity;
+
+	/**
+	 * How many keys are in the stash, which starts at index {@link #capacity} in {@link #keyTable}.
+	 */
+	protected int stashSize;
+
+	/**
+	 * Between 0f (exclusive) and 1f (inclusive), this determines how full the buckets can get before this increases
+	 * their size.
+	 */
+	protected float loadFactor;
+
+	/**
+	 * Precalculated value of {@code (int)(capacity * loadFactor)}, used to determine when to resize.
+	 */
+	protected int threshold;
+
+	/**
+	 * Used by {@link #place(Object)} and {@link #placeAlternate(Object)} to get a bucket index from the upper bits of
+	 * a mixed hash; this should always equal {@code BitConversion.countLeadingZeros(mask) + 32}.
+	 */
+	protected int shift;
+
+	/**
+	 * One less than the number of buckets, which is a power of two.
+	 */
+	protected int mask;
+
+	/**
+	 * Used by {@link #place(Object)} to mix hashCode() results. Changes on every call to {@link #resize(int)}.
+	 */
+	protected int hashMultiplier;
+
+	/**
+	 * Used by {@link #placeAlternate(Object)} to mix hashCode() results. Changes on every call to {@link #resize(int)}.
+	 */
+	protected int alternateMultiplier;
+
+	/**
+	 * The state used to choose which key to move out of a full bucket.
+	 */
+	protected int kickState = 0x9E3779B9;
+
+	/**
+	 * Returned by {@link #get(Object)} when no value exists for the given key, as well as some other methods to indicate that
+	 * no value in the Map could be returned.
+	 */
+	@Nullable public V defaultValue = null;
+
+	/**
+	 * Creates a new map with an initial capacity of {@link Utilities#getDefaultTableCapacity()} and a load factor of {@link Utilities#getDefaultLoadFactor()}.
+	 */
+	public CuckooObjectObjectMap () {
+		this(Utilities.getDefaultTableCapacity(), Utilities.getDefaultLoadFactor());
+	}
+
+	/**
+	 * Creates a new map with the given starting capacity and a load factor of {@link Utilities#getDefaultLoadFactor()}.
+	 *
+	 * @param initialCapacity If not a power of two, it is increased to the next nearest power of two.
+	 */
+	public CuckooObjectObjectMap (int initialCapacity) {
+		this(initialCapacity, Utilities.getDefaultLoadFactor());
+	}
+
+	/**
+	 * Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity items before
+	 * growing the backing table.
+	 *
+	 * @param initialCapacity If not a power of two, it is increased to the next nearest power of two.
+	 * @param loadFactor      what fraction of the capacity can be filled before this has to resize; 0 &lt; loadFactor &lt;= 1
+	 */
+	public CuckooObjectObjectMap (int initialCapacity, float loadFactor) {
+		if (loadFactor <= 0f || loadFactor > 1f) {throw new IllegalArgumentException("loadFactor must be > 0 and <= 1: " + loadFactor);}
+		this.loadFactor = loadFactor;
+		int tableSize = Math.max(BUCKET_SIZE << 1, tableSize(initialCapacity, loadFactor));
+		setTableSize(tableSize);
+		keyTable = (K[])new Object[tableSize];
+		valueTable = (V[])new Object[tableSize];
+	}
+
+	/**
+	 * Creates a new map identical to the specified map.
+	 *
+	 * @param map an CuckooObjectObjectMap to copy
+	 */
+	public CuckooObjectObjectMap (CuckooObjectObjectMap<? extends K, ? extends V> map) {
+		this.loadFactor = map.loadFactor;
+		this.threshold = map.threshold;
+		this.capacity = map.capacity;
+		this.stashSize = map.stashSize;
+		this.mask = map.mask;
+		this.shift = map.shift;
+		this.hashMultiplier = map.hashMultiplier;
+		this.alternateMultiplier = map.alternateMultiplier;
+		this.kickState = map.kickState;
+		keyTable = Arrays.copyOf(map.keyTable, map.keyTable.length);
+		valueTable = Arrays.copyOf(map.valueTable, map.valueTable.length);
+		size = map.size;
+		defaultValue = map.defaultValue;
+	}
+
+	/**
+	 * Creates a new map identical to the specified map.
+	 *
+	 * @param map a Map to copy
+	 */
+	public CuckooObjectObjectMap (Map<? extends K, ? extends V> map) {
+		this(map.size());
+		putAll(map);
+	}
+
+	/**
+	 * Given two side-by-side arrays, one of keys, one of values, this constructs a map and inserts each pair of key and value into it.
+	 * If keys and values have different lengths, this only uses the length of the smaller array.
+	 *
+	 * @param keys   an array of keys
+	 * @param values an array of values
+	 */
+	public CuckooObjectObjectMap (K[] keys, V[] values) {
+		this(Math.min(keys.length, values.length));
+		putAll(keys, values);
+	}
+
+	/**
+	 * Given two side-by-side collections, one of keys, one of values, this constructs a map and inserts each pair of key and value into it.
+	 * If keys and values have different lengths, this only uses the length of the smaller collection.
+	 *
+	 * @param keys   a Collection of keys
+	 * @param values a Collection of values
+	 */
+	public CuckooObjectObjectMap (Collection<? extends K> keys, Collection<? extends V> values) {
+		this(Math.min(keys.size(), values.size()));
+		putAll(keys, values);
+	}
+
+	/**
+	 * Sets {@link #capacity} and everything that depends on it, without changing the tables.
+	 *
+	 * @param tableSize the number of slots in buckets; must be a power of two, at least {@code 2 * BUCKET_SIZE}
+	 */
+	protected void setTableSize (int tableSize) {
+		capacity = tableSize;
+		threshold = (int)(tableSize * loadFactor);
+		mask = tableSize / BUCKET_SIZE - 1;
+		shift = BitConversion.countLeadingZeros(mask) + 32;
+		hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
+		alternateMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift + 256];
+	}
+
+	/**
+	 * Returns the index of the first bucket for the specified {@code item}, mixed. Multiply this by
+	 * {@link #BUCKET_SIZE} to get the first slot of that bucket in {@link #keyTable}.
+	 *
+	 * @param item a non-null Object; its hashCode() method should be used by most implementations
+	 * @return a bucket index between 0 and {@link #mask} (both inclusive)
+	 */
+	protected int place (@NonNull Object item) {
+		return BitConversion.imul(item.hashCode(), hashMultiplier) >>> shift;
+	}
+
+	/**
+	 * Returns the index of the second bucket for the specified {@code item}, which should be mixed differently from
+	 * {@link #place(Object)}. If place() is overridden, this should usually be overridden to match it.
+	 *
+	 * @param item a non-null Object; its hashCode() method should be used by most implementations
+	 * @return a bucket index between 0 and {@link #mask} (both inclusive)
+	 */
+	protected int placeAlternate (@NonNull Object item) {
+		return BitConversion.imul(item.hashCode(), alternateMultiplier) >>> shift;
+	}
+
+	/**
+	 * Compares the objects left and right, which are usually keys, for equality, returning true if they are considered
+	 * equal. This is used by the rest of this class to determine whether two keys are considered equal. Normally, this
+	 * returns {@code left.equals(right)}, but subclasses can override it to use reference equality, fuzzy equality, deep
+	 * array equality, or any other custom definition of equality. Usually, {@link #place(Object)} and
+	 * {@link #placeAlternate(Object)} are also overridden if this method is.
+	 *
+	 * @param left  must be non-null; typically a key being compared, but not necessarily
+	 * @param right may be null; typically a key being compared, but can often be null for an empty key slot, or some other type
+	 * @return true if left and right are considered equal for the purposes of this class
+	 */
+	protected boolean equate (Object left, @Nullable Object right) {
+		return left.equals(right);
+	}
+
+	/**
+	 * Returns the index of the key if already present, else -1. This checks both buckets for the key, then the stash
+	 * if it isn't empty, calling {@link #equate(Object, Object)} to determine if two keys are equivalent.
+	 *
+	 * @param key a non-null K key
+	 * @return -1 if the key was not found, or the non-negative index of the existing key if found
+	 */
+	protected int locateKey (Object key) {
+		final K[] keyTable = this.keyTable;
+		int i = place(key) * BUCKET_SIZE;
+		for (int n = i + BUCKET_SIZE; i < n; i++) {
+			if (equate(key, keyTable[i])) {return i;}
+		}
+		i = placeAlternate(key) * BUCKET_SIZE;
+		for (int n = i + BUCKET_SIZE; i < n; i++) {
+			if (equate(key, keyTable[i])) {return i;}
+		}
+		for (int n = (i = capacity) + stashSize; i < n; i++) {
+			if (equate(key, keyTable[i])) {return i;}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the old value associated with the specified key, or this map's {@link #defaultValue} if there was no prior value.
+	 */
+	@Override
+	@Nullable
+	public V put (K key, @Nullable V value) {
+		return putOrDefault(key, value, defaultValue);
+	}
+
+	@Nullable
+	public V putOrDefault (K key, @Nullable V value, @Nullable V defaultValue) {
+		if (key == null) return defaultValue;
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			V oldValue = valueTable[i];
+			valueTable[i] = value;
+			return oldValue;
+		}
+		final boolean placed = putResize(key, value);
+		if (++size >= threshold || !placed && size >= capacity >>> 1) {resize(capacity << 1);}
+		return defaultValue;
+	}
+
+	/**
+	 * Copies all the mappings from the specified map to this map. The effect of this call is equivalent to that of
+	 * calling {@link #put(Object, Object) put(k, v)} on this map once for each mapping from key {@code k} to value
+	 * {@code v} in the specified map.
+	 *
+	 * @param m mappings to be stored in this map
+	 */
+	@Override
+	public void putAll (Map<? extends K, ? extends V> m) {
+		ensureCapacity(m.size());
+		for (Map.Entry<? extends K, ? extends V> kv : m.entrySet()) {put(kv.getKey(), kv.getValue());}
+	}
+
+	/**
+	 * Given two side-by-side collections, one of keys, one of values, this inserts each pair of key and value into this map with put().
+	 *
+	 * @param keys   a Collection of keys
+	 * @param values a Collection of values
+	 */
+	public void putAll (Collection<? extends K> keys, Collection<? extends V> values) {
+		int length = Math.min(keys.size(), values.size());
+		ensureCapacity(length);
+		K key;
+		Iterator<? extends K> ki = keys.iterator();
+		Iterator<? extends V> vi = values.iterator();
+		while (ki.hasNext() && vi.hasNext()) {
+			key = ki.next();
+			if (key != null) {
+				put(key, vi.next());
+			}
+		}
+	}
+
+	/**
+	 * Given two side-by-side arrays, one of keys, one of values, this inserts each pair of key and value into this map with put().
+	 *
+	 * @param keys   an array of keys
+	 * @param values an array of values
+	 */
+	public void putAll (K[] keys, V[] values) {
+		int length = Math.min(keys.length, values.length);
+		ensureCapacity(length);
+		K key;
+		for (int i = 0; i < length; i++) {
+			key = keys[i];
+			if (key != null) {put(key, values[i]);}
+		}
+	}
+
+	/**
+	 * Skips checks for existing keys, doesn't increment size. If both buckets for key are full, this moves keys to
+	 * their other buckets until one has room, up to {@link #MAX_KICKS} times; if that still doesn't make room, the
+	 * last key that was moved out goes into the stash.
+	 *
+	 * @return true if every key is in a bucket, or false if one had to be put in the stash
+	 */
+	protected boolean putResize (K key, @Nullable V value) {
+		final K[] keyTable = this.keyTable;
+		final V[] valueTable = this.valueTable;
+		final int first = place(key) * BUCKET_SIZE;
+		for (int i = first, n = first + BUCKET_SIZE; i < n; i++) {
+			if (keyTable[i] == null) {
+				keyTable[i] = key;
+				valueTable[i] = value;
+				return true;
+			}
+		}
+		final int second = placeAlternate(key) * BUCKET_SIZE;
+		for (int i = second, n = second + BUCKET_SIZE; i < n; i++) {
+			if (keyTable[i] == null) {
+				keyTable[i] = key;
+				valueTable[i] = value;
+				return true;
+			}
+		}
+		int bucket = (kickState & 1) == 0 ? first : second;
+		for (int kick = 0; kick < MAX_KICKS; kick++) {
+			kickState = kickState * 0x2C9277B5 + 0xAC564B05;
+			final int victim = bucket + (kickState >>> 16 & BUCKET_SIZE - 1);
+			final K evictedKey = keyTable[victim];
+			final V evictedValue = valueTable[victim];
+			keyTable[victim] = key;
+			valueTable[victim] = value;
+			key = evictedKey;
+			value = evictedValue;
+			int other = place(key) * BUCKET_SIZE;
+			if (other == bucket) {other = placeAlternate(key) * BUCKET_SIZE;}
+			for (int i = other, n = other + BUCKET_SIZE; i < n; i++) {
+				if (keyTable[i] == null) {
+					keyTable[i] = key;
+					valueTable[i] = value;
+					return true;
+				}
+			}
+			bucket = other;
+		}
+		putStash(key, value);
+		return false;
+	}
+
+	/**
+	 * Appends a key and value to the stash, growing the room for the stash if needed. Doesn't increment size.
+	 */
+	protected void putStash (K key, @Nullable V value) {
+		final int i = capacity + stashSize;
+		if (i == keyTable.length) {
+			keyTable = Arrays.copyOf(keyTable, i + Math.max(BUCKET_SIZE, stashSize));
+			valueTable = Arrays.copyOf(valueTable, keyTable.length);
+		}
+		keyTable[i] = key;
+		valueTable[i] = value;
+		stashSize++;
+	}
+
+	/**
+	 * Removes the entry at {@code index} in the stash, moving the last stash entry into its place.
+	 */
+	protected void removeStashIndex (int index) {
+		final int last = capacity + --stashSize;
+		keyTable[index] = keyTable[last];
+		valueTable[index] = valueTable[last];
+		keyTable[last] = null;
+		valueTable[last] = null;
+	}
+
+	/**
+	 * Returns the value for the specified key, or {@link #defaultValue} if the key is not in the map.
+	 * Note that {@link #defaultValue} is often null, which is also a valid value that can be assigned to a
+	 * legitimate key. Checking that the result of this method is null does not guarantee that the
+	 * {@code key} is not present.
+	 *
+	 * @param key a non-null Object that should almost always be a {@code K} (or an instance of a subclass of {@code K})
+	 */
+	@Override
+	@Nullable
+	public V get (Object key) {
+		return getOrDefault(key, defaultValue);
+	}
+
+	/**
+	 * Returns the value for the specified key, or the given default value if the key is not in the map.
+	 */
+	@Override
+	@Nullable
+	public V getOrDefault (Object key, @Nullable V defaultValue) {
+		if (key == null) return defaultValue;
+		int i = locateKey(key);
+		return i < 0 ? defaultValue : valueTable[i];
+	}
+
+	@Override
+	@Nullable
+	public V remove (Object key) {
+		if (key == null) return defaultValue;
+		int i = locateKey(key);
+		if (i < 0) return defaultValue;
+		V oldValue = valueTable[i];
+		if (i >= capacity) {
+			removeStashIndex(i);
+		} else {
+			keyTable[i] = null;
+			valueTable[i] = null;
+		}
+		size--;
+		return oldValue;
+	}
+
+	/**
+	 * Returns true if the map has one or more items.
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	/**
+	 * Returns the number of key-value mappings in this map.
+	 *
+	 * @return the number of key-value mappings in this map
+	 */
+	@Override
+	public int size () {
+		return size;
+	}
+
+	/**
+	 * Returns true if the map is empty.
+	 */
+	@Override
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Gets the default value, a {@code V} which is returned by {@link #get(Object)} if the key is not found.
+	 * If not changed, the default value is null.
+	 *
+	 * @return the current default value
+	 */
+	@Nullable
+	public V getDefaultValue () {
+		return defaultValue;
+	}
+
+	/**
+	 * Sets the default value, a {@code V} which is returned by {@link #get(Object)} if the key is not found.
+	 * If not changed, the default value is null. Note that {@link #getOrDefault(Object, Object)} is also available,
+	 * which allows specifying a "not-found" value per-call.
+	 *
+	 * @param defaultValue may be any V object or null; should usually be one that doesn't occur as a typical value
+	 */
+	public void setDefaultValue (@Nullable V defaultValue) {
+		this.defaultValue = defaultValue;
+	}
+
+	/**
+	 * Reduces the size of the backing arrays to be the specified capacity / loadFactor, or less. If the capacity is already less,
+	 * nothing is done. If the map contains more items than the specified capacity, the next highest power of two capacity is used
+	 * instead.
+	 */
+	public void shrink (int maximumCapacity) {
+		if (maximumCapacity < 0) {throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);}
+		int tableSize = Math.max(BUCKET_SIZE << 1, tableSize(Math.max(maximumCapacity, size), loadFactor));
+		if (capacity > tableSize) {resize(tableSize);}
+	}
+
+	/**
+	 * Clears the map and reduces the size of the backing arrays to be the specified capacity / loadFactor, if they are larger.
+	 */
+	public void clear (int maximumCapacity) {
+		int tableSize = Math.max(BUCKET_SIZE << 1, tableSize(maximumCapacity, loadFactor));
+		if (capacity <= tableSize) {
+			clear();
+			return;
+		}
+		size = 0;
+		stashSize = 0;
+		setTableSize(tableSize);
+		keyTable = (K[])new Object[tableSize];
+		valueTable = (V[])new Object[tableSize];
+	}
+
+	@Override
+	public void clear () {
+		if (size == 0) {return;}
+		size = 0;
+		stashSize = 0;
+		Utilities.clear(keyTable);
+		Utilities.clear(valueTable);
+	}
+
+	/**
+	 * Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may
+	 * be an expensive operation.
+	 *
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *                 {@link #equals(Object)}.
+	 */
+	public boolean containsValue (@Nullable Object value, boolean identity) {
+		V[] valueTable = this.valueTable;
+		if (value == null) {
+			K[] keyTable = this.keyTable;
+			for (int i = valueTable.length - 1; i >= 0; i--) {if (keyTable[i] != null && valueTable[i] == null) {return true;}}
+		} else if (identity) {
+			for (int i = valueTable.length - 1; i >= 0; i--) {if (valueTable[i] == value) {return true;}}
+		} else {
+			for (int i = valueTable.length - 1; i >= 0; i--) {if (value.equals(valueTable[i])) {return true;}}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsKey (Object key) {
+		return key != null && locateKey(key) >= 0;
+	}
+
+	@Override
+	public boolean containsValue (Object value) {
+		return containsValue(value, false);
+	}
+
+	/**
+	 * Returns the key for the specified value, or null if it is not in the map. Note this traverses the entire map and compares
+	 * every value, which may be an expensive operation.
+	 *
+	 * @param value    the value to search for
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *                 {@link #equals(Object)}.
+	 * @return a key that maps to value, if present, or null if value cannot be found
+	 */
+	@Nullable
+	public K findKey (@Nullable Object value, boolean identity) {
+		V[] valueTable = this.valueTable;
+		if (value == null) {
+			K[] keyTable = this.keyTable;
+			for (int i = valueTable.length - 1; i >= 0; i--) {if (keyTable[i] != null && valueTable[i] == null) {return keyTable[i];}}
+		} else if (identity) {
+			for (int i = valueTable.length - 1; i >= 0; i--) {if (valueTable[i] == value) {return keyTable[i];}}
+		} else {
+			for (int i = valueTable.length - 1; i >= 0; i--) {if (value.equals(valueTable[i])) {return keyTable[i];}}
+		}
+		return null;
+	}
+
+	/**
+	 * Increases the size of the backing array to accommodate the specified number of additional items / loadFactor. Useful before
+	 * adding many items to avoid multiple backing array resizes.
+	 *
+	 * @param additionalCapacity how many additional items this should be able to hold without resizing (probably)
+	 */
+	public void ensureCapacity (int additionalCapacity) {
+		int tableSize = tableSize(size + additionalCapacity, loadFactor);
+		if (capacity < tableSize) {resize(tableSize);}
+	}
+
+	/**
+	 * Moves every entry, including any in the stash, into new buckets with {@code newSize} slots, using new hash
+	 * multipliers. Keys that still can't be placed go into the new stash.
+	 *
+	 * @param newSize the number of slots in buckets; must be a power of two
+	 */
+	protected void resize (int newSize) {
+		final K[] oldKeyTable = keyTable;
+		final V[] oldValueTable = valueTable;
+		final int oldEnd = capacity + stashSize;
+		setTableSize(newSize);
+		stashSize = 0;
+		keyTable = (K[])new Object[newSize];
+		valueTable = (V[])new Object[newSize];
+		for (int i = 0; i < oldEnd; i++) {
+			K key = oldKeyTable[i];
+			if (key != null) {putResize(key, oldValueTable[i]);}
+		}
+	}
+
+	/**
+	 * Gets the number of slots in the buckets of the backing table, not counting the stash.
+	 *
+	 * @return the number of slots in buckets; always a power of two
+	 */
+	public int getTableSize () {
+		return capacity;
+	}
+
+	/**
+	 * Gets how many keys are in the stash, which is searched after both buckets for a key. This is usually 0; it
+	 * grows when many keys have the same or nearly the same hashCode.
+	 *
+	 * @return how many keys could not be placed in either of their buckets
+	 */
+	public int getStashSize () {
+		return stashSize;
+	}
+
+	public float getLoadFactor () {
+		return loadFactor;
+	}
+
+	public void setLoadFactor (float loadFactor) {
+		if (loadFactor <= 0f || loadFactor > 1f) {throw new IllegalArgumentException("loadFactor must be > 0 and <= 1: " + loadFactor);}
+		this.loadFactor = loadFactor;
+		int tableSize = Math.max(BUCKET_SIZE << 1, tableSize(size, loadFactor));
+		if (tableSize != capacity) {
+			resize(tableSize);
+		} else {
+			threshold = (int)(tableSize * loadFactor);
+		}
+	}
+
+	@Override
+	public int hashCode () {
+		int h = size;
+		@Nullable K[] keyTable = this.keyTable;
+		@Nullable V[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			@Nullable K key = keyTable[i];
+			if (key != null) {
+				h ^= key.hashCode();
+				@Nullable V value = valueTable[i];
+				if (value != null) {h ^= value.hashCode();}
+			}
+		}
+		return h;
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	@Override
+	public boolean equals (Object obj) {
+		if (obj == this) {return true;}
+		if (!(obj instanceof Map)) {return false;}
+		Map other = (Map)obj;
+		if (other.size() != size) {return false;}
+		K[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		try {
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				K key = keyTable[i];
+				if (key != null) {
+					V value = valueTable[i];
+					if (value == null) {
+						if (other.getOrDefault(key, neverIdentical) != null) {return false;}
+					} else {
+						if (!value.equals(other.get(key))) {return false;}
+					}
+				}
+			}
+		} catch (ClassCastException | NullPointerException unused) {
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	public String toString () {
+		return toString(", ", true);
+	}
+
+	public String toString (String entrySeparator, boolean braces) {
+		return appendTo(new StringBuilder(32), entrySeparator, "=", braces, StringBuilder::append, StringBuilder::append).toString();
+	}
+
+	/**
+	 * Appends to a StringBuilder from the contents of this CuckooObjectObjectMap, but uses the given {@link Appender} and
+	 * {@link Appender} to convert each key and each value to a customizable representation and append them
+	 * to a StringBuilder. To use the default String representation, you can use {@code StringBuilder::append} as an
+	 * appender.
+	 *
+	 * @param sb                a StringBuilder that this can append to
+	 * @param entrySeparator    how to separate entries, such as {@code ", "}
+	 * @param keyValueSeparator how to separate each key from its value, such as {@code "="} or {@code ":"}
+	 * @param braces            true to wrap the output in curly braces, or false to omit them
+	 * @param keyAppender       a function that takes a StringBuilder and a K, and returns the modified StringBuilder
+	 * @param valueAppender     a function that takes a StringBuilder and a V, and returns the modified StringBuilder
+	 * @return {@code sb}, with the key-value pairs of this map appended
+	 */
+	public StringBuilder appendTo (StringBuilder sb, String entrySeparator, String keyValueSeparator, boolean braces,
+		Appender<K> keyAppender, Appender<V> valueAppender) {
+		if (size == 0) {return braces ? sb.append("{}") : sb;}
+		if (braces) {sb.append('{');}
+		K[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		boolean first = true;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			K key = keyTable[i];
+			if (key == null) {continue;}
+			if (first) {first = false;}
+			else {sb.append(entrySeparator);}
+			if (key == this) sb.append("(this)");
+			else keyAppender.apply(sb, key);
+			sb.append(keyValueSeparator);
+			V value = valueTable[i];
+			if (value == this) sb.append("(this)");
+			else valueAppender.apply(sb, value);
+		}
+		if (braces) {sb.append('}');}
+		return sb;
+	}
+
+	/**
+	 * Gets the iterator of a new {@link Entries} produced by {@link #entrySet()}.
+	 *
+	 * @return an {@link Iterator} over {@link Map.Entry} key-value pairs; remove is supported.
+	 */
+	@Override
+	public @NonNull Iterator<Map.Entry<K, V>> iterator () {
+		return entrySet().iterator();
+	}
+
+	/**
+	 * Returns a Set view of the entries in the map. Remove is supported by the Set's iterator. A new Entries object
+	 * is returned each time this is called.
+	 *
+	 * @return a {@link java.util.Set} of {@link Map.Entry} key-value pairs
+	 */
+	@Override
+	public @NonNull Entries<K, V> entrySet () {
+		return new Entries<>(this);
+	}
+
+	/**
+	 * Returns a Collection of the values in the map. Remove is supported. A new Values object is returned each time
+	 * this is called.
+	 *
+	 * @return a {@link Collection} of V values
+	 */
+	@Override
+	public @NonNull Values<K, V> values () {
+		return new Values<>(this);
+	}
+
+	/**
+	 * Returns a Set view of the keys in the map. Remove is supported. A new Keys object is returned each time this is
+	 * called.
+	 *
+	 * @return a {@link java.util.Set} of K keys
+	 */
+	@Override
+	public @NonNull Keys<K, V> keySet () {
+		return new Keys<>(this);
+	}
+
+	public static abstract class MapIterator<K, V, I> implements Iterable<I>, Iterator<I> {
+		public boolean hasNext;
+
+		protected final CuckooObjectObjectMap<K, V> map;
+		protected int nextIndex, currentIndex;
+
+		public MapIterator (CuckooObjectObjectMap<K, V> map) {
+			this.map = map;
+			reset();
+		}
+
+		public void reset () {
+			currentIndex = -1;
+			nextIndex = -1;
+			findNextIndex();
+		}
+
+		protected void findNextIndex () {
+			K[] keyTable = map.keyTable;
+			for (int n = map.capacity + map.stashSize; ++nextIndex < n; ) {
+				if (keyTable[nextIndex] != null) {
+					hasNext = true;
+					return;
+				}
+			}
+			hasNext = false;
+		}
+
+		@Override
+		public @NonNull Iterator<I> iterator () {
+			return this;
+		}
+
+		@Override
+		public boolean hasNext () {
+			return hasNext;
+		}
+
+		/**
+		 * Removes the entry most recently returned by next(). Removing from a bucket never moves other entries, but
+		 * removing from the stash moves the last stash entry into the removed one's place, so that slot is visited
+		 * again.
+		 */
+		@Override
+		public void remove () {
+			int i = currentIndex;
+			if (i < 0) {throw new IllegalStateException("next must be called before remove.");}
+			if (i >= map.capacity) {
+				map.removeStashIndex(i);
+				nextIndex = i - 1;
+				findNextIndex();
+			} else {
+				map.keyTable[i] = null;
+				map.valueTable[i] = null;
+			}
+			map.size--;
+			currentIndex = -1;
+		}
+	}
+
+	public static class Entries<K, V> extends AbstractSet<Map.Entry<K, V>> {
+		protected ObjectObjectMap.Entry<K, V> entry = new ObjectObjectMap.Entry<>();
+		protected MapIterator<K, V, Map.Entry<K, V>> iter;
+
+		public Entries (CuckooObjectObjectMap<K, V> map) {
+			iter = new MapIterator<K, V, Map.Entry<K, V>>(map) {
+				/**
+				 * Note the same entry instance is returned each time this method is called.
+				 */
+				@Override
+				public Map.Entry<K, V> next () {
+					if (!hasNext) {throw new NoSuchElementException();}
+					entry.key = map.keyTable[nextIndex];
+					entry.value = map.valueTable[nextIndex];
+					currentIndex = nextIndex;
+					findNextIndex();
+					return entry;
+				}
+			};
+		}
+
+		@Override
+		public boolean contains (Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry<?, ?> e = (Map.Entry<?, ?>)o;
+			Object key = e.getKey();
+			if (key == null) return false;
+			int i = iter.map.locateKey(key);
+			if (i < 0) return false;
+			Object value = iter.map.valueTable[i], other = e.getValue();
+			return value == null ? other == null : value.equals(other);
+		}
+
+		@Override
+		public @NonNull MapIterator<K, V, Map.Entry<K, V>> iterator () {
+			return iter;
+		}
+
+		@Override
+		public int size () {
+			return iter.map.size;
+		}
+	}
+
+	public static class Values<K, V> extends AbstractCollection<V> {
+		protected MapIterator<K, V, V> iter;
+
+		public Values (CuckooObjectObjectMap<K, V> map) {
+			iter = new MapIterator<K, V, V>(map) {
+				@Override
+				@Nullable
+				public V next () {
+					if (!hasNext) {throw new NoSuchElementException();}
+					V value = map.valueTable[nextIndex];
+					currentIndex = nextIndex;
+					findNextIndex();
+					return value;
+				}
+			};
+		}
+
+		@Override
+		public boolean contains (Object o) {
+			return iter.map.containsValue(o);
+		}
+
+		@Override
+		public @NonNull MapIterator<K, V, V> iterator () {
+			return iter;
+		}
+
+		@Override
+		public int size () {
+			return iter.map.size;
+		}
+	}
+
+	public static class Keys<K, V> extends AbstractSet<K> {
+		protected MapIterator<K, V, K> iter;
+
+		public Keys (CuckooObjectObjectMap<K, V> map) {
+			iter = new MapIterator<K, V, K>(map) {
+				@Override
+				public K next () {
+					if (!hasNext) {throw new NoSuchElementException();}
+					K key = map.keyTable[nextIndex];
+					currentIndex = nextIndex;
+					findNextIndex();
+					return key;
+				}
+			};
+		}
+
+		@Override
+		public boolean contains (Object o) {
+			return iter.map.containsKey(o);
+		}
+
+		@Override
+		public boolean remove (Object o) {
+			if (!iter.map.containsKey(o)) return false;
+			iter.map.remove(o);
+			return true;
+		}
+
+		@Override
+		public @NonNull MapIterator<K, V, K> iterator () {
+			return iter;
+		}
+
+		@Override
+		public int size () {
+			return iter.map.size;
+		}
+	}
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.digital.BitConversion;
+import com.github.tommyettinger.ds.support.util.DoubleIterator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * A view of a range of a {@link DoubleList} that shares the list's storage instead of copying it, so passing part of a
+ * large list to other code doesn't allocate or copy a new array. Views are made with {@link DoubleList#slice(int, int)},
+ * which can write through with {@link #set(int, double)} and the {@link Arrangeable} methods, or
+ * {@link DoubleList#readOnlyView()}, which throws an {@link UnsupportedOperationException} on any change. A view can
+ * also be over a {@link DoubleDeque}; it reads through the deque's {@code get()} then, since a deque's items can wrap
+ * around the end of its array.
+ * <br>
+ * A view never changes its own size, so {@link #add(double)}, {@link #remove(double)} and {@link #clear()} always
+ * throw. The view reads the list's current backing array each time, so it stays valid if the list grows; if the list
+ * has items inserted or removed before or inside the range, the view shows whatever is at its indices now, and if the
+ * list shrinks, the view shrinks to match.
+ *
+ * @author Tommy Ettinger
+ */
+public class DoubleListView implements PrimitiveCollection.OfDouble, Arrangeable {
+	protected final DoubleList list;
+	/**
+	 * The index in {@link #list} of this view's first item.
+	 */
+	protected final int offset;
+	/**
+	 * How many items this views, or -1 if this views everything from {@link #offset} to the end of the list, however
+	 * long that is.
+	 */
+	protected final int count;
+	protected final boolean writable;
+	/**
+	 * True if the list's items start at index 0 of its array, so this can index that array directly; false for deques.
+	 */
+	protected final boolean direct;
+
+	/**
+	 * Creates a view of {@code count} items of {@code list}, starting at {@code offset}. Usually you would call
+	 * {@link DoubleList#slice(int, int)} or {@link DoubleList#readOnlyView()} instead.
+	 *
+	 * @param list     the list to view; its storage is shared, not copied
+	 * @param offset   the first index in list to view
+	 * @param count    how many items to view, or -1 to view everything after offset, even as the list grows
+	 * @param writable if false, any method that would change the list throws an UnsupportedOperationException
+	 */
+	public DoubleListView (DoubleList list, int offset, int count, boolean writable) {
+		if (offset < 0 || count < -1 || offset + Math.max(count, 0) > list.size())
+			throw new IndexOutOfBoundsException("The range from " + offset + " with count " + count
+				+ " does not fit in a list with size " + list.size());
+		this.list = list;
+		this.offset = offset;
+		this.count = count;
+		this.writable = writable;
+		this.direct = !(list instanceof DoubleDeque);
+	}
+
+	@Override
+	public int size () {
+		final int rest = list.size() - offset;
+		return Math.max(0, count < 0 ? rest : Math.min(count, rest));
+	}
+
+	/**
+	 * Returns true if this view can't change the list it views.
+	 */
+	public boolean isReadOnly () {
+		return !writable;
+	}
+
+	protected void checkWritable () {
+		if (!writable) throw new UnsupportedOperationException("This DoubleListView is read-only.");
+	}
+
+	public double get (int index) {
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("index must be >= 0 and < size: " + index + ", size " + size());
+		return direct ? list.items[offset + index] : list.get(offset + index);
+	}
+
+	/**
+	 * Sets the item at {@code index} in this view, which is index {@code offset + index} in the viewed list.
+	 *
+	 * @param index an index in this view
+	 * @param value the item to write through to the list
+	 * @throws UnsupportedOperationException if this view is read-only
+	 */
+	public void set (int index, double value) {
+		checkWritable();
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("index must be >= 0 and < size: " + index + ", size " + size());
+		if (direct) list.items[offset + index] = value;
+		else list.set(offset + index, value);
+	}
+
+	/**
+	 * Gets the list this views. Changing it directly bypasses any read-only restriction on this view.
+	 */
+	public DoubleList getList () {
+		return list;
+	}
+
+	/**
+	 * Gets the index in {@link #getList()} of this view's first item.
+	 */
+	public int getOffset () {
+		return offset;
+	}
+
+	/**
+	 * Gets a view of part of this view, sharing the same list; it is read-only if this is.
+	 *
+	 * @param offset the first index in this view to include
+	 * @param count  how many items to include
+	 * @return a new DoubleListView of the given range
+	 */
+	public DoubleListView slice (int offset, int count) {
+		if (offset < 0 || count < 0 || offset + count > size())
+			throw new IndexOutOfBoundsException("The range from " + offset + " with count " + count
+				+ " does not fit in a view with size " + size());
+		return new DoubleListView(list, this.offset + offset, count, writable);
+	}
+
+	/**
+	 * Gets a read-only view of the same range as this view; if this is already read-only, this returns this.
+	 */
+	public DoubleListView readOnlyView () {
+		return writable ? new DoubleListView(list, offset, count, false) : this;
+	}
+
+	@Override
+	public boolean add (double item) {
+		throw new UnsupportedOperationException("DoubleListView cannot change size.");
+	}
+
+	@Override
+	public boolean remove (double item) {
+		throw new UnsupportedOperationException("DoubleListView cannot change size.");
+	}
+
+	@Override
+	public void clear () {
+		throw new UnsupportedOperationException("DoubleListView cannot change size.");
+	}
+
+	@Override
+	public boolean contains (double item) {
+		return indexOf(item) >= 0;
+	}
+
+	/**
+	 * Gets the first index in this view of {@code item}, or -1 if it isn't in this view.
+	 */
+	public int indexOf (double item) {
+		for (int i = 0, n = size(); i < n; i++) {
+			if (get(i) == item) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the last index in this view of {@code item}, or -1 if it isn't in this view.
+	 */
+	public int lastIndexOf (double item) {
+		for (int i = size() - 1; i >= 0; i--) {
+			if (get(i) == item) return i;
+		}
+		return -1;
+	}
+
+	@Override
+	public void swap (int first, int second) {
+		final double f = get(first);
+		set(first, get(second));
+		set(second, f);
+	}
+
+	@Override
+	public void reverse () {
+		checkWritable();
+		for (int i = 0, j = size() - 1; i < j; i++, j--) {swap(i, j);}
+	}
+
+	@Override
+	public void shuffle (Random random) {
+		checkWritable();
+		Arrangeable.super.shuffle(random);
+	}
+
+	/**
+	 * Sorts the items in this view in place, without changing the rest of the list.
+	 *
+	 * @throws UnsupportedOperationException if this view is read-only
+	 */
+	public void sort () {
+		checkWritable();
+		final int n = size();
+		if (direct) {
+			Arrays.sort(list.items, offset, offset + n);
+		} else {
+			final double[] copy = toArray();
+			Arrays.sort(copy);
+			for (int i = 0; i < n; i++) {list.set(offset + i, copy[i]);}
+		}
+	}
+
+	/**
+	 * Copies the items in this view into a new array.
+	 */
+	public double[] toArray () {
+		return copyTo(new double[size()], 0);
+	}
+
+	/**
+	 * Copies the items in this view into {@code dest}, starting at {@code destOffset}.
+	 *
+	 * @param dest       an array with room for {@link #size()} items after destOffset
+	 * @param destOffset the first index in dest to write to
+	 * @return dest, after modifications
+	 */
+	public double[] copyTo (double[] dest, int destOffset) {
+		final int n = size();
+		if (direct) {
+			System.arraycopy(list.items, offset, dest, destOffset, n);
+		} else {
+			for (int i = 0; i < n; i++) {dest[destOffset + i] = list.get(offset + i);}
+		}
+		return dest;
+	}
+
+	/**
+	 * Copies the items in this view into a new, independent DoubleList.
+	 */
+	public DoubleList toList () {
+		return new DoubleList(toArray());
+	}
+
+	/**
+	 * Returns a new iterator over this view. It can't remove items, but it can copy runs of them with
+	 * {@link DoubleIterator#nextBatch(double[], int, int)}.
+	 */
+	@Override
+	public DoubleListViewIterator iterator () {
+		return new DoubleListViewIterator(this);
+	}
+
+	/**
+	 * Uses the same hash as {@link DoubleList#hashCode()} would for a list with the same items.
+	 */
+	@Override
+	public int hashCode () {
+		final int size = size();
+		int h = size;
+		for (int i = 0; i < size; i++) {
+			h = h * 421 + BitConversion.doubleToMixedIntBits(get(i));
+		}
+		return h ^ h >>> 16;
+	}
+
+	/**
+	 * Compares the items in order with another DoubleListView or a DoubleList. A DoubleList will not consider itself equal to a view,
+	 * though, so it is best to compare views with views.
+	 */
+	@Override
+	public boolean equals (Object object) {
+		if (object == this) return true;
+		final int n = size();
+		if (object instanceof DoubleListView) {
+			DoubleListView other = (DoubleListView)object;
+			if (other.size() != n) return false;
+			for (int i = 0; i < n; i++) {
+				final double a = get(i), b = other.get(i);
+				if (a != b) return false;
+			}
+			return true;
+		}
+		if (object instanceof DoubleList) {
+			DoubleList other = (DoubleList)object;
+			if (other.size() != n) return false;
+			for (int i = 0; i < n; i++) {
+				final double a = get(i), b = other.get(i);
+				if (a != b) return false;
+			}
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public String toString () {
+		return toString(", ", true);
+	}
+
+	public static class DoubleListViewIterator implements DoubleIterator {
+		protected final DoubleListView view;
+		protected int index;
+
+		public DoubleListViewIterator (DoubleListView view) {
+			this.view = view;
+		}
+
+		@Override
+		public boolean hasNext () {
+			return index < view.size();
+		}
+
+		@Override
+		public double nextDouble () {
+			if (index >= view.size()) throw new NoSuchElementException();
+			return view.get(index++);
+		}
+
+		@Override
+		public int nextBatch (double[] dest, int offset, int max) {
+			final int n = Math.min(max, view.size() - index);
+			if (n <= 0) return 0;
+			if (view.direct) {
+				System.arraycopy(view.list.items, view.offset + index, dest, offset, n);
+			} else {
+				for (int i = 0; i < n; i++) {dest[offset + i] = view.list.get(view.offset + index + i);}
+			}
+			index += n;
+			return n;
+		}
+
+		/**
+		 * Always throws an {@link UnsupportedOperationException}, because views can't change size.
+		 */
+		@Override
+		public void remove () {
+			throw new UnsupportedOperationException("DoubleListView cannot change size.");
+		}
+	}
+}
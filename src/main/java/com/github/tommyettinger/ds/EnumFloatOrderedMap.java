@@ -19,6 +19,8 @@ package com.github.tommyettinger.ds;
 import com.github.tommyettinger.digital.Base;
 import com.github.tommyettinger.ds.support.sort.FloatComparator;
 import com.github.tommyettinger.ds.support.sort.FloatComparators;
+import com.github.tommyettinger.ds.support.sort.IntComparator;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
 import com.github.tommyettinger.ds.support.util.Appender;
 import com.github.tommyettinger.ds.support.util.FloatAppender;
 import com.github.tommyettinger.ds.support.util.FloatIterator;
@@ -99,7 +101,8 @@ public class EnumFloatOrderedMap extends EnumFloatMap implements Ordered<Enum<?>
 	 * @param map an EnumFloatOrderedMap to copy
 	 */
 	public EnumFloatOrderedMap(EnumFloatOrderedMap map) {
-		this.keys = map.keys;
+		if(map.keys != null)
+			this.keys = new EnumSet(map.keys);
 		if(map.valueTable != null)
 			valueTable = Arrays.copyOf(map.valueTable, map.valueTable.length);
 		defaultValue = map.defaultValue;
@@ -273,6 +276,18 @@ public class EnumFloatOrderedMap extends EnumFloatMap implements Ordered<Enum<?>
 		}
 	}
 
+	/**
+	 * Places a key that wasn't present at the end of the iteration order. This is used by bulk operations such as
+	 * {@link #addValues(EnumFloatMap)}, which add any new keys in ascending order of their ordinals.
+	 * @param ordinal the ordinal of a key in the key universe that is not currently present
+	 * @param value the float value to associate with that key
+	 */
+	@Override
+	protected void putFresh (int ordinal, float value) {
+		super.putFresh(ordinal, value);
+		ordering.add(keys.universe[ordinal]);
+	}
+
 	@Override
 	public float remove (Object key) {
 		// If key is not present, using an O(1) containsKey() lets us avoid an O(n) remove step on keys.
@@ -493,11 +508,20 @@ public class EnumFloatOrderedMap extends EnumFloatMap implements Ordered<Enum<?>
 	 * and must be able to compare {@code float} values. You can use {@link FloatComparators#NATURAL_COMPARATOR} to do
 	 * what {@link #sort()} does (just sorting values in this case instead of keys); there is also a reversed comparator
 	 * available, {@link FloatComparators#OPPOSITE_COMPARATOR}.
+	 * <br>
+	 * This gets each value only once, then stably sorts their positions with
+	 * {@link IntComparators#argsort(int, IntComparator)}, so no values are looked up during comparisons.
 	 *
 	 * @param comp a non-null {@link FloatComparator}
 	 */
 	public void sortByValue (FloatComparator comp) {
-		ordering.sort((a, b) -> comp.compare(get(a), get(b)));
+		final int n = ordering.size();
+		if (n < 2) {return;}
+		final Object[] ks = ordering.toArray();
+		final float[] vs = new float[n];
+		for (int i = 0; i < n; i++) {vs[i] = get(ks[i]);}
+		final int[] order = IntComparators.argsort(n, (a, b) -> comp.compare(vs[a], vs[b]));
+		for (int i = 0; i < n; i++) {ordering.set(i, (Enum<?>) ks[order[i]]);}
 	}
 
 	/**
@@ -107,7 +107,8 @@ public class EnumIntMap implements Iterable<EnumIntMap.Entry> {
 	 * @param map an EnumIntMap to copy
 	 */
 	public EnumIntMap(EnumIntMap map) {
-		this.keys = map.keys;
+		if(map.keys != null)
+			this.keys = new EnumSet(map.keys);
 		if(map.valueTable != null)
 			valueTable = Arrays.copyOf(map.valueTable, map.valueTable.length);
 		defaultValue = map.defaultValue;
@@ -213,22 +214,19 @@ public class EnumIntMap implements Iterable<EnumIntMap.Entry> {
 	 * @param map another EnumIntMap with an equivalent key universe
 	 */
 	public void putAll (@NonNull EnumIntMap map) {
-		if(map.keys == null || map.keys.universe == null) return;
-		if(keys == null || keys.universe == null) keys = map.keys;
-		Enum<?>[] universe = keys.universe;
-		if(valueTable == null) valueTable = new int[universe.length];
-		if(map.keys.isEmpty()) return;
-		final int n = map.valueTable.length;
-		if(this.valueTable.length != n) return;
-		int[] valueTable = map.valueTable;
-		int value;
-		for (int i = 0; i < n; i++) {
-			if(universe[i] != map.keys.universe[i])
-				throw new ClassCastException("Incompatible key for the EnumIntMap's universe.");
-			value = valueTable[i];
-			this.keys.add(universe[i]);
-			this.valueTable[i] = value;
+		if(!alignUniverse(map)) {
+			if(map.keys == null || map.keys.isEmpty()) return;
+			throw new ClassCastException("Incompatible key for the EnumIntMap's universe.");
 		}
+		final int[] mine = keys.table, theirs = map.keys.table;
+		final int[] valueTable = this.valueTable, otherValues = map.valueTable;
+		for (int w = 0; w < theirs.length; w++) {
+			for (int both = theirs[w] & mine[w]; both != 0; both &= both - 1) {
+				final int i = w << 5 | BitConversion.countTrailingZeros(both);
+				valueTable[i] = otherValues[i];
+			}
+		}
+		putAbsent(map);
 	}
 
 	/**
@@ -544,6 +542,18 @@ public class EnumIntMap implements Iterable<EnumIntMap.Entry> {
 		if(this.keys == null || this.keys.universe == null || this.valueTable == null) return other.isEmpty();
 		Enum<?>[] universe = this.keys.universe;
 		int[] valueTable = this.valueTable;
+		if(other.keys != null && other.valueTable != null && keys.sharesUniverse(other.keys)) {
+			final int[] mine = keys.table, theirs = other.keys.table;
+			final int[] otherValues = other.valueTable;
+			for (int w = 0; w < mine.length; w++) {
+				if(mine[w] != theirs[w]) return false;
+				for (int bits = mine[w]; bits != 0; bits &= bits - 1) {
+					final int i = w << 5 | BitConversion.countTrailingZeros(bits);
+					if(valueTable[i] != otherValues[i]) return false;
+				}
+			}
+			return true;
+		}
 		try {
 			for (int i = keys.nextOrdinal(0); i != -1; i = keys.nextOrdinal(i+1)) {
 				int value = valueTable[i];
@@ -696,16 +706,172 @@ public class EnumIntMap implements Iterable<EnumIntMap.Entry> {
 	}
 
 	/**
-	 * Simply calls {@link #combine(Enum, int, IntIntToIntBiFunction)} on this map using every
+	 * Calls {@link #combine(Enum, int, IntIntToIntBiFunction)} on this map using every
 	 * key-value pair in {@code other}. If {@code other} isn't empty, calling this will probably modify
-	 * this map, though this depends on the {@code remappingFunction}.
-	 * @param other a non-null ObjectIntMap (or subclass) with a compatible key type
+	 * this map, though this depends on the {@code remappingFunction}. If both maps share a key universe, this works
+	 * ordinal-by-ordinal on the value tables and word-by-word on the key sets, without iterating over entries or
+	 * looking up keys; otherwise, it goes entry by entry.
+	 * @param other a non-null EnumIntMap (or subclass) with a compatible key type
 	 * @param remappingFunction given a int value from this and a value from other, this should return what int to use
 	 */
 	public void combine (EnumIntMap other, IntIntToIntBiFunction remappingFunction) {
-		for (Entry e : other.entrySet()) {
-			combine(e.key, e.value, remappingFunction);
+		if(!alignUniverse(other)) {
+			for (Entry e : other.entrySet()) {
+				combine(e.key, e.value, remappingFunction);
+			}
+			return;
+		}
+		final int[] mine = keys.table, theirs = other.keys.table;
+		final int[] valueTable = this.valueTable, otherValues = other.valueTable;
+		for (int w = 0; w < theirs.length; w++) {
+			for (int both = theirs[w] & mine[w]; both != 0; both &= both - 1) {
+				final int i = w << 5 | BitConversion.countTrailingZeros(both);
+				valueTable[i] = remappingFunction.applyAsInt(valueTable[i], otherValues[i]);
+			}
+		}
+		putAbsent(other);
+	}
+
+	/**
+	 * Adds each value in {@code other} to the value associated with the same key in this map, or puts the value from
+	 * {@code other} unchanged if this map doesn't have that key yet. Keys that are only present in this map are unchanged.
+	 * This is equivalent to calling {@link #combine(EnumIntMap, IntIntToIntBiFunction)} with a function that adds its arguments,
+	 * but doesn't go through a function call per key. If both maps share a key universe, this works ordinal-by-ordinal on the value tables and word-by-word on
+	 * the key sets.
+	 * @param other a non-null EnumIntMap, ideally with the same key universe as this map
+	 */
+	public void addValues (EnumIntMap other) {
+		if(!alignUniverse(other)) {
+			combine(other, Integer::sum);
+			return;
+		}
+		final int[] mine = keys.table, theirs = other.keys.table;
+		final int[] valueTable = this.valueTable, otherValues = other.valueTable;
+		for (int w = 0; w < theirs.length; w++) {
+			for (int both = theirs[w] & mine[w]; both != 0; both &= both - 1) {
+				final int i = w << 5 | BitConversion.countTrailingZeros(both);
+				valueTable[i] += otherValues[i];
+			}
+		}
+		putAbsent(other);
+	}
+
+	/**
+	 * Multiplies the value associated with each key in this map by the value associated with the same key in {@code other},
+	 * or puts the value from {@code other} unchanged if this map doesn't have that key yet. Keys that are only present in this map are unchanged.
+	 * This is equivalent to calling {@link #combine(EnumIntMap, IntIntToIntBiFunction)} with a function that multiplies its arguments,
+	 * but doesn't go through a function call per key. If both maps share a key universe, this works ordinal-by-ordinal on the value tables and word-by-word on
+	 * the key sets.
+	 * @param other a non-null EnumIntMap, ideally with the same key universe as this map
+	 */
+	public void multiplyValues (EnumIntMap other) {
+		if(!alignUniverse(other)) {
+			combine(other, (a, b) -> a * b);
+			return;
+		}
+		final int[] mine = keys.table, theirs = other.keys.table;
+		final int[] valueTable = this.valueTable, otherValues = other.valueTable;
+		for (int w = 0; w < theirs.length; w++) {
+			for (int both = theirs[w] & mine[w]; both != 0; both &= both - 1) {
+				final int i = w << 5 | BitConversion.countTrailingZeros(both);
+				valueTable[i] *= otherValues[i];
+			}
+		}
+		putAbsent(other);
+	}
+
+	/**
+	 * Sets the value associated with each key in this map to the larger of its current value and the value associated
+	 * with the same key in {@code other}, or puts the value from {@code other} unchanged if this map doesn't have that
+	 * key yet. Keys that are only present in this map are unchanged.
+	 * This is equivalent to calling {@link #combine(EnumIntMap, IntIntToIntBiFunction)} with a function that returns the larger argument,
+	 * but doesn't go through a function call per key. If both maps share a key universe, this works ordinal-by-ordinal on the value tables and word-by-word on
+	 * the key sets.
+	 * @param other a non-null EnumIntMap, ideally with the same key universe as this map
+	 */
+	public void maxValues (EnumIntMap other) {
+		if(!alignUniverse(other)) {
+			combine(other, Math::max);
+			return;
+		}
+		final int[] mine = keys.table, theirs = other.keys.table;
+		final int[] valueTable = this.valueTable, otherValues = other.valueTable;
+		for (int w = 0; w < theirs.length; w++) {
+			for (int both = theirs[w] & mine[w]; both != 0; both &= both - 1) {
+				final int i = w << 5 | BitConversion.countTrailingZeros(both);
+				valueTable[i] = Math.max(valueTable[i], otherValues[i]);
+			}
 		}
+		putAbsent(other);
+	}
+
+	/**
+	 * Sets the value associated with each key in this map to the smaller of its current value and the value associated
+	 * with the same key in {@code other}, or puts the value from {@code other} unchanged if this map doesn't have that
+	 * key yet. Keys that are only present in this map are unchanged.
+	 * This is equivalent to calling {@link #combine(EnumIntMap, IntIntToIntBiFunction)} with a function that returns the smaller argument,
+	 * but doesn't go through a function call per key. If both maps share a key universe, this works ordinal-by-ordinal on the value tables and word-by-word on
+	 * the key sets.
+	 * @param other a non-null EnumIntMap, ideally with the same key universe as this map
+	 */
+	public void minValues (EnumIntMap other) {
+		if(!alignUniverse(other)) {
+			combine(other, Math::min);
+			return;
+		}
+		final int[] mine = keys.table, theirs = other.keys.table;
+		final int[] valueTable = this.valueTable, otherValues = other.valueTable;
+		for (int w = 0; w < theirs.length; w++) {
+			for (int both = theirs[w] & mine[w]; both != 0; both &= both - 1) {
+				final int i = w << 5 | BitConversion.countTrailingZeros(both);
+				valueTable[i] = Math.min(valueTable[i], otherValues[i]);
+			}
+		}
+		putAbsent(other);
+	}
+
+	/**
+	 * Makes sure this map has a key universe and value table, taking the key universe from {@code other} if this map
+	 * doesn't have one yet, and then returns true if this map and other can be combined ordinal-by-ordinal. That is
+	 * only the case when both maps have equivalent key universes and allocated value tables.
+	 * @param other another EnumIntMap that will be combined with this one
+	 * @return true if this and other share a key universe and both have value tables
+	 */
+	protected boolean alignUniverse (EnumIntMap other) {
+		if(other.keys == null || other.keys.universe == null || other.keys.table == null || other.valueTable == null)
+			return false;
+		if(keys == null) keys = EnumSet.noneOf(other.keys.universe);
+		else if(keys.universe == null) keys.clearToUniverse(other.keys.universe);
+		if(valueTable == null) valueTable = new int[keys.universe.length];
+		return keys.sharesUniverse(other.keys) && valueTable.length == other.valueTable.length;
+	}
+
+	/**
+	 * Puts every entry from {@code other} whose key isn't present in this map, using {@link #putFresh(int, int)}.
+	 * Only call this after {@link #alignUniverse(EnumIntMap)} has returned true.
+	 * @param other another EnumIntMap that shares a key universe with this one
+	 */
+	protected void putAbsent (EnumIntMap other) {
+		final int[] mine = keys.table, theirs = other.keys.table;
+		final int[] otherValues = other.valueTable;
+		for (int w = 0; w < theirs.length; w++) {
+			for (int fresh = theirs[w] & ~mine[w]; fresh != 0; fresh &= fresh - 1) {
+				final int i = w << 5 | BitConversion.countTrailingZeros(fresh);
+				putFresh(i, otherValues[i]);
+			}
+		}
+	}
+
+	/**
+	 * Used by the bulk operations here, such as {@link #addValues(EnumIntMap)}, to associate a value with the key at
+	 * {@code ordinal} in the key universe when that key is not yet present in this map. Subclasses that track more
+	 * information about their keys, such as insertion order, should override this.
+	 * @param ordinal the ordinal of a key in the key universe that is not currently present
+	 * @param value the int value to associate with that key
+	 */
+	protected void putFresh (int ordinal, int value) {
+		valueTable[ordinal] = value;
+		keys.add(keys.universe[ordinal]);
 	}
 
 	/**
@@ -99,7 +99,8 @@ public class EnumIntOrderedMap extends EnumIntMap implements Ordered<Enum<?>> {
 	 * @param map an EnumIntOrderedMap to copy
 	 */
 	public EnumIntOrderedMap(EnumIntOrderedMap map) {
-		this.keys = map.keys;
+		if(map.keys != null)
+			this.keys = new EnumSet(map.keys);
 		if(map.valueTable != null)
 			valueTable = Arrays.copyOf(map.valueTable, map.valueTable.length);
 		defaultValue = map.defaultValue;
@@ -273,6 +274,18 @@ public class EnumIntOrderedMap extends EnumIntMap implements Ordered<Enum<?>> {
 		}
 	}
 
+	/**
+	 * Places a key that wasn't present at the end of the iteration order. This is used by bulk operations such as
+	 * {@link #addValues(EnumIntMap)}, which add any new keys in ascending order of their ordinals.
+	 * @param ordinal the ordinal of a key in the key universe that is not currently present
+	 * @param value the int value to associate with that key
+	 */
+	@Override
+	protected void putFresh (int ordinal, int value) {
+		super.putFresh(ordinal, value);
+		ordering.add(keys.universe[ordinal]);
+	}
+
 	@Override
 	public int remove (Object key) {
 		// If key is not present, using an O(1) containsKey() lets us avoid an O(n) remove step on keys.
@@ -493,11 +506,20 @@ public class EnumIntOrderedMap extends EnumIntMap implements Ordered<Enum<?>> {
 	 * and must be able to compare {@code int} values. You can use {@link IntComparators#NATURAL_COMPARATOR} to do
 	 * what {@link #sort()} does (just sorting values in this case instead of keys); there is also a reversed comparator
 	 * available, {@link IntComparators#OPPOSITE_COMPARATOR}.
+	 * <br>
+	 * This gets each value only once, then stably sorts their positions with
+	 * {@link IntComparators#argsort(int, IntComparator)}, so no values are looked up during comparisons.
 	 *
 	 * @param comp a non-null {@link IntComparator}
 	 */
 	public void sortByValue (IntComparator comp) {
-		ordering.sort((a, b) -> comp.compare(get(a), get(b)));
+		final int n = ordering.size();
+		if (n < 2) {return;}
+		final Object[] ks = ordering.toArray();
+		final int[] vs = new int[n];
+		for (int i = 0; i < n; i++) {vs[i] = get(ks[i]);}
+		final int[] order = IntComparators.argsort(n, (a, b) -> comp.compare(vs[a], vs[b]));
+		for (int i = 0; i < n; i++) {ordering.set(i, (Enum<?>) ks[order[i]]);}
 	}
 
 	/**
@@ -17,6 +17,8 @@
 package com.github.tommyettinger.ds;
 
 import com.github.tommyettinger.digital.Base;
+import com.github.tommyettinger.ds.support.sort.IntComparator;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
 import com.github.tommyettinger.ds.support.sort.LongComparator;
 import com.github.tommyettinger.ds.support.sort.LongComparators;
 import com.github.tommyettinger.ds.support.util.Appender;
@@ -105,7 +107,8 @@ public class EnumLongOrderedMap extends EnumLongMap implements Ordered<Enum<?>>
 	 * @param map an EnumLongOrderedMap to copy
 	 */
 	public EnumLongOrderedMap(EnumLongOrderedMap map) {
-		this.keys = map.keys;
+		if(map.keys != null)
+			this.keys = new EnumSet(map.keys);
 		if(map.valueTable != null)
 			valueTable = Arrays.copyOf(map.valueTable, map.valueTable.length);
 		defaultValue = map.defaultValue;
@@ -279,6 +282,18 @@ public class EnumLongOrderedMap extends EnumLongMap implements Ordered<Enum<?>>
 		}
 	}
 
+	/**
+	 * Places a key that wasn't present at the end of the iteration order. This is used by bulk operations such as
+	 * {@link #addValues(EnumLongMap)}, which add any new keys in ascending order of their ordinals.
+	 * @param ordinal the ordinal of a key in the key universe that is not currently present
+	 * @param value the long value to associate with that key
+	 */
+	@Override
+	protected void putFresh (int ordinal, long value) {
+		super.putFresh(ordinal, value);
+		ordering.add(keys.universe[ordinal]);
+	}
+
 	@Override
 	public long remove (Object key) {
 		// If key is not present, using an O(1) containsKey() lets us avoid an O(n) remove step on keys.
@@ -499,11 +514,20 @@ public class EnumLongOrderedMap extends EnumLongMap implements Ordered<Enum<?>>
 	 * and must be able to compare {@code long} values. You can use {@link LongComparators#NATURAL_COMPARATOR} to do
 	 * what {@link #sort()} does (just sorting values in this case instead of keys); there is also a reversed comparator
 	 * available, {@link LongComparators#OPPOSITE_COMPARATOR}.
+	 * <br>
+	 * This gets each value only once, then stably sorts their positions with
+	 * {@link IntComparators#argsort(int, IntComparator)}, so no values are looked up during comparisons.
 	 *
 	 * @param comp a non-null {@link LongComparator}
 	 */
 	public void sortByValue (LongComparator comp) {
-		ordering.sort((a, b) -> comp.compare(get(a), get(b)));
+		final int n = ordering.size();
+		if (n < 2) {return;}
+		final Object[] ks = ordering.toArray();
+		final long[] vs = new long[n];
+		for (int i = 0; i < n; i++) {vs[i] = get(ks[i]);}
+		final int[] order = IntComparators.argsort(n, (a, b) -> comp.compare(vs[a], vs[b]));
+		for (int i = 0; i < n; i++) {ordering.set(i, (Enum<?>) ks[order[i]]);}
 	}
 
 	/**
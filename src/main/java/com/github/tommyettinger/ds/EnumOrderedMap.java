@@ -16,6 +16,8 @@
 
 package com.github.tommyettinger.ds;
 
+import com.github.tommyettinger.ds.support.sort.IntComparator;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
 import com.github.tommyettinger.ds.support.sort.ObjectComparators;
 import com.github.tommyettinger.ds.support.util.Appender;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -467,15 +469,23 @@ public class EnumOrderedMap<V> extends EnumMap<V> implements Ordered<Enum<?>> {
 	 * must be able to sort or otherwise handle null values. You can use pass {@code null} to do what
 	 * {@link #sort()} does when given null (just sorting values in this case instead of keys) if the values implement
 	 * {@link Comparable} (requiring all of them to be non-null).
+	 * <br>
+	 * This gets each value only once, then stably sorts their positions with
+	 * {@link IntComparators#argsort(int, IntComparator)}, so no values are looked up during comparisons.
 	 *
 	 * @param comp a Comparator that can compare {@code V} values; may be null to use natural order of Comparable values
 	 */
 	public void sortByValue (@Nullable Comparator<V> comp) {
-		if(comp == null)
-			//noinspection unchecked
-			ordering.sort((a, b) -> ((Comparator<V>) ObjectComparators.NATURAL_COMPARATOR).compare(get(a), get(b)));
-		else
-			ordering.sort((a, b) -> comp.compare(get(a), get(b)));
+		final int n = ordering.size();
+		if (n < 2) {return;}
+		final Object[] ks = ordering.toArray();
+		//noinspection unchecked
+		final Comparator<V> c = comp == null ? (Comparator<V>) ObjectComparators.NATURAL_COMPARATOR : comp;
+		//noinspection unchecked
+		final V[] vs = (V[]) new Object[n];
+		for (int i = 0; i < n; i++) {vs[i] = get(ks[i]);}
+		final int[] order = IntComparators.argsort(n, (a, b) -> c.compare(vs[a], vs[b]));
+		for (int i = 0; i < n; i++) {ordering.set(i, (Enum<?>) ks[order[i]]);}
 	}
 
 	/**
@@ -292,17 +292,7 @@ public class EnumSet extends AbstractSet<Enum<?>> implements Set<Enum<?>>, Itera
 		if(size == 0 || table == null || universe == null || universe.length == 0) return false;
 		if(!(c instanceof EnumSet))
 			return super.retainAll(c);
-		EnumSet es = (EnumSet)c;
-		if(es.table == null || es.universe == null || es.size == 0 || universe[0] != es.universe[0]) {
-			clear();
-			return true;
-		}
-		int oldSize = size;
-		size = 0;
-		for (int i = 0; i < table.length; i++) {
-			size += Integer.bitCount(table[i] &= es.table[i]);
-		}
-		return size != oldSize;
+		return and((EnumSet)c);
 	}
 
 	/**
@@ -314,17 +304,7 @@ public class EnumSet extends AbstractSet<Enum<?>> implements Set<Enum<?>>, Itera
 	public boolean addAll (@NonNull Collection<? extends Enum<?>> c) {
 		if(!(c instanceof EnumSet))
 			return super.addAll(c);
-		EnumSet es = (EnumSet)c;
-		if(es.universe == null || es.table == null || es.universe.length == 0) return false;
-		if(universe == null) universe = es.universe;
-		if(table == null) table = new int[universe.length + 31 >>> 5];
-		if(es.universe.length != universe.length || universe[0] != es.universe[0]) return false;
-		int oldSize = size;
-		size = 0;
-		for (int i = 0; i < table.length; i++) {
-			size += Integer.bitCount(table[i] |= es.table[i]);
-		}
-		return size != oldSize;
+		return or((EnumSet)c);
 	}
 
 	/**
@@ -354,17 +334,127 @@ public class EnumSet extends AbstractSet<Enum<?>> implements Set<Enum<?>>, Itera
 		if(table == null || universe == null || universe.length == 0) return false;
 		if(!(c instanceof EnumSet))
 			return super.removeAll(c);
-		EnumSet es = (EnumSet)c;
-		if(es.table == null || es.universe == null || es.universe.length != universe.length || es.size == 0 || universe[0] != es.universe[0])
-			return false;
+		return andNot((EnumSet)c);
+	}
+
+	/**
+	 * Returns true if this EnumSet and {@code other} both have a key universe and those universes are equivalent, meaning
+	 * they hold the same Enum constants in the same order. Two EnumSets that share a key universe can be combined word-by-word
+	 * on their bitsets, which {@link #and(EnumSet)}, {@link #or(EnumSet)}, {@link #andNot(EnumSet)}, and {@link #xor(EnumSet)}
+	 * all take advantage of.
+	 *
+	 * @param other another EnumSet, which may or may not have a key universe
+	 * @return true if this and other have equivalent key universes
+	 */
+	public boolean sharesUniverse (@NonNull EnumSet other) {
+		if(universe == null || other.universe == null || table == null || other.table == null) return false;
+		if(universe == other.universe) return true;
+		return universe.length == other.universe.length && universe.length != 0 && universe[0] == other.universe[0];
+	}
+
+	/**
+	 * Performs a logical <b>AND</b> of this set with {@code other}, so this set only keeps items that are also in other.
+	 * This works on whole 32-bit words at a time and never iterates over individual items. If other doesn't share a key
+	 * universe with this set, then no items can be shared, and this set is cleared.
+	 *
+	 * @param other another EnumSet, ideally with the same key universe as this
+	 * @return true if this set changed as a result of the call
+	 */
+	public boolean and (@NonNull EnumSet other) {
+		if(size == 0 || table == null) return false;
+		if(other.size == 0 || !sharesUniverse(other)) {
+			clear();
+			return true;
+		}
+		final int[] table = this.table, otherTable = other.table;
+		int oldSize = size;
+		size = 0;
+		for (int i = 0; i < table.length; i++) {
+			size += Integer.bitCount(table[i] &= otherTable[i]);
+		}
+		return size != oldSize;
+	}
+
+	/**
+	 * Performs a logical <b>OR</b> of this set with {@code other}, so this set gains every item in other.
+	 * This works on whole 32-bit words at a time and never iterates over individual items. If this set doesn't have a
+	 * key universe yet, it takes the one from other. If other has a different key universe, this does nothing and returns
+	 * false.
+	 *
+	 * @param other another EnumSet, ideally with the same key universe as this
+	 * @return true if this set changed as a result of the call
+	 */
+	public boolean or (@NonNull EnumSet other) {
+		if(other.universe == null || other.table == null || other.universe.length == 0) return false;
+		if(universe == null) universe = other.universe;
+		if(table == null) table = new int[universe.length + 31 >>> 5];
+		if(!sharesUniverse(other)) return false;
+		final int[] table = this.table, otherTable = other.table;
+		int oldSize = size;
+		size = 0;
+		for (int i = 0; i < table.length; i++) {
+			size += Integer.bitCount(table[i] |= otherTable[i]);
+		}
+		return size != oldSize;
+	}
+
+	/**
+	 * Removes every item from this set that is also present in {@code other}; this is a logical <b>AND NOT</b>.
+	 * This works on whole 32-bit words at a time and never iterates over individual items. If other has a different key
+	 * universe, no items can be shared, so this does nothing and returns false.
+	 *
+	 * @param other another EnumSet, ideally with the same key universe as this
+	 * @return true if this set changed as a result of the call
+	 */
+	public boolean andNot (@NonNull EnumSet other) {
+		if(size == 0 || other.size == 0 || !sharesUniverse(other)) return false;
+		final int[] table = this.table, otherTable = other.table;
 		int oldSize = size;
 		size = 0;
 		for (int i = 0; i < table.length; i++) {
-			size += Integer.bitCount(table[i] &= ~es.table[i]);
+			size += Integer.bitCount(table[i] &= ~otherTable[i]);
 		}
 		return size != oldSize;
 	}
 
+	/**
+	 * Performs a logical <b>XOR</b> of this set with {@code other}, so this set ends up holding each item that was in
+	 * exactly one of this set or other. This works on whole 32-bit words at a time and never iterates over individual items.
+	 * If this set doesn't have a key universe yet, it takes the one from other. If other has a different key universe, this
+	 * does nothing and returns false.
+	 *
+	 * @param other another EnumSet, ideally with the same key universe as this
+	 * @return true if this set changed as a result of the call
+	 */
+	public boolean xor (@NonNull EnumSet other) {
+		if(other.universe == null || other.table == null || other.universe.length == 0 || other.size == 0) return false;
+		if(universe == null) universe = other.universe;
+		if(table == null) table = new int[universe.length + 31 >>> 5];
+		if(!sharesUniverse(other)) return false;
+		final int[] table = this.table, otherTable = other.table;
+		size = 0;
+		for (int i = 0; i < table.length; i++) {
+			size += Integer.bitCount(table[i] ^= otherTable[i]);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns true if this set and {@code other} have at least one item in common. This works on whole 32-bit words at
+	 * a time and never iterates over individual items.
+	 *
+	 * @param other another EnumSet, ideally with the same key universe as this
+	 * @return true if any item is present in both this and other
+	 */
+	public boolean intersects (@NonNull EnumSet other) {
+		if(size == 0 || other.size == 0 || !sharesUniverse(other)) return false;
+		final int[] table = this.table, otherTable = other.table;
+		for (int i = 0; i < table.length; i++) {
+			if((table[i] & otherTable[i]) != 0) return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Adds all Enum items in the given array to this set. Returns true if this set was modified at all
 	 * in the process (that is, if any items in {@code c} were not already present in this set).
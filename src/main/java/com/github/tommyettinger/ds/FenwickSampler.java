@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws random indices with probability proportional to a list of weights that can change, using a Fenwick tree
+ * (also called a binary indexed tree) of partial sums. Drawing, changing one weight, and appending a weight each take
+ * O(log n) time, where a linear scan over a {@link FloatList} of weights would take O(n) time per draw.
+ * <p>
+ * Weights are stored as doubles. Changing weights many times adds up rounding error in the partial sums; calling
+ * {@link #rebuild()} now and then recomputes them exactly in O(n) time. If the weights never change,
+ * {@link AliasSampler} draws in O(1) time instead. Draws can pick an item from an {@link ObjectList} or
+ * {@link IntList} that is parallel to the weights, using {@link #sample(Random, ObjectList)} or
+ * {@link #sample(Random, IntList)}, without boxing.
+ *
+ * @author Tommy Ettinger
+ * @see AliasSampler
+ */
+public class FenwickSampler {
+	/**
+	 * The current weight at each index.
+	 */
+	protected double[] weights;
+	/**
+	 * The Fenwick tree, 1-based; {@code tree[i]} holds the sum of the weights from {@code i - (i & -i)} (inclusive)
+	 * to {@code i} (exclusive). Index 0 is unused.
+	 */
+	protected double[] tree;
+	protected int size;
+
+	/**
+	 * Creates an empty FenwickSampler with room for 16 weights.
+	 */
+	public FenwickSampler () {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty FenwickSampler with room for {@code initialCapacity} weights before it needs to grow.
+	 *
+	 * @param initialCapacity how many weights this can hold before growing
+	 */
+	public FenwickSampler (int initialCapacity) {
+		initialCapacity = Math.max(initialCapacity, 1);
+		weights = new double[initialCapacity];
+		tree = new double[initialCapacity + 1];
+	}
+
+	/**
+	 * Creates a FenwickSampler using the given weights.
+	 *
+	 * @param weights non-negative, finite weights
+	 */
+	public FenwickSampler (FloatList weights) {
+		this(weights.size());
+		addAll(weights.items, 0, weights.size());
+	}
+
+	/**
+	 * Creates a FenwickSampler using the given weights.
+	 *
+	 * @param weights non-negative, finite weights
+	 */
+	public FenwickSampler (DoubleList weights) {
+		this(weights.size());
+		addAll(weights.items, 0, weights.size());
+	}
+
+	/**
+	 * Creates a FenwickSampler using the given weights.
+	 *
+	 * @param weights non-negative, finite weights
+	 */
+	public FenwickSampler (float[] weights) {
+		this(weights.length);
+		addAll(weights, 0, weights.length);
+	}
+
+	/**
+	 * Creates a FenwickSampler using the given weights.
+	 *
+	 * @param weights non-negative, finite weights
+	 */
+	public FenwickSampler (double[] weights) {
+		this(weights.length);
+		addAll(weights, 0, weights.length);
+	}
+
+	/**
+	 * Appends a weight, which gets the index {@link #size()} before this call.
+	 *
+	 * @param weight a non-negative, finite weight
+	 * @throws IllegalArgumentException if weight is negative or not finite
+	 */
+	public void add (double weight) {
+		AliasSampler.check(weight);
+		ensureCapacity(1);
+		final int i = ++size;
+		weights[i - 1] = weight;
+		// The new node covers the weights from i - lowbit(i) to i, which is its own weight plus the nodes below it.
+		double sum = weight;
+		for (int child = i - 1, stop = i - (i & -i); child > stop; child -= child & -child) {sum += tree[child];}
+		tree[i] = sum;
+	}
+
+	/**
+	 * Appends {@code length} weights from {@code items}, starting at {@code offset}, then rebuilds the tree.
+	 *
+	 * @param items  an array of non-negative, finite weights
+	 * @param offset the first index in items to use
+	 * @param length how many weights to use
+	 * @throws IllegalArgumentException if a weight is negative or not finite
+	 */
+	public void addAll (float[] items, int offset, int length) {
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {weights[size + i] = AliasSampler.check(items[offset + i]);}
+		size += length;
+		rebuild();
+	}
+
+	/**
+	 * Appends {@code length} weights from {@code items}, starting at {@code offset}, then rebuilds the tree.
+	 *
+	 * @param items  an array of non-negative, finite weights
+	 * @param offset the first index in items to use
+	 * @param length how many weights to use
+	 * @throws IllegalArgumentException if a weight is negative or not finite
+	 */
+	public void addAll (double[] items, int offset, int length) {
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {weights[size + i] = AliasSampler.check(items[offset + i]);}
+		size += length;
+		rebuild();
+	}
+
+	/**
+	 * Changes the weight at {@code index}, updating the O(log n) partial sums that include it.
+	 *
+	 * @param index  an index from 0 (inclusive) to {@link #size()} (exclusive)
+	 * @param weight a non-negative, finite weight
+	 * @return the previous weight at index
+	 * @throws IllegalArgumentException if weight is negative or not finite
+	 */
+	public double set (int index, double weight) {
+		if (index >= size) throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+		AliasSampler.check(weight);
+		final double old = weights[index];
+		weights[index] = weight;
+		final double delta = weight - old;
+		for (int i = index + 1; i <= size; i += i & -i) {tree[i] += delta;}
+		return old;
+	}
+
+	/**
+	 * Gets the weight at {@code index}.
+	 *
+	 * @param index an index from 0 (inclusive) to {@link #size()} (exclusive)
+	 * @return the weight at index
+	 */
+	public double get (int index) {
+		if (index >= size) throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+		return weights[index];
+	}
+
+	/**
+	 * Gets the sum of the weights before {@code index}, in O(log n) time.
+	 *
+	 * @param index an index from 0 to {@link #size()}, both inclusive
+	 * @return the sum of weights from 0 (inclusive) to index (exclusive)
+	 */
+	public double prefixSum (int index) {
+		double sum = 0.0;
+		for (int i = Math.min(index, size); i > 0; i -= i & -i) {sum += tree[i];}
+		return sum;
+	}
+
+	/**
+	 * Gets the sum of all weights.
+	 */
+	public double total () {
+		return prefixSum(size);
+	}
+
+	/**
+	 * Finds the index whose span of cumulative weight contains {@code target}: the smallest index where
+	 * {@link #prefixSum(int) prefixSum(index + 1)} is greater than target. Indices with weight 0 have empty spans,
+	 * so they are never returned if target is in range. If target is greater than or equal to {@link #total()}, this
+	 * returns the last index with a positive weight; if every weight is 0, this returns -1.
+	 *
+	 * @param target a cumulative weight, usually from 0 (inclusive) to {@link #total()} (exclusive)
+	 * @return the index containing target, or -1 if every weight is 0
+	 */
+	public int findIndex (double target) {
+		int pos = 0;
+		for (int step = Integer.highestOneBit(size); step > 0; step >>>= 1) {
+			final int next = pos + step;
+			if (next <= size && tree[next] <= target) {
+				target -= tree[next];
+				pos = next;
+			}
+		}
+		// Rounding error can carry pos past the end, or onto a weight of 0; step back to a positive weight.
+		if (pos >= size) pos = size - 1;
+		while (pos >= 0 && weights[pos] <= 0.0) {pos--;}
+		return pos;
+	}
+
+	/**
+	 * Gets a random index from 0 (inclusive) to {@link #size()} (exclusive), with each index chosen with probability
+	 * proportional to its weight; an index with weight 0 is never chosen. Returns -1 if this is empty or every weight
+	 * is 0.
+	 *
+	 * @param random a {@link Random} or a subclass, such as any from juniper
+	 * @return a randomly chosen index, or -1 if there is nothing that can be chosen
+	 */
+	public int sampleIndex (Random random) {
+		return findIndex(random.nextDouble() * total());
+	}
+
+	/**
+	 * Gets the item in {@code payload} at an index chosen by {@link #sampleIndex(Random)}, or null if nothing can be
+	 * chosen.
+	 *
+	 * @param random  a {@link Random} or a subclass, such as any from juniper
+	 * @param payload items parallel to the weights; must have at least {@link #size()} items
+	 * @param <T>     the type of items in payload
+	 * @return a randomly chosen item from payload, or null if nothing can be chosen
+	 */
+	public <T> @Nullable T sample (Random random, ObjectList<T> payload) {
+		final int i = sampleIndex(random);
+		return i < 0 ? null : payload.get(i);
+	}
+
+	/**
+	 * Gets the item in {@code payload} at an index chosen by {@link #sampleIndex(Random)}, or 0 if nothing can be
+	 * chosen.
+	 *
+	 * @param random  a {@link Random} or a subclass, such as any from juniper
+	 * @param payload items parallel to the weights; must have at least {@link #size()} items
+	 * @return a randomly chosen item from payload, or 0 if nothing can be chosen
+	 */
+	public int sample (Random random, IntList payload) {
+		final int i = sampleIndex(random);
+		return i < 0 ? 0 : payload.get(i);
+	}
+
+	/**
+	 * Recomputes every partial sum from the current weights in O(n) time, removing any rounding error that built up
+	 * from many calls to {@link #set(int, double)}.
+	 */
+	public void rebuild () {
+		final int n = size;
+		for (int i = 1; i <= n; i++) {tree[i] = weights[i - 1];}
+		for (int i = 1; i <= n; i++) {
+			final int parent = i + (i & -i);
+			if (parent <= n) {tree[parent] += tree[i];}
+		}
+	}
+
+	/**
+	 * Makes sure this can hold {@code additional} more weights without growing.
+	 *
+	 * @param additional how many weights will be added
+	 */
+	public void ensureCapacity (int additional) {
+		final int needed = size + additional;
+		if (needed > weights.length) {
+			final int cap = Math.max(8, Math.max(needed, (int)Math.min(weights.length * 1.75, Integer.MAX_VALUE - 8)));
+			weights = Arrays.copyOf(weights, cap);
+			tree = Arrays.copyOf(tree, cap + 1);
+		}
+	}
+
+	/**
+	 * Gets how many weights this samples from.
+	 */
+	public int size () {
+		return size;
+	}
+
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all weights; this keeps the arrays it already allocated.
+	 */
+	public void clear () {
+		size = 0;
+	}
+
+	@Override
+	public String toString () {
+		StringBuilder sb = new StringBuilder(size * 8 + 2).append('[');
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {sb.append(", ");}
+			sb.append(weights[i]);
+		}
+		return sb.append(']').toString();
+	}
+}
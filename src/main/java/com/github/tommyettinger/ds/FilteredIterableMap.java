@@ -287,7 +287,7 @@ public class FilteredIterableMap<K, I extends Iterable<K>, V> extends ObjectObje
 					}
 					if(found) countR++;
 				}
-				if (!Objects.equals(cl, cr) && !Objects.equals((editor.apply(cl)), (editor.apply(cr)))) {
+				if (cl == null || cr == null ? cl != cr : !cl.equals(cr) && !Objects.equals(editor.apply(cl), editor.apply(cr))) {
 					return false;
 				}
 			}
@@ -296,8 +296,107 @@ public class FilteredIterableMap<K, I extends Iterable<K>, V> extends ObjectObje
 		return false;
 	}
 
+	/**
+	 * Always returns false. Keys that are equal after filtering can have different hashCodes, so this can't treeify
+	 * colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this map that uses a {@link MinimalPerfectHash} to find keys, still comparing them
+	 * with this map's filter and editor.
+	 *
+	 * @return a new {@link FilteredIterableMap.Frozen} with the same contents, filter, and editor as this
+	 */
+	@Override
+	public FilteredIterableMap.Frozen<K, I, V> toFrozen () {
+		return new FilteredIterableMap.Frozen<>(filter, editor, this);
+	}
+
+	/**
+	 * An immutable map with Iterable keys that are compared using a filter and editor, as returned by
+	 * {@link #toFrozen()}. This is a {@link FrozenObjectObjectMap} that hashes and compares keys by only considering the
+	 * sub-keys that pass the filter, after the editor changes them.
+	 *
+	 * @param <K> the type of sub-keys inside each Iterable key
+	 * @param <I> the type of keys, which must be Iterable
+	 * @param <V> the type of values
+	 */
+	public static class Frozen<K, I extends Iterable<K>, V> extends FrozenObjectObjectMap<I, V> {
+		protected final ObjPredicate<K> filter;
+		protected final ObjToSameFunction<K> editor;
+
+		/**
+		 * Creates a new frozen map with the same keys and values as the given map, comparing keys with the given
+		 * filter and editor, which should be the ones map uses.
+		 *
+		 * @param filter a ObjPredicate<K> that should return true iff a sub-key should be considered for equality/hashing
+		 * @param editor a ObjToSameFunction<K> that will be given a sub-key and may return a potentially different {@code K} sub-key
+		 * @param map    a map to copy, such as a FilteredIterableMap or {@link FilteredIterableOrderedMap}; will not be modified
+		 */
+		public Frozen (ObjPredicate<K> filter, ObjToSameFunction<K> editor, ObjectObjectMap<? extends I, ? extends V> map) {
+			this.filter = filter;
+			this.editor = editor;
+			build(map);
+		}
+
+		/**
+		 * Recreates a frozen map from the state of another FilteredIterableMap.Frozen with the same filter and editor;
+		 * see {@link FrozenObjectObjectMap#FrozenObjectObjectMap(int, int, int[], Object[], Object[])}.
+		 */
+		public Frozen (ObjPredicate<K> filter, ObjToSameFunction<K> editor, int seed, int slotCount, int[] displacements,
+			@Nullable Object[] keyTable, @Nullable Object[] valueTable) {
+			super(seed, slotCount, displacements, keyTable, valueTable);
+			this.filter = filter;
+			this.editor = editor;
+		}
+
+		public ObjPredicate<K> getFilter () {
+			return filter;
+		}
+
+		public ObjToSameFunction<K> getEditor () {
+			return editor;
+		}
+
+		@Override
+		protected int hash (@NonNull Object item) {
+			if (item instanceof Iterable)
+				return FilteredIterableSet.hashFiltered(filter, editor, (Iterable<K>)item);
+			return super.hash(item);
+		}
+
+		@Override
+		protected boolean equate (Object left, @Nullable Object right) {
+			return FilteredIterableSet.equateFiltered(filter, editor, left, right);
+		}
+
+		@Override
+		public int hashCode () {
+			int h = size;
+			@Nullable Object[] keyTable = this.keyTable;
+			@Nullable Object[] valueTable = this.valueTable;
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				@Nullable I key = (I)keyTable[i];
+				if (key != null) {
+					h ^= FilteredIterableSet.hashFiltered(filter, editor, key);
+					Object value = valueTable[i];
+					if (value != null) {h ^= value.hashCode();}
+				}
+			}
+			return h;
+		}
+	}
+
 	@Override
 	public int hashCode () {
+		settle();
 		int h = size;
 		Object[] keyTable = this.keyTable;
 		V[] valueTable = this.valueTable;
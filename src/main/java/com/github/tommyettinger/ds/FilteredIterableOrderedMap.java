@@ -296,7 +296,7 @@ public class FilteredIterableOrderedMap<K, I extends Iterable<K>, V> extends Obj
 					}
 					if(found) countR++;
 				}
-				if (!Objects.equals(cl, cr) && !Objects.equals((editor.apply(cl)), (editor.apply(cr)))) {
+				if (cl == null || cr == null ? cl != cr : !cl.equals(cr) && !Objects.equals(editor.apply(cl), editor.apply(cr))) {
 					return false;
 				}
 			}
@@ -305,8 +305,32 @@ public class FilteredIterableOrderedMap<K, I extends Iterable<K>, V> extends Obj
 		return false;
 	}
 
+	/**
+	 * Always returns false. Keys that are equal after filtering can have different hashCodes, so this can't treeify
+	 * colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this map that uses a {@link MinimalPerfectHash} to find keys, still comparing them
+	 * with this map's filter and editor. The frozen copy doesn't keep the insertion order.
+	 *
+	 * @return a new {@link FilteredIterableMap.Frozen} with the same contents, filter, and editor as this
+	 */
+	@Override
+	public FilteredIterableMap.Frozen<K, I, V> toFrozen () {
+		return new FilteredIterableMap.Frozen<>(filter, editor, this);
+	}
+
 	@Override
 	public int hashCode () {
+		settle();
 		int h = size;
 		Object[] keyTable = this.keyTable;
 		V[] valueTable = this.valueTable;
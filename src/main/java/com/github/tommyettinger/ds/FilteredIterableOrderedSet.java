@@ -294,7 +294,7 @@ public class FilteredIterableOrderedSet<T, I extends Iterable<T>> extends Object
 					}
 					if(found) countR++;
 				}
-				if (!Objects.equals(cl, cr) && !Objects.equals((editor.apply(cl)), (editor.apply(cr)))) {
+				if (cl == null || cr == null ? cl != cr : !cl.equals(cr) && !Objects.equals(editor.apply(cl), editor.apply(cr))) {
 					return false;
 				}
 			}
@@ -303,6 +303,29 @@ public class FilteredIterableOrderedSet<T, I extends Iterable<T>> extends Object
 		return false;
 	}
 
+	/**
+	 * Always returns false. Keys that are equal after filtering can have different hashCodes, so this can't treeify
+	 * colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this set that uses a {@link MinimalPerfectHash} to find items, still comparing them
+	 * with this set's filter and editor. The frozen copy doesn't keep the insertion order.
+	 *
+	 * @return a new {@link FilteredIterableSet.Frozen} with the same contents, filter, and editor as this
+	 */
+	@Override
+	public FilteredIterableSet.Frozen<T, I> toFrozen () {
+		return new FilteredIterableSet.Frozen<>(filter, editor, this);
+	}
+
 	@Override
 	public int hashCode () {
 		int h = size;
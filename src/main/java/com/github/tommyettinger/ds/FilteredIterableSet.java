@@ -256,6 +256,50 @@ public class FilteredIterableSet<T, I extends Iterable<T>> extends ObjectSet<I>
 	 */
 	@Override
 	public boolean equate (Object left, @Nullable Object right) {
+		return equateFiltered(filter, editor, left, right);
+	}
+
+	/**
+	 * Always returns false. Keys that are equal after filtering can have different hashCodes, so this can't treeify
+	 * colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this set that uses a {@link MinimalPerfectHash} to find items, still comparing them
+	 * with this set's filter and editor.
+	 *
+	 * @return a new {@link FilteredIterableSet.Frozen} with the same contents, filter, and editor as this
+	 */
+	@Override
+	public FilteredIterableSet.Frozen<T, I> toFrozen () {
+		return new FilteredIterableSet.Frozen<>(filter, editor, this);
+	}
+
+	/**
+	 * Gets a hash code for {@code item} using only the sub-keys that pass {@code filter}, after {@code editor} changes
+	 * them. Unlike the hash this set uses internally, this doesn't depend on any state of the set, so the frozen types
+	 * can use it.
+	 */
+	static <T> int hashFiltered (ObjPredicate<T> filter, ObjToSameFunction<T> editor, Iterable<? extends T> item) {
+		int h = 1;
+		for (T c : item) {
+			if (filter.test(c)) {h = h * 31 + Objects.hashCode(editor.apply(c));}
+		}
+		return h;
+	}
+
+	/**
+	 * The comparison {@link #equate(Object, Object)} uses, given the filter and editor to use; this is shared with
+	 * {@link Frozen} and {@link FilteredIterableMap.Frozen}.
+	 */
+	static <T> boolean equateFiltered (ObjPredicate<T> filter, ObjToSameFunction<T> editor, Object left, @Nullable Object right) {
 		if (left == right)
 			return true;
 		if(right == null) return false;
@@ -283,7 +327,7 @@ public class FilteredIterableSet<T, I extends Iterable<T>> extends ObjectSet<I>
 					}
 					if(found) countR++;
 				}
-				if (!Objects.equals(cl, cr) && !Objects.equals((editor.apply(cl)), (editor.apply(cr)))) {
+				if (cl == null || cr == null ? cl != cr : !cl.equals(cr) && !Objects.equals(editor.apply(cl), editor.apply(cr))) {
 					return false;
 				}
 			}
@@ -292,6 +336,74 @@ public class FilteredIterableSet<T, I extends Iterable<T>> extends ObjectSet<I>
 		return false;
 	}
 
+	/**
+	 * An immutable set of Iterable items that are compared using a filter and editor, as returned by
+	 * {@link #toFrozen()}. This is a {@link FrozenObjectSet} that hashes and compares items by only considering the
+	 * sub-keys that pass the filter, after the editor changes them.
+	 *
+	 * @param <T> the type of sub-keys inside each Iterable item
+	 * @param <I> the type of items, which must be Iterable
+	 */
+	public static class Frozen<T, I extends Iterable<T>> extends FrozenObjectSet<I> {
+		protected final ObjPredicate<T> filter;
+		protected final ObjToSameFunction<T> editor;
+
+		/**
+		 * Creates a new frozen set with the same items as the given set, comparing them with the given filter and
+		 * editor, which should be the ones set uses.
+		 *
+		 * @param filter a ObjPredicate<T> that should return true iff a sub-item should be considered for equality/hashing
+		 * @param editor a ObjToSameFunction<T> that will be given a sub-item and may return a potentially different {@code T} sub-item
+		 * @param set    a set to copy, such as a FilteredIterableSet or {@link FilteredIterableOrderedSet}; will not be modified
+		 */
+		public Frozen (ObjPredicate<T> filter, ObjToSameFunction<T> editor, ObjectSet<? extends I> set) {
+			this.filter = filter;
+			this.editor = editor;
+			build(set);
+		}
+
+		/**
+		 * Recreates a frozen set from the state of another FilteredIterableSet.Frozen with the same filter and editor;
+		 * see {@link FrozenObjectSet#FrozenObjectSet(int, int, int[], Object[])}.
+		 */
+		public Frozen (ObjPredicate<T> filter, ObjToSameFunction<T> editor, int seed, int slotCount, int[] displacements, @Nullable Object[] keyTable) {
+			super(seed, slotCount, displacements, keyTable);
+			this.filter = filter;
+			this.editor = editor;
+		}
+
+		public ObjPredicate<T> getFilter () {
+			return filter;
+		}
+
+		public ObjToSameFunction<T> getEditor () {
+			return editor;
+		}
+
+		@Override
+		protected int hash (@NonNull Object item) {
+			if (item instanceof Iterable)
+				return hashFiltered(filter, editor, (Iterable<T>)item);
+			return super.hash(item);
+		}
+
+		@Override
+		protected boolean equate (Object left, @Nullable Object right) {
+			return equateFiltered(filter, editor, left, right);
+		}
+
+		@Override
+		public int hashCode () {
+			int h = size;
+			@Nullable Object[] keyTable = this.keyTable;
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				@Nullable I key = (I)keyTable[i];
+				if (key != null) {h += hashFiltered(filter, editor, key);}
+			}
+			return h ^ h >>> 16;
+		}
+	}
+
 	@Override
 	public int hashCode () {
 		int h = size;
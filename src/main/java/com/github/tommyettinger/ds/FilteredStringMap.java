@@ -258,8 +258,96 @@ public class FilteredStringMap<V> extends ObjectObjectMap<String, V> {
 		return false;
 	}
 
+	/**
+	 * Always returns false. Keys that are equal after filtering can have different hashCodes, so this can't treeify
+	 * colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this map that uses a {@link MinimalPerfectHash} to find keys, still comparing them
+	 * with this map's {@link CharFilter}.
+	 *
+	 * @return a new {@link FilteredStringMap.Frozen} with the same contents and filter as this
+	 */
+	@Override
+	public FilteredStringMap.Frozen<V> toFrozen () {
+		return new FilteredStringMap.Frozen<>(filter, this);
+	}
+
+	/**
+	 * An immutable map with String keys that are compared using a {@link CharFilter}, as returned by
+	 * {@link #toFrozen()}. This is a {@link FrozenObjectObjectMap} that hashes and compares keys by only considering
+	 * the chars that pass the filter, after the editor changes them.
+	 *
+	 * @param <V> the type of values
+	 */
+	public static class Frozen<V> extends FrozenObjectObjectMap<String, V> {
+		protected final CharFilter filter;
+
+		/**
+		 * Creates a new frozen map with the same keys and values as the given map, comparing keys with the given
+		 * CharFilter, which should be the one map uses.
+		 *
+		 * @param filter a CharFilter that can be obtained with {@link CharFilter#getOrCreate(String, CharPredicate, CharToCharFunction)}
+		 * @param map    a map to copy, such as a FilteredStringMap or {@link FilteredStringOrderedMap}; will not be modified
+		 */
+		public Frozen (CharFilter filter, ObjectObjectMap<String, ? extends V> map) {
+			this.filter = filter;
+			build(map);
+		}
+
+		/**
+		 * Recreates a frozen map from the state of another FilteredStringMap.Frozen with the same CharFilter; see
+		 * {@link FrozenObjectObjectMap#FrozenObjectObjectMap(int, int, int[], Object[], Object[])}.
+		 */
+		public Frozen (CharFilter filter, int seed, int slotCount, int[] displacements, @Nullable Object[] keyTable, @Nullable Object[] valueTable) {
+			super(seed, slotCount, displacements, keyTable, valueTable);
+			this.filter = filter;
+		}
+
+		public CharFilter getFilter () {
+			return filter;
+		}
+
+		@Override
+		protected int hash (@NonNull Object item) {
+			if (item instanceof String)
+				return FilteredStringSet.hashFiltered(filter, (String)item);
+			return super.hash(item);
+		}
+
+		@Override
+		protected boolean equate (Object left, @Nullable Object right) {
+			return FilteredStringSet.equateFiltered(filter, left, right);
+		}
+
+		@Override
+		public int hashCode () {
+			int h = size;
+			@Nullable Object[] keyTable = this.keyTable;
+			@Nullable Object[] valueTable = this.valueTable;
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				@Nullable String key = (String)keyTable[i];
+				if (key != null) {
+					h ^= FilteredStringSet.hashFiltered(filter, key);
+					Object value = valueTable[i];
+					if (value != null) {h ^= value.hashCode();}
+				}
+			}
+			return h;
+		}
+	}
+
 	@Override
 	public int hashCode () {
+		settle();
 		int h = size;
 		@Nullable String[] keyTable = this.keyTable;
 		@Nullable V[] valueTable = this.valueTable;
@@ -281,6 +369,7 @@ public class FilteredStringMap<V> extends ObjectObjectMap<String, V> {
 		if (!(obj instanceof Map)) {return false;}
 		Map other = (Map)obj;
 		if (other.size() != size) {return false;}
+		settle();
 		@Nullable Object[] keyTable = this.keyTable;
 		@Nullable V[] valueTable = this.valueTable;
 		for (int i = 0, n = keyTable.length; i < n; i++) {
@@ -286,8 +286,32 @@ public class FilteredStringOrderedMap<V> extends ObjectObjectOrderedMap<String,
 		return false;
 	}
 
+	/**
+	 * Always returns false. Keys that are equal after filtering can have different hashCodes, so this can't treeify
+	 * colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this map that uses a {@link MinimalPerfectHash} to find keys, still comparing them
+	 * with this map's {@link CharFilter}. The frozen copy doesn't keep the insertion order.
+	 *
+	 * @return a new {@link FilteredStringMap.Frozen} with the same contents and filter as this
+	 */
+	@Override
+	public FilteredStringMap.Frozen<V> toFrozen () {
+		return new FilteredStringMap.Frozen<>(filter, this);
+	}
+
 	@Override
 	public int hashCode () {
+		settle();
 		int h = size;
 		@Nullable String[] keyTable = this.keyTable;
 		@Nullable V[] valueTable = this.valueTable;
@@ -309,6 +333,7 @@ public class FilteredStringOrderedMap<V> extends ObjectObjectOrderedMap<String,
 		if (!(obj instanceof Map)) {return false;}
 		Map other = (Map)obj;
 		if (other.size() != size) {return false;}
+		settle();
 		@Nullable Object[] keyTable = this.keyTable;
 		@Nullable V[] valueTable = this.valueTable;
 		for (int i = 0, n = keyTable.length; i < n; i++) {
@@ -277,6 +277,29 @@ public class FilteredStringOrderedSet extends ObjectOrderedSet<String> {
 		return false;
 	}
 
+	/**
+	 * Always returns false. Keys that are equal after filtering can have different hashCodes, so this can't treeify
+	 * colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this set that uses a {@link MinimalPerfectHash} to find items, still comparing them
+	 * with this set's {@link CharFilter}. The frozen copy doesn't keep the insertion order.
+	 *
+	 * @return a new {@link FilteredStringSet.Frozen} with the same contents and filter as this
+	 */
+	@Override
+	public FilteredStringSet.Frozen toFrozen () {
+		return new FilteredStringSet.Frozen(filter, this);
+	}
+
 	@Override
 	public int hashCode () {
 		int h = size;
@@ -224,7 +224,50 @@ public class FilteredStringSet extends ObjectSet<String> {
 	 */
 	@Override
 	public boolean equate (Object left, @Nullable Object right) {
+		return equateFiltered(filter, left, right);
+	}
+
+	/**
+	 * Always returns false. Keys that are equal after filtering can have different hashCodes, so this can't treeify
+	 * colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this set that uses a {@link MinimalPerfectHash} to find items, still comparing them
+	 * with this set's {@link CharFilter}.
+	 *
+	 * @return a new {@link FilteredStringSet.Frozen} with the same contents and filter as this
+	 */
+	@Override
+	public FilteredStringSet.Frozen toFrozen () {
+		return new FilteredStringSet.Frozen(filter, this);
+	}
+
+	/**
+	 * Gets a hash code for {@code s} using only the chars that pass the filter, after the editor changes them. Unlike
+	 * the hash this set uses internally, this doesn't depend on any state of the set, so the frozen types can use it.
+	 */
+	static int hashFiltered (CharFilter filter, String s) {
+		int h = 1;
+		for (int i = 0, len = s.length(); i < len; i++) {
+			final char c = s.charAt(i);
+			if (filter.filter.test(c)) {h = h * 31 + filter.editor.applyAsChar(c);}
+		}
+		return h;
+	}
 
+	/**
+	 * The comparison {@link #equate(Object, Object)} uses, given the CharFilter to use; this is shared with
+	 * {@link Frozen} and {@link FilteredStringMap.Frozen}.
+	 */
+	static boolean equateFiltered (CharFilter filter, Object left, @Nullable Object right) {
 		if (left == right)
 			return true;
 		if(right == null) return false;
@@ -254,6 +297,63 @@ public class FilteredStringSet extends ObjectSet<String> {
 		return false;
 	}
 
+	/**
+	 * An immutable set of Strings that are compared using a {@link CharFilter}, as returned by {@link #toFrozen()}.
+	 * This is a {@link FrozenObjectSet} that hashes and compares items by only considering the chars that pass the
+	 * filter, after the editor changes them.
+	 */
+	public static class Frozen extends FrozenObjectSet<String> {
+		protected final CharFilter filter;
+
+		/**
+		 * Creates a new frozen set with the same items as the given set, comparing them with the given CharFilter,
+		 * which should be the one set uses.
+		 *
+		 * @param filter a CharFilter that can be obtained with {@link CharFilter#getOrCreate(String, CharPredicate, CharToCharFunction)}
+		 * @param set    a set to copy, such as a FilteredStringSet or {@link FilteredStringOrderedSet}; will not be modified
+		 */
+		public Frozen (CharFilter filter, ObjectSet<String> set) {
+			this.filter = filter;
+			build(set);
+		}
+
+		/**
+		 * Recreates a frozen set from the state of another FilteredStringSet.Frozen with the same CharFilter; see
+		 * {@link FrozenObjectSet#FrozenObjectSet(int, int, int[], Object[])}.
+		 */
+		public Frozen (CharFilter filter, int seed, int slotCount, int[] displacements, @Nullable Object[] keyTable) {
+			super(seed, slotCount, displacements, keyTable);
+			this.filter = filter;
+		}
+
+		public CharFilter getFilter () {
+			return filter;
+		}
+
+		@Override
+		protected int hash (@NonNull Object item) {
+			if (item instanceof String)
+				return hashFiltered(filter, (String)item);
+			return super.hash(item);
+		}
+
+		@Override
+		protected boolean equate (Object left, @Nullable Object right) {
+			return equateFiltered(filter, left, right);
+		}
+
+		@Override
+		public int hashCode () {
+			int h = size;
+			@Nullable Object[] keyTable = this.keyTable;
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				@Nullable String key = (String)keyTable[i];
+				if (key != null) {h += hashFiltered(filter, key);}
+			}
+			return h ^ h >>> 16;
+		}
+	}
+
 	@Override
 	public int hashCode () {
 		int h = size;
@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.ds.support.util.IntIterator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An immutable map with primitive int keys and Object values, built once from an {@link IntObjectMap} and then only
+ * read. Every key has its own slot in a table with no empty slots, found by a {@link MinimalPerfectHash}, so
+ * {@link #get(int)} reads one int of displacement data, then compares one key. Distinct int keys always have distinct
+ * hashes, so there is never any overflow to search. Use {@link IntObjectMap#toFrozen()} to make one.
+ * <p>
+ * As with IntObjectMap, the key 0 is stored separately from the other keys. The rest of the state is in
+ * {@link #getSeed()}, {@link #getSlotCount()}, and the arrays from {@link #getDisplacements()}, {@link #getKeyTable()},
+ * and {@link #getValueTable()}; passing all of that to
+ * {@link #FrozenIntObjectMap(int, int, int[], int[], Object[], boolean, Object)} recreates the map without rebuilding
+ * the perfect hash, which is meant for serialization libraries.
+ *
+ * @author Tommy Ettinger
+ */
+public class FrozenIntObjectMap<V> implements Iterable<IntObjectMap.Entry<V>> {
+
+	protected int size;
+	protected int seed;
+	protected int slotCount;
+	protected int[] displacements;
+	protected int[] keyTable;
+	protected @Nullable V[] valueTable;
+	protected boolean hasZeroValue;
+	@Nullable protected V zeroValue;
+
+	/**
+	 * Returned by {@link #get(int)} when no value exists for the given key.
+	 */
+	@Nullable public V defaultValue = null;
+
+	/**
+	 * Creates a new frozen map with the same keys, values, and {@link IntObjectMap#getDefaultValue() default value}
+	 * as the given map.
+	 *
+	 * @param map an IntObjectMap to copy; will not be modified
+	 */
+	public FrozenIntObjectMap (IntObjectMap<? extends V> map) {
+		hasZeroValue = map.hasZeroValue;
+		zeroValue = map.zeroValue;
+		final int n = hasZeroValue ? map.size - 1 : map.size;
+		final int[] kt = map.keyTable;
+		final @Nullable V[] vt = map.valueTable;
+		final int[] hashes = new int[n], from = new int[n];
+		for (int i = 0, c = 0; c < n; i++) {
+			if (kt[i] != 0) {
+				from[c] = i;
+				hashes[c++] = kt[i];
+			}
+		}
+		final MinimalPerfectHash mph = new MinimalPerfectHash(hashes, n);
+		seed = mph.seed;
+		slotCount = mph.slotCount;
+		displacements = mph.displacements;
+		keyTable = new int[mph.tableSize];
+		valueTable = (V[])new Object[mph.tableSize];
+		for (int c = 0; c < n; c++) {
+			final int p = mph.positions[c];
+			keyTable[p] = kt[from[c]];
+			valueTable[p] = vt[from[c]];
+		}
+		size = map.size;
+		defaultValue = map.defaultValue;
+	}
+
+	/**
+	 * Recreates a frozen map from the state of another frozen map, as obtained from {@link #getSeed()},
+	 * {@link #getSlotCount()}, {@link #getDisplacements()}, {@link #getKeyTable()}, {@link #getValueTable()},
+	 * {@link #containsKey(int) containsKey(0)}, and {@link #get(int) get(0)}. The arrays are used directly, not copied.
+	 *
+	 * @param seed          the seed of a {@link MinimalPerfectHash}
+	 * @param slotCount     the slot count of a MinimalPerfectHash
+	 * @param displacements the displacements of a MinimalPerfectHash
+	 * @param keyTable      the non-zero keys, in their slots
+	 * @param valueTable    the values, in the same order as keyTable
+	 * @param hasZeroValue  true if the key 0 is present
+	 * @param zeroValue     the value for the key 0, if present
+	 */
+	public FrozenIntObjectMap (int seed, int slotCount, int[] displacements, int[] keyTable, @Nullable Object[] valueTable,
+		boolean hasZeroValue, @Nullable V zeroValue) {
+		this.seed = seed;
+		this.slotCount = slotCount;
+		this.displacements = displacements;
+		this.keyTable = keyTable;
+		this.valueTable = (V[])valueTable;
+		this.hasZeroValue = hasZeroValue;
+		this.zeroValue = hasZeroValue ? zeroValue : null;
+		size = hasZeroValue ? 1 : 0;
+		for (int k : keyTable) {
+			if (k != 0) {size++;}
+		}
+	}
+
+	/**
+	 * Returns the index of the key if present, else -1. The key must not be 0.
+	 *
+	 * @param key a non-zero key to look up
+	 * @return -1 if the key was not found, or the index of the key if found
+	 */
+	protected int locateKey (int key) {
+		final int i = MinimalPerfectHash.slot(displacements, seed, slotCount, key);
+		return keyTable[i] == key ? i : -1;
+	}
+
+	/**
+	 * Returns the value for the specified key, or {@link #defaultValue} if the key is not in the map.
+	 *
+	 * @param key a key to look up
+	 */
+	@Nullable
+	public V get (int key) {
+		if (key == 0) {return hasZeroValue ? zeroValue : defaultValue;}
+		final int i = locateKey(key);
+		return i < 0 ? defaultValue : valueTable[i];
+	}
+
+	/**
+	 * Returns the value for the specified key, or the given default value if the key is not in the map.
+	 */
+	@Nullable
+	public V getOrDefault (int key, @Nullable V defaultValue) {
+		if (key == 0) {return hasZeroValue ? zeroValue : defaultValue;}
+		final int i = locateKey(key);
+		return i < 0 ? defaultValue : valueTable[i];
+	}
+
+	public boolean containsKey (int key) {
+		if (key == 0) {return hasZeroValue;}
+		return locateKey(key) >= 0;
+	}
+
+	/**
+	 * Returns true if the specified value is in the map. Note this traverses the entire map and compares every value,
+	 * which may be an expensive operation.
+	 *
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *                 {@link #equals(Object)}.
+	 */
+	public boolean containsValue (@Nullable Object value, boolean identity) {
+		if (hasZeroValue && (identity ? zeroValue == value : Objects.equals(zeroValue, value))) {return true;}
+		final int[] keyTable = this.keyTable;
+		final @Nullable V[] valueTable = this.valueTable;
+		for (int i = keyTable.length - 1; i >= 0; i--) {
+			if (keyTable[i] != 0 && (identity ? valueTable[i] == value : Objects.equals(valueTable[i], value))) {return true;}
+		}
+		return false;
+	}
+
+	public int size () {
+		return size;
+	}
+
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if the map has one or more items.
+	 *
+	 * @return true if the map has one or more items
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	@Nullable
+	public V getDefaultValue () {
+		return defaultValue;
+	}
+
+	/**
+	 * Sets the default value, a {@code V} which is returned by {@link #get(int)} if the key is not found. This is the
+	 * only part of a frozen map that can be changed.
+	 *
+	 * @param defaultValue may be any V object or null; should usually be one that doesn't occur as a typical value
+	 */
+	public void setDefaultValue (@Nullable V defaultValue) {
+		this.defaultValue = defaultValue;
+	}
+
+	/**
+	 * Gets the seed used to choose a bucket for each key, for use with {@link MinimalPerfectHash#slot(int[], int, int, int)}.
+	 *
+	 * @return the seed of the perfect hash
+	 */
+	public int getSeed () {
+		return seed;
+	}
+
+	/**
+	 * Gets how many slots the perfect hash can reach.
+	 *
+	 * @return the slot count of the perfect hash
+	 */
+	public int getSlotCount () {
+		return slotCount;
+	}
+
+	/**
+	 * Gets the displacement array of the perfect hash directly; this should not be modified.
+	 *
+	 * @return the displacements of the perfect hash
+	 */
+	public int[] getDisplacements () {
+		return displacements;
+	}
+
+	/**
+	 * Gets the key table directly; this should not be modified. This doesn't include the key 0.
+	 *
+	 * @return the non-zero keys in their slots
+	 */
+	public int[] getKeyTable () {
+		return keyTable;
+	}
+
+	/**
+	 * Gets the value table directly; this should not be modified. This doesn't include the value for the key 0.
+	 *
+	 * @return the values, in the same order as {@link #getKeyTable()}
+	 */
+	public @Nullable Object[] getValueTable () {
+		return valueTable;
+	}
+
+	@Override
+	public int hashCode () {
+		int h = hasZeroValue && zeroValue != null ? zeroValue.hashCode() ^ size : size;
+		final int[] keyTable = this.keyTable;
+		final @Nullable V[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0) {
+				h ^= key;
+				V v = valueTable[i];
+				if (v != null) {h ^= v.hashCode();}
+			}
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals (Object obj) {
+		if (obj == this) {return true;}
+		if (!(obj instanceof FrozenIntObjectMap)) {return false;}
+		FrozenIntObjectMap<?> other = (FrozenIntObjectMap<?>)obj;
+		if (other.size != size) {return false;}
+		if (other.hasZeroValue != hasZeroValue || !Objects.equals(other.zeroValue, zeroValue)) {return false;}
+		final int[] keyTable = this.keyTable;
+		final @Nullable V[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0) {
+				int o = other.locateKey(key);
+				if (o < 0 || !Objects.equals(valueTable[i], other.valueTable[o])) {return false;}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString () {
+		StringBuilder sb = new StringBuilder(size * 8 + 2).append('{');
+		if (hasZeroValue) {sb.append("0=").append(zeroValue);}
+		final int[] keyTable = this.keyTable;
+		final @Nullable V[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key == 0) {continue;}
+			if (sb.length() > 1) {sb.append(", ");}
+			sb.append(key).append('=').append(valueTable[i]);
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Returns an iterator over the entries in this map. The same {@link IntObjectMap.Entry} instance is returned by
+	 * each call to next(), with its key and value changed. Remove is not supported.
+	 *
+	 * @return an iterator over the entries in this map
+	 */
+	@Override
+	public @NonNull EntryIterator<V> iterator () {
+		return new EntryIterator<>(this);
+	}
+
+	/**
+	 * Returns an iterator over the keys in this map. Remove is not supported.
+	 *
+	 * @return an iterator over the keys in this map
+	 */
+	public KeyIterator<V> keys () {
+		return new KeyIterator<>(this);
+	}
+
+	/**
+	 * Returns an iterator over the values in this map. Remove is not supported.
+	 *
+	 * @return an iterator over the values in this map
+	 */
+	public ValueIterator<V> values () {
+		return new ValueIterator<>(this);
+	}
+
+	public static abstract class MapIterator<V> {
+		protected final FrozenIntObjectMap<V> map;
+		/**
+		 * -1 while the key 0 is next, if the map has it; otherwise the index in the tables of the next entry.
+		 */
+		protected int index;
+
+		public MapIterator (FrozenIntObjectMap<V> map) {
+			this.map = map;
+			index = -1;
+			if (!map.hasZeroValue) {findNextIndex();}
+		}
+
+		protected void findNextIndex () {
+			final int[] keyTable = map.keyTable;
+			for (int n = keyTable.length; ++index < n; ) {
+				if (keyTable[index] != 0) {return;}
+			}
+		}
+
+		public boolean hasNext () {
+			return index < map.keyTable.length;
+		}
+
+		/**
+		 * Always throws an {@link UnsupportedOperationException}, because a frozen map can't be changed.
+		 */
+		public void remove () {
+			throw new UnsupportedOperationException("A frozen map cannot be changed.");
+		}
+	}
+
+	public static class KeyIterator<V> extends MapIterator<V> implements IntIterator {
+		public KeyIterator (FrozenIntObjectMap<V> map) {
+			super(map);
+		}
+
+		@Override
+		public int nextInt () {
+			if (index >= map.keyTable.length) {throw new NoSuchElementException();}
+			int key = index < 0 ? 0 : map.keyTable[index];
+			findNextIndex();
+			return key;
+		}
+
+		/**
+		 * Returns a new IntList containing the remaining keys.
+		 */
+		public IntList toList () {
+			IntList list = new IntList(map.size);
+			while (hasNext()) {list.add(nextInt());}
+			return list;
+		}
+	}
+
+	public static class ValueIterator<V> extends MapIterator<V> implements Iterable<V>, Iterator<V> {
+		public ValueIterator (FrozenIntObjectMap<V> map) {
+			super(map);
+		}
+
+		@Override
+		@Nullable
+		public V next () {
+			if (index >= map.keyTable.length) {throw new NoSuchElementException();}
+			V value = index < 0 ? map.zeroValue : map.valueTable[index];
+			findNextIndex();
+			return value;
+		}
+
+		@Override
+		public @NonNull ValueIterator<V> iterator () {
+			return this;
+		}
+	}
+
+	public static class EntryIterator<V> extends MapIterator<V> implements Iterable<IntObjectMap.Entry<V>>, Iterator<IntObjectMap.Entry<V>> {
+		protected final IntObjectMap.Entry<V> entry = new IntObjectMap.Entry<>();
+
+		public EntryIterator (FrozenIntObjectMap<V> map) {
+			super(map);
+		}
+
+		/**
+		 * Note the same entry instance is returned each time this method is called.
+		 */
+		@Override
+		public IntObjectMap.Entry<V> next () {
+			if (index >= map.keyTable.length) {throw new NoSuchElementException();}
+			if (index < 0) {
+				entry.key = 0;
+				entry.value = map.zeroValue;
+			} else {
+				entry.key = map.keyTable[index];
+				entry.value = map.valueTable[index];
+			}
+			findNextIndex();
+			return entry;
+		}
+
+		@Override
+		public @NonNull EntryIterator<V> iterator () {
+			return this;
+		}
+	}
+}
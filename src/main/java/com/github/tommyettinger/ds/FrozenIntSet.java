@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.ds.support.util.IntIterator;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set of primitive ints, built once from another collection and then only read. Every item has its own
+ * slot in a table with no empty slots, found by a {@link MinimalPerfectHash}, so {@link #contains(int)} reads one int
+ * of displacement data, then compares one item. Every method that would change this set throws an
+ * {@link UnsupportedOperationException}. Use {@link IntSet#toFrozen()} or a constructor here to make one.
+ * <p>
+ * As with {@link IntSet}, the item 0 is tracked separately from the other items. The rest of the state is in
+ * {@link #getSeed()}, {@link #getSlotCount()}, and the arrays from {@link #getDisplacements()} and
+ * {@link #getKeyTable()}; passing all of that to {@link #FrozenIntSet(int, int, int[], int[], boolean)} recreates the
+ * set without rebuilding the perfect hash, which is meant for serialization libraries.
+ *
+ * @author Tommy Ettinger
+ */
+public class FrozenIntSet implements PrimitiveSet.SetOfInt {
+
+	protected int size;
+	protected int seed;
+	protected int slotCount;
+	protected int[] displacements;
+	protected int[] keyTable;
+	protected boolean hasZeroValue;
+
+	/**
+	 * Creates a new frozen set with the same items as the given IntSet.
+	 *
+	 * @param set an IntSet to copy; will not be modified
+	 */
+	public FrozenIntSet (IntSet set) {
+		hasZeroValue = set.hasZeroValue;
+		final int n = hasZeroValue ? set.size - 1 : set.size;
+		final int[] kt = set.keyTable;
+		final int[] items = new int[n];
+		for (int i = 0, c = 0; c < n; i++) {
+			if (kt[i] != 0) {items[c++] = kt[i];}
+		}
+		build(items, n);
+		size = set.size;
+	}
+
+	/**
+	 * Creates a new frozen set with the items in the given collection; duplicates are only added once.
+	 *
+	 * @param coll a PrimitiveCollection.OfInt to copy; will not be modified
+	 */
+	public FrozenIntSet (PrimitiveCollection.OfInt coll) {
+		this(coll instanceof IntSet ? (IntSet)coll : new IntSet(coll));
+	}
+
+	/**
+	 * Creates a new frozen set with the items in the given array; duplicates are only added once.
+	 *
+	 * @param items an int array to copy; will not be modified
+	 */
+	public FrozenIntSet (int[] items) {
+		this(new IntSet(items));
+	}
+
+	/**
+	 * Recreates a frozen set from the state of another frozen set, as obtained from {@link #getSeed()},
+	 * {@link #getSlotCount()}, {@link #getDisplacements()}, {@link #getKeyTable()}, and {@link #contains(int) contains(0)}.
+	 * The arrays are used directly, not copied.
+	 *
+	 * @param seed          the seed of a {@link MinimalPerfectHash}
+	 * @param slotCount     the slot count of a MinimalPerfectHash
+	 * @param displacements the displacements of a MinimalPerfectHash
+	 * @param keyTable      the non-zero items, in their slots
+	 * @param hasZeroValue  true if the item 0 is present
+	 */
+	public FrozenIntSet (int seed, int slotCount, int[] displacements, int[] keyTable, boolean hasZeroValue) {
+		this.seed = seed;
+		this.slotCount = slotCount;
+		this.displacements = displacements;
+		this.keyTable = keyTable;
+		this.hasZeroValue = hasZeroValue;
+		size = hasZeroValue ? 1 : 0;
+		for (int k : keyTable) {
+			if (k != 0) {size++;}
+		}
+	}
+
+	/**
+	 * Builds the perfect hash and the table for the first {@code n} distinct, non-zero items.
+	 */
+	protected void build (int[] items, int n) {
+		final MinimalPerfectHash mph = new MinimalPerfectHash(items, n);
+		seed = mph.seed;
+		slotCount = mph.slotCount;
+		displacements = mph.displacements;
+		keyTable = new int[mph.tableSize];
+		for (int i = 0; i < n; i++) {
+			keyTable[mph.positions[i]] = items[i];
+		}
+	}
+
+	@Override
+	public boolean contains (int item) {
+		if (item == 0) {return hasZeroValue;}
+		return keyTable[MinimalPerfectHash.slot(displacements, seed, slotCount, item)] == item;
+	}
+
+	@Override
+	public int size () {
+		return size;
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, because this set can't be changed.
+	 */
+	@Override
+	public boolean add (int item) {
+		throw new UnsupportedOperationException("A frozen set cannot be changed.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, because this set can't be changed.
+	 */
+	@Override
+	public boolean remove (int item) {
+		throw new UnsupportedOperationException("A frozen set cannot be changed.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, because this set can't be changed.
+	 */
+	@Override
+	public void clear () {
+		throw new UnsupportedOperationException("A frozen set cannot be changed.");
+	}
+
+	/**
+	 * Gets the seed used to choose a bucket for each item, for use with {@link MinimalPerfectHash#slot(int[], int, int, int)}.
+	 *
+	 * @return the seed of the perfect hash
+	 */
+	public int getSeed () {
+		return seed;
+	}
+
+	/**
+	 * Gets how many slots the perfect hash can reach.
+	 *
+	 * @return the slot count of the perfect hash
+	 */
+	public int getSlotCount () {
+		return slotCount;
+	}
+
+	/**
+	 * Gets the displacement array of the perfect hash directly; this should not be modified.
+	 *
+	 * @return the displacements of the perfect hash
+	 */
+	public int[] getDisplacements () {
+		return displacements;
+	}
+
+	/**
+	 * Gets the item table directly; this should not be modified. This doesn't include the item 0.
+	 *
+	 * @return the non-zero items in their slots
+	 */
+	public int[] getKeyTable () {
+		return keyTable;
+	}
+
+	@Override
+	public int hashCode () {
+		int h = size;
+		final int[] keyTable = this.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			h += keyTable[i];
+		}
+		return h ^ h >>> 16;
+	}
+
+	@SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+	@Override
+	public boolean equals (Object o) {
+		return SetOfInt.super.equalContents(o);
+	}
+
+	@Override
+	public String toString () {
+		return toString(", ", true);
+	}
+
+	/**
+	 * Returns an iterator over the items in this set. Remove is not supported.
+	 *
+	 * @return an iterator over the items in this set
+	 */
+	@Override
+	public FrozenIterator iterator () {
+		return new FrozenIterator(this);
+	}
+
+	public static class FrozenIterator implements IntIterator {
+		protected final FrozenIntSet set;
+		/**
+		 * -1 while the item 0 is next, if the set has it; otherwise the index in the table of the next item.
+		 */
+		protected int index;
+
+		public FrozenIterator (FrozenIntSet set) {
+			this.set = set;
+			index = -1;
+			if (!set.hasZeroValue) {findNextIndex();}
+		}
+
+		protected void findNextIndex () {
+			final int[] keyTable = set.keyTable;
+			for (int n = keyTable.length; ++index < n; ) {
+				if (keyTable[index] != 0) {return;}
+			}
+		}
+
+		@Override
+		public boolean hasNext () {
+			return index < set.keyTable.length;
+		}
+
+		@Override
+		public int nextInt () {
+			if (index >= set.keyTable.length) {throw new NoSuchElementException();}
+			int item = index < 0 ? 0 : set.keyTable[index];
+			findNextIndex();
+			return item;
+		}
+
+		/**
+		 * Always throws an {@link UnsupportedOperationException}, because a frozen set can't be changed.
+		 */
+		@Override
+		public void remove () {
+			throw new UnsupportedOperationException("A frozen set cannot be changed.");
+		}
+	}
+}
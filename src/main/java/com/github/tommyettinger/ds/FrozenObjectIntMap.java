@@ -0,0 +1,418 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.ds.support.util.IntIterator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable map with Object keys and primitive int values, built once from an {@link ObjectIntMap} and then only
+ * read. Every key has its own slot in a table with no empty slots, found by a {@link MinimalPerfectHash}, so
+ * {@link #get(Object)} reads one int of displacement data, then compares one key. This is a good fit for symbol tables
+ * that are filled at startup and looked up constantly afterward. Use {@link ObjectIntMap#toFrozen()} to make one.
+ * <p>
+ * This works the same way as {@link FrozenObjectObjectMap}, including its overflow area for keys with equal
+ * hashCodes, its overridable {@link #hash(Object)} and {@link #equate(Object, Object)}, and a constructor that takes
+ * the state directly for serialization.
+ *
+ * @author Tommy Ettinger
+ */
+public class FrozenObjectIntMap<K> implements Iterable<ObjectIntMap.Entry<K>> {
+
+	protected int size;
+	protected int seed;
+	protected int slotCount;
+	protected int[] displacements;
+	protected @Nullable K[] keyTable;
+	protected int[] valueTable;
+
+	/**
+	 * Returned by {@link #get(Object)} when no value exists for the given key.
+	 */
+	public int defaultValue = 0;
+
+	/**
+	 * Creates a new frozen map with the same keys, values, and {@link ObjectIntMap#getDefaultValue() default value}
+	 * as the given map.
+	 *
+	 * @param map an ObjectIntMap to copy; will not be modified
+	 */
+	public FrozenObjectIntMap (ObjectIntMap<? extends K> map) {
+		final int n = map.size;
+		final @Nullable K[] kt = map.keyTable;
+		final int[] vt = map.valueTable;
+		final int[] hashes = new int[n], from = new int[n];
+		for (int i = 0, c = 0; c < n; i++) {
+			final K k = kt[i];
+			if (k != null) {
+				from[c] = i;
+				hashes[c++] = hash(k);
+			}
+		}
+		final MinimalPerfectHash mph = new MinimalPerfectHash(hashes, n);
+		seed = mph.seed;
+		slotCount = mph.slotCount;
+		displacements = mph.displacements;
+		keyTable = (K[])new Object[mph.tableSize];
+		valueTable = new int[mph.tableSize];
+		for (int c = 0; c < n; c++) {
+			final int p = mph.positions[c];
+			keyTable[p] = kt[from[c]];
+			valueTable[p] = vt[from[c]];
+		}
+		size = n;
+		defaultValue = map.defaultValue;
+	}
+
+	/**
+	 * Recreates a frozen map from the state of another frozen map, as obtained from {@link #getSeed()},
+	 * {@link #getSlotCount()}, {@link #getDisplacements()}, {@link #getKeyTable()}, and {@link #getValueTable()}. The
+	 * arrays are used directly, not copied.
+	 *
+	 * @param seed          the seed of a {@link MinimalPerfectHash}
+	 * @param slotCount     the slot count of a MinimalPerfectHash
+	 * @param displacements the displacements of a MinimalPerfectHash
+	 * @param keyTable      the keys, in their slots, followed by any overflow keys
+	 * @param valueTable    the values, in the same order as keyTable
+	 */
+	public FrozenObjectIntMap (int seed, int slotCount, int[] displacements, @Nullable Object[] keyTable, int[] valueTable) {
+		this.seed = seed;
+		this.slotCount = slotCount;
+		this.displacements = displacements;
+		this.keyTable = (K[])keyTable;
+		this.valueTable = valueTable;
+		for (Object k : keyTable) {
+			if (k != null) {size++;}
+		}
+	}
+
+	/**
+	 * Gets a hash code for a key. The default implementation just calls {@link Object#hashCode()}.
+	 *
+	 * @param item a non-null key
+	 * @return a hash code that is equal for any two keys that {@link #equate(Object, Object)} considers equal
+	 */
+	protected int hash (@NonNull Object item) {
+		return item.hashCode();
+	}
+
+	/**
+	 * Compares the objects left and right, which are usually keys, for equality, returning true if they are considered
+	 * equal. Normally, this returns {@code left.equals(right)}, but subclasses can override it.
+	 *
+	 * @param left  must be non-null; typically a key being compared, but not necessarily
+	 * @param right may be null; typically a key being compared, but can often be null for an empty key slot, or some other type
+	 * @return true if left and right are considered equal for the purposes of this class
+	 */
+	protected boolean equate (Object left, @Nullable Object right) {
+		return left.equals(right);
+	}
+
+	/**
+	 * Returns the index of the key if present, else -1.
+	 *
+	 * @param key a key to look up, which may be null
+	 * @return -1 if the key was not found, or the index of the key if found
+	 */
+	protected int locateKey (@Nullable Object key) {
+		if (key == null) {return -1;}
+		final @Nullable K[] keyTable = this.keyTable;
+		final int i = MinimalPerfectHash.slot(displacements, seed, slotCount, hash(key));
+		if (equate(key, keyTable[i])) {return i;}
+		for (int j = slotCount, n = keyTable.length; j < n; j++) {
+			if (equate(key, keyTable[j])) {return j;}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the value for the specified key, or {@link #defaultValue} if the key is not in the map.
+	 *
+	 * @param key a key to look up
+	 */
+	public int get (Object key) {
+		final int i = locateKey(key);
+		return i < 0 ? defaultValue : valueTable[i];
+	}
+
+	/**
+	 * Returns the value for the specified key, or the given default value if the key is not in the map.
+	 */
+	public int getOrDefault (Object key, int defaultValue) {
+		final int i = locateKey(key);
+		return i < 0 ? defaultValue : valueTable[i];
+	}
+
+	public boolean containsKey (Object key) {
+		return locateKey(key) >= 0;
+	}
+
+	/**
+	 * Returns true if the specified value is in the map. Note this traverses the entire map and compares every value,
+	 * which may be an expensive operation.
+	 */
+	public boolean containsValue (int value) {
+		final @Nullable K[] keyTable = this.keyTable;
+		final int[] valueTable = this.valueTable;
+		for (int i = keyTable.length - 1; i >= 0; i--) {
+			if (keyTable[i] != null && valueTable[i] == value) {return true;}
+		}
+		return false;
+	}
+
+	public int size () {
+		return size;
+	}
+
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if the map has one or more items.
+	 *
+	 * @return true if the map has one or more items
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	public int getDefaultValue () {
+		return defaultValue;
+	}
+
+	/**
+	 * Sets the default value, an {@code int} which is returned by {@link #get(Object)} if the key is not found. This is
+	 * the only part of a frozen map that can be changed.
+	 *
+	 * @param defaultValue may be any int; should usually be one that doesn't occur as a typical value
+	 */
+	public void setDefaultValue (int defaultValue) {
+		this.defaultValue = defaultValue;
+	}
+
+	/**
+	 * Gets the seed used to choose a bucket for each key, for use with {@link MinimalPerfectHash#slot(int[], int, int, int)}.
+	 *
+	 * @return the seed of the perfect hash
+	 */
+	public int getSeed () {
+		return seed;
+	}
+
+	/**
+	 * Gets how many slots the perfect hash can reach; any slots in the tables past this are overflow.
+	 *
+	 * @return the slot count of the perfect hash
+	 */
+	public int getSlotCount () {
+		return slotCount;
+	}
+
+	/**
+	 * Gets the displacement array of the perfect hash directly; this should not be modified.
+	 *
+	 * @return the displacements of the perfect hash
+	 */
+	public int[] getDisplacements () {
+		return displacements;
+	}
+
+	/**
+	 * Gets the key table directly; this should not be modified.
+	 *
+	 * @return the keys in their slots, followed by any overflow keys
+	 */
+	public @Nullable Object[] getKeyTable () {
+		return keyTable;
+	}
+
+	/**
+	 * Gets the value table directly; this should not be modified.
+	 *
+	 * @return the values, in the same order as {@link #getKeyTable()}
+	 */
+	public int[] getValueTable () {
+		return valueTable;
+	}
+
+	@Override
+	public int hashCode () {
+		int h = size;
+		final @Nullable K[] keyTable = this.keyTable;
+		final int[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			@Nullable K key = keyTable[i];
+			if (key != null) {
+				h ^= key.hashCode();
+				h ^= valueTable[i];
+			}
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals (Object obj) {
+		if (obj == this) {return true;}
+		if (!(obj instanceof FrozenObjectIntMap)) {return false;}
+		FrozenObjectIntMap other = (FrozenObjectIntMap)obj;
+		if (other.size != size) {return false;}
+		final @Nullable K[] keyTable = this.keyTable;
+		final int[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			K key = keyTable[i];
+			if (key != null) {
+				int o = other.locateKey(key);
+				if (o < 0 || other.valueTable[o] != valueTable[i]) {return false;}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString () {
+		StringBuilder sb = new StringBuilder(size * 8 + 2).append('{');
+		final @Nullable K[] keyTable = this.keyTable;
+		final int[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			K key = keyTable[i];
+			if (key == null) {continue;}
+			if (sb.length() > 1) {sb.append(", ");}
+			sb.append(key).append('=').append(valueTable[i]);
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Returns an iterator over the entries in this map. The same {@link ObjectIntMap.Entry} instance is returned by
+	 * each call to next(), with its key and value changed. Remove is not supported.
+	 *
+	 * @return an iterator over the entries in this map
+	 */
+	@Override
+	public @NonNull EntryIterator<K> iterator () {
+		return new EntryIterator<>(this);
+	}
+
+	/**
+	 * Returns an iterator over the keys in this map. Remove is not supported.
+	 *
+	 * @return an iterator over the keys in this map
+	 */
+	public KeyIterator<K> keys () {
+		return new KeyIterator<>(this);
+	}
+
+	/**
+	 * Returns an iterator over the values in this map. Remove is not supported.
+	 *
+	 * @return an iterator over the values in this map
+	 */
+	public ValueIterator<K> values () {
+		return new ValueIterator<>(this);
+	}
+
+	public static abstract class MapIterator<K> {
+		protected final FrozenObjectIntMap<K> map;
+		protected int index = -1;
+
+		public MapIterator (FrozenObjectIntMap<K> map) {
+			this.map = map;
+			findNextIndex();
+		}
+
+		protected void findNextIndex () {
+			final @Nullable K[] keyTable = map.keyTable;
+			for (int n = keyTable.length; ++index < n; ) {
+				if (keyTable[index] != null) {return;}
+			}
+		}
+
+		public boolean hasNext () {
+			return index < map.keyTable.length;
+		}
+
+		/**
+		 * Always throws an {@link UnsupportedOperationException}, because a frozen map can't be changed.
+		 */
+		public void remove () {
+			throw new UnsupportedOperationException("A frozen map cannot be changed.");
+		}
+	}
+
+	public static class KeyIterator<K> extends MapIterator<K> implements Iterable<K>, Iterator<K> {
+		public KeyIterator (FrozenObjectIntMap<K> map) {
+			super(map);
+		}
+
+		@Override
+		public K next () {
+			if (index >= map.keyTable.length) {throw new NoSuchElementException();}
+			K key = map.keyTable[index];
+			findNextIndex();
+			return key;
+		}
+
+		@Override
+		public @NonNull KeyIterator<K> iterator () {
+			return this;
+		}
+	}
+
+	public static class ValueIterator<K> extends MapIterator<K> implements IntIterator {
+		public ValueIterator (FrozenObjectIntMap<K> map) {
+			super(map);
+		}
+
+		@Override
+		public int nextInt () {
+			if (index >= map.keyTable.length) {throw new NoSuchElementException();}
+			int value = map.valueTable[index];
+			findNextIndex();
+			return value;
+		}
+	}
+
+	public static class EntryIterator<K> extends MapIterator<K> implements Iterable<ObjectIntMap.Entry<K>>, Iterator<ObjectIntMap.Entry<K>> {
+		protected final ObjectIntMap.Entry<K> entry = new ObjectIntMap.Entry<>();
+
+		public EntryIterator (FrozenObjectIntMap<K> map) {
+			super(map);
+		}
+
+		/**
+		 * Note the same entry instance is returned each time this method is called.
+		 */
+		@Override
+		public ObjectIntMap.Entry<K> next () {
+			if (index >= map.keyTable.length) {throw new NoSuchElementException();}
+			entry.key = map.keyTable[index];
+			entry.value = map.valueTable[index];
+			findNextIndex();
+			return entry;
+		}
+
+		@Override
+		public @NonNull EntryIterator<K> iterator () {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,476 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable map with Object keys and Object values, built once from another map and then only read. Every key has
+ * its own slot in a table with no empty slots, found by a {@link MinimalPerfectHash}, so {@link #get(Object)} reads
+ * one int of displacement data, then compares one key. Compared to {@link ObjectObjectMap}, this uses less memory
+ * and doesn't slow down with unlucky keys, but it can't be changed; every method that would change it throws an
+ * {@link UnsupportedOperationException}. Use {@link ObjectObjectMap#toFrozen()} or a constructor here to make one.
+ * <p>
+ * Keys that have equal {@link Object#hashCode()} results but aren't equal can't be told apart by a perfect hash, so
+ * all but one key for each such hashCode go in an overflow area at the end of the table, which is searched linearly
+ * only if the key in its perfect slot didn't match. This is normally empty or tiny.
+ * <p>
+ * Like the other maps here, you can override {@link #hash(Object)} and {@link #equate(Object, Object)} to change how
+ * keys are compared; {@link CaseInsensitiveMap.Frozen} does this. Overrides must not depend on any state in the
+ * subclass, since they are called while the superclass constructor runs.
+ * <p>
+ * The state of this map is entirely in {@link #getSeed()}, {@link #getSlotCount()}, and the arrays from
+ * {@link #getDisplacements()}, {@link #getKeyTable()}, and {@link #getValueTable()}. Passing those to
+ * {@link #FrozenObjectObjectMap(int, int, int[], Object[], Object[])} recreates the map without rebuilding the perfect
+ * hash, which is meant for serialization libraries.
+ *
+ * @author Tommy Ettinger
+ */
+public class FrozenObjectObjectMap<K, V> extends AbstractMap<K, V> implements Iterable<Map.Entry<K, V>> {
+
+	protected int size;
+	protected int seed;
+	protected int slotCount;
+	protected int[] displacements;
+	protected @Nullable K[] keyTable;
+	protected @Nullable V[] valueTable;
+
+	/**
+	 * Returned by {@link #get(Object)} when no value exists for the given key, as well as some other methods to indicate
+	 * that no value in the Map could be returned.
+	 */
+	@Nullable public V defaultValue = null;
+
+	/**
+	 * Creates a new frozen map with the same keys, values, and {@link ObjectObjectMap#getDefaultValue() default value}
+	 * as the given map.
+	 *
+	 * @param map an ObjectObjectMap to copy; will not be modified
+	 */
+	public FrozenObjectObjectMap (ObjectObjectMap<? extends K, ? extends V> map) {
+		build(map);
+	}
+
+	/**
+	 * Creates an empty frozen map with no tables yet, for subclasses that need to assign their own fields before
+	 * calling {@link #build(ObjectObjectMap)}, because building calls {@link #hash(Object)}.
+	 */
+	protected FrozenObjectObjectMap () {
+		displacements = Utilities.EMPTY_INTS;
+		keyTable = (K[])Utilities.EMPTY_OBJECTS;
+		valueTable = (V[])Utilities.EMPTY_OBJECTS;
+	}
+
+	/**
+	 * Creates a new frozen map with the same keys and values as the given map.
+	 *
+	 * @param map a Map to copy; will not be modified
+	 */
+	public FrozenObjectObjectMap (Map<? extends K, ? extends V> map) {
+		final int n = map.size();
+		final Object[] keys = new Object[n], values = new Object[n];
+		int c = 0;
+		for (Map.Entry<? extends K, ? extends V> e : map.entrySet()) {
+			keys[c] = e.getKey();
+			values[c++] = e.getValue();
+		}
+		build(keys, values, c);
+	}
+
+	/**
+	 * Recreates a frozen map from the state of another frozen map, as obtained from {@link #getSeed()},
+	 * {@link #getSlotCount()}, {@link #getDisplacements()}, {@link #getKeyTable()}, and {@link #getValueTable()}. The
+	 * arrays are used directly, not copied. If the state wasn't obtained from a map with the same {@link #hash(Object)}
+	 * and {@link #equate(Object, Object)}, lookups will fail.
+	 *
+	 * @param seed          the seed of a {@link MinimalPerfectHash}
+	 * @param slotCount     the slot count of a MinimalPerfectHash
+	 * @param displacements the displacements of a MinimalPerfectHash
+	 * @param keyTable      the keys, in their slots, followed by any overflow keys
+	 * @param valueTable    the values, in the same order as keyTable
+	 */
+	public FrozenObjectObjectMap (int seed, int slotCount, int[] displacements, @Nullable Object[] keyTable, @Nullable Object[] valueTable) {
+		this.seed = seed;
+		this.slotCount = slotCount;
+		this.displacements = displacements;
+		this.keyTable = (K[])keyTable;
+		this.valueTable = (V[])valueTable;
+		for (Object k : keyTable) {
+			if (k != null) {size++;}
+		}
+	}
+
+	/**
+	 * Builds the perfect hash and the tables for the keys and values in {@code map}, and copies its default value.
+	 *
+	 * @param map an ObjectObjectMap to copy; will not be modified
+	 */
+	protected void build (ObjectObjectMap<? extends K, ? extends V> map) {
+		map.settle();
+		final int n = map.size;
+		final Object[] keys = new Object[n], values = new Object[n];
+		final @Nullable K[] kt = map.keyTable;
+		final @Nullable V[] vt = map.valueTable;
+		for (int i = 0, c = 0; c < n; i++) {
+			if (kt[i] != null) {
+				keys[c] = kt[i];
+				values[c++] = vt[i];
+			}
+		}
+		build(keys, values, n);
+		defaultValue = map.defaultValue;
+	}
+
+	/**
+	 * Builds the perfect hash and the tables for the first {@code n} keys and values.
+	 */
+	protected void build (Object[] keys, Object[] values, int n) {
+		final int[] hashes = new int[n];
+		for (int i = 0; i < n; i++) {
+			hashes[i] = hash(keys[i]);
+		}
+		final MinimalPerfectHash mph = new MinimalPerfectHash(hashes, n);
+		seed = mph.seed;
+		slotCount = mph.slotCount;
+		displacements = mph.displacements;
+		keyTable = (K[])new Object[mph.tableSize];
+		valueTable = (V[])new Object[mph.tableSize];
+		for (int i = 0; i < n; i++) {
+			final int p = mph.positions[i];
+			keyTable[p] = (K)keys[i];
+			valueTable[p] = (V)values[i];
+		}
+		size = n;
+	}
+
+	/**
+	 * Gets a hash code for a key. The default implementation just calls {@link Object#hashCode()}; unlike
+	 * {@link ObjectObjectMap#place(Object)}, this doesn't need to mix the result.
+	 *
+	 * @param item a non-null key
+	 * @return a hash code that is equal for any two keys that {@link #equate(Object, Object)} considers equal
+	 */
+	protected int hash (@NonNull Object item) {
+		return item.hashCode();
+	}
+
+	/**
+	 * Compares the objects left and right, which are usually keys, for equality, returning true if they are considered
+	 * equal. This is used by the rest of this class to determine whether two keys are considered equal. Normally, this
+	 * returns {@code left.equals(right)}, but subclasses can override it to use reference equality, fuzzy equality,
+	 * deep array equality, or any other custom definition of equality.
+	 *
+	 * @param left  must be non-null; typically a key being compared, but not necessarily
+	 * @param right may be null; typically a key being compared, but can often be null for an empty key slot, or some other type
+	 * @return true if left and right are considered equal for the purposes of this class
+	 */
+	protected boolean equate (Object left, @Nullable Object right) {
+		return left.equals(right);
+	}
+
+	/**
+	 * Returns the index of the key if present, else -1.
+	 *
+	 * @param key a key to look up, which may be null
+	 * @return -1 if the key was not found, or the index of the key if found
+	 */
+	protected int locateKey (@Nullable Object key) {
+		if (key == null) {return -1;}
+		final @Nullable K[] keyTable = this.keyTable;
+		final int i = MinimalPerfectHash.slot(displacements, seed, slotCount, hash(key));
+		if (equate(key, keyTable[i])) {return i;}
+		for (int j = slotCount, n = keyTable.length; j < n; j++) {
+			if (equate(key, keyTable[j])) {return j;}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the value for the specified key, or {@link #defaultValue} if the key is not in the map.
+	 *
+	 * @param key a key to look up
+	 */
+	@Override
+	@Nullable
+	public V get (Object key) {
+		final int i = locateKey(key);
+		return i < 0 ? defaultValue : valueTable[i];
+	}
+
+	/**
+	 * Returns the value for the specified key, or the given default value if the key is not in the map.
+	 */
+	@Override
+	@Nullable
+	public V getOrDefault (Object key, @Nullable V defaultValue) {
+		final int i = locateKey(key);
+		return i < 0 ? defaultValue : valueTable[i];
+	}
+
+	@Override
+	public boolean containsKey (Object key) {
+		return locateKey(key) >= 0;
+	}
+
+	/**
+	 * Returns true if the specified value is in the map. Note this traverses the entire map and compares every value,
+	 * which may be an expensive operation.
+	 */
+	@Override
+	public boolean containsValue (@Nullable Object value) {
+		final @Nullable K[] keyTable = this.keyTable;
+		final @Nullable V[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			if (keyTable[i] != null && Objects.equals(valueTable[i], value)) {return true;}
+		}
+		return false;
+	}
+
+	@Override
+	public int size () {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if the map has one or more items.
+	 *
+	 * @return true if the map has one or more items
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	/**
+	 * Gets the default value, a {@code V} which is returned by {@link #get(Object)} if the key is not found.
+	 *
+	 * @return the current default value
+	 */
+	@Nullable
+	public V getDefaultValue () {
+		return defaultValue;
+	}
+
+	/**
+	 * Sets the default value, a {@code V} which is returned by {@link #get(Object)} if the key is not found. This is the
+	 * only part of a frozen map that can be changed.
+	 *
+	 * @param defaultValue may be any V object or null; should usually be one that doesn't occur as a typical value
+	 */
+	public void setDefaultValue (@Nullable V defaultValue) {
+		this.defaultValue = defaultValue;
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, because this map can't be changed.
+	 */
+	@Override
+	public V put (K key, V value) {
+		throw new UnsupportedOperationException("A frozen map cannot be changed.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, because this map can't be changed.
+	 */
+	@Override
+	public void putAll (Map<? extends K, ? extends V> m) {
+		throw new UnsupportedOperationException("A frozen map cannot be changed.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, because this map can't be changed.
+	 */
+	@Override
+	public V remove (Object key) {
+		throw new UnsupportedOperationException("A frozen map cannot be changed.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, because this map can't be changed.
+	 */
+	@Override
+	public void clear () {
+		throw new UnsupportedOperationException("A frozen map cannot be changed.");
+	}
+
+	/**
+	 * Gets the seed used to choose a bucket for each key, for use with {@link MinimalPerfectHash#slot(int[], int, int, int)}.
+	 *
+	 * @return the seed of the perfect hash
+	 */
+	public int getSeed () {
+		return seed;
+	}
+
+	/**
+	 * Gets how many slots the perfect hash can reach; any slots in the tables past this are overflow.
+	 *
+	 * @return the slot count of the perfect hash
+	 */
+	public int getSlotCount () {
+		return slotCount;
+	}
+
+	/**
+	 * Gets the displacement array of the perfect hash directly; this should not be modified.
+	 *
+	 * @return the displacements of the perfect hash
+	 */
+	public int[] getDisplacements () {
+		return displacements;
+	}
+
+	/**
+	 * Gets the key table directly; this should not be modified.
+	 *
+	 * @return the keys in their slots, followed by any overflow keys
+	 */
+	public @Nullable Object[] getKeyTable () {
+		return keyTable;
+	}
+
+	/**
+	 * Gets the value table directly; this should not be modified.
+	 *
+	 * @return the values, in the same order as {@link #getKeyTable()}
+	 */
+	public @Nullable Object[] getValueTable () {
+		return valueTable;
+	}
+
+	@Override
+	public int hashCode () {
+		int h = size;
+		final @Nullable K[] keyTable = this.keyTable;
+		final @Nullable V[] valueTable = this.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			@Nullable K key = keyTable[i];
+			if (key != null) {
+				h ^= key.hashCode();
+				@Nullable V value = valueTable[i];
+				if (value != null) {h ^= value.hashCode();}
+			}
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals (Object obj) {
+		if (obj == this) {return true;}
+		if (!(obj instanceof Map)) {return false;}
+		Map other = (Map)obj;
+		if (other.size() != size) {return false;}
+		final @Nullable K[] keyTable = this.keyTable;
+		final @Nullable V[] valueTable = this.valueTable;
+		try {
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				K key = keyTable[i];
+				if (key != null) {
+					V value = valueTable[i];
+					if (value == null) {
+						if (other.getOrDefault(key, Utilities.neverIdentical) != null) {return false;}
+					} else {
+						if (!value.equals(other.get(key))) {return false;}
+					}
+				}
+			}
+		} catch (ClassCastException | NullPointerException unused) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns an iterator over the entries in this map. The same {@link ObjectObjectMap.Entry} instance is returned by
+	 * each call to next(), with its key and value changed. Remove is not supported.
+	 *
+	 * @return an iterator over the entries in this map
+	 */
+	@Override
+	public @NonNull Iterator<Map.Entry<K, V>> iterator () {
+		return new EntryIterator<>(this);
+	}
+
+	/**
+	 * Returns a Set view of the entries in this map. Its iterator reuses one {@link ObjectObjectMap.Entry}, so each
+	 * entry must be copied if it needs to be kept. Nothing can be removed through this view.
+	 *
+	 * @return a Set view of the entries in this map
+	 */
+	@Override
+	public @NonNull Set<Map.Entry<K, V>> entrySet () {
+		return new AbstractSet<Map.Entry<K, V>>() {
+			@Override
+			public @NonNull Iterator<Map.Entry<K, V>> iterator () {
+				return new EntryIterator<>(FrozenObjectObjectMap.this);
+			}
+
+			@Override
+			public int size () {
+				return size;
+			}
+		};
+	}
+
+	public static class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+		protected final FrozenObjectObjectMap<K, V> map;
+		protected final ObjectObjectMap.Entry<K, V> entry = new ObjectObjectMap.Entry<>();
+		protected int index = -1;
+
+		public EntryIterator (FrozenObjectObjectMap<K, V> map) {
+			this.map = map;
+			findNextIndex();
+		}
+
+		protected void findNextIndex () {
+			final @Nullable K[] keyTable = map.keyTable;
+			for (int n = keyTable.length; ++index < n; ) {
+				if (keyTable[index] != null) {return;}
+			}
+		}
+
+		@Override
+		public boolean hasNext () {
+			return index < map.keyTable.length;
+		}
+
+		/**
+		 * Note the same entry instance is returned each time this method is called.
+		 */
+		@Override
+		public Map.Entry<K, V> next () {
+			if (index >= map.keyTable.length) {throw new NoSuchElementException();}
+			entry.key = map.keyTable[index];
+			entry.value = map.valueTable[index];
+			findNextIndex();
+			return entry;
+		}
+	}
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set of Objects, built once from another collection and then only read. Every item has its own slot in
+ * a table with no empty slots, found by a {@link MinimalPerfectHash}, so {@link #contains(Object)} reads one int of
+ * displacement data, then compares one item. Every method that would change this set throws an
+ * {@link UnsupportedOperationException}. Use {@link ObjectSet#toFrozen()} or a constructor here to make one.
+ * <p>
+ * This works the same way as {@link FrozenObjectObjectMap}, including its overflow area for items with equal
+ * hashCodes, its overridable {@link #hash(Object)} and {@link #equate(Object, Object)}, and a constructor that takes
+ * the state directly for serialization.
+ *
+ * @author Tommy Ettinger
+ */
+public class FrozenObjectSet<T> extends AbstractSet<T> {
+
+	protected int size;
+	protected int seed;
+	protected int slotCount;
+	protected int[] displacements;
+	protected @Nullable T[] keyTable;
+
+	/**
+	 * Creates a new frozen set with the same items as the given ObjectSet.
+	 *
+	 * @param set an ObjectSet to copy; will not be modified
+	 */
+	public FrozenObjectSet (ObjectSet<? extends T> set) {
+		build(set);
+	}
+
+	/**
+	 * Creates an empty frozen set with no table yet, for subclasses that need to assign their own fields before calling
+	 * {@link #build(ObjectSet)}, because building calls {@link #hash(Object)}.
+	 */
+	protected FrozenObjectSet () {
+		displacements = Utilities.EMPTY_INTS;
+		keyTable = (T[])Utilities.EMPTY_OBJECTS;
+	}
+
+	/**
+	 * Creates a new frozen set with the items in the given Collection; duplicates are only added once.
+	 *
+	 * @param coll a Collection to copy; will not be modified
+	 */
+	public FrozenObjectSet (Collection<? extends T> coll) {
+		this(coll instanceof ObjectSet ? (ObjectSet<? extends T>)coll : new ObjectSet<>(coll));
+	}
+
+	/**
+	 * Recreates a frozen set from the state of another frozen set, as obtained from {@link #getSeed()},
+	 * {@link #getSlotCount()}, {@link #getDisplacements()}, and {@link #getKeyTable()}. The arrays are used directly,
+	 * not copied.
+	 *
+	 * @param seed          the seed of a {@link MinimalPerfectHash}
+	 * @param slotCount     the slot count of a MinimalPerfectHash
+	 * @param displacements the displacements of a MinimalPerfectHash
+	 * @param keyTable      the items, in their slots, followed by any overflow items
+	 */
+	public FrozenObjectSet (int seed, int slotCount, int[] displacements, @Nullable Object[] keyTable) {
+		this.seed = seed;
+		this.slotCount = slotCount;
+		this.displacements = displacements;
+		this.keyTable = (T[])keyTable;
+		for (Object k : keyTable) {
+			if (k != null) {size++;}
+		}
+	}
+
+	/**
+	 * Builds the perfect hash and the table for the items in {@code set}.
+	 *
+	 * @param set an ObjectSet to copy; will not be modified
+	 */
+	protected void build (ObjectSet<? extends T> set) {
+		final int n = set.size;
+		final Object[] items = new Object[n];
+		final @Nullable Object[] kt = set.keyTable;
+		for (int i = 0, c = 0; c < n; i++) {
+			if (kt[i] != null) {items[c++] = kt[i];}
+		}
+		build(items, n);
+	}
+
+	/**
+	 * Builds the perfect hash and the table for the first {@code n} distinct items.
+	 */
+	protected void build (Object[] items, int n) {
+		final int[] hashes = new int[n];
+		for (int i = 0; i < n; i++) {
+			hashes[i] = hash(items[i]);
+		}
+		final MinimalPerfectHash mph = new MinimalPerfectHash(hashes, n);
+		seed = mph.seed;
+		slotCount = mph.slotCount;
+		displacements = mph.displacements;
+		keyTable = (T[])new Object[mph.tableSize];
+		for (int i = 0; i < n; i++) {
+			keyTable[mph.positions[i]] = (T)items[i];
+		}
+		size = n;
+	}
+
+	/**
+	 * Gets a hash code for an item. The default implementation just calls {@link Object#hashCode()}.
+	 *
+	 * @param item a non-null item
+	 * @return a hash code that is equal for any two items that {@link #equate(Object, Object)} considers equal
+	 */
+	protected int hash (@NonNull Object item) {
+		return item.hashCode();
+	}
+
+	/**
+	 * Compares the objects left and right, which are usually items, for equality, returning true if they are considered
+	 * equal. Normally, this returns {@code left.equals(right)}, but subclasses can override it.
+	 *
+	 * @param left  must be non-null; typically an item being compared, but not necessarily
+	 * @param right may be null; typically an item being compared, but can often be null for an empty slot, or some other type
+	 * @return true if left and right are considered equal for the purposes of this class
+	 */
+	protected boolean equate (Object left, @Nullable Object right) {
+		return left.equals(right);
+	}
+
+	/**
+	 * Returns the index of the item if present, else -1.
+	 *
+	 * @param item an item to look up, which may be null
+	 * @return -1 if the item was not found, or the index of the item if found
+	 */
+	protected int locateKey (@Nullable Object item) {
+		if (item == null) {return -1;}
+		final @Nullable T[] keyTable = this.keyTable;
+		final int i = MinimalPerfectHash.slot(displacements, seed, slotCount, hash(item));
+		if (equate(item, keyTable[i])) {return i;}
+		for (int j = slotCount, n = keyTable.length; j < n; j++) {
+			if (equate(item, keyTable[j])) {return j;}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains (Object item) {
+		return locateKey(item) >= 0;
+	}
+
+	/**
+	 * Gets the item in this set that is considered equal to {@code key}, or null if there is none.
+	 *
+	 * @param key an item to look up
+	 * @return the equivalent item in this set, or null
+	 */
+	@Nullable
+	public T get (T key) {
+		final int i = locateKey(key);
+		return i < 0 ? null : keyTable[i];
+	}
+
+	@Override
+	public int size () {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if the set has one or more items.
+	 *
+	 * @return true if the set has one or more items
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, because this set can't be changed.
+	 */
+	@Override
+	public boolean add (T item) {
+		throw new UnsupportedOperationException("A frozen set cannot be changed.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, because this set can't be changed.
+	 */
+	@Override
+	public boolean remove (Object item) {
+		throw new UnsupportedOperationException("A frozen set cannot be changed.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}, because this set can't be changed.
+	 */
+	@Override
+	public void clear () {
+		throw new UnsupportedOperationException("A frozen set cannot be changed.");
+	}
+
+	/**
+	 * Gets the seed used to choose a bucket for each item, for use with {@link MinimalPerfectHash#slot(int[], int, int, int)}.
+	 *
+	 * @return the seed of the perfect hash
+	 */
+	public int getSeed () {
+		return seed;
+	}
+
+	/**
+	 * Gets how many slots the perfect hash can reach; any slots in the table past this are overflow.
+	 *
+	 * @return the slot count of the perfect hash
+	 */
+	public int getSlotCount () {
+		return slotCount;
+	}
+
+	/**
+	 * Gets the displacement array of the perfect hash directly; this should not be modified.
+	 *
+	 * @return the displacements of the perfect hash
+	 */
+	public int[] getDisplacements () {
+		return displacements;
+	}
+
+	/**
+	 * Gets the item table directly; this should not be modified.
+	 *
+	 * @return the items in their slots, followed by any overflow items
+	 */
+	public @Nullable Object[] getKeyTable () {
+		return keyTable;
+	}
+
+	@Override
+	public int hashCode () {
+		int h = size;
+		final @Nullable T[] keyTable = this.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			T key = keyTable[i];
+			if (key != null) {h += key.hashCode();}
+		}
+		return h ^ h >>> 16;
+	}
+
+	/**
+	 * Returns an iterator over the items in this set. Remove is not supported.
+	 *
+	 * @return an iterator over the items in this set
+	 */
+	@Override
+	public @NonNull Iterator<T> iterator () {
+		return new FrozenIterator<>(this);
+	}
+
+	public static class FrozenIterator<T> implements Iterator<T> {
+		protected final FrozenObjectSet<T> set;
+		protected int index = -1;
+
+		public FrozenIterator (FrozenObjectSet<T> set) {
+			this.set = set;
+			findNextIndex();
+		}
+
+		protected void findNextIndex () {
+			final @Nullable T[] keyTable = set.keyTable;
+			for (int n = keyTable.length; ++index < n; ) {
+				if (keyTable[index] != null) {return;}
+			}
+		}
+
+		@Override
+		public boolean hasNext () {
+			return index < set.keyTable.length;
+		}
+
+		@Override
+		public T next () {
+			if (index >= set.keyTable.length) {throw new NoSuchElementException();}
+			T item = set.keyTable[index];
+			findNextIndex();
+			return item;
+		}
+	}
+}
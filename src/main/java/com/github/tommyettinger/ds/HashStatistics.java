@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.digital.BitConversion;
+
+import java.util.Arrays;
+
+/**
+ * Diagnostic information about the backing table of a hashed map or set, such as {@link ObjectObjectMap},
+ * {@link IntSet}, or {@link HolderSet}. These are obtained from the {@code getStatistics()} method on a hashed type, which
+ * scans the whole backing table each time it is called; nothing here is measured during normal use unless resize tracking
+ * has been turned on with {@code setTrackingStatistics(true)} on that hashed type.
+ * <br>
+ * The probe length of a key is how many slots past its ideal position (as given by {@code place()}) it had to be placed.
+ * A cluster is a run of occupied slots with no empty slots between them; long clusters make both successful and failed
+ * lookups slower. The {@link #getClusterHistogram() cluster histogram} counts clusters by the power of two their length
+ * falls in. If the longest probe is greater than {@link #getBadProbeThreshold()}, {@link #isBadHash()} returns true, which
+ * usually means the keys have a poor {@code hashCode()} or someone is deliberately sending colliding keys.
+ * <br>
+ * The {@link #getRetainedBytes() retained bytes} are an estimate of the memory used by the key and value arrays, plus the
+ * order list's array in insertion-ordered types, assuming a 64-bit JVM with compressed references; the keys and values
+ * themselves (for Object types) are not counted.
+ */
+public class HashStatistics {
+	/**
+	 * The assumed size of an object reference in an array, in bytes.
+	 */
+	public static final int REFERENCE_BYTES = 4;
+
+	protected int tableSize;
+	protected int size;
+	protected int occupied;
+	protected long probeTotal;
+	protected int maxProbe;
+	protected int clusterCount;
+	protected int maxCluster;
+	/**
+	 * Index {@code b} holds the number of clusters with a length from {@code 2 to the b} (inclusive) to
+	 * {@code 2 to the b+1} (exclusive).
+	 */
+	protected final int[] clusterHistogram = new int[32];
+	protected long retainedBytes;
+	protected int resizeCount;
+	protected long resizeNanos;
+	/**
+	 * If 0 or less, {@link #getBadProbeThreshold()} picks a threshold based on the table size.
+	 */
+	protected int badProbeThreshold;
+
+	private int run;
+	private int firstRun;
+	private boolean leading;
+
+	/**
+	 * Creates an empty HashStatistics with no resizes recorded.
+	 */
+	public HashStatistics () {
+	}
+
+	/**
+	 * Starts a new scan of a backing table, clearing everything except resize information.
+	 * Called by hashed types before they call {@link #probe(int)} or {@link #empty()} for each slot in order.
+	 *
+	 * @param tableSize the length of the key table that will be scanned
+	 * @param size      the number of items in the hashed type, which may include one not stored in the table
+	 */
+	public void begin (int tableSize, int size) {
+		this.tableSize = tableSize;
+		this.size = size;
+		occupied = 0;
+		probeTotal = 0L;
+		maxProbe = 0;
+		clusterCount = 0;
+		maxCluster = 0;
+		Arrays.fill(clusterHistogram, 0);
+		retainedBytes = 0L;
+		run = 0;
+		firstRun = 0;
+		leading = true;
+	}
+
+	/**
+	 * Records the next slot in the table as holding a key that was placed {@code probe} slots past its ideal position.
+	 *
+	 * @param probe how far the key in this slot is from where {@code place()} put it, wrapping around the table
+	 */
+	public void probe (int probe) {
+		occupied++;
+		probeTotal += probe;
+		if (probe > maxProbe) maxProbe = probe;
+		run++;
+	}
+
+	/**
+	 * Records the next slot in the table as empty.
+	 */
+	public void empty () {
+		if (leading) {
+			// The first cluster may continue from the end of the table, so it is counted in finish().
+			firstRun = run;
+			leading = false;
+		} else if (run > 0) {
+			addCluster(run);
+		}
+		run = 0;
+	}
+
+	/**
+	 * Completes a scan started with {@link #begin(int, int)}.
+	 *
+	 * @param retainedBytes the estimated size of the backing arrays, as from {@link #arrayBytes(int, int)}
+	 */
+	public void finish (long retainedBytes) {
+		this.retainedBytes = retainedBytes;
+		if (leading) {
+			if (run > 0) addCluster(run);
+		} else if (run + firstRun > 0) {
+			addCluster(run + firstRun);
+		}
+		run = 0;
+		firstRun = 0;
+	}
+
+	private void addCluster (int length) {
+		clusterCount++;
+		if (length > maxCluster) maxCluster = length;
+		clusterHistogram[31 - BitConversion.countLeadingZeros(length)]++;
+	}
+
+	/**
+	 * Records that a resize took {@code nanos} nanoseconds. Called by hashed types when tracking is on.
+	 *
+	 * @param nanos how long the resize took, in nanoseconds
+	 */
+	public void recordResize (long nanos) {
+		resizeCount++;
+		resizeNanos += nanos;
+	}
+
+	/**
+	 * Clears the resize count and total resize time.
+	 */
+	public void resetResizes () {
+		resizeCount = 0;
+		resizeNanos = 0L;
+	}
+
+	/**
+	 * Estimates the number of bytes used by an array with the given length and size per element, including the array
+	 * header and padding to a multiple of 8 bytes.
+	 *
+	 * @param length       the length of the array
+	 * @param elementBytes how many bytes each element uses; use {@link #REFERENCE_BYTES} for Object arrays
+	 * @return the estimated size of the array in bytes
+	 */
+	public static long arrayBytes (int length, int elementBytes) {
+		return 16L + (long)length * elementBytes + 7L & -8L;
+	}
+
+	/**
+	 * @return the length of the key table when it was last scanned
+	 */
+	public int getTableSize () {
+		return tableSize;
+	}
+
+	/**
+	 * @return the number of items in the hashed type when it was last scanned
+	 */
+	public int getSize () {
+		return size;
+	}
+
+	/**
+	 * @return the number of occupied slots in the key table; this can be one less than {@link #getSize()} for primitive
+	 * types that store the key 0 outside the table
+	 */
+	public int getOccupied () {
+		return occupied;
+	}
+
+	/**
+	 * @return the mean probe length over all occupied slots, or 0 if there are none
+	 */
+	public double getAverageProbe () {
+		return occupied == 0 ? 0.0 : probeTotal / (double)occupied;
+	}
+
+	/**
+	 * @return the longest probe length of any key in the table
+	 */
+	public int getMaxProbe () {
+		return maxProbe;
+	}
+
+	/**
+	 * @return how many clusters of occupied slots are in the table
+	 */
+	public int getClusterCount () {
+		return clusterCount;
+	}
+
+	/**
+	 * @return the length of the longest cluster of occupied slots
+	 */
+	public int getMaxClusterLength () {
+		return maxCluster;
+	}
+
+	/**
+	 * Gets the cluster-length histogram. Index {@code b} holds the number of clusters with a length of at least
+	 * {@code 1 << b} and less than {@code 1 << b + 1}, so index 0 counts clusters of length 1, index 1 counts lengths 2
+	 * and 3, index 2 counts lengths 4 through 7, and so on. This returns a copy.
+	 *
+	 * @return a new 32-element int array holding the cluster-length histogram
+	 */
+	public int[] getClusterHistogram () {
+		return Arrays.copyOf(clusterHistogram, 32);
+	}
+
+	/**
+	 * @return the estimated number of bytes used by the key, value, and order arrays
+	 */
+	public long getRetainedBytes () {
+		return retainedBytes;
+	}
+
+	/**
+	 * @return how many times the hashed type resized while tracking was on
+	 */
+	public int getResizeCount () {
+		return resizeCount;
+	}
+
+	/**
+	 * @return the total time spent resizing while tracking was on, in nanoseconds
+	 */
+	public long getResizeNanos () {
+		return resizeNanos;
+	}
+
+	/**
+	 * Gets the longest probe length that is still considered acceptable. If no threshold was set, this is
+	 * {@code max(16, 4 * log2(tableSize))}, which ordinary hashes at any load factor the library allows should not exceed.
+	 *
+	 * @return the largest acceptable probe length
+	 */
+	public int getBadProbeThreshold () {
+		if (badProbeThreshold > 0) return badProbeThreshold;
+		return Math.max(16, 4 * (31 - BitConversion.countLeadingZeros(Math.max(1, tableSize))));
+	}
+
+	/**
+	 * Sets the longest probe length that is still considered acceptable; if 0 or less, a default is used.
+	 *
+	 * @param badProbeThreshold the largest acceptable probe length, or 0 to use the default
+	 * @return this, for chaining
+	 */
+	public HashStatistics setBadProbeThreshold (int badProbeThreshold) {
+		this.badProbeThreshold = badProbeThreshold;
+		return this;
+	}
+
+	/**
+	 * @return true if the longest probe is greater than {@link #getBadProbeThreshold()}
+	 */
+	public boolean isBadHash () {
+		return maxProbe > getBadProbeThreshold();
+	}
+
+	@Override
+	public String toString () {
+		StringBuilder sb = new StringBuilder(160);
+		sb.append("HashStatistics{size=").append(size)
+			.append(", tableSize=").append(tableSize)
+			.append(", averageProbe=").append(getAverageProbe())
+			.append(", maxProbe=").append(maxProbe)
+			.append(", clusters=").append(clusterCount)
+			.append(", maxCluster=").append(maxCluster)
+			.append(", retainedBytes=").append(retainedBytes)
+			.append(", resizes=").append(resizeCount)
+			.append(", resizeNanos=").append(resizeNanos).append('}');
+		if (isBadHash())
+			sb.append(" WARNING: bad hash, max probe ").append(maxProbe)
+				.append(" exceeds ").append(getBadProbeThreshold());
+		return sb.toString();
+	}
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The hash-array-mapped trie shared by {@link PersistentMap} and {@link PersistentSet}. Each node has a 32-bit map of
+ * which 5-bit hash fragments hold an entry directly, and another of which hold a child node; the content array has
+ * the key/value pairs first, in fragment order, then the child nodes, in fragment order. Once all 32 bits of a hash
+ * have been used (below depth 6), a node just holds a flat list of key/value pairs whose hashes are all equal.
+ * <br>
+ * Nodes are never changed after they have been shared, except by the transient that owns them: a node whose
+ * {@code edit} field is the same token a transient holds was created by that transient, and can be changed in place.
+ * Every other change copies the path from the root to the changed node, and shares everything else.
+ */
+final class HashTrie {
+	private HashTrie () {
+	}
+
+	/**
+	 * Returned by {@link #find(Node, Object, int)} when a key is absent, since null can be a valid value.
+	 */
+	static final Object NOT_FOUND = new Object();
+
+	static final Node EMPTY = new Node(0, 0, new Object[0], null);
+
+	static final class Node {
+		int dataMap, nodeMap;
+		Object[] content;
+		@Nullable Object edit;
+
+		Node (int dataMap, int nodeMap, Object[] content, @Nullable Object edit) {
+			this.dataMap = dataMap;
+			this.nodeMap = nodeMap;
+			this.content = content;
+			this.edit = edit;
+		}
+	}
+
+	/**
+	 * Reports what a call to put or remove did, since the node returned may be the same node in either case.
+	 */
+	static final class Change {
+		boolean modified, added;
+		@Nullable Object old;
+
+		Change reset () {
+			modified = added = false;
+			old = null;
+			return this;
+		}
+	}
+
+	/**
+	 * Mixes a hashCode so that the low bits, which pick the branches near the root, depend on all the bits.
+	 */
+	static int hash (Object key) {
+		return MinimalPerfectHash.mix(key.hashCode(), 0);
+	}
+
+	static Object find (Node node, Object key, int hash) {
+		for (int shift = 0; ; shift += 5) {
+			final Object[] c = node.content;
+			if (shift >= 32) {
+				for (int i = 0; i < c.length; i += 2) {
+					if (key.equals(c[i])) {return c[i + 1];}
+				}
+				return NOT_FOUND;
+			}
+			final int bit = 1 << (hash >>> shift & 31);
+			if ((node.dataMap & bit) != 0) {
+				final int i = Integer.bitCount(node.dataMap & bit - 1) << 1;
+				return key.equals(c[i]) ? c[i + 1] : NOT_FOUND;
+			}
+			if ((node.nodeMap & bit) == 0) {return NOT_FOUND;}
+			node = (Node)c[(Integer.bitCount(node.dataMap) << 1) + Integer.bitCount(node.nodeMap & bit - 1)];
+		}
+	}
+
+	private static Node editable (Node node, @Nullable Object edit) {
+		if (edit != null && node.edit == edit) {return node;}
+		return new Node(node.dataMap, node.nodeMap, node.content.clone(), edit);
+	}
+
+	private static Node withContent (Node node, @Nullable Object edit, int dataMap, int nodeMap, Object[] content) {
+		if (edit != null && node.edit == edit) {
+			node.dataMap = dataMap;
+			node.nodeMap = nodeMap;
+			node.content = content;
+			return node;
+		}
+		return new Node(dataMap, nodeMap, content, edit);
+	}
+
+	private static Node merge (@Nullable Object edit, Object k0, int h0, @Nullable Object v0,
+							   Object k1, int h1, @Nullable Object v1, int shift) {
+		if (shift >= 32) {
+			return new Node(0, 0, new Object[]{k0, v0, k1, v1}, edit);
+		}
+		final int f0 = h0 >>> shift & 31, f1 = h1 >>> shift & 31;
+		if (f0 == f1) {
+			return new Node(0, 1 << f0, new Object[]{merge(edit, k0, h0, v0, k1, h1, v1, shift + 5)}, edit);
+		}
+		return new Node(1 << f0 | 1 << f1, 0, f0 < f1 ? new Object[]{k0, v0, k1, v1} : new Object[]{k1, v1, k0, v0}, edit);
+	}
+
+	static Node put (Node node, @Nullable Object edit, Object key, int hash, @Nullable Object value, int shift, Change change) {
+		final Object[] c = node.content;
+		final int len = c.length;
+		if (shift >= 32) {
+			for (int i = 0; i < len; i += 2) {
+				if (key.equals(c[i])) {
+					change.old = c[i + 1];
+					if (c[i + 1] == value) {return node;}
+					change.modified = true;
+					Node n = editable(node, edit);
+					n.content[i + 1] = value;
+					return n;
+				}
+			}
+			Object[] nc = new Object[len + 2];
+			System.arraycopy(c, 0, nc, 0, len);
+			nc[len] = key;
+			nc[len + 1] = value;
+			change.modified = change.added = true;
+			return withContent(node, edit, 0, 0, nc);
+		}
+		final int bit = 1 << (hash >>> shift & 31);
+		final int dataEnd = Integer.bitCount(node.dataMap) << 1;
+		if ((node.dataMap & bit) != 0) {
+			final int i = Integer.bitCount(node.dataMap & bit - 1) << 1;
+			final Object k = c[i];
+			if (key.equals(k)) {
+				change.old = c[i + 1];
+				if (c[i + 1] == value) {return node;}
+				change.modified = true;
+				Node n = editable(node, edit);
+				n.content[i + 1] = value;
+				return n;
+			}
+			// Two keys share this fragment; the old entry moves down into a new child with the new one.
+			final Node child = merge(edit, k, hash(k), c[i + 1], key, hash, value, shift + 5);
+			final int j = Integer.bitCount(node.nodeMap & bit - 1);
+			Object[] nc = new Object[len - 1];
+			System.arraycopy(c, 0, nc, 0, i);
+			System.arraycopy(c, i + 2, nc, i, dataEnd - i - 2 + j);
+			nc[dataEnd - 2 + j] = child;
+			System.arraycopy(c, dataEnd + j, nc, dataEnd - 1 + j, len - dataEnd - j);
+			change.modified = change.added = true;
+			return withContent(node, edit, node.dataMap ^ bit, node.nodeMap | bit, nc);
+		}
+		if ((node.nodeMap & bit) != 0) {
+			final int j = dataEnd + Integer.bitCount(node.nodeMap & bit - 1);
+			final Node sub = (Node)c[j];
+			final Node ns = put(sub, edit, key, hash, value, shift + 5, change);
+			if (ns == sub) {return node;}
+			Node n = editable(node, edit);
+			n.content[j] = ns;
+			return n;
+		}
+		final int i = Integer.bitCount(node.dataMap & bit - 1) << 1;
+		Object[] nc = new Object[len + 2];
+		System.arraycopy(c, 0, nc, 0, i);
+		nc[i] = key;
+		nc[i + 1] = value;
+		System.arraycopy(c, i, nc, i + 2, len - i);
+		change.modified = change.added = true;
+		return withContent(node, edit, node.dataMap | bit, node.nodeMap, nc);
+	}
+
+	static Node remove (Node node, @Nullable Object edit, Object key, int hash, int shift, Change change) {
+		final Object[] c = node.content;
+		final int len = c.length;
+		if (shift >= 32) {
+			for (int i = 0; i < len; i += 2) {
+				if (key.equals(c[i])) {
+					change.old = c[i + 1];
+					change.modified = true;
+					Object[] nc = new Object[len - 2];
+					System.arraycopy(c, 0, nc, 0, i);
+					System.arraycopy(c, i + 2, nc, i, len - i - 2);
+					return withContent(node, edit, 0, 0, nc);
+				}
+			}
+			return node;
+		}
+		final int bit = 1 << (hash >>> shift & 31);
+		final int dataEnd = Integer.bitCount(node.dataMap) << 1;
+		if ((node.dataMap & bit) != 0) {
+			final int i = Integer.bitCount(node.dataMap & bit - 1) << 1;
+			if (!key.equals(c[i])) {return node;}
+			change.old = c[i + 1];
+			change.modified = true;
+			Object[] nc = new Object[len - 2];
+			System.arraycopy(c, 0, nc, 0, i);
+			System.arraycopy(c, i + 2, nc, i, len - i - 2);
+			return withContent(node, edit, node.dataMap ^ bit, node.nodeMap, nc);
+		}
+		if ((node.nodeMap & bit) != 0) {
+			final int j = dataEnd + Integer.bitCount(node.nodeMap & bit - 1);
+			final Node sub = (Node)c[j];
+			final Node ns = remove(sub, edit, key, hash, shift + 5, change);
+			if (!change.modified) {return node;}
+			if (ns.nodeMap == 0 && ns.content.length == 2) {
+				// The child has one entry left, so it moves up into this node.
+				final int i = Integer.bitCount(node.dataMap & bit - 1) << 1;
+				Object[] nc = new Object[len + 1];
+				System.arraycopy(c, 0, nc, 0, i);
+				nc[i] = ns.content[0];
+				nc[i + 1] = ns.content[1];
+				System.arraycopy(c, i, nc, i + 2, j - i);
+				System.arraycopy(c, j + 1, nc, j + 2, len - j - 1);
+				return withContent(node, edit, node.dataMap | bit, node.nodeMap ^ bit, nc);
+			}
+			Node n = editable(node, edit);
+			n.content[j] = ns;
+			return n;
+		}
+		return node;
+	}
+
+	/**
+	 * Walks a trie depth-first, stopping at each key/value pair.
+	 */
+	static class Cursor {
+		private final Node[] nodes = new Node[8];
+		private final int[] dataPos = new int[8];
+		private final int[] nodePos = new int[8];
+		private int depth;
+		private boolean ready, done;
+		@Nullable Object key, value;
+
+		Cursor (Node root) {
+			nodes[0] = root;
+		}
+
+		boolean hasNext () {
+			if (!ready && !done) {
+				done = !advance();
+				ready = !done;
+			}
+			return ready;
+		}
+
+		void next () {
+			if (!hasNext()) {throw new NoSuchElementException("No more entries.");}
+			ready = false;
+		}
+
+		private boolean advance () {
+			while (depth >= 0) {
+				final Node n = nodes[depth];
+				final Object[] c = n.content;
+				final int dataCount = depth >= 7 ? c.length >>> 1 : Integer.bitCount(n.dataMap);
+				if (dataPos[depth] < dataCount) {
+					final int i = dataPos[depth]++ << 1;
+					key = c[i];
+					value = c[i + 1];
+					return true;
+				}
+				if (depth < 7 && nodePos[depth] < Integer.bitCount(n.nodeMap)) {
+					final Node child = (Node)c[(dataCount << 1) + nodePos[depth]++];
+					nodes[++depth] = child;
+					dataPos[depth] = 0;
+					nodePos[depth] = 0;
+					continue;
+				}
+				depth--;
+			}
+			return false;
+		}
+	}
+}
@@ -344,6 +344,17 @@ public class HolderOrderedSet<T, K> extends HolderSet<T, K> implements Ordered<T
 		return items;
 	}
 
+	/**
+	 * Adds the backing array of the order of items to the estimate from the superclass. An ObjectList does not expose
+	 * its capacity, so only its size is counted.
+	 *
+	 * @return the estimated size of the backing arrays, including the order, in bytes
+	 */
+	@Override
+	protected long retainedBytes () {
+		return super.retainedBytes() + HashStatistics.arrayBytes(items.size(), HashStatistics.REFERENCE_BYTES);
+	}
+
 	/**
 	 * Sorts this ObjectOrderedSet in-place by the T items' natural ordering; {@code T} must implement {@link Comparable}.
 	 */
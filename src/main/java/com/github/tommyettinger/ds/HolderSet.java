@@ -84,6 +84,12 @@ public class HolderSet<T, K> implements Iterable<T>, Set<T>, EnhancedCollection<
      */
     protected int hashMultiplier;
 
+    /**
+     * Holds the resize count and time while resize tracking is on; null otherwise.
+     * See {@link #setTrackingStatistics(boolean)}.
+     */
+    @Nullable protected transient HashStatistics statistics;
+
     @Nullable
     protected transient HolderSetIterator<T, K> iterator1;
     @Nullable
@@ -664,6 +670,7 @@ public class HolderSet<T, K> implements Iterable<T>, Set<T>, EnhancedCollection<
 
     @SuppressWarnings("unchecked")
     protected void resize(int newSize) {
+        final long start = statistics == null ? 0L : System.nanoTime();
         int oldCapacity = keyTable.length;
         threshold = (int) (newSize * loadFactor);
         mask = newSize - 1;
@@ -681,6 +688,7 @@ public class HolderSet<T, K> implements Iterable<T>, Set<T>, EnhancedCollection<
                 }
             }
         }
+        if (statistics != null) statistics.recordResize(System.nanoTime() - start);
     }
 
     /**
@@ -714,6 +722,58 @@ public class HolderSet<T, K> implements Iterable<T>, Set<T>, EnhancedCollection<
         return keyTable.length;
     }
 
+    /**
+     * Turns resize tracking on or off for {@link #getStatistics()}. While tracking is on, each call to
+     * {@link #resize(int)} is counted and timed; turning it off discards what was recorded. Tracking is off by default,
+     * and nothing is measured during normal use unless it is on.
+     *
+     * @param track true to count and time resizes, false to stop
+     */
+    public void setTrackingStatistics (boolean track) {
+        if (!track) statistics = null;
+        else if (statistics == null) statistics = new HashStatistics();
+    }
+
+    /**
+     * Returns true if resizes are being counted and timed for {@link #getStatistics()}.
+     *
+     * @return true if resize tracking is on
+     */
+    public boolean isTrackingStatistics () {
+        return statistics != null;
+    }
+
+    /**
+     * Scans the backing table and reports the probe lengths, cluster lengths, and estimated memory use of this set; see
+     * {@link HashStatistics}. This takes time proportional to {@link #getTableSize()}, so it is meant for diagnosing a
+     * slow set rather than for routine use. If {@link #setTrackingStatistics(boolean) tracking} is on, the result also has
+     * the resize count and time, and the same HashStatistics object is updated and returned on each call.
+     *
+     * @return a HashStatistics describing the current state of the backing table
+     */
+    public HashStatistics getStatistics () {
+        final HashStatistics stats = statistics == null ? new HashStatistics() : statistics;
+        final @Nullable T[] keyTable = this.keyTable;
+        final int n = keyTable.length;
+        stats.begin(n, size);
+        for (int i = 0; i < n; i++) {
+            T k = keyTable[i];
+            if (k == null) stats.empty();
+            else stats.probe(i - place(extractor.apply(k)) & mask);
+        }
+        stats.finish(retainedBytes());
+        return stats;
+    }
+
+    /**
+     * Estimates the memory used by the key array of this set, in bytes, for {@link #getStatistics()}.
+     *
+     * @return the estimated size of the backing arrays in bytes
+     */
+    protected long retainedBytes () {
+        return HashStatistics.arrayBytes(keyTable.length, HashStatistics.REFERENCE_BYTES);
+    }
+
     @Override
     public Object @NonNull [] toArray() {
         return toArray(new Object[size()]);
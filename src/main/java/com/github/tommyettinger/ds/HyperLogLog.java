@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.digital.BitConversion;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Estimates how many distinct keys have been added, using a fixed amount of memory no matter how many there are. This
+ * can replace an {@link ObjectSet} or {@link LongSet} that is only used for its {@code size()}. With precision
+ * {@code p}, this uses {@code 2^p} bytes, and the estimate is usually within {@code 1.04 / sqrt(2^p)} of the true
+ * count; the default precision of 12 uses 4 KB and is usually within about 1.6%.
+ * <br>
+ * Each key's hashCode is mixed with {@link BitConversion#imul(int, int)} and multipliers from
+ * {@link Utilities#GOOD_MULTIPLIERS}; the top {@code p} bits pick a register, and the register keeps the most leading
+ * zero bits seen in the rest. Keys with equal hashCodes count as one key, and because hashCodes are 32-bit, estimates
+ * become less reliable past a few hundred million distinct keys.
+ * <br>
+ * Two HyperLogLogs with the same precision and seed can be combined with {@link #merge(HyperLogLog)}, which gives the
+ * same result as if every key had been added to one of them; this allows counting on separate threads and merging
+ * at the end. A HyperLogLog itself is not thread-safe.
+ *
+ * @author Tommy Ettinger
+ */
+public class HyperLogLog {
+	protected final byte[] registers;
+	protected final int precision;
+	protected final int seed;
+
+	/**
+	 * Creates a HyperLogLog with precision 12, which uses 4 KB.
+	 */
+	public HyperLogLog () {
+		this(12, 0);
+	}
+
+	/**
+	 * Creates a HyperLogLog with the given precision.
+	 *
+	 * @param precision from 4 to 18; each increase doubles the memory used and makes estimates about 1.4 times closer
+	 */
+	public HyperLogLog (int precision) {
+		this(precision, 0);
+	}
+
+	/**
+	 * Creates a HyperLogLog with the given precision and seed. HyperLogLogs can only be merged if they have the same
+	 * precision and seed.
+	 *
+	 * @param precision from 4 to 18; each increase doubles the memory used and makes estimates about 1.4 times closer
+	 * @param seed      any int; changes how keys are hashed
+	 */
+	public HyperLogLog (int precision, int seed) {
+		this.precision = Math.min(Math.max(precision, 4), 18);
+		this.seed = seed;
+		registers = new byte[1 << this.precision];
+	}
+
+	/**
+	 * Creates a copy of another HyperLogLog, which can be merged with it.
+	 *
+	 * @param other another HyperLogLog to copy
+	 */
+	public HyperLogLog (HyperLogLog other) {
+		precision = other.precision;
+		seed = other.seed;
+		registers = Arrays.copyOf(other.registers, other.registers.length);
+	}
+
+	/**
+	 * Mixes a hashCode so that every bit of the result depends on every bit of the input.
+	 */
+	protected int mix (int hash) {
+		hash = BitConversion.imul(hash ^ hash >>> 16, Utilities.GOOD_MULTIPLIERS[seed & 511]);
+		hash = BitConversion.imul(hash ^ hash >>> 15, Utilities.GOOD_MULTIPLIERS[(seed >>> 9 & 511) ^ 1]);
+		return hash ^ hash >>> 16;
+	}
+
+	protected boolean addHash (int hash) {
+		final int h = mix(hash);
+		final int i = h >>> 32 - precision;
+		final int rank = Math.min(Integer.numberOfLeadingZeros(h << precision), 32 - precision) + 1;
+		if (rank > registers[i]) {
+			registers[i] = (byte)rank;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds a key.
+	 *
+	 * @param key any Object; if null, this does nothing
+	 * @return true if this changed the estimate
+	 */
+	public boolean add (@Nullable Object key) {
+		return key != null && addHash(key.hashCode());
+	}
+
+	/**
+	 * Adds a key.
+	 *
+	 * @param key any long
+	 * @return true if this changed the estimate
+	 */
+	public boolean add (long key) {
+		return addHash((int)(key ^ key >>> 32));
+	}
+
+	/**
+	 * Estimates how many distinct keys have been added.
+	 *
+	 * @return the estimated number of distinct keys
+	 */
+	public long size () {
+		final int m = registers.length;
+		double sum = 0.0;
+		int zeros = 0;
+		for (byte r : registers) {
+			sum += Math.scalb(1.0, -r);
+			if (r == 0) {zeros++;}
+		}
+		final double alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1.0 + 1.079 / m);
+		double estimate = alpha * m * m / sum;
+		if (estimate <= 2.5 * m && zeros != 0) {
+			// Linear counting is more accurate while many registers are still empty.
+			estimate = m * Math.log((double)m / zeros);
+		} else if (estimate > 0x1p32 / 30.0) {
+			// Corrects for hash collisions in the 32-bit hash space.
+			estimate = -0x1p32 * Math.log(1.0 - estimate / 0x1p32);
+		}
+		return Math.round(estimate);
+	}
+
+	/**
+	 * Returns true if nothing has been added.
+	 *
+	 * @return true if nothing has been added
+	 */
+	public boolean isEmpty () {
+		for (byte r : registers) {
+			if (r != 0) {return false;}
+		}
+		return true;
+	}
+
+	/**
+	 * Adds every key that was added to other into this. Both must have the same precision and seed.
+	 *
+	 * @param other another HyperLogLog with the same precision and seed; will not be modified
+	 * @throws IllegalArgumentException if the HyperLogLogs are not compatible
+	 */
+	public void merge (HyperLogLog other) {
+		if (other.precision != precision || other.seed != seed) {
+			throw new IllegalArgumentException("Only HyperLogLogs with the same precision and seed can be merged.");
+		}
+		final byte[] o = other.registers;
+		for (int i = 0; i < registers.length; i++) {
+			if (o[i] > registers[i]) {registers[i] = o[i];}
+		}
+	}
+
+	public int getPrecision () {
+		return precision;
+	}
+
+	public int getSeed () {
+		return seed;
+	}
+
+	/**
+	 * Forgets every key.
+	 */
+	public void clear () {
+		Arrays.fill(registers, (byte)0);
+	}
+}
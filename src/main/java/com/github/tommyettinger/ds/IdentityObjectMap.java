@@ -123,8 +123,86 @@ public class IdentityObjectMap<K, V> extends ObjectObjectMap<K, V> {
 		return left == right;
 	}
 
+	/**
+	 * Always returns false. Keys are compared by reference here, which compareTo() can't distinguish, so this can't
+	 * treeify colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this map that uses a {@link MinimalPerfectHash} to find keys, still comparing keys by
+	 * identity.
+	 *
+	 * @return a new {@link IdentityObjectMap.Frozen} with the same contents as this
+	 */
+	@Override
+	public IdentityObjectMap.Frozen<K, V> toFrozen () {
+		return new IdentityObjectMap.Frozen<>(this);
+	}
+
+	/**
+	 * An immutable map that compares keys by identity, as returned by {@link #toFrozen()}. This is a
+	 * {@link FrozenObjectObjectMap} that hashes keys with {@link System#identityHashCode(Object)}.
+	 *
+	 * @param <K> the type of keys
+	 * @param <V> the type of values
+	 */
+	public static class Frozen<K, V> extends FrozenObjectObjectMap<K, V> {
+		/**
+		 * Creates a new frozen map with the same keys and values as the given map, which should compare its keys by
+		 * identity, such as an IdentityObjectMap or {@link IdentityObjectOrderedMap}.
+		 *
+		 * @param map a map with identity-compared keys to copy; will not be modified
+		 */
+		public Frozen (ObjectObjectMap<? extends K, ? extends V> map) {
+			super(map);
+		}
+
+		/**
+		 * Recreates a frozen map from the state of another IdentityObjectMap.Frozen; see
+		 * {@link FrozenObjectObjectMap#FrozenObjectObjectMap(int, int, int[], Object[], Object[])}. Because identity
+		 * hash codes aren't stable between runs, this is only useful within one run.
+		 */
+		public Frozen (int seed, int slotCount, int[] displacements, @Nullable Object[] keyTable, @Nullable Object[] valueTable) {
+			super(seed, slotCount, displacements, keyTable, valueTable);
+		}
+
+		@Override
+		protected int hash (@NonNull Object item) {
+			return System.identityHashCode(item);
+		}
+
+		@Override
+		protected boolean equate (Object left, @Nullable Object right) {
+			return left == right;
+		}
+
+		@Override
+		public int hashCode () {
+			int h = size;
+			@Nullable K[] keyTable = this.keyTable;
+			@Nullable V[] valueTable = this.valueTable;
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				K key = keyTable[i];
+				if (key != null) {
+					h ^= System.identityHashCode(key);
+					V value = valueTable[i];
+					if (value != null) {h ^= value.hashCode();}
+				}
+			}
+			return h;
+		}
+	}
+
 	@Override
 	public int hashCode () {
+		settle();
 		int h = size;
 		@Nullable K[] keyTable = this.keyTable;
 		@Nullable V[] valueTable = this.valueTable;
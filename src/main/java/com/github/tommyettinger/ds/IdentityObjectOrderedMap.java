@@ -145,8 +145,32 @@ public class IdentityObjectOrderedMap<K, V> extends ObjectObjectOrderedMap<K, V>
 		return left == right;
 	}
 
+	/**
+	 * Always returns false. Keys are compared by reference here, which compareTo() can't distinguish, so this can't
+	 * treeify colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this map that uses a {@link MinimalPerfectHash} to find keys, still comparing keys by identity.
+	 * The frozen copy doesn't keep the insertion order.
+	 *
+	 * @return a new {@link IdentityObjectMap.Frozen} with the same contents as this
+	 */
+	@Override
+	public IdentityObjectMap.Frozen<K, V> toFrozen () {
+		return new IdentityObjectMap.Frozen<>(this);
+	}
+
 	@Override
 	public int hashCode () {
+		settle();
 		int h = size;
 		@Nullable K[] keyTable = this.keyTable;
 		@Nullable V[] valueTable = this.valueTable;
@@ -88,6 +88,29 @@ public class IdentityOrderedSet<T> extends ObjectOrderedSet<T> {
 		return left == right;
 	}
 
+	/**
+	 * Always returns false. Keys are compared by reference here, which compareTo() can't distinguish, so this can't
+	 * treeify colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this set that uses a {@link MinimalPerfectHash} to find items, still comparing items by identity.
+	 * The frozen copy doesn't keep the insertion order.
+	 *
+	 * @return a new {@link IdentitySet.Frozen} with the same contents as this
+	 */
+	@Override
+	public IdentitySet.Frozen<T> toFrozen () {
+		return new IdentitySet.Frozen<>(this);
+	}
+
 	@Override
 	public int hashCode () {
 		int h = size;
@@ -83,6 +83,77 @@ public class IdentitySet<T> extends ObjectSet<T> {
 		return left == right;
 	}
 
+	/**
+	 * Always returns false. Keys are compared by reference here, which compareTo() can't distinguish, so this can't
+	 * treeify colliding keys, but it can still re-seed when {@link #setProbeLimit(int)} is used.
+	 *
+	 * @param key ignored
+	 * @return false
+	 */
+	@Override
+	protected boolean canTreeify (Object key) {
+		return false;
+	}
+
+	/**
+	 * Creates an immutable copy of this set that uses a {@link MinimalPerfectHash} to find items, still comparing items
+	 * by identity.
+	 *
+	 * @return a new {@link IdentitySet.Frozen} with the same contents as this
+	 */
+	@Override
+	public IdentitySet.Frozen<T> toFrozen () {
+		return new IdentitySet.Frozen<>(this);
+	}
+
+	/**
+	 * An immutable set that compares items by identity, as returned by {@link #toFrozen()}. This is a
+	 * {@link FrozenObjectSet} that hashes items with {@link System#identityHashCode(Object)}.
+	 *
+	 * @param <T> the type of items
+	 */
+	public static class Frozen<T> extends FrozenObjectSet<T> {
+		/**
+		 * Creates a new frozen set with the same items as the given set, which should compare its items by identity,
+		 * such as an IdentitySet or {@link IdentityOrderedSet}.
+		 *
+		 * @param set a set with identity-compared items to copy; will not be modified
+		 */
+		public Frozen (ObjectSet<? extends T> set) {
+			super(set);
+		}
+
+		/**
+		 * Recreates a frozen set from the state of another IdentitySet.Frozen; see
+		 * {@link FrozenObjectSet#FrozenObjectSet(int, int, int[], Object[])}. Because identity hash codes aren't
+		 * stable between runs, this is only useful within one run.
+		 */
+		public Frozen (int seed, int slotCount, int[] displacements, @Nullable Object[] keyTable) {
+			super(seed, slotCount, displacements, keyTable);
+		}
+
+		@Override
+		protected int hash (@NonNull Object item) {
+			return System.identityHashCode(item);
+		}
+
+		@Override
+		protected boolean equate (Object left, @Nullable Object right) {
+			return left == right;
+		}
+
+		@Override
+		public int hashCode () {
+			int h = size;
+			@Nullable T[] keyTable = this.keyTable;
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				T key = keyTable[i];
+				if (key != null) {h += System.identityHashCode(key);}
+			}
+			return h ^ h >>> 16;
+		}
+	}
+
 	@Override
 	public int hashCode () {
 		int h = size;
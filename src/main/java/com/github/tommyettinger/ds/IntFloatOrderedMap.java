@@ -570,6 +570,16 @@ public class IntFloatOrderedMap extends IntFloatMap implements Ordered.OfInt {
 		return keys;
 	}
 
+	/**
+	 * Adds the backing array of the order of keys to the estimate from the superclass.
+	 *
+	 * @return the estimated size of the backing arrays, including the order, in bytes
+	 */
+	@Override
+	protected long retainedBytes () {
+		return super.retainedBytes() + HashStatistics.arrayBytes(keys.items.length, 4);
+	}
+
 	/**
 	 * Sorts this IntFloatOrderedMap in-place by the keys' natural ordering.
 	 */
@@ -591,11 +601,22 @@ public class IntFloatOrderedMap extends IntFloatMap implements Ordered.OfInt {
 	 * Sorts this IntFloatOrderedMap in-place by the given {@link FloatComparator} used on the values. {@code comp}
 	 * must not be null.  You can use {@link FloatComparators#NATURAL_COMPARATOR}
 	 * to do what {@link #sort()} does (just sorting values in this case instead of keys).
+	 * <br>
+	 * This gets each value only once, then stably sorts their positions with
+	 * {@link IntComparators#argsort(int, IntComparator)}, so no values are looked up during comparisons.
 	 *
 	 * @param comp a non-null FloatComparator, such as one from {@link FloatComparators}
 	 */
 	public void sortByValue (FloatComparator comp) {
-		keys.sort((a, b) -> comp.compare(get(a), get(b)));
+		final int n = keys.size();
+		if (n < 2) {return;}
+		final int[] ks = keys.items;
+		final float[] vs = new float[n];
+		for (int i = 0; i < n; i++) {vs[i] = get(ks[i]);}
+		final int[] order = IntComparators.argsort(n, (a, b) -> comp.compare(vs[a], vs[b]));
+		final int[] sorted = new int[n];
+		for (int i = 0; i < n; i++) {sorted[i] = ks[order[i]];}
+		System.arraycopy(sorted, 0, ks, 0, n);
 	}
 
 	/**
@@ -29,6 +29,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 import com.github.tommyettinger.function.IntIntToIntBiFunction;
 import com.github.tommyettinger.function.IntToIntFunction;
@@ -53,6 +54,12 @@ import static com.github.tommyettinger.ds.Utilities.tableSize;
  * This implementation uses linear probing with the backward shift algorithm for removal.
  * It tries different hashes from a simple family, with the hash changing on resize.
  * Linear probing continues to work even when all hashCodes collide, just more slowly.
+ * <p>
+ * The backing table is only created when the first item is added, so an empty map uses no memory for it. That first
+ * table has just {@link Utilities#COMPACT_TABLE_SIZE} slots, unless {@link #ensureCapacity(int)} asked for more room
+ * than the constructor planned, so a map that only ever holds a few items stays that small. Tables with at most
+ * {@link Utilities#LINEAR_TABLE_SIZE} slots don't hash at all; they find keys by checking every slot. Once a table
+ * grows past that, it changes to hashing, at the size given to the constructor or larger.
  *
  * @author Nathan Sweet
  * @author Tommy Ettinger
@@ -77,6 +84,13 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	 */
 	protected int threshold;
 
+	/**
+	 * The table size this map was built for, kept while {@link #allocate()} uses a smaller table instead. Once that
+	 * table grows past {@link Utilities#LINEAR_TABLE_SIZE} slots, {@link #resize(int)} goes straight to this size.
+	 * This is 0 when no smaller table is in use.
+	 */
+	protected int plannedSize;
+
 	/**
 	 * Used by {@link #place(int)} to bit shift the upper bits of an {@code int} into a usable range (&gt;= 0 and &lt;=
 	 * {@link #mask}). The shift can be negative, which is convenient to match the number of bits in mask: if mask is a 7-bit
@@ -104,6 +118,45 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	 */
 	protected int hashMultiplier;
 
+	/**
+	 * Holds the resize count and time while resize tracking is on; null otherwise.
+	 * See {@link #setTrackingStatistics(boolean)}.
+	 */
+	@Nullable protected transient HashStatistics statistics;
+
+	/**
+	 * If true, growing the backing tables moves entries a few at a time instead of all at once; see
+	 * {@link #setIncrementalResize(boolean)}.
+	 */
+	protected boolean incrementalResize;
+
+	/**
+	 * While an incremental resize is in progress, the previous key table, holding any entries not yet moved; otherwise
+	 * null. Because any int can be a key, moved slots keep their key and are marked in {@link #oldMoved} instead.
+	 */
+	protected int @Nullable [] oldKeyTable;
+
+	/**
+	 * While an incremental resize is in progress, the previous value table; otherwise null.
+	 */
+	protected int @Nullable [] oldValueTable;
+
+	/**
+	 * While an incremental resize is in progress, a bit set with a 1 for each slot of {@link #oldKeyTable} that has been
+	 * moved; otherwise null.
+	 */
+	protected long @Nullable [] oldMoved;
+
+	/**
+	 * The {@link #mask}, {@link #shift}, and {@link #hashMultiplier} that {@link #oldKeyTable} was filled with.
+	 */
+	protected int oldMask, oldShift, oldHashMultiplier;
+
+	/**
+	 * Every slot in {@link #oldKeyTable} before this index has been moved.
+	 */
+	protected int migrated;
+
 	@Nullable protected transient Entries entries1;
 	@Nullable protected transient Entries entries2;
 	@Nullable protected transient Values values1;
@@ -145,8 +198,8 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 		mask = tableSize - 1;
 		shift = BitConversion.countLeadingZeros(mask) + 32;
 		hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
-		keyTable = new int[tableSize];
-		valueTable = new int[tableSize];
+		keyTable = Utilities.EMPTY_INTS;
+		valueTable = Utilities.EMPTY_INTS;
 	}
 
 	/**
@@ -155,12 +208,14 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	 * @param map the map to copy
 	 */
 	public IntIntMap (IntIntMap map) {
-		this((int)(map.keyTable.length * map.loadFactor), map.loadFactor);
-		System.arraycopy(map.keyTable, 0, keyTable, 0, map.keyTable.length);
-		System.arraycopy(map.valueTable, 0, valueTable, 0, map.valueTable.length);
+		this((int)((map.mask + 1) * map.loadFactor), map.loadFactor);
+		map.settle();
+		keyTable = Arrays.copyOf(map.keyTable, map.keyTable.length);
+		valueTable = Arrays.copyOf(map.valueTable, map.valueTable.length);
 		size = map.size;
 		defaultValue = map.defaultValue;
 		hashMultiplier = map.hashMultiplier;
+		plannedSize = map.plannedSize;
 		zeroValue = map.zeroValue;
 		hasZeroValue = map.hasZeroValue;
 	}
@@ -221,6 +276,11 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	 * isn't recommended because this has to treat zero keys differently, and it finds those with {@code ==}.
 	 */
 	protected int locateKey (int key) {
+		if (oldKeyTable != null) migrate(key);
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			if (keyTable.length == 0) allocate();
+			if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) return locateLinear(key);
+		}
 		int[] keyTable = this.keyTable;
 		for (int i = place(key); ; i = i + 1 & mask) {
 			int other = keyTable[i];
@@ -233,6 +293,46 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 		}
 	}
 
+	/**
+	 * Like {@link #locateKey(int)}, but for tables with at most {@link Utilities#LINEAR_TABLE_SIZE} slots, where keys can
+	 * be in any slot. This compares key with every slot, and if it isn't found, returns the first empty one.
+	 *
+	 * @param key any int other than 0
+	 * @return a negative index if the key was not found, or the non-negative index of the existing key if found
+	 */
+	protected int locateLinear (int key) {
+		int[] keyTable = this.keyTable;
+		int empty = -1;
+		for (int i = 0; i < keyTable.length; i++) {
+			int other = keyTable[i];
+			if (other == key)
+				return i;
+			if (other == 0 && empty < 0)
+				empty = i;
+		}
+		return ~empty;
+	}
+
+	/**
+	 * Creates the backing tables on the first insertion rather than when this map is constructed, so maps that stay
+	 * empty don't use memory for them. If the planned length, {@code mask + 1}, is larger than
+	 * {@link Utilities#COMPACT_TABLE_SIZE}, the tables get that compact length instead and the plan is kept in
+	 * {@link #plannedSize}, so a map that only ever holds a few entries never allocates the full tables.
+	 */
+	protected void allocate () {
+		int tableSize = mask + 1;
+		if (tableSize > Utilities.COMPACT_TABLE_SIZE) {
+			plannedSize = tableSize;
+			tableSize = Utilities.COMPACT_TABLE_SIZE;
+			threshold = (int)(tableSize * loadFactor);
+			mask = tableSize - 1;
+			shift = BitConversion.countLeadingZeros(mask) + 32;
+			hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
+		}
+		keyTable = new int[tableSize];
+		valueTable = new int[tableSize];
+	}
+
 	/**
 	 * Returns the old value associated with the specified key, or this map's {@link #defaultValue} if there was no prior value.
 	 */
@@ -288,6 +388,7 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	 * @param map a map with compatible key and value types; will not be modified
 	 */
 	public void putAll (IntIntMap map) {
+		map.settle();
 		ensureCapacity(map.size);
 		if (map.hasZeroValue) {
 			if (!hasZeroValue) {size++;}
@@ -346,7 +447,7 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	 */
 	protected void putResize (int key, int value) {
 		int[] keyTable = this.keyTable;
-		for (int i = place(key); ; i = i + 1 & mask) {
+		for (int i = keyTable.length <= Utilities.LINEAR_TABLE_SIZE ? 0 : place(key); ; i = i + 1 & mask) {
 			if (keyTable[i] == 0) {
 				keyTable[i] = key;
 				valueTable[i] = value;
@@ -363,10 +464,17 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	public int get (int key) {
 		if (key == 0) {return hasZeroValue ? zeroValue : defaultValue;}
 		int[] keyTable = this.keyTable;
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			for (int i = 0; i < keyTable.length; i++) {
+				if (keyTable[i] == key)
+					return valueTable[i];
+			}
+			return defaultValue;
+		}
 		for (int i = place(key); ; i = i + 1 & mask) {
 			int other = keyTable[i];
 			if (other == 0)
-				return defaultValue;
+				return oldKeyTable == null ? defaultValue : getOld(key, defaultValue);
 			if (other == key)
 				return valueTable[i];
 		}
@@ -378,10 +486,17 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	public int getOrDefault (int key, int defaultValue) {
 		if (key == 0) {return hasZeroValue ? zeroValue : defaultValue;}
 		int[] keyTable = this.keyTable;
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			for (int i = 0; i < keyTable.length; i++) {
+				if (keyTable[i] == key)
+					return valueTable[i];
+			}
+			return defaultValue;
+		}
 		for (int i = place(key); ; i = i + 1 & mask) {
 			int other = keyTable[i];
 			if (other == 0)
-				return defaultValue;
+				return oldKeyTable == null ? defaultValue : getOld(key, defaultValue);
 			if (other == key)
 				return valueTable[i];
 		}
@@ -425,6 +540,7 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 			}
 			return defaultValue;
 		}
+		if (size == 0) return defaultValue;
 		int pos = locateKey(key);
 		if (pos < 0) return defaultValue;
 		int[] keyTable = this.keyTable;
@@ -433,6 +549,10 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 
 		int mask = this.mask, last, slot;
 		size--;
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			keyTable[pos] = 0;
+			return oldValue;
+		}
 		for (;;) {
 			pos = ((last = pos) + 1) & mask;
 			for (;;) {
@@ -517,6 +637,7 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 		}
 		hasZeroValue = false;
 		size = 0;
+		dropOld();
 		resize(tableSize);
 	}
 
@@ -524,6 +645,7 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 		if (size == 0) {return;}
 		hasZeroValue = false;
 		size = 0;
+		dropOld();
 		Arrays.fill(keyTable, 0);
 	}
 
@@ -533,6 +655,7 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	 */
 	public boolean containsValue (int value) {
 		if (hasZeroValue && zeroValue == value) {return true;}
+		settle();
 		int[] valueTable = this.valueTable;
 		int[] keyTable = this.keyTable;
 		for (int i = valueTable.length - 1; i >= 0; i--) {
@@ -544,10 +667,17 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	public boolean containsKey (int key) {
 		if (key == 0) {return hasZeroValue;}
 		int[] keyTable = this.keyTable;
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			for (int i = 0; i < keyTable.length; i++) {
+				if (keyTable[i] == key)
+					return true;
+			}
+			return false;
+		}
 		for (int i = place(key); ; i = i + 1 & mask) {
 			int other = keyTable[i];
 			if (other == 0)
-				return false;
+				return oldKeyTable != null && locateOld(key) >= 0;
 			if (other == key)
 				return true;
 		}
@@ -563,6 +693,7 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	 */
 	public int findKey (int value, int defaultKey) {
 		if (hasZeroValue && zeroValue == value) {return 0;}
+		settle();
 		int[] valueTable = this.valueTable;
 		int[] keyTable = this.keyTable;
 		for (int i = valueTable.length - 1; i >= 0; i--) {
@@ -578,11 +709,20 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	 */
 	public void ensureCapacity (int additionalCapacity) {
 		int tableSize = tableSize(size + additionalCapacity, loadFactor);
-		if (keyTable.length < tableSize) {resize(tableSize);}
+		// mask + 1 is the planned table size even before the table is allocated, when keyTable is still empty.
+		if (mask + 1 < tableSize) {resize(tableSize);}
 	}
 
 	protected void resize (int newSize) {
+		final long start = statistics == null ? 0L : System.nanoTime();
+		settle();
+		// A table that allocate() started small skips from linear mode straight to the size that was planned for it.
+		if (plannedSize != 0 && newSize > Utilities.LINEAR_TABLE_SIZE) {
+			newSize = Math.max(newSize, plannedSize);
+			plannedSize = 0;
+		}
 		int oldCapacity = keyTable.length;
+		final int priorMask = mask, priorShift = shift, priorMultiplier = hashMultiplier;
 		threshold = (int)(newSize * loadFactor);
 		mask = newSize - 1;
 		shift = BitConversion.countLeadingZeros(mask) + 32;
@@ -593,12 +733,168 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 		keyTable = new int[newSize];
 		valueTable = new int[newSize];
 
-		if (size > 0) {
+		if (incrementalResize && size > 0 && newSize > oldCapacity && oldCapacity > Utilities.LINEAR_TABLE_SIZE) {
+			this.oldKeyTable = oldKeyTable;
+			this.oldValueTable = oldValueTable;
+			oldMoved = new long[oldCapacity + 63 >>> 6];
+			oldMask = priorMask;
+			oldShift = priorShift;
+			oldHashMultiplier = priorMultiplier;
+			migrated = 0;
+			migrateStep();
+		} else if (size > 0) {
 			for (int i = 0; i < oldCapacity; i++) {
 				int key = oldKeyTable[i];
 				if (key != 0) {putResize(key, oldValueTable[i]);}
 			}
 		}
+		if (statistics != null) statistics.recordResize(System.nanoTime() - start);
+	}
+
+	/**
+	 * Turns incremental resizing on or off. While it is on, growing the backing tables doesn't move every entry at
+	 * once; the old tables are kept, and each later call that changes or looks up a key through
+	 * {@link #locateKey(int)} moves that key (if it is still in the old tables) and a few more entries into the new
+	 * tables. Lookups check the new tables and then the old ones, so the map behaves the same either way; the
+	 * difference is that no single insertion has to pay for copying the whole map, which keeps the worst-case time
+	 * of a put small for large maps. Methods that scan the whole map, such as iteration, {@link #hashCode()}, and
+	 * {@link #containsValue(int)}, finish any resize in progress first. Shrinking is never done incrementally.
+	 * <br>
+	 * This is off by default. Turning it off finishes any resize in progress.
+	 *
+	 * @param incremental true to spread the cost of growing over later calls, false to grow all at once
+	 */
+	public void setIncrementalResize (boolean incremental) {
+		incrementalResize = incremental;
+		if (!incremental) settle();
+	}
+
+	/**
+	 * Returns true if growing the backing tables is spread out over later calls; see
+	 * {@link #setIncrementalResize(boolean)}.
+	 *
+	 * @return true if incremental resizing is on
+	 */
+	public boolean isIncrementalResize () {
+		return incrementalResize;
+	}
+
+	/**
+	 * Returns true if an incremental resize has started but not every entry has been moved to the new tables yet.
+	 *
+	 * @return true if entries are still in {@link #oldKeyTable}
+	 */
+	public boolean isResizing () {
+		return oldKeyTable != null;
+	}
+
+	/**
+	 * Like {@link #place(int)}, but for {@link #oldKeyTable}. This briefly sets {@link #mask}, {@link #shift}, and
+	 * {@link #hashMultiplier} to their old values so that any override of place() is still used.
+	 *
+	 * @param item any int
+	 * @return an index between 0 and {@link #oldMask} (both inclusive)
+	 */
+	protected int placeOld (int item) {
+		final int m = mask, s = shift, h = hashMultiplier;
+		mask = oldMask;
+		shift = oldShift;
+		hashMultiplier = oldHashMultiplier;
+		final int i = place(item);
+		mask = m;
+		shift = s;
+		hashMultiplier = h;
+		return i;
+	}
+
+	/**
+	 * Finds key in {@link #oldKeyTable}, which must be non-null, if it hasn't been moved yet.
+	 *
+	 * @param key any int other than 0
+	 * @return the index of key in the old table, or -1 if it isn't there or has been moved
+	 */
+	protected int locateOld (int key) {
+		final int[] keyTable = Objects.requireNonNull(oldKeyTable);
+		final long[] moved = Objects.requireNonNull(oldMoved);
+		final int mask = oldMask;
+		// The old table may have been completely full, so the probe can't rely on reaching an empty slot.
+		for (int i = placeOld(key), n = mask; n >= 0; i = i + 1 & mask, n--) {
+			int other = keyTable[i];
+			if (other == 0)
+				return -1;
+			if (other == key)
+				return (moved[i >>> 6] & 1L << i) == 0L ? i : -1;
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the value for key from {@link #oldKeyTable}, which must be non-null.
+	 */
+	protected int getOld (int key, int defaultValue) {
+		final int i = locateOld(key);
+		return i < 0 ? defaultValue : Objects.requireNonNull(oldValueTable)[i];
+	}
+
+	/**
+	 * Moves the entry at index i of {@link #oldKeyTable} to the current tables, if there is one there that hasn't been
+	 * moved yet, and marks it as moved in {@link #oldMoved}.
+	 */
+	protected void moveOld (int i) {
+		final int[] oldKeys = Objects.requireNonNull(oldKeyTable);
+		final long[] moved = Objects.requireNonNull(oldMoved);
+		final int key = oldKeys[i];
+		if (key == 0 || (moved[i >>> 6] & 1L << i) != 0L) return;
+		moved[i >>> 6] |= 1L << i;
+		putResize(key, Objects.requireNonNull(oldValueTable)[i]);
+	}
+
+	/**
+	 * Moves the next few entries of an incremental resize, and drops the old tables once all have been moved. Each
+	 * call moves enough slots that the resize finishes long before the new tables fill up.
+	 */
+	protected void migrateStep () {
+		final int[] oldKeys = Objects.requireNonNull(oldKeyTable);
+		final int end = Math.min(migrated + Math.max(8, (int)Math.ceil(2f / loadFactor)), oldKeys.length);
+		for (int i = migrated; i < end; i++) {
+			moveOld(i);
+		}
+		migrated = end;
+		if (end == oldKeys.length) dropOld();
+	}
+
+	/**
+	 * Called by {@link #locateKey(int)} during an incremental resize; moves key to the current tables if it is still
+	 * in the old ones, then does one {@link #migrateStep()}.
+	 *
+	 * @param key any int other than 0, about to be looked up in the current tables
+	 */
+	protected void migrate (int key) {
+		final int i = locateOld(key);
+		if (i >= 0) moveOld(i);
+		migrateStep();
+	}
+
+	/**
+	 * Finishes any incremental resize in progress, so every entry is in {@link #keyTable} and {@link #valueTable}.
+	 * Anything that reads the backing tables directly should call this first.
+	 */
+	protected void settle () {
+		final int[] oldKeys = oldKeyTable;
+		if (oldKeys == null) return;
+		for (int i = migrated, n = oldKeys.length; i < n; i++) {
+			moveOld(i);
+		}
+		dropOld();
+	}
+
+	/**
+	 * Forgets any incremental resize in progress without moving anything; only for use when the map is being cleared.
+	 */
+	protected void dropOld () {
+		oldKeyTable = null;
+		oldValueTable = null;
+		oldMoved = null;
 	}
 
 	/**
@@ -626,11 +922,68 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	/**
 	 * Gets the length of the internal array used to store all keys, as well as empty space awaiting more items to be
 	 * entered. This length is equal to the length of the array used to store all values, and empty space for values,
-	 * here. This is also called the capacity.
+	 * here. This is also called the capacity. If nothing has been inserted yet, the array hasn't been created, and this
+	 * returns the length planned for it; inserting one item at a time creates a smaller array first.
 	 * @return the length of the internal array that holds all keys
 	 */
 	public int getTableSize() {
-		return keyTable.length;
+		return mask + 1;
+	}
+
+	/**
+	 * Turns resize tracking on or off for {@link #getStatistics()}. While tracking is on, each call to
+	 * {@link #resize(int)} is counted and timed; turning it off discards what was recorded. Tracking is off by default,
+	 * and nothing is measured during normal use unless it is on.
+	 *
+	 * @param track true to count and time resizes, false to stop
+	 */
+	public void setTrackingStatistics (boolean track) {
+		if (!track) statistics = null;
+		else if (statistics == null) statistics = new HashStatistics();
+	}
+
+	/**
+	 * Returns true if resizes are being counted and timed for {@link #getStatistics()}.
+	 *
+	 * @return true if resize tracking is on
+	 */
+	public boolean isTrackingStatistics () {
+		return statistics != null;
+	}
+
+	/**
+	 * Scans the backing table and reports the probe lengths, cluster lengths, and estimated memory use of this map; see
+	 * {@link HashStatistics}. This takes time proportional to {@link #getTableSize()}, so it is meant for diagnosing a
+	 * slow map rather than for routine use. If {@link #setTrackingStatistics(boolean) tracking} is on, the result also has
+	 * the resize count and time, and the same HashStatistics object is updated and returned on each call. Every key
+	 * in a table of at most {@link Utilities#LINEAR_TABLE_SIZE} slots counts as having a probe length of 0, since
+	 * those tables are scanned instead of probed.
+	 *
+	 * @return a HashStatistics describing the current state of the backing table
+	 */
+	public HashStatistics getStatistics () {
+		settle();
+		final HashStatistics stats = statistics == null ? new HashStatistics() : statistics;
+		final int[] keyTable = this.keyTable;
+		final int n = keyTable.length;
+		final boolean linear = n <= Utilities.LINEAR_TABLE_SIZE;
+		stats.begin(n, size);
+		for (int i = 0; i < n; i++) {
+			int k = keyTable[i];
+			if (k == 0) stats.empty();
+			else stats.probe(linear ? 0 : i - place(k) & mask);
+		}
+		stats.finish(retainedBytes());
+		return stats;
+	}
+
+	/**
+	 * Estimates the memory used by the key and value arrays of this map, in bytes, for {@link #getStatistics()}.
+	 *
+	 * @return the estimated size of the backing arrays in bytes
+	 */
+	protected long retainedBytes () {
+		return HashStatistics.arrayBytes(keyTable.length, 4) + HashStatistics.arrayBytes(valueTable.length, 4);
 	}
 
 	public float getLoadFactor () {
@@ -648,6 +1001,7 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 
 	@Override
 	public int hashCode () {
+		settle();
 		int h = hasZeroValue ? zeroValue ^ size : size;
 		int[] keyTable = this.keyTable;
 		int[] valueTable = this.valueTable;
@@ -668,6 +1022,7 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 		IntIntMap other = (IntIntMap)obj;
 		if (other.size != size) {return false;}
 		if (other.hasZeroValue != hasZeroValue || other.zeroValue != zeroValue) {return false;}
+		settle();
 		int[] keyTable = this.keyTable;
 		int[] valueTable = this.valueTable;
 		for (int i = 0, n = keyTable.length; i < n; i++) {
@@ -758,6 +1113,7 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 			valueAppender.apply(sb, zeroValue);
 			if (size > 1) {sb.append(entrySeparator);}
 		}
+		settle();
 		int[] keyTable = this.keyTable;
 		int[] valueTable = this.valueTable;
 		int i = keyTable.length;
@@ -820,6 +1176,7 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 	 * @param newSize the target size to try to reach by removing items, if smaller than the current size
 	 */
 	public void truncate (int newSize) {
+		settle();
 		int[] keyTable = this.keyTable;
 		newSize = Math.max(0, newSize);
 		for (int i = keyTable.length - 1; i >= 0 && size > newSize; i--) {
@@ -1035,6 +1392,7 @@ public class IntIntMap implements Iterable<IntIntMap.Entry> {
 		}
 
 		public void reset () {
+			map.settle();
 			currentIndex = INDEX_ILLEGAL;
 			nextIndex = INDEX_ZERO;
 			if (map.hasZeroValue) {hasNext = true;} else {findNextIndex();}
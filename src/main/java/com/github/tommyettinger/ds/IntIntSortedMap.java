@@ -0,0 +1,1146 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.ds.support.util.IntIterator;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A sorted map from primitive {@code int} keys to primitive {@code int} values, backed by a B+ tree. Keys and values are stored in primitive
+ * arrays inside each node, so there is no boxing, and scans over many keys read memory in order. Iteration is always
+ * in ascending key order. Unlike the hashed maps in this library, this supports ordered queries such as
+ * {@link #floorKey(int, int)} and {@link #ceilingKey(int, int)}, range views with {@link #subMap(int, int)}, and
+ * iteration over a range of keys. Lookups, insertions, and removals all take {@code O(log n)} time.
+ * <br>
+ * Because a primitive key can't be null, the methods that search for a nearby key take a {@code defaultKey} to return
+ * if there is no such key. If you have keys in ascending order already, {@link #putAllSorted(int[], int[])}
+ * builds the whole tree at once in linear time.
+ * <br>
+ * The {@link IntIntMap.Entry} objects returned by {@link #iterator()} are reused, like the ones from {@link IntIntMap}.
+ */
+public class IntIntSortedMap implements Iterable<IntIntMap.Entry> {
+	/**
+	 * The most keys a leaf can hold, and the most children a branch can hold.
+	 */
+	protected static final int CAPACITY = 64;
+	/**
+	 * A node other than the root that has fewer than this many keys (for a leaf) or children (for a branch) is merged
+	 * with a sibling, or takes some items from it.
+	 */
+	protected static final int MIN_SIZE = CAPACITY >>> 2;
+	/**
+	 * How many keys each leaf gets when bulk-loading; leaving some room means the first inserts after loading don't all
+	 * split nodes.
+	 */
+	protected static final int LOAD = CAPACITY - (CAPACITY >>> 2);
+
+	/**
+	 * A node in the B+ tree. Leaves hold keys and values in sorted primitive arrays and are linked to their neighbors;
+	 * branches hold child nodes, separated by keys.
+	 */
+	protected static class Node {
+		/**
+		 * In a leaf, the sorted keys. In a branch, {@code keys[i]} is less than or equal to every key in
+		 * {@code children[i + 1]}, and greater than every key in {@code children[i]}.
+		 */
+		public final int[] keys = new int[CAPACITY];
+		/**
+		 * The value for each key in a leaf; null in a branch.
+		 */
+		public final int[] values;
+		/**
+		 * The child nodes of a branch; null in a leaf.
+		 */
+		public final Node @Nullable [] children;
+		/**
+		 * The number of keys in a leaf, or the number of children in a branch.
+		 */
+		public int size;
+		/**
+		 * The next leaf in key order; always null in a branch.
+		 */
+		@Nullable public Node next;
+		/**
+		 * The previous leaf in key order; always null in a branch.
+		 */
+		@Nullable public Node prev;
+
+		public Node (boolean leaf) {
+			values = leaf ? new int[CAPACITY] : null;
+			children = leaf ? null : new Node[CAPACITY];
+		}
+	}
+
+	protected int size;
+	/**
+	 * The root of the B+ tree; this is a leaf when there are {@link #CAPACITY} or fewer items.
+	 */
+	protected Node root;
+	/**
+	 * The leftmost leaf, which holds the smallest keys; iteration starts here.
+	 */
+	protected Node head;
+	/**
+	 * Set by {@link #insert(Node, int, int)} and {@link #delete(Node, int)} to the value that was replaced or removed.
+	 */
+	protected transient int displaced;
+	/**
+	 * Set by {@link #insert(Node, int, int)} to the lowest key in the node it split off.
+	 */
+	protected transient int splitKey;
+	/**
+	 * Set by {@link #insert(Node, int, int)} when the key was already present.
+	 */
+	protected transient boolean found;
+
+	/**
+	 * Gets the first index from 0 (inclusive) to {@code n} (exclusive) in sorted {@code keys} with a key greater than or
+	 * equal to {@code key}, or {@code n} if there is none.
+	 */
+	protected static int lowerBound (int[] keys, int n, int key) {
+		int lo = 0;
+		while (lo < n) {
+			final int mid = lo + n >>> 1;
+			if (keys[mid] < key) lo = mid + 1;
+			else n = mid;
+		}
+		return lo;
+	}
+
+	/**
+	 * Gets the first index from 0 (inclusive) to {@code n} (exclusive) in sorted {@code keys} with a key greater than
+	 * {@code key}, or {@code n} if there is none.
+	 */
+	protected static int upperBound (int[] keys, int n, int key) {
+		int lo = 0;
+		while (lo < n) {
+			final int mid = lo + n >>> 1;
+			if (keys[mid] <= key) lo = mid + 1;
+			else n = mid;
+		}
+		return lo;
+	}
+
+	/**
+	 * Finds the leaf that holds {@code key}, or would hold it if it were added.
+	 */
+	protected Node leafFor (int key) {
+		Node node = root;
+		Node[] children;
+		while ((children = node.children) != null) {
+			node = children[upperBound(node.keys, node.size - 1, key)];
+		}
+		return node;
+	}
+
+	/**
+	 * Finds the rightmost leaf, which holds the largest keys.
+	 */
+	protected Node tail () {
+		Node node = root;
+		Node[] children;
+		while ((children = node.children) != null) {
+			node = children[node.size - 1];
+		}
+		return node;
+	}
+
+	/**
+	 * Inserts {@code key} into the subtree rooted at {@code node} with {@code value}. If node had to split, this returns the new
+	 * node to its right and sets {@link #splitKey}; otherwise this returns null.
+	 */
+	@Nullable
+	protected Node insert (Node node, int key, int value) {
+		final Node[] children = node.children;
+		if (children == null) {
+			final int n = node.size;
+			final int i = lowerBound(node.keys, n, key);
+			if (i < n && node.keys[i] == key) {
+				displaced = node.values[i];
+				node.values[i] = value;
+				found = true;
+				return null;
+			}
+			size++;
+			if (n < CAPACITY) {
+				insertLeaf(node, i, key, value);
+				return null;
+			}
+			final Node right = new Node(true);
+			final int half = CAPACITY >>> 1;
+			System.arraycopy(node.keys, half, right.keys, 0, CAPACITY - half);
+			System.arraycopy(node.values, half, right.values, 0, CAPACITY - half);
+			right.size = CAPACITY - half;
+			node.size = half;
+			right.next = node.next;
+			if (right.next != null) right.next.prev = right;
+			right.prev = node;
+			node.next = right;
+			if (i <= half) insertLeaf(node, i, key, value);
+			else insertLeaf(right, i - half, key, value);
+			splitKey = right.keys[0];
+			return right;
+		}
+		final int c = upperBound(node.keys, node.size - 1, key);
+		final Node child = insert(children[c], key, value);
+		if (child == null) return null;
+		final int separator = splitKey;
+		if (node.size < CAPACITY) {
+			insertBranch(node, c, separator, child);
+			return null;
+		}
+		final Node right = new Node(false);
+		final int half = CAPACITY >>> 1;
+		final int promoted = node.keys[half - 1];
+		System.arraycopy(node.keys, half, right.keys, 0, CAPACITY - half - 1);
+		System.arraycopy(children, half, right.children, 0, CAPACITY - half);
+		Arrays.fill(children, half, CAPACITY, null);
+		right.size = CAPACITY - half;
+		node.size = half;
+		if (c < half) insertBranch(node, c, separator, child);
+		else insertBranch(right, c - half, separator, child);
+		splitKey = promoted;
+		return right;
+	}
+
+	protected static void insertLeaf (Node leaf, int i, int key, int value) {
+		final int n = leaf.size;
+		System.arraycopy(leaf.keys, i, leaf.keys, i + 1, n - i);
+		leaf.keys[i] = key;
+		System.arraycopy(leaf.values, i, leaf.values, i + 1, n - i);
+		leaf.values[i] = value;
+		leaf.size = n + 1;
+	}
+
+	/**
+	 * Inserts {@code child} to the right of {@code branch.children[c]}, with {@code separator} between them.
+	 */
+	protected static void insertBranch (Node branch, int c, int separator, Node child) {
+		final int n = branch.size;
+		System.arraycopy(branch.keys, c, branch.keys, c + 1, n - 1 - c);
+		branch.keys[c] = separator;
+		System.arraycopy(branch.children, c + 1, branch.children, c + 2, n - 1 - c);
+		branch.children[c + 1] = child;
+		branch.size = n + 1;
+	}
+
+	/**
+	 * Adds {@code key} with {@code value}, growing the tree by one level if the root splits.
+	 */
+	protected void insertRoot (int key, int value) {
+		found = false;
+		final Node right = insert(root, key, value);
+		if (right != null) {
+			final Node branch = new Node(false);
+			branch.children[0] = root;
+			branch.children[1] = right;
+			branch.keys[0] = splitKey;
+			branch.size = 2;
+			root = branch;
+		}
+	}
+
+	/**
+	 * Removes {@code key} from the subtree rooted at {@code node}, returning true if it was present. Any child left with
+	 * fewer than {@link #MIN_SIZE} items is rebalanced with a sibling.
+	 */
+	protected boolean delete (Node node, int key) {
+		final Node[] children = node.children;
+		if (children == null) {
+			final int n = node.size;
+			final int i = lowerBound(node.keys, n, key);
+			if (i >= n || node.keys[i] != key) return false;
+			System.arraycopy(node.keys, i + 1, node.keys, i, n - 1 - i);
+			displaced = node.values[i];
+			System.arraycopy(node.values, i + 1, node.values, i, n - 1 - i);
+			node.size = n - 1;
+			return true;
+		}
+		final int c = upperBound(node.keys, node.size - 1, key);
+		final Node child = children[c];
+		if (!delete(child, key)) return false;
+		if (child.size < MIN_SIZE) rebalance(node, c);
+		return true;
+	}
+
+	/**
+	 * Removes {@code key}, shrinking the tree by one level if the root is left with one child.
+	 */
+	protected boolean deleteRoot (int key) {
+		if (!delete(root, key)) return false;
+		size--;
+		final Node[] children = root.children;
+		if (children != null && root.size == 1) root = children[0];
+		return true;
+	}
+
+	/**
+	 * Fixes {@code parent.children[c]}, which has too few items, by merging it with a neighbor if both fit in one
+	 * node, or by moving items from the neighbor so both have about the same number.
+	 */
+	protected static void rebalance (Node parent, int c) {
+		final Node[] siblings = parent.children;
+		final int l = c > 0 ? c - 1 : c;
+		final Node left = siblings[l], right = siblings[l + 1];
+		final int ln = left.size, rn = right.size, total = ln + rn;
+		if (left.children == null) {
+			if (total <= CAPACITY) {
+				System.arraycopy(right.keys, 0, left.keys, ln, rn);
+				System.arraycopy(right.values, 0, left.values, ln, rn);
+				left.size = total;
+				left.next = right.next;
+				if (left.next != null) left.next.prev = left;
+				removeChild(parent, l);
+				return;
+			}
+			final int half = total >>> 1;
+			if (ln < half) {
+				final int move = half - ln;
+				System.arraycopy(right.keys, 0, left.keys, ln, move);
+				System.arraycopy(right.keys, move, right.keys, 0, rn - move);
+				System.arraycopy(right.values, 0, left.values, ln, move);
+				System.arraycopy(right.values, move, right.values, 0, rn - move);
+			} else {
+				final int move = ln - half;
+				System.arraycopy(right.keys, 0, right.keys, move, rn);
+				System.arraycopy(left.keys, half, right.keys, 0, move);
+				System.arraycopy(right.values, 0, right.values, move, rn);
+				System.arraycopy(left.values, half, right.values, 0, move);
+			}
+			left.size = half;
+			right.size = total - half;
+			parent.keys[l] = right.keys[0];
+			return;
+		}
+		final Node[] lc = left.children, rc = right.children;
+		if (total <= CAPACITY) {
+			left.keys[ln - 1] = parent.keys[l];
+			System.arraycopy(right.keys, 0, left.keys, ln, rn - 1);
+			System.arraycopy(rc, 0, lc, ln, rn);
+			left.size = total;
+			removeChild(parent, l);
+			return;
+		}
+		final int half = total >>> 1;
+		if (ln < half) {
+			final int move = half - ln;
+			left.keys[ln - 1] = parent.keys[l];
+			System.arraycopy(right.keys, 0, left.keys, ln, move - 1);
+			System.arraycopy(rc, 0, lc, ln, move);
+			parent.keys[l] = right.keys[move - 1];
+			System.arraycopy(right.keys, move, right.keys, 0, rn - 1 - move);
+			System.arraycopy(rc, move, rc, 0, rn - move);
+			Arrays.fill(rc, rn - move, rn, null);
+		} else {
+			final int move = ln - half;
+			System.arraycopy(right.keys, 0, right.keys, move, rn - 1);
+			System.arraycopy(rc, 0, rc, move, rn);
+			right.keys[move - 1] = parent.keys[l];
+			System.arraycopy(left.keys, half, right.keys, 0, move - 1);
+			System.arraycopy(lc, half, rc, 0, move);
+			parent.keys[l] = left.keys[half - 1];
+			Arrays.fill(lc, half, ln, null);
+		}
+		left.size = half;
+		right.size = total - half;
+	}
+
+	/**
+	 * Removes {@code branch.children[l + 1]} and the key before it.
+	 */
+	protected static void removeChild (Node branch, int l) {
+		final int n = branch.size;
+		System.arraycopy(branch.keys, l + 1, branch.keys, l, n - 2 - l);
+		System.arraycopy(branch.children, l + 2, branch.children, l + 1, n - 2 - l);
+		branch.children[n - 1] = null;
+		branch.size = n - 1;
+	}
+
+	/**
+	 * Replaces the contents of this with {@code length} keys and values starting at {@code offset}, which must already be
+	 * in strictly ascending order. This builds the tree bottom-up in linear time, filling each node to
+	 * {@link #LOAD} items.
+	 */
+	protected void build (int[] keys, int[] values, int offset, int length) {
+		size = length;
+		if (length <= CAPACITY) {
+			root = head = new Node(true);
+			System.arraycopy(keys, offset, head.keys, 0, length);
+			System.arraycopy(values, offset, head.values, 0, length);
+			head.size = length;
+			return;
+		}
+		int count = (length + LOAD - 1) / LOAD;
+		Node[] level = new Node[count];
+		int[] lows = new int[count];
+		Node prev = null;
+		for (int i = 0, start = offset, base = length / count, extra = length % count; i < count; i++) {
+			final Node leaf = new Node(true);
+			final int n = i < extra ? base + 1 : base;
+			System.arraycopy(keys, start, leaf.keys, 0, n);
+			System.arraycopy(values, start, leaf.values, 0, n);
+			leaf.size = n;
+			leaf.prev = prev;
+			if (prev != null) prev.next = leaf;
+			prev = leaf;
+			lows[i] = keys[start];
+			level[i] = leaf;
+			start += n;
+		}
+		head = level[0];
+		while (count > 1) {
+			final int parents = (count + LOAD - 1) / LOAD;
+			final Node[] upper = new Node[parents];
+			final int[] upperLows = new int[parents];
+			for (int p = 0, start = 0, base = count / parents, extra = count % parents; p < parents; p++) {
+				final Node branch = new Node(false);
+				final int n = p < extra ? base + 1 : base;
+				System.arraycopy(level, start, branch.children, 0, n);
+				System.arraycopy(lows, start + 1, branch.keys, 0, n - 1);
+				branch.size = n;
+				upper[p] = branch;
+				upperLows[p] = lows[start];
+				start += n;
+			}
+			level = upper;
+			lows = upperLows;
+			count = parents;
+		}
+		root = level[0];
+	}
+
+	/**
+	 * Returns true if {@code length} items of {@code keys} starting at {@code offset} are in strictly ascending order.
+	 */
+	protected static boolean isStrictlyAscending (int[] keys, int offset, int length) {
+		for (int i = offset + 1, n = offset + length; i < n; i++) {
+			if (keys[i - 1] >= keys[i]) return false;
+		}
+		return true;
+	}
+
+	public int defaultValue = 0;
+
+	/**
+	 * Creates a new, empty map.
+	 */
+	public IntIntSortedMap () {
+		root = head = new Node(true);
+	}
+
+	/**
+	 * Creates a new map identical to {@code map}. This copies every leaf in order and rebuilds the tree above them.
+	 *
+	 * @param map another IntIntSortedMap to copy
+	 */
+	public IntIntSortedMap (IntIntSortedMap map) {
+		final int[] keys = new int[map.size];
+		final int[] values = new int[map.size];
+		int i = 0;
+		for (Node leaf = map.head; leaf != null; leaf = leaf.next) {
+			System.arraycopy(leaf.keys, 0, keys, i, leaf.size);
+			System.arraycopy(leaf.values, 0, values, i, leaf.size);
+			i += leaf.size;
+		}
+		build(keys, values, 0, i);
+		defaultValue = map.defaultValue;
+	}
+
+	/**
+	 * Creates a new map that maps each item in {@code keys} to the item at the same index in {@code values}. If keys is
+	 * already in strictly ascending order, this builds the tree at once in linear time; otherwise, this puts each pair
+	 * in order, so a later duplicate key replaces an earlier one.
+	 *
+	 * @param keys   an array of keys
+	 * @param values an array of values, which should have the same length as keys
+	 */
+	public IntIntSortedMap (int[] keys, int[] values) {
+		this();
+		putAll(keys, values, 0, Math.min(keys.length, values.length));
+	}
+
+	/**
+	 * Puts {@code length} key-value pairs from {@code keys} and {@code values}, starting at {@code offset} in each. If
+	 * this map is empty and the keys are in strictly ascending order, this builds the tree at once in linear time, as
+	 * with {@link #putAllSorted(int[], int[], int, int)}.
+	 *
+	 * @param keys   an array of keys
+	 * @param values an array of values
+	 * @param offset the first index in keys and values to use
+	 * @param length how many pairs to put
+	 */
+	public void putAll (int[] keys, int[] values, int offset, int length) {
+		if (size == 0 && isStrictlyAscending(keys, offset, length)) {
+			build(keys, values, offset, length);
+			return;
+		}
+		for (int i = offset, n = offset + length; i < n; i++) {
+			put(keys[i], values[i]);
+		}
+	}
+
+	/**
+	 * Removes everything in this map and replaces it with the pairs in {@code keys} and {@code values}, which must
+	 * have the same length. The keys must be in strictly ascending order. This builds the tree bottom-up in linear
+	 * time, which is much faster than putting each pair, and leaves some room in each node for later insertions.
+	 *
+	 * @param keys   keys in strictly ascending order
+	 * @param values the value for each key
+	 * @throws IllegalArgumentException if the keys are not in strictly ascending order
+	 */
+	public void putAllSorted (int[] keys, int[] values) {
+		putAllSorted(keys, values, 0, Math.min(keys.length, values.length));
+	}
+
+	/**
+	 * Removes everything in this map and replaces it with {@code length} pairs from {@code keys} and {@code values},
+	 * starting at {@code offset}. The keys must be in strictly ascending order. This builds the tree bottom-up in
+	 * linear time, which is much faster than putting each pair, and leaves some room in each node for later
+	 * insertions.
+	 *
+	 * @param keys   keys in strictly ascending order
+	 * @param values the value for each key
+	 * @param offset the first index in keys and values to use
+	 * @param length how many pairs to use
+	 * @throws IllegalArgumentException if the keys are not in strictly ascending order
+	 */
+	public void putAllSorted (int[] keys, int[] values, int offset, int length) {
+		if (!isStrictlyAscending(keys, offset, length))
+			throw new IllegalArgumentException("The keys must be in strictly ascending order.");
+		build(keys, values, offset, length);
+	}
+
+	/**
+	 * Returns the old value associated with the specified key, or this map's {@link #defaultValue} if there was no
+	 * prior value.
+	 */
+	public int put (int key, int value) {
+		insertRoot(key, value);
+		if (!found) return defaultValue;
+		final int old = displaced;
+		return old;
+	}
+
+	/**
+	 * Returns the value for the specified key, or {@link #defaultValue} if the key is not in the map.
+	 */
+	public int get (int key) {
+		return getOrDefault(key, defaultValue);
+	}
+
+	/**
+	 * Returns the value for the specified key, or the given default value if the key is not in the map.
+	 */
+	public int getOrDefault (int key, int defaultValue) {
+		final Node leaf = leafFor(key);
+		final int i = lowerBound(leaf.keys, leaf.size, key);
+		return i < leaf.size && leaf.keys[i] == key ? leaf.values[i] : defaultValue;
+	}
+
+	/**
+	 * Returns the value for the removed key, or this map's {@link #defaultValue} if the key was not in the map.
+	 */
+	public int remove (int key) {
+		if (!deleteRoot(key)) return defaultValue;
+		final int old = displaced;
+		return old;
+	}
+
+	public boolean containsKey (int key) {
+		final Node leaf = leafFor(key);
+		final int i = lowerBound(leaf.keys, leaf.size, key);
+		return i < leaf.size && leaf.keys[i] == key;
+	}
+
+	/**
+	 * Returns true if the specified value is in the map. Note this traverses every value in the map.
+	 */
+	public boolean containsValue (int value) {
+		for (Node leaf = head; leaf != null; leaf = leaf.next) {
+			for (int i = 0, n = leaf.size; i < n; i++) {
+				if (leaf.values[i] == value) return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of key-value mappings in this map.
+	 */
+	public int size () {
+		return size;
+	}
+
+	/**
+	 * Returns true if the map is empty.
+	 */
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if the map has one or more items.
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	/**
+	 * Removes every key-value pair; this discards all nodes.
+	 */
+	public void clear () {
+		size = 0;
+		root = head = new Node(true);
+	}
+
+	/**
+	 * Gets the smallest key in this map.
+	 *
+	 * @return the smallest key
+	 * @throws IllegalStateException if this map is empty
+	 */
+	public int firstKey () {
+		if (size == 0) throw new IllegalStateException("IntIntSortedMap is empty.");
+		return head.keys[0];
+	}
+
+	/**
+	 * Gets the largest key in this map.
+	 *
+	 * @return the largest key
+	 * @throws IllegalStateException if this map is empty
+	 */
+	public int lastKey () {
+		if (size == 0) throw new IllegalStateException("IntIntSortedMap is empty.");
+		final Node tail = tail();
+		return tail.keys[tail.size - 1];
+	}
+
+	/**
+	 * Gets the largest key that is less than or equal to {@code key}, or {@code defaultKey} if there is none.
+	 *
+	 * @param key        the key to search for
+	 * @param defaultKey returned if every key in this map is greater than key
+	 * @return the greatest key less than or equal to key, or defaultKey
+	 */
+	public int floorKey (int key, int defaultKey) {
+		Node leaf = leafFor(key);
+		final int i = upperBound(leaf.keys, leaf.size, key) - 1;
+		if (i >= 0) return leaf.keys[i];
+		return (leaf = leaf.prev) == null ? defaultKey : leaf.keys[leaf.size - 1];
+	}
+
+	/**
+	 * Gets the largest key that is strictly less than {@code key}, or {@code defaultKey} if there is none.
+	 *
+	 * @param key        the key to search for
+	 * @param defaultKey returned if every key in this map is greater than or equal to key
+	 * @return the greatest key less than key, or defaultKey
+	 */
+	public int lowerKey (int key, int defaultKey) {
+		Node leaf = leafFor(key);
+		final int i = lowerBound(leaf.keys, leaf.size, key) - 1;
+		if (i >= 0) return leaf.keys[i];
+		return (leaf = leaf.prev) == null ? defaultKey : leaf.keys[leaf.size - 1];
+	}
+
+	/**
+	 * Gets the smallest key that is greater than or equal to {@code key}, or {@code defaultKey} if there is none.
+	 *
+	 * @param key        the key to search for
+	 * @param defaultKey returned if every key in this map is less than key
+	 * @return the least key greater than or equal to key, or defaultKey
+	 */
+	public int ceilingKey (int key, int defaultKey) {
+		Node leaf = leafFor(key);
+		final int i = lowerBound(leaf.keys, leaf.size, key);
+		if (i < leaf.size) return leaf.keys[i];
+		return (leaf = leaf.next) == null ? defaultKey : leaf.keys[0];
+	}
+
+	/**
+	 * Gets the smallest key that is strictly greater than {@code key}, or {@code defaultKey} if there is none.
+	 *
+	 * @param key        the key to search for
+	 * @param defaultKey returned if every key in this map is less than or equal to key
+	 * @return the least key greater than key, or defaultKey
+	 */
+	public int higherKey (int key, int defaultKey) {
+		Node leaf = leafFor(key);
+		final int i = upperBound(leaf.keys, leaf.size, key);
+		if (i < leaf.size) return leaf.keys[i];
+		return (leaf = leaf.next) == null ? defaultKey : leaf.keys[0];
+	}
+
+	/**
+	 * Gets a view of the part of this map with keys from {@code fromKey} (inclusive) to {@code toKey} (exclusive).
+	 * The view reads and writes through to this map, so changes to either are visible in the other. Putting a key
+	 * outside the range into the view throws an {@link IllegalArgumentException}.
+	 *
+	 * @param fromKey the lowest key in the view, inclusive
+	 * @param toKey   the upper bound of keys in the view, exclusive
+	 * @return a view of the given range of this map
+	 */
+	public SubMap subMap (int fromKey, int toKey) {
+		return new SubMap(this, true, fromKey, true, toKey);
+	}
+
+	/**
+	 * Gets a view of the part of this map with keys less than {@code toKey}. See {@link #subMap(int, int)}.
+	 *
+	 * @param toKey the upper bound of keys in the view, exclusive
+	 * @return a view of the given range of this map
+	 */
+	public SubMap headMap (int toKey) {
+		return new SubMap(this, false, toKey, true, toKey);
+	}
+
+	/**
+	 * Gets a view of the part of this map with keys greater than or equal to {@code fromKey}. See
+	 * {@link #subMap(int, int)}.
+	 *
+	 * @param fromKey the lowest key in the view, inclusive
+	 * @return a view of the given range of this map
+	 */
+	public SubMap tailMap (int fromKey) {
+		return new SubMap(this, true, fromKey, false, fromKey);
+	}
+
+	/**
+	 * Iterates over every entry in ascending key order. The same {@link IntIntMap.Entry} object is returned by each call to
+	 * next(), with its key and value changed.
+	 *
+	 * @return an iterator over all entries in key order
+	 */
+	@Override
+	public EntryIterator iterator () {
+		return new EntryIterator(this, false, 0, false, 0);
+	}
+
+	/**
+	 * Iterates over every entry with a key from {@code fromKey} (inclusive) to {@code toKey} (exclusive), in ascending
+	 * key order. This finds the first entry in {@code O(log n)} time, then steps along the leaves.
+	 *
+	 * @param fromKey the lowest key to iterate over, inclusive
+	 * @param toKey   the upper bound of keys to iterate over, exclusive
+	 * @return an iterator over the given range of entries
+	 */
+	public EntryIterator iterator (int fromKey, int toKey) {
+		return new EntryIterator(this, true, fromKey, true, toKey);
+	}
+
+	/**
+	 * Iterates over every key in ascending order.
+	 *
+	 * @return an iterator over all keys in order
+	 */
+	public KeyIterator keys () {
+		return new KeyIterator(this, false, 0, false, 0);
+	}
+
+	/**
+	 * Iterates over every value, in ascending order of their keys.
+	 *
+	 * @return an iterator over all values in key order
+	 */
+	public ValueIterator values () {
+		return new ValueIterator(this, false, 0, false, 0);
+	}
+
+	@Override
+	public int hashCode () {
+		int h = size;
+		for (Node leaf = head; leaf != null; leaf = leaf.next) {
+			for (int i = 0, n = leaf.size; i < n; i++) {
+				h ^= leaf.keys[i];
+				h ^= leaf.values[i];
+			}
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals (Object obj) {
+		if (obj == this) {return true;}
+		if (!(obj instanceof IntIntSortedMap)) {return false;}
+		IntIntSortedMap other = (IntIntSortedMap)obj;
+		if (other.size != size) {return false;}
+		Node a = head, b = other.head;
+		int i = 0, j = 0;
+		for (int remaining = size; remaining > 0; remaining--) {
+			while (i >= a.size) {
+				a = a.next;
+				i = 0;
+			}
+			while (j >= b.size) {
+				b = b.next;
+				j = 0;
+			}
+			if (a.keys[i] != b.keys[j] || !(a.values[i] == b.values[j])) {return false;}
+			i++;
+			j++;
+		}
+		return true;
+	}
+
+	@Override
+	public String toString () {
+		if (size == 0) {return "{}";}
+		StringBuilder sb = new StringBuilder(32).append('{');
+		for (Node leaf = head; leaf != null; leaf = leaf.next) {
+			for (int i = 0, n = leaf.size; i < n; i++) {
+				if (sb.length() > 1) {sb.append(", ");}
+				sb.append(leaf.keys[i]).append('=').append(leaf.values[i]);
+			}
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * A view of a range of keys in a IntIntSortedMap, as returned by {@link #subMap(int, int)},
+	 * {@link #headMap(int)}, or {@link #tailMap(int)}. Each bound may be absent, which means that side is unbounded.
+	 * All operations read and write through to the backing map.
+	 */
+	public static class SubMap implements Iterable<IntIntMap.Entry> {
+		protected final IntIntSortedMap map;
+		protected final boolean hasLow, hasHigh;
+		protected final int low, high;
+
+		public SubMap (IntIntSortedMap map, boolean hasLow, int low, boolean hasHigh, int high) {
+			this.map = map;
+			this.hasLow = hasLow;
+			this.low = low;
+			this.hasHigh = hasHigh;
+			this.high = high;
+		}
+
+		/**
+		 * Returns true if {@code key} is within the bounds of this view.
+		 */
+		public boolean inRange (int key) {
+			return (!hasLow || key >= low) && (!hasHigh || key < high);
+		}
+
+		/**
+		 * Counts the keys in this view. This only looks at individual keys in the first and last leaves of the range,
+		 * and adds the sizes of whole leaves between them.
+		 *
+		 * @return how many keys in the backing map are within this view's bounds
+		 */
+		public int size () {
+			Node leaf;
+			int i;
+			if (hasLow) {
+				leaf = map.leafFor(low);
+				i = lowerBound(leaf.keys, leaf.size, low);
+			} else {
+				leaf = map.head;
+				i = 0;
+			}
+			int count = 0;
+			for (; leaf != null; leaf = leaf.next, i = 0) {
+				final int n = leaf.size;
+				if (hasHigh && n > 0 && leaf.keys[n - 1] >= high) {
+					return Math.max(0, count + lowerBound(leaf.keys, n, high) - i);
+				}
+				count += n - i;
+			}
+			return count;
+		}
+
+		public boolean isEmpty () {
+			return !new KeyIterator(map, hasLow, low, hasHigh, high).hasNext();
+		}
+
+		public boolean notEmpty () {
+			return !isEmpty();
+		}
+
+		public boolean containsKey (int key) {
+			return inRange(key) && map.containsKey(key);
+		}
+
+		/**
+		 * Returns the value for the specified key, or the backing map's {@link #defaultValue} if the key is not in
+		 * this view.
+		 */
+		public int get (int key) {
+			return inRange(key) ? map.get(key) : map.defaultValue;
+		}
+
+		/**
+		 * Puts a key-value pair into the backing map.
+		 *
+		 * @throws IllegalArgumentException if key is outside this view's bounds
+		 */
+		public int put (int key, int value) {
+			if (!inRange(key)) throw new IllegalArgumentException("The key " + key + " is outside the range of this view.");
+			return map.put(key, value);
+		}
+
+		/**
+		 * Removes a key from the backing map if it is in this view.
+		 */
+		public int remove (int key) {
+			return inRange(key) ? map.remove(key) : map.defaultValue;
+		}
+
+		/**
+		 * Removes every key in this view from the backing map.
+		 */
+		public void clear () {
+			KeyIterator it = new KeyIterator(map, hasLow, low, hasHigh, high);
+			while (it.hasNext()) {
+				it.nextInt();
+				it.remove();
+			}
+		}
+
+		/**
+		 * @throws IllegalStateException if this view is empty
+		 */
+		public int firstKey () {
+			KeyIterator it = new KeyIterator(map, hasLow, low, hasHigh, high);
+			if (!it.hasNext()) throw new IllegalStateException("SubMap is empty.");
+			return it.nextInt();
+		}
+
+		/**
+		 * @throws IllegalStateException if this view is empty
+		 */
+		public int lastKey () {
+			if (map.size != 0) {
+				if (!hasHigh) {
+					final int last = map.lastKey();
+					if (!hasLow || last >= low) return last;
+				} else {
+					final Node leaf = map.leafFor(high);
+					final int i = lowerBound(leaf.keys, leaf.size, high) - 1;
+					final int last;
+					if (i >= 0) last = leaf.keys[i];
+					else if (leaf.prev != null) last = leaf.prev.keys[leaf.prev.size - 1];
+					else throw new IllegalStateException("SubMap is empty.");
+					if (!hasLow || last >= low) return last;
+				}
+			}
+			throw new IllegalStateException("SubMap is empty.");
+		}
+
+		/**
+		 * Gets a view of the part of this view with keys from {@code fromKey} (inclusive) to {@code toKey} (exclusive);
+		 * the result is limited to both this view's range and the given one.
+		 */
+		public SubMap subMap (int fromKey, int toKey) {
+			final boolean useFrom = !hasLow || fromKey > low, useTo = !hasHigh || toKey < high;
+			return new SubMap(map, true, useFrom ? fromKey : low, true, useTo ? toKey : high);
+		}
+
+		@Override
+		public EntryIterator iterator () {
+			return new EntryIterator(map, hasLow, low, hasHigh, high);
+		}
+
+		public KeyIterator keys () {
+			return new KeyIterator(map, hasLow, low, hasHigh, high);
+		}
+
+		public ValueIterator values () {
+			return new ValueIterator(map, hasLow, low, hasHigh, high);
+		}
+
+		@Override
+		public String toString () {
+			StringBuilder sb = new StringBuilder(32).append('{');
+			for (IntIntMap.Entry e : this) {
+				if (sb.length() > 1) {sb.append(", ");}
+				sb.append(e);
+			}
+			return sb.append('}').toString();
+		}
+	}
+
+	/**
+	 * Walks the leaves of a IntIntSortedMap from a starting key up to an optional upper bound. Removing the most recent item
+	 * with {@link #remove()} is supported; other changes to the map during iteration make this iterator's behavior
+	 * undefined.
+	 */
+	public static class MapIterator {
+		protected final IntIntSortedMap map;
+		protected final boolean hasLow, hasHigh;
+		protected final int low, high;
+		@Nullable protected Node leaf;
+		protected int index;
+		protected int lastKey;
+		protected boolean valid;
+
+		public MapIterator (IntIntSortedMap map, boolean hasLow, int low, boolean hasHigh, int high) {
+			this.map = map;
+			this.hasLow = hasLow;
+			this.low = low;
+			this.hasHigh = hasHigh;
+			this.high = high;
+			reset();
+		}
+
+		/**
+		 * Moves this iterator back to the start of its range.
+		 */
+		public void reset () {
+			valid = false;
+			if (hasLow) {
+				leaf = map.leafFor(low);
+				index = lowerBound(leaf.keys, leaf.size, low);
+			} else {
+				leaf = map.head;
+				index = 0;
+			}
+			skipEmpty();
+		}
+
+		protected void skipEmpty () {
+			while (leaf != null && index >= leaf.size) {
+				leaf = leaf.next;
+				index = 0;
+			}
+		}
+
+		public boolean hasNext () {
+			return leaf != null && (!hasHigh || leaf.keys[index] < high);
+		}
+
+		/**
+		 * Moves past the current item, returning the index of it in {@link #leaf} before moving.
+		 */
+		protected int advance () {
+			if (!hasNext()) throw new NoSuchElementException("No more items in this range.");
+			final int i = index;
+			lastKey = leaf.keys[i];
+			valid = true;
+			if (++index >= leaf.size) {
+				leaf = leaf.next;
+				index = 0;
+				skipEmpty();
+			}
+			return i;
+		}
+
+		/**
+		 * Removes the item most recently returned from the map, then finds the next item again, since removal can move
+		 * items between leaves.
+		 */
+		public void remove () {
+			if (!valid) throw new IllegalStateException("next() must be called before remove().");
+			valid = false;
+			map.remove(lastKey);
+			leaf = map.leafFor(lastKey);
+			index = upperBound(leaf.keys, leaf.size, lastKey);
+			skipEmpty();
+		}
+	}
+
+	public static class EntryIterator extends MapIterator implements Iterable<IntIntMap.Entry>, Iterator<IntIntMap.Entry> {
+		protected final IntIntMap.Entry entry = new IntIntMap.Entry();
+
+		public EntryIterator (IntIntSortedMap map, boolean hasLow, int low, boolean hasHigh, int high) {
+			super(map, hasLow, low, hasHigh, high);
+		}
+
+		/**
+		 * Note the same entry instance is returned each time this method is called.
+		 */
+		@Override
+		public IntIntMap.Entry next () {
+			final Node leaf = this.leaf;
+			final int i = advance();
+			entry.key = leaf.keys[i];
+			entry.value = leaf.values[i];
+			return entry;
+		}
+
+		@Override
+		public boolean hasNext () {
+			return super.hasNext();
+		}
+
+		@Override
+		public void remove () {
+			super.remove();
+		}
+
+		@Override
+		public EntryIterator iterator () {
+			return this;
+		}
+	}
+
+	public static class KeyIterator extends MapIterator implements IntIterator {
+		public KeyIterator (IntIntSortedMap map, boolean hasLow, int low, boolean hasHigh, int high) {
+			super(map, hasLow, low, hasHigh, high);
+		}
+
+		@Override
+		public int nextInt () {
+			final Node leaf = this.leaf;
+			return leaf.keys[advance()];
+		}
+
+		@Override
+		public boolean hasNext () {
+			return super.hasNext();
+		}
+
+		@Override
+		public void remove () {
+			super.remove();
+		}
+
+		/**
+		 * Returns a new IntList containing the remaining keys.
+		 */
+		public IntList toList () {
+			IntList list = new IntList(map.size);
+			while (hasNext()) {list.add(nextInt());}
+			return list;
+		}
+	}
+
+	public static class ValueIterator extends MapIterator implements IntIterator {
+		public ValueIterator (IntIntSortedMap map, boolean hasLow, int low, boolean hasHigh, int high) {
+			super(map, hasLow, low, hasHigh, high);
+		}
+
+		@Override
+		public int nextInt () {
+			final Node leaf = this.leaf;
+			return leaf.values[advance()];
+		}
+
+		@Override
+		public boolean hasNext () {
+			return super.hasNext();
+		}
+
+		@Override
+		public void remove () {
+			super.remove();
+		}
+	}
+}
@@ -37,6 +37,12 @@ import java.util.Random;
  * @see IntBag IntBag is an unordered variant on IntList.
  */
 public class IntList implements PrimitiveCollection.OfInt, Ordered.OfInt, Arrangeable {
+	/**
+	 * When one sorted list is more than {@code 1 << GALLOP_SHIFT} times as large as the other, the sorted-list
+	 * operations such as {@link #intersectSorted(IntList, IntList)} use galloping search instead of a linear merge.
+	 */
+	protected static final int GALLOP_SHIFT = 4;
+
 	/**
 	 * Returns true if this implementation retains order, which it does.
 	 * @return true
@@ -257,6 +263,26 @@ public class IntList implements PrimitiveCollection.OfInt, Ordered.OfInt, Arrang
 		return changed;
 	}
 
+	/**
+	 * Adds every remaining item from {@code it} to the end of this list, reading batches straight into the backing
+	 * array with {@link IntIterator#nextBatch(int[], int, int)}.
+	 *
+	 * @param it a IntIterator; it will have no items remaining after this call
+	 * @return true if this list was modified
+	 */
+	@Override
+	public boolean addAll (IntIterator it) {
+		if (!it.hasNext()) {return false;}
+		final int start = size;
+		int n;
+		do {
+			if (size == items.length) {ensureCapacity(1);}
+			n = it.nextBatch(items, size, items.length - size);
+			size += n;
+		} while (n > 0);
+		return size != start;
+	}
+
 	// Modified from libGDX
 	public boolean addAll (int... array) {
 		return addAll(array, 0, array.length);
@@ -419,6 +445,28 @@ public class IntList implements PrimitiveCollection.OfInt, Ordered.OfInt, Arrang
 		return count > 0;
 	}
 
+	/**
+	 * Returns a view of {@code count} items of this list, starting at {@code offset}, that shares this list's storage
+	 * instead of copying it. Setting items in the view, or sorting or rearranging it, writes through to this list.
+	 *
+	 * @param offset the first index to view
+	 * @param count  how many items to view
+	 * @return a new IntListView over the given range
+	 */
+	public IntListView slice (int offset, int count) {
+		if (count < 0) {throw new IndexOutOfBoundsException("count can't be negative: " + count);}
+		return new IntListView(this, offset, count, true);
+	}
+
+	/**
+	 * Returns a view of this whole list that can't change it, and that still sees any items added to this later.
+	 *
+	 * @return a new read-only IntListView over this list
+	 */
+	public IntListView readOnlyView () {
+		return new IntListView(this, 0, -1, false);
+	}
+
 	/**
 	 * Returns this IntList, since it is its own order. This is only here to satisfy
 	 * the {@link Ordered.OfInt} interface.
@@ -771,6 +819,449 @@ public class IntList implements PrimitiveCollection.OfInt, Ordered.OfInt, Arrang
 		IntComparators.sort(items, from, to, c);
 	}
 
+	/**
+	 * Gets the indices of this IntList's items in the order that {@link #sort(IntComparator)} would put them in,
+	 * without changing this IntList. The result can be passed to {@link #applyPermutation(IntList)} on this or any
+	 * other {@link Arrangeable} with the same size to move their items into that order. Like sort(), this is stable,
+	 * so indices of equal items stay in ascending order. This uses
+	 * {@link IntComparators#mergeSort(int[], int, int, IntComparator)}, which allocates a temporary int array.
+	 *
+	 * @param c the comparator to determine the order of the IntList; if null, this uses the natural order
+	 * @return a new IntList holding every index of this IntList, sorted by the item at each index
+	 */
+	public IntList argsort (@Nullable final IntComparator c) {
+		final int[] items = this.items;
+		final IntComparator comp = c == null ? IntComparators.NATURAL_COMPARATOR : c;
+		final int n = size;
+		final IntList order = new IntList(n);
+		final int[] indices = order.setSize(n);
+		for (int i = 0; i < n; i++) {
+			indices[i] = i;
+		}
+		IntComparators.mergeSort(indices, 0, n, (a, b) -> comp.compare(items[a], items[b]));
+		return order;
+	}
+
+	/**
+	 * Sorts this IntList using {@code c}, and rearranges each of {@code others} in the same way, so items that were
+	 * at the same index in this and in another Arrangeable are still at the same index as each other afterward. This
+	 * is useful when several lists of the same size hold different columns of the same rows. The sort is stable.
+	 * <br>
+	 * This calls {@link #argsort(IntComparator)} once, then {@link #applyPermutation(IntList)} on this and on each
+	 * of others.
+	 *
+	 * @param c      the comparator to determine the order of the IntList; if null, this uses the natural order
+	 * @param others any number of Arrangeables that must each have the same size as this IntList
+	 * @return the permutation that was applied, as returned by {@link #argsort(IntComparator)}
+	 * @throws IllegalArgumentException if any of others has a different size; nothing is rearranged in that case
+	 */
+	public IntList coSort (@Nullable final IntComparator c, Arrangeable... others) {
+		for (Arrangeable other : others) {
+			if (other.size() != size)
+				throw new IllegalArgumentException("Every Arrangeable must have the same size as this IntList.");
+		}
+		final IntList order = argsort(c);
+		applyPermutation(order);
+		for (Arrangeable other : others) {
+			other.applyPermutation(order);
+		}
+		return order;
+	}
+
+	/**
+	 * Rearranges this IntList in-place so that the item at each index {@code i} afterward is the item that was at
+	 * index {@code permutation.get(i)} before. This moves items directly along each cycle of the permutation, so it
+	 * writes each item once and doesn't copy the list; the only allocation is one bit per index.
+	 *
+	 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+	 * @throws IllegalArgumentException if permutation has a different size or is not a valid permutation; nothing is
+	 *                                  rearranged in either case
+	 */
+	@Override
+	public void applyPermutation (IntList permutation) {
+		final int n = size;
+		if (permutation.size() != n)
+			throw new IllegalArgumentException("The permutation must have the same size as this IntList.");
+		final int[] order = Utilities.checkPermutation(permutation, n, permutation == this);
+		final int[] items = this.items;
+		final long[] done = new long[n + 63 >>> 6];
+		for (int i = 0; i < n; i++) {
+			if ((done[i >>> 6] & 1L << i) != 0L) continue;
+			done[i >>> 6] |= 1L << i;
+			final int temp = items[i];
+			int j = i, k;
+			while ((k = order[j]) != i) {
+				items[j] = items[k];
+				done[k >>> 6] |= 1L << k;
+				j = k;
+			}
+			items[j] = temp;
+		}
+	}
+
+	/**
+	 * Gets the backing array with this list's items in order starting at index 0, for the methods here that read
+	 * {@link #items} directly, such as {@link #binarySearch(int)} and {@link #unionSorted(IntList, IntList)}. A IntList
+	 * always stores its items this way; {@link IntDeque} overrides this to move its head to index 0 first.
+	 *
+	 * @return the backing array, holding the items of this list from index 0 to {@link #size()} (exclusive)
+	 */
+	protected int[] orderedItems () {
+		return items;
+	}
+
+	/**
+	 * Searches this IntList for {@code value} using binary search. This IntList must be sorted in ascending
+	 * order, as by {@link #sort()}, or the result is undefined. This uses
+	 * {@link Arrays#binarySearch(int[], int, int, int)}.
+	 *
+	 * @param value the int to search for
+	 * @return the index of value if it is present, or {@code (-(insertion point) - 1)} if it is not
+	 */
+	public int binarySearch (int value) {
+		return Arrays.binarySearch(orderedItems(), 0, size, value);
+	}
+
+	/**
+	 * Gets the first index in this sorted IntList that holds an item greater than or equal to {@code value}, or
+	 * {@link #size()} if there is no such item. This IntList must be sorted in ascending order, as by
+	 * {@link #sort()}, or the result is undefined.
+	 *
+	 * @param value the int to search for
+	 * @return the lowest index that value could be inserted at while keeping this sorted
+	 */
+	public int lowerBound (int value) {
+		return lowerBound(orderedItems(), 0, size, value);
+	}
+
+	/**
+	 * Gets the first index in this sorted IntList that holds an item greater than {@code value}, or
+	 * {@link #size()} if there is no such item. This IntList must be sorted in ascending order, as by
+	 * {@link #sort()}, or the result is undefined.
+	 *
+	 * @param value the int to search for
+	 * @return the highest index that value could be inserted at while keeping this sorted
+	 */
+	public int upperBound (int value) {
+		return upperBound(orderedItems(), 0, size, value);
+	}
+
+	/**
+	 * Appends every item that is in both this and {@code other} to {@code dest}, in ascending order. This and other
+	 * must both be sorted in ascending order, as by {@link #sort()}. Items are treated as a multiset, so an item that
+	 * appears twice in this and three times in other is appended twice.
+	 * <br>
+	 * This runs in linear time when the sizes are similar. When one list is much larger than the other, this instead
+	 * uses galloping (exponential) search to skip through the larger list, which only takes time proportional to
+	 * {@code small * log(large / small)}.
+	 *
+	 * @param other another sorted IntList
+	 * @param dest  the IntList to append to; must not be this or other
+	 * @return dest, after modifications
+	 */
+	public IntList intersectSorted (IntList other, IntList dest) {
+		if (dest instanceof IntDeque) {
+			dest.addAll(intersectSorted(other, new IntList()));
+			return dest;
+		}
+		final boolean thisSmaller = size <= other.size;
+		final int[] a = orderedItems(), b = other.orderedItems();
+		final int[] s = thisSmaller ? a : b, l = thisSmaller ? b : a;
+		final int sn = thisSmaller ? size : other.size, ln = thisSmaller ? other.size : size;
+		final int[] d = dest.ensureCapacity(sn);
+		int n = dest.size;
+		if (ln >>> GALLOP_SHIFT > sn) {
+			for (int i = 0, j = 0; i < sn && j < ln; i++) {
+				j = gallop(l, j, ln, s[i]);
+				if (j < ln && l[j] == s[i]) {
+					d[n++] = s[i];
+					j++;
+				}
+			}
+		} else {
+			for (int i = 0, j = 0; i < sn && j < ln; ) {
+				if (s[i] < l[j]) i++;
+				else if (s[i] > l[j]) j++;
+				else {
+					d[n++] = s[i++];
+					j++;
+				}
+			}
+		}
+		dest.size = n;
+		return dest;
+	}
+
+	/**
+	 * Appends every item that is in this or {@code other} to {@code dest}, in ascending order. This and other must
+	 * both be sorted in ascending order, as by {@link #sort()}. Items are treated as a multiset, so an item that
+	 * appears twice in this and three times in other is appended three times. To keep every item from both lists,
+	 * use {@link #mergeSorted(IntList, IntList)}.
+	 * <br>
+	 * When one list is much larger than the other, this uses galloping search to find long runs in either list, and
+	 * copies each run with {@link System#arraycopy(Object, int, Object, int, int)}.
+	 *
+	 * @param other another sorted IntList
+	 * @param dest  the IntList to append to; must not be this or other
+	 * @return dest, after modifications
+	 */
+	public IntList unionSorted (IntList other, IntList dest) {
+		if (dest instanceof IntDeque) {
+			dest.addAll(unionSorted(other, new IntList()));
+			return dest;
+		}
+		final int[] a = orderedItems(), b = other.orderedItems();
+		final int an = size, bn = other.size;
+		final int[] d = dest.ensureCapacity(an + bn);
+		int n = dest.size, i = 0, j = 0;
+		if (Math.max(an, bn) >>> GALLOP_SHIFT > Math.min(an, bn)) {
+			while (i < an && j < bn) {
+				if (a[i] < b[j]) {
+					final int k = gallop(a, i, an, b[j]);
+					System.arraycopy(a, i, d, n, k - i);
+					n += k - i;
+					i = k;
+				} else if (a[i] > b[j]) {
+					final int k = gallop(b, j, bn, a[i]);
+					System.arraycopy(b, j, d, n, k - j);
+					n += k - j;
+					j = k;
+				} else {
+					d[n++] = a[i++];
+					j++;
+				}
+			}
+		} else {
+			while (i < an && j < bn) {
+				if (a[i] < b[j]) d[n++] = a[i++];
+				else if (a[i] > b[j]) d[n++] = b[j++];
+				else {
+					d[n++] = a[i++];
+					j++;
+				}
+			}
+		}
+		System.arraycopy(a, i, d, n, an - i);
+		n += an - i;
+		System.arraycopy(b, j, d, n, bn - j);
+		dest.size = n + bn - j;
+		return dest;
+	}
+
+	/**
+	 * Appends every item in this and every item in {@code other} to {@code dest}, in ascending order. This and other
+	 * must both be sorted in ascending order, as by {@link #sort()}. Unlike {@link #unionSorted(IntList, IntList)},
+	 * this keeps every item, so dest grows by exactly {@code size() + other.size()}. Equal items from this come before
+	 * those from other.
+	 * <br>
+	 * When one list is much larger than the other, this uses galloping search to find long runs in either list, and
+	 * copies each run with {@link System#arraycopy(Object, int, Object, int, int)}.
+	 *
+	 * @param other another sorted IntList
+	 * @param dest  the IntList to append to; must not be this or other
+	 * @return dest, after modifications
+	 */
+	public IntList mergeSorted (IntList other, IntList dest) {
+		if (dest instanceof IntDeque) {
+			dest.addAll(mergeSorted(other, new IntList()));
+			return dest;
+		}
+		final int[] a = orderedItems(), b = other.orderedItems();
+		final int an = size, bn = other.size;
+		final int[] d = dest.ensureCapacity(an + bn);
+		int n = dest.size, i = 0, j = 0;
+		if (Math.max(an, bn) >>> GALLOP_SHIFT > Math.min(an, bn)) {
+			while (i < an && j < bn) {
+				if (a[i] > b[j]) {
+					final int k = gallop(b, j, bn, a[i]);
+					System.arraycopy(b, j, d, n, k - j);
+					n += k - j;
+					j = k;
+				} else {
+					final int k = gallopPast(a, i, an, b[j]);
+					System.arraycopy(a, i, d, n, k - i);
+					n += k - i;
+					i = k;
+				}
+			}
+		} else {
+			while (i < an && j < bn) {
+				d[n++] = a[i] > b[j] ? b[j++] : a[i++];
+			}
+		}
+		System.arraycopy(a, i, d, n, an - i);
+		n += an - i;
+		System.arraycopy(b, j, d, n, bn - j);
+		dest.size = n + bn - j;
+		return dest;
+	}
+
+	/**
+	 * Appends every item that is in this but not in {@code other} to {@code dest}, in ascending order. This and other
+	 * must both be sorted in ascending order, as by {@link #sort()}. Items are treated as a multiset, so an item that
+	 * appears three times in this and once in other is appended twice.
+	 * <br>
+	 * When one list is much larger than the other, this uses galloping search to skip through other, or to find long
+	 * runs in this that can be copied at once.
+	 *
+	 * @param other another sorted IntList
+	 * @param dest  the IntList to append to; must not be this or other
+	 * @return dest, after modifications
+	 */
+	public IntList differenceSorted (IntList other, IntList dest) {
+		if (dest instanceof IntDeque) {
+			dest.addAll(differenceSorted(other, new IntList()));
+			return dest;
+		}
+		final int[] a = orderedItems(), b = other.orderedItems();
+		final int an = size, bn = other.size;
+		final int[] d = dest.ensureCapacity(an);
+		int n = dest.size, i = 0, j = 0;
+		if (Math.max(an, bn) >>> GALLOP_SHIFT > Math.min(an, bn)) {
+			while (i < an && j < bn) {
+				if (a[i] < b[j]) {
+					final int k = gallop(a, i, an, b[j]);
+					System.arraycopy(a, i, d, n, k - i);
+					n += k - i;
+					i = k;
+				} else if (a[i] > b[j]) {
+					j = gallop(b, j, bn, a[i]);
+				} else {
+					i++;
+					j++;
+				}
+			}
+		} else {
+			while (i < an && j < bn) {
+				if (a[i] < b[j]) d[n++] = a[i++];
+				else if (a[i] > b[j]) j++;
+				else {
+					i++;
+					j++;
+				}
+			}
+		}
+		System.arraycopy(a, i, d, n, an - i);
+		dest.size = n + an - i;
+		return dest;
+	}
+
+	/**
+	 * Appends every item that is in all of {@code lists} to {@code dest}, in ascending order. Each of lists must be
+	 * sorted in ascending order, as by {@link #sort()}. Items are treated as a multiset, so an item is appended as
+	 * many times as it appears in the list where it appears the fewest times.
+	 * <br>
+	 * This intersects all lists in one pass, without making intermediate lists. It goes through the smallest list,
+	 * and uses galloping search to find each of its items in the other lists, keeping a cursor in each. When an item
+	 * is missing from some list, this skips ahead in the smallest list to the next item in that list. This is much
+	 * faster than intersecting the lists one pair at a time when the smallest list is much smaller than the others.
+	 *
+	 * @param dest  the IntList to append to; must not be any of lists
+	 * @param lists any number of sorted IntLists
+	 * @return dest, after modifications
+	 */
+	public static IntList intersectAllSorted (IntList dest, IntList... lists) {
+		if (dest instanceof IntDeque) {
+			dest.addAll(intersectAllSorted(new IntList(), lists));
+			return dest;
+		}
+		final int k = lists.length;
+		if (k == 0) return dest;
+		if (k == 1) {
+			dest.addAll(lists[0]);
+			return dest;
+		}
+		final IntList[] ls = lists.clone();
+		for (int m = 1; m < k; m++) {
+			for (int q = m; q > 0 && ls[q - 1].size > ls[q].size; q--) {
+				final IntList t = ls[q];
+				ls[q] = ls[q - 1];
+				ls[q - 1] = t;
+			}
+		}
+		final int[] s = ls[0].orderedItems();
+		final int sn = ls[0].size;
+		final int[] cursors = new int[k];
+		final int[] d = dest.ensureCapacity(sn);
+		int n = dest.size;
+		outer:
+		for (int i = 0; i < sn; ) {
+			final int v = s[i];
+			for (int m = 1; m < k; m++) {
+				final int[] l = ls[m].orderedItems();
+				final int ln = ls[m].size;
+				final int c = cursors[m] = gallop(l, cursors[m], ln, v);
+				if (c == ln) break outer;
+				if (l[c] != v) {
+					i = gallop(s, i + 1, sn, l[c]);
+					continue outer;
+				}
+			}
+			d[n++] = v;
+			i++;
+			for (int m = 1; m < k; m++) {
+				cursors[m]++;
+			}
+		}
+		dest.size = n;
+		return dest;
+	}
+
+	/**
+	 * Gets the first index from {@code from} (inclusive) to {@code to} (exclusive) in sorted {@code items} with an item
+	 * greater than or equal to {@code value}, or {@code to} if there is none.
+	 */
+	private static int lowerBound (final int[] items, int from, int to, final int value) {
+		while (from < to) {
+			final int mid = from + to >>> 1;
+			if (items[mid] < value) from = mid + 1;
+			else to = mid;
+		}
+		return from;
+	}
+
+	/**
+	 * Gets the first index from {@code from} (inclusive) to {@code to} (exclusive) in sorted {@code items} with an item
+	 * greater than {@code value}, or {@code to} if there is none.
+	 */
+	private static int upperBound (final int[] items, int from, int to, final int value) {
+		while (from < to) {
+			final int mid = from + to >>> 1;
+			if (items[mid] <= value) from = mid + 1;
+			else to = mid;
+		}
+		return from;
+	}
+
+	/**
+	 * Like {@link #lowerBound(int[], int, int, int)}, but checks positions {@code from}, {@code from + 1},
+	 * {@code from + 3}, {@code from + 7}, and so on before using binary search, so it is fast when the result is close
+	 * to from.
+	 */
+	private static int gallop (final int[] items, int from, final int to, final int value) {
+		int hi = from, step = 1;
+		while (hi < to && items[hi] < value) {
+			from = hi + 1;
+			hi = to - hi > step ? hi + step : to;
+			step <<= 1;
+		}
+		return lowerBound(items, from, hi, value);
+	}
+
+	/**
+	 * Like {@link #upperBound(int[], int, int, int)}, but gallops from {@code from} like
+	 * {@link #gallop(int[], int, int, int)}.
+	 */
+	private static int gallopPast (final int[] items, int from, final int to, final int value) {
+		int hi = from, step = 1;
+		while (hi < to && items[hi] <= value) {
+			from = hi + 1;
+			hi = to - hi > step ? hi + step : to;
+			step <<= 1;
+		}
+		return upperBound(items, from, hi, value);
+	}
+
 	@Override
 	public void reverse () {
 		int[] items = this.items;
@@ -932,6 +1423,21 @@ public class IntList implements PrimitiveCollection.OfInt, Ordered.OfInt, Arrang
 			return list.get(latest = index++);
 		}
 
+		/**
+		 * Copies up to {@code max} items from the list straight into {@code dest} with one array copy. After this,
+		 * {@link #remove()} and {@link #set(int)} affect the last item copied.
+		 */
+		@Override
+		public int nextBatch (int[] dest, int offset, int max) {
+			if (!valid) {throw new RuntimeException("#iterator() cannot be used nested.");}
+			final int n = Math.min(max, list.size() - index);
+			if (n <= 0) {return 0;}
+			System.arraycopy(list.items, index, dest, offset, n);
+			index += n;
+			latest = index - 1;
+			return n;
+		}
+
 		/**
 		 * Returns {@code true} if the iteration has more elements.
 		 * (In other words, returns {@code true} if {@link #nextInt} would
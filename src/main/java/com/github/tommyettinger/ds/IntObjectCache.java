@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A cache from int keys to Object values that holds a bounded number of entries, and optionally a bounded total
+ * weight, evicting entries chosen by a {@link CachePolicy} when it needs room. Each key is found through an
+ * {@link IntIntMap} from key to a slot number; the keys, values, and weights are stored by slot in arrays that are
+ * allocated once, at full size, so the cache never resizes. Lookups that find their key, and changes to the eviction
+ * order, take constant time and do not allocate.
+ * <br>
+ * The {@link CachePolicy.Type} can be LRU, LFU, or W-TinyLFU; the default is LRU. Hits, misses, and evictions are
+ * counted; {@link #get(int)} updates those counts and the eviction order, while {@link #peek(int)} and
+ * {@link #containsKey(int)} do neither. Override {@link #onEvict(int, Object)} to find out when an entry is
+ * evicted. Any int can be a key, and values can be null.
+ * <br>
+ * This is the primitive-key counterpart to {@link ObjectObjectCache}, and uses the same policies.
+ * <br>
+ * This is not thread-safe.
+ *
+ * @param <V> the type of values
+ * @author Tommy Ettinger
+ */
+public class IntObjectCache<V> {
+	protected final IntIntMap index;
+	protected final int[] keys;
+	protected final @Nullable V[] values;
+	protected final int[] weights;
+	protected final int[] freeSlots;
+	protected int freeCount;
+	protected int size;
+	protected long totalWeight;
+	protected final int maximumSize;
+	protected final long maximumWeight;
+	protected final CachePolicy policy;
+	protected long hits, misses, evictions;
+
+	/**
+	 * The value returned by {@link #get(int)} and {@link #peek(int)} when a key is not present.
+	 */
+	@Nullable public V defaultValue = null;
+
+	/**
+	 * Creates a new LRU cache that can hold up to {@code maximumSize} entries.
+	 *
+	 * @param maximumSize the most entries this can hold; at least 1
+	 */
+	public IntObjectCache (int maximumSize) {
+		this(maximumSize, Long.MAX_VALUE, CachePolicy.Type.LRU);
+	}
+
+	/**
+	 * Creates a new cache that can hold up to {@code maximumSize} entries, using the given eviction policy.
+	 *
+	 * @param maximumSize the most entries this can hold; at least 1
+	 * @param type        which eviction policy to use
+	 */
+	public IntObjectCache (int maximumSize, CachePolicy.Type type) {
+		this(maximumSize, Long.MAX_VALUE, type);
+	}
+
+	/**
+	 * Creates a new cache that can hold up to {@code maximumSize} entries with a total weight of at most
+	 * {@code maximumWeight}, using the given eviction policy. Entries have the weight given to
+	 * {@link #put(int, Object, int)}, or 1 if put without a weight.
+	 *
+	 * @param maximumSize   the most entries this can hold; at least 1
+	 * @param maximumWeight the most total weight this can hold
+	 * @param type          which eviction policy to use
+	 */
+	public IntObjectCache (int maximumSize, long maximumWeight, CachePolicy.Type type) {
+		this.maximumSize = Math.max(1, maximumSize);
+		this.maximumWeight = maximumWeight;
+		index = new IntIntMap(this.maximumSize);
+		keys = new int[this.maximumSize];
+		values = (V[])new Object[this.maximumSize];
+		weights = new int[this.maximumSize];
+		freeSlots = new int[this.maximumSize];
+		for (int i = 0; i < this.maximumSize; i++) {
+			freeSlots[i] = this.maximumSize - 1 - i;
+		}
+		freeCount = this.maximumSize;
+		policy = CachePolicy.create(type, this.maximumSize);
+	}
+
+	/**
+	 * Gets a hash code for a key, which the policy uses to estimate how often the key is used. The default
+	 * implementation returns key unchanged; the policy mixes it further.
+	 *
+	 * @param key any int
+	 * @return a hash code for key
+	 */
+	protected int hash (int key) {
+		return key;
+	}
+
+	/**
+	 * Called after an entry is evicted to make room, but not when an entry is removed or replaced explicitly. This does
+	 * nothing unless overridden.
+	 *
+	 * @param key   the key of the evicted entry
+	 * @param value the value of the evicted entry
+	 */
+	protected void onEvict (int key, @Nullable V value) {
+	}
+
+	/**
+	 * Returns the value for the specified key, or {@link #defaultValue} if the key is not in the cache. This counts as
+	 * a hit or a miss, and a hit counts as a use of the entry for eviction purposes.
+	 *
+	 * @param key a key to look up
+	 * @return the value associated with key, or {@link #defaultValue}
+	 */
+	@Nullable
+	public V get (int key) {
+		final int slot = index.getOrDefault(key, -1);
+		if (slot < 0) {
+			misses++;
+			policy.onMiss(hash(key));
+			return defaultValue;
+		}
+		hits++;
+		policy.onAccess(slot, hash(key));
+		return values[slot];
+	}
+
+	/**
+	 * Returns the value for the specified key, or {@link #defaultValue} if the key is not in the cache, without
+	 * counting a hit or miss or changing which entry will be evicted next.
+	 *
+	 * @param key a key to look up
+	 * @return the value associated with key, or {@link #defaultValue}
+	 */
+	@Nullable
+	public V peek (int key) {
+		final int slot = index.getOrDefault(key, -1);
+		return slot < 0 ? defaultValue : values[slot];
+	}
+
+	/**
+	 * Returns true if the key is in the cache, without counting a hit or miss or changing which entry will be evicted
+	 * next.
+	 *
+	 * @param key a key to look up
+	 * @return true if key is present
+	 */
+	public boolean containsKey (int key) {
+		return index.containsKey(key);
+	}
+
+	/**
+	 * Puts an entry with weight 1 into the cache, evicting other entries if needed.
+	 *
+	 * @param key   any int
+	 * @param value a value to associate with key; may be null
+	 * @return the previous value associated with key, or {@link #defaultValue} if there was none
+	 */
+	@Nullable
+	public V put (int key, @Nullable V value) {
+		return put(key, value, 1);
+	}
+
+	/**
+	 * Puts an entry with the given weight into the cache, evicting other entries until the size and total weight are
+	 * within their limits. If weight alone is more than the maximum weight, the entry is evicted immediately, which
+	 * calls {@link #onEvict(int, Object)}.
+	 *
+	 * @param key    any int
+	 * @param value  a value to associate with key; may be null
+	 * @param weight how much this entry counts toward the maximum weight; should not be negative
+	 * @return the previous value associated with key, or {@link #defaultValue} if there was none
+	 */
+	@Nullable
+	public V put (int key, @Nullable V value, int weight) {
+		int slot = index.getOrDefault(key, -1);
+		if (slot >= 0) {
+			final V old = values[slot];
+			values[slot] = value;
+			totalWeight += weight - weights[slot];
+			weights[slot] = weight;
+			policy.onAccess(slot, hash(key));
+			while (totalWeight > maximumWeight) {
+				evict(policy.victim());
+			}
+			return old;
+		}
+		if (weight > maximumWeight) {
+			evictions++;
+			onEvict(key, value);
+			return defaultValue;
+		}
+		while (size >= maximumSize || totalWeight + weight > maximumWeight) {
+			evict(policy.victim());
+		}
+		slot = freeSlots[--freeCount];
+		keys[slot] = key;
+		values[slot] = value;
+		weights[slot] = weight;
+		index.put(key, slot);
+		size++;
+		totalWeight += weight;
+		policy.onInsert(slot, hash(key));
+		return defaultValue;
+	}
+
+	/**
+	 * Removes the entry for key, if present, without counting it as an eviction.
+	 *
+	 * @param key the key to remove
+	 * @return the value that was associated with key, or {@link #defaultValue} if there was none
+	 */
+	@Nullable
+	public V remove (int key) {
+		final int slot = index.getOrDefault(key, -1);
+		if (slot < 0) {return defaultValue;}
+		final V old = values[slot];
+		release(slot);
+		return old;
+	}
+
+	protected void evict (int slot) {
+		final int key = keys[slot];
+		final V value = values[slot];
+		release(slot);
+		evictions++;
+		onEvict(key, value);
+	}
+
+	protected void release (int slot) {
+		policy.onRemove(slot);
+		index.remove(keys[slot]);
+		totalWeight -= weights[slot];
+		values[slot] = null;
+		freeSlots[freeCount++] = slot;
+		size--;
+	}
+
+	/**
+	 * Removes all entries, without counting them as evictions. The hit, miss, and eviction counts are not reset.
+	 */
+	public void clear () {
+		index.clear();
+		policy.clear();
+		Arrays.fill(values, null);
+		for (int i = 0; i < maximumSize; i++) {
+			freeSlots[i] = maximumSize - 1 - i;
+		}
+		freeCount = maximumSize;
+		size = 0;
+		totalWeight = 0;
+	}
+
+	public int size () {
+		return size;
+	}
+
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if the cache has one or more entries.
+	 *
+	 * @return true if the cache has one or more entries
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	/**
+	 * Gets the total weight of all entries in the cache.
+	 *
+	 * @return the total weight
+	 */
+	public long getWeight () {
+		return totalWeight;
+	}
+
+	public int getMaximumSize () {
+		return maximumSize;
+	}
+
+	public long getMaximumWeight () {
+		return maximumWeight;
+	}
+
+	/**
+	 * Gets how many calls to {@link #get(int)} found their key.
+	 *
+	 * @return the number of hits
+	 */
+	public long getHitCount () {
+		return hits;
+	}
+
+	/**
+	 * Gets how many calls to {@link #get(int)} did not find their key.
+	 *
+	 * @return the number of misses
+	 */
+	public long getMissCount () {
+		return misses;
+	}
+
+	/**
+	 * Gets how many entries were evicted to stay within the limits.
+	 *
+	 * @return the number of evictions
+	 */
+	public long getEvictionCount () {
+		return evictions;
+	}
+
+	/**
+	 * Gets the fraction of calls to {@link #get(int)} that found their key, or 1 if there were none.
+	 *
+	 * @return the hit rate, from 0 to 1
+	 */
+	public double getHitRate () {
+		final long total = hits + misses;
+		return total == 0 ? 1.0 : (double)hits / total;
+	}
+
+	/**
+	 * Sets the hit, miss, and eviction counts to 0.
+	 */
+	public void resetStats () {
+		hits = misses = evictions = 0;
+	}
+
+	@Override
+	public String toString () {
+		StringBuilder sb = new StringBuilder(32).append('{');
+		boolean first = true;
+		for (IntIntMap.Entry e : index) {
+			if (!first) {sb.append(", ");}
+			first = false;
+			sb.append(e.key).append('=').append(values[e.value]);
+		}
+		return sb.append('}').toString();
+	}
+}
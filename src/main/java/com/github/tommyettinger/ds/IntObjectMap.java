@@ -109,6 +109,12 @@ public class IntObjectMap<V> implements Iterable<IntObjectMap.Entry<V>> {
 	 */
 	protected int hashMultiplier;
 
+	/**
+	 * Holds the resize count and time while resize tracking is on; null otherwise.
+	 * See {@link #setTrackingStatistics(boolean)}.
+	 */
+	@Nullable protected transient HashStatistics statistics;
+
 	@Nullable protected transient Entries<V> entries1;
 	@Nullable protected transient Entries<V> entries2;
 	@Nullable protected transient Values<V> values1;
@@ -572,6 +578,7 @@ public class IntObjectMap<V> implements Iterable<IntObjectMap.Entry<V>> {
 	}
 
 	protected void resize (int newSize) {
+		final long start = statistics == null ? 0L : System.nanoTime();
 		int oldCapacity = keyTable.length;
 		threshold = (int)(newSize * loadFactor);
 		mask = newSize - 1;
@@ -589,6 +596,7 @@ public class IntObjectMap<V> implements Iterable<IntObjectMap.Entry<V>> {
 				if (key != 0) {putResize(key, oldValueTable[i]);}
 			}
 		}
+		if (statistics != null) statistics.recordResize(System.nanoTime() - start);
 	}
 
 	/**
@@ -623,6 +631,58 @@ public class IntObjectMap<V> implements Iterable<IntObjectMap.Entry<V>> {
 		return keyTable.length;
 	}
 
+	/**
+	 * Turns resize tracking on or off for {@link #getStatistics()}. While tracking is on, each call to
+	 * {@link #resize(int)} is counted and timed; turning it off discards what was recorded. Tracking is off by default,
+	 * and nothing is measured during normal use unless it is on.
+	 *
+	 * @param track true to count and time resizes, false to stop
+	 */
+	public void setTrackingStatistics (boolean track) {
+		if (!track) statistics = null;
+		else if (statistics == null) statistics = new HashStatistics();
+	}
+
+	/**
+	 * Returns true if resizes are being counted and timed for {@link #getStatistics()}.
+	 *
+	 * @return true if resize tracking is on
+	 */
+	public boolean isTrackingStatistics () {
+		return statistics != null;
+	}
+
+	/**
+	 * Scans the backing table and reports the probe lengths, cluster lengths, and estimated memory use of this map; see
+	 * {@link HashStatistics}. This takes time proportional to {@link #getTableSize()}, so it is meant for diagnosing a
+	 * slow map rather than for routine use. If {@link #setTrackingStatistics(boolean) tracking} is on, the result also has
+	 * the resize count and time, and the same HashStatistics object is updated and returned on each call.
+	 *
+	 * @return a HashStatistics describing the current state of the backing table
+	 */
+	public HashStatistics getStatistics () {
+		final HashStatistics stats = statistics == null ? new HashStatistics() : statistics;
+		final int[] keyTable = this.keyTable;
+		final int n = keyTable.length;
+		stats.begin(n, size);
+		for (int i = 0; i < n; i++) {
+			int k = keyTable[i];
+			if (k == 0) stats.empty();
+			else stats.probe(i - place(k) & mask);
+		}
+		stats.finish(retainedBytes());
+		return stats;
+	}
+
+	/**
+	 * Estimates the memory used by the key and value arrays of this map, in bytes, for {@link #getStatistics()}.
+	 *
+	 * @return the estimated size of the backing arrays in bytes
+	 */
+	protected long retainedBytes () {
+		return HashStatistics.arrayBytes(keyTable.length, 4) + HashStatistics.arrayBytes(valueTable.length, HashStatistics.REFERENCE_BYTES);
+	}
+
 	public float getLoadFactor () {
 		return loadFactor;
 	}
@@ -636,6 +696,17 @@ public class IntObjectMap<V> implements Iterable<IntObjectMap.Entry<V>> {
 		}
 	}
 
+	/**
+	 * Creates an immutable copy of this map that uses a {@link MinimalPerfectHash} to find keys, so it has no empty slots
+	 * and reads at most one displacement and one key for each lookup. This is worth doing for maps that are filled once and
+	 * then only read.
+	 *
+	 * @return a new {@link FrozenIntObjectMap} with the same contents as this
+	 */
+	public FrozenIntObjectMap<V> toFrozen () {
+		return new FrozenIntObjectMap<>(this);
+	}
+
 	@Override
 	public int hashCode () {
 		int h = hasZeroValue && zeroValue != null ? zeroValue.hashCode() ^ size : size;
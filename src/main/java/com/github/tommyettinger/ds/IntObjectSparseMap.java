@@ -0,0 +1,759 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.ds.support.util.Appender;
+import com.github.tommyettinger.ds.support.util.IntAppender;
+import com.github.tommyettinger.ds.support.util.IntIterator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An unordered map where the keys are non-negative ints and the values are objects, meant for small, dense IDs such as
+ * entity numbers, using a sparse set (as described by Briggs and Torczon) for its keys. Putting, getting, removing,
+ * and checking for a key are all O(1) with no hashing.
+ * <p>
+ * Keys and values are packed at the start of parallel dense arrays, which is what iteration reads, and
+ * {@link #keyAt(int)} and {@link #getAt(int)} read them directly. The sparse array, indexed by key, holds each key's
+ * position in the dense arrays and is split into pages like in {@link IntSparseSet}, so large keys only cost memory for
+ * the pages they actually use. Removing a key moves the last entry into its place, so iteration order changes when
+ * entries are removed. Negative keys can't be put in; {@link #put(int, Object)} throws an
+ * {@link IllegalArgumentException} for them, and lookups of them find nothing.
+ * <p>
+ * The entry, key, and value views work like those of {@link IntObjectMap}, using the same {@link IntObjectMap.Entry}
+ * type, except that each call to {@link #entrySet()}, {@link #keySet()}, or {@link #values()} creates a new view, so
+ * nested iteration is always allowed.
+ *
+ * @author Tommy Ettinger
+ */
+public class IntObjectSparseMap<V> implements Iterable<IntObjectMap.Entry<V>> {
+
+	protected int size;
+
+	/**
+	 * The keys in this map, packed at the start; only the first {@link #size} are present.
+	 */
+	protected int[] keys;
+
+	/**
+	 * The values in this map, parallel to {@link #keys}; items at or after {@link #size} are null.
+	 */
+	protected @Nullable V[] values;
+
+	/**
+	 * The pages of the sparse array, indexed by {@code key >>> IntSparseSet.PAGE_BITS}; a page is null until a key in
+	 * its range is put in. Each page holds the dense position of each key in its range, which may be stale for absent
+	 * keys.
+	 */
+	protected @Nullable int[][] pages;
+
+	/**
+	 * Returned by {@link #get(int)} when no value exists for the given key, as well as some other methods to indicate that
+	 * no value in the Map could be returned.
+	 */
+	public @Nullable V defaultValue = null;
+
+	/**
+	 * Creates a new map that can hold 16 entries before growing its dense arrays.
+	 */
+	public IntObjectSparseMap () {
+		this(16);
+	}
+
+	/**
+	 * Creates a new map that can hold {@code initialCapacity} entries before growing its dense arrays.
+	 *
+	 * @param initialCapacity how many entries this can hold before it has to grow; must be non-negative
+	 */
+	public IntObjectSparseMap (int initialCapacity) {
+		if (initialCapacity < 0) {throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);}
+		keys = new int[Math.max(1, initialCapacity)];
+		values = (V[])new Object[keys.length];
+		pages = new int[1][];
+	}
+
+	/**
+	 * Creates a new map identical to the specified map.
+	 *
+	 * @param map an IntObjectSparseMap to copy
+	 */
+	public IntObjectSparseMap (IntObjectSparseMap<? extends V> map) {
+		size = map.size;
+		keys = Arrays.copyOf(map.keys, map.keys.length);
+		values = Arrays.copyOf(map.values, map.values.length);
+		pages = new int[map.pages.length][];
+		for (int i = 0; i < pages.length; i++) {
+			int[] page = map.pages[i];
+			if (page != null) {pages[i] = Arrays.copyOf(page, IntSparseSet.PAGE_SIZE);}
+		}
+		defaultValue = map.defaultValue;
+	}
+
+	/**
+	 * Creates a new map with the same entries as the given IntObjectMap, whose keys must all be non-negative.
+	 *
+	 * @param map an IntObjectMap to copy
+	 */
+	public IntObjectSparseMap (IntObjectMap<? extends V> map) {
+		this(map.size());
+		for (IntObjectMap.Entry<? extends V> e : new IntObjectMap.Entries<>(map)) {
+			put(e.key, e.value);
+		}
+	}
+
+	/**
+	 * Given two side-by-side arrays, one of keys, one of values, this constructs a map and inserts each pair of key and value into it.
+	 * If keys and values have different lengths, this only uses the length of the smaller array.
+	 *
+	 * @param keys   an array of non-negative keys
+	 * @param values an array of values
+	 */
+	public IntObjectSparseMap (int[] keys, V[] values) {
+		this(Math.min(keys.length, values.length));
+		putAll(keys, values);
+	}
+
+	/**
+	 * Gets the position of {@code key} in the dense arrays, or -1 if it is not present.
+	 *
+	 * @param key any int
+	 * @return the position of key in the dense arrays, or -1 if it is not in this map
+	 */
+	protected int locateKey (int key) {
+		if (key < 0) {return -1;}
+		final int p = key >>> IntSparseSet.PAGE_BITS;
+		if (p >= pages.length) {return -1;}
+		final int[] page = pages[p];
+		if (page == null) {return -1;}
+		final int pos = page[key & IntSparseSet.PAGE_MASK];
+		return pos < size && keys[pos] == key ? pos : -1;
+	}
+
+	/**
+	 * Gets the page of the sparse array that holds {@code key}, allocating it (and growing {@link #pages}) if needed.
+	 *
+	 * @param key a non-negative int
+	 * @return the page that holds the dense position of key
+	 */
+	protected int[] page (int key) {
+		final int p = key >>> IntSparseSet.PAGE_BITS;
+		if (p >= pages.length) {pages = Arrays.copyOf(pages, Math.max(p + 1, pages.length << 1));}
+		int[] page = pages[p];
+		if (page == null) {page = pages[p] = new int[IntSparseSet.PAGE_SIZE];}
+		return page;
+	}
+
+	/**
+	 * Returns the old value associated with the specified key, or this map's {@link #defaultValue} if there was no prior value.
+	 *
+	 * @throws IllegalArgumentException if key is negative
+	 */
+	@Nullable
+	public V put (int key, @Nullable V value) {
+		return putOrDefault(key, value, defaultValue);
+	}
+
+	/**
+	 * Returns the old value associated with the specified key, or the given {@code defaultValue} if there was no prior value.
+	 *
+	 * @throws IllegalArgumentException if key is negative
+	 */
+	@Nullable
+	public V putOrDefault (int key, @Nullable V value, @Nullable V defaultValue) {
+		if (key < 0) {throw new IllegalArgumentException("IntObjectSparseMap keys must be non-negative: " + key);}
+		int i = locateKey(key);
+		if (i >= 0) { // Existing key was found.
+			V oldValue = values[i];
+			values[i] = value;
+			return oldValue;
+		}
+		if (size == keys.length) {
+			keys = Arrays.copyOf(keys, size + (size >>> 1) + 1);
+			values = Arrays.copyOf(values, keys.length);
+		}
+		keys[size] = key;
+		values[size] = value;
+		page(key)[key & IntSparseSet.PAGE_MASK] = size++;
+		return defaultValue;
+	}
+
+	/**
+	 * Puts every key-value pair in the given map into this map.
+	 *
+	 * @param map an IntObjectSparseMap to copy entries from
+	 */
+	public void putAll (IntObjectSparseMap<? extends V> map) {
+		ensureCapacity(map.size);
+		final int[] keys = map.keys;
+		final V[] values = map.values;
+		for (int i = 0, n = map.size; i < n; i++) {
+			put(keys[i], values[i]);
+		}
+	}
+
+	/**
+	 * Given two side-by-side arrays, one of keys, one of values, this inserts each pair of key and value into this map with put().
+	 *
+	 * @param keys   an array of non-negative keys
+	 * @param values an array of values
+	 */
+	public void putAll (int[] keys, V[] values) {
+		int length = Math.min(keys.length, values.length);
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {
+			put(keys[i], values[i]);
+		}
+	}
+
+	/**
+	 * Returns the value for the specified key, or {@link #defaultValue} if the key is not in the map.
+	 *
+	 * @param key any {@code int}
+	 */
+	@Nullable
+	public V get (int key) {
+		return getOrDefault(key, defaultValue);
+	}
+
+	/**
+	 * Returns the value for the specified key, or the given default value if the key is not in the map.
+	 */
+	@Nullable
+	public V getOrDefault (int key, @Nullable V defaultValue) {
+		int i = locateKey(key);
+		return i < 0 ? defaultValue : values[i];
+	}
+
+	/**
+	 * Removes the given key and returns its value, or returns {@link #defaultValue} if it was not present. The last
+	 * entry in the dense arrays takes the removed entry's place.
+	 */
+	@Nullable
+	public V remove (int key) {
+		int i = locateKey(key);
+		if (i < 0) {return defaultValue;}
+		return removeAt(i);
+	}
+
+	/**
+	 * Removes the entry at {@code index} in the dense arrays, moving the last entry into its place.
+	 *
+	 * @param index a position in the dense arrays, from 0 (inclusive) to {@link #size()} (exclusive)
+	 * @return the value of the removed entry
+	 */
+	@Nullable
+	public V removeAt (int index) {
+		if (index < 0 || index >= size) {throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);}
+		final V old = values[index];
+		final int last = keys[--size];
+		keys[index] = last;
+		values[index] = values[size];
+		values[size] = null;
+		pages[last >>> IntSparseSet.PAGE_BITS][last & IntSparseSet.PAGE_MASK] = index;
+		return old;
+	}
+
+	/**
+	 * Gets the key at {@code index} in the dense arrays, which is the order iteration uses.
+	 *
+	 * @param index a position in the dense arrays, from 0 (inclusive) to {@link #size()} (exclusive)
+	 * @return the key at that position
+	 */
+	public int keyAt (int index) {
+		if (index < 0 || index >= size) {throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);}
+		return keys[index];
+	}
+
+	/**
+	 * Gets the value at {@code index} in the dense arrays, which is the order iteration uses.
+	 *
+	 * @param index a position in the dense arrays, from 0 (inclusive) to {@link #size()} (exclusive)
+	 * @return the value at that position
+	 */
+	@Nullable
+	public V getAt (int index) {
+		if (index < 0 || index >= size) {throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);}
+		return values[index];
+	}
+
+	/**
+	 * Gets the position of {@code key} in the iteration order, or -1 if it is not present. This stays valid until an
+	 * entry is removed.
+	 *
+	 * @param key any int
+	 * @return the index of key in the iteration order, or -1 if it is not in this map
+	 */
+	public int indexOf (int key) {
+		return locateKey(key);
+	}
+
+	/**
+	 * Returns true if the map has one or more items.
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	/**
+	 * Returns the number of key-value mappings in this map.
+	 *
+	 * @return the number of key-value mappings in this map
+	 */
+	public int size () {
+		return size;
+	}
+
+	/**
+	 * Returns true if the map is empty.
+	 */
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Gets the default value, a {@code V} which is returned by {@link #get(int)} if the key is not found.
+	 * If not changed, the default value is null.
+	 *
+	 * @return the current default value
+	 */
+	@Nullable
+	public V getDefaultValue () {
+		return defaultValue;
+	}
+
+	/**
+	 * Sets the default value, a {@code V} which is returned by {@link #get(int)} if the key is not found.
+	 * If not changed, the default value is null. Note that {@link #getOrDefault(int, Object)} is also available,
+	 * which allows specifying a "not-found" value per-call.
+	 *
+	 * @param defaultValue may be any V object or null; should usually be one that doesn't occur as a typical value
+	 */
+	public void setDefaultValue (@Nullable V defaultValue) {
+		this.defaultValue = defaultValue;
+	}
+
+	/**
+	 * Removes every entry. The sparse array is never erased, so this only has to release the values that were in the
+	 * map, and takes time proportional to {@link #size()}, not to the largest key.
+	 */
+	public void clear () {
+		Utilities.clear(values, 0, size);
+		size = 0;
+	}
+
+	/**
+	 * Removes every entry, and frees every page of the sparse array; if the dense arrays are longer than
+	 * {@code maximumCapacity}, they are replaced with smaller ones.
+	 *
+	 * @param maximumCapacity the most entries the dense arrays should have room for after this
+	 */
+	public void clear (int maximumCapacity) {
+		clear();
+		pages = new int[1][];
+		if (keys.length > maximumCapacity) {
+			keys = new int[Math.max(1, maximumCapacity)];
+			values = (V[])new Object[keys.length];
+		}
+	}
+
+	/**
+	 * Increases the size of the dense arrays to accommodate the specified number of additional entries. Useful before
+	 * adding many entries to avoid multiple backing array resizes.
+	 *
+	 * @param additionalCapacity how many additional entries this should be able to hold without resizing
+	 */
+	public void ensureCapacity (int additionalCapacity) {
+		if (size + additionalCapacity > keys.length) {
+			keys = Arrays.copyOf(keys, size + additionalCapacity);
+			values = Arrays.copyOf(values, keys.length);
+		}
+	}
+
+	/**
+	 * Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may
+	 * be an expensive operation.
+	 *
+	 * @param value    the value to search for
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *                 {@link #equals(Object)}.
+	 */
+	public boolean containsValue (@Nullable Object value, boolean identity) {
+		return findPosition(value, identity) >= 0;
+	}
+
+	/**
+	 * Returns true if the specified value is in the map, compared with {@link #equals(Object)}. Note this traverses the
+	 * entire map and compares every value, which may be an expensive operation.
+	 */
+	public boolean containsValue (@Nullable Object value) {
+		return containsValue(value, false);
+	}
+
+	public boolean containsKey (int key) {
+		return locateKey(key) >= 0;
+	}
+
+	/**
+	 * Returns the key for the specified value, or defaultKey if it is not in the map. Note this traverses the entire map and compares
+	 * every value, which may be an expensive operation.
+	 *
+	 * @param value      the value to search for
+	 * @param defaultKey the key to return when value cannot be found
+	 * @return a key that maps to value, if present, or defaultKey if value cannot be found
+	 */
+	public int findKey (@Nullable V value, int defaultKey) {
+		int i = findPosition(value, false);
+		return i < 0 ? defaultKey : keys[i];
+	}
+
+	/**
+	 * Returns the first position in the dense arrays with the given value, or -1 if there is none.
+	 */
+	protected int findPosition (@Nullable Object value, boolean identity) {
+		final V[] values = this.values;
+		if (value == null || identity) {
+			for (int i = 0; i < size; i++) {if (values[i] == value) {return i;}}
+		} else {
+			for (int i = 0; i < size; i++) {if (value.equals(values[i])) {return i;}}
+		}
+		return -1;
+	}
+
+	@Override
+	public int hashCode () {
+		int h = size;
+		final int[] keys = this.keys;
+		final V[] values = this.values;
+		for (int i = 0; i < size; i++) {
+			h ^= keys[i];
+			V v = values[i];
+			if (v != null) {h ^= v.hashCode();}
+		}
+		return h;
+	}
+
+	@Override
+	public boolean equals (Object obj) {
+		if (obj == this) {return true;}
+		if (!(obj instanceof IntObjectSparseMap)) {return false;}
+		IntObjectSparseMap<?> other = (IntObjectSparseMap<?>)obj;
+		if (other.size != size) {return false;}
+		final int[] keys = this.keys;
+		final V[] values = this.values;
+		for (int i = 0; i < size; i++) {
+			int o = other.locateKey(keys[i]);
+			if (o < 0 || !Objects.equals(values[i], other.values[o])) {return false;}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString () {
+		return toString(", ", true);
+	}
+
+	public String toString (String entrySeparator, boolean braces) {
+		return appendTo(new StringBuilder(32), entrySeparator, "=", braces, StringBuilder::append, StringBuilder::append).toString();
+	}
+
+	/**
+	 * Appends to a StringBuilder from the contents of this IntObjectSparseMap, in the order of the dense arrays, but
+	 * uses the given {@link IntAppender} and {@link Appender} to convert each key and each value to a customizable
+	 * representation and append them to a StringBuilder. To use the default String representation, you can use
+	 * {@code StringBuilder::append} as an appender.
+	 *
+	 * @param sb                a StringBuilder that this can append to
+	 * @param entrySeparator    how to separate entries, such as {@code ", "}
+	 * @param keyValueSeparator how to separate each key from its value, such as {@code "="} or {@code ":"}
+	 * @param braces            true to wrap the output in curly braces, or false to omit them
+	 * @param keyAppender       a function that takes a StringBuilder and an int, and returns the modified StringBuilder
+	 * @param valueAppender     a function that takes a StringBuilder and a V, and returns the modified StringBuilder
+	 * @return {@code sb}, with the key-value pairs of this map appended
+	 */
+	public StringBuilder appendTo (StringBuilder sb, String entrySeparator, String keyValueSeparator, boolean braces,
+		IntAppender keyAppender, Appender<V> valueAppender) {
+		if (size == 0) {return braces ? sb.append("{}") : sb;}
+		if (braces) {sb.append('{');}
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {sb.append(entrySeparator);}
+			keyAppender.apply(sb, keys[i]).append(keyValueSeparator);
+			V value = values[i];
+			if (value == this) sb.append("(this)");
+			else valueAppender.apply(sb, value);
+		}
+		if (braces) {sb.append('}');}
+		return sb;
+	}
+
+	/**
+	 * Returns a new iterator over the entries in this map. The same {@link IntObjectMap.Entry} instance is returned by
+	 * each call to next(), with its key and value changed. Remove is supported.
+	 *
+	 * @return an iterator over the entries in this map
+	 */
+	@Override
+	public @NonNull EntryIterator<V> iterator () {
+		return new EntryIterator<>(this);
+	}
+
+	/**
+	 * Returns a new read-only {@link PrimitiveSet.SetOfInt} view of the keys in this map; removal is supported through
+	 * its iterator.
+	 *
+	 * @return a set view of the keys contained in this map
+	 */
+	public Keys<V> keySet () {
+		return new Keys<>(this);
+	}
+
+	/**
+	 * Returns a new read-only Collection view of the values in this map; removal is supported through its iterator.
+	 *
+	 * @return a {@link java.util.Collection} containing V values
+	 */
+	public Values<V> values () {
+		return new Values<>(this);
+	}
+
+	/**
+	 * Returns a new Set view of the entries in this map; removal is supported through its iterator.
+	 *
+	 * @return a {@link java.util.Set} of {@link IntObjectMap.Entry} key-value pairs
+	 */
+	public Entries<V> entrySet () {
+		return new Entries<>(this);
+	}
+
+	public static abstract class MapIterator<V> {
+		protected final IntObjectSparseMap<V> map;
+		/**
+		 * The position in the dense arrays of the next entry to return.
+		 */
+		protected int nextIndex;
+		/**
+		 * The position in the dense arrays of the entry most recently returned, or -1 if remove() can't be called.
+		 */
+		protected int currentIndex = -1;
+
+		public MapIterator (IntObjectSparseMap<V> map) {
+			this.map = map;
+		}
+
+		public void reset () {
+			nextIndex = 0;
+			currentIndex = -1;
+		}
+
+		public boolean hasNext () {
+			return nextIndex < map.size;
+		}
+
+		/**
+		 * Returns the next position to read and advances, or throws if there is none.
+		 */
+		protected int advance () {
+			if (nextIndex >= map.size) {throw new NoSuchElementException();}
+			return currentIndex = nextIndex++;
+		}
+
+		/**
+		 * Removes the entry most recently returned by next(). The last entry takes its place, and is returned next.
+		 */
+		public void remove () {
+			if (currentIndex < 0) {throw new IllegalStateException("next must be called before remove.");}
+			map.removeAt(currentIndex);
+			nextIndex = currentIndex;
+			currentIndex = -1;
+		}
+	}
+
+	public static class KeyIterator<V> extends MapIterator<V> implements IntIterator {
+		public KeyIterator (IntObjectSparseMap<V> map) {
+			super(map);
+		}
+
+		@Override
+		public int nextInt () {
+			return map.keys[advance()];
+		}
+
+		/**
+		 * Returns a new IntList containing the remaining keys.
+		 */
+		public IntList toList () {
+			IntList list = new IntList(map.size);
+			while (hasNext()) {list.add(nextInt());}
+			return list;
+		}
+	}
+
+	public static class ValueIterator<V> extends MapIterator<V> implements Iterator<V> {
+		public ValueIterator (IntObjectSparseMap<V> map) {
+			super(map);
+		}
+
+		@Override
+		@Nullable
+		public V next () {
+			return map.values[advance()];
+		}
+	}
+
+	public static class EntryIterator<V> extends MapIterator<V> implements Iterable<IntObjectMap.Entry<V>>, Iterator<IntObjectMap.Entry<V>> {
+		protected IntObjectMap.Entry<V> entry = new IntObjectMap.Entry<>();
+
+		public EntryIterator (IntObjectSparseMap<V> map) {
+			super(map);
+		}
+
+		@Override
+		public @NonNull EntryIterator<V> iterator () {
+			return this;
+		}
+
+		/**
+		 * Note the same entry instance is returned each time this method is called.
+		 */
+		@Override
+		public IntObjectMap.Entry<V> next () {
+			int i = advance();
+			entry.key = map.keys[i];
+			entry.value = map.values[i];
+			return entry;
+		}
+	}
+
+	public static class Entries<V> extends AbstractSet<IntObjectMap.Entry<V>> {
+		protected EntryIterator<V> iter;
+
+		public Entries (IntObjectSparseMap<V> map) {
+			iter = new EntryIterator<>(map);
+		}
+
+		@Override
+		public @NonNull EntryIterator<V> iterator () {
+			return iter;
+		}
+
+		@Override
+		public int size () {
+			return iter.map.size;
+		}
+	}
+
+	public static class Values<V> extends AbstractCollection<V> {
+		protected ValueIterator<V> iter;
+
+		public Values (IntObjectSparseMap<V> map) {
+			iter = new ValueIterator<>(map);
+		}
+
+		@Override
+		public boolean add (@Nullable V item) {
+			throw new UnsupportedOperationException("IntObjectSparseMap.Values is read-only");
+		}
+
+		@Override
+		public boolean contains (@Nullable Object item) {
+			return iter.map.containsValue(item);
+		}
+
+		@Override
+		public @NonNull ValueIterator<V> iterator () {
+			return iter;
+		}
+
+		@Override
+		public int size () {
+			return iter.map.size;
+		}
+	}
+
+	public static class Keys<V> implements PrimitiveSet.SetOfInt {
+		protected KeyIterator<V> iter;
+
+		public Keys (IntObjectSparseMap<V> map) {
+			iter = new KeyIterator<>(map);
+		}
+
+		@Override
+		public boolean add (int item) {
+			throw new UnsupportedOperationException("IntObjectSparseMap.Keys is read-only");
+		}
+
+		@Override
+		public boolean remove (int item) {
+			throw new UnsupportedOperationException("IntObjectSparseMap.Keys is read-only");
+		}
+
+		@Override
+		public boolean contains (int item) {
+			return iter.map.containsKey(item);
+		}
+
+		@Override
+		public IntIterator iterator () {
+			return iter;
+		}
+
+		@Override
+		public void clear () {
+			throw new UnsupportedOperationException("IntObjectSparseMap.Keys is read-only");
+		}
+
+		@Override
+		public int size () {
+			return iter.map.size;
+		}
+
+		@Override
+		public int hashCode () {
+			int h = size();
+			final int[] keys = iter.map.keys;
+			for (int i = 0, n = size(); i < n; i++) {
+				h += keys[i];
+			}
+			return h ^ h >>> 16;
+		}
+
+		@SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+		@Override
+		public boolean equals (Object other) {
+			if (this == other) {return true;}
+			if (!(other instanceof PrimitiveSet.SetOfInt)) {return false;}
+			PrimitiveSet.SetOfInt o = (PrimitiveSet.SetOfInt)other;
+			if (size() != o.size()) {return false;}
+			final int[] keys = iter.map.keys;
+			for (int i = 0, n = size(); i < n; i++) {
+				if (!o.contains(keys[i])) {return false;}
+			}
+			return true;
+		}
+
+		@Override
+		public String toString () {
+			return toString(", ", true);
+		}
+	}
+}
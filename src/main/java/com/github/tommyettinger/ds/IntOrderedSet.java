@@ -309,7 +309,7 @@ public class IntOrderedSet extends IntSet implements Ordered.OfInt {
 	@Override
 	public void ensureCapacity (int additionalCapacity) {
 		int tableSize = tableSize(size + additionalCapacity, loadFactor);
-		if (keyTable.length < tableSize) {resize(tableSize);}
+		if (mask + 1 < tableSize) {resize(tableSize);}
 		items.ensureCapacity(additionalCapacity);
 	}
 
@@ -383,6 +383,16 @@ public class IntOrderedSet extends IntSet implements Ordered.OfInt {
 		return items;
 	}
 
+	/**
+	 * Adds the backing array of the order of items to the estimate from the superclass.
+	 *
+	 * @return the estimated size of the backing arrays, including the order, in bytes
+	 */
+	@Override
+	protected long retainedBytes () {
+		return super.retainedBytes() + HashStatistics.arrayBytes(items.items.length, 4);
+	}
+
 	/**
 	 * Sorts this ObjectOrderedSet in-place by the keys' natural ordering; {@code T} must implement {@link Comparable}.
 	 */
@@ -464,6 +474,21 @@ public class IntOrderedSet extends IntSet implements Ordered.OfInt {
 			return key;
 		}
 
+		/**
+		 * Copies up to {@code max} items from the insertion order straight into {@code dest} with one array copy.
+		 * After this, {@link #remove()} removes the last item copied.
+		 */
+		@Override
+		public int nextBatch (int[] dest, int offset, int max) {
+			if (!valid) {throw new RuntimeException("#iterator() cannot be used nested.");}
+			final int n = Math.min(max, set.size - nextIndex);
+			if (!hasNext || n <= 0) {return 0;}
+			System.arraycopy(items.items, nextIndex, dest, offset, n);
+			nextIndex += n;
+			hasNext = nextIndex < set.size;
+			return n;
+		}
+
 		@Override
 		public void remove () {
 			if (nextIndex < 0) {throw new IllegalStateException("next must be called before remove.");}
@@ -37,6 +37,12 @@ import static com.github.tommyettinger.ds.Utilities.tableSize;
  * <p>
  * This implementation uses linear probing with the backward shift algorithm for removal. Linear probing continues to work even
  * when all hashCodes collide; it just works more slowly in that case.
+ * <p>
+ * The backing table is only created when the first item is added, so an empty set uses no memory for it. That first
+ * table has just {@link Utilities#COMPACT_TABLE_SIZE} slots, unless {@link #ensureCapacity(int)} asked for more room
+ * than the constructor planned, so a set that only ever holds a few items stays that small. Tables with at most
+ * {@link Utilities#LINEAR_TABLE_SIZE} slots don't hash at all; they find keys by checking every slot. Once a table
+ * grows past that, it changes to hashing, at the size given to the constructor or larger.
  *
  * @author Nathan Sweet
  * @author Tommy Ettinger
@@ -59,6 +65,13 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 	 */
 	protected int threshold;
 
+	/**
+	 * The table size this set was built for, kept while {@link #allocate()} uses a smaller table instead. Once that
+	 * table grows past {@link Utilities#LINEAR_TABLE_SIZE} slots, {@link #resize(int)} goes straight to this size.
+	 * This is 0 when no smaller table is in use.
+	 */
+	protected int plannedSize;
+
 	/**
 	 * Used by {@link #place(int)} to bit shift the upper bits of an {@code int} into a usable range (&gt;= 0 and &lt;=
 	 * {@link #mask}). The shift can be negative, which is convenient to match the number of bits in mask: if mask is a 7-bit
@@ -86,6 +99,12 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 	 */
 	protected int hashMultiplier;
 
+	/**
+	 * Holds the resize count and time while resize tracking is on; null otherwise.
+	 * See {@link #setTrackingStatistics(boolean)}.
+	 */
+	@Nullable protected transient HashStatistics statistics;
+
 	@Nullable protected transient IntSetIterator iterator1;
 	@Nullable protected transient IntSetIterator iterator2;
 
@@ -122,7 +141,7 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 		shift = BitConversion.countLeadingZeros(mask) + 32;
 		hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
 
-		keyTable = new int[tableSize];
+		keyTable = Utilities.EMPTY_INTS;
 	}
 
 	/**
@@ -139,10 +158,11 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 	 * Creates a new set identical to the specified set.
 	 */
 	public IntSet(IntSet set) {
-		this((int)(set.keyTable.length * set.loadFactor), set.loadFactor);
-		System.arraycopy(set.keyTable, 0, keyTable, 0, set.keyTable.length);
+		this((int)((set.mask + 1) * set.loadFactor), set.loadFactor);
+		keyTable = Arrays.copyOf(set.keyTable, set.keyTable.length);
 		size = set.size;
 		hasZeroValue = set.hasZeroValue;
+		plannedSize = set.plannedSize;
 	}
 
 	/**
@@ -199,6 +219,10 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 			return true;
 		}
 		int[] keyTable = this.keyTable;
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			if (keyTable.length == 0) keyTable = allocate();
+			if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) return addLinear(key);
+		}
 
 		for (int i = place(key); ; i = i + 1 & mask) {
 			int other = keyTable[i];
@@ -212,6 +236,49 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 		}
 	}
 
+	/**
+	 * Like {@link #add(int)}, but for tables with at most {@link Utilities#LINEAR_TABLE_SIZE} slots, where keys can be in
+	 * any slot. This compares key with every slot, and if it isn't found, puts it in the first empty one.
+	 *
+	 * @param key any int other than 0
+	 * @return true if the key was not already in the set
+	 */
+	protected boolean addLinear (int key) {
+		int[] keyTable = this.keyTable;
+		int empty = -1;
+		for (int i = 0; i < keyTable.length; i++) {
+			int other = keyTable[i];
+			if (other == key)
+				return false;
+			if (other == 0 && empty < 0)
+				empty = i;
+		}
+		keyTable[empty] = key;
+		if (++size >= threshold) {resize(keyTable.length << 1);}
+		return true;
+	}
+
+	/**
+	 * Creates the backing table on the first insertion rather than when this set is constructed, so sets that stay
+	 * empty don't use memory for it. If the planned length, {@code mask + 1}, is larger than
+	 * {@link Utilities#COMPACT_TABLE_SIZE}, the table gets that compact length instead and the plan is kept in
+	 * {@link #plannedSize}, so a set that only ever holds a few items never allocates the full table.
+	 *
+	 * @return the new backing table
+	 */
+	protected int[] allocate () {
+		int tableSize = mask + 1;
+		if (tableSize > Utilities.COMPACT_TABLE_SIZE) {
+			plannedSize = tableSize;
+			tableSize = Utilities.COMPACT_TABLE_SIZE;
+			mask = tableSize - 1;
+			threshold = Math.min((int)(tableSize * (double)loadFactor + 1), mask);
+			shift = BitConversion.countLeadingZeros(mask) + 32;
+			hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
+		}
+		return keyTable = new int[tableSize];
+	}
+
 	public boolean addAll (IntList array) {
 		return addAll(array.items, 0, array.size());
 	}
@@ -249,7 +316,7 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 	 */
 	protected void addResize (int key) {
 		int[] keyTable = this.keyTable;
-		for (int i = place(key); ; i = i + 1 & mask) {
+		for (int i = keyTable.length <= Utilities.LINEAR_TABLE_SIZE ? 0 : place(key); ; i = i + 1 & mask) {
 			if (keyTable[i] == 0) {
 				keyTable[i] = key;
 				return;
@@ -274,6 +341,16 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 		int pos;
 		int mask = this.mask;
 		int[] keyTable = this.keyTable;
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			for (int i = 0; i < keyTable.length; i++) {
+				if (keyTable[i] == key) {
+					keyTable[i] = 0;
+					size--;
+					return true;
+				}
+			}
+			return false;
+		}
 		for (int i = place(key); ; i = i + 1 & mask) {
 			int other = keyTable[i];
 			if (other == 0) {
@@ -325,7 +402,7 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 	 */
 	public void shrink (int maximumCapacity) {
 		if (maximumCapacity < 0) {throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);}
-		int tableSize = tableSize(maximumCapacity, loadFactor);
+		int tableSize = tableSize(Math.max(maximumCapacity, size), loadFactor);
 		if (keyTable.length > tableSize) {resize(tableSize);}
 	}
 
@@ -355,6 +432,13 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 	public boolean contains (int key) {
 		if (key == 0) {return hasZeroValue;}
 		int[] keyTable = this.keyTable;
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			for (int i = 0; i < keyTable.length; i++) {
+				if (keyTable[i] == key)
+					return true;
+			}
+			return false;
+		}
 		for (int i = place(key); ; i = i + 1 & mask) {
 			int other = keyTable[i];
 			if (key == other)
@@ -377,10 +461,17 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 	 */
 	public void ensureCapacity (int additionalCapacity) {
 		int tableSize = tableSize(size + additionalCapacity, loadFactor);
-		if (keyTable.length < tableSize) {resize(tableSize);}
+		// mask + 1 is the planned table size even before the table is allocated, when keyTable is still empty.
+		if (mask + 1 < tableSize) {resize(tableSize);}
 	}
 
 	protected void resize (int newSize) {
+		final long start = statistics == null ? 0L : System.nanoTime();
+		// A table that allocate() started small skips from linear mode straight to the size that was planned for it.
+		if (plannedSize != 0 && newSize > Utilities.LINEAR_TABLE_SIZE) {
+			newSize = Math.max(newSize, plannedSize);
+			plannedSize = 0;
+		}
 		int oldCapacity = keyTable.length;
 		mask = newSize - 1;
 		threshold = Math.min((int)(newSize * (double)loadFactor + 1), mask);
@@ -397,6 +488,7 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 				if (key != 0) {addResize(key);}
 			}
 		}
+		if (statistics != null) statistics.recordResize(System.nanoTime() - start);
 	}
 
 	/**
@@ -421,6 +513,61 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 		this.hashMultiplier = hashMultiplier | 0x80000001;
 	}
 
+	/**
+	 * Turns resize tracking on or off for {@link #getStatistics()}. While tracking is on, each call to
+	 * {@link #resize(int)} is counted and timed; turning it off discards what was recorded. Tracking is off by default,
+	 * and nothing is measured during normal use unless it is on.
+	 *
+	 * @param track true to count and time resizes, false to stop
+	 */
+	public void setTrackingStatistics (boolean track) {
+		if (!track) statistics = null;
+		else if (statistics == null) statistics = new HashStatistics();
+	}
+
+	/**
+	 * Returns true if resizes are being counted and timed for {@link #getStatistics()}.
+	 *
+	 * @return true if resize tracking is on
+	 */
+	public boolean isTrackingStatistics () {
+		return statistics != null;
+	}
+
+	/**
+	 * Scans the backing table and reports the probe lengths, cluster lengths, and estimated memory use of this set; see
+	 * {@link HashStatistics}. This takes time proportional to the table size, so it is meant for diagnosing a
+	 * slow set rather than for routine use. If {@link #setTrackingStatistics(boolean) tracking} is on, the result also has
+	 * the resize count and time, and the same HashStatistics object is updated and returned on each call. Every key
+	 * in a table of at most {@link Utilities#LINEAR_TABLE_SIZE} slots counts as having a probe length of 0, since
+	 * those tables are scanned instead of probed.
+	 *
+	 * @return a HashStatistics describing the current state of the backing table
+	 */
+	public HashStatistics getStatistics () {
+		final HashStatistics stats = statistics == null ? new HashStatistics() : statistics;
+		final int[] keyTable = this.keyTable;
+		final int n = keyTable.length;
+		final boolean linear = n <= Utilities.LINEAR_TABLE_SIZE;
+		stats.begin(n, size);
+		for (int i = 0; i < n; i++) {
+			int k = keyTable[i];
+			if (k == 0) stats.empty();
+			else stats.probe(linear ? 0 : i - place(k) & mask);
+		}
+		stats.finish(retainedBytes());
+		return stats;
+	}
+
+	/**
+	 * Estimates the memory used by the key array of this set, in bytes, for {@link #getStatistics()}.
+	 *
+	 * @return the estimated size of the backing arrays in bytes
+	 */
+	protected long retainedBytes () {
+		return HashStatistics.arrayBytes(keyTable.length, 4);
+	}
+
 	public float getLoadFactor () {
 		return loadFactor;
 	}
@@ -434,6 +581,17 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 		}
 	}
 
+	/**
+	 * Creates an immutable copy of this set that uses a {@link MinimalPerfectHash} to find items, so it has no empty slots
+	 * and reads at most one displacement and one item for each lookup. This is worth doing for sets that are filled once
+	 * and then only read.
+	 *
+	 * @return a new {@link FrozenIntSet} with the same contents as this
+	 */
+	public FrozenIntSet toFrozen () {
+		return new FrozenIntSet(this);
+	}
+
 	@Override
 	public int hashCode () {
 		int h = size;
@@ -619,6 +777,23 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 			set.size--;
 		}
 
+		/**
+		 * Scans the key table directly, writing each key it finds into {@code dest}. After this, {@link #remove()}
+		 * removes the last key written.
+		 */
+		@Override
+		public int nextBatch (int[] dest, int offset, int max) {
+			if (!valid) {throw new RuntimeException("#iterator() cannot be used nested.");}
+			final int[] keyTable = set.keyTable;
+			int count = 0;
+			while (count < max && hasNext) {
+				dest[offset + count++] = nextIndex == INDEX_ZERO ? 0 : keyTable[nextIndex];
+				currentIndex = nextIndex;
+				findNextIndex();
+			}
+			return count;
+		}
+
 		@Override
 		public int nextInt () {
 			if (!hasNext) {throw new NoSuchElementException();}
@@ -660,6 +835,184 @@ public class IntSet implements PrimitiveSet.SetOfInt {
 		}
 	}
 
+	/**
+	 * Returns true if {@code set} places items the same way a new IntSet would, so its table can be copied directly.
+	 */
+	private static boolean isPlain (IntSet set) {
+		return set.getClass() == IntSet.class || set.getClass() == IntOrderedSet.class;
+	}
+
+	/**
+	 * Stores a key that is known to be absent, non-zero, and to fit without resizing. Callers have presized this set,
+	 * so the first call creates the full planned table rather than a compact one.
+	 */
+	private void insertAbsent (int key) {
+		if (keyTable.length == 0) keyTable = new int[mask + 1];
+		addResize(key);
+		size++;
+	}
+
+	/**
+	 * Creates a new IntSet that contains every item in {@code set} and has room for {@code extra} more items without
+	 * resizing. If the new table has the same length and hashMultiplier as the table in set, it is copied with
+	 * {@link System#arraycopy(Object, int, Object, int, int)} instead of re-inserting each item.
+	 */
+	private static IntSet copyWithRoom (IntSet set, int extra) {
+		IntSet result = new IntSet(set.size + extra, set.loadFactor);
+		int[] keyTable = set.keyTable;
+		if (isPlain(set) && result.mask + 1 == keyTable.length && result.hashMultiplier == set.hashMultiplier) {
+			result.keyTable = Arrays.copyOf(keyTable, keyTable.length);
+			result.size = set.size;
+			result.hasZeroValue = set.hasZeroValue;
+		} else {
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				if (keyTable[i] != 0) {result.insertAbsent(keyTable[i]);}
+			}
+			if (set.hasZeroValue) {
+				result.hasZeroValue = true;
+				result.size++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new IntSet holding every item that is in {@code a}, {@code b}, or both. Neither a nor b is modified.
+	 * <br>
+	 * The larger set is copied into a result presized to hold both sets, directly copying its table when possible,
+	 * and then only the items of the smaller set are added.
+	 *
+	 * @param a an IntSet; will not be modified
+	 * @param b another IntSet; will not be modified
+	 * @return a new IntSet holding the union of a and b
+	 */
+	public static IntSet union (IntSet a, IntSet b) {
+		final IntSet small = a.size <= b.size ? a : b, large = small == a ? b : a;
+		final IntSet result = copyWithRoom(large, small.size);
+		if (small.hasZeroValue) {result.add(0);}
+		int[] keyTable = small.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			if (keyTable[i] != 0) {result.add(keyTable[i]);}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new IntSet holding every item that is in both {@code a} and {@code b}. Neither a nor b is modified.
+	 * <br>
+	 * This iterates through the smaller set and checks each item against the larger one. The result is presized to
+	 * the smaller set's size, and items are stored without checking for duplicates, since they are known to be
+	 * distinct.
+	 *
+	 * @param a an IntSet; will not be modified
+	 * @param b another IntSet; will not be modified
+	 * @return a new IntSet holding the intersection of a and b
+	 */
+	public static IntSet intersection (IntSet a, IntSet b) {
+		final IntSet small = a.size <= b.size ? a : b, large = small == a ? b : a;
+		final IntSet result = new IntSet(small.size, small.loadFactor);
+		if (small.hasZeroValue && large.hasZeroValue) {
+			result.hasZeroValue = true;
+			result.size++;
+		}
+		int[] keyTable = small.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0 && large.contains(key)) {result.insertAbsent(key);}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new IntSet holding every item that is in {@code a} but not in {@code b}. Neither a nor b is modified.
+	 * <br>
+	 * If b is smaller than a, this copies a (directly copying its table when possible) and removes only the items of
+	 * b from the copy. Otherwise, this iterates through a and stores each item not in b into a result presized to a's
+	 * size, without checking for duplicates.
+	 *
+	 * @param a an IntSet; will not be modified
+	 * @param b another IntSet; will not be modified
+	 * @return a new IntSet holding the items of a that are not in b
+	 */
+	public static IntSet difference (IntSet a, IntSet b) {
+		if (b.size < a.size) {
+			final IntSet result = copyWithRoom(a, 0);
+			if (b.hasZeroValue) {result.remove(0);}
+			int[] keyTable = b.keyTable;
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				if (keyTable[i] != 0) {result.remove(keyTable[i]);}
+			}
+			return result;
+		}
+		final IntSet result = new IntSet(a.size, a.loadFactor);
+		if (a.hasZeroValue && !b.hasZeroValue) {
+			result.hasZeroValue = true;
+			result.size++;
+		}
+		int[] keyTable = a.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0 && !b.contains(key)) {result.insertAbsent(key);}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new IntSet holding every item that is in exactly one of {@code a} and {@code b}. Neither a nor b is
+	 * modified.
+	 * <br>
+	 * This copies the larger set (directly copying its table when possible), then goes through the smaller set,
+	 * removing each of its items that the larger set contains and adding each that it doesn't.
+	 *
+	 * @param a an IntSet; will not be modified
+	 * @param b another IntSet; will not be modified
+	 * @return a new IntSet holding the symmetric difference of a and b
+	 */
+	public static IntSet symmetricDifference (IntSet a, IntSet b) {
+		final IntSet small = a.size <= b.size ? a : b, large = small == a ? b : a;
+		final IntSet result = copyWithRoom(large, small.size);
+		if (small.hasZeroValue && !result.remove(0)) {result.add(0);}
+		int[] keyTable = small.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0 && !result.remove(key)) {result.add(key);}
+		}
+		return result;
+	}
+
+	/**
+	 * Counts how many items are in both {@code a} and {@code b}, without allocating anything. This iterates through
+	 * the smaller set and checks each item against the larger one.
+	 *
+	 * @param a an IntSet; will not be modified
+	 * @param b another IntSet; will not be modified
+	 * @return the size that {@link #intersection(IntSet, IntSet)} would have
+	 */
+	public static int intersectionSize (IntSet a, IntSet b) {
+		final IntSet small = a.size <= b.size ? a : b, large = small == a ? b : a;
+		int count = small.hasZeroValue && large.hasZeroValue ? 1 : 0;
+		int[] keyTable = small.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != 0 && large.contains(key)) {count++;}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the Jaccard similarity of {@code a} and {@code b}, which is the size of their intersection divided by the
+	 * size of their union, without allocating anything. This is 1.0 if both sets hold the same items (including if
+	 * both are empty), and 0.0 if they have no items in common.
+	 *
+	 * @param a an IntSet; will not be modified
+	 * @param b another IntSet; will not be modified
+	 * @return the Jaccard similarity of a and b, from 0.0 to 1.0
+	 */
+	public static double jaccard (IntSet a, IntSet b) {
+		final int both = intersectionSize(a, b), either = a.size + b.size - both;
+		return either == 0 ? 1.0 : both / (double)either;
+	}
+
 	/**
 	 * Constructs an empty set.
 	 * This is usually less useful than just using the constructor, but can be handy
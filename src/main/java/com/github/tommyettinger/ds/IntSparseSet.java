@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.ds.support.util.IntIterator;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An unordered set of non-negative ints, meant for small, dense IDs such as entity numbers, using a sparse set (as
+ * described by Briggs and Torczon). Adding, removing, and checking for an item are all O(1) with no hashing, and
+ * {@link #clear()} is O(1) as well.
+ * <p>
+ * The items are packed at the start of a dense array, which is what iteration reads, so iterating is as fast as
+ * iterating over an {@link IntList} and {@link #getAt(int)} can read any item directly. Each item also has an int in a
+ * sparse array, indexed by the item itself, that holds its position in the dense array; an item is only present if
+ * that position is less than {@link #size()} and the dense array has that item there, so neither array ever needs to
+ * be erased. The sparse array is split into pages of {@link #PAGE_SIZE} ints that are allocated the first time an
+ * item in their range is added, so large IDs only cost memory for the pages they actually use.
+ * <p>
+ * Removing an item moves the last item in the dense array into its place, so iteration order changes when items are
+ * removed. Negative items can't be added; {@link #add(int)} throws an {@link IllegalArgumentException} for them, and
+ * {@link #contains(int)} and {@link #remove(int)} simply return false. Compared to {@link OffsetBitSet}, this uses more
+ * memory per possible item, but iterates without scanning for set bits and keeps the items in a packed array.
+ *
+ * @author Tommy Ettinger
+ */
+public class IntSparseSet implements PrimitiveSet.SetOfInt {
+	/**
+	 * How many bits of an item select its place within a page of the sparse array.
+	 */
+	protected static final int PAGE_BITS = 10;
+	/**
+	 * How many ints are in each page of the sparse array.
+	 */
+	protected static final int PAGE_SIZE = 1 << PAGE_BITS;
+	/**
+	 * Masks an item to get its place within a page of the sparse array.
+	 */
+	protected static final int PAGE_MASK = PAGE_SIZE - 1;
+
+	protected int size;
+
+	/**
+	 * The items in this set, packed at the start; only the first {@link #size} are present.
+	 */
+	protected int[] dense;
+
+	/**
+	 * The pages of the sparse array, indexed by {@code item >>> PAGE_BITS}; a page is null until an item in its range
+	 * is added. Each page holds the dense position of each item in its range, which may be stale for absent items.
+	 */
+	protected @Nullable int[][] pages;
+
+	/**
+	 * Creates a new set that can hold 16 items before growing its dense array.
+	 */
+	public IntSparseSet () {
+		this(16);
+	}
+
+	/**
+	 * Creates a new set that can hold {@code initialCapacity} items before growing its dense array.
+	 *
+	 * @param initialCapacity how many items this can hold before it has to grow; must be non-negative
+	 */
+	public IntSparseSet (int initialCapacity) {
+		if (initialCapacity < 0) {throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);}
+		dense = new int[Math.max(1, initialCapacity)];
+		pages = new int[1][];
+	}
+
+	/**
+	 * Creates a new set identical to the specified set.
+	 *
+	 * @param set an IntSparseSet to copy
+	 */
+	public IntSparseSet (IntSparseSet set) {
+		size = set.size;
+		dense = Arrays.copyOf(set.dense, set.dense.length);
+		pages = new int[set.pages.length][];
+		for (int i = 0; i < pages.length; i++) {
+			int[] page = set.pages[i];
+			if (page != null) {pages[i] = Arrays.copyOf(page, PAGE_SIZE);}
+		}
+	}
+
+	/**
+	 * Creates a new set that contains all distinct elements in {@code coll}, which must all be non-negative.
+	 *
+	 * @param coll a PrimitiveCollection.OfInt of non-negative items
+	 */
+	public IntSparseSet (PrimitiveCollection.OfInt coll) {
+		this(coll.size());
+		addAll(coll);
+	}
+
+	/**
+	 * Creates a new set containing all the distinct items in {@code items}, which must all be non-negative.
+	 *
+	 * @param items an array of non-negative items
+	 */
+	public IntSparseSet (int[] items) {
+		this(items.length);
+		addAll(items);
+	}
+
+	/**
+	 * Gets the position of {@code item} in {@link #dense}, or -1 if it is not present.
+	 *
+	 * @param item any int
+	 * @return the position of item in the dense array, or -1 if it is not in this set
+	 */
+	protected int position (int item) {
+		if (item < 0) {return -1;}
+		final int p = item >>> PAGE_BITS;
+		if (p >= pages.length) {return -1;}
+		final int[] page = pages[p];
+		if (page == null) {return -1;}
+		final int pos = page[item & PAGE_MASK];
+		return pos < size && dense[pos] == item ? pos : -1;
+	}
+
+	/**
+	 * Gets the page of the sparse array that holds {@code item}, allocating it (and growing {@link #pages}) if needed.
+	 *
+	 * @param item a non-negative int
+	 * @return the page that holds the dense position of item
+	 */
+	protected int[] page (int item) {
+		final int p = item >>> PAGE_BITS;
+		if (p >= pages.length) {pages = Arrays.copyOf(pages, Math.max(p + 1, pages.length << 1));}
+		int[] page = pages[p];
+		if (page == null) {page = pages[p] = new int[PAGE_SIZE];}
+		return page;
+	}
+
+	/**
+	 * Returns true if the item was not already in the set.
+	 *
+	 * @param item a non-negative int to add
+	 * @return true if the item was added, or false if it was already present
+	 * @throws IllegalArgumentException if item is negative
+	 */
+	@Override
+	public boolean add (int item) {
+		if (item < 0) {throw new IllegalArgumentException("IntSparseSet items must be non-negative: " + item);}
+		if (position(item) >= 0) {return false;}
+		if (size == dense.length) {dense = Arrays.copyOf(dense, size + (size >>> 1) + 1);}
+		dense[size] = item;
+		page(item)[item & PAGE_MASK] = size++;
+		return true;
+	}
+
+	/**
+	 * Returns true if the item was removed. The last item in the dense array takes the removed item's place.
+	 *
+	 * @param item any int
+	 * @return true if the item was present and has been removed
+	 */
+	@Override
+	public boolean remove (int item) {
+		final int pos = position(item);
+		if (pos < 0) {return false;}
+		removeAt(pos);
+		return true;
+	}
+
+	/**
+	 * Removes the item at {@code index} in the dense array, moving the last item into its place.
+	 *
+	 * @param index a position in the dense array, from 0 (inclusive) to {@link #size()} (exclusive)
+	 * @return the removed item
+	 */
+	public int removeAt (int index) {
+		if (index < 0 || index >= size) {throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);}
+		final int removed = dense[index];
+		final int last = dense[--size];
+		dense[index] = last;
+		pages[last >>> PAGE_BITS][last & PAGE_MASK] = index;
+		return removed;
+	}
+
+	@Override
+	public boolean contains (int item) {
+		return position(item) >= 0;
+	}
+
+	/**
+	 * Gets the item at {@code index} in the dense array, which is the order iteration uses.
+	 *
+	 * @param index a position in the dense array, from 0 (inclusive) to {@link #size()} (exclusive)
+	 * @return the item at that position
+	 */
+	public int getAt (int index) {
+		if (index < 0 || index >= size) {throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);}
+		return dense[index];
+	}
+
+	/**
+	 * Gets the position of {@code item} in the iteration order, or -1 if it is not present. This stays valid until an
+	 * item is removed.
+	 *
+	 * @param item any int
+	 * @return the index of item in the iteration order, or -1 if it is not in this set
+	 */
+	public int indexOf (int item) {
+		return position(item);
+	}
+
+	/**
+	 * Gets the dense array directly; the first {@link #size()} items in it are the items in this set. This should not
+	 * be modified.
+	 *
+	 * @return the dense array of items
+	 */
+	public int[] getDense () {
+		return dense;
+	}
+
+	@Override
+	public int size () {
+		return size;
+	}
+
+	/**
+	 * Removes every item in O(1) time. Nothing is erased or freed; use {@link #clear(int)} to free memory.
+	 */
+	@Override
+	public void clear () {
+		size = 0;
+	}
+
+	/**
+	 * Removes every item, and frees every page of the sparse array; if the dense array is longer than
+	 * {@code maximumCapacity}, it is replaced with a smaller one.
+	 *
+	 * @param maximumCapacity the most items the dense array should have room for after this
+	 */
+	public void clear (int maximumCapacity) {
+		size = 0;
+		pages = new int[1][];
+		if (dense.length > maximumCapacity) {dense = new int[Math.max(1, maximumCapacity)];}
+	}
+
+	/**
+	 * Increases the size of the dense array to accommodate the specified number of additional items. Useful before
+	 * adding many items to avoid multiple backing array resizes.
+	 *
+	 * @param additionalCapacity how many additional items this should be able to hold without resizing
+	 */
+	public void ensureCapacity (int additionalCapacity) {
+		if (size + additionalCapacity > dense.length) {dense = Arrays.copyOf(dense, size + additionalCapacity);}
+	}
+
+	@Override
+	public int hashCode () {
+		int h = size;
+		final int[] dense = this.dense;
+		for (int i = 0; i < size; i++) {
+			h += dense[i];
+		}
+		return h ^ h >>> 16;
+	}
+
+	@SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+	@Override
+	public boolean equals (Object o) {
+		return SetOfInt.super.equalContents(o);
+	}
+
+	@Override
+	public String toString () {
+		return toString(", ", true);
+	}
+
+	/**
+	 * Returns a new iterator over the items in this set, in the order of the dense array. Remove is supported.
+	 *
+	 * @return an iterator over the items in this set
+	 */
+	@Override
+	public SparseIterator iterator () {
+		return new SparseIterator(this);
+	}
+
+	public static class SparseIterator implements IntIterator {
+		protected final IntSparseSet set;
+		/**
+		 * The position in the dense array of the next item to return.
+		 */
+		protected int nextIndex;
+		/**
+		 * The position in the dense array of the item most recently returned, or -1 if remove() can't be called.
+		 */
+		protected int currentIndex = -1;
+
+		public SparseIterator (IntSparseSet set) {
+			this.set = set;
+		}
+
+		public void reset () {
+			nextIndex = 0;
+			currentIndex = -1;
+		}
+
+		@Override
+		public boolean hasNext () {
+			return nextIndex < set.size;
+		}
+
+		@Override
+		public int nextInt () {
+			if (nextIndex >= set.size) {throw new NoSuchElementException();}
+			return set.dense[currentIndex = nextIndex++];
+		}
+
+		/**
+		 * Removes the item most recently returned by next(). The last item takes its place, and is returned next.
+		 */
+		@Override
+		public void remove () {
+			if (currentIndex < 0) {throw new IllegalStateException("next must be called before remove.");}
+			set.removeAt(currentIndex);
+			nextIndex = currentIndex;
+			currentIndex = -1;
+		}
+	}
+}
@@ -48,6 +48,10 @@ import java.util.Objects;
  * you get a Junction that will match any of "a", "b", or "c". Alternatively, an input such as
  * {@code (beef|turkey|veggie|warm melted cheese)&bun} will match a Collection that contains "beef" as well as
  * "bun", "turkey" as well as "bun", "veggie" as well as "bun", or "warm melted cheese" as well as "bun".
+ * <br>
+ * If one Junction needs to match a large number of Collections, {@link #compile()} produces a
+ * {@link CompiledJunction} that checks each distinct value only once per Collection and evaluates the rest of the
+ * Junction with bitwise operations.
  *
  * @param <T> any Comparable type, such as String or any enum type
  */
@@ -111,6 +115,16 @@ public class Junction<T extends Comparable<T>> implements Term<T> {
         return root.remove(coll);
     }
 
+    /**
+     * Compiles this Junction into a {@link CompiledJunction}, which can match many Collections much faster than
+     * {@link #match(Collection)} can, especially when T is an enum type and the Collections are {@link EnumSet}s.
+     * The compiled form won't reflect any later changes to this Junction.
+     * @return a new CompiledJunction that matches the same Collections this does
+     */
+    public CompiledJunction<T> compile() {
+        return new CompiledJunction<>(this);
+    }
+
     @Override
     public char symbol() {
         return '@';
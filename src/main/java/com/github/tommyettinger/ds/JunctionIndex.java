@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Stores many {@link Junction} (or other {@link Term}) queries, and finds every query that matches one given Collection.
+ * This is the reverse of {@link Junction#match(Collection)}, which checks one query against one Collection; here, the
+ * Collection is checked against all registered queries at once, and only queries that could possibly match are evaluated.
+ * <br>
+ * Each query is registered with {@link #add(Term)}, which returns an int ID for that query. The query's Leaf values are
+ * used as postings: each query is listed under a small set of values such that any matching Collection must contain at
+ * least one of them. For an {@link Junction.All}, that set only needs to come from one of its children, so it is chosen from
+ * whichever child has the fewest queries already listed under its values; for an {@link Junction.Any} or
+ * {@link Junction.One}, it has to include values from every child. When matching, each item in the given Collection is
+ * looked up in the postings, and only the queries listed there are evaluated, using a {@link CompiledJunction} per query.
+ * Queries that can match without containing any particular value, such as {@code ~cardiac-arrest}, can't be listed under any
+ * value, so they are evaluated every time; these should be rare.
+ * <br>
+ * Items in a Collection are looked up in the postings using their {@link Object#equals(Object)} and
+ * {@link Object#hashCode()}, so Collections with unusual equality rules (such as {@link CaseInsensitiveSet}) may not find
+ * every query they would match with {@link Junction#match(Collection)}. This class isn't thread-safe, even for matching only.
+ *
+ * @param <T> any Comparable type, such as String or any enum type; the same as the type of each Junction
+ */
+public class JunctionIndex<T extends Comparable<T>> {
+	/**
+	 * The registered queries by ID; a removed query leaves a null in its place.
+	 */
+	protected final ObjectList<@Nullable Term<T>> queries;
+	/**
+	 * The compiled form of each query in {@link #queries}, at the same index.
+	 */
+	protected final ObjectList<@Nullable CompiledJunction<T>> compiled;
+	/**
+	 * The values each query is listed under in {@link #postings}, or null if the query is in {@link #unanchored}.
+	 */
+	protected final ObjectList<@Nullable ObjectList<T>> anchors;
+	/**
+	 * Maps each value to the IDs of the queries that are listed under it.
+	 */
+	protected final ObjectObjectMap<T, IntList> postings;
+	/**
+	 * The IDs of the queries that have to be evaluated for every Collection.
+	 */
+	protected final IntList unanchored;
+	/**
+	 * Used to avoid evaluating the same query twice for one Collection; a query has been evaluated for the current
+	 * Collection if its entry here is equal to {@link #epoch}.
+	 */
+	protected int[] stamps;
+	protected int epoch;
+	protected int size;
+
+	/**
+	 * Creates an empty JunctionIndex.
+	 */
+	public JunctionIndex() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty JunctionIndex that can hold {@code capacity} queries without resizing its lists.
+	 *
+	 * @param capacity how many queries this should be able to hold before resizing
+	 */
+	public JunctionIndex(int capacity) {
+		capacity = Math.max(1, capacity);
+		queries = new ObjectList<>(capacity);
+		compiled = new ObjectList<>(capacity);
+		anchors = new ObjectList<>(capacity);
+		postings = new ObjectObjectMap<>(capacity);
+		unanchored = new IntList();
+		stamps = new int[capacity];
+	}
+
+	/**
+	 * Registers a query, which is usually a {@link Junction}, and returns the ID that {@link #match(Collection, IntList)}
+	 * will report if this query matches. IDs are assigned in ascending order starting at 0, and are not reused until
+	 * {@link #clear()} is called. The query is compiled when it is added, so later changes to it won't be seen here.
+	 *
+	 * @param query a Junction or other Term to register
+	 * @return the ID of the query
+	 */
+	public int add(Term<T> query) {
+		final int id = queries.size();
+		queries.add(query);
+		compiled.add(new CompiledJunction<>(query));
+		ObjectList<T> anchor = cover(query);
+		anchors.add(anchor);
+		if (anchor == null) {
+			unanchored.add(id);
+		} else {
+			for (int i = 0, n = anchor.size(); i < n; i++) {
+				T item = anchor.get(i);
+				IntList ids = postings.get(item);
+				if (ids == null) postings.put(item, ids = new IntList(4));
+				ids.add(id);
+			}
+		}
+		if (id >= stamps.length) stamps = Arrays.copyOf(stamps, Math.max(id + 1, stamps.length << 1));
+		size++;
+		return id;
+	}
+
+	/**
+	 * Unregisters the query with the given ID, if it is present. Its ID will not be reused until {@link #clear()}.
+	 *
+	 * @param id an ID returned by {@link #add(Term)}
+	 * @return true if a query was removed, or false if there was no query with that ID
+	 */
+	public boolean remove(int id) {
+		if (id < 0 || id >= queries.size() || queries.get(id) == null) return false;
+		ObjectList<T> anchor = anchors.get(id);
+		if (anchor == null) {
+			unanchored.remove(id);
+		} else {
+			for (int i = 0, n = anchor.size(); i < n; i++) {
+				T item = anchor.get(i);
+				IntList ids = postings.get(item);
+				if (ids != null) {
+					ids.remove(id);
+					if (ids.isEmpty()) postings.remove(item);
+				}
+			}
+		}
+		queries.set(id, null);
+		compiled.set(id, null);
+		anchors.set(id, null);
+		size--;
+		return true;
+	}
+
+	/**
+	 * Gets the query registered with the given ID, or null if there is none.
+	 *
+	 * @param id an ID returned by {@link #add(Term)}
+	 * @return the query with that ID, or null if none is present
+	 */
+	public @Nullable Term<T> get(int id) {
+		if (id < 0 || id >= queries.size()) return null;
+		return queries.get(id);
+	}
+
+	/**
+	 * Finds every registered query that matches {@code coll}, and adds the ID of each one to {@code output}. The IDs are
+	 * not added in any particular order, and each matching ID is added once. This only evaluates queries listed under an
+	 * item in coll, plus any queries that couldn't be listed under any value.
+	 *
+	 * @param coll a Collection of T that will not be modified
+	 * @param output an IntList that will have matching query IDs added to it
+	 * @return {@code output}, for chaining
+	 */
+	public IntList match(Collection<? extends T> coll, IntList output) {
+		final int epoch = nextEpoch();
+		for (int i = 0, n = unanchored.size(); i < n; i++) {
+			final int id = unanchored.get(i);
+			stamps[id] = epoch;
+			if (compiled.get(id).match(coll)) output.add(id);
+		}
+		if (postings.isEmpty()) return output;
+		for (T item : coll) {
+			IntList ids = postings.get(item);
+			if (ids == null) continue;
+			for (int i = 0, n = ids.size(); i < n; i++) {
+				final int id = ids.get(i);
+				if (stamps[id] == epoch) continue;
+				stamps[id] = epoch;
+				if (compiled.get(id).match(coll)) output.add(id);
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Finds every registered query that matches {@code set}, and adds the ID of each one to {@code output}. This is
+	 * meant for when T is an enum type, and evaluates each candidate query with {@link CompiledJunction#match(EnumSet)}.
+	 * The IDs are not added in any particular order, and each matching ID is added once.
+	 *
+	 * @param set an EnumSet that will not be modified
+	 * @param output an IntList that will have matching query IDs added to it
+	 * @return {@code output}, for chaining
+	 */
+	public IntList match(EnumSet set, IntList output) {
+		final int epoch = nextEpoch();
+		for (int i = 0, n = unanchored.size(); i < n; i++) {
+			final int id = unanchored.get(i);
+			stamps[id] = epoch;
+			if (compiled.get(id).match(set)) output.add(id);
+		}
+		if (postings.isEmpty() || set.universe == null) return output;
+		for (int ord = set.nextOrdinal(0); ord != -1; ord = set.nextOrdinal(ord + 1)) {
+			IntList ids = postings.get(set.universe[ord]);
+			if (ids == null) continue;
+			for (int i = 0, n = ids.size(); i < n; i++) {
+				final int id = ids.get(i);
+				if (stamps[id] == epoch) continue;
+				stamps[id] = epoch;
+				if (compiled.get(id).match(set)) output.add(id);
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Advances {@link #epoch} and returns it, resetting {@link #stamps} if the epoch wrapped around.
+	 */
+	private int nextEpoch() {
+		if (++epoch == 0) {
+			Arrays.fill(stamps, 0);
+			epoch = 1;
+		}
+		return epoch;
+	}
+
+	/**
+	 * Gets a set of values such that any Collection matching {@code term} must contain at least one of them, or null if
+	 * there is no such set (which happens when term can match a Collection containing none of its values).
+	 *
+	 * @param term a Term to find values for
+	 * @return an ObjectList of values, or null if term can't be listed under any values
+	 */
+	protected @Nullable ObjectList<T> cover(Term<T> term) {
+		term = CompiledJunction.unwrap(term);
+		if (term instanceof Junction.Not) return null;
+		if (term instanceof Junction.All) {
+			ObjectList<Term<T>> contents = ((Junction.All<T>)term).contents;
+			ObjectList<T> best = null;
+			int bestCost = Integer.MAX_VALUE;
+			for (int i = 0, n = contents.size(); i < n; i++) {
+				ObjectList<T> c = cover(contents.get(i));
+				if (c == null) continue;
+				int cost = c.size();
+				for (int j = 0, m = c.size(); j < m; j++) {
+					IntList ids = postings.get(c.get(j));
+					if (ids != null) cost += ids.size();
+				}
+				if (cost < bestCost) {
+					best = c;
+					bestCost = cost;
+				}
+			}
+			return best;
+		}
+		if (term instanceof Junction.Any || term instanceof Junction.One) {
+			ObjectList<Term<T>> contents = term instanceof Junction.Any ? ((Junction.Any<T>)term).contents
+				: ((Junction.One<T>)term).contents;
+			ObjectList<T> union = new ObjectList<>(contents.size());
+			for (int i = 0, n = contents.size(); i < n; i++) {
+				ObjectList<T> c = cover(contents.get(i));
+				if (c == null) return null;
+				union.addAll(c);
+			}
+			return union;
+		}
+		T item = term.value();
+		if (item == null) return null;
+		ObjectList<T> single = new ObjectList<>(1);
+		single.add(item);
+		return single;
+	}
+
+	/**
+	 * Gets the number of queries currently registered.
+	 *
+	 * @return how many queries are registered
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if no queries are registered.
+	 *
+	 * @return true if this is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Unregisters all queries, and allows IDs to be reused starting from 0.
+	 */
+	public void clear() {
+		queries.clear();
+		compiled.clear();
+		anchors.clear();
+		postings.clear();
+		unanchored.clear();
+		Arrays.fill(stamps, 0);
+		epoch = 0;
+		size = 0;
+	}
+}
@@ -19,6 +19,8 @@ package com.github.tommyettinger.ds;
 import com.github.tommyettinger.digital.Base;
 import com.github.tommyettinger.ds.support.sort.FloatComparator;
 import com.github.tommyettinger.ds.support.sort.FloatComparators;
+import com.github.tommyettinger.ds.support.sort.IntComparator;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
 import com.github.tommyettinger.ds.support.sort.LongComparator;
 import com.github.tommyettinger.ds.support.sort.LongComparators;
 
@@ -570,6 +572,16 @@ public class LongFloatOrderedMap extends LongFloatMap implements Ordered.OfLong
 		return keys;
 	}
 
+	/**
+	 * Adds the backing array of the order of keys to the estimate from the superclass.
+	 *
+	 * @return the estimated size of the backing arrays, including the order, in bytes
+	 */
+	@Override
+	protected long retainedBytes () {
+		return super.retainedBytes() + HashStatistics.arrayBytes(keys.items.length, 8);
+	}
+
 	/**
 	 * Sorts this LongFloatOrderedMap in-place by the keys' natural ordering.
 	 */
@@ -591,11 +603,22 @@ public class LongFloatOrderedMap extends LongFloatMap implements Ordered.OfLong
 	 * Sorts this LongFloatOrderedMap in-place by the given {@link FloatComparator} used on the values. {@code comp}
 	 * must not be null.  You can use {@link FloatComparators#NATURAL_COMPARATOR}
 	 * to do what {@link #sort()} does (just sorting values in this case instead of keys).
+	 * <br>
+	 * This gets each value only once, then stably sorts their positions with
+	 * {@link IntComparators#argsort(int, IntComparator)}, so no values are looked up during comparisons.
 	 *
 	 * @param comp a non-null FloatComparator, such as one from {@link FloatComparators}
 	 */
 	public void sortByValue (FloatComparator comp) {
-		keys.sort((a, b) -> comp.compare(get(a), get(b)));
+		final int n = keys.size();
+		if (n < 2) {return;}
+		final long[] ks = keys.items;
+		final float[] vs = new float[n];
+		for (int i = 0; i < n; i++) {vs[i] = get(ks[i]);}
+		final int[] order = IntComparators.argsort(n, (a, b) -> comp.compare(vs[a], vs[b]));
+		final long[] sorted = new long[n];
+		for (int i = 0; i < n; i++) {sorted[i] = ks[order[i]];}
+		System.arraycopy(sorted, 0, ks, 0, n);
 	}
 
 	/**
@@ -0,0 +1,553 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.ds.support.util.LongIterator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A multimap from long keys to any number of long values each, stored in compressed sparse row (CSR) form: one
+ * contiguous array of every value, grouped by key, and an array of offsets where each key's values start. This is
+ * meant for things like graph adjacency lists, where a {@code LongObjectMap<LongList>} would need a LongList object and
+ * an array for every key, scattered around the heap.
+ * <p>
+ * There are two phases. Calls to {@link #put(long, long)} and the putAll() methods only append the pair to a pending list,
+ * which is O(1). The first read after that (or an explicit call to {@link #freeze()}) merges the pending pairs into the
+ * CSR arrays in two linear passes: one that counts how many values each key has, and one that places each value. After
+ * that, reading a key's values is one hash lookup to find its row, then a contiguous read of {@link #getValueArray()}
+ * from {@link #rowStart(int)} to {@link #rowEnd(int)}; {@link ValueIterator#reset(long)} does the same without any
+ * allocation per key.
+ * <p>
+ * Each key gets a row the first time it is put in, and rows are kept in that order. Each key's values are kept in the
+ * order they were put in, and duplicate values are kept. Values can't be removed individually; use {@link #clear()}
+ * and rebuild instead.
+ *
+ * @author Tommy Ettinger
+ */
+public class LongLongMultimap {
+	/**
+	 * Keys of pairs that were put in since the last {@link #freeze()}.
+	 */
+	protected LongList pendingKeys;
+	/**
+	 * Values of pairs that were put in since the last {@link #freeze()}, parallel to {@link #pendingKeys}.
+	 */
+	protected LongList pendingValues;
+
+	/**
+	 * Maps each key to its row.
+	 */
+	protected LongIntMap rowOf;
+	/**
+	 * The key for each row, in the order rows were created.
+	 */
+	protected LongList rowKeys;
+	/**
+	 * The index in {@link #values} where each row starts; has one more item than there are frozen rows, and the last
+	 * item is the number of frozen values.
+	 */
+	protected int[] offsets;
+	/**
+	 * Every frozen value, grouped by row.
+	 */
+	protected long[] values;
+
+	/**
+	 * Creates a new, empty multimap.
+	 */
+	public LongLongMultimap () {
+		this(16);
+	}
+
+	/**
+	 * Creates a new, empty multimap with room for {@code initialCapacity} pending pairs before growing.
+	 *
+	 * @param initialCapacity how many pairs can be put in before the pending lists need to grow
+	 */
+	public LongLongMultimap (int initialCapacity) {
+		pendingKeys = new LongList(initialCapacity);
+		pendingValues = new LongList(initialCapacity);
+		rowOf = new LongIntMap();
+		rowKeys = new LongList();
+		offsets = new int[1];
+		values = Utilities.EMPTY_LONGS;
+	}
+
+	/**
+	 * Creates a multimap from side-by-side lists of keys and values, where each key is paired with the value at the same
+	 * index. If the lists have different sizes, this only uses the size of the smaller one.
+	 *
+	 * @param keys   the key of each pair
+	 * @param values the value of each pair
+	 */
+	public LongLongMultimap (LongList keys, LongList values) {
+		this(Math.min(keys.size(), values.size()));
+		putAll(keys, values);
+		freeze();
+	}
+
+	/**
+	 * Creates a multimap from side-by-side arrays of keys and values, where each key is paired with the value at the same
+	 * index. If the arrays have different lengths, this only uses the length of the smaller one.
+	 *
+	 * @param keys   the key of each pair
+	 * @param values the value of each pair
+	 */
+	public LongLongMultimap (long[] keys, long[] values) {
+		this(Math.min(keys.length, values.length));
+		putAll(keys, values);
+		freeze();
+	}
+
+	/**
+	 * Creates a new multimap with the same pairs as another.
+	 *
+	 * @param other another LongLongMultimap to copy
+	 */
+	public LongLongMultimap (LongLongMultimap other) {
+		other.freeze();
+		pendingKeys = new LongList();
+		pendingValues = new LongList();
+		rowOf = new LongIntMap(other.rowOf);
+		rowKeys = new LongList(other.rowKeys);
+		offsets = Arrays.copyOf(other.offsets, other.offsets.length);
+		values = Arrays.copyOf(other.values, other.values.length);
+	}
+
+	/**
+	 * Adds a pair to the pending list. This doesn't check for duplicates.
+	 *
+	 * @param key   any long
+	 * @param value any long
+	 */
+	public void put (long key, long value) {
+		pendingKeys.add(key);
+		pendingValues.add(value);
+	}
+
+	/**
+	 * Adds a pair of {@code key} with each item in {@code values} to the pending list.
+	 *
+	 * @param key    any long
+	 * @param values the values to pair with key, such as a LongList or LongSet
+	 */
+	public void putAll (long key, PrimitiveCollection.OfLong values) {
+		LongIterator it = values.iterator();
+		while (it.hasNext()) {put(key, it.nextLong());}
+	}
+
+	/**
+	 * Adds every pair from side-by-side lists of keys and values to the pending list. If the lists have different sizes,
+	 * this only uses the size of the smaller one.
+	 *
+	 * @param keys   the key of each pair
+	 * @param values the value of each pair
+	 */
+	public void putAll (LongList keys, LongList values) {
+		int n = Math.min(keys.size(), values.size());
+		pendingKeys.addAll(keys, 0, n);
+		pendingValues.addAll(values, 0, n);
+	}
+
+	/**
+	 * Adds every pair from side-by-side arrays of keys and values to the pending list. If the arrays have different
+	 * lengths, this only uses the length of the smaller one.
+	 *
+	 * @param keys   the key of each pair
+	 * @param values the value of each pair
+	 */
+	public void putAll (long[] keys, long[] values) {
+		int n = Math.min(keys.length, values.length);
+		pendingKeys.addAll(keys, 0, n);
+		pendingValues.addAll(values, 0, n);
+	}
+
+	/**
+	 * Adds every pair from another multimap to the pending list.
+	 *
+	 * @param other another LongLongMultimap
+	 */
+	public void putAll (LongLongMultimap other) {
+		other.freeze();
+		for (int r = 0, rows = other.rowKeys.size(); r < rows; r++) {
+			long key = other.rowKeys.get(r);
+			for (int i = other.offsets[r], e = other.offsets[r + 1]; i < e; i++) {put(key, other.values[i]);}
+		}
+	}
+
+	/**
+	 * Returns true if there are no pending pairs, so reads don't need to call {@link #freeze()} first.
+	 */
+	public boolean isFrozen () {
+		return pendingKeys.isEmpty();
+	}
+
+	/**
+	 * Merges every pending pair into the CSR arrays. This counts the values for each key in one pass, computes the
+	 * offsets of each row, then places each value in a second pass; values already frozen keep their order, and
+	 * pending values go after them. Reads call this automatically if there are pending pairs.
+	 */
+	public void freeze () {
+		final int n = pendingKeys.size();
+		if (n == 0) {return;}
+		final int oldRows = rowKeys.size();
+		final int[] oldOffsets = offsets;
+		final long[] oldValues = values;
+		final int[] pendingRow = new int[n];
+		IntList counts = new IntList(oldRows + 16);
+		for (int r = 0; r < oldRows; r++) {counts.add(oldOffsets[r + 1] - oldOffsets[r]);}
+		// Count the values for each row, creating rows for new keys.
+		final long[] pk = pendingKeys.items;
+		for (int i = 0; i < n; i++) {
+			final long key = pk[i];
+			int r = rowOf.getOrDefault(key, -1);
+			if (r < 0) {
+				r = rowKeys.size();
+				rowOf.put(key, r);
+				rowKeys.add(key);
+				counts.add(0);
+			}
+			counts.items[r]++;
+			pendingRow[i] = r;
+		}
+		final int rows = rowKeys.size();
+		final int[] offsets = new int[rows + 1];
+		for (int r = 0; r < rows; r++) {offsets[r + 1] = offsets[r] + counts.items[r];}
+		final long[] values = new long[offsets[rows]];
+		// Place the values: frozen ones first in each row, then pending ones in order.
+		final int[] fill = counts.items;
+		for (int r = 0; r < rows; r++) {
+			if (r < oldRows) {
+				fill[r] = oldOffsets[r + 1] - oldOffsets[r];
+				System.arraycopy(oldValues, oldOffsets[r], values, offsets[r], fill[r]);
+			} else {
+				fill[r] = 0;
+			}
+		}
+		final long[] pv = pendingValues.items;
+		for (int i = 0; i < n; i++) {
+			final int r = pendingRow[i];
+			values[offsets[r] + fill[r]++] = pv[i];
+		}
+		this.offsets = offsets;
+		this.values = values;
+		pendingKeys.clear();
+		pendingValues.clear();
+	}
+
+	/**
+	 * Gets the row for a key, which can be used with {@link #rowStart(int)} and {@link #rowEnd(int)}, or -1 if the key
+	 * has no values.
+	 *
+	 * @param key any long
+	 * @return the row of key, or -1 if it is not present
+	 */
+	public int rowOf (long key) {
+		freeze();
+		return rowOf.getOrDefault(key, -1);
+	}
+
+	/**
+	 * Gets the index in {@link #getValueArray()} of the first value in the given row.
+	 *
+	 * @param row a row, as returned by {@link #rowOf(long)}
+	 * @return the index of the first value in that row
+	 */
+	public int rowStart (int row) {
+		freeze();
+		return offsets[row];
+	}
+
+	/**
+	 * Gets the index in {@link #getValueArray()} just after the last value in the given row.
+	 *
+	 * @param row a row, as returned by {@link #rowOf(long)}
+	 * @return the index after the last value in that row
+	 */
+	public int rowEnd (int row) {
+		freeze();
+		return offsets[row + 1];
+	}
+
+	/**
+	 * Gets the key that owns the given row.
+	 *
+	 * @param row a row, from 0 (inclusive) to {@link #keyCount()} (exclusive)
+	 * @return the key of that row
+	 */
+	public long keyAt (int row) {
+		freeze();
+		return rowKeys.get(row);
+	}
+
+	/**
+	 * Gets the array holding every value, grouped by row; this should not be modified. Only the part up to
+	 * {@link #size()} is used.
+	 *
+	 * @return the CSR value array
+	 */
+	public long[] getValueArray () {
+		freeze();
+		return values;
+	}
+
+	/**
+	 * Gets the array of row offsets; this should not be modified. Row {@code r} spans from {@code offsets[r]}
+	 * (inclusive) to {@code offsets[r+1]} (exclusive) in {@link #getValueArray()}.
+	 *
+	 * @return the CSR offset array
+	 */
+	public int[] getOffsetArray () {
+		freeze();
+		return offsets;
+	}
+
+	/**
+	 * Gets how many values the given key has, which is the degree of a vertex in an adjacency list.
+	 *
+	 * @param key any long
+	 * @return the number of values key has, or 0 if it is not present
+	 */
+	public int degree (long key) {
+		int r = rowOf(key);
+		return r < 0 ? 0 : offsets[r + 1] - offsets[r];
+	}
+
+	/**
+	 * Fills {@code into} with the number of values each row has, growing it if needed; index {@code r} of the result
+	 * is the degree of {@link #keyAt(int) keyAt(r)}.
+	 *
+	 * @param into an IntList that will be cleared and filled with degrees
+	 * @return into, after modifications
+	 */
+	public IntList degrees (IntList into) {
+		freeze();
+		into.clear();
+		for (int r = 0, rows = rowKeys.size(); r < rows; r++) {into.add(offsets[r + 1] - offsets[r]);}
+		return into;
+	}
+
+	public boolean containsKey (long key) {
+		return rowOf(key) >= 0;
+	}
+
+	/**
+	 * Returns true if {@code key} has {@code value} as one of its values; this is linear in the degree of key.
+	 */
+	public boolean contains (long key, long value) {
+		int r = rowOf(key);
+		if (r < 0) {return false;}
+		for (int i = offsets[r], e = offsets[r + 1]; i < e; i++) {
+			if (values[i] == value) {return true;}
+		}
+		return false;
+	}
+
+	/**
+	 * Appends every value of {@code key} to {@code into}, in the order they were put in.
+	 *
+	 * @param key  any long
+	 * @param into a LongList to append to
+	 * @return into, after modifications
+	 */
+	public LongList get (long key, LongList into) {
+		int r = rowOf(key);
+		if (r >= 0) {into.addAll(values, offsets[r], offsets[r + 1] - offsets[r]);}
+		return into;
+	}
+
+	/**
+	 * Sorts the values of each key, so that {@link #contains(long, long)} results can be checked with a binary search on
+	 * {@link #getValueArray()}, and neighbors are visited in order.
+	 */
+	public void sortValues () {
+		freeze();
+		for (int r = 0, rows = rowKeys.size(); r < rows; r++) {Arrays.sort(values, offsets[r], offsets[r + 1]);}
+	}
+
+	/**
+	 * Gets the number of key-value pairs, including pending ones.
+	 */
+	public int size () {
+		return offsets[rowKeys.size()] + pendingKeys.size();
+	}
+
+	/**
+	 * Gets the number of distinct keys.
+	 */
+	public int keyCount () {
+		freeze();
+		return rowKeys.size();
+	}
+
+	public boolean isEmpty () {
+		return size() == 0;
+	}
+
+	public boolean notEmpty () {
+		return size() != 0;
+	}
+
+	/**
+	 * Gets a read-only view of the distinct keys, in the order their rows were created. This is the list this uses
+	 * internally, so it should not be modified.
+	 *
+	 * @return the list of distinct keys
+	 */
+	public LongList keys () {
+		freeze();
+		return rowKeys;
+	}
+
+	/**
+	 * Removes every pair.
+	 */
+	public void clear () {
+		pendingKeys.clear();
+		pendingValues.clear();
+		rowOf.clear();
+		rowKeys.clear();
+		offsets = new int[1];
+		values = Utilities.EMPTY_LONGS;
+	}
+
+	/**
+	 * Returns a new iterator that can be pointed at any key's values with {@link ValueIterator#reset(long)}, and reused.
+	 *
+	 * @return a new ValueIterator, initially with nothing to iterate
+	 */
+	public ValueIterator valueIterator () {
+		return new ValueIterator(this);
+	}
+
+	/**
+	 * Returns a new iterator over the values of {@code key}.
+	 *
+	 * @param key any long
+	 * @return a new ValueIterator over the values of key
+	 */
+	public ValueIterator valueIterator (long key) {
+		ValueIterator it = new ValueIterator(this);
+		it.reset(key);
+		return it;
+	}
+
+	@Override
+	public int hashCode () {
+		freeze();
+		int h = size();
+		for (int r = 0, rows = rowKeys.size(); r < rows; r++) {
+			long rh = rowKeys.get(r);
+			for (int i = offsets[r], e = offsets[r + 1]; i < e; i++) {rh = rh * 31 + values[i];}
+			h ^= (int)(rh ^ rh >>> 32);
+		}
+		return h;
+	}
+
+	/**
+	 * Two LongLongMultimaps are equal if they have the same keys, and each key has the same values in the same order.
+	 * The order of keys doesn't matter.
+	 */
+	@Override
+	public boolean equals (Object obj) {
+		if (obj == this) {return true;}
+		if (!(obj instanceof LongLongMultimap)) {return false;}
+		LongLongMultimap other = (LongLongMultimap)obj;
+		freeze();
+		other.freeze();
+		if (other.size() != size() || other.rowKeys.size() != rowKeys.size()) {return false;}
+		for (int r = 0, rows = rowKeys.size(); r < rows; r++) {
+			int o = other.rowOf.getOrDefault(rowKeys.get(r), -1);
+			if (o < 0) {return false;}
+			int start = offsets[r], len = offsets[r + 1] - start, otherStart = other.offsets[o];
+			if (other.offsets[o + 1] - otherStart != len) {return false;}
+			for (int i = 0; i < len; i++) {
+				if (values[start + i] != other.values[otherStart + i]) {return false;}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString () {
+		freeze();
+		if (rowKeys.isEmpty()) {return "{}";}
+		StringBuilder sb = new StringBuilder(32).append('{');
+		for (int r = 0, rows = rowKeys.size(); r < rows; r++) {
+			if (r > 0) {sb.append(", ");}
+			sb.append(rowKeys.get(r)).append("=[");
+			for (int i = offsets[r], e = offsets[r + 1]; i < e; i++) {
+				if (i > offsets[r]) {sb.append(", ");}
+				sb.append(values[i]);
+			}
+			sb.append(']');
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Iterates over the values of one key at a time, reading the CSR value array directly. Call {@link #reset(int)} to
+	 * move to another key without allocating. Remove is not supported. Putting pairs in the multimap while iterating
+	 * makes the next reset() freeze the multimap again.
+	 */
+	public static class ValueIterator implements LongIterator {
+		protected final LongLongMultimap map;
+		protected int index, end;
+
+		public ValueIterator (LongLongMultimap map) {
+			this.map = map;
+		}
+
+		/**
+		 * Points this iterator at the first value of {@code key}; if key has no values, this has nothing to iterate.
+		 *
+		 * @param key any long
+		 * @return this, for chaining
+		 */
+		public ValueIterator reset (long key) {
+			int r = map.rowOf(key);
+			if (r < 0) {
+				index = end = 0;
+			} else {
+				index = map.offsets[r];
+				end = map.offsets[r + 1];
+			}
+			return this;
+		}
+
+		@Override
+		public boolean hasNext () {
+			return index < end;
+		}
+
+		@Override
+		public long nextLong () {
+			if (index >= end) {throw new NoSuchElementException();}
+			return map.values[index++];
+		}
+
+		/**
+		 * Always throws an {@link UnsupportedOperationException}, because values can't be removed individually.
+		 */
+		@Override
+		public void remove () {
+			throw new UnsupportedOperationException("LongLongMultimap values cannot be removed individually.");
+		}
+	}
+}
@@ -17,6 +17,8 @@
 package com.github.tommyettinger.ds;
 
 import com.github.tommyettinger.digital.Base;
+import com.github.tommyettinger.ds.support.sort.IntComparator;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
 import com.github.tommyettinger.ds.support.sort.LongComparator;
 import com.github.tommyettinger.ds.support.sort.LongComparators;
 
@@ -567,6 +569,16 @@ public class LongLongOrderedMap extends LongLongMap implements Ordered.OfLong {
 		return keys;
 	}
 
+	/**
+	 * Adds the backing array of the order of keys to the estimate from the superclass.
+	 *
+	 * @return the estimated size of the backing arrays, including the order, in bytes
+	 */
+	@Override
+	protected long retainedBytes () {
+		return super.retainedBytes() + HashStatistics.arrayBytes(keys.items.length, 8);
+	}
+
 	/**
 	 * Sorts this LongLongOrderedMap in-place by the keys' natural ordering.
 	 */
@@ -588,11 +600,22 @@ public class LongLongOrderedMap extends LongLongMap implements Ordered.OfLong {
 	 * Sorts this LongLongOrderedMap in-place by the given {@link LongComparator} used on the values. {@code comp}
 	 * must not be null.  You can use {@link LongComparators#NATURAL_COMPARATOR}
 	 * to do what {@link #sort()} does (just sorting values in this case instead of keys).
+	 * <br>
+	 * This gets each value only once, then stably sorts their positions with
+	 * {@link IntComparators#argsort(int, IntComparator)}, so no values are looked up during comparisons.
 	 *
 	 * @param comp a non-null LongComparator, such as one from {@link LongComparators}
 	 */
 	public void sortByValue (LongComparator comp) {
-		keys.sort((a, b) -> comp.compare(get(a), get(b)));
+		final int n = keys.size();
+		if (n < 2) {return;}
+		final long[] ks = keys.items;
+		final long[] vs = new long[n];
+		for (int i = 0; i < n; i++) {vs[i] = get(ks[i]);}
+		final int[] order = IntComparators.argsort(n, (a, b) -> comp.compare(vs[a], vs[b]));
+		final long[] sorted = new long[n];
+		for (int i = 0; i < n; i++) {sorted[i] = ks[order[i]];}
+		System.arraycopy(sorted, 0, ks, 0, n);
 	}
 
 	/**
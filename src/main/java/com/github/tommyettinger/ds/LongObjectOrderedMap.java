@@ -17,6 +17,8 @@
 package com.github.tommyettinger.ds;
 
 import com.github.tommyettinger.digital.Base;
+import com.github.tommyettinger.ds.support.sort.IntComparator;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
 import com.github.tommyettinger.ds.support.sort.LongComparator;
 import com.github.tommyettinger.ds.support.sort.LongComparators;
 
@@ -552,6 +554,16 @@ public class LongObjectOrderedMap<V> extends LongObjectMap<V> implements Ordered
 		return keys;
 	}
 
+	/**
+	 * Adds the backing array of the order of keys to the estimate from the superclass.
+	 *
+	 * @return the estimated size of the backing arrays, including the order, in bytes
+	 */
+	@Override
+	protected long retainedBytes () {
+		return super.retainedBytes() + HashStatistics.arrayBytes(keys.items.length, 8);
+	}
+
 	/**
 	 * Sorts this LongObjectOrderedMap in-place by the keys' natural ordering.
 	 */
@@ -575,15 +587,25 @@ public class LongObjectOrderedMap<V> extends LongObjectMap<V> implements Ordered
 	 * must be able to sort or otherwise handle null values. You can use pass {@code null} to do what
 	 * {@link #sort()} does when given null (just sorting values in this case instead of keys) if the values implement
 	 * {@link Comparable} (requiring all of them to be non-null).
+	 * <br>
+	 * This gets each value only once, then stably sorts their positions with
+	 * {@link IntComparators#argsort(int, IntComparator)}, so no values are looked up during comparisons.
 	 *
 	 * @param comp a Comparator that can compare {@code V} values; may be null to use natural order of Comparable values
 	 */
 	public void sortByValue (@Nullable Comparator<V> comp) {
-		if(comp == null)
-			//noinspection unchecked
-			keys.sort((a, b) -> ((Comparator<V>) ObjectComparators.NATURAL_COMPARATOR).compare(get(a), get(b)));
-		else
-			keys.sort((a, b) -> comp.compare(get(a), get(b)));
+		final int n = keys.size();
+		if (n < 2) {return;}
+		final long[] ks = keys.items;
+		//noinspection unchecked
+		final Comparator<V> c = comp == null ? (Comparator<V>) ObjectComparators.NATURAL_COMPARATOR : comp;
+		//noinspection unchecked
+		final V[] vs = (V[]) new Object[n];
+		for (int i = 0; i < n; i++) {vs[i] = get(ks[i]);}
+		final int[] order = IntComparators.argsort(n, (a, b) -> c.compare(vs[a], vs[b]));
+		final long[] sorted = new long[n];
+		for (int i = 0; i < n; i++) {sorted[i] = ks[order[i]];}
+		System.arraycopy(sorted, 0, ks, 0, n);
 	}
 
 	/**
@@ -85,6 +85,12 @@ public class LongSet implements PrimitiveSet.SetOfLong {
 	 */
 	protected int hashMultiplier;
 
+	/**
+	 * Holds the resize count and time while resize tracking is on; null otherwise.
+	 * See {@link #setTrackingStatistics(boolean)}.
+	 */
+	@Nullable protected transient HashStatistics statistics;
+
 	@Nullable protected transient LongSetIterator iterator1;
 	@Nullable protected transient LongSetIterator iterator2;
 
@@ -383,6 +389,7 @@ public class LongSet implements PrimitiveSet.SetOfLong {
 	}
 
 	protected void resize (int newSize) {
+		final long start = statistics == null ? 0L : System.nanoTime();
 		int oldCapacity = keyTable.length;
 		threshold = (int)(newSize * loadFactor);
 		mask = newSize - 1;
@@ -398,6 +405,7 @@ public class LongSet implements PrimitiveSet.SetOfLong {
 				if (key != 0) {addResize(key);}
 			}
 		}
+		if (statistics != null) statistics.recordResize(System.nanoTime() - start);
 	}
 
 	/**
@@ -431,6 +439,58 @@ public class LongSet implements PrimitiveSet.SetOfLong {
 		return keyTable.length;
 	}
 
+	/**
+	 * Turns resize tracking on or off for {@link #getStatistics()}. While tracking is on, each call to
+	 * {@link #resize(int)} is counted and timed; turning it off discards what was recorded. Tracking is off by default,
+	 * and nothing is measured during normal use unless it is on.
+	 *
+	 * @param track true to count and time resizes, false to stop
+	 */
+	public void setTrackingStatistics (boolean track) {
+		if (!track) statistics = null;
+		else if (statistics == null) statistics = new HashStatistics();
+	}
+
+	/**
+	 * Returns true if resizes are being counted and timed for {@link #getStatistics()}.
+	 *
+	 * @return true if resize tracking is on
+	 */
+	public boolean isTrackingStatistics () {
+		return statistics != null;
+	}
+
+	/**
+	 * Scans the backing table and reports the probe lengths, cluster lengths, and estimated memory use of this set; see
+	 * {@link HashStatistics}. This takes time proportional to {@link #getTableSize()}, so it is meant for diagnosing a
+	 * slow set rather than for routine use. If {@link #setTrackingStatistics(boolean) tracking} is on, the result also has
+	 * the resize count and time, and the same HashStatistics object is updated and returned on each call.
+	 *
+	 * @return a HashStatistics describing the current state of the backing table
+	 */
+	public HashStatistics getStatistics () {
+		final HashStatistics stats = statistics == null ? new HashStatistics() : statistics;
+		final long[] keyTable = this.keyTable;
+		final int n = keyTable.length;
+		stats.begin(n, size);
+		for (int i = 0; i < n; i++) {
+			long k = keyTable[i];
+			if (k == 0) stats.empty();
+			else stats.probe(i - place(k) & mask);
+		}
+		stats.finish(retainedBytes());
+		return stats;
+	}
+
+	/**
+	 * Estimates the memory used by the key array of this set, in bytes, for {@link #getStatistics()}.
+	 *
+	 * @return the estimated size of the backing arrays in bytes
+	 */
+	protected long retainedBytes () {
+		return HashStatistics.arrayBytes(keyTable.length, 8);
+	}
+
 	public float getLoadFactor () {
 		return loadFactor;
 	}
@@ -626,6 +686,23 @@ public class LongSet implements PrimitiveSet.SetOfLong {
 			set.size--;
 		}
 
+		/**
+		 * Scans the key table directly, writing each key it finds into {@code dest}. After this, {@link #remove()}
+		 * removes the last key written.
+		 */
+		@Override
+		public int nextBatch (long[] dest, int offset, int max) {
+			if (!valid) {throw new RuntimeException("#iterator() cannot be used nested.");}
+			final long[] keyTable = set.keyTable;
+			int count = 0;
+			while (count < max && hasNext) {
+				dest[offset + count++] = nextIndex == INDEX_ZERO ? 0 : keyTable[nextIndex];
+				currentIndex = nextIndex;
+				findNextIndex();
+			}
+			return count;
+		}
+
 		@Override
 		public long nextLong () {
 			if (!hasNext) {throw new NoSuchElementException();}
@@ -667,6 +744,182 @@ public class LongSet implements PrimitiveSet.SetOfLong {
 		}
 	}
 
+	/**
+	 * Returns true if {@code set} places items the same way a new LongSet would, so its table can be copied directly.
+	 */
+	private static boolean isPlain (LongSet set) {
+		return set.getClass() == LongSet.class || set.getClass() == LongOrderedSet.class;
+	}
+
+	/**
+	 * Stores a key that is known to be absent, non-zero, and to fit without resizing.
+	 */
+	private void insertAbsent (long key) {
+		addResize(key);
+		size++;
+	}
+
+	/**
+	 * Creates a new LongSet that contains every item in {@code set} and has room for {@code extra} more items without
+	 * resizing. If the new table has the same length and hashMultiplier as the table in set, it is copied with
+	 * {@link System#arraycopy(Object, int, Object, int, int)} instead of re-inserting each item.
+	 */
+	private static LongSet copyWithRoom (LongSet set, int extra) {
+		LongSet result = new LongSet(set.size + extra, set.loadFactor);
+		long[] keyTable = set.keyTable;
+		if (isPlain(set) && result.keyTable.length == keyTable.length && result.hashMultiplier == set.hashMultiplier) {
+			System.arraycopy(keyTable, 0, result.keyTable, 0, keyTable.length);
+			result.size = set.size;
+			result.hasZeroValue = set.hasZeroValue;
+		} else {
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				if (keyTable[i] != 0) {result.insertAbsent(keyTable[i]);}
+			}
+			if (set.hasZeroValue) {
+				result.hasZeroValue = true;
+				result.size++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new LongSet holding every item that is in {@code a}, {@code b}, or both. Neither a nor b is modified.
+	 * <br>
+	 * The larger set is copied into a result presized to hold both sets, directly copying its table when possible,
+	 * and then only the items of the smaller set are added.
+	 *
+	 * @param a an LongSet; will not be modified
+	 * @param b another LongSet; will not be modified
+	 * @return a new LongSet holding the union of a and b
+	 */
+	public static LongSet union (LongSet a, LongSet b) {
+		final LongSet small = a.size <= b.size ? a : b, large = small == a ? b : a;
+		final LongSet result = copyWithRoom(large, small.size);
+		if (small.hasZeroValue) {result.add(0);}
+		long[] keyTable = small.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			if (keyTable[i] != 0) {result.add(keyTable[i]);}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new LongSet holding every item that is in both {@code a} and {@code b}. Neither a nor b is modified.
+	 * <br>
+	 * This iterates through the smaller set and checks each item against the larger one. The result is presized to
+	 * the smaller set's size, and items are stored without checking for duplicates, since they are known to be
+	 * distinct.
+	 *
+	 * @param a an LongSet; will not be modified
+	 * @param b another LongSet; will not be modified
+	 * @return a new LongSet holding the intersection of a and b
+	 */
+	public static LongSet intersection (LongSet a, LongSet b) {
+		final LongSet small = a.size <= b.size ? a : b, large = small == a ? b : a;
+		final LongSet result = new LongSet(small.size, small.loadFactor);
+		if (small.hasZeroValue && large.hasZeroValue) {
+			result.hasZeroValue = true;
+			result.size++;
+		}
+		long[] keyTable = small.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			long key = keyTable[i];
+			if (key != 0 && large.contains(key)) {result.insertAbsent(key);}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new LongSet holding every item that is in {@code a} but not in {@code b}. Neither a nor b is modified.
+	 * <br>
+	 * If b is smaller than a, this copies a (directly copying its table when possible) and removes only the items of
+	 * b from the copy. Otherwise, this iterates through a and stores each item not in b into a result presized to a's
+	 * size, without checking for duplicates.
+	 *
+	 * @param a an LongSet; will not be modified
+	 * @param b another LongSet; will not be modified
+	 * @return a new LongSet holding the items of a that are not in b
+	 */
+	public static LongSet difference (LongSet a, LongSet b) {
+		if (b.size < a.size) {
+			final LongSet result = copyWithRoom(a, 0);
+			if (b.hasZeroValue) {result.remove(0);}
+			long[] keyTable = b.keyTable;
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				if (keyTable[i] != 0) {result.remove(keyTable[i]);}
+			}
+			return result;
+		}
+		final LongSet result = new LongSet(a.size, a.loadFactor);
+		if (a.hasZeroValue && !b.hasZeroValue) {
+			result.hasZeroValue = true;
+			result.size++;
+		}
+		long[] keyTable = a.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			long key = keyTable[i];
+			if (key != 0 && !b.contains(key)) {result.insertAbsent(key);}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new LongSet holding every item that is in exactly one of {@code a} and {@code b}. Neither a nor b is
+	 * modified.
+	 * <br>
+	 * This copies the larger set (directly copying its table when possible), then goes through the smaller set,
+	 * removing each of its items that the larger set contains and adding each that it doesn't.
+	 *
+	 * @param a an LongSet; will not be modified
+	 * @param b another LongSet; will not be modified
+	 * @return a new LongSet holding the symmetric difference of a and b
+	 */
+	public static LongSet symmetricDifference (LongSet a, LongSet b) {
+		final LongSet small = a.size <= b.size ? a : b, large = small == a ? b : a;
+		final LongSet result = copyWithRoom(large, small.size);
+		if (small.hasZeroValue && !result.remove(0)) {result.add(0);}
+		long[] keyTable = small.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			long key = keyTable[i];
+			if (key != 0 && !result.remove(key)) {result.add(key);}
+		}
+		return result;
+	}
+
+	/**
+	 * Counts how many items are in both {@code a} and {@code b}, without allocating anything. This iterates through
+	 * the smaller set and checks each item against the larger one.
+	 *
+	 * @param a an LongSet; will not be modified
+	 * @param b another LongSet; will not be modified
+	 * @return the size that {@link #intersection(LongSet, LongSet)} would have
+	 */
+	public static int intersectionSize (LongSet a, LongSet b) {
+		final LongSet small = a.size <= b.size ? a : b, large = small == a ? b : a;
+		int count = small.hasZeroValue && large.hasZeroValue ? 1 : 0;
+		long[] keyTable = small.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			long key = keyTable[i];
+			if (key != 0 && large.contains(key)) {count++;}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the Jaccard similarity of {@code a} and {@code b}, which is the size of their intersection divided by the
+	 * size of their union, without allocating anything. This is 1.0 if both sets hold the same items (including if
+	 * both are empty), and 0.0 if they have no items in common.
+	 *
+	 * @param a an LongSet; will not be modified
+	 * @param b another LongSet; will not be modified
+	 * @return the Jaccard similarity of a and b, from 0.0 to 1.0
+	 */
+	public static double jaccard (LongSet a, LongSet b) {
+		final int both = intersectionSize(a, b), either = a.size + b.size - both;
+		return either == 0 ? 1.0 : both / (double)either;
+	}
+
 	/**
 	 * Constructs an empty set.
 	 * This is usually less useful than just using the constructor, but can be handy
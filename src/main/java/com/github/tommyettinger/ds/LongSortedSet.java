@@ -0,0 +1,927 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.ds.support.util.LongIterator;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A sorted set of primitive {@code long} items, backed by a B+ tree. Items are stored in primitive arrays inside each
+ * node, so there is no boxing, and scans over many items read memory in order. Iteration is always in ascending
+ * order. Unlike {@link LongSet}, this supports ordered queries such as {@link #floor(long, long)} and
+ * {@link #ceiling(long, long)}, range views with {@link #subSet(long, long)}, and iteration over a range of items. Adding,
+ * removing, and checking for items all take {@code O(log n)} time.
+ * <br>
+ * Because a primitive can't be null, the methods that search for a nearby item take a {@code defaultItem} to return
+ * if there is no such item. If you have items in ascending order already, {@link #addAllSorted(long[])} builds the whole
+ * tree at once in linear time.
+ */
+public class LongSortedSet implements PrimitiveSet.SetOfLong {
+	/**
+	 * The most keys a leaf can hold, and the most children a branch can hold.
+	 */
+	protected static final int CAPACITY = 64;
+	/**
+	 * A node other than the root that has fewer than this many keys (for a leaf) or children (for a branch) is merged
+	 * with a sibling, or takes some items from it.
+	 */
+	protected static final int MIN_SIZE = CAPACITY >>> 2;
+	/**
+	 * How many keys each leaf gets when bulk-loading; leaving some room means the first inserts after loading don't all
+	 * split nodes.
+	 */
+	protected static final int LOAD = CAPACITY - (CAPACITY >>> 2);
+
+	/**
+	 * A node in the B+ tree. Leaves hold keys in sorted primitive arrays and are linked to their neighbors;
+	 * branches hold child nodes, separated by keys.
+	 */
+	protected static class Node {
+		/**
+		 * In a leaf, the sorted keys. In a branch, {@code keys[i]} is less than or equal to every key in
+		 * {@code children[i + 1]}, and greater than every key in {@code children[i]}.
+		 */
+		public final long[] keys = new long[CAPACITY];
+		/**
+		 * The child nodes of a branch; null in a leaf.
+		 */
+		public final Node @Nullable [] children;
+		/**
+		 * The number of keys in a leaf, or the number of children in a branch.
+		 */
+		public int size;
+		/**
+		 * The next leaf in key order; always null in a branch.
+		 */
+		@Nullable public Node next;
+		/**
+		 * The previous leaf in key order; always null in a branch.
+		 */
+		@Nullable public Node prev;
+
+		public Node (boolean leaf) {
+			children = leaf ? null : new Node[CAPACITY];
+		}
+	}
+
+	protected int size;
+	/**
+	 * The root of the B+ tree; this is a leaf when there are {@link #CAPACITY} or fewer items.
+	 */
+	protected Node root;
+	/**
+	 * The leftmost leaf, which holds the smallest keys; iteration starts here.
+	 */
+	protected Node head;
+	/**
+	 * Set by {@link #insert(Node, long)} to the lowest key in the node it split off.
+	 */
+	protected transient long splitKey;
+	/**
+	 * Set by {@link #insert(Node, long)} when the key was already present.
+	 */
+	protected transient boolean found;
+
+	/**
+	 * Gets the first index from 0 (inclusive) to {@code n} (exclusive) in sorted {@code keys} with a key greater than or
+	 * equal to {@code key}, or {@code n} if there is none.
+	 */
+	protected static int lowerBound (long[] keys, int n, long key) {
+		int lo = 0;
+		while (lo < n) {
+			final int mid = lo + n >>> 1;
+			if (keys[mid] < key) lo = mid + 1;
+			else n = mid;
+		}
+		return lo;
+	}
+
+	/**
+	 * Gets the first index from 0 (inclusive) to {@code n} (exclusive) in sorted {@code keys} with a key greater than
+	 * {@code key}, or {@code n} if there is none.
+	 */
+	protected static int upperBound (long[] keys, int n, long key) {
+		int lo = 0;
+		while (lo < n) {
+			final int mid = lo + n >>> 1;
+			if (keys[mid] <= key) lo = mid + 1;
+			else n = mid;
+		}
+		return lo;
+	}
+
+	/**
+	 * Finds the leaf that holds {@code key}, or would hold it if it were added.
+	 */
+	protected Node leafFor (long key) {
+		Node node = root;
+		Node[] children;
+		while ((children = node.children) != null) {
+			node = children[upperBound(node.keys, node.size - 1, key)];
+		}
+		return node;
+	}
+
+	/**
+	 * Finds the rightmost leaf, which holds the largest keys.
+	 */
+	protected Node tail () {
+		Node node = root;
+		Node[] children;
+		while ((children = node.children) != null) {
+			node = children[node.size - 1];
+		}
+		return node;
+	}
+
+	/**
+	 * Inserts {@code key} into the subtree rooted at {@code node}. If node had to split, this returns the new
+	 * node to its right and sets {@link #splitKey}; otherwise this returns null.
+	 */
+	@Nullable
+	protected Node insert (Node node, long key) {
+		final Node[] children = node.children;
+		if (children == null) {
+			final int n = node.size;
+			final int i = lowerBound(node.keys, n, key);
+			if (i < n && node.keys[i] == key) {
+				found = true;
+				return null;
+			}
+			size++;
+			if (n < CAPACITY) {
+				insertLeaf(node, i, key);
+				return null;
+			}
+			final Node right = new Node(true);
+			final int half = CAPACITY >>> 1;
+			System.arraycopy(node.keys, half, right.keys, 0, CAPACITY - half);
+			right.size = CAPACITY - half;
+			node.size = half;
+			right.next = node.next;
+			if (right.next != null) right.next.prev = right;
+			right.prev = node;
+			node.next = right;
+			if (i <= half) insertLeaf(node, i, key);
+			else insertLeaf(right, i - half, key);
+			splitKey = right.keys[0];
+			return right;
+		}
+		final int c = upperBound(node.keys, node.size - 1, key);
+		final Node child = insert(children[c], key);
+		if (child == null) return null;
+		final long separator = splitKey;
+		if (node.size < CAPACITY) {
+			insertBranch(node, c, separator, child);
+			return null;
+		}
+		final Node right = new Node(false);
+		final int half = CAPACITY >>> 1;
+		final long promoted = node.keys[half - 1];
+		System.arraycopy(node.keys, half, right.keys, 0, CAPACITY - half - 1);
+		System.arraycopy(children, half, right.children, 0, CAPACITY - half);
+		Arrays.fill(children, half, CAPACITY, null);
+		right.size = CAPACITY - half;
+		node.size = half;
+		if (c < half) insertBranch(node, c, separator, child);
+		else insertBranch(right, c - half, separator, child);
+		splitKey = promoted;
+		return right;
+	}
+
+	protected static void insertLeaf (Node leaf, int i, long key) {
+		final int n = leaf.size;
+		System.arraycopy(leaf.keys, i, leaf.keys, i + 1, n - i);
+		leaf.keys[i] = key;
+		leaf.size = n + 1;
+	}
+
+	/**
+	 * Inserts {@code child} to the right of {@code branch.children[c]}, with {@code separator} between them.
+	 */
+	protected static void insertBranch (Node branch, int c, long separator, Node child) {
+		final int n = branch.size;
+		System.arraycopy(branch.keys, c, branch.keys, c + 1, n - 1 - c);
+		branch.keys[c] = separator;
+		System.arraycopy(branch.children, c + 1, branch.children, c + 2, n - 1 - c);
+		branch.children[c + 1] = child;
+		branch.size = n + 1;
+	}
+
+	/**
+	 * Adds {@code key}, growing the tree by one level if the root splits.
+	 */
+	protected void insertRoot (long key) {
+		found = false;
+		final Node right = insert(root, key);
+		if (right != null) {
+			final Node branch = new Node(false);
+			branch.children[0] = root;
+			branch.children[1] = right;
+			branch.keys[0] = splitKey;
+			branch.size = 2;
+			root = branch;
+		}
+	}
+
+	/**
+	 * Removes {@code key} from the subtree rooted at {@code node}, returning true if it was present. Any child left with
+	 * fewer than {@link #MIN_SIZE} items is rebalanced with a sibling.
+	 */
+	protected boolean delete (Node node, long key) {
+		final Node[] children = node.children;
+		if (children == null) {
+			final int n = node.size;
+			final int i = lowerBound(node.keys, n, key);
+			if (i >= n || node.keys[i] != key) return false;
+			System.arraycopy(node.keys, i + 1, node.keys, i, n - 1 - i);
+			node.size = n - 1;
+			return true;
+		}
+		final int c = upperBound(node.keys, node.size - 1, key);
+		final Node child = children[c];
+		if (!delete(child, key)) return false;
+		if (child.size < MIN_SIZE) rebalance(node, c);
+		return true;
+	}
+
+	/**
+	 * Removes {@code key}, shrinking the tree by one level if the root is left with one child.
+	 */
+	protected boolean deleteRoot (long key) {
+		if (!delete(root, key)) return false;
+		size--;
+		final Node[] children = root.children;
+		if (children != null && root.size == 1) root = children[0];
+		return true;
+	}
+
+	/**
+	 * Fixes {@code parent.children[c]}, which has too few items, by merging it with a neighbor if both fit in one
+	 * node, or by moving items from the neighbor so both have about the same number.
+	 */
+	protected static void rebalance (Node parent, int c) {
+		final Node[] siblings = parent.children;
+		final int l = c > 0 ? c - 1 : c;
+		final Node left = siblings[l], right = siblings[l + 1];
+		final int ln = left.size, rn = right.size, total = ln + rn;
+		if (left.children == null) {
+			if (total <= CAPACITY) {
+				System.arraycopy(right.keys, 0, left.keys, ln, rn);
+				left.size = total;
+				left.next = right.next;
+				if (left.next != null) left.next.prev = left;
+				removeChild(parent, l);
+				return;
+			}
+			final int half = total >>> 1;
+			if (ln < half) {
+				final int move = half - ln;
+				System.arraycopy(right.keys, 0, left.keys, ln, move);
+				System.arraycopy(right.keys, move, right.keys, 0, rn - move);
+			} else {
+				final int move = ln - half;
+				System.arraycopy(right.keys, 0, right.keys, move, rn);
+				System.arraycopy(left.keys, half, right.keys, 0, move);
+			}
+			left.size = half;
+			right.size = total - half;
+			parent.keys[l] = right.keys[0];
+			return;
+		}
+		final Node[] lc = left.children, rc = right.children;
+		if (total <= CAPACITY) {
+			left.keys[ln - 1] = parent.keys[l];
+			System.arraycopy(right.keys, 0, left.keys, ln, rn - 1);
+			System.arraycopy(rc, 0, lc, ln, rn);
+			left.size = total;
+			removeChild(parent, l);
+			return;
+		}
+		final int half = total >>> 1;
+		if (ln < half) {
+			final int move = half - ln;
+			left.keys[ln - 1] = parent.keys[l];
+			System.arraycopy(right.keys, 0, left.keys, ln, move - 1);
+			System.arraycopy(rc, 0, lc, ln, move);
+			parent.keys[l] = right.keys[move - 1];
+			System.arraycopy(right.keys, move, right.keys, 0, rn - 1 - move);
+			System.arraycopy(rc, move, rc, 0, rn - move);
+			Arrays.fill(rc, rn - move, rn, null);
+		} else {
+			final int move = ln - half;
+			System.arraycopy(right.keys, 0, right.keys, move, rn - 1);
+			System.arraycopy(rc, 0, rc, move, rn);
+			right.keys[move - 1] = parent.keys[l];
+			System.arraycopy(left.keys, half, right.keys, 0, move - 1);
+			System.arraycopy(lc, half, rc, 0, move);
+			parent.keys[l] = left.keys[half - 1];
+			Arrays.fill(lc, half, ln, null);
+		}
+		left.size = half;
+		right.size = total - half;
+	}
+
+	/**
+	 * Removes {@code branch.children[l + 1]} and the key before it.
+	 */
+	protected static void removeChild (Node branch, int l) {
+		final int n = branch.size;
+		System.arraycopy(branch.keys, l + 1, branch.keys, l, n - 2 - l);
+		System.arraycopy(branch.children, l + 2, branch.children, l + 1, n - 2 - l);
+		branch.children[n - 1] = null;
+		branch.size = n - 1;
+	}
+
+	/**
+	 * Replaces the contents of this with {@code length} keys starting at {@code offset}, which must already be
+	 * in strictly ascending order. This builds the tree bottom-up in linear time, filling each node to
+	 * {@link #LOAD} items.
+	 */
+	protected void build (long[] keys, int offset, int length) {
+		size = length;
+		if (length <= CAPACITY) {
+			root = head = new Node(true);
+			System.arraycopy(keys, offset, head.keys, 0, length);
+			head.size = length;
+			return;
+		}
+		int count = (length + LOAD - 1) / LOAD;
+		Node[] level = new Node[count];
+		long[] lows = new long[count];
+		Node prev = null;
+		for (int i = 0, start = offset, base = length / count, extra = length % count; i < count; i++) {
+			final Node leaf = new Node(true);
+			final int n = i < extra ? base + 1 : base;
+			System.arraycopy(keys, start, leaf.keys, 0, n);
+			leaf.size = n;
+			leaf.prev = prev;
+			if (prev != null) prev.next = leaf;
+			prev = leaf;
+			lows[i] = keys[start];
+			level[i] = leaf;
+			start += n;
+		}
+		head = level[0];
+		while (count > 1) {
+			final int parents = (count + LOAD - 1) / LOAD;
+			final Node[] upper = new Node[parents];
+			final long[] upperLows = new long[parents];
+			for (int p = 0, start = 0, base = count / parents, extra = count % parents; p < parents; p++) {
+				final Node branch = new Node(false);
+				final int n = p < extra ? base + 1 : base;
+				System.arraycopy(level, start, branch.children, 0, n);
+				System.arraycopy(lows, start + 1, branch.keys, 0, n - 1);
+				branch.size = n;
+				upper[p] = branch;
+				upperLows[p] = lows[start];
+				start += n;
+			}
+			level = upper;
+			lows = upperLows;
+			count = parents;
+		}
+		root = level[0];
+	}
+
+	/**
+	 * Returns true if {@code length} items of {@code keys} starting at {@code offset} are in strictly ascending order.
+	 */
+	protected static boolean isStrictlyAscending (long[] keys, int offset, int length) {
+		for (int i = offset + 1, n = offset + length; i < n; i++) {
+			if (keys[i - 1] >= keys[i]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Creates a new, empty set.
+	 */
+	public LongSortedSet () {
+		root = head = new Node(true);
+	}
+
+	/**
+	 * Creates a new set identical to {@code set}. This copies every leaf in order and rebuilds the tree above them.
+	 *
+	 * @param set another LongSortedSet to copy
+	 */
+	public LongSortedSet (LongSortedSet set) {
+		final long[] items = new long[set.size];
+		int i = 0;
+		for (Node leaf = set.head; leaf != null; leaf = leaf.next) {
+			System.arraycopy(leaf.keys, 0, items, i, leaf.size);
+			i += leaf.size;
+		}
+		build(items, 0, i);
+	}
+
+	/**
+	 * Creates a new set containing every distinct item in {@code items}. If items is already in strictly ascending
+	 * order, this builds the tree at once in linear time.
+	 *
+	 * @param items an array of items, in any order
+	 */
+	public LongSortedSet (long[] items) {
+		this();
+		addAll(items, 0, items.length);
+	}
+
+	/**
+	 * Creates a new set containing every distinct item in {@code coll}.
+	 *
+	 * @param coll a PrimitiveCollection of long items
+	 */
+	public LongSortedSet (PrimitiveCollection.OfLong coll) {
+		this();
+		addAll(coll);
+	}
+
+	/**
+	 * Adds {@code length} items from {@code array}, starting at {@code offset}. If this set is empty and the items are
+	 * in strictly ascending order, this builds the tree at once in linear time, as with
+	 * {@link #addAllSorted(long[], int, int)}.
+	 */
+	@Override
+	public boolean addAll (long[] array, int offset, int length) {
+		if (size == 0 && length > 0 && isStrictlyAscending(array, offset, length)) {
+			build(array, offset, length);
+			return true;
+		}
+		final int oldSize = size;
+		for (int i = offset, n = offset + length; i < n; i++) {
+			add(array[i]);
+		}
+		return size != oldSize;
+	}
+
+	/**
+	 * Removes everything in this set and replaces it with the items in {@code items}, which must be in strictly
+	 * ascending order. This builds the tree bottom-up in linear time, which is much faster than adding each item, and
+	 * leaves some room in each node for later insertions.
+	 *
+	 * @param items items in strictly ascending order
+	 * @throws IllegalArgumentException if the items are not in strictly ascending order
+	 */
+	public void addAllSorted (long[] items) {
+		addAllSorted(items, 0, items.length);
+	}
+
+	/**
+	 * Removes everything in this set and replaces it with {@code length} items from {@code items}, starting at
+	 * {@code offset}, which must be in strictly ascending order. This builds the tree bottom-up in linear time, which
+	 * is much faster than adding each item, and leaves some room in each node for later insertions.
+	 *
+	 * @param items  items in strictly ascending order
+	 * @param offset the first index in items to use
+	 * @param length how many items to use
+	 * @throws IllegalArgumentException if the items are not in strictly ascending order
+	 */
+	public void addAllSorted (long[] items, int offset, int length) {
+		if (!isStrictlyAscending(items, offset, length))
+			throw new IllegalArgumentException("The items must be in strictly ascending order.");
+		build(items, offset, length);
+	}
+
+	/**
+	 * Returns true if the item was not already in the set.
+	 */
+	@Override
+	public boolean add (long item) {
+		insertRoot(item);
+		return !found;
+	}
+
+	/**
+	 * Returns true if the item was removed.
+	 */
+	@Override
+	public boolean remove (long item) {
+		return deleteRoot(item);
+	}
+
+	@Override
+	public boolean contains (long item) {
+		final Node leaf = leafFor(item);
+		final int i = lowerBound(leaf.keys, leaf.size, item);
+		return i < leaf.size && leaf.keys[i] == item;
+	}
+
+	@Override
+	public int size () {
+		return size;
+	}
+
+	/**
+	 * Removes every item; this discards all nodes.
+	 */
+	@Override
+	public void clear () {
+		size = 0;
+		root = head = new Node(true);
+	}
+
+	/**
+	 * Gets the smallest item in this set.
+	 *
+	 * @return the smallest item
+	 * @throws IllegalStateException if this set is empty
+	 */
+	@Override
+	public long first () {
+		if (size == 0) throw new IllegalStateException("LongSortedSet is empty.");
+		return head.keys[0];
+	}
+
+	/**
+	 * Gets the largest item in this set.
+	 *
+	 * @return the largest item
+	 * @throws IllegalStateException if this set is empty
+	 */
+	public long last () {
+		if (size == 0) throw new IllegalStateException("LongSortedSet is empty.");
+		final Node tail = tail();
+		return tail.keys[tail.size - 1];
+	}
+
+	/**
+	 * Gets the largest item that is less than or equal to {@code item}, or {@code defaultItem} if there is none.
+	 *
+	 * @param item        the item to search for
+	 * @param defaultItem returned if every item in this set is greater than item
+	 * @return the greatest item less than or equal to item, or defaultItem
+	 */
+	public long floor (long item, long defaultItem) {
+		Node leaf = leafFor(item);
+		final int i = upperBound(leaf.keys, leaf.size, item) - 1;
+		if (i >= 0) return leaf.keys[i];
+		return (leaf = leaf.prev) == null ? defaultItem : leaf.keys[leaf.size - 1];
+	}
+
+	/**
+	 * Gets the largest item that is strictly less than {@code item}, or {@code defaultItem} if there is none.
+	 *
+	 * @param item        the item to search for
+	 * @param defaultItem returned if every item in this set is greater than or equal to item
+	 * @return the greatest item less than item, or defaultItem
+	 */
+	public long lower (long item, long defaultItem) {
+		Node leaf = leafFor(item);
+		final int i = lowerBound(leaf.keys, leaf.size, item) - 1;
+		if (i >= 0) return leaf.keys[i];
+		return (leaf = leaf.prev) == null ? defaultItem : leaf.keys[leaf.size - 1];
+	}
+
+	/**
+	 * Gets the smallest item that is greater than or equal to {@code item}, or {@code defaultItem} if there is none.
+	 *
+	 * @param item        the item to search for
+	 * @param defaultItem returned if every item in this set is less than item
+	 * @return the least item greater than or equal to item, or defaultItem
+	 */
+	public long ceiling (long item, long defaultItem) {
+		Node leaf = leafFor(item);
+		final int i = lowerBound(leaf.keys, leaf.size, item);
+		if (i < leaf.size) return leaf.keys[i];
+		return (leaf = leaf.next) == null ? defaultItem : leaf.keys[0];
+	}
+
+	/**
+	 * Gets the smallest item that is strictly greater than {@code item}, or {@code defaultItem} if there is none.
+	 *
+	 * @param item        the item to search for
+	 * @param defaultItem returned if every item in this set is less than or equal to item
+	 * @return the least item greater than item, or defaultItem
+	 */
+	public long higher (long item, long defaultItem) {
+		Node leaf = leafFor(item);
+		final int i = upperBound(leaf.keys, leaf.size, item);
+		if (i < leaf.size) return leaf.keys[i];
+		return (leaf = leaf.next) == null ? defaultItem : leaf.keys[0];
+	}
+
+	/**
+	 * Gets a view of the part of this set with items from {@code fromItem} (inclusive) to {@code toItem} (exclusive).
+	 * The view reads and writes through to this set, so changes to either are visible in the other. Adding an item
+	 * outside the range to the view throws an {@link IllegalArgumentException}.
+	 *
+	 * @param fromItem the lowest item in the view, inclusive
+	 * @param toItem   the upper bound of items in the view, exclusive
+	 * @return a view of the given range of this set
+	 */
+	public SubSet subSet (long fromItem, long toItem) {
+		return new SubSet(this, true, fromItem, true, toItem);
+	}
+
+	/**
+	 * Gets a view of the part of this set with items less than {@code toItem}. See {@link #subSet(long, long)}.
+	 *
+	 * @param toItem the upper bound of items in the view, exclusive
+	 * @return a view of the given range of this set
+	 */
+	public SubSet headSet (long toItem) {
+		return new SubSet(this, false, toItem, true, toItem);
+	}
+
+	/**
+	 * Gets a view of the part of this set with items greater than or equal to {@code fromItem}. See
+	 * {@link #subSet(long, long)}.
+	 *
+	 * @param fromItem the lowest item in the view, inclusive
+	 * @return a view of the given range of this set
+	 */
+	public SubSet tailSet (long fromItem) {
+		return new SubSet(this, true, fromItem, false, fromItem);
+	}
+
+	/**
+	 * Iterates over every item in ascending order.
+	 *
+	 * @return an iterator over all items in order
+	 */
+	@Override
+	public SetIterator iterator () {
+		return new SetIterator(this, false, 0L, false, 0L);
+	}
+
+	/**
+	 * Iterates over every item from {@code fromItem} (inclusive) to {@code toItem} (exclusive), in ascending order.
+	 * This finds the first item in {@code O(log n)} time, then steps along the leaves.
+	 *
+	 * @param fromItem the lowest item to iterate over, inclusive
+	 * @param toItem   the upper bound of items to iterate over, exclusive
+	 * @return an iterator over the given range of items
+	 */
+	public SetIterator iterator (long fromItem, long toItem) {
+		return new SetIterator(this, true, fromItem, true, toItem);
+	}
+
+	@Override
+	public int hashCode () {
+		long h = size;
+		for (Node leaf = head; leaf != null; leaf = leaf.next) {
+			for (int i = 0, n = leaf.size; i < n; i++) {
+				h += leaf.keys[i];
+			}
+		}
+		return (int)(h ^ h >>> 32);
+	}
+
+	@SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+	@Override
+	public boolean equals (Object o) {
+		return SetOfLong.super.equalContents(o);
+	}
+
+	@Override
+	public String toString () {
+		return toString(", ", true);
+	}
+
+	/**
+	 * A view of a range of items in a LongSortedSet, as returned by {@link #subSet(long, long)},
+	 * {@link #headSet(long)}, or {@link #tailSet(long)}. Each bound may be absent, which means that side is unbounded.
+	 * All operations read and write through to the backing set.
+	 */
+	public static class SubSet implements PrimitiveSet.SetOfLong {
+		protected final LongSortedSet set;
+		protected final boolean hasLow, hasHigh;
+		protected final long low, high;
+
+		public SubSet (LongSortedSet set, boolean hasLow, long low, boolean hasHigh, long high) {
+			this.set = set;
+			this.hasLow = hasLow;
+			this.low = low;
+			this.hasHigh = hasHigh;
+			this.high = high;
+		}
+
+		/**
+		 * Returns true if {@code item} is within the bounds of this view.
+		 */
+		public boolean inRange (long item) {
+			return (!hasLow || item >= low) && (!hasHigh || item < high);
+		}
+
+		/**
+		 * Adds an item to the backing set.
+		 *
+		 * @throws IllegalArgumentException if item is outside this view's bounds
+		 */
+		@Override
+		public boolean add (long item) {
+			if (!inRange(item)) throw new IllegalArgumentException("The item " + item + " is outside the range of this view.");
+			return set.add(item);
+		}
+
+		@Override
+		public boolean remove (long item) {
+			return inRange(item) && set.remove(item);
+		}
+
+		@Override
+		public boolean contains (long item) {
+			return inRange(item) && set.contains(item);
+		}
+
+		/**
+		 * Counts the items in this view. This only looks at individual items in the first and last leaves of the
+		 * range, and adds the sizes of whole leaves between them.
+		 *
+		 * @return how many items in the backing set are within this view's bounds
+		 */
+		@Override
+		public int size () {
+			Node leaf;
+			int i;
+			if (hasLow) {
+				leaf = set.leafFor(low);
+				i = lowerBound(leaf.keys, leaf.size, low);
+			} else {
+				leaf = set.head;
+				i = 0;
+			}
+			int count = 0;
+			for (; leaf != null; leaf = leaf.next, i = 0) {
+				final int n = leaf.size;
+				if (hasHigh && n > 0 && leaf.keys[n - 1] >= high) {
+					return Math.max(0, count + lowerBound(leaf.keys, n, high) - i);
+				}
+				count += n - i;
+			}
+			return count;
+		}
+
+		@Override
+		public boolean isEmpty () {
+			return !iterator().hasNext();
+		}
+
+		@Override
+		public boolean notEmpty () {
+			return iterator().hasNext();
+		}
+
+		/**
+		 * Removes every item in this view from the backing set.
+		 */
+		@Override
+		public void clear () {
+			SetIterator it = iterator();
+			while (it.hasNext()) {
+				it.nextLong();
+				it.remove();
+			}
+		}
+
+		/**
+		 * @throws IllegalStateException if this view is empty
+		 */
+		@Override
+		public long first () {
+			SetIterator it = iterator();
+			if (!it.hasNext()) throw new IllegalStateException("SubSet is empty.");
+			return it.nextLong();
+		}
+
+		/**
+		 * Gets a view of the part of this view with items from {@code fromItem} (inclusive) to {@code toItem}
+		 * (exclusive); the result is limited to both this view's range and the given one.
+		 */
+		public SubSet subSet (long fromItem, long toItem) {
+			final boolean useFrom = !hasLow || fromItem > low, useTo = !hasHigh || toItem < high;
+			return new SubSet(set, true, useFrom ? fromItem : low, true, useTo ? toItem : high);
+		}
+
+		@Override
+		public SetIterator iterator () {
+			return new SetIterator(set, hasLow, low, hasHigh, high);
+		}
+
+		@Override
+		public int hashCode () {
+			long h = size();
+			SetIterator it = iterator();
+			while (it.hasNext()) {
+				h += it.nextLong();
+			}
+			return (int)(h ^ h >>> 32);
+		}
+
+		@SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+		@Override
+		public boolean equals (Object o) {
+			return SetOfLong.super.equalContents(o);
+		}
+
+		@Override
+		public String toString () {
+			return toString(", ", true);
+		}
+	}
+
+	/**
+	 * Walks the leaves of a LongSortedSet from a starting item up to an optional upper bound. Removing the most recent item
+	 * with {@link #remove()} is supported; other changes to the set during iteration make this iterator's behavior
+	 * undefined.
+	 */
+	public static class SetIterator implements LongIterator {
+		protected final LongSortedSet set;
+		protected final boolean hasLow, hasHigh;
+		protected final long low, high;
+		@Nullable protected Node leaf;
+		protected int index;
+		protected long lastItem;
+		protected boolean valid;
+
+		public SetIterator (LongSortedSet set, boolean hasLow, long low, boolean hasHigh, long high) {
+			this.set = set;
+			this.hasLow = hasLow;
+			this.low = low;
+			this.hasHigh = hasHigh;
+			this.high = high;
+			reset();
+		}
+
+		/**
+		 * Moves this iterator back to the start of its range.
+		 */
+		public void reset () {
+			valid = false;
+			if (hasLow) {
+				leaf = set.leafFor(low);
+				index = lowerBound(leaf.keys, leaf.size, low);
+			} else {
+				leaf = set.head;
+				index = 0;
+			}
+			skipEmpty();
+		}
+
+		protected void skipEmpty () {
+			while (leaf != null && index >= leaf.size) {
+				leaf = leaf.next;
+				index = 0;
+			}
+		}
+
+		@Override
+		public boolean hasNext () {
+			return leaf != null && (!hasHigh || leaf.keys[index] < high);
+		}
+
+		@Override
+		public long nextLong () {
+			if (!hasNext()) throw new NoSuchElementException("No more items in this range.");
+			final long item = lastItem = leaf.keys[index];
+			valid = true;
+			if (++index >= leaf.size) {
+				leaf = leaf.next;
+				index = 0;
+				skipEmpty();
+			}
+			return item;
+		}
+
+		/**
+		 * Removes the item most recently returned from the set, then finds the next item again, since removal can move
+		 * items between leaves.
+		 */
+		@Override
+		public void remove () {
+			if (!valid) throw new IllegalStateException("nextLong() must be called before remove().");
+			valid = false;
+			set.remove(lastItem);
+			leaf = set.leafFor(lastItem);
+			index = upperBound(leaf.keys, leaf.size, lastItem);
+			skipEmpty();
+		}
+
+		/**
+		 * Returns a new LongList containing the remaining items.
+		 */
+		public LongList toList () {
+			LongList list = new LongList(set.size);
+			while (hasNext()) {list.add(nextLong());}
+			return list;
+		}
+	}
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.digital.BitConversion;
+
+import java.util.Arrays;
+
+/**
+ * Builds a minimal perfect hash function for a fixed group of int hash codes, using the hash-and-displace technique
+ * (often called CHD). This is what the frozen data structures, such as {@link FrozenObjectObjectMap} and
+ * {@link FrozenIntSet}, use to give every key its own slot in a table with no empty slots.
+ * <p>
+ * Each hash is first sent to one of {@link #displacements}{@code .length} buckets using {@link #seed}. Each bucket
+ * holding two or more hashes gets a positive displacement, which is a second seed that sends every hash in that bucket
+ * to a different unused slot. Each bucket holding only one hash instead stores the slot itself, as a negative number
+ * ({@code ~slot}). Finding the slot for a hash, with {@link #slot(int[], int, int, int)}, reads one int from
+ * displacements and does at most two cheap mixing steps.
+ * <p>
+ * Hashes that are equal can't be told apart by any hash function, so only the first of each group of equal hashes gets
+ * a perfect slot; the others get positions starting at {@link #slotCount}, in an overflow area that a frozen data
+ * structure has to search linearly. Distinct primitive int keys never need the overflow area.
+ * <p>
+ * This is mostly a building block; the frozen data structures copy {@link #seed}, {@link #slotCount}, and
+ * {@link #displacements} into their own fields and then discard this object.
+ *
+ * @author Tommy Ettinger
+ */
+public final class MinimalPerfectHash {
+	/**
+	 * How many displacements are tried for one bucket before the build starts over with a different {@link #seed}.
+	 */
+	private static final int MAX_DISPLACEMENT = 1 << 16;
+
+	/**
+	 * The seed used to choose a bucket for each hash.
+	 */
+	public final int seed;
+	/**
+	 * How many slots are reachable by the perfect hash function; the number of distinct hashes, or 1 if there were none.
+	 */
+	public final int slotCount;
+	/**
+	 * The number of slots needed to hold every position, including any overflow; always at least {@link #slotCount}.
+	 */
+	public final int tableSize;
+	/**
+	 * One int per bucket: 0 for an empty bucket, a positive displacement for a bucket with two or more hashes, or
+	 * {@code ~slot} for a bucket with exactly one hash.
+	 */
+	public final int[] displacements;
+	/**
+	 * The position in a table of size {@link #tableSize} for each hash given to the constructor, in the same order.
+	 */
+	public final int[] positions;
+
+	/**
+	 * Builds a minimal perfect hash function for the first {@code count} items in {@code hashes}.
+	 *
+	 * @param hashes an array of hash codes; will not be modified
+	 * @param count  how many items from the start of {@code hashes} to use
+	 */
+	public MinimalPerfectHash (int[] hashes, int count) {
+		positions = new int[count];
+		// Sorting the hashes along with their indices puts equal hashes next to each other.
+		final long[] sorted = new long[count];
+		for (int i = 0; i < count; i++) {
+			sorted[i] = (long)hashes[i] << 32 | i;
+		}
+		Arrays.sort(sorted);
+		final int[] unique = new int[count];
+		final int[] owner = new int[count];
+		int m = 0, overflow = 0;
+		for (int i = 0; i < count; i++) {
+			final int h = (int)(sorted[i] >>> 32), index = (int)sorted[i];
+			if (m > 0 && unique[m - 1] == h) {
+				positions[index] = ~overflow++;
+			} else {
+				unique[m] = h;
+				owner[m++] = index;
+			}
+		}
+		slotCount = Math.max(m, 1);
+		tableSize = slotCount + overflow;
+		displacements = new int[Math.max(m >>> 1, 1)];
+		final int[] slots = new int[m];
+		seed = build(unique, m, displacements, slots);
+		for (int i = 0; i < m; i++) {
+			positions[owner[i]] = slots[i];
+		}
+		for (int i = 0; i < count; i++) {
+			if (positions[i] < 0) {positions[i] = slotCount + ~positions[i];}
+		}
+	}
+
+	/**
+	 * Mixes a hash with a seed so that every bit of the result depends on every bit of both. This is the finalizer from
+	 * MurmurHash3, applied after XORing in a multiple of the seed.
+	 *
+	 * @param hash any int hash
+	 * @param seed any int seed
+	 * @return a well-mixed int
+	 */
+	public static int mix (int hash, int seed) {
+		int x = hash ^ BitConversion.imul(seed, 0x9E3779B9);
+		x = BitConversion.imul(x ^ x >>> 16, 0x85EBCA6B);
+		x = BitConversion.imul(x ^ x >>> 13, 0xC2B2AE35);
+		return x ^ x >>> 16;
+	}
+
+	/**
+	 * Maps a well-mixed int to the range from 0 (inclusive) to {@code bound} (exclusive), using the upper bits.
+	 *
+	 * @param mixed a well-mixed int, such as one from {@link #mix(int, int)}
+	 * @param bound the exclusive upper bound; must be positive
+	 * @return an int between 0 (inclusive) and bound (exclusive)
+	 */
+	public static int reduce (int mixed, int bound) {
+		return (int)((mixed & 0xFFFFFFFFL) * bound >>> 32);
+	}
+
+	/**
+	 * Gets the slot for {@code hash}, using the fields from a MinimalPerfectHash. If hash was one of the distinct hashes
+	 * this was built with, the result is its perfect slot; otherwise, it is some slot between 0 and slotCount.
+	 *
+	 * @param displacements the {@link #displacements} array
+	 * @param seed          the {@link #seed}
+	 * @param slotCount     the {@link #slotCount}
+	 * @param hash          the hash to look up
+	 * @return a slot between 0 (inclusive) and slotCount (exclusive)
+	 */
+	public static int slot (int[] displacements, int seed, int slotCount, int hash) {
+		final int d = displacements[reduce(mix(hash, seed), displacements.length)];
+		return d < 0 ? ~d : reduce(mix(hash, d), slotCount);
+	}
+
+	/**
+	 * Does the actual work of finding displacements, trying one seed after another until every bucket can be placed.
+	 *
+	 * @param hashes        distinct hashes
+	 * @param m             how many hashes to use
+	 * @param displacements will be filled with the displacement for each bucket
+	 * @param slots         will be filled with the slot for each hash
+	 * @return the seed that worked
+	 */
+	private static int build (int[] hashes, int m, int[] displacements, int[] slots) {
+		final int buckets = displacements.length;
+		final int[] bucketOf = new int[m];
+		final int[] start = new int[buckets + 1];
+		final int[] members = new int[m];
+		final int[] order = new int[buckets];
+		final long[] used = new long[m + 63 >>> 6];
+		for (int attempt = 1; ; attempt++) {
+			final int seed = BitConversion.imul(attempt, 0x2C9277B5) ^ m;
+			Arrays.fill(start, 0);
+			Arrays.fill(used, 0L);
+			Arrays.fill(displacements, 0);
+			int largest = 0;
+			for (int i = 0; i < m; i++) {
+				final int b = reduce(mix(hashes[i], seed), buckets);
+				bucketOf[i] = b;
+				largest = Math.max(largest, ++start[b + 1]);
+			}
+			// Orders buckets from largest to smallest, with a counting sort on bucket size.
+			final int[] bySize = new int[largest + 1];
+			for (int b = 0; b < buckets; b++) {
+				bySize[largest - start[b + 1]]++;
+			}
+			for (int s = 1; s <= largest; s++) {
+				bySize[s] += bySize[s - 1];
+			}
+			for (int b = buckets - 1; b >= 0; b--) {
+				order[--bySize[largest - start[b + 1]]] = b;
+			}
+			// Turns bucket sizes into the start index of each bucket in members.
+			for (int b = 0; b < buckets; b++) {
+				start[b + 1] += start[b];
+			}
+			final int[] cursor = Arrays.copyOf(start, buckets);
+			for (int i = 0; i < m; i++) {
+				members[cursor[bucketOf[i]]++] = i;
+			}
+
+			boolean placed = true;
+			int o = 0;
+			for (; o < buckets; o++) {
+				final int b = order[o], s = start[b], e = start[b + 1];
+				if (e - s < 2) {break;}
+				boolean found = false;
+				for (int d = 1; d <= MAX_DISPLACEMENT; d++) {
+					int k = s;
+					for (; k < e; k++) {
+						final int p = reduce(mix(hashes[members[k]], d), m);
+						if ((used[p >>> 6] & 1L << p) != 0L) {break;}
+						used[p >>> 6] |= 1L << p;
+						slots[members[k]] = p;
+					}
+					if (k == e) {
+						displacements[b] = d;
+						found = true;
+						break;
+					}
+					for (int j = s; j < k; j++) {
+						final int p = slots[members[j]];
+						used[p >>> 6] &= ~(1L << p);
+					}
+				}
+				if (!found) {
+					placed = false;
+					break;
+				}
+			}
+			if (!placed) {continue;}
+			// Buckets with one hash take whatever slots are still free, in order.
+			for (int free = 0; o < buckets; o++) {
+				final int b = order[o], s = start[b];
+				if (start[b + 1] == s) {break;}
+				while ((used[free >>> 6] & 1L << free) != 0L) {free++;}
+				used[free >>> 6] |= 1L << free;
+				slots[members[s]] = free;
+				displacements[b] = ~free;
+			}
+			return seed;
+		}
+	}
+}
@@ -517,6 +517,37 @@ public class NumberedSet<T> implements Set<T>, Ordered<T>, EnhancedCollection<T>
 		return map.getTableSize();
 	}
 
+	/**
+	 * Turns resize tracking on or off for {@link #getStatistics()}, delegating to the internal map.
+	 * Tracking is off by default.
+	 *
+	 * @param track true to count and time resizes, false to stop
+	 * @see ObjectIntMap#setTrackingStatistics(boolean)
+	 */
+	public void setTrackingStatistics (boolean track) {
+		map.setTrackingStatistics(track);
+	}
+
+	/**
+	 * Returns true if resizes are being counted and timed for {@link #getStatistics()}.
+	 *
+	 * @return true if resize tracking is on
+	 */
+	public boolean isTrackingStatistics () {
+		return map.isTrackingStatistics();
+	}
+
+	/**
+	 * Scans the backing table of the internal map and reports its probe lengths, cluster lengths, and estimated memory
+	 * use; see {@link HashStatistics}. This takes time proportional to {@link #getTableSize()}.
+	 *
+	 * @return a HashStatistics describing the current state of the backing table
+	 * @see ObjectIntMap#getStatistics()
+	 */
+	public HashStatistics getStatistics () {
+		return map.getStatistics();
+	}
+
 	/**
 	 * Changes the item {@code before} to {@code after} without changing its position in the order or its value. Returns true if
 	 * {@code after} has been added to the NumberedSet and {@code before} has been removed; returns false if {@code after} is
@@ -554,8 +554,8 @@ public class ObjectDeque<T> extends AbstractList<T> implements Lisque<T>,
 			if (index > 0)
 				System.arraycopy(items, head, newArray, 0, index);
 			this.head = 0;
-			System.arraycopy(items, head + index, newArray, index + gapSize, size - head - index);
-			this.tail += gapSize;
+			System.arraycopy(items, head + index, newArray, index + gapSize, size - index);
+			this.tail = size + gapSize - 1;
 		} else {
 			// Wrapped
 			final int headPart = items.length - head;
@@ -567,6 +567,7 @@ public class ObjectDeque<T> extends AbstractList<T> implements Lisque<T>,
 				System.arraycopy(items, head + index, newArray, index + gapSize, headPart - index);
 				System.arraycopy(items, 0, newArray, index + gapSize + headPart - index, tail + 1);
 			} else {
+				this.head = 0;
 				System.arraycopy(items, head, newArray, 0, headPart);
 				int wrapped = index - headPart; // same as: head + index - values.length;
 				System.arraycopy(items, 0, newArray, headPart, wrapped);
@@ -1486,11 +1487,12 @@ public class ObjectDeque<T> extends AbstractList<T> implements Lisque<T>,
 	@Override
 	public Object @NonNull [] toArray () {
 		Object[] next = new Object[size];
+		if (size == 0) return next;
 		if (head <= tail) {
 			System.arraycopy(items, head, next, 0, tail - head + 1);
 		} else {
-			System.arraycopy(items, head, next, 0, size - head);
-			System.arraycopy(items, 0, next, size - head, tail + 1);
+			System.arraycopy(items, head, next, 0, items.length - head);
+			System.arraycopy(items, 0, next, items.length - head, tail + 1);
 		}
 		return next;
 	}
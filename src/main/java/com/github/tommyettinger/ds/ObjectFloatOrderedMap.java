@@ -19,6 +19,8 @@ package com.github.tommyettinger.ds;
 import com.github.tommyettinger.digital.Base;
 import com.github.tommyettinger.ds.support.sort.FloatComparator;
 import com.github.tommyettinger.ds.support.sort.FloatComparators;
+import com.github.tommyettinger.ds.support.sort.IntComparator;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
 
 import com.github.tommyettinger.ds.support.util.Appender;
 import com.github.tommyettinger.ds.support.util.FloatAppender;
@@ -436,6 +438,17 @@ public class ObjectFloatOrderedMap<K> extends ObjectFloatMap<K> implements Order
 		return keys;
 	}
 
+	/**
+	 * Adds the backing array of the order of keys to the estimate from the superclass. An ObjectList does not expose
+	 * its capacity, so only its size is counted.
+	 *
+	 * @return the estimated size of the backing arrays, including the order, in bytes
+	 */
+	@Override
+	protected long retainedBytes () {
+		return super.retainedBytes() + HashStatistics.arrayBytes(keys.size(), HashStatistics.REFERENCE_BYTES);
+	}
+
 	/**
 	 * Sorts this ObjectFloatOrderedMap in-place by the keys' natural ordering; {@code K} must implement {@link Comparable}.
 	 */
@@ -458,11 +471,21 @@ public class ObjectFloatOrderedMap<K> extends ObjectFloatMap<K> implements Order
 	 * and must be able to compare {@code float} values. You can use {@link FloatComparators#NATURAL_COMPARATOR} to do
 	 * what {@link #sort()} does (just sorting values in this case instead of keys); there is also a reversed comparator
 	 * available, {@link FloatComparators#OPPOSITE_COMPARATOR}.
+	 * <br>
+	 * This gets each value only once, then stably sorts their positions with
+	 * {@link IntComparators#argsort(int, IntComparator)}, so no values are looked up during comparisons.
 	 *
 	 * @param comp a non-null {@link FloatComparator}
 	 */
 	public void sortByValue (FloatComparator comp) {
-		keys.sort((a, b) -> comp.compare(get(a), get(b)));
+		final int n = keys.size();
+		if (n < 2) {return;}
+		final Object[] ks = keys.toArray();
+		final float[] vs = new float[n];
+		for (int i = 0; i < n; i++) {vs[i] = get(ks[i]);}
+		final int[] order = IntComparators.argsort(n, (a, b) -> comp.compare(vs[a], vs[b]));
+		//noinspection unchecked
+		for (int i = 0; i < n; i++) {keys.set(i, (K) ks[order[i]]);}
 	}
 
 	/**
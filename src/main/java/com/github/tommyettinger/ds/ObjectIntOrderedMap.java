@@ -435,6 +435,17 @@ public class ObjectIntOrderedMap<K> extends ObjectIntMap<K> implements Ordered<K
 		return keys;
 	}
 
+	/**
+	 * Adds the backing array of the order of keys to the estimate from the superclass. An ObjectList does not expose
+	 * its capacity, so only its size is counted.
+	 *
+	 * @return the estimated size of the backing arrays, including the order, in bytes
+	 */
+	@Override
+	protected long retainedBytes () {
+		return super.retainedBytes() + HashStatistics.arrayBytes(keys.size(), HashStatistics.REFERENCE_BYTES);
+	}
+
 	/**
 	 * Sorts this ObjectIntOrderedMap in-place by the keys' natural ordering; {@code K} must implement {@link Comparable}.
 	 */
@@ -457,11 +468,21 @@ public class ObjectIntOrderedMap<K> extends ObjectIntMap<K> implements Ordered<K
 	 * and must be able to compare {@code int} values. You can use {@link IntComparators#NATURAL_COMPARATOR} to do
 	 * what {@link #sort()} does (just sorting values in this case instead of keys); there is also a reversed comparator
 	 * available, {@link IntComparators#OPPOSITE_COMPARATOR}.
+	 * <br>
+	 * This gets each value only once, then stably sorts their positions with
+	 * {@link IntComparators#argsort(int, IntComparator)}, so no values are looked up during comparisons.
 	 *
 	 * @param comp a non-null {@link IntComparator}
 	 */
 	public void sortByValue (IntComparator comp) {
-		keys.sort((a, b) -> comp.compare(get(a), get(b)));
+		final int n = keys.size();
+		if (n < 2) {return;}
+		final Object[] ks = keys.toArray();
+		final int[] vs = new int[n];
+		for (int i = 0; i < n; i++) {vs[i] = get(ks[i]);}
+		final int[] order = IntComparators.argsort(n, (a, b) -> comp.compare(vs[a], vs[b]));
+		//noinspection unchecked
+		for (int i = 0; i < n; i++) {keys.set(i, (K) ks[order[i]]);}
 	}
 
 	/**
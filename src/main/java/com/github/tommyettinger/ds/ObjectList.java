@@ -16,6 +16,8 @@
 
 package com.github.tommyettinger.ds;
 
+import com.github.tommyettinger.ds.support.sort.IntComparator;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
 import com.github.tommyettinger.ds.support.sort.ObjectComparators;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -956,6 +958,86 @@ public class ObjectList<T> extends ArrayList<T> implements Ordered<T>, EnhancedC
 		super.sort(c);
 	}
 
+	/**
+	 * Gets the indices of this ObjectList's items in the order that {@link #sort(Comparator)} would put them in,
+	 * without changing this ObjectList. The result can be passed to {@link #applyPermutation(IntList)} on this or any
+	 * other {@link Arrangeable} with the same size to move their items into that order. Like sort(), this is stable,
+	 * so indices of equal items stay in ascending order. This uses
+	 * {@link IntComparators#mergeSort(int[], int, int, IntComparator)}, which allocates a temporary int array.
+	 *
+	 * @param c a Comparator that can compare T items, or null to use the natural order of Comparable T items
+	 * @return a new IntList holding every index of this ObjectList, sorted by the item at each index
+	 */
+	public IntList argsort (@Nullable Comparator<? super T> c) {
+		//noinspection unchecked
+		final Comparator<? super T> comp = c == null ? (Comparator<? super T>)ObjectComparators.NATURAL_COMPARATOR : c;
+		final int n = size();
+		final IntList order = new IntList(n);
+		final int[] indices = order.setSize(n);
+		for (int i = 0; i < n; i++) {
+			indices[i] = i;
+		}
+		IntComparators.mergeSort(indices, 0, n, (a, b) -> comp.compare(get(a), get(b)));
+		return order;
+	}
+
+	/**
+	 * Sorts this ObjectList using {@code c}, and rearranges each of {@code others} in the same way, so items that were
+	 * at the same index in this and in another Arrangeable are still at the same index as each other afterward. This
+	 * is useful when several lists of the same size hold different columns of the same rows. The sort is stable.
+	 * <br>
+	 * This calls {@link #argsort(Comparator)} once, then {@link #applyPermutation(IntList)} on this and on each
+	 * of others.
+	 *
+	 * @param c      a Comparator that can compare T items, or null to use the natural order of Comparable T items
+	 * @param others any number of Arrangeables that must each have the same size as this ObjectList
+	 * @return the permutation that was applied, as returned by {@link #argsort(Comparator)}
+	 * @throws IllegalArgumentException if any of others has a different size; nothing is rearranged in that case
+	 */
+	public IntList coSort (@Nullable Comparator<? super T> c, Arrangeable... others) {
+		final int n = size();
+		for (Arrangeable other : others) {
+			if (other.size() != n)
+				throw new IllegalArgumentException("Every Arrangeable must have the same size as this ObjectList.");
+		}
+		final IntList order = argsort(c);
+		applyPermutation(order);
+		for (Arrangeable other : others) {
+			other.applyPermutation(order);
+		}
+		return order;
+	}
+
+	/**
+	 * Rearranges this ObjectList in-place so that the item at each index {@code i} afterward is the item that was at
+	 * index {@code permutation.get(i)} before. This moves items directly along each cycle of the permutation, so it
+	 * sets each item once and doesn't copy the list; the only allocation is one bit per index.
+	 *
+	 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+	 * @throws IllegalArgumentException if permutation has a different size or is not a valid permutation; nothing is
+	 *                                  rearranged in either case
+	 */
+	@Override
+	public void applyPermutation (IntList permutation) {
+		final int n = size();
+		if (permutation.size() != n)
+			throw new IllegalArgumentException("The permutation must have the same size as this ObjectList.");
+		final int[] order = Utilities.checkPermutation(permutation, n, false);
+		final long[] done = new long[n + 63 >>> 6];
+		for (int i = 0; i < n; i++) {
+			if ((done[i >>> 6] & 1L << i) != 0L) continue;
+			done[i >>> 6] |= 1L << i;
+			final T temp = get(i);
+			int j = i, k;
+			while ((k = order[j]) != i) {
+				set(j, get(k));
+				done[k >>> 6] |= 1L << k;
+				j = k;
+			}
+			set(j, temp);
+		}
+	}
+
 	/**
 	 * Constructs an empty list given the type as a generic type argument.
 	 * This is usually less useful than just using the constructor, but can be handy
@@ -52,6 +52,12 @@ import static com.github.tommyettinger.ds.Utilities.tableSize;
  * This implementation uses linear probing with the backward shift algorithm for removal.
  * It tries different hashes from a simple family, with the hash changing on resize.
  * Linear probing continues to work even when all hashCodes collide; it just works more slowly in that case.
+ * <p>
+ * The backing table is only created when the first item is added, so an empty map uses no memory for it. That first
+ * table has just {@link Utilities#COMPACT_TABLE_SIZE} slots, unless {@link #ensureCapacity(int)} asked for more room
+ * than the constructor planned, so a map that only ever holds a few items stays that small. Tables with at most
+ * {@link Utilities#LINEAR_TABLE_SIZE} slots don't hash at all; they find keys by checking every slot. Once a table
+ * grows past that, it changes to hashing, at the size given to the constructor or larger.
  *
  * @author Nathan Sweet
  * @author Tommy Ettinger
@@ -74,6 +80,13 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	 */
 	protected int threshold;
 
+	/**
+	 * The table size this map was built for, kept while {@link #allocate()} uses a smaller table instead. Once that
+	 * table grows past {@link Utilities#LINEAR_TABLE_SIZE} slots, {@link #resize(int)} goes straight to this size.
+	 * This is 0 when no smaller table is in use.
+	 */
+	protected int plannedSize;
+
 	/**
 	 * Used by {@link #place(Object)} typically, this should always equal {@code BitConversion.countLeadingZeros(mask)}.
 	 * For a table that could hold 2 items (with 1 bit indices), this would be {@code 64 - 1 == 63}. For a table that
@@ -96,6 +109,56 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	 */
 	protected int hashMultiplier;
 
+	/**
+	 * Holds the resize count and time while resize tracking is on; null otherwise.
+	 * See {@link #setTrackingStatistics(boolean)}.
+	 */
+	@Nullable protected transient HashStatistics statistics;
+
+	/**
+	 * If greater than 0, the furthest a newly-inserted key can be from its ideal slot before this defends against hash
+	 * flooding; see {@link #setProbeLimit(int)}.
+	 */
+	protected int probeLimit;
+
+	/**
+	 * How many times {@link #reseed()} has been called since the last {@link #resize(int)}.
+	 */
+	protected int reseeds;
+
+	/**
+	 * Tracks keys with hashCodes shared by too many keys, once any have been treeified; otherwise null.
+	 * See {@link #setProbeLimit(int)}.
+	 */
+	@Nullable protected TreeBuckets buckets;
+
+	/**
+	 * If true, growing the backing tables moves entries a few at a time instead of all at once; see
+	 * {@link #setIncrementalResize(boolean)}.
+	 */
+	protected boolean incrementalResize;
+
+	/**
+	 * While an incremental resize is in progress, the previous key table, holding any entries not yet moved; otherwise
+	 * null. Moved slots hold {@link Utilities#neverIdentical} so that probing still passes over them.
+	 */
+	@Nullable protected K[] oldKeyTable;
+
+	/**
+	 * While an incremental resize is in progress, the previous value table; otherwise null.
+	 */
+	@Nullable protected V[] oldValueTable;
+
+	/**
+	 * The {@link #mask}, {@link #shift}, and {@link #hashMultiplier} that {@link #oldKeyTable} was filled with.
+	 */
+	protected int oldMask, oldShift, oldHashMultiplier;
+
+	/**
+	 * Every slot in {@link #oldKeyTable} before this index has been moved.
+	 */
+	protected int migrated;
+
 	@Nullable protected transient Entries<K, V> entries1;
 	@Nullable protected transient Entries<K, V> entries2;
 	@Nullable protected transient Values<K, V> values1;
@@ -141,8 +204,8 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 		mask = tableSize - 1;
 		shift = BitConversion.countLeadingZeros(mask) + 32;
 		hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
-		keyTable = (K[])new Object[tableSize];
-		valueTable = (V[])new Object[tableSize];
+		keyTable = (K[])Utilities.EMPTY_OBJECTS;
+		valueTable = (V[])Utilities.EMPTY_OBJECTS;
 	}
 
 	/**
@@ -151,15 +214,19 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	 * @param map an ObjectObjectMap to copy
 	 */
 	public ObjectObjectMap (ObjectObjectMap<? extends K, ? extends V> map) {
+		map.settle();
 		this.loadFactor = map.loadFactor;
 		this.threshold = map.threshold;
 		this.mask = map.mask;
+		this.plannedSize = map.plannedSize;
 		this.shift = map.shift;
 		this.hashMultiplier = map.hashMultiplier;
 		keyTable = Arrays.copyOf(map.keyTable, map.keyTable.length);
 		valueTable = Arrays.copyOf(map.valueTable, map.valueTable.length);
 		size = map.size;
 		defaultValue = map.defaultValue;
+		probeLimit = map.probeLimit;
+		if (map.buckets != null) buckets = new TreeBuckets(map.buckets);
 	}
 
 	/**
@@ -231,6 +298,12 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	 * @return a negative index if the key was not found, or the non-negative index of the existing key if found
 	 */
 	protected int locateKey (Object key) {
+		if (oldKeyTable != null) migrate(key);
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			if (keyTable.length == 0) allocate();
+			if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) return locateLinear(key);
+		}
+		if (buckets != null && buckets.isHot(key)) return locateHot(key);
 		K[] keyTable = this.keyTable;
 		for (int i = place(key); ; i = i + 1 & mask) {
 			K other = keyTable[i];
@@ -241,6 +314,66 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 		}
 	}
 
+	/**
+	 * Like {@link #locateKey(Object)}, but for tables with at most {@link Utilities#LINEAR_TABLE_SIZE} slots, where keys
+	 * can be in any slot. This compares key with every occupied slot, and if it isn't found, returns the first empty one.
+	 *
+	 * @param key a non-null K key
+	 * @return a negative index if the key was not found, or the non-negative index of the existing key if found
+	 */
+	protected int locateLinear (Object key) {
+		K[] keyTable = this.keyTable;
+		int empty = -1;
+		for (int i = 0; i < keyTable.length; i++) {
+			K other = keyTable[i];
+			if (other == null) {
+				if (empty < 0) empty = i;
+			} else if (equate(key, other))
+				return i;
+		}
+		return ~empty;
+	}
+
+	/**
+	 * Creates the backing tables on the first insertion rather than when this map is constructed, so maps that stay
+	 * empty don't use memory for them. If the planned length, {@code mask + 1}, is larger than
+	 * {@link Utilities#COMPACT_TABLE_SIZE}, the tables get that compact length instead and the plan is kept in
+	 * {@link #plannedSize}, so a map that only ever holds a few entries never allocates the full tables.
+	 */
+	protected void allocate () {
+		int tableSize = mask + 1;
+		if (tableSize > Utilities.COMPACT_TABLE_SIZE) {
+			plannedSize = tableSize;
+			tableSize = Utilities.COMPACT_TABLE_SIZE;
+			threshold = (int)(tableSize * loadFactor);
+			mask = tableSize - 1;
+			shift = BitConversion.countLeadingZeros(mask) + 32;
+			hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
+		}
+		keyTable = (K[])new Object[tableSize];
+		valueTable = (V[])new Object[tableSize];
+	}
+
+	/**
+	 * Like {@link #locateKey(Object)}, but only for keys tracked by {@link #buckets}, which are found by their recorded
+	 * slot instead of by probing. If the key isn't present, the empty space this returns is at an unrelated point in the
+	 * table, so keys sharing a hashCode don't pile up in one cluster.
+	 *
+	 * @param key a non-null K key for which {@link TreeBuckets#isHot(Object)} returns true
+	 * @return a negative index if the key was not found, or the non-negative index of the existing key if found
+	 */
+	protected int locateHot (Object key) {
+		final TreeBuckets buckets = Objects.requireNonNull(this.buckets);
+		K[] keyTable = this.keyTable;
+		int i = buckets.slotOf(key);
+		if (i >= 0 && i <= mask && keyTable[i] != null && equate(key, keyTable[i]))
+			return i;
+		for (i = buckets.nextStart(hashMultiplier, shift); ; i = i + 1 & mask) {
+			if (keyTable[i] == null)
+				return ~i;
+		}
+	}
+
 	/**
 	 * Returns the old value associated with the specified key, or this map's {@link #defaultValue} if there was no prior value.
 	 */
@@ -258,6 +391,7 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 		keyTable[i] = key;
 		valueTable[i] = value;
 		if (++size >= threshold) {resize(keyTable.length << 1);}
+		else if (probeLimit > 0) {checkProbe(i, key);}
 		return defaultValue;
 	}
 
@@ -274,6 +408,7 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 		keyTable[i] = key;
 		valueTable[i] = value;
 		if (++size >= threshold) {resize(keyTable.length << 1);}
+		else if (probeLimit > 0) {checkProbe(i, key);}
 		return defaultValue;
 	}
 
@@ -312,6 +447,7 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	 * @param map a map with compatible key and value types; will not be modified
 	 */
 	public void putAll (ObjectObjectMap<? extends K, ? extends V> map) {
+		map.settle();
 		ensureCapacity(map.size);
 		K[] keyTable = map.keyTable;
 		V[] valueTable = map.valueTable;
@@ -387,7 +523,7 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	 */
 	protected void putResize (K key, @Nullable V value) {
 		K[] keyTable = this.keyTable;
-		for (int i = place(key); ; i = i + 1 & mask) {
+		for (int i = keyTable.length <= Utilities.LINEAR_TABLE_SIZE ? 0 : place(key); ; i = i + 1 & mask) {
 			if (keyTable[i] == null) {
 				keyTable[i] = key;
 				valueTable[i] = value;
@@ -408,13 +544,25 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	@Nullable
 	public V get (Object key) {
 		if(key == null) return defaultValue;
+		if (buckets != null) {
+			int i = locateKey(key);
+			return i < 0 ? defaultValue : valueTable[i];
+		}
 		@Nullable K[] keyTable = this.keyTable;
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			for (int i = 0; i < keyTable.length; i++) {
+				K other = keyTable[i];
+				if (other != null && equate(key, other))
+					return valueTable[i];
+			}
+			return defaultValue;
+		}
 		for (int i = place(key); ; i = i + 1 & mask) {
 			K other = keyTable[i];
 			if (equate(key, other))
 				return valueTable[i];
 			if (other == null)
-				return defaultValue;
+				return oldKeyTable == null ? defaultValue : getOld(key, defaultValue);
 		}
 	}
 
@@ -424,29 +572,47 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	@Nullable
 	public V getOrDefault (Object key, @Nullable V defaultValue) {
 		if(key == null) return defaultValue;
+		if (buckets != null) {
+			int i = locateKey(key);
+			return i < 0 ? defaultValue : valueTable[i];
+		}
 		@Nullable K[] keyTable = this.keyTable;
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			for (int i = 0; i < keyTable.length; i++) {
+				K other = keyTable[i];
+				if (other != null && equate(key, other))
+					return valueTable[i];
+			}
+			return defaultValue;
+		}
 		for (int i = place(key); ; i = i + 1 & mask) {
 			K other = keyTable[i];
 			if (equate(key, other))
 				return valueTable[i];
 			if (other == null)
-				return defaultValue;
+				return oldKeyTable == null ? defaultValue : getOld(key, defaultValue);
 		}
 	}
 
 	@Override
 	@Nullable
 	public V remove (Object key) {
-		if(key == null) return defaultValue;
+		if(key == null || size == 0) return defaultValue;
 		int pos = locateKey(key);
 		if (pos < 0) return defaultValue;
 		K rem;
 		@Nullable K[] keyTable = this.keyTable;
 		@Nullable V[] valueTable = this.valueTable;
 		@Nullable V oldValue = valueTable[pos];
+		if (buckets != null) buckets.removed(keyTable[pos]);
 
 		int mask = this.mask, last, slot;
 		size--;
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			keyTable[pos] = null;
+			valueTable[pos] = null;
+			return oldValue;
+		}
 		for (;;) {
 			pos = ((last = pos) + 1) & mask;
 			for (;;) {
@@ -461,6 +627,7 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 			}
 			keyTable[last] = rem;
 			valueTable[last] = valueTable[pos];
+			if (buckets != null) buckets.moved(rem, last);
 		}
 	}
 
@@ -534,6 +701,8 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 			return;
 		}
 		size = 0;
+		oldKeyTable = null;
+		oldValueTable = null;
 		resize(tableSize);
 	}
 
@@ -541,8 +710,11 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	public void clear () {
 		if (size == 0) {return;}
 		size = 0;
+		oldKeyTable = null;
+		oldValueTable = null;
 		Utilities.clear(keyTable);
 		Utilities.clear(valueTable);
+		if (buckets != null) buckets.clearSlots();
 	}
 
 	/**
@@ -553,6 +725,7 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	 *                 {@link #equals(Object)}.
 	 */
 	public boolean containsValue (@Nullable Object value, boolean identity) {
+		settle();
 		V[] valueTable = this.valueTable;
 		if (value == null) {
 			K[] keyTable = this.keyTable;
@@ -568,13 +741,22 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	@Override
 	public boolean containsKey (Object key) {
 		if(key == null) return false;
+		if (buckets != null) return locateKey(key) >= 0;
 		K[] keyTable = this.keyTable;
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) {
+			for (int i = 0; i < keyTable.length; i++) {
+				K other = keyTable[i];
+				if (other != null && equate(key, other))
+					return true;
+			}
+			return false;
+		}
 		for (int i = place(key); ; i = i + 1 & mask) {
 			K other = keyTable[i];
 			if (equate(key, other))
 				return true;
 			if (other == null)
-				return false;
+				return oldKeyTable != null && locateOld(key) >= 0;
 		}
 	}
 
@@ -624,6 +806,7 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	 */
 	@Nullable
 	public K findKey (@Nullable Object value, boolean identity) {
+		settle();
 		V[] valueTable = this.valueTable;
 		if (value == null) {
 			K[] keyTable = this.keyTable;
@@ -644,16 +827,198 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	 */
 	public void ensureCapacity (int additionalCapacity) {
 		int tableSize = tableSize(size + additionalCapacity, loadFactor);
-		if (keyTable.length < tableSize) {resize(tableSize);}
+		// mask + 1 is the planned table size even before the table is allocated, when keyTable is still empty.
+		if (mask + 1 < tableSize) {resize(tableSize);}
 	}
 
 	protected void resize (int newSize) {
-		int oldCapacity = keyTable.length;
+		final long start = statistics == null ? 0L : System.nanoTime();
+		settle();
+		// A table that allocate() started small skips from linear mode straight to the size that was planned for it.
+		if (plannedSize != 0 && newSize > Utilities.LINEAR_TABLE_SIZE) {
+			newSize = Math.max(newSize, plannedSize);
+			plannedSize = 0;
+		}
+		final int priorMask = mask, priorShift = shift, priorMultiplier = hashMultiplier;
 		threshold = (int)(newSize * loadFactor);
 		mask = newSize - 1;
 		shift = BitConversion.countLeadingZeros(mask) + 32;
 		hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
+		reseeds = 0;
+		// Keys tracked by buckets sit wherever putHot() put them, not where placeOld() would look for them, so a table with
+		// any hot keys is always rehashed all at once.
+		if (incrementalResize && buckets == null && size > 0 && newSize > keyTable.length
+			&& keyTable.length > Utilities.LINEAR_TABLE_SIZE) {
+			oldKeyTable = keyTable;
+			oldValueTable = valueTable;
+			oldMask = priorMask;
+			oldShift = priorShift;
+			oldHashMultiplier = priorMultiplier;
+			migrated = 0;
+			keyTable = (K[])new Object[newSize];
+			valueTable = (V[])new Object[newSize];
+			migrateStep();
+		} else {
+			rehash(newSize);
+		}
+		if (statistics != null) statistics.recordResize(System.nanoTime() - start);
+	}
+
+	/**
+	 * Turns incremental resizing on or off. While it is on, growing the backing tables doesn't move every entry at
+	 * once; the old tables are kept, and each later call that changes or looks up a key through
+	 * {@link #locateKey(Object)} moves that key (if it is still in the old tables) and a few more entries into the new
+	 * tables. Lookups check the new tables and then the old ones, so the map behaves the same either way; the
+	 * difference is that no single insertion has to pay for copying the whole map, which keeps the worst-case time
+	 * of a put small for large maps. Methods that scan the whole map, such as iteration, {@link #hashCode()}, and
+	 * {@link #containsValue(Object)}, finish any resize in progress first. Shrinking is never done incrementally.
+	 * If {@link #setProbeLimit(int) flood defense} has treeified any hashCode, resizes are done all at once, because
+	 * those keys can't be found by probing an old table.
+	 * <br>
+	 * This is off by default. Turning it off finishes any resize in progress.
+	 *
+	 * @param incremental true to spread the cost of growing over later calls, false to grow all at once
+	 */
+	public void setIncrementalResize (boolean incremental) {
+		incrementalResize = incremental;
+		if (!incremental) settle();
+	}
+
+	/**
+	 * Returns true if growing the backing tables is spread out over later calls; see
+	 * {@link #setIncrementalResize(boolean)}.
+	 *
+	 * @return true if incremental resizing is on
+	 */
+	public boolean isIncrementalResize () {
+		return incrementalResize;
+	}
+
+	/**
+	 * Returns true if an incremental resize has started but not every entry has been moved to the new tables yet.
+	 *
+	 * @return true if entries are still in {@link #oldKeyTable}
+	 */
+	public boolean isResizing () {
+		return oldKeyTable != null;
+	}
+
+	/**
+	 * Like {@link #place(Object)}, but for {@link #oldKeyTable}. This briefly sets {@link #mask}, {@link #shift}, and
+	 * {@link #hashMultiplier} to their old values so that any override of place() is still used.
+	 *
+	 * @param item a non-null Object
+	 * @return an index between 0 and {@link #oldMask} (both inclusive)
+	 */
+	protected int placeOld (@NonNull Object item) {
+		final int m = mask, s = shift, h = hashMultiplier;
+		mask = oldMask;
+		shift = oldShift;
+		hashMultiplier = oldHashMultiplier;
+		final int i = place(item);
+		mask = m;
+		shift = s;
+		hashMultiplier = h;
+		return i;
+	}
+
+	/**
+	 * Finds key in {@link #oldKeyTable}, which must be non-null.
+	 *
+	 * @param key a non-null key
+	 * @return the index of key in the old table, or -1 if it isn't there
+	 */
+	protected int locateOld (Object key) {
+		final @Nullable K[] keyTable = Objects.requireNonNull(oldKeyTable);
+		final int mask = oldMask;
+		// The old table may have been completely full, so the probe can't rely on reaching an empty slot.
+		for (int i = placeOld(key), n = mask; n >= 0; i = i + 1 & mask, n--) {
+			K other = keyTable[i];
+			if (other == null)
+				return -1;
+			if (other != Utilities.neverIdentical && equate(key, other))
+				return i;
+		}
+		return -1;
+	}
 
+	/**
+	 * Gets the value for key from {@link #oldKeyTable}, which must be non-null.
+	 */
+	@Nullable
+	protected V getOld (Object key, @Nullable V defaultValue) {
+		final int i = locateOld(key);
+		return i < 0 ? defaultValue : Objects.requireNonNull(oldValueTable)[i];
+	}
+
+	/**
+	 * Moves the entry at index i of {@link #oldKeyTable} to the current tables, if there is one there, and leaves
+	 * {@link Utilities#neverIdentical} in its place.
+	 */
+	protected void moveOld (int i) {
+		final @Nullable K[] oldKeys = Objects.requireNonNull(oldKeyTable);
+		final @Nullable V[] oldValues = Objects.requireNonNull(oldValueTable);
+		final K key = oldKeys[i];
+		if (key == null || key == Utilities.neverIdentical) return;
+		final V value = oldValues[i];
+		oldKeys[i] = (K)Utilities.neverIdentical;
+		oldValues[i] = null;
+		if (buckets != null && buckets.isHot(key)) {putHot(key, value);}
+		else {putResize(key, value);}
+	}
+
+	/**
+	 * Moves the next few entries of an incremental resize, and drops the old tables once all have been moved. Each
+	 * call moves enough slots that the resize finishes long before the new tables fill up.
+	 */
+	protected void migrateStep () {
+		final @Nullable K[] oldKeys = Objects.requireNonNull(oldKeyTable);
+		final int end = Math.min(migrated + Math.max(8, (int)Math.ceil(2f / loadFactor)), oldKeys.length);
+		for (int i = migrated; i < end; i++) {
+			moveOld(i);
+		}
+		migrated = end;
+		if (end == oldKeys.length) {
+			oldKeyTable = null;
+			oldValueTable = null;
+		}
+	}
+
+	/**
+	 * Called by {@link #locateKey(Object)} during an incremental resize; moves key to the current tables if it is
+	 * still in the old ones, then does one {@link #migrateStep()}.
+	 *
+	 * @param key a non-null key about to be looked up in the current tables
+	 */
+	protected void migrate (Object key) {
+		final int i = locateOld(key);
+		if (i >= 0) moveOld(i);
+		migrateStep();
+	}
+
+	/**
+	 * Finishes any incremental resize in progress, so every entry is in {@link #keyTable} and {@link #valueTable}.
+	 * Anything that reads the backing tables directly should call this first.
+	 */
+	protected void settle () {
+		final @Nullable K[] oldKeys = oldKeyTable;
+		if (oldKeys == null) return;
+		for (int i = migrated, n = oldKeys.length; i < n; i++) {
+			moveOld(i);
+		}
+		oldKeyTable = null;
+		oldValueTable = null;
+	}
+
+	/**
+	 * Moves every entry into new backing arrays with length {@code newSize}, using the current {@link #mask},
+	 * {@link #shift}, and {@link #hashMultiplier}. Keys tracked by {@link #buckets} are placed with
+	 * {@link #putHot(Object, Object)}; all others use {@link #putResize(Object, Object)}.
+	 *
+	 * @param newSize the length of the new backing arrays; must be a power of two
+	 */
+	protected void rehash (int newSize) {
+		int oldCapacity = keyTable.length;
 		@Nullable K[] oldKeyTable = keyTable;
 		@Nullable V[] oldValueTable = valueTable;
 
@@ -661,13 +1026,141 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 		valueTable = (V[])new Object[newSize];
 
 		if (size > 0) {
+			if (buckets != null) buckets.clearSlots();
 			for (int i = 0; i < oldCapacity; i++) {
 				K key = oldKeyTable[i];
-				if (key != null) {putResize(key, oldValueTable[i]);}
+				if (key != null) {
+					if (buckets != null && buckets.isHot(key)) {putHot(key, oldValueTable[i]);}
+					else {putResize(key, oldValueTable[i]);}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Like {@link #putResize(Object, Object)}, but for keys tracked by {@link #buckets}; this places the key at an
+	 * unrelated point in the table and records where it went.
+	 *
+	 * @param key   a key for which {@link TreeBuckets#isHot(Object)} returns true
+	 * @param value the value to associate with key
+	 */
+	protected void putHot (K key, @Nullable V value) {
+		final TreeBuckets buckets = Objects.requireNonNull(this.buckets);
+		K[] keyTable = this.keyTable;
+		for (int i = buckets.nextStart(hashMultiplier, shift); ; i = i + 1 & mask) {
+			if (keyTable[i] == null) {
+				keyTable[i] = key;
+				valueTable[i] = value;
+				buckets.moved(key, i);
+				return;
 			}
 		}
 	}
 
+	/**
+	 * Called after {@code key} was inserted at {@code index}, when {@link #probeLimit} is greater than 0 and no resize
+	 * was needed. If the key is tracked by {@link #buckets}, this just records where it went. Otherwise, if the key is
+	 * further than probeLimit from its ideal slot, this either re-seeds the table with {@link #reseed()}, or if most
+	 * keys in the way share its hashCode (so re-seeding can't help) or re-seeding was already tried three times since
+	 * the last resize, treeifies that hashCode with {@link #treeify(int, int)}, if {@link #canTreeify(Object)} allows.
+	 *
+	 * @param index where key was just inserted
+	 * @param key   the key that was just inserted
+	 */
+	protected void checkProbe (int index, K key) {
+		if (keyTable.length <= Utilities.LINEAR_TABLE_SIZE) return;
+		if (buckets != null && buckets.isHot(key)) {
+			buckets.moved(key, index);
+			return;
+		}
+		final int start = place(key);
+		if ((index - start & mask) <= probeLimit) return;
+		final int hash = key.hashCode();
+		K[] keyTable = this.keyTable;
+		int same = 0;
+		for (int i = start; i != index; i = i + 1 & mask) {
+			if (keyTable[i].hashCode() == hash) same++;
+		}
+		if (same <= probeLimit >>> 1 && reseeds < 3) {reseed();}
+		else if (canTreeify(key)) {treeify(hash, start);}
+	}
+
+	/**
+	 * Picks a different {@link #hashMultiplier} and rebuilds the backing table at its current size. This separates keys
+	 * that collided only because of the multiplier, without using more memory as {@link #resize(int)} would.
+	 */
+	protected void reseed () {
+		++reseeds;
+		hashMultiplier = Utilities.GOOD_MULTIPLIERS[(reseeds << 5) + 64 - shift & 511];
+		rehash(keyTable.length);
+	}
+
+	/**
+	 * Starts tracking every {@link Comparable} key with the given hashCode in {@link #buckets}, creating it if needed.
+	 * Keys already in the table stay where they are; keys added later with that hashCode are spread out over the table.
+	 *
+	 * @param hash  a hashCode shared by too many keys
+	 * @param start the ideal slot of keys with that hashCode, where their cluster starts
+	 */
+	protected void treeify (int hash, int start) {
+		// Once keys are hot, the old table of an incremental resize can't be searched reliably, so finish moving it first.
+		settle();
+		if (buckets == null) buckets = new TreeBuckets();
+		buckets.addHash(hash);
+		K[] keyTable = this.keyTable;
+		for (int i = start; keyTable[i] != null; i = i + 1 & mask) {
+			buckets.moved(keyTable[i], i);
+		}
+	}
+
+	/**
+	 * Returns true if keys with the same hashCode as {@code key} may be treeified when they collide too much. This
+	 * requires key to be {@link Comparable}, with {@code compareTo()} returning 0 exactly when {@link #equate(Object, Object)}
+	 * returns true, and requires equal keys to have equal hashCodes. Subclasses that override equate() so that isn't
+	 * the case, like the CaseInsensitive, Filtered, and Identity maps, override this to return false; they can still
+	 * re-seed when probes get too long.
+	 *
+	 * @param key a key that was placed too far from its ideal slot
+	 * @return true if key's hashCode can be treeified
+	 */
+	protected boolean canTreeify (Object key) {
+		return key instanceof Comparable;
+	}
+
+	/**
+	 * Gets the probe limit used to defend against hash flooding, or 0 if that defense is off.
+	 *
+	 * @return the current probe limit, or 0 if off
+	 * @see #setProbeLimit(int)
+	 */
+	public int getProbeLimit () {
+		return probeLimit;
+	}
+
+	/**
+	 * Turns on or off this map's defense against hash flooding, where keys are chosen so their hashCodes collide. It is
+	 * off by default. While on, if a newly-inserted key ends up more than {@code probeLimit} slots past its ideal slot,
+	 * this map first tries picking a new {@link #hashMultiplier} and rebuilding the table at the same size, which
+	 * separates keys whose hashCodes differ. If most keys in the way share that key's hashCode, or re-seeding keeps
+	 * failing, keys with that hashCode are treeified: they are spread out over the table and found using a
+	 * {@link TreeBuckets}, so looking one up takes {@code O(log n)} calls to compareTo() instead of a probe past every
+	 * key with the same hashCode. Only {@link Comparable} keys can be treeified; see {@link #canTreeify(Object)}.
+	 * Neither step changes the size of the table.
+	 * <br>
+	 * A limit around 32 is reasonable; well-distributed hashes very rarely probe that far. Setting 0 or less turns the
+	 * defense off, and rebuilds the table normally if any keys were treeified.
+	 *
+	 * @param probeLimit how far past its ideal slot a key can be placed before this defends against flooding, or 0 to turn off
+	 */
+	public void setProbeLimit (int probeLimit) {
+		this.probeLimit = Math.max(0, probeLimit);
+		if (this.probeLimit == 0 && buckets != null) {
+			settle();
+			buckets = null;
+			rehash(keyTable.length);
+		}
+	}
+
 	/**
 	 * Gets the current hashMultiplier, used in {@link #place(Object)} to mix hash codes.
 	 * If {@link #setHashMultiplier(int)} is never called, the hashMultiplier will always be drawn from
@@ -693,11 +1186,69 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	/**
 	 * Gets the length of the internal array used to store all keys, as well as empty space awaiting more items to be
 	 * entered. This length is equal to the length of the array used to store all values, and empty space for values,
-	 * here. This is also called the capacity.
+	 * here. This is also called the capacity. If nothing has been inserted yet, the array hasn't been created, and this
+	 * returns the length planned for it; inserting one item at a time creates a smaller array first.
 	 * @return the length of the internal array that holds all keys
 	 */
 	public int getTableSize() {
-		return keyTable.length;
+		return mask + 1;
+	}
+
+	/**
+	 * Turns resize tracking on or off for {@link #getStatistics()}. While tracking is on, each call to
+	 * {@link #resize(int)} is counted and timed; turning it off discards what was recorded. Tracking is off by default,
+	 * and nothing is measured during normal use unless it is on.
+	 *
+	 * @param track true to count and time resizes, false to stop
+	 */
+	public void setTrackingStatistics (boolean track) {
+		if (!track) statistics = null;
+		else if (statistics == null) statistics = new HashStatistics();
+	}
+
+	/**
+	 * Returns true if resizes are being counted and timed for {@link #getStatistics()}.
+	 *
+	 * @return true if resize tracking is on
+	 */
+	public boolean isTrackingStatistics () {
+		return statistics != null;
+	}
+
+	/**
+	 * Scans the backing table and reports the probe lengths, cluster lengths, and estimated memory use of this map; see
+	 * {@link HashStatistics}. This takes time proportional to {@link #getTableSize()}, so it is meant for diagnosing a
+	 * slow map rather than for routine use. If {@link #setTrackingStatistics(boolean) tracking} is on, the result also has
+	 * the resize count and time, and the same HashStatistics object is updated and returned on each call. Keys that
+	 * were treeified (see {@link #setProbeLimit(int)}) count as having a probe length of 0, and so does every key in a
+	 * table of at most {@link Utilities#LINEAR_TABLE_SIZE} slots, since those are scanned instead of probed.
+	 *
+	 * @return a HashStatistics describing the current state of the backing table
+	 */
+	public HashStatistics getStatistics () {
+		settle();
+		final HashStatistics stats = statistics == null ? new HashStatistics() : statistics;
+		final @Nullable K[] keyTable = this.keyTable;
+		final int n = keyTable.length;
+		final boolean linear = n <= Utilities.LINEAR_TABLE_SIZE;
+		stats.begin(n, size);
+		for (int i = 0; i < n; i++) {
+			K k = keyTable[i];
+			if (k == null) stats.empty();
+			else if (buckets != null && buckets.isHot(k)) stats.probe(0);
+			else stats.probe(linear ? 0 : i - place(k) & mask);
+		}
+		stats.finish(retainedBytes());
+		return stats;
+	}
+
+	/**
+	 * Estimates the memory used by the key and value arrays of this map, in bytes, for {@link #getStatistics()}.
+	 *
+	 * @return the estimated size of the backing arrays in bytes
+	 */
+	protected long retainedBytes () {
+		return HashStatistics.arrayBytes(keyTable.length, HashStatistics.REFERENCE_BYTES) + HashStatistics.arrayBytes(valueTable.length, HashStatistics.REFERENCE_BYTES);
 	}
 
 	public float getLoadFactor () {
@@ -713,8 +1264,21 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 		}
 	}
 
+	/**
+	 * Creates an immutable copy of this map that uses a {@link MinimalPerfectHash} to find keys, so it has no empty slots
+	 * and reads at most one displacement and one key for each lookup. This is worth doing for maps that are filled once and
+	 * then only read. The frozen copy compares keys with {@link Object#hashCode()} and {@link Object#equals(Object)};
+	 * subclasses that compare keys differently should override this, as {@link CaseInsensitiveMap} does.
+	 *
+	 * @return a new {@link FrozenObjectObjectMap} with the same contents as this
+	 */
+	public FrozenObjectObjectMap<K, V> toFrozen () {
+		return new FrozenObjectObjectMap<>(this);
+	}
+
 	@Override
 	public int hashCode () {
+		settle();
 		int h = size;
 		@Nullable K[] keyTable = this.keyTable;
 		@Nullable V[] valueTable = this.valueTable;
@@ -736,6 +1300,7 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 		if (!(obj instanceof Map)) {return false;}
 		Map other = (Map)obj;
 		if (other.size() != size) {return false;}
+		settle();
 		K[] keyTable = this.keyTable;
 		V[] valueTable = this.valueTable;
 		try {
@@ -765,6 +1330,7 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 		if (!(obj instanceof ObjectObjectMap)) {return false;}
 		ObjectObjectMap other = (ObjectObjectMap)obj;
 		if (other.size != size) {return false;}
+		settle();
 		K[] keyTable = this.keyTable;
 		V[] valueTable = this.valueTable;
 		for (int i = 0, n = keyTable.length; i < n; i++) {
@@ -832,6 +1398,7 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 		Appender<K> keyAppender, Appender<V> valueAppender) {
 		if (size == 0) {return braces ? sb.append("{}") : sb;}
 		if (braces) {sb.append('{');}
+		settle();
 		K[] keyTable = this.keyTable;
 		V[] valueTable = this.valueTable;
 		int i = keyTable.length;
@@ -873,6 +1440,7 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 	 * @param newSize the target size to try to reach by removing items, if smaller than the current size
 	 */
 	public void truncate (int newSize) {
+		settle();
 		@Nullable K[] keyTable = this.keyTable;
 		@Nullable V[] valTable = this.valueTable;
 		newSize = Math.max(0, newSize);
@@ -1143,6 +1711,7 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 		}
 
 		public void reset () {
+			map.settle();
 			currentIndex = -1;
 			nextIndex = -1;
 			findNextIndex();
@@ -1167,11 +1736,13 @@ public class ObjectObjectMap<K, V> implements Map<K, V>, Iterable<Map.Entry<K, V
 			V[] valueTable = map.valueTable;
 			int mask = map.mask, next = i + 1 & mask;
 			K key;
+			if (map.buckets != null) map.buckets.removed(keyTable[i]);
 			while ((key = keyTable[next]) != null) {
 				int placement = map.place(key);
 				if ((next - placement & mask) > (i - placement & mask)) {
 					keyTable[i] = key;
 					valueTable[i] = valueTable[next];
+					if (map.buckets != null) map.buckets.moved(key, i);
 					i = next;
 				}
 				next = next + 1 & mask;
@@ -16,6 +16,8 @@
 
 package com.github.tommyettinger.ds;
 
+import com.github.tommyettinger.ds.support.sort.IntComparator;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
 import com.github.tommyettinger.ds.support.sort.ObjectComparators;
 import com.github.tommyettinger.ds.support.util.Appender;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -176,6 +178,7 @@ public class ObjectObjectOrderedMap<K, V> extends ObjectObjectMap<K, V> implemen
 		valueTable[i] = value;
 		keys.add(key);
 		if (++size >= threshold) {resize(keyTable.length << 1);}
+		else if (probeLimit > 0) {checkProbe(i, key);}
 		return defaultValue;
 	}
 
@@ -205,6 +208,7 @@ public class ObjectObjectOrderedMap<K, V> extends ObjectObjectMap<K, V> implemen
 		valueTable[i] = value;
 		keys.insert(index, key);
 		if (++size >= threshold) {resize(keyTable.length << 1);}
+		else if (probeLimit > 0) {checkProbe(i, key);}
 		return defaultValue;
 	}
 
@@ -223,6 +227,7 @@ public class ObjectObjectOrderedMap<K, V> extends ObjectObjectMap<K, V> implemen
 		valueTable[i] = value;
 		keys.add(key);
 		if (++size >= threshold) {resize(keyTable.length << 1);}
+		else if (probeLimit > 0) {checkProbe(i, key);}
 		return defaultValue;
 	}
 
@@ -297,7 +302,7 @@ public class ObjectObjectOrderedMap<K, V> extends ObjectObjectMap<K, V> implemen
 	@Override
 	public void ensureCapacity (int additionalCapacity) {
 		int tableSize = tableSize(size + additionalCapacity, loadFactor);
-		if (keyTable.length < tableSize) {resize(tableSize);}
+		if (mask + 1 < tableSize) {resize(tableSize);}
 		keys.ensureCapacity(additionalCapacity);
 
 	}
@@ -403,6 +408,17 @@ public class ObjectObjectOrderedMap<K, V> extends ObjectObjectMap<K, V> implemen
 		return keys;
 	}
 
+	/**
+	 * Adds the backing array of the order of keys to the estimate from the superclass. An ObjectList does not expose
+	 * its capacity, so only its size is counted.
+	 *
+	 * @return the estimated size of the backing arrays, including the order, in bytes
+	 */
+	@Override
+	protected long retainedBytes () {
+		return super.retainedBytes() + HashStatistics.arrayBytes(keys.size(), HashStatistics.REFERENCE_BYTES);
+	}
+
 	/**
 	 * Sorts this ObjectObjectOrderedMap in-place by the keys' natural ordering; {@code K} must implement {@link Comparable}.
 	 */
@@ -426,15 +442,24 @@ public class ObjectObjectOrderedMap<K, V> extends ObjectObjectMap<K, V> implemen
 	 * must be able to sort or otherwise handle null values. You can use pass {@code null} to do what
 	 * {@link #sort()} does when given null (just sorting values in this case instead of keys) if the values implement
 	 * {@link Comparable} (requiring all of them to be non-null).
+	 * <br>
+	 * This gets each value only once, then stably sorts their positions with
+	 * {@link IntComparators#argsort(int, IntComparator)}, so no values are looked up during comparisons.
 	 *
 	 * @param comp a Comparator that can compare {@code V} values; may be null to use natural order of Comparable values
 	 */
 	public void sortByValue (@Nullable Comparator<V> comp) {
-		if(comp == null)
-			//noinspection unchecked
-			keys.sort((a, b) -> ((Comparator<V>) ObjectComparators.NATURAL_COMPARATOR).compare(get(a), get(b)));
-		else
-			keys.sort((a, b) -> comp.compare(get(a), get(b)));
+		final int n = keys.size();
+		if (n < 2) {return;}
+		final Object[] ks = keys.toArray();
+		//noinspection unchecked
+		final Comparator<V> c = comp == null ? (Comparator<V>) ObjectComparators.NATURAL_COMPARATOR : comp;
+		//noinspection unchecked
+		final V[] vs = (V[]) new Object[n];
+		for (int i = 0; i < n; i++) {vs[i] = get(ks[i]);}
+		final int[] order = IntComparators.argsort(n, (a, b) -> c.compare(vs[a], vs[b]));
+		//noinspection unchecked
+		for (int i = 0; i < n; i++) {keys.set(i, (K) ks[order[i]]);}
 	}
 
 	/**
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 
 import static com.github.tommyettinger.ds.Utilities.tableSize;
@@ -88,6 +89,29 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 	 */
 	protected int hashMultiplier;
 
+	/**
+	 * Holds the resize count and time while resize tracking is on; null otherwise.
+	 * See {@link #setTrackingStatistics(boolean)}.
+	 */
+	@Nullable protected transient HashStatistics statistics;
+
+	/**
+	 * If greater than 0, the furthest a newly-inserted key can be from its ideal slot before this defends against hash
+	 * flooding; see {@link #setProbeLimit(int)}.
+	 */
+	protected int probeLimit;
+
+	/**
+	 * How many times {@link #reseed()} has been called since the last {@link #resize(int)}.
+	 */
+	protected int reseeds;
+
+	/**
+	 * Tracks keys with hashCodes shared by too many keys, once any have been treeified; otherwise null.
+	 * See {@link #setProbeLimit(int)}.
+	 */
+	@Nullable protected TreeBuckets buckets;
+
 	@Nullable protected transient ObjectSetIterator<T> iterator1;
 	@Nullable protected transient ObjectSetIterator<T> iterator2;
 
@@ -147,6 +171,8 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 		hashMultiplier = set.hashMultiplier;
 		keyTable = Arrays.copyOf(set.keyTable, set.keyTable.length);
 		size = set.size;
+		probeLimit = set.probeLimit;
+		if (set.buckets != null) buckets = new TreeBuckets(set.buckets);
 	}
 
 	/**
@@ -213,6 +239,7 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 	 * @return a negative index if the key was not found, or the non-negative index of the existing key if found
 	 */
 	protected int locateKey (Object key) {
+		if (buckets != null && buckets.isHot(key)) return locateHot(key);
 		@Nullable T[] keyTable = this.keyTable;
 		for (int i = place(key); ; i = i + 1 & mask) {
 			T other = keyTable[i];
@@ -223,6 +250,26 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 		}
 	}
 
+	/**
+	 * Like {@link #locateKey(Object)}, but only for keys tracked by {@link #buckets}, which are found by their recorded
+	 * slot instead of by probing. If the key isn't present, the empty space this returns is at an unrelated point in the
+	 * table, so keys sharing a hashCode don't pile up in one cluster.
+	 *
+	 * @param key a non-null key for which {@link TreeBuckets#isHot(Object)} returns true
+	 * @return a negative index if the key was not found, or the non-negative index of the existing key if found
+	 */
+	protected int locateHot (Object key) {
+		final TreeBuckets buckets = Objects.requireNonNull(this.buckets);
+		@Nullable T[] keyTable = this.keyTable;
+		int i = buckets.slotOf(key);
+		if (i >= 0 && i <= mask && keyTable[i] != null && equate(key, keyTable[i]))
+			return i;
+		for (i = buckets.nextStart(hashMultiplier, shift); ; i = i + 1 & mask) {
+			if (keyTable[i] == null)
+				return ~i;
+		}
+	}
+
 	/**
 	 * Returns true if the key was not already in the set. If this set already contains the key, the call leaves the set unchanged
 	 * and returns false.
@@ -231,6 +278,14 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 	public boolean add (T key) {
 		if(key == null) return false;
 		@Nullable T[] keyTable = this.keyTable;
+		if (buckets != null) {
+			int i = locateKey(key);
+			if (i >= 0) return false; // Existing key was found.
+			keyTable[i = ~i] = key;
+			if (++size >= threshold) {resize(keyTable.length << 1);}
+			else {checkProbe(i, key);}
+			return true;
+		}
 		for (int i = place(key); ; i = i + 1 & mask) {
 			T other = keyTable[i];
 			if (equate(key, other))
@@ -238,6 +293,7 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 			if (other == null) {
 				keyTable[i] = key;
 				if (++size >= threshold) {resize(keyTable.length << 1);}
+				else if (probeLimit > 0) {checkProbe(i, key);}
 				return true;
 			}
 		}
@@ -413,6 +469,7 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 		int pos = locateKey(key);
 		if (pos < 0) return false;
 		@Nullable T[] keyTable = this.keyTable;
+		if (buckets != null) buckets.removed(keyTable[pos]);
 		int mask = this.mask, last, slot;
 		size--;
 		@Nullable T rem;
@@ -428,6 +485,7 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 				pos = (pos + 1) & mask;
 			}
 			keyTable[last] = rem;
+			if (buckets != null) buckets.moved(rem, last);
 		}
 	}
 
@@ -493,11 +551,13 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 		if (size == 0) {return;}
 		size = 0;
 		Utilities.clear(keyTable);
+		if (buckets != null) buckets.clearSlots();
 	}
 
 	@Override
 	public boolean contains (@NonNull Object key) {
 		if(key == null) return false;
+		if (buckets != null) return locateKey(key) >= 0;
 		@Nullable T[] keyTable = this.keyTable;
 		for (int i = place(key); ; i = i + 1 & mask) {
 			T other = keyTable[i];
@@ -511,6 +571,10 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 	@Nullable
 	public T get (T key) {
 		if(key == null) return null;
+		if (buckets != null) {
+			int i = locateKey(key);
+			return i < 0 ? null : keyTable[i];
+		}
 		@Nullable T[] keyTable = this.keyTable;
 		for (int i = place(key); ; i = i + 1 & mask) {
 			T other = keyTable[i];
@@ -540,24 +604,159 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 	}
 
 	protected void resize (int newSize) {
-		int oldCapacity = keyTable.length;
+		final long start = statistics == null ? 0L : System.nanoTime();
 		threshold = (int)(newSize * loadFactor);
 		mask = newSize - 1;
 		shift = BitConversion.countLeadingZeros(mask) + 32;
 		hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
+		reseeds = 0;
+		rehash(newSize);
+		if (statistics != null) statistics.recordResize(System.nanoTime() - start);
+	}
 
+	/**
+	 * Moves every item into a new backing array with length {@code newSize}, using the current {@link #mask},
+	 * {@link #shift}, and {@link #hashMultiplier}. Keys tracked by {@link #buckets} are placed with
+	 * {@link #addHot(Object)}; all others use {@link #addResize(Object)}.
+	 *
+	 * @param newSize the length of the new backing array; must be a power of two
+	 */
+	protected void rehash (int newSize) {
+		int oldCapacity = keyTable.length;
 		@Nullable T[] oldKeyTable = keyTable;
 
 		keyTable = (T[])new Object[newSize];
 
 		if (size > 0) {
+			if (buckets != null) buckets.clearSlots();
 			for (int i = 0; i < oldCapacity; i++) {
 				T key = oldKeyTable[i];
-				if (key != null) {addResize(key);}
+				if (key != null) {
+					if (buckets != null && buckets.isHot(key)) {addHot(key);}
+					else {addResize(key);}
+				}
 			}
 		}
 	}
 
+	/**
+	 * Like {@link #addResize(Object)}, but for keys tracked by {@link #buckets}; this places the key at an unrelated
+	 * point in the table and records where it went.
+	 *
+	 * @param key a key for which {@link TreeBuckets#isHot(Object)} returns true
+	 */
+	protected void addHot (T key) {
+		final TreeBuckets buckets = Objects.requireNonNull(this.buckets);
+		@Nullable T[] keyTable = this.keyTable;
+		for (int i = buckets.nextStart(hashMultiplier, shift); ; i = i + 1 & mask) {
+			if (keyTable[i] == null) {
+				keyTable[i] = key;
+				buckets.moved(key, i);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Called after {@code key} was inserted at {@code index}, when {@link #probeLimit} is greater than 0 and no resize
+	 * was needed. If the key is tracked by {@link #buckets}, this just records where it went. Otherwise, if the key is
+	 * further than probeLimit from its ideal slot, this either re-seeds the table with {@link #reseed()}, or if most
+	 * keys in the way share its hashCode (so re-seeding can't help) or re-seeding was already tried three times since
+	 * the last resize, treeifies that hashCode with {@link #treeify(int, int)}, if {@link #canTreeify(Object)} allows.
+	 *
+	 * @param index where key was just inserted
+	 * @param key   the key that was just inserted
+	 */
+	protected void checkProbe (int index, T key) {
+		if (buckets != null && buckets.isHot(key)) {
+			buckets.moved(key, index);
+			return;
+		}
+		final int start = place(key);
+		if ((index - start & mask) <= probeLimit) return;
+		final int hash = key.hashCode();
+		@Nullable T[] keyTable = this.keyTable;
+		int same = 0;
+		for (int i = start; i != index; i = i + 1 & mask) {
+			if (keyTable[i].hashCode() == hash) same++;
+		}
+		if (same <= probeLimit >>> 1 && reseeds < 3) {reseed();}
+		else if (canTreeify(key)) {treeify(hash, start);}
+	}
+
+	/**
+	 * Picks a different {@link #hashMultiplier} and rebuilds the backing table at its current size. This separates keys
+	 * that collided only because of the multiplier, without using more memory as {@link #resize(int)} would.
+	 */
+	protected void reseed () {
+		++reseeds;
+		hashMultiplier = Utilities.GOOD_MULTIPLIERS[(reseeds << 5) + 64 - shift & 511];
+		rehash(keyTable.length);
+	}
+
+	/**
+	 * Starts tracking every {@link Comparable} key with the given hashCode in {@link #buckets}, creating it if needed.
+	 * Keys already in the table stay where they are; keys added later with that hashCode are spread out over the table.
+	 *
+	 * @param hash  a hashCode shared by too many keys
+	 * @param start the ideal slot of keys with that hashCode, where their cluster starts
+	 */
+	protected void treeify (int hash, int start) {
+		if (buckets == null) buckets = new TreeBuckets();
+		buckets.addHash(hash);
+		@Nullable T[] keyTable = this.keyTable;
+		for (int i = start; keyTable[i] != null; i = i + 1 & mask) {
+			buckets.moved(keyTable[i], i);
+		}
+	}
+
+	/**
+	 * Returns true if keys with the same hashCode as {@code key} may be treeified when they collide too much. This
+	 * requires key to be {@link Comparable}, with {@code compareTo()} returning 0 exactly when {@link #equate(Object, Object)}
+	 * returns true, and requires equal keys to have equal hashCodes. Subclasses that override equate() so that isn't
+	 * the case, like the CaseInsensitive, Filtered, and Identity sets, override this to return false; they can still
+	 * re-seed when probes get too long.
+	 *
+	 * @param key a key that was placed too far from its ideal slot
+	 * @return true if key's hashCode can be treeified
+	 */
+	protected boolean canTreeify (Object key) {
+		return key instanceof Comparable;
+	}
+
+	/**
+	 * Gets the probe limit used to defend against hash flooding, or 0 if that defense is off.
+	 *
+	 * @return the current probe limit, or 0 if off
+	 * @see #setProbeLimit(int)
+	 */
+	public int getProbeLimit () {
+		return probeLimit;
+	}
+
+	/**
+	 * Turns on or off this set's defense against hash flooding, where items are chosen so their hashCodes collide. It is
+	 * off by default. While on, if a newly-inserted item ends up more than {@code probeLimit} slots past its ideal slot,
+	 * this set first tries picking a new {@link #hashMultiplier} and rebuilding the table at the same size, which
+	 * separates items whose hashCodes differ. If most items in the way share that item's hashCode, or re-seeding keeps
+	 * failing, items with that hashCode are treeified: they are spread out over the table and found using a
+	 * {@link TreeBuckets}, so looking one up takes {@code O(log n)} calls to compareTo() instead of a probe past every
+	 * item with the same hashCode. Only {@link Comparable} items can be treeified; see {@link #canTreeify(Object)}.
+	 * Neither step changes the size of the table.
+	 * <br>
+	 * A limit around 32 is reasonable; well-distributed hashes very rarely probe that far. Setting 0 or less turns the
+	 * defense off, and rebuilds the table normally if any items were treeified.
+	 *
+	 * @param probeLimit how far past its ideal slot an item can be placed before this defends against flooding, or 0 to turn off
+	 */
+	public void setProbeLimit (int probeLimit) {
+		this.probeLimit = Math.max(0, probeLimit);
+		if (this.probeLimit == 0 && buckets != null) {
+			buckets = null;
+			rehash(keyTable.length);
+		}
+	}
+
     /**
      * Gets the current hashMultiplier, used in {@link #place(Object)} to mix hash codes.
 	 * If {@link #setHashMultiplier(int)} is never called, the hashMultiplier will always be drawn from
@@ -589,6 +788,60 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 		return keyTable.length;
 	}
 
+	/**
+	 * Turns resize tracking on or off for {@link #getStatistics()}. While tracking is on, each call to
+	 * {@link #resize(int)} is counted and timed; turning it off discards what was recorded. Tracking is off by default,
+	 * and nothing is measured during normal use unless it is on.
+	 *
+	 * @param track true to count and time resizes, false to stop
+	 */
+	public void setTrackingStatistics (boolean track) {
+		if (!track) statistics = null;
+		else if (statistics == null) statistics = new HashStatistics();
+	}
+
+	/**
+	 * Returns true if resizes are being counted and timed for {@link #getStatistics()}.
+	 *
+	 * @return true if resize tracking is on
+	 */
+	public boolean isTrackingStatistics () {
+		return statistics != null;
+	}
+
+	/**
+	 * Scans the backing table and reports the probe lengths, cluster lengths, and estimated memory use of this set; see
+	 * {@link HashStatistics}. This takes time proportional to {@link #getTableSize()}, so it is meant for diagnosing a
+	 * slow set rather than for routine use. If {@link #setTrackingStatistics(boolean) tracking} is on, the result also has
+	 * the resize count and time, and the same HashStatistics object is updated and returned on each call. Keys that
+	 * were treeified (see {@link #setProbeLimit(int)}) count as having a probe length of 0.
+	 *
+	 * @return a HashStatistics describing the current state of the backing table
+	 */
+	public HashStatistics getStatistics () {
+		final HashStatistics stats = statistics == null ? new HashStatistics() : statistics;
+		final @Nullable T[] keyTable = this.keyTable;
+		final int n = keyTable.length;
+		stats.begin(n, size);
+		for (int i = 0; i < n; i++) {
+			T k = keyTable[i];
+			if (k == null) stats.empty();
+			else if (buckets != null && buckets.isHot(k)) stats.probe(0);
+			else stats.probe(i - place(k) & mask);
+		}
+		stats.finish(retainedBytes());
+		return stats;
+	}
+
+	/**
+	 * Estimates the memory used by the key array of this set, in bytes, for {@link #getStatistics()}.
+	 *
+	 * @return the estimated size of the backing arrays in bytes
+	 */
+	protected long retainedBytes () {
+		return HashStatistics.arrayBytes(keyTable.length, HashStatistics.REFERENCE_BYTES);
+	}
+
 	@Override
 	public Object @NonNull [] toArray () {
 		return toArray(new Object[size()]);
@@ -639,6 +892,18 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 		}
 	}
 
+	/**
+	 * Creates an immutable copy of this set that uses a {@link MinimalPerfectHash} to find items, so it has no empty slots
+	 * and reads at most one displacement and one item for each lookup. This is worth doing for sets that are filled once
+	 * and then only read. The frozen copy compares items with {@link Object#hashCode()} and {@link Object#equals(Object)};
+	 * subclasses that compare items differently should override this, as {@link CaseInsensitiveSet} does.
+	 *
+	 * @return a new {@link FrozenObjectSet} with the same contents as this
+	 */
+	public FrozenObjectSet<T> toFrozen () {
+		return new FrozenObjectSet<>(this);
+	}
+
 	@Override
 	public int hashCode () {
 		int h = size;
@@ -788,10 +1053,12 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 			@Nullable T[] keyTable = set.keyTable;
 			int mask = set.mask, next = i + 1 & mask;
 			T key;
+			if (set.buckets != null) set.buckets.removed(keyTable[i]);
 			while ((key = keyTable[next]) != null) {
 				int placement = set.place(key);
 				if ((next - placement & mask) > (i - placement & mask)) {
 					keyTable[i] = key;
+					if (set.buckets != null) set.buckets.moved(key, i);
 					i = next;
 				}
 				next = next + 1 & mask;
@@ -856,6 +1123,184 @@ public class ObjectSet<T> implements Iterable<T>, Set<T>, EnhancedCollection<T>
 		}
 	}
 
+	/**
+	 * Returns true if {@code set} places and compares items the same way a new ObjectSet would, and has no treeified
+	 * keys, so its table can be copied directly.
+	 */
+	private static boolean isPlain (ObjectSet<?> set) {
+		return (set.getClass() == ObjectSet.class || set.getClass() == ObjectOrderedSet.class) && set.buckets == null;
+	}
+
+	/**
+	 * Stores a key that is known to be absent and to fit without resizing.
+	 */
+	private void insertAbsent (T key) {
+		addResize(key);
+		size++;
+	}
+
+	/**
+	 * Creates a new ObjectSet that contains every item in {@code set} and has room for {@code extra} more items without
+	 * resizing. If set is {@link #isPlain(ObjectSet) plain}, and the new table has the same length and hashMultiplier
+	 * as the table in set, it is copied with {@link System#arraycopy(Object, int, Object, int, int)} instead of
+	 * re-inserting each item.
+	 */
+	private static <T> ObjectSet<T> copyWithRoom (ObjectSet<? extends T> set, int extra) {
+		ObjectSet<T> result = new ObjectSet<>(set.size + extra, set.loadFactor);
+		@Nullable T[] keyTable = set.keyTable;
+		if (isPlain(set) && result.keyTable.length == keyTable.length && result.hashMultiplier == set.hashMultiplier) {
+			System.arraycopy(keyTable, 0, result.keyTable, 0, keyTable.length);
+			result.size = set.size;
+		} else {
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				T key = keyTable[i];
+				if (key != null) {result.insertAbsent(key);}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new ObjectSet holding every item that is in {@code a}, {@code b}, or both. Neither a nor b is modified.
+	 * The result is always a plain ObjectSet that uses {@link Object#equals(Object)} and {@link Object#hashCode()}, even
+	 * if a or b compares items differently (such as {@link CaseInsensitiveSet}).
+	 * <br>
+	 * The larger set is copied into a result presized to hold both sets, directly copying its table when possible,
+	 * and then only the items of the smaller set are added.
+	 *
+	 * @param a   an ObjectSet; will not be modified
+	 * @param b   another ObjectSet; will not be modified
+	 * @param <T> the type of items in the result; a common supertype of the items in a and b
+	 * @return a new ObjectSet holding the union of a and b
+	 */
+	public static <T> ObjectSet<T> union (ObjectSet<? extends T> a, ObjectSet<? extends T> b) {
+		final ObjectSet<? extends T> small = a.size <= b.size ? a : b, large = small == a ? b : a;
+		final ObjectSet<T> result = copyWithRoom(large, small.size);
+		@Nullable T[] keyTable = small.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			T key = keyTable[i];
+			if (key != null) {result.add(key);}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new ObjectSet holding every item that is in both {@code a} and {@code b}, using the
+	 * {@link #contains(Object)} method of the larger set. Neither a nor b is modified. The result is always a plain
+	 * ObjectSet that uses {@link Object#equals(Object)} and {@link Object#hashCode()}.
+	 * <br>
+	 * This iterates through the smaller set and checks each item against the larger one. The result is presized to
+	 * the smaller set's size, and items are stored without checking for duplicates, since they are known to be
+	 * distinct.
+	 *
+	 * @param a   an ObjectSet; will not be modified
+	 * @param b   another ObjectSet; will not be modified
+	 * @param <T> the type of items in the result; a common supertype of the items in a and b
+	 * @return a new ObjectSet holding the intersection of a and b
+	 */
+	public static <T> ObjectSet<T> intersection (ObjectSet<? extends T> a, ObjectSet<? extends T> b) {
+		final ObjectSet<? extends T> small = a.size <= b.size ? a : b, large = small == a ? b : a;
+		final ObjectSet<T> result = new ObjectSet<>(small.size, small.loadFactor);
+		@Nullable T[] keyTable = small.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			T key = keyTable[i];
+			if (key != null && large.contains(key)) {result.insertAbsent(key);}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new ObjectSet holding every item that is in {@code a} but not in {@code b}. Neither a nor b is
+	 * modified. The result is always a plain ObjectSet that uses {@link Object#equals(Object)} and
+	 * {@link Object#hashCode()}.
+	 * <br>
+	 * If b is smaller than a and both are plain ObjectSets (or ObjectOrderedSets), this copies a (directly copying its
+	 * table when possible) and removes only the items of b from the copy. Otherwise, this iterates through a and
+	 * stores each item that {@link #contains(Object) b does not contain} into a result presized to a's size, without
+	 * checking for duplicates.
+	 *
+	 * @param a   an ObjectSet; will not be modified
+	 * @param b   another ObjectSet; will not be modified
+	 * @param <T> the type of items in a and in the result
+	 * @return a new ObjectSet holding the items of a that are not in b
+	 */
+	public static <T> ObjectSet<T> difference (ObjectSet<? extends T> a, ObjectSet<?> b) {
+		if (b.size < a.size && isPlain(a) && isPlain(b)) {
+			final ObjectSet<T> result = copyWithRoom(a, 0);
+			@Nullable Object[] keyTable = b.keyTable;
+			for (int i = 0, n = keyTable.length; i < n; i++) {
+				Object key = keyTable[i];
+				if (key != null) {result.remove(key);}
+			}
+			return result;
+		}
+		final ObjectSet<T> result = new ObjectSet<>(a.size, a.loadFactor);
+		@Nullable T[] keyTable = a.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			T key = keyTable[i];
+			if (key != null && !b.contains(key)) {result.insertAbsent(key);}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a new ObjectSet holding every item that is in exactly one of {@code a} and {@code b}. Neither a nor b
+	 * is modified. The result is always a plain ObjectSet that uses {@link Object#equals(Object)} and
+	 * {@link Object#hashCode()}.
+	 * <br>
+	 * This copies the larger set (directly copying its table when possible), then goes through the smaller set,
+	 * removing each of its items that the copy contains and adding each that it doesn't.
+	 *
+	 * @param a   an ObjectSet; will not be modified
+	 * @param b   another ObjectSet; will not be modified
+	 * @param <T> the type of items in the result; a common supertype of the items in a and b
+	 * @return a new ObjectSet holding the symmetric difference of a and b
+	 */
+	public static <T> ObjectSet<T> symmetricDifference (ObjectSet<? extends T> a, ObjectSet<? extends T> b) {
+		final ObjectSet<? extends T> small = a.size <= b.size ? a : b, large = small == a ? b : a;
+		final ObjectSet<T> result = copyWithRoom(large, small.size);
+		@Nullable T[] keyTable = small.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			T key = keyTable[i];
+			if (key != null && !result.remove(key)) {result.add(key);}
+		}
+		return result;
+	}
+
+	/**
+	 * Counts how many items are in both {@code a} and {@code b}, using the {@link #contains(Object)} method of the
+	 * larger set, without allocating anything. This iterates through the smaller set and checks each item against the
+	 * larger one.
+	 *
+	 * @param a an ObjectSet; will not be modified
+	 * @param b another ObjectSet; will not be modified
+	 * @return the size that {@link #intersection(ObjectSet, ObjectSet)} would have
+	 */
+	public static int intersectionSize (ObjectSet<?> a, ObjectSet<?> b) {
+		final ObjectSet<?> small = a.size <= b.size ? a : b, large = small == a ? b : a;
+		int count = 0;
+		@Nullable Object[] keyTable = small.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			Object key = keyTable[i];
+			if (key != null && large.contains(key)) {count++;}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the Jaccard similarity of {@code a} and {@code b}, which is the size of their intersection divided by the
+	 * size of their union, without allocating anything. This is 1.0 if both sets hold the same items (including if
+	 * both are empty), and 0.0 if they have no items in common.
+	 *
+	 * @param a an ObjectSet; will not be modified
+	 * @param b another ObjectSet; will not be modified
+	 * @return the Jaccard similarity of a and b, from 0.0 to 1.0
+	 */
+	public static double jaccard (ObjectSet<?> a, ObjectSet<?> b) {
+		final int both = intersectionSize(a, b), either = a.size + b.size - both;
+		return either == 0 ? 1.0 : both / (double)either;
+	}
+
 	/**
 	 * Constructs an empty set given the type as a generic type argument.
 	 * This is usually less useful than just using the constructor, but can be handy
@@ -84,6 +84,17 @@ public interface Ordered<T> extends Arrangeable {
 		Collections.reverse(order());
 	}
 
+	/**
+	 * Rearranges the order of this Ordered in-place so the item at each index {@code i} afterward is the item that
+	 * was at index {@code permutation.get(i)} before. This delegates to {@link #order()}.
+	 *
+	 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+	 */
+	@Override
+	default void applyPermutation (IntList permutation) {
+		order().applyPermutation(permutation);
+	}
+
 	/**
 	 * Gets a random T value from this Ordered, where T is typically the key type for Maps and the
 	 * item type for Lists and Sets.
@@ -209,6 +220,17 @@ public interface Ordered<T> extends Arrangeable {
 			order().reverse();
 		}
 
+		/**
+		 * Rearranges the order of this Ordered in-place so the item at each index {@code i} afterward is the item that
+		 * was at index {@code permutation.get(i)} before. This delegates to {@link #order()}.
+		 *
+		 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+		 */
+		@Override
+		default void applyPermutation (IntList permutation) {
+			order().applyPermutation(permutation);
+		}
+
 		/**
 		 * Gets a random int value from this Ordered.
 		 * <br>
@@ -328,6 +350,17 @@ public interface Ordered<T> extends Arrangeable {
 			order().reverse();
 		}
 
+		/**
+		 * Rearranges the order of this Ordered in-place so the item at each index {@code i} afterward is the item that
+		 * was at index {@code permutation.get(i)} before. This delegates to {@link #order()}.
+		 *
+		 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+		 */
+		@Override
+		default void applyPermutation (IntList permutation) {
+			order().applyPermutation(permutation);
+		}
+
 		/**
 		 * Gets a random long value from this Ordered.
 		 * <br>
@@ -447,6 +480,17 @@ public interface Ordered<T> extends Arrangeable {
 			order().reverse();
 		}
 
+		/**
+		 * Rearranges the order of this Ordered in-place so the item at each index {@code i} afterward is the item that
+		 * was at index {@code permutation.get(i)} before. This delegates to {@link #order()}.
+		 *
+		 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+		 */
+		@Override
+		default void applyPermutation (IntList permutation) {
+			order().applyPermutation(permutation);
+		}
+
 		/**
 		 * Gets a random float value from this Ordered.
 		 * <br>
@@ -566,6 +610,17 @@ public interface Ordered<T> extends Arrangeable {
 			order().reverse();
 		}
 
+		/**
+		 * Rearranges the order of this Ordered in-place so the item at each index {@code i} afterward is the item that
+		 * was at index {@code permutation.get(i)} before. This delegates to {@link #order()}.
+		 *
+		 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+		 */
+		@Override
+		default void applyPermutation (IntList permutation) {
+			order().applyPermutation(permutation);
+		}
+
 		/**
 		 * Gets a random double value from this Ordered.
 		 * <br>
@@ -682,6 +737,17 @@ public interface Ordered<T> extends Arrangeable {
 			order().reverse();
 		}
 
+		/**
+		 * Rearranges the order of this Ordered in-place so the item at each index {@code i} afterward is the item that
+		 * was at index {@code permutation.get(i)} before. This delegates to {@link #order()}.
+		 *
+		 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+		 */
+		@Override
+		default void applyPermutation (IntList permutation) {
+			order().applyPermutation(permutation);
+		}
+
 		/**
 		 * Gets a random short value from this Ordered.
 		 * <br>
@@ -798,6 +864,17 @@ public interface Ordered<T> extends Arrangeable {
 			order().reverse();
 		}
 
+		/**
+		 * Rearranges the order of this Ordered in-place so the item at each index {@code i} afterward is the item that
+		 * was at index {@code permutation.get(i)} before. This delegates to {@link #order()}.
+		 *
+		 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+		 */
+		@Override
+		default void applyPermutation (IntList permutation) {
+			order().applyPermutation(permutation);
+		}
+
 		/**
 		 * Gets a random byte value from this Ordered.
 		 * <br>
@@ -914,6 +991,17 @@ public interface Ordered<T> extends Arrangeable {
 			order().reverse();
 		}
 
+		/**
+		 * Rearranges the order of this Ordered in-place so the item at each index {@code i} afterward is the item that
+		 * was at index {@code permutation.get(i)} before. This delegates to {@link #order()}.
+		 *
+		 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+		 */
+		@Override
+		default void applyPermutation (IntList permutation) {
+			order().applyPermutation(permutation);
+		}
+
 		/**
 		 * Gets a random char value from this Ordered.
 		 * <br>
@@ -1030,6 +1118,17 @@ public interface Ordered<T> extends Arrangeable {
 			order().reverse();
 		}
 
+		/**
+		 * Rearranges the order of this Ordered in-place so the item at each index {@code i} afterward is the item that
+		 * was at index {@code permutation.get(i)} before. This delegates to {@link #order()}.
+		 *
+		 * @param permutation must contain every int from 0 to {@code size() - 1} exactly once
+		 */
+		@Override
+		default void applyPermutation (IntList permutation) {
+			order().applyPermutation(permutation);
+		}
+
 		/**
 		 * Gets a random boolean value from this Ordered.
 		 * <br>
@@ -0,0 +1,550 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable list where changes produce a new list that shares almost all of its structure with the old one. This
+ * is a radix-balanced trie with 32-way branching: items are stored in leaf arrays of 32, found by taking 5 bits of the
+ * index per level, and the last up-to-32 items are kept in a separate tail array. {@link #plus(Object)} usually copies
+ * only the tail, {@link #update(int, Object)} copies the path to one leaf, and {@link #minusLast()} is the reverse of
+ * plus(); each returns a new PersistentList and leaves the old one unchanged and safe to read from other threads.
+ * <br>
+ * Reading with {@link #get(int)} goes through at most a few levels of nodes (a list with a million items has 4
+ * levels), so it is slower than {@link ObjectList} but still fast. When many changes are needed at once,
+ * {@link #toTransient()} gives a {@link Transient} that appends and sets in place, copying each shared node at most
+ * once. Null items are allowed.
+ * <br>
+ * Every method in {@link java.util.List} that would change this list throws an {@link UnsupportedOperationException},
+ * as do the add and remove methods from {@link EnhancedCollection}. Equality and {@link #hashCode()} follow the List
+ * contract, so a PersistentList is equal to an ObjectList with the same items in the same order.
+ *
+ * @param <T> the type of items
+ * @author Tommy Ettinger
+ */
+public class PersistentList<T> extends AbstractList<T> implements EnhancedCollection<T> {
+	protected static final class Node {
+		final Object[] array;
+		@Nullable Object edit;
+
+		Node (@Nullable Object edit, Object[] array) {
+			this.edit = edit;
+			this.array = array;
+		}
+	}
+
+	private static final Node EMPTY_NODE = new Node(null, new Object[32]);
+	private static final PersistentList<?> EMPTY = new PersistentList<>(0, 5, EMPTY_NODE, new Object[0]);
+
+	protected final int size;
+	protected final int shift;
+	protected final Node root;
+	protected final Object[] tail;
+
+	protected PersistentList (int size, int shift, Node root, Object[] tail) {
+		this.size = size;
+		this.shift = shift;
+		this.root = root;
+		this.tail = tail;
+	}
+
+	/**
+	 * Creates a new, empty PersistentList; {@link #empty()} can return a shared instance instead.
+	 */
+	public PersistentList () {
+		this(0, 5, EMPTY_NODE, new Object[0]);
+	}
+
+	/**
+	 * Creates a new PersistentList with the items in the given Collection, in its iteration order.
+	 *
+	 * @param coll a Collection to copy; will not be modified
+	 */
+	public PersistentList (Collection<? extends T> coll) {
+		this(new Transient<T>(PersistentList.<T>empty()).addAll(coll).toPersistent());
+	}
+
+	private PersistentList (PersistentList<T> built) {
+		this(built.size, built.shift, built.root, built.tail);
+	}
+
+	/**
+	 * Gets an empty PersistentList; all empty PersistentLists are interchangeable, so this is always the same one.
+	 *
+	 * @param <T> the type of items
+	 * @return an empty PersistentList
+	 */
+	public static <T> PersistentList<T> empty () {
+		return (PersistentList<T>)EMPTY;
+	}
+
+	/**
+	 * Creates a new PersistentList that holds only the given items.
+	 *
+	 * @param items an array or varargs of items
+	 * @param <T>   the type of items
+	 * @return a new PersistentList containing the given items
+	 */
+	@SafeVarargs
+	public static <T> PersistentList<T> with (T... items) {
+		return new PersistentList<>(Arrays.asList(items));
+	}
+
+	private static int tailOffset (int size) {
+		return size < 32 ? 0 : (size - 1) >>> 5 << 5;
+	}
+
+	private static Object[] arrayFor (Node root, int shift, Object[] tail, int size, int index) {
+		if (index >= tailOffset(size)) {return tail;}
+		Node node = root;
+		for (int level = shift; level > 0; level -= 5) {
+			node = (Node)node.array[index >>> level & 31];
+		}
+		return node.array;
+	}
+
+	private static Node newPath (@Nullable Object edit, int level, Node node) {
+		if (level == 0) {return node;}
+		Node ret = new Node(edit, new Object[32]);
+		ret.array[0] = newPath(edit, level - 5, node);
+		return ret;
+	}
+
+	@Override
+	public int size () {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if the list has one or more items.
+	 *
+	 * @return true if the list has one or more items
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	@Override
+	public T get (int index) {
+		if (index < 0 || index >= size) {throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);}
+		return (T)arrayFor(root, shift, tail, size, index)[index & 31];
+	}
+
+	/**
+	 * Returns the last item.
+	 *
+	 * @return the last item in this list
+	 * @throws IllegalStateException if the list is empty
+	 */
+	public T peek () {
+		if (size == 0) {throw new IllegalStateException("PersistentList is empty.");}
+		return (T)tail[tail.length - 1];
+	}
+
+	/**
+	 * Returns a PersistentList with the items of this one followed by {@code item}. This list is not changed.
+	 *
+	 * @param item the item to append; may be null
+	 * @return a PersistentList one item longer than this
+	 */
+	public PersistentList<T> plus (@Nullable T item) {
+		final int tailLength = size - tailOffset(size);
+		if (tailLength < 32) {
+			Object[] newTail = new Object[tailLength + 1];
+			System.arraycopy(tail, 0, newTail, 0, tailLength);
+			newTail[tailLength] = item;
+			return new PersistentList<>(size + 1, shift, root, newTail);
+		}
+		// The tail is full, so it goes into the trie, which may need a new level.
+		final Node tailNode = new Node(null, tail);
+		Node newRoot;
+		int newShift = shift;
+		if ((size >>> 5) > (1 << shift)) {
+			newRoot = new Node(null, new Object[32]);
+			newRoot.array[0] = root;
+			newRoot.array[1] = newPath(null, shift, tailNode);
+			newShift += 5;
+		} else {
+			newRoot = pushTail(shift, root, tailNode);
+		}
+		return new PersistentList<>(size + 1, newShift, newRoot, new Object[]{item});
+	}
+
+	private Node pushTail (int level, Node parent, Node tailNode) {
+		final int sub = (size - 1) >>> level & 31;
+		final Node ret = new Node(null, parent.array.clone());
+		if (level == 5) {
+			ret.array[sub] = tailNode;
+		} else {
+			final Node child = (Node)parent.array[sub];
+			ret.array[sub] = child != null ? pushTail(level - 5, child, tailNode) : newPath(null, level - 5, tailNode);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns a PersistentList with the items of this one followed by the items of {@code coll}, in its iteration
+	 * order. This list is not changed.
+	 *
+	 * @param coll a Collection of items to append
+	 * @return a PersistentList with the items of this and then of coll
+	 */
+	public PersistentList<T> plusAll (Collection<? extends T> coll) {
+		if (coll.isEmpty()) {return this;}
+		return toTransient().addAll(coll).toPersistent();
+	}
+
+	/**
+	 * Returns a PersistentList with the same items as this one, except that the item at {@code index} is
+	 * {@code item}. If index is equal to {@link #size()}, this is the same as {@link #plus(Object)}. This list is not
+	 * changed.
+	 *
+	 * @param index the position to replace, from 0 to size() inclusive
+	 * @param item  the new item; may be null
+	 * @return a PersistentList with item at index
+	 */
+	public PersistentList<T> update (int index, @Nullable T item) {
+		if (index == size) {return plus(item);}
+		if (index < 0 || index > size) {throw new IndexOutOfBoundsException("index can't be > size: " + index + " > " + size);}
+		if (index >= tailOffset(size)) {
+			Object[] newTail = tail.clone();
+			newTail[index & 31] = item;
+			return new PersistentList<>(size, shift, root, newTail);
+		}
+		return new PersistentList<>(size, shift, assoc(shift, root, index, item), tail);
+	}
+
+	private static Node assoc (int level, Node node, int index, @Nullable Object item) {
+		final Node ret = new Node(null, node.array.clone());
+		if (level == 0) {
+			ret.array[index & 31] = item;
+		} else {
+			final int sub = index >>> level & 31;
+			ret.array[sub] = assoc(level - 5, (Node)node.array[sub], index, item);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns a PersistentList with the same items as this one, except the last. This list is not changed.
+	 *
+	 * @return a PersistentList one item shorter than this
+	 * @throws IllegalStateException if the list is empty
+	 */
+	public PersistentList<T> minusLast () {
+		if (size == 0) {throw new IllegalStateException("Can't remove from an empty PersistentList.");}
+		if (size == 1) {return empty();}
+		final int tailLength = size - tailOffset(size);
+		if (tailLength > 1) {
+			return new PersistentList<>(size - 1, shift, root, Arrays.copyOf(tail, tailLength - 1));
+		}
+		// The tail becomes empty, so the last leaf in the trie becomes the new tail.
+		final Object[] newTail = arrayFor(root, shift, tail, size, size - 2);
+		Node newRoot = popTail(shift, root);
+		int newShift = shift;
+		if (newRoot == null) {newRoot = EMPTY_NODE;}
+		if (shift > 5 && newRoot.array[1] == null) {
+			newRoot = (Node)newRoot.array[0];
+			newShift -= 5;
+		}
+		return new PersistentList<>(size - 1, newShift, newRoot, newTail);
+	}
+
+	private @Nullable Node popTail (int level, Node node) {
+		final int sub = (size - 2) >>> level & 31;
+		if (level > 5) {
+			final Node child = popTail(level - 5, (Node)node.array[sub]);
+			if (child == null && sub == 0) {return null;}
+			final Node ret = new Node(null, node.array.clone());
+			ret.array[sub] = child;
+			return ret;
+		}
+		if (sub == 0) {return null;}
+		final Node ret = new Node(null, node.array.clone());
+		ret.array[sub] = null;
+		return ret;
+	}
+
+	/**
+	 * Gets a Transient that starts with the same items as this list, and can be changed in place until
+	 * {@link Transient#toPersistent()} is called. This list is never changed by the Transient.
+	 *
+	 * @return a new Transient starting with the items of this list
+	 */
+	public Transient<T> toTransient () {
+		return new Transient<>(this);
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}; use {@link #update(int, Object)} instead.
+	 */
+	@Override
+	public T set (int index, T element) {
+		throw new UnsupportedOperationException("A persistent list cannot be changed; use update() instead.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}; use {@link #plus(Object)} instead.
+	 */
+	@Override
+	public void add (int index, T element) {
+		throw new UnsupportedOperationException("A persistent list cannot be changed; use plus() instead.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}; use {@link #minusLast()} instead.
+	 */
+	@Override
+	public T remove (int index) {
+		throw new UnsupportedOperationException("A persistent list cannot be changed; use minusLast() instead.");
+	}
+
+	@Override
+	public String toString () {
+		return toString(", ", true);
+	}
+
+	/**
+	 * Iterates over the items in order, reading each leaf array once. Remove is not supported.
+	 *
+	 * @return an iterator over the items in this list
+	 */
+	@Override
+	public @NonNull Iterator<T> iterator () {
+		return new PersistentListIterator<>(this);
+	}
+
+	public static class PersistentListIterator<T> implements Iterator<T> {
+		protected final PersistentList<T> list;
+		protected int index;
+		protected Object[] leaf;
+
+		public PersistentListIterator (PersistentList<T> list) {
+			this.list = list;
+			leaf = list.size == 0 ? list.tail : arrayFor(list.root, list.shift, list.tail, list.size, 0);
+		}
+
+		@Override
+		public boolean hasNext () {
+			return index < list.size;
+		}
+
+		@Override
+		public T next () {
+			if (index >= list.size) {throw new NoSuchElementException("No more items.");}
+			if (index != 0 && (index & 31) == 0) {
+				leaf = arrayFor(list.root, list.shift, list.tail, list.size, index);
+			}
+			return (T)leaf[index++ & 31];
+		}
+	}
+
+	/**
+	 * A mutable list that starts with the items of a {@link PersistentList}, and can append, set, and remove its last
+	 * item quickly until {@link #toPersistent()} is called. Nodes copied from the PersistentList are marked as
+	 * belonging to this Transient, so each is copied at most once, and the tail always has room for 32 items. After
+	 * toPersistent() is called, any further change throws an {@link IllegalStateException}.
+	 * <br>
+	 * A Transient is not thread-safe, but the PersistentLists it was made from and produces are.
+	 *
+	 * @param <T> the type of items
+	 */
+	public static class Transient<T> {
+		protected int size;
+		protected int shift;
+		protected Node root;
+		protected Object[] tail;
+		@Nullable protected Object edit = new Object();
+
+		protected Transient (PersistentList<T> list) {
+			size = list.size;
+			shift = list.shift;
+			root = new Node(edit, list.root.array.clone());
+			tail = Arrays.copyOf(list.tail, 32);
+		}
+
+		protected Object ensureEditable () {
+			if (edit == null) {throw new IllegalStateException("Transient used after toPersistent() was called.");}
+			return edit;
+		}
+
+		protected Node editable (Node node) {
+			if (node.edit == edit) {return node;}
+			return new Node(edit, node.array.clone());
+		}
+
+		public int size () {
+			return size;
+		}
+
+		public T get (int index) {
+			if (index < 0 || index >= size) {throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);}
+			return (T)arrayFor(root, shift, tail, size, index)[index & 31];
+		}
+
+		/**
+		 * Appends {@code item} to the end of this Transient.
+		 *
+		 * @param item the item to append; may be null
+		 * @return this, for chaining
+		 */
+		public Transient<T> add (@Nullable T item) {
+			final Object edit = ensureEditable();
+			if (size - tailOffset(size) < 32) {
+				tail[size++ & 31] = item;
+				return this;
+			}
+			final Node tailNode = new Node(edit, tail);
+			tail = new Object[32];
+			tail[0] = item;
+			if ((size >>> 5) > (1 << shift)) {
+				Node newRoot = new Node(edit, new Object[32]);
+				newRoot.array[0] = root;
+				newRoot.array[1] = newPath(edit, shift, tailNode);
+				root = newRoot;
+				shift += 5;
+			} else {
+				root = pushTail(shift, root, tailNode);
+			}
+			size++;
+			return this;
+		}
+
+		private Node pushTail (int level, Node parent, Node tailNode) {
+			final Node ret = editable(parent);
+			final int sub = (size - 1) >>> level & 31;
+			if (level == 5) {
+				ret.array[sub] = tailNode;
+			} else {
+				final Node child = (Node)ret.array[sub];
+				ret.array[sub] = child != null ? pushTail(level - 5, child, tailNode) : newPath(edit, level - 5, tailNode);
+			}
+			return ret;
+		}
+
+		/**
+		 * Appends every item in the given Collection, in its iteration order.
+		 *
+		 * @param coll a Collection of items to append
+		 * @return this, for chaining
+		 */
+		public Transient<T> addAll (Collection<? extends T> coll) {
+			for (T item : coll) {
+				add(item);
+			}
+			return this;
+		}
+
+		/**
+		 * Replaces the item at {@code index} with {@code item}, returning the previous item there.
+		 *
+		 * @param index the position to replace, from 0 to size() exclusive
+		 * @param item  the new item; may be null
+		 * @return the item previously at index
+		 */
+		public T set (int index, @Nullable T item) {
+			ensureEditable();
+			final T old = get(index);
+			if (index >= tailOffset(size)) {
+				tail[index & 31] = item;
+			} else {
+				root = assoc(shift, root, index, item);
+			}
+			return old;
+		}
+
+		private Node assoc (int level, Node node, int index, @Nullable Object item) {
+			final Node ret = editable(node);
+			if (level == 0) {
+				ret.array[index & 31] = item;
+			} else {
+				final int sub = index >>> level & 31;
+				ret.array[sub] = assoc(level - 5, (Node)ret.array[sub], index, item);
+			}
+			return ret;
+		}
+
+		/**
+		 * Removes and returns the last item.
+		 *
+		 * @return the item that was last
+		 * @throws IllegalStateException if this is empty
+		 */
+		public T pop () {
+			ensureEditable();
+			if (size == 0) {throw new IllegalStateException("Can't remove from an empty Transient.");}
+			final int last = size - 1;
+			final T old = (T)arrayFor(root, shift, tail, size, last)[last & 31];
+			if (size == 1 || (last & 31) > 0) {
+				tail[last & 31] = null;
+				size--;
+				return old;
+			}
+			final Object[] newTail = arrayFor(root, shift, tail, size, size - 2).clone();
+			Node newRoot = popTail(shift, root);
+			if (newRoot == null) {newRoot = new Node(edit, new Object[32]);}
+			if (shift > 5 && newRoot.array[1] == null) {
+				newRoot = editable((Node)newRoot.array[0]);
+				shift -= 5;
+			}
+			root = newRoot;
+			tail = newTail;
+			size--;
+			return old;
+		}
+
+		private @Nullable Node popTail (int level, Node node) {
+			final Node ret = editable(node);
+			final int sub = (size - 2) >>> level & 31;
+			if (level > 5) {
+				final Node child = popTail(level - 5, (Node)ret.array[sub]);
+				if (child == null && sub == 0) {return null;}
+				ret.array[sub] = child;
+				return ret;
+			}
+			if (sub == 0) {return null;}
+			ret.array[sub] = null;
+			return ret;
+		}
+
+		/**
+		 * Produces a PersistentList with the current items of this Transient, and stops this Transient from being
+		 * changed further.
+		 *
+		 * @return a PersistentList with the items of this Transient
+		 */
+		public PersistentList<T> toPersistent () {
+			ensureEditable();
+			edit = null;
+			if (size == 0) {return empty();}
+			return new PersistentList<>(size, shift, root, Arrays.copyOf(tail, size - tailOffset(size)));
+		}
+	}
+}
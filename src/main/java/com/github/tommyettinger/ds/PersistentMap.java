@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, unordered map where changes produce a new map that shares almost all of its structure with the old
+ * one. This is a hash-array-mapped trie: {@link #plus(Object, Object)} and {@link #minus(Object)} copy only the path
+ * from the root to one entry, which is at most 7 small nodes, and return a new PersistentMap; the old one is unchanged
+ * and can still be read, even from other threads. This makes it cheap to publish a snapshot of a large map after a
+ * few changes, where copying an {@link ObjectObjectMap} would take time proportional to its size.
+ * <br>
+ * Lookups are a little slower than in ObjectObjectMap, since they go through a few levels of nodes. When many changes
+ * are needed at once, {@link #toTransient()} gives a {@link Transient} that changes nodes it created in place, and
+ * {@link Transient#toPersistent()} turns it back into a PersistentMap. Keys cannot be null; values can.
+ * <br>
+ * Every method in {@link Map} that would change this map throws an {@link UnsupportedOperationException}. The
+ * {@link #hashCode()} is the same as an {@link ObjectObjectMap} with the same entries would have.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ * @author Tommy Ettinger
+ */
+public class PersistentMap<K, V> extends AbstractMap<K, V> implements Iterable<Map.Entry<K, V>> {
+	private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(HashTrie.EMPTY, 0);
+
+	protected final HashTrie.Node root;
+	protected final int size;
+	@Nullable protected transient Entries<K, V> entries;
+
+	protected PersistentMap (HashTrie.Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * Creates a new, empty PersistentMap; {@link #empty()} can return a shared instance instead.
+	 */
+	public PersistentMap () {
+		this(HashTrie.EMPTY, 0);
+	}
+
+	/**
+	 * Creates a new PersistentMap with the same entries as the given Map. Null keys are skipped.
+	 *
+	 * @param map a Map to copy; will not be modified
+	 */
+	public PersistentMap (Map<? extends K, ? extends V> map) {
+		this(build(map));
+	}
+
+	private PersistentMap (Transient<K, V> built) {
+		this(built.root, built.size);
+	}
+
+	private static <K, V> Transient<K, V> build (Map<? extends K, ? extends V> map) {
+		Transient<K, V> t = new Transient<>(HashTrie.EMPTY, 0);
+		t.putAll(map);
+		return t;
+	}
+
+	/**
+	 * Gets an empty PersistentMap; all empty PersistentMaps are interchangeable, so this is always the same one.
+	 *
+	 * @param <K> the type of keys
+	 * @param <V> the type of values
+	 * @return an empty PersistentMap
+	 */
+	public static <K, V> PersistentMap<K, V> empty () {
+		return (PersistentMap<K, V>)EMPTY;
+	}
+
+	@Override
+	public int size () {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if the map has one or more entries.
+	 *
+	 * @return true if the map has one or more entries
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	@Override
+	public boolean containsKey (@Nullable Object key) {
+		return key != null && HashTrie.find(root, key, HashTrie.hash(key)) != HashTrie.NOT_FOUND;
+	}
+
+	@Override
+	@Nullable
+	public V get (@Nullable Object key) {
+		return getOrDefault(key, null);
+	}
+
+	@Override
+	@Nullable
+	public V getOrDefault (@Nullable Object key, @Nullable V defaultValue) {
+		if (key == null) {return defaultValue;}
+		Object v = HashTrie.find(root, key, HashTrie.hash(key));
+		return v == HashTrie.NOT_FOUND ? defaultValue : (V)v;
+	}
+
+	/**
+	 * Returns a PersistentMap with the same entries as this one, except that {@code key} is associated with
+	 * {@code value}. This map is not changed. If key is already associated with the identical value, or key is null,
+	 * this returns this map.
+	 *
+	 * @param key   the key to add or replace; if null, this does nothing
+	 * @param value the value to associate with key; may be null
+	 * @return a PersistentMap that contains the given entry
+	 */
+	public PersistentMap<K, V> plus (@Nullable K key, @Nullable V value) {
+		if (key == null) {return this;}
+		HashTrie.Change change = new HashTrie.Change();
+		HashTrie.Node r = HashTrie.put(root, null, key, HashTrie.hash(key), value, 0, change);
+		if (!change.modified) {return this;}
+		return new PersistentMap<>(r, change.added ? size + 1 : size);
+	}
+
+	/**
+	 * Returns a PersistentMap with the same entries as this one and the given Map, where entries in {@code map} replace
+	 * entries here with the same key. This map is not changed.
+	 *
+	 * @param map a Map with entries to add or replace
+	 * @return a PersistentMap that contains the entries of this and of map
+	 */
+	public PersistentMap<K, V> plusAll (Map<? extends K, ? extends V> map) {
+		if (map.isEmpty()) {return this;}
+		return toTransient().putAll(map).toPersistent();
+	}
+
+	/**
+	 * Returns a PersistentMap with the same entries as this one, except that {@code key} is absent. This map is not
+	 * changed. If key was not present, this returns this map.
+	 *
+	 * @param key the key to remove
+	 * @return a PersistentMap that does not contain key
+	 */
+	public PersistentMap<K, V> minus (@Nullable Object key) {
+		if (key == null) {return this;}
+		HashTrie.Change change = new HashTrie.Change();
+		HashTrie.Node r = HashTrie.remove(root, null, key, HashTrie.hash(key), 0, change);
+		if (!change.modified) {return this;}
+		return new PersistentMap<>(r, size - 1);
+	}
+
+	/**
+	 * Gets a Transient that starts with the same entries as this map, and can be changed in place until
+	 * {@link Transient#toPersistent()} is called. This map is never changed by the Transient.
+	 *
+	 * @return a new Transient starting with the entries of this map
+	 */
+	public Transient<K, V> toTransient () {
+		return new Transient<>(root, size);
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}; use {@link #plus(Object, Object)} instead.
+	 */
+	@Override
+	public V put (K key, V value) {
+		throw new UnsupportedOperationException("A persistent map cannot be changed; use plus() instead.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}; use {@link #minus(Object)} instead.
+	 */
+	@Override
+	public V remove (Object key) {
+		throw new UnsupportedOperationException("A persistent map cannot be changed; use minus() instead.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}; use {@link #plusAll(Map)} instead.
+	 */
+	@Override
+	public void putAll (Map<? extends K, ? extends V> m) {
+		throw new UnsupportedOperationException("A persistent map cannot be changed; use plusAll() instead.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}; use {@link #empty()} instead.
+	 */
+	@Override
+	public void clear () {
+		throw new UnsupportedOperationException("A persistent map cannot be changed; use empty() instead.");
+	}
+
+	@Override
+	public @NonNull Set<Entry<K, V>> entrySet () {
+		if (entries == null) {entries = new Entries<>(this);}
+		return entries;
+	}
+
+	@Override
+	public @NonNull Iterator<Entry<K, V>> iterator () {
+		return new EntryIterator<>(root);
+	}
+
+	@Override
+	public int hashCode () {
+		int h = size;
+		HashTrie.Cursor cursor = new HashTrie.Cursor(root);
+		while (cursor.hasNext()) {
+			cursor.next();
+			h ^= cursor.key.hashCode();
+			if (cursor.value != null) {h ^= cursor.value.hashCode();}
+		}
+		return h;
+	}
+
+	protected static class Entries<K, V> extends AbstractSet<Entry<K, V>> {
+		protected final PersistentMap<K, V> map;
+
+		protected Entries (PersistentMap<K, V> map) {
+			this.map = map;
+		}
+
+		@Override
+		public @NonNull Iterator<Entry<K, V>> iterator () {
+			return map.iterator();
+		}
+
+		@Override
+		public int size () {
+			return map.size;
+		}
+	}
+
+	/**
+	 * Iterates over the entries of a trie, in no particular order. Remove is not supported. Each call to
+	 * {@link #next()} returns a new {@link ObjectObjectMap.Entry}, so entries can be kept after iteration.
+	 */
+	public static class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+		protected final HashTrie.Cursor cursor;
+
+		protected EntryIterator (HashTrie.Node root) {
+			cursor = new HashTrie.Cursor(root);
+		}
+
+		@Override
+		public boolean hasNext () {
+			return cursor.hasNext();
+		}
+
+		@Override
+		public Entry<K, V> next () {
+			cursor.next();
+			return new ObjectObjectMap.Entry<>((K)cursor.key, (V)cursor.value);
+		}
+	}
+
+	/**
+	 * A mutable map that starts with the entries of a {@link PersistentMap}, and can be changed quickly until
+	 * {@link #toPersistent()} is called. Nodes copied from the PersistentMap are marked as belonging to this Transient,
+	 * so each node is copied at most once no matter how many changes affect it, and nodes not affected are never
+	 * copied. After toPersistent() is called, any further change throws an {@link IllegalStateException}.
+	 * <br>
+	 * A Transient is not thread-safe, but the PersistentMaps it was made from and produces are.
+	 *
+	 * @param <K> the type of keys
+	 * @param <V> the type of values
+	 */
+	public static class Transient<K, V> {
+		protected HashTrie.Node root;
+		protected int size;
+		@Nullable protected Object edit = new Object();
+		protected final HashTrie.Change change = new HashTrie.Change();
+
+		protected Transient (HashTrie.Node root, int size) {
+			this.root = root;
+			this.size = size;
+		}
+
+		protected Object ensureEditable () {
+			if (edit == null) {throw new IllegalStateException("Transient used after toPersistent() was called.");}
+			return edit;
+		}
+
+		public int size () {
+			return size;
+		}
+
+		public boolean containsKey (@Nullable Object key) {
+			return key != null && HashTrie.find(root, key, HashTrie.hash(key)) != HashTrie.NOT_FOUND;
+		}
+
+		@Nullable
+		public V get (@Nullable Object key) {
+			if (key == null) {return null;}
+			Object v = HashTrie.find(root, key, HashTrie.hash(key));
+			return v == HashTrie.NOT_FOUND ? null : (V)v;
+		}
+
+		/**
+		 * Associates {@code value} with {@code key}, returning the previous value or null if there was none.
+		 *
+		 * @param key   the key to add or replace; if null, this does nothing and returns null
+		 * @param value the value to associate with key; may be null
+		 * @return the previous value associated with key, or null
+		 */
+		@Nullable
+		public V put (@Nullable K key, @Nullable V value) {
+			final Object edit = ensureEditable();
+			if (key == null) {return null;}
+			root = HashTrie.put(root, edit, key, HashTrie.hash(key), value, 0, change.reset());
+			if (change.added) {size++;}
+			return (V)change.old;
+		}
+
+		/**
+		 * Puts every entry in the given Map into this Transient.
+		 *
+		 * @param map a Map with entries to add or replace
+		 * @return this, for chaining
+		 */
+		public Transient<K, V> putAll (Map<? extends K, ? extends V> map) {
+			for (Entry<? extends K, ? extends V> e : map.entrySet()) {
+				put(e.getKey(), e.getValue());
+			}
+			return this;
+		}
+
+		/**
+		 * Removes {@code key}, returning the value it was associated with, or null if it was not present.
+		 *
+		 * @param key the key to remove
+		 * @return the value key was associated with, or null
+		 */
+		@Nullable
+		public V remove (@Nullable Object key) {
+			final Object edit = ensureEditable();
+			if (key == null) {return null;}
+			root = HashTrie.remove(root, edit, key, HashTrie.hash(key), 0, change.reset());
+			if (change.modified) {size--;}
+			return (V)change.old;
+		}
+
+		/**
+		 * Produces a PersistentMap with the current entries of this Transient, and stops this Transient from being
+		 * changed further.
+		 *
+		 * @return a PersistentMap with the entries of this Transient
+		 */
+		public PersistentMap<K, V> toPersistent () {
+			ensureEditable();
+			edit = null;
+			return size == 0 ? empty() : new PersistentMap<>(root, size);
+		}
+	}
+}
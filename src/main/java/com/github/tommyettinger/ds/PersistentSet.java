@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * An immutable, unordered set where changes produce a new set that shares almost all of its structure with the old
+ * one. This uses the same hash-array-mapped trie as {@link PersistentMap}, so {@link #plus(Object)} and
+ * {@link #minus(Object)} copy only the path to one item, and the old set is unchanged. Batches of changes can go
+ * through {@link #toTransient()}. Items cannot be null.
+ * <br>
+ * Every method in {@link java.util.Set} that would change this set throws an {@link UnsupportedOperationException},
+ * as do the add and remove methods from {@link EnhancedCollection}. The {@link #hashCode()} is the same as an
+ * {@link ObjectSet} with the same items would have.
+ *
+ * @param <T> the type of items
+ * @author Tommy Ettinger
+ */
+public class PersistentSet<T> extends AbstractSet<T> implements EnhancedCollection<T> {
+	private static final PersistentSet<?> EMPTY = new PersistentSet<>(HashTrie.EMPTY, 0);
+
+	protected final HashTrie.Node root;
+	protected final int size;
+
+	protected PersistentSet (HashTrie.Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * Creates a new, empty PersistentSet; {@link #empty()} can return a shared instance instead.
+	 */
+	public PersistentSet () {
+		this(HashTrie.EMPTY, 0);
+	}
+
+	/**
+	 * Creates a new PersistentSet with the items in the given Collection. Null items are skipped.
+	 *
+	 * @param coll a Collection to copy; will not be modified
+	 */
+	public PersistentSet (Collection<? extends T> coll) {
+		this(new Transient<T>(HashTrie.EMPTY, 0).addAll(coll));
+	}
+
+	private PersistentSet (Transient<T> built) {
+		this(built.root, built.size);
+	}
+
+	/**
+	 * Gets an empty PersistentSet; all empty PersistentSets are interchangeable, so this is always the same one.
+	 *
+	 * @param <T> the type of items
+	 * @return an empty PersistentSet
+	 */
+	public static <T> PersistentSet<T> empty () {
+		return (PersistentSet<T>)EMPTY;
+	}
+
+	@Override
+	public int size () {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if the set has one or more items.
+	 *
+	 * @return true if the set has one or more items
+	 */
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	@Override
+	public boolean contains (@Nullable Object item) {
+		return item != null && HashTrie.find(root, item, HashTrie.hash(item)) != HashTrie.NOT_FOUND;
+	}
+
+	/**
+	 * Gets the item in this set that is considered equal to {@code key}, or null if there is none.
+	 *
+	 * @param key an item to look up
+	 * @return the equivalent item in this set, or null
+	 */
+	@Nullable
+	public T get (@Nullable T key) {
+		if (key == null) {return null;}
+		Object v = HashTrie.find(root, key, HashTrie.hash(key));
+		return v == HashTrie.NOT_FOUND ? null : (T)v;
+	}
+
+	/**
+	 * Returns a PersistentSet with the same items as this one and {@code item}. This set is not changed. If item is
+	 * already present or is null, this returns this set.
+	 *
+	 * @param item the item to add
+	 * @return a PersistentSet that contains item
+	 */
+	public PersistentSet<T> plus (@Nullable T item) {
+		if (item == null) {return this;}
+		HashTrie.Change change = new HashTrie.Change();
+		HashTrie.Node r = HashTrie.put(root, null, item, HashTrie.hash(item), item, 0, change);
+		if (!change.added) {return this;}
+		return new PersistentSet<>(r, size + 1);
+	}
+
+	/**
+	 * Returns a PersistentSet with the items of this one and of {@code coll}. This set is not changed.
+	 *
+	 * @param coll a Collection of items to add
+	 * @return a PersistentSet that contains the items of this and of coll
+	 */
+	public PersistentSet<T> plusAll (Collection<? extends T> coll) {
+		if (coll.isEmpty()) {return this;}
+		return toTransient().addAll(coll).toPersistent();
+	}
+
+	/**
+	 * Returns a PersistentSet with the same items as this one, except {@code item}. This set is not changed. If item
+	 * was not present, this returns this set.
+	 *
+	 * @param item the item to remove
+	 * @return a PersistentSet that does not contain item
+	 */
+	public PersistentSet<T> minus (@Nullable Object item) {
+		if (item == null) {return this;}
+		HashTrie.Change change = new HashTrie.Change();
+		HashTrie.Node r = HashTrie.remove(root, null, item, HashTrie.hash(item), 0, change);
+		if (!change.modified) {return this;}
+		return new PersistentSet<>(r, size - 1);
+	}
+
+	/**
+	 * Gets a Transient that starts with the same items as this set, and can be changed in place until
+	 * {@link Transient#toPersistent()} is called. This set is never changed by the Transient.
+	 *
+	 * @return a new Transient starting with the items of this set
+	 */
+	public Transient<T> toTransient () {
+		return new Transient<>(root, size);
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}; use {@link #plus(Object)} instead.
+	 */
+	@Override
+	public boolean add (T item) {
+		throw new UnsupportedOperationException("A persistent set cannot be changed; use plus() instead.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}; use {@link #minus(Object)} instead.
+	 */
+	@Override
+	public boolean remove (Object item) {
+		throw new UnsupportedOperationException("A persistent set cannot be changed; use minus() instead.");
+	}
+
+	/**
+	 * Always throws an {@link UnsupportedOperationException}; use {@link #empty()} instead.
+	 */
+	@Override
+	public void clear () {
+		throw new UnsupportedOperationException("A persistent set cannot be changed; use empty() instead.");
+	}
+
+	@Override
+	public int hashCode () {
+		int h = size;
+		HashTrie.Cursor cursor = new HashTrie.Cursor(root);
+		while (cursor.hasNext()) {
+			cursor.next();
+			h += cursor.key.hashCode();
+		}
+		return h ^ h >>> 16;
+	}
+
+	@Override
+	public String toString () {
+		return toString(", ", true);
+	}
+
+	/**
+	 * Iterates over the items in this set, in no particular order. Remove is not supported.
+	 *
+	 * @return an iterator over the items in this set
+	 */
+	@Override
+	public @NonNull Iterator<T> iterator () {
+		return new PersistentIterator<>(root);
+	}
+
+	public static class PersistentIterator<T> implements Iterator<T> {
+		protected final HashTrie.Cursor cursor;
+
+		protected PersistentIterator (HashTrie.Node root) {
+			cursor = new HashTrie.Cursor(root);
+		}
+
+		@Override
+		public boolean hasNext () {
+			return cursor.hasNext();
+		}
+
+		@Override
+		public T next () {
+			cursor.next();
+			return (T)cursor.key;
+		}
+	}
+
+	/**
+	 * A mutable set that starts with the items of a {@link PersistentSet}, and can be changed quickly until
+	 * {@link #toPersistent()} is called. This works like {@link PersistentMap.Transient}, copying each shared node at
+	 * most once. After toPersistent() is called, any further change throws an {@link IllegalStateException}.
+	 *
+	 * @param <T> the type of items
+	 */
+	public static class Transient<T> {
+		protected HashTrie.Node root;
+		protected int size;
+		@Nullable protected Object edit = new Object();
+		protected final HashTrie.Change change = new HashTrie.Change();
+
+		protected Transient (HashTrie.Node root, int size) {
+			this.root = root;
+			this.size = size;
+		}
+
+		protected Object ensureEditable () {
+			if (edit == null) {throw new IllegalStateException("Transient used after toPersistent() was called.");}
+			return edit;
+		}
+
+		public int size () {
+			return size;
+		}
+
+		public boolean contains (@Nullable Object item) {
+			return item != null && HashTrie.find(root, item, HashTrie.hash(item)) != HashTrie.NOT_FOUND;
+		}
+
+		/**
+		 * Adds {@code item} if it is not already present.
+		 *
+		 * @param item the item to add; if null, this does nothing
+		 * @return true if item was added
+		 */
+		public boolean add (@Nullable T item) {
+			final Object edit = ensureEditable();
+			if (item == null) {return false;}
+			root = HashTrie.put(root, edit, item, HashTrie.hash(item), item, 0, change.reset());
+			if (change.added) {size++;}
+			return change.added;
+		}
+
+		/**
+		 * Adds every item in the given Collection.
+		 *
+		 * @param coll a Collection of items to add
+		 * @return this, for chaining
+		 */
+		public Transient<T> addAll (Collection<? extends T> coll) {
+			for (T item : coll) {
+				add(item);
+			}
+			return this;
+		}
+
+		/**
+		 * Removes {@code item} if it is present.
+		 *
+		 * @param item the item to remove
+		 * @return true if item was removed
+		 */
+		public boolean remove (@Nullable Object item) {
+			final Object edit = ensureEditable();
+			if (item == null) {return false;}
+			root = HashTrie.remove(root, edit, item, HashTrie.hash(item), 0, change.reset());
+			if (change.modified) {size--;}
+			return change.modified;
+		}
+
+		/**
+		 * Produces a PersistentSet with the current items of this Transient, and stops this Transient from being
+		 * changed further.
+		 *
+		 * @return a PersistentSet with the items of this Transient
+		 */
+		public PersistentSet<T> toPersistent () {
+			ensureEditable();
+			edit = null;
+			return size == 0 ? empty() : new PersistentSet<>(root, size);
+		}
+	}
+}
@@ -96,10 +96,21 @@ public interface PrimitiveCollection<T> {
 			return addAll(other.iterator());
 		}
 
+		/**
+		 * Adds every remaining item from {@code it}, reading it in batches with
+		 * {@link IntIterator#nextBatch(int[], int, int)} and passing each batch to
+		 * {@link #addAll(int[], int, int)}.
+		 *
+		 * @param it a IntIterator; it will have no items remaining after this call
+		 * @return true if this collection was modified
+		 */
 		default boolean addAll (IntIterator it) {
+			if (!it.hasNext()) return false;
+			final int[] buffer = new int[64];
 			boolean changed = false;
-			while (it.hasNext()) {
-				changed |= add(it.nextInt());
+			int n;
+			while ((n = it.nextBatch(buffer, 0, buffer.length)) > 0) {
+				changed |= addAll(buffer, 0, n);
 			}
 			return changed;
 		}
@@ -645,10 +656,21 @@ public interface PrimitiveCollection<T> {
 			return addAll(other.iterator());
 		}
 
+		/**
+		 * Adds every remaining item from {@code it}, reading it in batches with
+		 * {@link LongIterator#nextBatch(long[], int, int)} and passing each batch to
+		 * {@link #addAll(long[], int, int)}.
+		 *
+		 * @param it a LongIterator; it will have no items remaining after this call
+		 * @return true if this collection was modified
+		 */
 		default boolean addAll (LongIterator it) {
+			if (!it.hasNext()) return false;
+			final long[] buffer = new long[64];
 			boolean changed = false;
-			while (it.hasNext()) {
-				changed |= add(it.nextLong());
+			int n;
+			while ((n = it.nextBatch(buffer, 0, buffer.length)) > 0) {
+				changed |= addAll(buffer, 0, n);
 			}
 			return changed;
 		}
@@ -1184,10 +1206,21 @@ public interface PrimitiveCollection<T> {
 			return addAll(other.iterator());
 		}
 
+		/**
+		 * Adds every remaining item from {@code it}, reading it in batches with
+		 * {@link FloatIterator#nextBatch(float[], int, int)} and passing each batch to
+		 * {@link #addAll(float[], int, int)}.
+		 *
+		 * @param it a FloatIterator; it will have no items remaining after this call
+		 * @return true if this collection was modified
+		 */
 		default boolean addAll (FloatIterator it) {
+			if (!it.hasNext()) return false;
+			final float[] buffer = new float[64];
 			boolean changed = false;
-			while (it.hasNext()) {
-				changed |= add(it.nextFloat());
+			int n;
+			while ((n = it.nextBatch(buffer, 0, buffer.length)) > 0) {
+				changed |= addAll(buffer, 0, n);
 			}
 			return changed;
 		}
@@ -1692,10 +1725,21 @@ public interface PrimitiveCollection<T> {
 			return addAll(other.iterator());
 		}
 
+		/**
+		 * Adds every remaining item from {@code it}, reading it in batches with
+		 * {@link DoubleIterator#nextBatch(double[], int, int)} and passing each batch to
+		 * {@link #addAll(double[], int, int)}.
+		 *
+		 * @param it a DoubleIterator; it will have no items remaining after this call
+		 * @return true if this collection was modified
+		 */
 		default boolean addAll (DoubleIterator it) {
+			if (!it.hasNext()) return false;
+			final double[] buffer = new double[64];
 			boolean changed = false;
-			while (it.hasNext()) {
-				changed |= add(it.nextDouble());
+			int n;
+			while ((n = it.nextBatch(buffer, 0, buffer.length)) > 0) {
+				changed |= addAll(buffer, 0, n);
 			}
 			return changed;
 		}
@@ -2205,10 +2249,21 @@ public interface PrimitiveCollection<T> {
 			return addAll(other.iterator());
 		}
 		
+		/**
+		 * Adds every remaining item from {@code it}, reading it in batches with
+		 * {@link ShortIterator#nextBatch(short[], int, int)} and passing each batch to
+		 * {@link #addAll(short[], int, int)}.
+		 *
+		 * @param it a ShortIterator; it will have no items remaining after this call
+		 * @return true if this collection was modified
+		 */
 		default boolean addAll (ShortIterator it) {
+			if (!it.hasNext()) return false;
+			final short[] buffer = new short[64];
 			boolean changed = false;
-			while (it.hasNext()) {
-				changed |= add(it.nextShort());
+			int n;
+			while ((n = it.nextBatch(buffer, 0, buffer.length)) > 0) {
+				changed |= addAll(buffer, 0, n);
 			}
 			return changed;
 		}
@@ -2709,10 +2764,21 @@ public interface PrimitiveCollection<T> {
 			return addAll(other.iterator());
 		}
 		
+		/**
+		 * Adds every remaining item from {@code it}, reading it in batches with
+		 * {@link ByteIterator#nextBatch(byte[], int, int)} and passing each batch to
+		 * {@link #addAll(byte[], int, int)}.
+		 *
+		 * @param it a ByteIterator; it will have no items remaining after this call
+		 * @return true if this collection was modified
+		 */
 		default boolean addAll (ByteIterator it) {
+			if (!it.hasNext()) return false;
+			final byte[] buffer = new byte[64];
 			boolean changed = false;
-			while (it.hasNext()) {
-				changed |= add(it.nextByte());
+			int n;
+			while ((n = it.nextBatch(buffer, 0, buffer.length)) > 0) {
+				changed |= addAll(buffer, 0, n);
 			}
 			return changed;
 		}
@@ -3212,10 +3278,21 @@ public interface PrimitiveCollection<T> {
 			return addAll(other.iterator());
 		}
 		
+		/**
+		 * Adds every remaining item from {@code it}, reading it in batches with
+		 * {@link CharIterator#nextBatch(char[], int, int)} and passing each batch to
+		 * {@link #addAll(char[], int, int)}.
+		 *
+		 * @param it a CharIterator; it will have no items remaining after this call
+		 * @return true if this collection was modified
+		 */
 		default boolean addAll (CharIterator it) {
+			if (!it.hasNext()) return false;
+			final char[] buffer = new char[64];
 			boolean changed = false;
-			while (it.hasNext()) {
-				changed |= add(it.nextChar());
+			int n;
+			while ((n = it.nextBatch(buffer, 0, buffer.length)) > 0) {
+				changed |= addAll(buffer, 0, n);
 			}
 			return changed;
 		}
@@ -3717,10 +3794,21 @@ public interface PrimitiveCollection<T> {
 			return addAll(other.iterator());
 		}
 		
+		/**
+		 * Adds every remaining item from {@code it}, reading it in batches with
+		 * {@link BooleanIterator#nextBatch(boolean[], int, int)} and passing each batch to
+		 * {@link #addAll(boolean[], int, int)}.
+		 *
+		 * @param it a BooleanIterator; it will have no items remaining after this call
+		 * @return true if this collection was modified
+		 */
 		default boolean addAll (BooleanIterator it) {
+			if (!it.hasNext()) return false;
+			final boolean[] buffer = new boolean[64];
 			boolean changed = false;
-			while (it.hasNext()) {
-				changed |= add(it.nextBoolean());
+			int n;
+			while ((n = it.nextBatch(buffer, 0, buffer.length)) > 0) {
+				changed |= addAll(buffer, 0, n);
 			}
 			return changed;
 		}
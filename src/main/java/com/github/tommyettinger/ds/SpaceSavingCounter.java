@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Finds the most frequent keys in a stream, using a fixed amount of memory no matter how many distinct keys there
+ * are. This is the Space-Saving algorithm: it tracks at most {@code capacity} keys with a count each, and when a key
+ * that isn't tracked arrives while all places are taken, it replaces the tracked key with the lowest count, starting
+ * from that lowest count. Any key that truly occurs more than {@code total / capacity} times is guaranteed to be
+ * tracked, and a tracked key's count is never less than its true count and never more than that plus its
+ * {@link #getError(Object) error}.
+ * <br>
+ * Keys are found through an {@link ObjectIntMap} from key to a slot, and the slots are kept in a binary min-heap by
+ * count, so counting a key takes {@code O(log(capacity))} time at worst and does not allocate. Use
+ * {@link #top(int)} to get the highest counts in order. Counters built on different threads can be combined with
+ * {@link #merge(SpaceSavingCounter)}.
+ * <br>
+ * This is not thread-safe.
+ *
+ * @param <K> the type of keys
+ * @author Tommy Ettinger
+ */
+public class SpaceSavingCounter<K> {
+	protected final int capacity;
+	protected final ObjectIntMap<K> index;
+	protected final @Nullable K[] keys;
+	protected final long[] counts;
+	protected final long[] errors;
+	protected final int[] heap;
+	protected final int[] heapPosition;
+	protected int size;
+	protected long total;
+
+	/**
+	 * Creates a SpaceSavingCounter that tracks up to 100 keys.
+	 */
+	public SpaceSavingCounter () {
+		this(100);
+	}
+
+	/**
+	 * Creates a SpaceSavingCounter that tracks up to {@code capacity} keys.
+	 *
+	 * @param capacity how many keys to track; more keys give more accurate counts
+	 */
+	public SpaceSavingCounter (int capacity) {
+		this.capacity = Math.max(1, capacity);
+		index = new ObjectIntMap<>(this.capacity);
+		keys = (K[])new Object[this.capacity];
+		counts = new long[this.capacity];
+		errors = new long[this.capacity];
+		heap = new int[this.capacity];
+		heapPosition = new int[this.capacity];
+	}
+
+	/**
+	 * Counts key once more.
+	 *
+	 * @param key any non-null key; if null, this does nothing
+	 * @return the estimated count of key after this call
+	 */
+	public long add (@Nullable K key) {
+		return add(key, 1L);
+	}
+
+	/**
+	 * Counts key {@code increment} more times.
+	 *
+	 * @param key       any non-null key; if null, this does nothing and returns 0
+	 * @param increment how much to add to the count for key; should not be negative
+	 * @return the estimated count of key after this call
+	 */
+	public long add (@Nullable K key, long increment) {
+		if (key == null) {return 0L;}
+		total += increment;
+		int slot = index.getOrDefault(key, -1);
+		if (slot >= 0) {
+			counts[slot] += increment;
+			siftDown(heapPosition[slot]);
+			return counts[slot];
+		}
+		if (size < capacity) {
+			slot = size;
+			keys[slot] = key;
+			counts[slot] = increment;
+			errors[slot] = 0L;
+			heap[size] = slot;
+			heapPosition[slot] = size;
+			index.put(key, slot);
+			siftUp(size++);
+			return increment;
+		}
+		slot = heap[0];
+		index.remove(keys[slot]);
+		final long min = counts[slot];
+		keys[slot] = key;
+		errors[slot] = min;
+		counts[slot] = min + increment;
+		index.put(key, slot);
+		siftDown(0);
+		return min + increment;
+	}
+
+	/**
+	 * Gets the estimated count for key, or 0 if it isn't tracked. A key that isn't tracked may still have occurred up
+	 * to {@link #getMinimum()} times.
+	 *
+	 * @param key a key to look up
+	 * @return the estimated count, which is at least the true count if key is tracked
+	 */
+	public long get (@Nullable Object key) {
+		if (key == null) {return 0L;}
+		final int slot = index.getOrDefault(key, -1);
+		return slot < 0 ? 0L : counts[slot];
+	}
+
+	/**
+	 * Gets how much the count for key may be more than its true count, or 0 if it isn't tracked.
+	 *
+	 * @param key a key to look up
+	 * @return the largest possible overestimate in the count for key
+	 */
+	public long getError (@Nullable Object key) {
+		if (key == null) {return 0L;}
+		final int slot = index.getOrDefault(key, -1);
+		return slot < 0 ? 0L : errors[slot];
+	}
+
+	/**
+	 * Returns true if key is one of the tracked keys.
+	 *
+	 * @param key a key to look up
+	 * @return true if key is tracked
+	 */
+	public boolean containsKey (@Nullable Object key) {
+		return key != null && index.containsKey(key);
+	}
+
+	/**
+	 * Gets the lowest count among tracked keys if every place is taken, or 0 otherwise. No key that isn't tracked can
+	 * have occurred more times than this.
+	 *
+	 * @return the lowest tracked count, or 0 if fewer than capacity keys are tracked
+	 */
+	public long getMinimum () {
+		return size < capacity ? 0L : counts[heap[0]];
+	}
+
+	/**
+	 * Gets up to {@code n} tracked keys with the highest counts, in descending order of count.
+	 *
+	 * @param n how many keys to get, at most
+	 * @return a new ObjectLongOrderedMap from key to estimated count, highest first
+	 */
+	public ObjectLongOrderedMap<K> top (int n) {
+		ObjectLongOrderedMap<K> map = new ObjectLongOrderedMap<>(size);
+		for (int i = 0; i < size; i++) {
+			map.put(keys[i], counts[i]);
+		}
+		map.sortByValue((a, b) -> Long.compare(b, a));
+		map.truncate(Math.max(0, n));
+		return map;
+	}
+
+	/**
+	 * Combines the counts of other into this, as if every key counted by other had also been counted here. Keys that
+	 * are only tracked by one counter are given the other's {@link #getMinimum()} as both count and error, since they
+	 * may have occurred that often there; then the {@code capacity} keys with the highest counts are kept.
+	 *
+	 * @param other another SpaceSavingCounter; will not be modified, and may have a different capacity
+	 */
+	public void merge (SpaceSavingCounter<? extends K> other) {
+		final long minHere = getMinimum(), minThere = other.getMinimum();
+		final int n = size + other.size;
+		final Object[] ks = new Object[n];
+		final long[] cs = new long[n], es = new long[n];
+		int c = 0;
+		for (int i = 0; i < size; i++) {
+			final int o = other.index.getOrDefault(keys[i], -1);
+			ks[c] = keys[i];
+			cs[c] = counts[i] + (o < 0 ? minThere : other.counts[o]);
+			es[c++] = errors[i] + (o < 0 ? minThere : other.errors[o]);
+		}
+		for (int i = 0; i < other.size; i++) {
+			if (index.containsKey(other.keys[i])) {continue;}
+			ks[c] = other.keys[i];
+			cs[c] = other.counts[i] + minHere;
+			es[c++] = other.errors[i] + minHere;
+		}
+		IntList order = new IntList(c);
+		for (int i = 0; i < c; i++) {
+			order.add(i);
+		}
+		order.sort((a, b) -> Long.compare(cs[b], cs[a]));
+		final long newTotal = total + other.total;
+		clear();
+		for (int i = 0, lim = Math.min(c, capacity); i < lim; i++) {
+			final int j = order.get(i);
+			add((K)ks[j], cs[j]);
+			errors[index.get(ks[j])] = es[j];
+		}
+		total = newTotal;
+	}
+
+	/**
+	 * Gets how many keys are tracked, which is at most the capacity.
+	 *
+	 * @return how many keys are tracked
+	 */
+	public int size () {
+		return size;
+	}
+
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	public int getCapacity () {
+		return capacity;
+	}
+
+	/**
+	 * Gets the sum of all increments, which is exact.
+	 *
+	 * @return the total of all counts
+	 */
+	public long getTotal () {
+		return total;
+	}
+
+	/**
+	 * Stops tracking every key.
+	 */
+	public void clear () {
+		index.clear();
+		Arrays.fill(keys, null);
+		size = 0;
+		total = 0L;
+	}
+
+	protected void swap (int a, int b) {
+		final int sa = heap[a], sb = heap[b];
+		heap[a] = sb;
+		heap[b] = sa;
+		heapPosition[sb] = a;
+		heapPosition[sa] = b;
+	}
+
+	protected void siftUp (int i) {
+		while (i > 0) {
+			final int parent = i - 1 >>> 1;
+			if (counts[heap[parent]] <= counts[heap[i]]) {return;}
+			swap(i, parent);
+			i = parent;
+		}
+	}
+
+	protected void siftDown (int i) {
+		while (true) {
+			final int left = (i << 1) + 1;
+			if (left >= size) {return;}
+			final int right = left + 1;
+			final int least = right < size && counts[heap[right]] < counts[heap[left]] ? right : left;
+			if (counts[heap[i]] <= counts[heap[least]]) {return;}
+			swap(i, least);
+			i = least;
+		}
+	}
+
+	@Override
+	public String toString () {
+		return top(size).toString();
+	}
+}
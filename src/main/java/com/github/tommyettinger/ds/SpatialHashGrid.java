@@ -0,0 +1,673 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.digital.BitConversion;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A spatial hash that sorts items with 2D or 3D float positions into square (or cubic) cells, so that finding the items
+ * in a box, within a radius, or in the cells next to a point only looks at the cells that could hold them. Each item is
+ * stored once, with its position, and can be moved with {@link #put(Object, float, float, float)} or removed at any
+ * time; items are compared by equals() and hashCode(), like keys in an {@link ObjectIntMap}.
+ * <p>
+ * Cells are identified by their integer coordinates packed into a {@code long} (see {@link #packCell(int, int)} and
+ * {@link #packCell(int, int, int)}), and only cells that hold at least one item take up space, in an open-addressing
+ * table with linear probing. The slot for a cell is found by mixing its y and z coordinates with constants that did
+ * well in the point-hash tests, and a {@link Utilities#GOOD_MULTIPLIERS multiplier} that changes when the table grows,
+ * then adding its x coordinate; this keeps a row of neighboring cells in neighboring slots, so the queries here, which
+ * visit cells row by row, read the table mostly in order. The items in each cell form a linked list through int
+ * arrays, with no per-cell objects.
+ * <p>
+ * When many items move each frame, it can be faster to change their positions with
+ * {@link #setPositionAt(int, float, float, float)} and then call {@link #rebin()} once, which reassigns every item to
+ * its cell in one pass and reorders the items so that each cell's items, and the cells in a row, are next to each other
+ * in memory. That changes the index of each item, as reported by {@link #indexOf(Object)}.
+ * <p>
+ * Cell coordinates are 32-bit in 2D and 21-bit (from -1048576 to 1048575) in 3D; cells outside that range in 3D share
+ * keys with other cells, which only makes {@link #neighbors(float, float, float, Collection)} return extra items, since
+ * the box and radius queries check each item's actual position.
+ *
+ * @author Tommy Ettinger
+ */
+public class SpatialHashGrid<T> {
+	/**
+	 * The most cells the table can hold, as a fraction of its size, before it grows.
+	 */
+	protected static final float CELL_LOAD_FACTOR = 0.5f;
+
+	/**
+	 * 2 or 3; in 2D, every item has a z of 0 and only one layer of cells is used.
+	 */
+	protected final int dimensions;
+	protected final float cellSize;
+	protected final float inverseCellSize;
+
+	protected int size;
+	/**
+	 * The items, packed at the start; only the first {@link #size} are used.
+	 */
+	protected @Nullable T[] items;
+	protected float[] xs;
+	protected float[] ys;
+	/**
+	 * The z coordinate of each item, or an empty array in 2D.
+	 */
+	protected float[] zs;
+	/**
+	 * The packed key of the cell each item is in.
+	 */
+	protected long[] cellOf;
+	/**
+	 * The index of the next item in the same cell as each item, or -1 if it is the last in its cell.
+	 */
+	protected int[] next;
+	/**
+	 * Maps each item to its index in {@link #items}.
+	 */
+	protected ObjectIntMap<T> indices;
+
+	/**
+	 * The packed key of the cell in each slot of the cell table; only meaningful where {@link #heads} is non-zero.
+	 */
+	protected long[] cellKeys;
+	/**
+	 * For each slot of the cell table, 0 if it is empty, or the index of the first item in that cell plus 1.
+	 */
+	protected int[] heads;
+	protected int cellCount;
+	protected int cellThreshold;
+	protected int mask;
+	protected int shift;
+	protected int hashMultiplier;
+
+	/**
+	 * Creates a new 2D grid with the given cell size.
+	 *
+	 * @param cellSize the width and height of each cell; typically about the distance most queries search
+	 */
+	public SpatialHashGrid (float cellSize) {
+		this(cellSize, 2, 16);
+	}
+
+	/**
+	 * Creates a new grid with the given cell size, number of dimensions, and room for initialCapacity items before
+	 * growing.
+	 *
+	 * @param cellSize        the size of each cell on every axis; must be positive
+	 * @param dimensions      2 or 3
+	 * @param initialCapacity how many items this can hold before it has to grow
+	 */
+	public SpatialHashGrid (float cellSize, int dimensions, int initialCapacity) {
+		if (!(cellSize > 0f)) {throw new IllegalArgumentException("cellSize must be > 0: " + cellSize);}
+		if (dimensions != 2 && dimensions != 3) {throw new IllegalArgumentException("dimensions must be 2 or 3: " + dimensions);}
+		if (initialCapacity < 0) {throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);}
+		this.cellSize = cellSize;
+		this.inverseCellSize = 1f / cellSize;
+		this.dimensions = dimensions;
+		initialCapacity = Math.max(1, initialCapacity);
+		items = (T[])new Object[initialCapacity];
+		xs = new float[initialCapacity];
+		ys = new float[initialCapacity];
+		zs = new float[dimensions == 3 ? initialCapacity : 0];
+		cellOf = new long[initialCapacity];
+		next = new int[initialCapacity];
+		indices = new ObjectIntMap<>(initialCapacity);
+		setCellTableSize(Math.max(16, Utilities.tableSize(initialCapacity, CELL_LOAD_FACTOR)));
+	}
+
+	/**
+	 * Packs 2D cell coordinates into one long key.
+	 *
+	 * @param cx the x coordinate of a cell
+	 * @param cy the y coordinate of a cell
+	 * @return a key for that cell, with cy in the upper 32 bits and cx in the lower 32 bits
+	 */
+	public static long packCell (int cx, int cy) {
+		return (long)cy << 32 | (cx & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Packs 3D cell coordinates into one long key, keeping the low 21 bits of each.
+	 *
+	 * @param cx the x coordinate of a cell, from -1048576 to 1048575
+	 * @param cy the y coordinate of a cell, from -1048576 to 1048575
+	 * @param cz the z coordinate of a cell, from -1048576 to 1048575
+	 * @return a key for that cell, with cz in bits 42-62, cy in bits 21-41, and cx in bits 0-20
+	 */
+	public static long packCell (int cx, int cy, int cz) {
+		return ((long)cz & 0x1FFFFFL) << 42 | ((long)cy & 0x1FFFFFL) << 21 | (cx & 0x1FFFFFL);
+	}
+
+	/**
+	 * Gets the cell x coordinate from a key made by {@link #packCell(int, int)} when {@code dimensions} is 2, or by
+	 * {@link #packCell(int, int, int)} when it is 3.
+	 */
+	public static int unpackCellX (long key, int dimensions) {
+		return dimensions == 2 ? (int)key : (int)(key << 43 >> 43);
+	}
+
+	/**
+	 * Gets the cell y coordinate from a key made by {@link #packCell(int, int)} when {@code dimensions} is 2, or by
+	 * {@link #packCell(int, int, int)} when it is 3.
+	 */
+	public static int unpackCellY (long key, int dimensions) {
+		return dimensions == 2 ? (int)(key >>> 32) : (int)(key << 22 >> 43);
+	}
+
+	/**
+	 * Gets the cell z coordinate from a key made by {@link #packCell(int, int, int)} when {@code dimensions} is 3; in
+	 * 2D this is always 0.
+	 */
+	public static int unpackCellZ (long key, int dimensions) {
+		return dimensions == 2 ? 0 : (int)(key << 1 >> 43);
+	}
+
+	/**
+	 * Gets the cell coordinate on any axis for a position on that axis.
+	 *
+	 * @param position an x, y, or z position
+	 * @return the coordinate of the cell containing that position on that axis
+	 */
+	public int cellCoordinate (float position) {
+		return (int)Math.floor(position * inverseCellSize);
+	}
+
+	/**
+	 * Gets the packed key of the cell that contains the given position; in 2D, z is ignored.
+	 */
+	public long cellKey (float x, float y, float z) {
+		return dimensions == 2 ? packCell(cellCoordinate(x), cellCoordinate(y))
+			: packCell(cellCoordinate(x), cellCoordinate(y), cellCoordinate(z));
+	}
+
+	/**
+	 * Sets the size of the cell table and everything that depends on it, allocating empty arrays for it.
+	 *
+	 * @param tableSize a power of two, at least 2
+	 */
+	protected void setCellTableSize (int tableSize) {
+		mask = tableSize - 1;
+		shift = BitConversion.countLeadingZeros(mask) + 32;
+		hashMultiplier = Utilities.GOOD_MULTIPLIERS[64 - shift];
+		cellThreshold = (int)(tableSize * CELL_LOAD_FACTOR);
+		cellKeys = new long[tableSize];
+		heads = new int[tableSize];
+		cellCount = 0;
+	}
+
+	/**
+	 * Gets the slot in the cell table where a search for the given cell starts. Cells in the same row (with the same
+	 * y and z) get consecutive slots.
+	 */
+	protected int place (int cx, int cy, int cz) {
+		return (BitConversion.imul(cy * 0x9122F + cz * 0xDA877, hashMultiplier) >>> shift) + cx & mask;
+	}
+
+	/**
+	 * Gets the slot in the cell table where a search for the cell with the given packed key starts.
+	 */
+	protected int placeKey (long key) {
+		return place(unpackCellX(key, dimensions), unpackCellY(key, dimensions), unpackCellZ(key, dimensions));
+	}
+
+	/**
+	 * Returns the slot of the cell with the given key if it holds any items, or the bitwise NOT of the empty slot where
+	 * it would go otherwise.
+	 */
+	protected int locateCell (long key) {
+		final long[] cellKeys = this.cellKeys;
+		final int[] heads = this.heads;
+		for (int i = placeKey(key); ; i = i + 1 & mask) {
+			if (heads[i] == 0) {return ~i;}
+			if (cellKeys[i] == key) {return i;}
+		}
+	}
+
+	/**
+	 * Adds the item at {@code index} to the front of its cell's list, creating the cell if needed.
+	 */
+	protected void link (int index) {
+		final long key = cellOf[index];
+		int slot = locateCell(key);
+		if (slot < 0) {
+			slot = ~slot;
+			cellKeys[slot] = key;
+			next[index] = -1;
+			heads[slot] = index + 1;
+			if (++cellCount > cellThreshold) {resizeCells(heads.length << 1);}
+		} else {
+			next[index] = heads[slot] - 1;
+			heads[slot] = index + 1;
+		}
+	}
+
+	/**
+	 * Takes the item at {@code index} out of its cell's list, removing the cell if that leaves it empty.
+	 */
+	protected void unlink (int index) {
+		final int slot = locateCell(cellOf[index]);
+		if (heads[slot] - 1 == index) {
+			if ((heads[slot] = next[index] + 1) == 0) {removeCell(slot);}
+			return;
+		}
+		int prev = heads[slot] - 1;
+		while (next[prev] != index) {prev = next[prev];}
+		next[prev] = next[index];
+	}
+
+	/**
+	 * Empties the cell table slot {@code slot}, shifting back any later cells in its probe run.
+	 */
+	protected void removeCell (int slot) {
+		final long[] cellKeys = this.cellKeys;
+		final int[] heads = this.heads;
+		final int mask = this.mask;
+		cellCount--;
+		int pos = slot, last, ideal;
+		for (; ; ) {
+			pos = ((last = pos) + 1) & mask;
+			for (; ; ) {
+				if (heads[pos] == 0) {
+					heads[last] = 0;
+					return;
+				}
+				ideal = placeKey(cellKeys[pos]);
+				if (last <= pos ? last >= ideal || ideal > pos : last >= ideal && ideal > pos) break;
+				pos = (pos + 1) & mask;
+			}
+			cellKeys[last] = cellKeys[pos];
+			heads[last] = heads[pos];
+		}
+	}
+
+	/**
+	 * Rebuilds the cell table with {@code newSize} slots, keeping every cell's list of items.
+	 */
+	protected void resizeCells (int newSize) {
+		final long[] oldKeys = cellKeys;
+		final int[] oldHeads = heads;
+		final int count = cellCount;
+		setCellTableSize(newSize);
+		cellCount = count;
+		for (int i = 0; i < oldHeads.length; i++) {
+			if (oldHeads[i] != 0) {
+				int slot = ~locateCell(oldKeys[i]);
+				cellKeys[slot] = oldKeys[i];
+				heads[slot] = oldHeads[i];
+			}
+		}
+	}
+
+	/**
+	 * Grows the item arrays so they can hold at least {@code capacity} items.
+	 */
+	protected void ensureItemCapacity (int capacity) {
+		if (capacity <= items.length) {return;}
+		capacity = Math.max(capacity, items.length + (items.length >>> 1) + 1);
+		items = Arrays.copyOf(items, capacity);
+		xs = Arrays.copyOf(xs, capacity);
+		ys = Arrays.copyOf(ys, capacity);
+		if (dimensions == 3) {zs = Arrays.copyOf(zs, capacity);}
+		cellOf = Arrays.copyOf(cellOf, capacity);
+		next = Arrays.copyOf(next, capacity);
+	}
+
+	/**
+	 * Adds the item at the given 2D position, or moves it there if it is already present. In 3D, z is 0.
+	 *
+	 * @return true if the item was added, or false if it was already present and has been moved
+	 */
+	public boolean put (T item, float x, float y) {
+		return put(item, x, y, 0f);
+	}
+
+	/**
+	 * Adds the item at the given position, or moves it there if it is already present. In 2D, z is ignored.
+	 *
+	 * @return true if the item was added, or false if it was already present and has been moved
+	 */
+	public boolean put (T item, float x, float y, float z) {
+		final long key = cellKey(x, y, z);
+		int i = indices.getOrDefault(item, -1);
+		if (i >= 0) {
+			setCoordinates(i, x, y, z);
+			if (cellOf[i] != key) {
+				unlink(i);
+				cellOf[i] = key;
+				link(i);
+			}
+			return false;
+		}
+		ensureItemCapacity(size + 1);
+		i = size++;
+		items[i] = item;
+		setCoordinates(i, x, y, z);
+		cellOf[i] = key;
+		link(i);
+		indices.put(item, i);
+		return true;
+	}
+
+	protected void setCoordinates (int index, float x, float y, float z) {
+		xs[index] = x;
+		ys[index] = y;
+		if (dimensions == 3) {zs[index] = z;}
+	}
+
+	/**
+	 * Removes the item, if present. The last item takes its index.
+	 *
+	 * @return true if the item was present and has been removed
+	 */
+	public boolean remove (Object item) {
+		final int i = indices.getOrDefault(item, -1);
+		if (i < 0) {return false;}
+		indices.remove(item);
+		unlink(i);
+		final int last = --size;
+		if (i != last) {
+			final int slot = locateCell(cellOf[last]);
+			if (heads[slot] - 1 == last) {
+				heads[slot] = i + 1;
+			} else {
+				int prev = heads[slot] - 1;
+				while (next[prev] != last) {prev = next[prev];}
+				next[prev] = i;
+			}
+			items[i] = items[last];
+			xs[i] = xs[last];
+			ys[i] = ys[last];
+			if (dimensions == 3) {zs[i] = zs[last];}
+			cellOf[i] = cellOf[last];
+			next[i] = next[last];
+			indices.put(items[i], i);
+		}
+		items[last] = null;
+		return true;
+	}
+
+	public boolean contains (Object item) {
+		return indices.containsKey(item);
+	}
+
+	/**
+	 * Gets the index of the item, which can be used with {@link #getAt(int)}, {@link #getX(int)} and so on, or -1 if it
+	 * is not present. Indices change when an item is removed or {@link #rebin()} is called.
+	 */
+	public int indexOf (Object item) {
+		return indices.getOrDefault(item, -1);
+	}
+
+	@Nullable
+	public T getAt (int index) {
+		return items[index];
+	}
+
+	public float getX (int index) {
+		return xs[index];
+	}
+
+	public float getY (int index) {
+		return ys[index];
+	}
+
+	/**
+	 * Gets the z position of the item at index; always 0 in 2D.
+	 */
+	public float getZ (int index) {
+		return dimensions == 3 ? zs[index] : 0f;
+	}
+
+	/**
+	 * Changes the position of the item at {@code index} without moving it to a new cell. Queries may miss the item
+	 * until {@link #rebin()} is called, so this is meant for updating many items at once, followed by one rebin().
+	 */
+	public void setPositionAt (int index, float x, float y, float z) {
+		if (index < 0 || index >= size) {throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);}
+		setCoordinates(index, x, y, z);
+	}
+
+	/**
+	 * Puts every item in the cell for its current position, in one pass, and reorders the items so each cell's items
+	 * are next to each other and cells are in the order of the cell table. Use this after changing many positions with
+	 * {@link #setPositionAt(int, float, float, float)}; it changes the index of every item.
+	 */
+	public void rebin () {
+		final int n = size;
+		int tableSize = Math.max(16, Utilities.tableSize(n, CELL_LOAD_FACTOR));
+		if (tableSize > heads.length) {setCellTableSize(tableSize);}
+		else {
+			Arrays.fill(heads, 0);
+			cellCount = 0;
+		}
+		final long[] cellKeys = this.cellKeys;
+		final int[] heads = this.heads;
+		final int[] slotOf = new int[n];
+		// First pass: find every item's cell, using heads to count the items in each.
+		for (int i = 0; i < n; i++) {
+			final long key = cellKey(xs[i], ys[i], getZ(i));
+			cellOf[i] = key;
+			int slot = locateCell(key);
+			if (slot < 0) {
+				slot = ~slot;
+				cellKeys[slot] = key;
+				cellCount++;
+			}
+			heads[slot]++;
+			slotOf[i] = slot;
+		}
+		// Turn counts into the starting index of each cell's run, plus 1.
+		for (int s = 0, start = 0; s < heads.length; s++) {
+			int count = heads[s];
+			if (count != 0) {
+				heads[s] = start + 1;
+				start += count;
+			}
+		}
+		final T[] oldItems = items;
+		final float[] oldXs = xs, oldYs = ys, oldZs = zs;
+		final long[] oldCellOf = cellOf;
+		final int cap = oldItems.length;
+		items = (T[])new Object[cap];
+		xs = new float[cap];
+		ys = new float[cap];
+		zs = new float[dimensions == 3 ? cap : 0];
+		cellOf = new long[cap];
+		// Second pass: place each item at the end of its cell's run so far; next[] temporarily holds run ends.
+		final int[] fill = new int[heads.length];
+		for (int i = 0; i < n; i++) {
+			final int slot = slotOf[i];
+			final int pos = heads[slot] - 1 + fill[slot]++;
+			items[pos] = oldItems[i];
+			xs[pos] = oldXs[i];
+			ys[pos] = oldYs[i];
+			if (dimensions == 3) {zs[pos] = oldZs[i];}
+			cellOf[pos] = oldCellOf[i];
+		}
+		for (int s = 0; s < heads.length; s++) {
+			if (heads[s] != 0) {
+				final int start = heads[s] - 1, end = start + fill[s] - 1;
+				for (int j = start; j < end; j++) {next[j] = j + 1;}
+				next[end] = -1;
+			}
+		}
+		indices.clear();
+		for (int i = 0; i < n; i++) {indices.put(items[i], i);}
+	}
+
+	/**
+	 * Adds every item in the box from (minX, minY) to (maxX, maxY), inclusive, to {@code out}. In 3D, only items with
+	 * z of 0 can be in the box.
+	 *
+	 * @return out, after modifications
+	 */
+	public <C extends Collection<? super T>> C queryBox (float minX, float minY, float maxX, float maxY, C out) {
+		return queryBox(minX, minY, 0f, maxX, maxY, 0f, out);
+	}
+
+	/**
+	 * Adds every item in the box from (minX, minY, minZ) to (maxX, maxY, maxZ), inclusive, to {@code out}. In 2D, the
+	 * z range must include 0 for anything to be found.
+	 *
+	 * @return out, after modifications
+	 */
+	public <C extends Collection<? super T>> C queryBox (float minX, float minY, float minZ, float maxX, float maxY, float maxZ, C out) {
+		collect(minX, minY, minZ, maxX, maxY, maxZ, Float.NaN, 0f, 0f, 0f, out);
+		return out;
+	}
+
+	/**
+	 * Adds every item within {@code radius} of (x, y), inclusive, to {@code out}. In 3D, the center has z of 0.
+	 *
+	 * @return out, after modifications
+	 */
+	public <C extends Collection<? super T>> C queryRadius (float x, float y, float radius, C out) {
+		return queryRadius(x, y, 0f, radius, out);
+	}
+
+	/**
+	 * Adds every item within {@code radius} of (x, y, z), inclusive, to {@code out}. In 2D, z is ignored.
+	 *
+	 * @return out, after modifications
+	 */
+	public <C extends Collection<? super T>> C queryRadius (float x, float y, float z, float radius, C out) {
+		if (dimensions == 2) {z = 0f;}
+		collect(x - radius, y - radius, z - radius, x + radius, y + radius, z + radius, x, y, z, radius * radius, out);
+		return out;
+	}
+
+	/**
+	 * Adds every item in the cell containing (x, y) and the 8 cells around it to {@code out}, without checking their
+	 * exact positions. In 3D, this uses the layer of cells around z of 0, and the layers on either side.
+	 *
+	 * @return out, after modifications
+	 */
+	public <C extends Collection<? super T>> C neighbors (float x, float y, C out) {
+		return neighbors(x, y, 0f, out);
+	}
+
+	/**
+	 * Adds every item in the cell containing (x, y, z) and the cells around it (8 in 2D, 26 in 3D) to {@code out},
+	 * without checking their exact positions.
+	 *
+	 * @return out, after modifications
+	 */
+	public <C extends Collection<? super T>> C neighbors (float x, float y, float z, C out) {
+		final int cx = cellCoordinate(x), cy = cellCoordinate(y), cz = dimensions == 2 ? 0 : cellCoordinate(z);
+		final int zr = dimensions == 2 ? 0 : 1;
+		for (int k = cz - zr; k <= cz + zr; k++) {
+			for (int j = cy - 1; j <= cy + 1; j++) {
+				for (int i = cx - 1; i <= cx + 1; i++) {
+					final int slot = locateCell(dimensions == 2 ? packCell(i, j) : packCell(i, j, k));
+					if (slot < 0) {continue;}
+					for (int e = heads[slot] - 1; e >= 0; e = next[e]) {out.add(items[e]);}
+				}
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Adds items in the given box to out; if centerX is not NaN, also requires them to be within the square root of
+	 * radius2 of the center. Visits cells row by row, or scans the whole cell table if that has fewer slots than the
+	 * box has cells.
+	 */
+	protected void collect (float minX, float minY, float minZ, float maxX, float maxY, float maxZ,
+		float centerX, float centerY, float centerZ, float radius2, Collection<? super T> out) {
+		if (dimensions == 2) {
+			if (minZ > 0f || maxZ < 0f) {return;}
+			minZ = maxZ = 0f;
+		}
+		final int x0 = cellCoordinate(minX), x1 = cellCoordinate(maxX);
+		final int y0 = cellCoordinate(minY), y1 = cellCoordinate(maxY);
+		final int z0 = dimensions == 2 ? 0 : cellCoordinate(minZ), z1 = dimensions == 2 ? 0 : cellCoordinate(maxZ);
+		if (x1 < x0 || y1 < y0 || z1 < z0) {return;}
+		final long cells = (x1 - (long)x0 + 1L) * (y1 - (long)y0 + 1L) * (z1 - (long)z0 + 1L);
+		if (cells > heads.length) {
+			for (int s = 0; s < heads.length; s++) {
+				for (int e = heads[s] - 1; e >= 0; e = next[e]) {
+					test(e, minX, minY, minZ, maxX, maxY, maxZ, centerX, centerY, centerZ, radius2, out);
+				}
+			}
+			return;
+		}
+		for (int k = z0; k <= z1; k++) {
+			for (int j = y0; j <= y1; j++) {
+				for (int i = x0; i <= x1; i++) {
+					final int slot = locateCell(dimensions == 2 ? packCell(i, j) : packCell(i, j, k));
+					if (slot < 0) {continue;}
+					for (int e = heads[slot] - 1; e >= 0; e = next[e]) {
+						test(e, minX, minY, minZ, maxX, maxY, maxZ, centerX, centerY, centerZ, radius2, out);
+					}
+				}
+			}
+		}
+	}
+
+	private void test (int e, float minX, float minY, float minZ, float maxX, float maxY, float maxZ,
+		float centerX, float centerY, float centerZ, float radius2, Collection<? super T> out) {
+		final float x = xs[e], y = ys[e], z = getZ(e);
+		if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) {return;}
+		if (centerX == centerX) {
+			final float dx = x - centerX, dy = y - centerY, dz = z - centerZ;
+			if (dx * dx + dy * dy + dz * dz > radius2) {return;}
+		}
+		out.add(items[e]);
+	}
+
+	public int size () {
+		return size;
+	}
+
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	public boolean notEmpty () {
+		return size != 0;
+	}
+
+	/**
+	 * Gets how many cells currently hold at least one item.
+	 */
+	public int getCellCount () {
+		return cellCount;
+	}
+
+	public float getCellSize () {
+		return cellSize;
+	}
+
+	public int getDimensions () {
+		return dimensions;
+	}
+
+	/**
+	 * Removes every item. The cell table keeps its size.
+	 */
+	public void clear () {
+		Utilities.clear(items, 0, size);
+		size = 0;
+		indices.clear();
+		Arrays.fill(heads, 0);
+		cellCount = 0;
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds;
+
+import com.github.tommyettinger.digital.BitConversion;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Comparator;
+import java.util.TreeMap;
+
+/**
+ * The fallback used by {@link ObjectObjectMap} and {@link ObjectSet} when many keys share one {@code hashCode()}, so no
+ * {@code hashMultiplier} can separate them. Each such hashCode is "hot"; keys with a hot hashCode that are
+ * {@link Comparable} are still stored in the backing table, but are placed at scattered free slots instead of after
+ * their colliding peers, and the slot of each is kept in a tree sorted by hashCode and then by
+ * {@link Comparable#compareTo(Object)}. Looking up a hot key takes {@code O(log n)} comparisons instead of a probe
+ * through every key with the same hashCode.
+ * <br>
+ * This is only created by a map or set when its flood defense is on; see {@link ObjectObjectMap#setProbeLimit(int)}.
+ * You should rarely need to use this class directly.
+ */
+public class TreeBuckets {
+	/**
+	 * Orders keys by hashCode, then by class name (so keys of different Comparable types never have to be compared),
+	 * then by their natural ordering.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	protected static final Comparator<Object> ORDER = (a, b) -> {
+		int ha = a.hashCode(), hb = b.hashCode();
+		if (ha != hb) return ha < hb ? -1 : 1;
+		Class<?> ca = a.getClass(), cb = b.getClass();
+		if (ca != cb) return ca.getName().compareTo(cb.getName());
+		return ((Comparable)a).compareTo(b);
+	};
+
+	/**
+	 * The hashCodes that have been treeified.
+	 */
+	protected final IntSet hashes;
+	/**
+	 * Maps each key with a hot hashCode to its slot in the backing table.
+	 */
+	protected final TreeMap<Object, Integer> slots;
+	/**
+	 * Advanced every time a hot key needs a free slot, so consecutive hot keys go to unrelated parts of the table.
+	 */
+	protected int counter;
+
+	/**
+	 * Creates a TreeBuckets with no hot hashCodes.
+	 */
+	public TreeBuckets () {
+		hashes = new IntSet();
+		slots = new TreeMap<>(ORDER);
+	}
+
+	/**
+	 * Creates a copy of {@code other}; the slots refer to the same positions, so this should only be used when the
+	 * backing table is copied exactly.
+	 *
+	 * @param other another TreeBuckets to copy
+	 */
+	public TreeBuckets (TreeBuckets other) {
+		hashes = new IntSet(other.hashes);
+		slots = new TreeMap<>(other.slots);
+		counter = other.counter;
+	}
+
+	/**
+	 * Marks the given hashCode as hot, so Comparable keys with that hashCode will be tracked here.
+	 *
+	 * @param hash a hashCode shared by too many keys
+	 */
+	public void addHash (int hash) {
+		hashes.add(hash);
+	}
+
+	/**
+	 * Returns true if {@code key} is Comparable and its hashCode is hot, meaning it is tracked here.
+	 *
+	 * @param key a non-null key
+	 * @return true if key should be found with {@link #slotOf(Object)} instead of by probing
+	 */
+	public boolean isHot (Object key) {
+		return key instanceof Comparable && hashes.contains(key.hashCode());
+	}
+
+	/**
+	 * Gets the slot that {@code key} was last recorded at, or -1 if it isn't recorded here. The key at that slot in the
+	 * backing table must still be checked for equality, since the slot may have been emptied since.
+	 *
+	 * @param key a hot key, as determined by {@link #isHot(Object)}
+	 * @return the recorded slot, or -1
+	 */
+	public int slotOf (Object key) {
+		Integer slot = slots.get(key);
+		return slot == null ? -1 : slot;
+	}
+
+	/**
+	 * Records {@code key} as being in {@code slot}, if it is hot. Called whenever a key is placed or moved.
+	 *
+	 * @param key  a key that was placed or moved
+	 * @param slot the slot it is now in
+	 */
+	public void moved (Object key, int slot) {
+		if (isHot(key)) slots.put(key, slot);
+	}
+
+	/**
+	 * Stops tracking {@code key}, if it is hot. Called whenever a key is removed.
+	 *
+	 * @param key a key that was removed
+	 */
+	public void removed (@Nullable Object key) {
+		if (key != null && isHot(key)) slots.remove(key);
+	}
+
+	/**
+	 * Forgets every recorded slot, but keeps the set of hot hashCodes. Called before a backing table is rebuilt.
+	 */
+	public void clearSlots () {
+		slots.clear();
+	}
+
+	/**
+	 * Gets a starting point to search for a free slot for a hot key, spread evenly over the table, and changing on
+	 * every call.
+	 *
+	 * @param hashMultiplier the current hashMultiplier of the map or set
+	 * @param shift          the current shift of the map or set
+	 * @return a position between 0 and the mask of the table, inclusive
+	 */
+	public int nextStart (int hashMultiplier, int shift) {
+		return BitConversion.imul(counter += 0x9E3779B9, hashMultiplier | 1) >>> shift;
+	}
+
+	/**
+	 * Gets the number of hot hashCodes.
+	 *
+	 * @return how many hashCodes have been treeified
+	 */
+	public int hashCount () {
+		return hashes.size();
+	}
+
+	/**
+	 * Gets the number of keys with hot hashCodes that are recorded.
+	 *
+	 * @return how many keys are tracked here
+	 */
+	public int size () {
+		return slots.size();
+	}
+}
@@ -244,6 +244,72 @@ public final class Utilities {
 	 */
 	public static final Object neverIdentical = new Object();
 
+	/**
+	 * Hash tables with at most this many slots skip hashing entirely, and find a key by comparing it with every
+	 * occupied slot. For tables this small, that is about as fast as probing, and avoids calling hashCode(). This
+	 * applies to {@link ObjectObjectMap}, {@link IntIntMap}, and {@link IntSet} (and their subclasses), which start in
+	 * this mode when items are added one at a time, and also when they are constructed with a small initial capacity
+	 * or shrunk to one. The other hash-based types always allocate their full table and always hash.
+	 */
+	static final int LINEAR_TABLE_SIZE = 16;
+
+	/**
+	 * The length of the first table that {@link ObjectObjectMap}, {@link IntIntMap}, and {@link IntSet} (and their
+	 * subclasses) create when a single insertion needs one and a larger table was planned. It doubles as needed while
+	 * it is at most {@link #LINEAR_TABLE_SIZE} slots, then grows to the planned size.
+	 */
+	static final int COMPACT_TABLE_SIZE = 4;
+
+	/**
+	 * Shared by hash tables that haven't had anything inserted yet; they allocate their real tables on the first
+	 * insertion. This is always empty, so nothing can be written to it.
+	 */
+	static final @Nullable Object[] EMPTY_OBJECTS = new Object[0];
+
+	/**
+	 * Shared by int-keyed hash tables that haven't had anything inserted yet; see {@link #EMPTY_OBJECTS}.
+	 */
+	static final int[] EMPTY_INTS = new int[0];
+
+	/**
+	 * Shared by empty long-valued structures, like {@link LongLongMultimap}; see {@link #EMPTY_OBJECTS}.
+	 */
+	static final long[] EMPTY_LONGS = new long[0];
+
+	/**
+	 * Used by the compact maps for the widths of index table they aren't using; see {@link #EMPTY_OBJECTS}.
+	 */
+	static final byte[] EMPTY_BYTES = new byte[0];
+
+	/**
+	 * Used by the compact maps for the widths of index table they aren't using; see {@link #EMPTY_OBJECTS}.
+	 */
+	static final short[] EMPTY_SHORTS = new short[0];
+
+	/**
+	 * Checks that the first {@code n} items of {@code permutation} contain every int from 0 to {@code n - 1} exactly
+	 * once, so callers can find out before they move anything, and returns those items in order. This is the backing
+	 * array of permutation unless {@code copy} is true or permutation is an {@link IntDeque}, whose items may not start
+	 * at index 0; then it is a new array.
+	 *
+	 * @param permutation a permutation that should have at least n items
+	 * @param n           how many indices the permutation should cover
+	 * @param copy        true if the result must not share an array with permutation
+	 * @return the items of permutation in order, as an int array with at least n items
+	 * @throws IllegalArgumentException if permutation is missing any index or has any index twice
+	 */
+	static int[] checkPermutation (IntList permutation, int n, boolean copy) {
+		final int[] order = copy || permutation instanceof IntDeque ? permutation.toArray() : permutation.items;
+		final long[] seen = new long[n + 63 >>> 6];
+		for (int i = 0; i < n; i++) {
+			final int k = order[i];
+			if (k < 0 || k >= n || (seen[k >>> 6] & 1L << k) != 0L)
+				throw new IllegalArgumentException("The permutation must contain each index exactly once.");
+			seen[k >>> 6] |= 1L << k;
+		}
+		return order;
+	}
+
 	/**
 	 * A float that is meant to be used as the smallest reasonable tolerance for methods like {@link #isEqual(float, float, float)}.
 	 */
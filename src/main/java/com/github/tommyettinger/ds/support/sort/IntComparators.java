@@ -338,4 +338,85 @@ public final class IntComparators {
 		// Merge sorted halves
 		inPlaceMerge(items, from, mid, to, c);
 	}
+
+	/**
+	 * Sorts the specified range of elements according to the order induced by the specified comparator, using a
+	 * mergesort that copies the range into a temporary array.
+	 * <br>
+	 * Like {@link #sort(int[], int, int, IntComparator)}, this is stable. Unlike that method, this allocates an int
+	 * array as long as {@code to}, but in exchange its running time is <i>O</i>(<var>n</var>&nbsp;log&nbsp;<var>n</var>),
+	 * which is much faster for large ranges. This is most useful when {@code items} are indices into other arrays,
+	 * and {@code c} compares what those indices refer to; see {@link #argsort(int, IntComparator)}.
+	 *
+	 * @param items the int array to be sorted
+	 * @param from  the index of the first element (inclusive) to be sorted.
+	 * @param to    the index of the last element (exclusive) to be sorted.
+	 * @param c     a non-null IntComparator to determine the sort order
+	 */
+	public static void mergeSort (int[] items, final int from, final int to, final IntComparator c) {
+		if (to - from < 2) {
+			return;
+		}
+		if (from < 0 || to > items.length) {
+			throw new UnsupportedOperationException("The given from/to range in IntComparators.mergeSort() is invalid.");
+		}
+		final int[] buffer = new int[to];
+		System.arraycopy(items, from, buffer, from, to - from);
+		mergeSort(buffer, items, from, to, c);
+	}
+
+	/**
+	 * Sorts {@code dest} from {@code low} to {@code high}, using {@code src} (which must hold the same items in that
+	 * range) as scratch space. When this returns, only dest is guaranteed to be sorted.
+	 */
+	private static void mergeSort (final int[] src, final int[] dest, final int low, final int high, final IntComparator c) {
+		final int length = high - low;
+
+		// Insertion sort on smallest arrays, less than 16 items
+		if (length < 16) {
+			for (int i = low; i < high; i++) {
+				for (int j = i; j > low && c.compare(dest[j - 1], dest[j]) > 0; j--) {
+					swap(dest, j, j - 1);
+				}
+			}
+			return;
+		}
+
+		// Recursively sort halves of dest into src
+		final int mid = low + high >>> 1;
+		mergeSort(dest, src, low, mid, c);
+		mergeSort(dest, src, mid, high, c);
+
+		// If the halves are already in order, just copy them back.
+		if (c.compare(src[mid - 1], src[mid]) <= 0) {
+			System.arraycopy(src, low, dest, low, length);
+			return;
+		}
+
+		// Merge sorted halves from src into dest
+		for (int i = low, p = low, q = mid; i < high; i++) {
+			if (q >= high || p < mid && c.compare(src[p], src[q]) <= 0) {dest[i] = src[p++];}
+			else {dest[i] = src[q++];}
+		}
+	}
+
+	/**
+	 * Gets the indices from 0 (inclusive) to {@code size} (exclusive), stably sorted by {@code c}, which should compare
+	 * two indices by what they refer to. For example, if {@code values} is an array of floats,
+	 * {@code argsort(values.length, (a, b) -> Float.compare(values[a], values[b]))} returns the indices of values in
+	 * ascending order of the value at each index, with ties in index order. This uses
+	 * {@link #mergeSort(int[], int, int, IntComparator)}.
+	 *
+	 * @param size how many indices to sort; the result will contain every int from 0 to size - 1
+	 * @param c    a non-null IntComparator that compares two indices
+	 * @return a new int array holding a permutation of 0 to size - 1, sorted by c
+	 */
+	public static int[] argsort (final int size, final IntComparator c) {
+		final int[] indices = new int[Math.max(size, 0)];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = i;
+		}
+		mergeSort(indices, 0, indices.length, c);
+		return indices;
+	}
 }
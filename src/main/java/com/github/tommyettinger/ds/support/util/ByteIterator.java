@@ -59,6 +59,34 @@ public interface ByteIterator extends Iterator<Byte> {
 		while (hasNext()) {action.accept(nextByte());}
 	}
 
+	/**
+	 * Writes up to {@code max} of the remaining elements into {@code dest}, starting at index {@code offset}, and
+	 * returns how many were written. This only returns 0 when there are no more elements or {@code max} is 0 or less,
+	 * so a loop can call this until it returns 0. Iterators over array-backed collections copy whole runs at once here,
+	 * and the wrapping iterators in this package pass batches through to the iterators they wrap, so a pipeline of them
+	 * can move items in chunks instead of making several virtual calls per item.
+	 * <br>
+	 * Whether {@link #remove()} can be called after this depends on the implementation; list iterators remove the
+	 * last item written.
+	 *
+	 * @param dest   the array to write into
+	 * @param offset the first index in dest to write to
+	 * @param max    the most items to write
+	 * @return how many items were written
+	 * @implSpec <p>The default implementation behaves as if:
+	 * <pre>{@code
+	 *     int count = 0;
+	 *     while (count < max && hasNext())
+	 *         dest[offset + count++] = nextByte();
+	 *     return count;
+	 * }</pre>
+	 */
+	default int nextBatch (byte[] dest, int offset, int max) {
+		int count = 0;
+		while (count < max && hasNext()) {dest[offset + count++] = nextByte();}
+		return count;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
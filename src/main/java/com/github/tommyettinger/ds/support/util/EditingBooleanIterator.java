@@ -61,6 +61,18 @@ public class EditingBooleanIterator implements BooleanIterator {
         return editor.test(iterator.nextBoolean());
     }
 
+    /**
+     * Fills {@code dest} using the wrapped iterator's own {@code nextBatch()}, then edits each item in place.
+     */
+    @Override
+    public int nextBatch (boolean[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, max);
+        for (int i = offset, e = offset + n; i < e; i++) {
+            dest[i] = editor.test(dest[i]);
+        }
+        return n;
+    }
+
     @Override
     public void remove () {
         iterator.remove();
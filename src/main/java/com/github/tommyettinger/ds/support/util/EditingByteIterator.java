@@ -60,6 +60,18 @@ public class EditingByteIterator implements ByteIterator {
         return editor.applyAsByte(iterator.nextByte());
     }
 
+    /**
+     * Fills {@code dest} using the wrapped iterator's own {@code nextBatch()}, then edits each item in place.
+     */
+    @Override
+    public int nextBatch (byte[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, max);
+        for (int i = offset, e = offset + n; i < e; i++) {
+            dest[i] = editor.applyAsByte(dest[i]);
+        }
+        return n;
+    }
+
     @Override
     public void remove () {
         iterator.remove();
@@ -60,6 +60,18 @@ public class EditingCharIterator implements CharIterator {
         return editor.applyAsChar(iterator.nextChar());
     }
 
+    /**
+     * Fills {@code dest} using the wrapped iterator's own {@code nextBatch()}, then edits each item in place.
+     */
+    @Override
+    public int nextBatch (char[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, max);
+        for (int i = offset, e = offset + n; i < e; i++) {
+            dest[i] = editor.applyAsChar(dest[i]);
+        }
+        return n;
+    }
+
     @Override
     public void remove () {
         iterator.remove();
@@ -60,6 +60,18 @@ public class EditingDoubleIterator implements DoubleIterator {
         return editor.applyAsDouble(iterator.nextDouble());
     }
 
+    /**
+     * Fills {@code dest} using the wrapped iterator's own {@code nextBatch()}, then edits each item in place.
+     */
+    @Override
+    public int nextBatch (double[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, max);
+        for (int i = offset, e = offset + n; i < e; i++) {
+            dest[i] = editor.applyAsDouble(dest[i]);
+        }
+        return n;
+    }
+
     @Override
     public void remove () {
         iterator.remove();
@@ -60,6 +60,18 @@ public class EditingFloatIterator implements FloatIterator {
         return editor.applyAsFloat(iterator.nextFloat());
     }
 
+    /**
+     * Fills {@code dest} using the wrapped iterator's own {@code nextBatch()}, then edits each item in place.
+     */
+    @Override
+    public int nextBatch (float[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, max);
+        for (int i = offset, e = offset + n; i < e; i++) {
+            dest[i] = editor.applyAsFloat(dest[i]);
+        }
+        return n;
+    }
+
     @Override
     public void remove () {
         iterator.remove();
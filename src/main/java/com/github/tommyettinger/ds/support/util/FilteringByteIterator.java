@@ -79,6 +79,34 @@ public class FilteringByteIterator implements ByteIterator {
         return result;
     }
 
+    /**
+     * Reads batches from the wrapped iterator straight into {@code dest} and packs the items that pass the filter
+     * toward the start, so no other buffer is needed. Calling {@link #remove()} right after this is not supported,
+     * because the wrapped iterator may have read past the last item written.
+     */
+    @Override
+    public int nextBatch (byte[] dest, int offset, int max) {
+        if (end || max <= 0) return 0;
+        int count = 0;
+        if (available) {
+            dest[offset] = next;
+            available = false;
+            count = 1;
+        }
+        while (count < max) {
+            final int start = offset + count;
+            final int n = iterator.nextBatch(dest, start, max - count);
+            if (n <= 0) {
+                end = true;
+                break;
+            }
+            for (int i = start, e = start + n; i < e; i++) {
+                if (filter.test(dest[i])) dest[offset + count++] = dest[i];
+            }
+        }
+        return count;
+    }
+
     @Override
     public void remove() {
         if (available) throw new IllegalStateException("Cannot remove between a call to hasNext() and next().");
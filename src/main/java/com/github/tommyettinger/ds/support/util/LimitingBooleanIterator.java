@@ -53,7 +53,17 @@ public class LimitingBooleanIterator implements BooleanIterator {
     @Override
     public boolean nextBoolean () {
         remaining--;
-        return iterator.next();
+        return iterator.nextBoolean();
+    }
+
+    /**
+     * Passes a batch of at most the remaining limit through from the wrapped iterator.
+     */
+    @Override
+    public int nextBatch (boolean[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, Math.min(max, remaining));
+        remaining -= n;
+        return n;
     }
 
     @Override
@@ -53,7 +53,17 @@ public class LimitingByteIterator implements ByteIterator {
     @Override
     public byte nextByte () {
         remaining--;
-        return iterator.next();
+        return iterator.nextByte();
+    }
+
+    /**
+     * Passes a batch of at most the remaining limit through from the wrapped iterator.
+     */
+    @Override
+    public int nextBatch (byte[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, Math.min(max, remaining));
+        remaining -= n;
+        return n;
     }
 
     @Override
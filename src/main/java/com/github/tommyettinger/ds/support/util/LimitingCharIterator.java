@@ -53,7 +53,17 @@ public class LimitingCharIterator implements CharIterator {
     @Override
     public char nextChar () {
         remaining--;
-        return iterator.next();
+        return iterator.nextChar();
+    }
+
+    /**
+     * Passes a batch of at most the remaining limit through from the wrapped iterator.
+     */
+    @Override
+    public int nextBatch (char[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, Math.min(max, remaining));
+        remaining -= n;
+        return n;
     }
 
     @Override
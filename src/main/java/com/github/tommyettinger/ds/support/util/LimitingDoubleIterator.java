@@ -53,7 +53,17 @@ public class LimitingDoubleIterator implements DoubleIterator {
     @Override
     public double nextDouble () {
         remaining--;
-        return iterator.next();
+        return iterator.nextDouble();
+    }
+
+    /**
+     * Passes a batch of at most the remaining limit through from the wrapped iterator.
+     */
+    @Override
+    public int nextBatch (double[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, Math.min(max, remaining));
+        remaining -= n;
+        return n;
     }
 
     @Override
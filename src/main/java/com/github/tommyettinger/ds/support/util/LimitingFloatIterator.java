@@ -53,7 +53,17 @@ public class LimitingFloatIterator implements FloatIterator {
     @Override
     public float nextFloat () {
         remaining--;
-        return iterator.next();
+        return iterator.nextFloat();
+    }
+
+    /**
+     * Passes a batch of at most the remaining limit through from the wrapped iterator.
+     */
+    @Override
+    public int nextBatch (float[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, Math.min(max, remaining));
+        remaining -= n;
+        return n;
     }
 
     @Override
@@ -53,7 +53,17 @@ public class LimitingIntIterator implements IntIterator {
     @Override
     public int nextInt () {
         remaining--;
-        return iterator.next();
+        return iterator.nextInt();
+    }
+
+    /**
+     * Passes a batch of at most the remaining limit through from the wrapped iterator.
+     */
+    @Override
+    public int nextBatch (int[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, Math.min(max, remaining));
+        remaining -= n;
+        return n;
     }
 
     @Override
@@ -53,7 +53,17 @@ public class LimitingLongIterator implements LongIterator {
     @Override
     public long nextLong () {
         remaining--;
-        return iterator.next();
+        return iterator.nextLong();
+    }
+
+    /**
+     * Passes a batch of at most the remaining limit through from the wrapped iterator.
+     */
+    @Override
+    public int nextBatch (long[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, Math.min(max, remaining));
+        remaining -= n;
+        return n;
     }
 
     @Override
@@ -53,7 +53,17 @@ public class LimitingShortIterator implements ShortIterator {
     @Override
     public short nextShort () {
         remaining--;
-        return iterator.next();
+        return iterator.nextShort();
+    }
+
+    /**
+     * Passes a batch of at most the remaining limit through from the wrapped iterator.
+     */
+    @Override
+    public int nextBatch (short[] dest, int offset, int max) {
+        final int n = iterator.nextBatch(dest, offset, Math.min(max, remaining));
+        remaining -= n;
+        return n;
     }
 
     @Override
@@ -61,7 +61,7 @@ public class StridingDoubleIterator implements DoubleIterator {
         if (end) return false;
         if (available) return true;
         while (iterator.hasNext()) {
-            final double n = iterator.next();
+            final double n = iterator.nextDouble();
             if (++index >= offset && (index - offset) % stride == 0) {
                 next = n;
                 available = true;
@@ -80,6 +80,34 @@ public class StridingDoubleIterator implements DoubleIterator {
         return result;
     }
 
+    /**
+     * Reads batches from the wrapped iterator straight into {@code dest} and packs the items that match the offset
+     * and stride toward the start, so no other buffer is needed. Calling {@link #remove()} right after this is not
+     * supported, because the wrapped iterator may have read past the last item written.
+     */
+    @Override
+    public int nextBatch (double[] dest, int offset, int max) {
+        if (end || max <= 0) return 0;
+        int count = 0;
+        if (available) {
+            dest[offset] = next;
+            available = false;
+            count = 1;
+        }
+        while (count < max) {
+            final int start = offset + count;
+            final int n = iterator.nextBatch(dest, start, max - count);
+            if (n <= 0) {
+                end = true;
+                break;
+            }
+            for (int i = start, e = start + n; i < e; i++) {
+                if (++index >= this.offset && (index - this.offset) % stride == 0) dest[offset + count++] = dest[i];
+            }
+        }
+        return count;
+    }
+
     /**
      * NOTE: this does not change the stride or offset, so the same sequence of values will be returned regardless of if
      * some elements are removed with this method.
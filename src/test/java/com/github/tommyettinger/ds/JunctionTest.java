@@ -17,6 +17,7 @@
 package com.github.tommyettinger.ds;
 
 import com.github.tommyettinger.ds.Junction.*;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Map;
@@ -65,4 +66,98 @@ public class JunctionTest {
         Junction<String> junction = Junction.parse(text);
         System.out.println("Parsed: " + junction);
     }
+
+    enum Tag {
+        MISS, BLOCK, FUMBLE, COUNTER, CARDIAC_ARREST
+    }
+
+    @Test
+    public void testCompiled() {
+        String[] names = {"miss", "block", "fumble", "counter", "cardiac-arrest"};
+        String[] texts = {"((~cardiac-arrest&fumble)|(block&miss))", "miss^block^fumble", "~(miss|counter)",
+                "miss", "(miss&block)^(fumble|counter)", "~~fumble&~block"};
+        for (String text : texts) {
+            Junction<String> junction = Junction.parse(text);
+            CompiledJunction<String> compiled = junction.compile();
+            Junction<Tag> enumJunction = Junction.parse(s -> s.isEmpty() ? Tag.MISS : Tag.valueOf(s.toUpperCase().replace('-', '_')), text);
+            CompiledJunction<Tag> compiledEnum = enumJunction.compile();
+            Junction<Integer> intJunction = Junction.parse(s -> 100 + ObjectList.with(names).indexOf(s), text);
+            CompiledJunction<Integer> compiledInt = intJunction.compile();
+            for (int bits = 0; bits < 1 << names.length; bits++) {
+                ObjectSet<String> tags = new ObjectSet<>();
+                EnumSet enumTags = EnumSet.noneOf(Tag.values());
+                OffsetBitSet intTags = new OffsetBitSet(90, 110);
+                for (int i = 0; i < names.length; i++) {
+                    if ((bits & 1 << i) != 0) {
+                        tags.add(names[i]);
+                        enumTags.add(Tag.values()[i]);
+                        intTags.add(100 + i);
+                    }
+                }
+                boolean expected = junction.match(tags);
+                Assert.assertEquals(text + " with " + tags, expected, compiled.match(tags));
+                Assert.assertEquals(text + " with " + tags, expected, compiledEnum.match(enumTags));
+                Assert.assertEquals(text + " with " + tags, expected, compiledInt.match(intTags));
+            }
+        }
+        ObjectList<ObjectSet<String>> batch = ObjectList.with(ObjectSet.with("miss", "block"), ObjectSet.with("fumble"),
+                ObjectSet.with("fumble", "cardiac-arrest"));
+        ObjectList<ObjectSet<String>> matched = new ObjectList<>();
+        Assert.assertEquals(2, Junction.parse("((~cardiac-arrest&fumble)|(block&miss))").compile().filter(batch, matched));
+        Assert.assertEquals(ObjectList.with(batch.get(0), batch.get(1)), matched);
+    }
+
+    @Test
+    public void testCompiledDuplicateLeaf() {
+        ObjectList<Junction<String>> junctions = ObjectList.with(
+                new Junction<>(One.of(Leaf.of("a"), Leaf.of("a"))),
+                new Junction<>(One.of(Leaf.of("a"), Leaf.of("a"), Leaf.of("b"))),
+                new Junction<>(One.of(Leaf.of("b"), Leaf.of("a"), Leaf.of("c"), Leaf.of("a"))),
+                new Junction<>(Not.of(One.of(Leaf.of("a"), Leaf.of("b"), Leaf.of("a")))),
+                new Junction<>(Any.of(One.of(Leaf.of("a"), Leaf.of("a")), All.of(Leaf.of("b"), Leaf.of("b")))),
+                new Junction<>(One.of(Any.of(Leaf.of("a"), Leaf.of("a")), Leaf.of("c"))));
+        String[] names = {"a", "b", "c"};
+        for (Junction<String> junction : junctions) {
+            CompiledJunction<String> compiled = junction.compile();
+            for (int bits = 0; bits < 1 << names.length; bits++) {
+                ObjectSet<String> tags = new ObjectSet<>();
+                for (int i = 0; i < names.length; i++) {
+                    if ((bits & 1 << i) != 0) tags.add(names[i]);
+                }
+                Assert.assertEquals(junction + " with " + tags, junction.match(tags), compiled.match(tags));
+            }
+        }
+        Assert.assertFalse(new Junction<>(One.of(Leaf.of("a"), Leaf.of("a"))).compile().match(ObjectSet.with("a")));
+    }
+
+    @Test
+    public void testIndex() {
+        String[] names = {"miss", "block", "fumble", "counter", "cardiac-arrest"};
+        String[] texts = {"((~cardiac-arrest&fumble)|(block&miss))", "miss^block^fumble", "~(miss|counter)",
+                "miss", "(miss&block)^(fumble|counter)", "~~fumble&~block", "block&counter&miss", "counter|fumble"};
+        JunctionIndex<String> index = new JunctionIndex<>();
+        ObjectList<Junction<String>> junctions = new ObjectList<>();
+        for (String text : texts) {
+            Junction<String> j = Junction.parse(text);
+            junctions.add(j);
+            Assert.assertEquals(junctions.size() - 1, index.add(j));
+        }
+        Assert.assertTrue(index.remove(1));
+        Assert.assertFalse(index.remove(1));
+        IntList found = new IntList(), expected = new IntList();
+        for (int bits = 0; bits < 1 << names.length; bits++) {
+            ObjectSet<String> tags = new ObjectSet<>();
+            for (int i = 0; i < names.length; i++) {
+                if ((bits & 1 << i) != 0) tags.add(names[i]);
+            }
+            found.clear();
+            expected.clear();
+            index.match(tags, found);
+            for (int i = 0; i < junctions.size(); i++) {
+                if (i != 1 && junctions.get(i).match(tags)) expected.add(i);
+            }
+            found.sort();
+            Assert.assertEquals(tags.toString(), expected, found);
+        }
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.CharList;
+import com.github.tommyettinger.ds.FloatDeque;
+import com.github.tommyettinger.ds.FloatList;
+import com.github.tommyettinger.ds.IntDeque;
+import com.github.tommyettinger.ds.IntList;
+import com.github.tommyettinger.ds.ObjectList;
+import com.github.tommyettinger.ds.ObjectObjectOrderedMap;
+import com.github.tommyettinger.ds.support.sort.FloatComparators;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class ArgsortTest {
+	@Test
+	public void testArgsort() {
+		FloatList values = FloatList.with(3f, 1f, 2f, 1f, 0f);
+		IntList order = values.argsort(null);
+		Assert.assertEquals(IntList.with(4, 1, 3, 2, 0), order);
+		Assert.assertEquals(FloatList.with(3f, 1f, 2f, 1f, 0f), values);
+		Assert.assertEquals(IntList.with(0, 2, 1, 3, 4), values.argsort(FloatComparators.OPPOSITE_COMPARATOR));
+
+		ObjectList<String> words = ObjectList.with("pear", "apple", "fig", "apple");
+		Assert.assertEquals(IntList.with(1, 3, 2, 0), words.argsort(null));
+		Assert.assertEquals(IntList.with(2, 0, 1, 3), words.argsort((a, b) -> a.length() - b.length()));
+		Assert.assertEquals(0, new IntList().argsort(null).size());
+	}
+
+	@Test
+	public void testApplyPermutation() {
+		Random random = new Random(1L);
+		IntList list = new IntList(200);
+		for (int i = 0; i < 200; i++) list.add(random.nextInt(50));
+		IntList original = new IntList(list);
+		IntList order = list.argsort(null);
+		IntDeque deque = new IntDeque(list.toArray());
+		ObjectList<Integer> boxed = new ObjectList<>(200);
+		for (int i = 0; i < 200; i++) boxed.add(list.get(i));
+
+		list.applyPermutation(order);
+		deque.applyPermutation(order);
+		boxed.applyPermutation(order);
+		for (int i = 0; i < 200; i++) {
+			Assert.assertEquals(original.get(order.get(i)), list.get(i));
+			Assert.assertEquals(list.get(i), deque.get(i));
+			Assert.assertEquals(list.get(i), (int)boxed.get(i));
+			if (i > 0) Assert.assertTrue(list.get(i - 1) <= list.get(i));
+		}
+
+		ObjectObjectOrderedMap<String, Integer> map = new ObjectObjectOrderedMap<>();
+		map.put("c", 3);
+		map.put("a", 1);
+		map.put("b", 2);
+		map.applyPermutation(IntList.with(1, 2, 0));
+		Assert.assertEquals(ObjectList.with("a", "b", "c"), map.order());
+
+		Assert.assertThrows(IllegalArgumentException.class, () -> list.applyPermutation(IntList.with(0, 1)));
+		Assert.assertThrows(IllegalArgumentException.class, () -> CharList.with('a', 'b', 'c').applyPermutation(IntList.with(1, 1, 0)));
+		Assert.assertThrows(IllegalArgumentException.class, () -> new IntDeque(new int[]{1, 2}).applyPermutation(IntList.with(0, 2)));
+	}
+
+	@Test
+	public void testCoSort() {
+		IntList ids = IntList.with(30, 10, 20, 10);
+		ObjectList<String> names = ObjectList.with("thirty", "ten", "twenty", "ten again");
+		FloatList scores = FloatList.with(3.5f, 1.5f, 2.5f, 1.25f);
+		IntList order = ids.coSort(null, names, scores);
+		Assert.assertEquals(IntList.with(1, 3, 2, 0), order);
+		Assert.assertEquals(IntList.with(10, 10, 20, 30), ids);
+		Assert.assertEquals(ObjectList.with("ten", "ten again", "twenty", "thirty"), names);
+		Assert.assertEquals(FloatList.with(1.5f, 1.25f, 2.5f, 3.5f), scores);
+
+		names.coSort(null, ids, scores);
+		Assert.assertEquals(ObjectList.with("ten", "ten again", "thirty", "twenty"), names);
+		Assert.assertEquals(IntList.with(10, 10, 30, 20), ids);
+
+		Assert.assertThrows(IllegalArgumentException.class, () -> ids.coSort(null, FloatList.with(1f)));
+		Assert.assertEquals(IntList.with(10, 10, 30, 20), ids);
+	}
+
+	@Test
+	public void testWrappedDeque() {
+		IntDeque deque = new IntDeque(8);
+		deque.addAll(new int[]{20, 30, 40, 50, 5, 7});
+		deque.addFirst(99);
+		Assert.assertEquals(IntList.with(99, 20, 30, 40, 50, 5, 7), new IntList(deque.toArray()));
+		IntList order = deque.argsort(null);
+		Assert.assertEquals(IntList.with(5, 6, 1, 2, 3, 4, 0), order);
+		FloatDeque scores = new FloatDeque(8);
+		scores.addAll(new float[]{2f, 3f, 4f, 5f, 0.5f, 0.7f});
+		scores.addFirst(9.9f);
+		Assert.assertEquals(order, deque.coSort(null, scores));
+		Assert.assertEquals(IntList.with(5, 7, 20, 30, 40, 50, 99), new IntList(deque.toArray()));
+		Assert.assertEquals(FloatList.with(0.5f, 0.7f, 2f, 3f, 4f, 5f, 9.9f), new FloatList(scores.toArray()));
+
+		Random random = new Random(2L);
+		for (int round = 0; round < 20; round++) {
+			IntDeque wrapped = new IntDeque(16);
+			IntList plain = new IntList(16);
+			for (int i = 0; i < 30; i++) {
+				int item = random.nextInt(10);
+				if (random.nextBoolean()) {
+					wrapped.addFirst(item);
+					plain.insert(0, item);
+				} else {
+					wrapped.addLast(item);
+					plain.add(item);
+				}
+			}
+			IntDeque permutation = new IntDeque(16);
+			IntList sorted = plain.argsort(null);
+			for (int i = sorted.size() - 1; i >= 0; i--) permutation.addFirst(sorted.get(i));
+			Assert.assertEquals(sorted, wrapped.argsort(null));
+			wrapped.applyPermutation(permutation);
+			plain.applyPermutation(permutation);
+			Assert.assertEquals(plain, new IntList(wrapped.toArray()));
+			wrapped.applyPermutation(wrapped.argsort(null));
+			Assert.assertEquals(plain, new IntList(wrapped.toArray()));
+		}
+	}
+
+	@Test
+	public void testEmptyDeque() {
+		Assert.assertEquals(new IntList(), new IntDeque().argsort(null));
+		Assert.assertEquals(new IntList(), new FloatDeque().argsort(null));
+		Assert.assertEquals(new IntList(), new IntDeque().coSort(null));
+		IntDeque emptied = new IntDeque(4);
+		emptied.addAll(new int[]{3, 1, 2});
+		emptied.removeFirst();
+		emptied.removeFirst();
+		emptied.removeFirst();
+		Assert.assertEquals(0, emptied.toArray().length);
+		Assert.assertEquals(new IntList(), emptied.argsort(null));
+		emptied.applyPermutation(new IntList());
+		Assert.assertTrue(emptied.isEmpty());
+	}
+
+	@Test
+	public void testInvalidPermutation() {
+		IntList list = IntList.with(1, 2, 3);
+		Assert.assertThrows(IllegalArgumentException.class, () -> list.applyPermutation(IntList.with(1, 2, 1)));
+		Assert.assertEquals(IntList.with(1, 2, 3), list);
+		Assert.assertThrows(IllegalArgumentException.class, () -> list.applyPermutation(IntList.with(1, 2, 3)));
+		Assert.assertEquals(IntList.with(1, 2, 3), list);
+
+		IntDeque deque = new IntDeque(4);
+		deque.addAll(new int[]{2, 3});
+		deque.addFirst(1);
+		Assert.assertThrows(IllegalArgumentException.class, () -> deque.applyPermutation(IntList.with(1, 2, 1)));
+		Assert.assertEquals(IntList.with(1, 2, 3), new IntList(deque.toArray()));
+
+		ObjectList<String> words = ObjectList.with("a", "b", "c");
+		Assert.assertThrows(IllegalArgumentException.class, () -> words.applyPermutation(IntList.with(1, 2, 1)));
+		Assert.assertEquals(ObjectList.with("a", "b", "c"), words);
+
+		ObjectObjectOrderedMap<String, Integer> map = new ObjectObjectOrderedMap<>();
+		map.put("a", 1);
+		map.put("b", 2);
+		map.put("c", 3);
+		Assert.assertThrows(IllegalArgumentException.class, () -> map.applyPermutation(IntList.with(1, 2, 1)));
+		Assert.assertEquals(ObjectList.with("a", "b", "c"), map.order());
+	}
+}
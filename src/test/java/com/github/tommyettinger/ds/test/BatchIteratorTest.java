@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.CharDeque;
+import com.github.tommyettinger.ds.CharList;
+import com.github.tommyettinger.ds.IntDeque;
+import com.github.tommyettinger.ds.IntList;
+import com.github.tommyettinger.ds.IntOrderedSet;
+import com.github.tommyettinger.ds.IntSet;
+import com.github.tommyettinger.ds.support.util.CharIterator;
+import com.github.tommyettinger.ds.support.util.EditingIntIterator;
+import com.github.tommyettinger.ds.support.util.FilteringIntIterator;
+import com.github.tommyettinger.ds.support.util.IntIterator;
+import com.github.tommyettinger.ds.support.util.LimitingIntIterator;
+import com.github.tommyettinger.ds.support.util.StridingIntIterator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class BatchIteratorTest {
+	/**
+	 * Drains an iterator one item at a time.
+	 */
+	private static IntList single (IntIterator it) {
+		IntList out = new IntList();
+		while (it.hasNext()) {out.add(it.nextInt());}
+		return out;
+	}
+
+	/**
+	 * Drains an iterator with batches of varying sizes, written at varying offsets.
+	 */
+	private static IntList batched (IntIterator it, Random random) {
+		IntList out = new IntList();
+		int[] buffer = new int[40];
+		int n;
+		do {
+			int offset = random.nextInt(8);
+			n = it.nextBatch(buffer, offset, 1 + random.nextInt(buffer.length - offset));
+			out.addAll(buffer, offset, n);
+		} while (n > 0);
+		Assert.assertFalse(it.hasNext());
+		Assert.assertEquals(0, it.nextBatch(buffer, 0, buffer.length));
+		return out;
+	}
+
+	@Test
+	public void testCollections () {
+		Random random = new Random(1L);
+		for (int size : new int[]{0, 1, 7, 100, 1000}) {
+			IntList list = new IntList();
+			IntDeque deque = new IntDeque(4);
+			IntSet set = new IntSet();
+			IntOrderedSet ordered = new IntOrderedSet();
+			for (int i = 0; i < size; i++) {
+				int item = random.nextInt(5000) - 100;
+				list.add(item);
+				set.add(item);
+				ordered.add(item);
+				// Mixing both ends makes the deque's storage wrap around.
+				if ((i & 1) == 0) {deque.addLast(item);} else {deque.addFirst(item);}
+			}
+			set.add(0);
+			Assert.assertEquals(single(list.iterator()), batched(list.iterator(), random));
+			Assert.assertEquals(single(deque.iterator()), batched(deque.iterator(), random));
+			Assert.assertEquals(single(deque.descendingIterator()), batched(deque.descendingIterator(), random));
+			Assert.assertEquals(single(set.iterator()), batched(set.iterator(), random));
+			Assert.assertEquals(single(ordered.iterator()), batched(ordered.iterator(), random));
+
+			IntList copy = new IntList(2);
+			copy.addAll(deque.iterator());
+			Assert.assertEquals(deque, copy);
+			IntDeque dequeCopy = new IntDeque(3);
+			dequeCopy.addLast(-9);
+			dequeCopy.addAll(list.iterator());
+			Assert.assertEquals(size + 1, dequeCopy.size());
+			IntList tail = new IntList(dequeCopy.iterator());
+			tail.removeRange(0, 1);
+			Assert.assertEquals(list, tail);
+			IntSet setCopy = new IntSet();
+			setCopy.addAll(list.iterator());
+			setCopy.add(0);
+			Assert.assertEquals(set, setCopy);
+		}
+	}
+
+	@Test
+	public void testWrappers () {
+		Random random = new Random(2L);
+		IntList list = new IntList();
+		for (int i = 0; i < 2000; i++) {list.add(random.nextInt(1000));}
+		for (int trial = 0; trial < 20; trial++) {
+			int offset = random.nextInt(5), stride = 1 + random.nextInt(6), limit = random.nextInt(600), add = random.nextInt(9);
+			IntIterator a = new LimitingIntIterator(new EditingIntIterator(new StridingIntIterator(
+				new FilteringIntIterator(new IntList.IntListIterator(list), x -> x % 3 != 0), offset, stride), x -> x + add), limit);
+			IntIterator b = new LimitingIntIterator(new EditingIntIterator(new StridingIntIterator(
+				new FilteringIntIterator(new IntList.IntListIterator(list), x -> x % 3 != 0), offset, stride), x -> x + add), limit);
+			// Starting with hasNext() leaves the wrappers holding a look-ahead item that a batch must include.
+			Assert.assertEquals(a.hasNext(), b.hasNext());
+			Assert.assertEquals(single(a), batched(b, random));
+		}
+	}
+
+	@Test
+	public void testListRemoveAfterBatch () {
+		IntList list = IntList.with(1, 2, 3, 4, 5);
+		IntList.IntListIterator it = list.iterator();
+		int[] buffer = new int[3];
+		Assert.assertEquals(3, it.nextBatch(buffer, 0, 3));
+		it.remove();
+		Assert.assertEquals(IntList.with(1, 2, 4, 5), list);
+		Assert.assertEquals(4, it.nextInt());
+
+		CharDeque deque = new CharDeque(4);
+		deque.addLast('c');
+		deque.addLast('d');
+		deque.addFirst('b');
+		deque.addFirst('a');
+		deque.addLast('e');
+		CharIterator ci = deque.iterator();
+		char[] chars = new char[8];
+		Assert.assertEquals(5, ci.nextBatch(chars, 2, 6));
+		Assert.assertEquals("abcde", new String(chars, 2, 5));
+		CharList cl = new CharList();
+		cl.addAll(deque.iterator());
+		Assert.assertEquals("abcde", new String(cl.toArray()));
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.CachePolicy;
+import com.github.tommyettinger.ds.IntObjectCache;
+import com.github.tommyettinger.ds.ObjectObjectCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class CacheTest {
+	@Test
+	public void testLruMatchesLinkedHashMap () {
+		final int cap = 50;
+		LinkedHashMap<Integer, Integer> expected = new LinkedHashMap<Integer, Integer>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry (Map.Entry<Integer, Integer> eldest) {
+				return size() > cap;
+			}
+		};
+		ObjectObjectCache<Integer, Integer> cache = new ObjectObjectCache<>(cap);
+		Random random = new Random(1L);
+		for (int i = 0; i < 100000; i++) {
+			int k = random.nextInt(120);
+			int r = random.nextInt(10);
+			if (r < 5) {
+				Assert.assertEquals(expected.get(k), cache.get(k));
+			} else if (r < 9) {
+				Assert.assertEquals(expected.put(k, i), cache.put(k, i));
+			} else {
+				Assert.assertEquals(expected.remove(k), cache.remove(k));
+			}
+			Assert.assertEquals(expected.size(), cache.size());
+		}
+		for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+			Assert.assertEquals(e.getValue(), cache.peek(e.getKey()));
+		}
+		Assert.assertTrue(cache.getEvictionCount() > 0);
+	}
+
+	@Test
+	public void testLfu () {
+		ObjectObjectCache<String, String> cache = new ObjectObjectCache<>(3, CachePolicy.Type.LFU);
+		cache.put("a", "A");
+		cache.put("b", "B");
+		cache.put("c", "C");
+		cache.get("a");
+		cache.get("a");
+		cache.get("c");
+		cache.put("d", "D");
+		Assert.assertFalse(cache.containsKey("b"));
+		cache.put("e", "E");
+		Assert.assertFalse(cache.containsKey("d"));
+		Assert.assertTrue(cache.containsKey("a"));
+		Assert.assertTrue(cache.containsKey("c"));
+		Assert.assertEquals(2, cache.getEvictionCount());
+		Assert.assertEquals(3, cache.getHitCount());
+
+		Random random = new Random(2L);
+		ObjectObjectCache<Integer, Integer> big = new ObjectObjectCache<>(64, CachePolicy.Type.LFU);
+		for (int i = 0; i < 50000; i++) {
+			int k = random.nextInt(200);
+			if (big.get(k) == null) {big.put(k, k);}
+			if (random.nextInt(20) == 0) {big.remove(random.nextInt(200));}
+			Assert.assertTrue(big.size() <= 64);
+		}
+	}
+
+	@Test
+	public void testWeights () {
+		ObjectObjectCache<String, String> cache = new ObjectObjectCache<>(100, 10, CachePolicy.Type.LRU);
+		cache.put("a", "A", 4);
+		cache.put("b", "B", 4);
+		cache.put("c", "C", 4);
+		Assert.assertFalse(cache.containsKey("a"));
+		Assert.assertEquals(8, cache.getWeight());
+		cache.put("b", "BB", 9);
+		Assert.assertEquals(1, cache.size());
+		Assert.assertEquals("BB", cache.peek("b"));
+		cache.put("huge", "H", 11);
+		Assert.assertFalse(cache.containsKey("huge"));
+		Assert.assertEquals(3, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testTinyLfuResistsScans () {
+		final int cap = 100;
+		ObjectObjectCache<Integer, Integer> lru = new ObjectObjectCache<>(cap, CachePolicy.Type.LRU);
+		ObjectObjectCache<Integer, Integer> tiny = new ObjectObjectCache<>(cap, CachePolicy.Type.W_TINY_LFU);
+		Random random = new Random(3L);
+		int scan = 1000000;
+		for (int i = 0; i < 200000; i++) {
+			// A small set of hot keys, mixed with a stream of keys that are never seen again.
+			int k = random.nextInt(3) == 0 ? random.nextInt(80) : scan++;
+			if (lru.get(k) == null) {lru.put(k, k);}
+			if (tiny.get(k) == null) {tiny.put(k, k);}
+			Assert.assertTrue(tiny.size() <= cap);
+		}
+		Assert.assertTrue(tiny.getHitRate() > lru.getHitRate());
+		Assert.assertTrue(tiny.getHitRate() > 0.3);
+	}
+
+	@Test
+	public void testIntObjectCache () {
+		IntObjectCache<String> cache = new IntObjectCache<>(4, CachePolicy.Type.W_TINY_LFU);
+		for (int i = -2; i < 10; i++) {
+			cache.put(i, "v" + i);
+			Assert.assertTrue(cache.size() <= 4);
+		}
+		Assert.assertEquals(8, cache.getEvictionCount());
+		Assert.assertNull(cache.get(100));
+		Assert.assertEquals(1, cache.getMissCount());
+		cache.put(0, "zero");
+		Assert.assertEquals("zero", cache.get(0));
+		Assert.assertEquals("zero", cache.remove(0));
+		Assert.assertFalse(cache.containsKey(0));
+		cache.clear();
+		Assert.assertEquals(0, cache.size());
+		Assert.assertEquals("{}", cache.toString());
+	}
+}
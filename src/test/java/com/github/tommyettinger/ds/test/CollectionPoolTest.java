@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.CollectionPool;
+import com.github.tommyettinger.ds.IntList;
+import com.github.tommyettinger.ds.IntSet;
+import com.github.tommyettinger.ds.ObjectList;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CollectionPoolTest {
+	@Test
+	public void testSteadyState () {
+		CollectionPool<IntList> pool = CollectionPool.ofIntList(64, 4);
+		// A "frame" that needs three temporary lists.
+		for (int frame = 0; frame < 100; frame++) {
+			IntList a = pool.obtain(), b = pool.obtain(), c = pool.obtain();
+			Assert.assertTrue(a.isEmpty() && b.isEmpty() && c.isEmpty());
+			for (int i = 0; i < 10; i++) {
+				a.add(i);
+				b.add(-i);
+			}
+			Assert.assertTrue(pool.free(a));
+			Assert.assertTrue(pool.free(b));
+			Assert.assertTrue(pool.free(c));
+		}
+		Assert.assertEquals(3, pool.getMisses());
+		Assert.assertEquals(297, pool.getHits());
+		Assert.assertEquals(0.99, pool.getHitRate(), 1e-9);
+		Assert.assertEquals(3, pool.getFree());
+
+		IntList big = pool.obtain();
+		for (int i = 0; i < 1000; i++) {big.add(i);}
+		Assert.assertFalse(pool.free(big));
+		Assert.assertEquals(1, pool.getDropped());
+		pool.fill(10);
+		Assert.assertEquals(4, pool.getFree());
+		Assert.assertFalse(pool.free(new IntList()));
+		pool.setMaximumFree(1);
+		Assert.assertEquals(1, pool.getFree());
+		pool.resetStatistics();
+		Assert.assertEquals(0.0, pool.getHitRate(), 0.0);
+		Assert.assertThrows(IllegalArgumentException.class, () -> pool.free(null));
+		pool.clear();
+		Assert.assertEquals(0, pool.getFree());
+	}
+
+	@Test
+	public void testShrinkingPools () {
+		CollectionPool<IntSet> sets = CollectionPool.ofIntSet(16, 2);
+		IntSet set = sets.obtain();
+		for (int i = 0; i < 5000; i++) {set.add(i);}
+		Assert.assertTrue(sets.free(set));
+		IntSet again = sets.obtain();
+		Assert.assertSame(set, again);
+		Assert.assertTrue(again.isEmpty());
+		again.add(7);
+		Assert.assertTrue(again.contains(7));
+
+		CollectionPool<ObjectList<String>> lists = CollectionPool.ofObjectList(8, 2);
+		ObjectList<String> list = lists.obtain();
+		list.add("a");
+		Assert.assertTrue(lists.free(list));
+		Assert.assertTrue(lists.obtain().isEmpty());
+		ObjectList<String> many = lists.obtain();
+		for (int i = 0; i < 9; i++) {many.add("x");}
+		Assert.assertFalse(lists.free(many));
+		lists.freeAll(ObjectList.with(new ObjectList<>(), null));
+		Assert.assertEquals(1, lists.getFree());
+	}
+}
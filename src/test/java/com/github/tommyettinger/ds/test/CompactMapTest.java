@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.CompactIntIntMap;
+import com.github.tommyettinger.ds.CompactObjectObjectMap;
+import com.github.tommyettinger.ds.IntIntMap;
+import com.github.tommyettinger.ds.ObjectObjectOrderedMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class CompactMapTest {
+	@Test
+	public void testCompactObjectObjectMap () {
+		Random random = new Random(1L);
+		CompactObjectObjectMap<Integer, Integer> map = new CompactObjectObjectMap<>(4);
+		LinkedHashMap<Integer, Integer> expected = new LinkedHashMap<>();
+		boolean sawShort = false;
+		for (int i = 0; i < 100000; i++) {
+			int k = random.nextInt(i < 50000 ? 200 : 3000);
+			int r = random.nextInt(10);
+			if (r < 6) {
+				Assert.assertEquals(expected.put(k, i), map.put(k, i));
+			} else if (r < 9) {
+				Assert.assertEquals(expected.remove(k), map.remove(k));
+			} else {
+				Assert.assertEquals(expected.get(k), map.get(k));
+			}
+			Assert.assertEquals(expected.size(), map.size());
+			sawShort |= map.getIndexBytes() == 2;
+			if (i % 4999 == 0) {
+				Assert.assertEquals(expected, map);
+				Assert.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+				Assert.assertEquals(expected.toString(), map.toString());
+				int index = 0;
+				for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+					Assert.assertEquals(e.getKey(), map.keyAt(index));
+					Assert.assertEquals(e.getValue(), map.getAt(index));
+					Assert.assertEquals(index, map.indexOf(e.getKey()));
+					index++;
+				}
+			}
+		}
+		Assert.assertTrue(sawShort);
+		Assert.assertEquals(new ObjectObjectOrderedMap<>(expected), map);
+		Assert.assertEquals(new CompactObjectObjectMap<>(map), map);
+		Assert.assertEquals(new CompactObjectObjectMap<>(map).hashCode(), map.hashCode());
+
+		Iterator<Map.Entry<Integer, Integer>> it = map.iterator(), ex = expected.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Integer, Integer> e = it.next();
+			Assert.assertEquals(ex.next().getKey(), e.getKey());
+			if ((e.getKey() & 1) == 0) {
+				it.remove();
+				ex.remove();
+			}
+		}
+		Assert.assertEquals(expected, map);
+		Assert.assertEquals(expected.values().iterator().next(), map.removeAt(0));
+		ex = expected.entrySet().iterator();
+		ex.next();
+		ex.remove();
+		Assert.assertEquals(expected, map);
+		map.shrink(0);
+		Assert.assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+		map.clear(0);
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertNull(map.get(1));
+		Assert.assertEquals(1, map.getIndexBytes());
+	}
+
+	@Test
+	public void testCompactIntIntMap () {
+		Random random = new Random(2L);
+		CompactIntIntMap map = new CompactIntIntMap(2);
+		LinkedHashMap<Integer, Integer> expected = new LinkedHashMap<>();
+		for (int i = 0; i < 100000; i++) {
+			int k = random.nextInt(i < 50000 ? 100 : 2000) - 20;
+			int r = random.nextInt(10);
+			if (r < 6) {
+				Integer old = expected.put(k, i);
+				Assert.assertEquals(old == null ? 0 : old, map.put(k, i));
+			} else if (r < 9) {
+				Integer old = expected.remove(k);
+				Assert.assertEquals(old == null ? 0 : old, map.remove(k));
+			} else {
+				Assert.assertEquals(expected.getOrDefault(k, -1).intValue(), map.getOrDefault(k, -1));
+				Assert.assertEquals(expected.containsKey(k), map.containsKey(k));
+			}
+			Assert.assertEquals(expected.size(), map.size());
+			if (i % 4999 == 0) {
+				int index = 0;
+				for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+					Assert.assertEquals(e.getKey().intValue(), map.keyAt(index));
+					Assert.assertEquals(e.getValue().intValue(), map.getAt(index));
+					index++;
+				}
+				Assert.assertEquals(expected.toString(), map.toString());
+			}
+		}
+		CompactIntIntMap copy = new CompactIntIntMap(map);
+		Assert.assertEquals(map, copy);
+		Assert.assertEquals(map.hashCode(), copy.hashCode());
+
+		map.put(0, 77);
+		expected.put(0, 77);
+		Iterator<Map.Entry<Integer, Integer>> ex = expected.entrySet().iterator();
+		CompactIntIntMap.EntryIterator it = map.iterator();
+		while (it.hasNext()) {
+			IntIntMap.Entry e = it.next();
+			Map.Entry<Integer, Integer> x = ex.next();
+			Assert.assertEquals(x.getKey().intValue(), e.key);
+			Assert.assertEquals(x.getValue().intValue(), e.value);
+			if ((e.key & 3) == 1) {
+				it.remove();
+				ex.remove();
+			}
+		}
+		Assert.assertEquals(expected.size(), map.size());
+		Assert.assertEquals(77, map.get(0));
+		Assert.assertEquals(77, map.remove(0));
+		Assert.assertFalse(map.containsKey(0));
+		Assert.assertEquals(5, map.getAndIncrement(0, 5, 1));
+		Assert.assertEquals(map.size() - 1, map.indexOf(0));
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertFalse(map.containsKey(0));
+	}
+}
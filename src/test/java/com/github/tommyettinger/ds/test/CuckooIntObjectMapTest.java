@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.CuckooIntObjectMap;
+import com.github.tommyettinger.ds.IntObjectMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class CuckooIntObjectMapTest {
+	/**
+	 * Puts every key in bucket 0 or bucket 1, so only eight keys fit in buckets and the rest go in the stash.
+	 */
+	private static <V> CuckooIntObjectMap<V> colliding () {
+		return new CuckooIntObjectMap<V>() {
+			@Override
+			protected int place (int item) {
+				return 0;
+			}
+
+			@Override
+			protected int placeAlternate (int item) {
+				return 1;
+			}
+		};
+	}
+
+	@Test
+	public void testIntKeys () {
+		Random random = new Random(456L);
+		CuckooIntObjectMap<String> map = new CuckooIntObjectMap<>();
+		HashMap<Integer, String> expected = new HashMap<>();
+		for (int i = 0; i < 20000; i++) {
+			int k = random.nextInt(3000) - 1000;
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(expected.remove(k), map.remove(k));
+			} else {
+				String v = String.valueOf(random.nextInt());
+				Assert.assertEquals(expected.put(k, v), map.put(k, v));
+			}
+			Assert.assertEquals(expected.size(), map.size());
+		}
+		Assert.assertEquals(expected.containsKey(0), map.containsKey(0));
+		for (Map.Entry<Integer, String> e : expected.entrySet()) {
+			Assert.assertEquals(e.getValue(), map.get(e.getKey()));
+		}
+		Assert.assertEquals(0, map.getStashSize());
+		Assert.assertEquals(map, new CuckooIntObjectMap<>(map));
+
+		int count = 0;
+		for (IntObjectMap.Entry<String> e : map) {
+			Assert.assertEquals(expected.get(e.key), e.value);
+			count++;
+		}
+		Assert.assertEquals(expected.size(), count);
+
+		CuckooIntObjectMap.KeyIterator<String> keys = map.keys();
+		while (keys.hasNext()) {
+			if ((keys.nextInt() & 1) == 0) keys.remove();
+		}
+		expected.keySet().removeIf(k -> (k & 1) == 0);
+		Assert.assertEquals(expected.size(), map.size());
+		for (Map.Entry<Integer, String> e : expected.entrySet()) {
+			Assert.assertEquals(e.getValue(), map.get(e.getKey()));
+		}
+	}
+
+	@Test
+	public void testCollidingKeys () {
+		CuckooIntObjectMap<String> map = colliding();
+		int n = 100;
+		for (int i = 1; i <= n; i++) {
+			Assert.assertNull(map.put(i * -31, "v" + i));
+		}
+		Assert.assertEquals(n, map.size());
+		Assert.assertEquals(n - 8, map.getStashSize());
+		for (int i = 1; i <= n; i++) {
+			Assert.assertEquals("v" + i, map.get(i * -31));
+		}
+		Assert.assertFalse(map.containsKey(31));
+		Assert.assertNull(map.get(31));
+		Assert.assertEquals("v" + n, map.put(n * -31, "changed"));
+		Assert.assertEquals(n, map.size());
+
+		for (int i = 1; i <= n; i += 2) {
+			Assert.assertEquals("v" + i, map.remove(i * -31));
+		}
+		Assert.assertNull(map.remove(-31));
+		Assert.assertEquals(n / 2, map.size());
+		for (int i = 1; i <= n; i++) {
+			Assert.assertEquals((i & 1) == 0, map.containsKey(i * -31));
+		}
+		Assert.assertEquals("changed", map.get(n * -31));
+
+		for (int i = 1; i <= n; i += 2) {
+			Assert.assertNull(map.put(i * -31, "again" + i));
+		}
+		Assert.assertEquals(n, map.size());
+		Assert.assertEquals(n - 8, map.getStashSize());
+		Assert.assertEquals("again1", map.get(-31));
+	}
+
+	@Test
+	public void testGrowth () {
+		CuckooIntObjectMap<Integer> stashed = colliding();
+		int tableSize = stashed.getTableSize();
+		for (int i = 1; i <= tableSize; i++) {
+			stashed.put(i, i);
+		}
+		// Keys that keep landing in the stash make the table grow even below the load factor.
+		Assert.assertTrue(stashed.getTableSize() > tableSize);
+		Assert.assertEquals(tableSize - 8, stashed.getStashSize());
+		for (int i = 1; i <= tableSize; i++) {
+			Assert.assertEquals(i, (int)stashed.get(i));
+		}
+
+		CuckooIntObjectMap<Integer> map = new CuckooIntObjectMap<>(4);
+		tableSize = map.getTableSize();
+		for (int i = -5000; i < 5000; i++) {
+			map.put(i * 0x10001, i);
+		}
+		Assert.assertEquals(10000, map.size());
+		Assert.assertTrue(map.getTableSize() >= 10000);
+		for (int i = -5000; i < 5000; i++) {
+			Assert.assertEquals(i, (int)map.get(i * 0x10001));
+		}
+
+		CuckooIntObjectMap<Integer> sized = new CuckooIntObjectMap<>(4);
+		sized.ensureCapacity(1000);
+		tableSize = sized.getTableSize();
+		Assert.assertTrue(tableSize * sized.getLoadFactor() >= 1000);
+		for (int i = 1; i <= 900; i++) {
+			sized.put(i, i);
+		}
+		Assert.assertEquals(tableSize, sized.getTableSize());
+	}
+
+	@Test
+	public void testIteratorRemoval () {
+		CuckooIntObjectMap<Integer> map = colliding();
+		HashMap<Integer, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 40; i++) {
+			map.put(i * 5, i);
+			expected.put(i * 5, i);
+		}
+		Assert.assertTrue(map.getStashSize() > 0);
+		Assert.assertThrows(IllegalStateException.class, () -> map.keys().remove());
+		CuckooIntObjectMap.EntryIterator<Integer> entries = map.iterator();
+		int seen = 0;
+		while (entries.hasNext()) {
+			IntObjectMap.Entry<Integer> e = entries.next();
+			Assert.assertEquals(expected.get(e.key), e.value);
+			seen++;
+			if (e.value % 3 == 0) entries.remove();
+		}
+		Assert.assertEquals(40, seen);
+		expected.values().removeIf(v -> v % 3 == 0);
+		Assert.assertEquals(expected.size(), map.size());
+		Assert.assertFalse(map.containsKey(0));
+		for (int i = 0; i < 40; i++) {
+			Assert.assertEquals(expected.get(i * 5), map.get(i * 5));
+		}
+
+		CuckooIntObjectMap.ValueIterator<Integer> values = map.values();
+		while (values.hasNext()) {
+			if ((values.next() & 1) == 0) values.remove();
+		}
+		expected.values().removeIf(v -> (v & 1) == 0);
+		Assert.assertEquals(expected.size(), map.size());
+
+		CuckooIntObjectMap.KeyIterator<Integer> keys = map.keys();
+		Assert.assertEquals(expected.size(), keys.toList().size());
+		keys.reset();
+		while (keys.hasNext()) {
+			keys.nextInt();
+			keys.remove();
+		}
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertFalse(map.iterator().hasNext());
+	}
+
+	@Test
+	public void testEqualsHashCode () {
+		CuckooIntObjectMap<String> a = colliding(), b = new CuckooIntObjectMap<>();
+		for (int i = 0; i < 30; i++) {
+			a.put(i * 7, "item" + i);
+		}
+		for (int i = 29; i >= 0; i--) {
+			b.put(i * 7, "item" + i);
+		}
+		Assert.assertEquals(a, b);
+		Assert.assertEquals(b, a);
+		Assert.assertEquals(a.hashCode(), b.hashCode());
+		Assert.assertEquals(b, new CuckooIntObjectMap<>(b));
+
+		b.put(7, "different");
+		Assert.assertNotEquals(a, b);
+		b.put(7, "item1");
+		Assert.assertEquals(a, b);
+		b.remove(0);
+		Assert.assertNotEquals(a, b);
+		b.put(0, null);
+		Assert.assertNotEquals(a, b);
+		b.put(0, "item0");
+		Assert.assertEquals(a.hashCode(), b.hashCode());
+		a.put(-1, null);
+		Assert.assertNotEquals(a, b);
+		Assert.assertNotEquals(a, new HashMap<Integer, String>());
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.CuckooObjectObjectMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+public class CuckooObjectObjectMapTest {
+	private static String[] collidingStrings (int blocks) {
+		String[] out = new String[1 << blocks];
+		StringBuilder sb = new StringBuilder(blocks * 2);
+		for (int i = 0; i < out.length; i++) {
+			sb.setLength(0);
+			for (int b = 0; b < blocks; b++) {
+				sb.append((i >>> b & 1) == 0 ? "Aa" : "BB");
+			}
+			out[i] = sb.toString();
+		}
+		return out;
+	}
+
+	@Test
+	public void testRandomized () {
+		Random random = new Random(123L);
+		CuckooObjectObjectMap<Integer, Integer> map = new CuckooObjectObjectMap<>();
+		HashMap<Integer, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 20000; i++) {
+			Integer k = random.nextInt(3000) - 1000, v = random.nextInt();
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(expected.remove(k), map.remove(k));
+			} else {
+				Assert.assertEquals(expected.put(k, v), map.put(k, v));
+			}
+			Assert.assertEquals(expected.size(), map.size());
+		}
+		for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+			Assert.assertEquals(e.getValue(), map.get(e.getKey()));
+		}
+		Assert.assertEquals(expected, map);
+		Assert.assertEquals(map, new CuckooObjectObjectMap<>(map));
+	}
+
+	@Test
+	public void testCollidingKeys () {
+		String[] keys = collidingStrings(8);
+		CuckooObjectObjectMap<String, Integer> map = new CuckooObjectObjectMap<>();
+		for (int i = 0; i < keys.length; i++) {
+			Assert.assertNull(map.put(keys[i], i));
+		}
+		Assert.assertEquals(keys.length, map.size());
+		// Every key shares two buckets, so everything past those eight slots must be in the stash.
+		Assert.assertEquals(keys.length - 8, map.getStashSize());
+		for (int i = 0; i < keys.length; i++) {
+			Assert.assertEquals(i, (int)map.get(keys[i]));
+		}
+		Assert.assertFalse(map.containsKey("AaAaAaAaAaAaAaAaAa"));
+		CuckooObjectObjectMap<String, Integer> copy = new CuckooObjectObjectMap<>(map);
+		Assert.assertEquals(map, copy);
+
+		for (int i = 0; i < keys.length; i += 2) {
+			Assert.assertEquals(i, (int)map.remove(keys[i]));
+		}
+		Iterator<Map.Entry<String, Integer>> it = map.iterator();
+		int seen = 0;
+		while (it.hasNext()) {
+			seen++;
+			if (it.next().getValue() % 4 == 1) it.remove();
+		}
+		Assert.assertEquals(keys.length / 2, seen);
+		for (int i = 0; i < keys.length; i++) {
+			Assert.assertEquals(i % 4 == 3, map.containsKey(keys[i]));
+			Assert.assertEquals(i, (int)copy.get(keys[i]));
+		}
+		Assert.assertEquals(keys.length / 4, map.size());
+	}
+
+	@Test
+	public void testOverriddenEquate () {
+		CuckooObjectObjectMap<String, Integer> map = new CuckooObjectObjectMap<String, Integer>() {
+			@Override
+			protected int place (Object item) {
+				return super.place(((String)item).toUpperCase());
+			}
+
+			@Override
+			protected int placeAlternate (Object item) {
+				return super.placeAlternate(((String)item).toUpperCase());
+			}
+
+			@Override
+			protected boolean equate (Object left, Object right) {
+				return right instanceof String && ((String)left).equalsIgnoreCase((String)right);
+			}
+		};
+		for (int i = 0; i < 500; i++) {
+			map.put("key" + i, i);
+		}
+		for (int i = 0; i < 500; i++) {
+			Assert.assertEquals(i, (int)map.get("KEY" + i));
+		}
+		Assert.assertEquals(499, (int)map.put("Key499", -1));
+		Assert.assertEquals(500, map.size());
+	}
+}
@@ -136,4 +136,49 @@ public class EnumIntMapOpTest {
         Assert.assertEquals(byKey.keySet(), byValue.keySet());
         Assert.assertEquals(byKey.values(), byValue.values());
     }
+
+    @Test
+    public void bulkArithmeticTest() {
+        EnumIntMap a = new EnumIntMap(Chem.ALL), b = new EnumIntMap(Chem.ALL);
+        for (int i = 0; i < LIMIT; i += 2) {
+            a.put(Chem.ALL[i], i);
+        }
+        for (int i = 0; i < LIMIT; i += 3) {
+            b.put(Chem.ALL[i], i + 1);
+        }
+        EnumIntMap sum = new EnumIntMap(a), product = new EnumIntMap(a), max = new EnumIntMap(a),
+            expectedSum = new EnumIntMap(Chem.ALL), expectedProduct = new EnumIntMap(Chem.ALL), expectedMax = new EnumIntMap(Chem.ALL);
+        sum.addValues(b);
+        product.multiplyValues(b);
+        max.maxValues(b);
+        for (int i = 0; i < LIMIT; i++) {
+            Chem c = Chem.ALL[i];
+            if (a.containsKey(c) && b.containsKey(c)) {
+                expectedSum.put(c, a.get(c) + b.get(c));
+                expectedProduct.put(c, a.get(c) * b.get(c));
+                expectedMax.put(c, Math.max(a.get(c), b.get(c)));
+            } else if (a.containsKey(c)) {
+                expectedSum.put(c, a.get(c));
+                expectedProduct.put(c, a.get(c));
+                expectedMax.put(c, a.get(c));
+            } else if (b.containsKey(c)) {
+                expectedSum.put(c, b.get(c));
+                expectedProduct.put(c, b.get(c));
+                expectedMax.put(c, b.get(c));
+            }
+        }
+        Assert.assertEquals(expectedSum, sum);
+        Assert.assertEquals(expectedProduct, product);
+        Assert.assertEquals(expectedMax, max);
+        // the copies must not share keys with the map they were copied from
+        Assert.assertEquals((LIMIT + 1) / 2, a.size());
+
+        EnumIntOrderedMap ordered = new EnumIntOrderedMap(Chem.ALL);
+        ordered.put(Chem.FLUORINE, 10);
+        ordered.addValues(b);
+        Assert.assertEquals(ordered.size(), ordered.order().size());
+        Assert.assertEquals(Chem.FLUORINE, ordered.keyAt(0));
+        Assert.assertEquals(10, ordered.get(Chem.FLUORINE));
+        Assert.assertEquals(1, ordered.get(Chem.HYDROGEN));
+    }
 }
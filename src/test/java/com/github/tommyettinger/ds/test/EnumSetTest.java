@@ -1587,4 +1587,36 @@ public class EnumSetTest extends TestCase {
                 HugeEnumWithInnerClass.b, HugeEnumWithInnerClass.mm);
         assertEquals(64, hugeEnumSet.size());
     }
-}
\ No newline at end of file
+
+    public void test_bitwiseOperations() {
+        EnumSet evens = EnumSet.noneOf(HugeEnumCount.values()), thirds = EnumSet.noneOf(HugeEnumCount.values());
+        for (HugeEnumCount e : HugeEnumCount.values()) {
+            if ((e.ordinal() & 1) == 0) evens.add(e);
+            if (e.ordinal() % 3 == 0) thirds.add(e);
+        }
+        assertTrue(evens.sharesUniverse(thirds));
+        assertTrue(evens.intersects(thirds));
+
+        EnumSet and = new EnumSet(evens), or = new EnumSet(evens), andNot = new EnumSet(evens), xor = new EnumSet(evens);
+        assertTrue(and.and(thirds));
+        assertTrue(or.or(thirds));
+        assertTrue(andNot.andNot(thirds));
+        assertTrue(xor.xor(thirds));
+        for (HugeEnumCount e : HugeEnumCount.values()) {
+            boolean inEvens = evens.contains(e), inThirds = thirds.contains(e);
+            assertEquals(inEvens && inThirds, and.contains(e));
+            assertEquals(inEvens || inThirds, or.contains(e));
+            assertEquals(inEvens && !inThirds, andNot.contains(e));
+            assertEquals(inEvens != inThirds, xor.contains(e));
+        }
+        assertEquals(22, and.size());
+        assertFalse(and.and(thirds));
+        assertFalse(andNot.intersects(thirds));
+
+        EnumSet other = EnumSet.allOf(HugeEnum.values());
+        assertFalse(evens.sharesUniverse(other));
+        assertFalse(or.or(other));
+        assertTrue(and.and(other));
+        assertTrue(and.isEmpty());
+    }
+}
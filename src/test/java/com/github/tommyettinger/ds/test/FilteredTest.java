@@ -104,4 +104,51 @@ public class FilteredTest {
 		System.out.println(fil);
 		Assert.assertEquals(2, fil.size());
 	}
+
+	@Test
+	public void testToFrozen() {
+		CharFilter caps = CharFilter.getOrCreate("LetterCaps", Character::isLetter, Character::toUpperCase);
+		FilteredStringSet set = FilteredStringSet.with(caps, "bee", "binturong", "Aardvark");
+		FilteredStringSet.Frozen frozenSet = set.toFrozen();
+		Assert.assertEquals(3, frozenSet.size());
+		Assert.assertTrue(frozenSet.contains("B-E-E"));
+		Assert.assertTrue(frozenSet.contains("aard vark"));
+		Assert.assertFalse(frozenSet.contains("bees"));
+		Assert.assertTrue(new FilteredStringOrderedSet(caps, set).toFrozen().contains("BINTURONG!"));
+		FilteredStringSet.Frozen copy = new FilteredStringSet.Frozen(caps, frozenSet.getSeed(), frozenSet.getSlotCount(),
+			frozenSet.getDisplacements(), frozenSet.getKeyTable());
+		Assert.assertTrue(copy.contains("Bin Turong"));
+		Assert.assertEquals(frozenSet.hashCode(), copy.hashCode());
+
+		FilteredStringMap<Integer> map = new FilteredStringMap<>(caps);
+		map.put("bee", 1);
+		map.put("binturong", 2);
+		FilteredStringMap.Frozen<Integer> frozenMap = map.toFrozen();
+		Assert.assertEquals(2, frozenMap.size());
+		Assert.assertEquals(1, (int)frozenMap.get("BEE"));
+		Assert.assertEquals(2, (int)frozenMap.get("bin-turong"));
+		Assert.assertNull(frozenMap.get("aardvark"));
+		Assert.assertEquals(2, (int)new FilteredStringOrderedMap<>(caps, map).toFrozen().get("Binturong"));
+
+		FilteredIterableSet<String, Iterable<String>> iterSet = FilteredIterableSet.with(
+			(String s) -> s.length() > 3, String::toUpperCase,
+			ObjectList.with("zzz", "bee", "binturong"),
+			ObjectList.with(":D", "bee", "Aardvark", "bandicoot"));
+		FilteredIterableSet.Frozen<String, Iterable<String>> frozenIterSet = iterSet.toFrozen();
+		Assert.assertEquals(2, frozenIterSet.size());
+		Assert.assertTrue(frozenIterSet.contains(ObjectDeque.with("hm?", "BINTURONG")));
+		Assert.assertFalse(frozenIterSet.contains(ObjectList.with("aardvark")));
+		Assert.assertTrue(new FilteredIterableOrderedSet<>(iterSet.getFilter(), iterSet.getEditor(), iterSet).toFrozen()
+			.contains(ObjectList.with("AARDVARK", "Bandicoot")));
+
+		FilteredIterableMap<String, Iterable<String>, Integer> iterMap = FilteredIterableMap.with(
+			(String s) -> s.length() > 3, String::toUpperCase,
+			ObjectList.with("zzz", "bee", "binturong"), 1,
+			ObjectList.with(":D", "bee", "Aardvark", "bandicoot"), 2);
+		FilteredIterableMap.Frozen<String, Iterable<String>, Integer> frozenIterMap = iterMap.toFrozen();
+		Assert.assertEquals(2, frozenIterMap.size());
+		Assert.assertEquals(1, (int)frozenIterMap.get(ObjectList.with("Binturong")));
+		Assert.assertEquals(2, (int)new FilteredIterableOrderedMap<>(iterMap.getFilter(), iterMap.getEditor(), iterMap).toFrozen()
+			.get(ObjectList.with("aardvark", "BANDICOOT", "yo")));
+	}
 }
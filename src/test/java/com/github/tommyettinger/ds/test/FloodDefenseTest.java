@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.ObjectList;
+import com.github.tommyettinger.ds.ObjectObjectMap;
+import com.github.tommyettinger.ds.ObjectObjectOrderedMap;
+import com.github.tommyettinger.ds.ObjectSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+
+public class FloodDefenseTest {
+	/**
+	 * Builds 2 to the {@code blocks} distinct Strings that all have the same hashCode, using the fact that "Aa" and
+	 * "BB" have equal hashCodes.
+	 */
+	private static ObjectList<String> collidingStrings(int blocks) {
+		ObjectList<String> out = new ObjectList<>(1 << blocks);
+		StringBuilder sb = new StringBuilder(blocks * 2);
+		for (int i = 0, n = 1 << blocks; i < n; i++) {
+			sb.setLength(0);
+			for (int b = 0; b < blocks; b++) {
+				sb.append((i >>> b & 1) == 0 ? "Aa" : "BB");
+			}
+			out.add(sb.toString());
+		}
+		return out;
+	}
+
+	/**
+	 * Gets the multiplicative inverse of an odd int, modulo 2 to the 32.
+	 */
+	private static int inverse(int x) {
+		int inv = x;
+		for (int i = 0; i < 5; i++) inv *= 2 - x * inv;
+		return inv;
+	}
+
+	@Test
+	public void testTreeifiedMap() {
+		ObjectList<String> keys = collidingStrings(10);
+		ObjectObjectMap<String, Integer> map = new ObjectObjectMap<>();
+		map.setProbeLimit(16);
+		for (int i = 0; i < keys.size(); i++) {
+			Assert.assertNull(map.put(keys.get(i), i));
+		}
+		Assert.assertEquals(keys.size(), map.size());
+		Assert.assertEquals(new ObjectObjectMap<String, Integer>(keys.size()).getTableSize(), map.getTableSize());
+		Assert.assertTrue(map.getStatistics().getMaxProbe() < keys.size() / 4);
+		for (int i = 0; i < keys.size(); i++) {
+			Assert.assertEquals(i, (int)map.get(keys.get(i)));
+			Assert.assertTrue(map.containsKey(keys.get(i)));
+		}
+		Assert.assertFalse(map.containsKey("AaAaAaAaAaAaAaAaAaAaAa"));
+		Assert.assertEquals(-1, (int)map.getOrDefault("BBBBBBBBBBBBBBBBBBBBBB", -1));
+
+		ObjectObjectMap<String, Integer> copy = new ObjectObjectMap<>(map);
+		Assert.assertEquals(map, copy);
+
+		for (int i = 0; i < keys.size(); i += 2) {
+			Assert.assertEquals(i, (int)map.remove(keys.get(i)));
+		}
+		Iterator<Map.Entry<String, Integer>> it = map.iterator();
+		while (it.hasNext()) {
+			if (it.next().getValue() % 4 == 1) it.remove();
+		}
+		for (int i = 0; i < keys.size(); i++) {
+			Assert.assertEquals(i % 4 == 3, map.containsKey(keys.get(i)));
+		}
+		for (int i = 0; i < keys.size(); i++) {
+			map.put(keys.get(i), -i);
+		}
+		Assert.assertEquals(keys.size(), map.size());
+		for (int i = 0; i < keys.size(); i++) {
+			Assert.assertEquals(-i, (int)map.get(keys.get(i)));
+			Assert.assertEquals(i, (int)copy.get(keys.get(i)));
+		}
+
+		map.setProbeLimit(0);
+		for (int i = 0; i < keys.size(); i++) {
+			Assert.assertEquals(-i, (int)map.get(keys.get(i)));
+		}
+	}
+
+	@Test
+	public void testTreeifiedSet() {
+		ObjectList<String> keys = collidingStrings(10);
+		ObjectSet<String> set = new ObjectSet<>();
+		set.setProbeLimit(16);
+		Assert.assertTrue(set.addAll(keys));
+		Assert.assertFalse(set.addAll(keys));
+		Assert.assertEquals(keys.size(), set.size());
+		Assert.assertTrue(set.getStatistics().getMaxProbe() < keys.size() / 4);
+		for (int i = 0; i < keys.size(); i++) {
+			Assert.assertTrue(set.contains(keys.get(i)));
+			Assert.assertSame(keys.get(i), set.get(keys.get(i)));
+		}
+		for (int i = 1; i < keys.size(); i += 2) {
+			Assert.assertTrue(set.remove(keys.get(i)));
+		}
+		Iterator<String> it = set.iterator();
+		int seen = 0;
+		while (it.hasNext()) {
+			it.next();
+			if ((seen++ & 1) == 0) it.remove();
+		}
+		Assert.assertEquals(keys.size() / 4, set.size());
+		int found = 0;
+		for (int i = 0; i < keys.size(); i++) {
+			if (set.contains(keys.get(i))) found++;
+		}
+		Assert.assertEquals(set.size(), found);
+		ObjectSet<String> copy = new ObjectSet<>(set);
+		Assert.assertEquals(set, copy);
+	}
+
+	@Test
+	public void testTreeifiedOrderedMap() {
+		ObjectList<String> keys = collidingStrings(9);
+		ObjectObjectOrderedMap<String, Integer> map = new ObjectObjectOrderedMap<>();
+		map.setProbeLimit(16);
+		for (int i = 0; i < keys.size(); i++) {
+			map.put(keys.get(i), i);
+		}
+		Assert.assertEquals(keys, map.order());
+		for (int i = 0; i < keys.size(); i++) {
+			Assert.assertEquals(i, (int)map.get(keys.get(i)));
+		}
+		map.removeAt(0);
+		Assert.assertFalse(map.containsKey(keys.get(0)));
+		Assert.assertEquals(keys.size() - 1, map.size());
+	}
+
+	@Test
+	public void testReseed() {
+		ObjectSet<Integer> set = new ObjectSet<>(1000);
+		set.setProbeLimit(16);
+		final int tableSize = set.getTableSize();
+		final int multiplier = set.getHashMultiplier();
+		final int inv = inverse(multiplier);
+		// With the original multiplier, every one of these is placed at slot 0.
+		for (int i = 1; i <= 200; i++) {
+			set.add(i * inv);
+		}
+		Assert.assertEquals(200, set.size());
+		Assert.assertEquals(tableSize, set.getTableSize());
+		Assert.assertNotEquals(multiplier, set.getHashMultiplier());
+		Assert.assertTrue(set.getStatistics().getMaxProbe() <= 16);
+		for (int i = 1; i <= 200; i++) {
+			Assert.assertTrue(set.contains(i * inv));
+		}
+	}
+}
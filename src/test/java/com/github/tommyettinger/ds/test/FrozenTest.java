@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.CaseInsensitiveMap;
+import com.github.tommyettinger.ds.CaseInsensitiveSet;
+import com.github.tommyettinger.ds.FrozenIntObjectMap;
+import com.github.tommyettinger.ds.FrozenIntSet;
+import com.github.tommyettinger.ds.FrozenObjectIntMap;
+import com.github.tommyettinger.ds.FrozenObjectObjectMap;
+import com.github.tommyettinger.ds.FrozenObjectSet;
+import com.github.tommyettinger.ds.IdentityObjectMap;
+import com.github.tommyettinger.ds.IntList;
+import com.github.tommyettinger.ds.IntObjectMap;
+import com.github.tommyettinger.ds.IntSet;
+import com.github.tommyettinger.ds.MinimalPerfectHash;
+import com.github.tommyettinger.ds.ObjectIntMap;
+import com.github.tommyettinger.ds.ObjectObjectMap;
+import com.github.tommyettinger.ds.ObjectSet;
+import com.github.tommyettinger.ds.support.util.IntIterator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class FrozenTest {
+	@Test
+	public void testMinimalPerfectHash () {
+		Random random = new Random(1L);
+		for (int n : new int[]{0, 1, 2, 3, 7, 100, 1000, 50000}) {
+			IntSet distinct = new IntSet(n);
+			while (distinct.size() < n) distinct.add(random.nextInt());
+			int[] hashes = distinct.toArray();
+			MinimalPerfectHash mph = new MinimalPerfectHash(hashes, n);
+			Assert.assertEquals(Math.max(n, 1), mph.slotCount);
+			Assert.assertEquals(mph.slotCount, mph.tableSize);
+			boolean[] seen = new boolean[mph.tableSize];
+			for (int i = 0; i < n; i++) {
+				int p = mph.positions[i];
+				Assert.assertFalse(seen[p]);
+				seen[p] = true;
+				Assert.assertEquals(p, MinimalPerfectHash.slot(mph.displacements, mph.seed, mph.slotCount, hashes[i]));
+			}
+		}
+	}
+
+	@Test
+	public void testObjectIntMap () {
+		ObjectIntMap<String> map = new ObjectIntMap<>();
+		for (int i = 0; i < 3000; i++) {
+			map.put("symbol" + i, i * 3);
+		}
+		map.setDefaultValue(-1);
+		FrozenObjectIntMap<String> frozen = map.toFrozen();
+		Assert.assertEquals(map.size(), frozen.size());
+		Assert.assertEquals(map.size(), frozen.getKeyTable().length);
+		for (int i = 0; i < 3000; i++) {
+			Assert.assertEquals(i * 3, frozen.get("symbol" + i));
+		}
+		Assert.assertEquals(-1, frozen.get("symbol3000"));
+		Assert.assertFalse(frozen.containsKey("nope"));
+		Assert.assertTrue(frozen.containsValue(2997));
+		Assert.assertEquals(map.hashCode(), frozen.hashCode());
+		int count = 0;
+		for (ObjectIntMap.Entry<String> e : frozen) {
+			Assert.assertEquals(map.get(e.key), e.value);
+			count++;
+		}
+		Assert.assertEquals(map.size(), count);
+
+		FrozenObjectIntMap<String> copy = new FrozenObjectIntMap<>(frozen.getSeed(), frozen.getSlotCount(),
+			frozen.getDisplacements(), frozen.getKeyTable(), frozen.getValueTable());
+		Assert.assertEquals(frozen, copy);
+		Assert.assertEquals(42, copy.get("symbol14"));
+	}
+
+	@Test
+	public void testCollidingKeys () {
+		String[] keys = new String[256];
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < keys.length; i++) {
+			sb.setLength(0);
+			for (int b = 0; b < 8; b++) {
+				sb.append((i >>> b & 1) == 0 ? "Aa" : "BB");
+			}
+			keys[i] = sb.toString();
+		}
+		ObjectObjectMap<String, Integer> map = new ObjectObjectMap<>();
+		for (int i = 0; i < keys.length; i++) {
+			map.put(keys[i], i);
+		}
+		map.put("other", -1);
+		FrozenObjectObjectMap<String, Integer> frozen = map.toFrozen();
+		Assert.assertEquals(2, frozen.getSlotCount());
+		for (int i = 0; i < keys.length; i++) {
+			Assert.assertEquals(i, (int)frozen.get(keys[i]));
+		}
+		Assert.assertEquals(-1, (int)frozen.get("other"));
+		Assert.assertNull(frozen.get("AaAaAaAaAaAaAaAaAa"));
+		Assert.assertEquals(map, frozen);
+		Assert.assertEquals(frozen, map);
+		Assert.assertEquals(map.hashCode(), frozen.hashCode());
+		Assert.assertThrows(UnsupportedOperationException.class, () -> frozen.put("new", 1));
+		Assert.assertThrows(UnsupportedOperationException.class, () -> frozen.entrySet().iterator().remove());
+	}
+
+	@Test
+	public void testIntKeys () {
+		Random random = new Random(2L);
+		IntObjectMap<String> map = new IntObjectMap<>();
+		IntSet set = new IntSet();
+		for (int i = 0; i < 5000; i++) {
+			int k = random.nextInt(20000) - 10000;
+			map.put(k, String.valueOf(k));
+			set.add(k);
+		}
+		map.put(0, "zero");
+		set.add(0);
+		FrozenIntObjectMap<String> frozenMap = map.toFrozen();
+		FrozenIntSet frozenSet = set.toFrozen();
+		Assert.assertEquals(map.size(), frozenMap.size());
+		Assert.assertEquals(set.size(), frozenSet.size());
+		for (int k = -10001; k <= 10001; k++) {
+			Assert.assertEquals(map.get(k), frozenMap.get(k));
+			Assert.assertEquals(set.contains(k), frozenSet.contains(k));
+		}
+		Assert.assertEquals("zero", frozenMap.get(0));
+		Assert.assertEquals(map.hashCode(), frozenMap.hashCode());
+		Assert.assertEquals(set.hashCode(), frozenSet.hashCode());
+		Assert.assertEquals(set, frozenSet);
+		Assert.assertEquals(frozenSet, set);
+		IntList keys = frozenMap.keys().toList();
+		Assert.assertEquals(map.size(), keys.size());
+		IntIterator it = frozenSet.iterator();
+		int count = 0;
+		while (it.hasNext()) {
+			Assert.assertTrue(set.contains(it.nextInt()));
+			count++;
+		}
+		Assert.assertEquals(set.size(), count);
+		Assert.assertThrows(UnsupportedOperationException.class, () -> frozenSet.add(1));
+
+		FrozenIntSet empty = new IntSet().toFrozen();
+		Assert.assertEquals(0, empty.size());
+		Assert.assertFalse(empty.contains(0));
+		Assert.assertFalse(empty.contains(1));
+		Assert.assertFalse(empty.iterator().hasNext());
+	}
+
+	@Test
+	public void testCaseInsensitiveAndIdentity () {
+		CaseInsensitiveMap<String> config = new CaseInsensitiveMap<>();
+		config.put("Width", "800");
+		config.put("HEIGHT", "600");
+		config.put("title", "Demo");
+		FrozenObjectObjectMap<CharSequence, String> frozen = config.toFrozen();
+		Assert.assertEquals("800", frozen.get("width"));
+		Assert.assertEquals("600", frozen.get(new StringBuilder("Height")));
+		Assert.assertEquals("Demo", frozen.get("TITLE"));
+		Assert.assertNull(frozen.get("depth"));
+
+		CaseInsensitiveSet words = CaseInsensitiveSet.with("Apple", "banana");
+		FrozenObjectSet<CharSequence> frozenWords = words.toFrozen();
+		Assert.assertTrue(frozenWords.contains("APPLE"));
+		Assert.assertFalse(frozenWords.contains("cherry"));
+
+		String a = new String("key"), b = new String("key");
+		IdentityObjectMap<String, Integer> identity = new IdentityObjectMap<>();
+		identity.put(a, 1);
+		identity.put(b, 2);
+		FrozenObjectObjectMap<String, Integer> frozenIdentity = identity.toFrozen();
+		Assert.assertEquals(2, frozenIdentity.size());
+		Assert.assertEquals(1, (int)frozenIdentity.get(a));
+		Assert.assertEquals(2, (int)frozenIdentity.get(b));
+		Assert.assertNull(frozenIdentity.get("key"));
+
+		ObjectSet<String> plain = ObjectSet.with("x", "y", "z");
+		FrozenObjectSet<String> frozenPlain = plain.toFrozen();
+		Assert.assertEquals(plain, frozenPlain);
+		Assert.assertEquals(frozenPlain, plain);
+		Assert.assertEquals(plain.hashCode(), frozenPlain.hashCode());
+	}
+}
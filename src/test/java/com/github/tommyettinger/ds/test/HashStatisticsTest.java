@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.HashStatistics;
+import com.github.tommyettinger.ds.IntIntMap;
+import com.github.tommyettinger.ds.IntOrderedSet;
+import com.github.tommyettinger.ds.IntSet;
+import com.github.tommyettinger.ds.LongSet;
+import com.github.tommyettinger.ds.NumberedSet;
+import com.github.tommyettinger.ds.ObjectObjectMap;
+import com.github.tommyettinger.ds.ObjectObjectOrderedMap;
+import com.github.tommyettinger.ds.ObjectSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HashStatisticsTest {
+	/**
+	 * Every instance collides with every other, but they are only equal to themselves.
+	 */
+	static final class Colliding {
+		@Override
+		public int hashCode() {
+			return 42;
+		}
+	}
+
+	private static void checkClusters(HashStatistics stats) {
+		int[] histogram = stats.getClusterHistogram();
+		int total = 0;
+		for (int h : histogram) total += h;
+		Assert.assertEquals(stats.getClusterCount(), total);
+		Assert.assertTrue(stats.getMaxClusterLength() > stats.getMaxProbe());
+	}
+
+	@Test
+	public void testGoodHash() {
+		ObjectObjectMap<String, Integer> map = new ObjectObjectMap<>();
+		for (int i = 0; i < 1000; i++) {
+			map.put("item" + i, i);
+		}
+		HashStatistics stats = map.getStatistics();
+		Assert.assertEquals(1000, stats.getSize());
+		Assert.assertEquals(1000, stats.getOccupied());
+		Assert.assertEquals(map.getTableSize(), stats.getTableSize());
+		Assert.assertFalse(stats.toString(), stats.isBadHash());
+		Assert.assertTrue(stats.getAverageProbe() < 4.0);
+		Assert.assertEquals(2 * HashStatistics.arrayBytes(map.getTableSize(), HashStatistics.REFERENCE_BYTES),
+			stats.getRetainedBytes());
+		Assert.assertEquals(0, stats.getResizeCount());
+		checkClusters(stats);
+	}
+
+	@Test
+	public void testLinearTable() {
+		ObjectObjectMap<String, Integer> map = new ObjectObjectMap<>(8);
+		for (int i = 0; i < 8; i++) {
+			map.put("item" + i, i);
+		}
+		HashStatistics stats = map.getStatistics();
+		Assert.assertTrue(stats.getTableSize() <= 16);
+		Assert.assertEquals(8, stats.getOccupied());
+		Assert.assertEquals(0, stats.getMaxProbe());
+		Assert.assertEquals(0.0, stats.getAverageProbe(), 0.0);
+		Assert.assertFalse(stats.isBadHash());
+
+		IntIntMap ints = new IntIntMap(8);
+		IntSet set = new IntSet();
+		for (int i = 1; i <= 8; i++) {
+			ints.put(i * 16, i);
+			set.add(i * 16);
+		}
+		Assert.assertEquals(0, ints.getStatistics().getMaxProbe());
+		Assert.assertEquals(8, ints.getStatistics().getOccupied());
+		Assert.assertEquals(0, set.getStatistics().getMaxProbe());
+		Assert.assertEquals(0.0, set.getStatistics().getAverageProbe(), 0.0);
+	}
+
+	@Test
+	public void testOrderedRetainedBytes() {
+		ObjectObjectMap<String, Integer> map = new ObjectObjectMap<>();
+		ObjectObjectOrderedMap<String, Integer> ordered = new ObjectObjectOrderedMap<>();
+		IntSet set = new IntSet();
+		IntOrderedSet orderedSet = new IntOrderedSet();
+		for (int i = 1; i <= 40; i++) {
+			map.put("item" + i, i);
+			ordered.put("item" + i, i);
+			set.add(i);
+			orderedSet.add(i);
+		}
+		Assert.assertEquals(map.getTableSize(), ordered.getTableSize());
+		Assert.assertEquals(map.getStatistics().getRetainedBytes() + HashStatistics.arrayBytes(40, HashStatistics.REFERENCE_BYTES),
+			ordered.getStatistics().getRetainedBytes());
+		Assert.assertEquals(set.getStatistics().getRetainedBytes() + HashStatistics.arrayBytes(orderedSet.order().items.length, 4),
+			orderedSet.getStatistics().getRetainedBytes());
+	}
+
+	@Test
+	public void testBadHash() {
+		ObjectSet<Colliding> set = new ObjectSet<>();
+		for (int i = 0; i < 100; i++) {
+			set.add(new Colliding());
+		}
+		HashStatistics stats = set.getStatistics();
+		Assert.assertEquals(99, stats.getMaxProbe());
+		Assert.assertEquals(99 * 50 / 100.0, stats.getAverageProbe(), 0.0001);
+		Assert.assertEquals(1, stats.getClusterCount());
+		Assert.assertEquals(100, stats.getMaxClusterLength());
+		Assert.assertEquals(1, stats.getClusterHistogram()[6]);
+		Assert.assertTrue(stats.isBadHash());
+		Assert.assertTrue(stats.toString().contains("bad hash"));
+		Assert.assertFalse(stats.setBadProbeThreshold(200).isBadHash());
+	}
+
+	@Test
+	public void testResizeTracking() {
+		IntIntMap map = new IntIntMap(4);
+		Assert.assertFalse(map.isTrackingStatistics());
+		map.setTrackingStatistics(true);
+		for (int i = 0; i < 1000; i++) {
+			map.put(i, i);
+		}
+		HashStatistics stats = map.getStatistics();
+		Assert.assertTrue(stats.getResizeCount() > 0);
+		Assert.assertTrue(stats.getResizeNanos() >= 0L);
+		Assert.assertSame(stats, map.getStatistics());
+		// The key 0 is not stored in the table.
+		Assert.assertEquals(1000, stats.getSize());
+		Assert.assertEquals(999, stats.getOccupied());
+		Assert.assertEquals(2 * HashStatistics.arrayBytes(map.getTableSize(), 4), stats.getRetainedBytes());
+		checkClusters(stats);
+		map.setTrackingStatistics(false);
+		Assert.assertEquals(0, map.getStatistics().getResizeCount());
+
+		LongSet longs = new LongSet(4);
+		longs.setTrackingStatistics(true);
+		for (long i = 1; i <= 100; i++) {
+			longs.add(i * 0x100000000L);
+		}
+		Assert.assertTrue(longs.getStatistics().getResizeCount() > 0);
+		Assert.assertEquals(100, longs.getStatistics().getOccupied());
+
+		NumberedSet<String> numbered = new NumberedSet<>(4);
+		numbered.setTrackingStatistics(true);
+		for (int i = 0; i < 100; i++) {
+			numbered.add("n" + i);
+		}
+		Assert.assertTrue(numbered.getStatistics().getResizeCount() > 0);
+		Assert.assertEquals(100, numbered.getStatistics().getOccupied());
+	}
+}
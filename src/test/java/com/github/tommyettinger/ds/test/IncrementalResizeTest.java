@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.IntIntMap;
+import com.github.tommyettinger.ds.ObjectList;
+import com.github.tommyettinger.ds.ObjectObjectMap;
+import com.github.tommyettinger.ds.ObjectObjectOrderedMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class IncrementalResizeTest {
+	@Test
+	public void testObjectObjectMap () {
+		for (float loadFactor : new float[]{0.5f, 0.9f, 1f}) {
+			ObjectObjectMap<Integer, Integer> map = new ObjectObjectMap<>(4, loadFactor);
+			map.setIncrementalResize(true);
+			ObjectObjectMap<Integer, Integer> plain = new ObjectObjectMap<>(4, loadFactor);
+			HashMap<Integer, Integer> expected = new HashMap<>();
+			Random random = new Random(1L);
+			boolean sawResizing = false;
+			for (int i = 0; i < 60000; i++) {
+				int k = random.nextInt(20000) - 1000;
+				int r = random.nextInt(10);
+				if (r < 6) {
+					Assert.assertEquals(expected.put(k, i), map.put(k, i));
+					plain.put(k, i);
+				} else if (r < 8) {
+					Assert.assertEquals(expected.get(k), map.get(k));
+					Assert.assertEquals(expected.containsKey(k), map.containsKey(k));
+				} else {
+					Assert.assertEquals(expected.remove(k), map.remove(k));
+					plain.remove(k);
+				}
+				Assert.assertEquals(expected.size(), map.size());
+				sawResizing |= map.isResizing();
+				if (i % 9973 == 0) {
+					Assert.assertEquals(plain, map);
+					Assert.assertEquals(plain.hashCode(), map.hashCode());
+					Assert.assertFalse(map.isResizing());
+				}
+			}
+			Assert.assertTrue(sawResizing);
+			for (int k = -1000; k < 19000; k++) {
+				Assert.assertEquals(expected.get(k), map.get(k));
+			}
+			int count = 0;
+			for (Map.Entry<Integer, Integer> e : map) {
+				Assert.assertEquals(expected.get(e.getKey()), e.getValue());
+				count++;
+			}
+			Assert.assertEquals(expected.size(), count);
+		}
+	}
+
+	@Test
+	public void testWithFloodDefense () {
+		// "Aa" and "BB" share a hashCode, so every key built from 9 of those blocks collides with every other one.
+		ObjectList<String> keys = new ObjectList<>();
+		for (int i = 0; i < 512; i++) {
+			StringBuilder sb = new StringBuilder(18);
+			for (int b = 0; b < 9; b++) {sb.append((i >>> b & 1) == 0 ? "Aa" : "BB");}
+			keys.add(sb.toString());
+			keys.add("plain" + i);
+		}
+		ObjectObjectMap<String, Integer> map = new ObjectObjectMap<>(4);
+		map.setIncrementalResize(true);
+		map.setProbeLimit(8);
+		HashMap<String, Integer> expected = new HashMap<>();
+		Random random = new Random(3L);
+		for (int i = 0; i < 20000; i++) {
+			String k = keys.get(random.nextInt(i < 10000 ? keys.size() : 300));
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(expected.remove(k), map.remove(k));
+			} else {
+				Assert.assertEquals(expected.put(k, i), map.put(k, i));
+			}
+			Assert.assertEquals(expected.size(), map.size());
+			Assert.assertEquals(expected.get(k), map.get(k));
+			Assert.assertEquals(expected.containsKey(k), map.containsKey(k));
+		}
+		for (String k : keys) {Assert.assertEquals(expected.get(k), map.get(k));}
+		int seen = 0;
+		for (Map.Entry<String, Integer> e : map) {
+			Assert.assertEquals(expected.get(e.getKey()), e.getValue());
+			seen++;
+		}
+		Assert.assertEquals(expected.size(), seen);
+	}
+
+	@Test
+	public void testOrderedAndCopies () {
+		ObjectObjectOrderedMap<String, Integer> map = new ObjectObjectOrderedMap<>(2);
+		map.setIncrementalResize(true);
+		int n = 0;
+		while (n < 1000 || !map.isResizing()) {
+			map.put("k" + n, n);
+			n++;
+		}
+		ObjectObjectOrderedMap<String, Integer> copy = new ObjectObjectOrderedMap<>(map);
+		Assert.assertFalse(map.isResizing());
+		Assert.assertEquals(map, copy);
+		Assert.assertEquals(n, map.toFrozen().size());
+		for (int i = 0; i < n; i++) {
+			Assert.assertEquals(Integer.valueOf(i), map.getAt(i));
+		}
+		map.setIncrementalResize(false);
+		Assert.assertFalse(map.isResizing());
+		map.clear();
+		Assert.assertNull(map.get("k5"));
+		Assert.assertEquals(0, map.size());
+	}
+
+	@Test
+	public void testIntIntMap () {
+		for (float loadFactor : new float[]{0.5f, 0.9f, 1f}) {
+			IntIntMap map = new IntIntMap(4, loadFactor);
+			map.setIncrementalResize(true);
+			IntIntMap plain = new IntIntMap(4, loadFactor);
+			HashMap<Integer, Integer> expected = new HashMap<>();
+			Random random = new Random(2L);
+			boolean sawResizing = false;
+			for (int i = 0; i < 60000; i++) {
+				int k = random.nextInt(20000) - 1000;
+				int r = random.nextInt(10);
+				if (r < 6) {
+					Integer old = expected.put(k, i);
+					Assert.assertEquals(old == null ? 0 : old, map.put(k, i));
+					plain.put(k, i);
+				} else if (r < 8) {
+					Assert.assertEquals(expected.getOrDefault(k, -1).intValue(), map.getOrDefault(k, -1));
+					Assert.assertEquals(expected.containsKey(k), map.containsKey(k));
+				} else {
+					Integer old = expected.remove(k);
+					Assert.assertEquals(old == null ? 0 : old, map.remove(k));
+					plain.remove(k);
+				}
+				Assert.assertEquals(expected.size(), map.size());
+				sawResizing |= map.isResizing();
+				if (i % 9973 == 0) {
+					Assert.assertEquals(plain, map);
+					Assert.assertEquals(plain.hashCode(), map.hashCode());
+				}
+			}
+			Assert.assertTrue(sawResizing);
+			int count = 0;
+			for (IntIntMap.Entry e : map) {
+				Assert.assertEquals(expected.get(e.key).intValue(), e.value);
+				count++;
+			}
+			Assert.assertEquals(expected.size(), count);
+			map.clear();
+			Assert.assertFalse(map.isResizing());
+			Assert.assertFalse(map.containsKey(5));
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.FloatList;
+import com.github.tommyettinger.ds.FloatListView;
+import com.github.tommyettinger.ds.IntDeque;
+import com.github.tommyettinger.ds.IntList;
+import com.github.tommyettinger.ds.IntListView;
+import com.github.tommyettinger.ds.IntSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class ListViewTest {
+	@Test
+	public void testSlice () {
+		IntList list = new IntList();
+		for (int i = 0; i < 100; i++) {list.add(i * 3);}
+		IntListView slice = list.slice(10, 20);
+		Assert.assertEquals(20, slice.size());
+		Assert.assertEquals(30, slice.get(0));
+		Assert.assertEquals(new IntList(list.items, 10, 20), slice.toList());
+		Assert.assertEquals(slice.toList().hashCode(), slice.hashCode());
+		Assert.assertEquals(slice, slice.toList());
+		Assert.assertTrue(slice.contains(45));
+		Assert.assertFalse(slice.contains(0));
+		Assert.assertEquals(5, slice.indexOf(45));
+
+		slice.set(0, -1);
+		Assert.assertEquals(-1, list.get(10));
+		slice.reverse();
+		Assert.assertEquals(-1, list.get(29));
+		Assert.assertEquals(87, list.get(10));
+		slice.sort();
+		Assert.assertEquals(-1, list.get(10));
+		Assert.assertEquals(9 * 3, list.get(9));
+		Assert.assertEquals(30 * 3, list.get(30));
+		slice.shuffle(new Random(1L));
+		Assert.assertEquals(9 * 3, list.get(9));
+		Assert.assertEquals(30 * 3, list.get(30));
+
+		IntListView inner = slice.slice(5, 3);
+		Assert.assertEquals(list.get(15), inner.get(0));
+		Assert.assertThrows(IndexOutOfBoundsException.class, () -> inner.get(3));
+		Assert.assertThrows(IndexOutOfBoundsException.class, () -> slice.slice(15, 10));
+		Assert.assertThrows(IndexOutOfBoundsException.class, () -> list.slice(95, 10));
+		Assert.assertThrows(UnsupportedOperationException.class, () -> slice.add(1));
+
+		IntSet set = new IntSet();
+		set.addAll(slice);
+		Assert.assertEquals(20, set.size());
+		int[] batch = new int[30];
+		Assert.assertEquals(20, slice.iterator().nextBatch(batch, 5, 25));
+		for (int i = 0; i < 20; i++) {Assert.assertEquals(list.get(10 + i), batch[5 + i]);}
+	}
+
+	@Test
+	public void testReadOnly () {
+		FloatList list = FloatList.with(1f, 2f, 3f);
+		FloatListView view = list.readOnlyView();
+		Assert.assertTrue(view.isReadOnly());
+		Assert.assertEquals(3, view.size());
+		list.add(4f);
+		Assert.assertEquals(4, view.size());
+		Assert.assertEquals(4f, view.get(3), 0f);
+		Assert.assertEquals(list.hashCode(), view.hashCode());
+		Assert.assertEquals("[1.0, 2.0, 3.0, 4.0]", view.toString());
+		Assert.assertThrows(UnsupportedOperationException.class, () -> view.set(0, 5f));
+		Assert.assertThrows(UnsupportedOperationException.class, view::sort);
+		Assert.assertThrows(UnsupportedOperationException.class, () -> view.swap(0, 1));
+		Assert.assertThrows(UnsupportedOperationException.class, view::clear);
+		Assert.assertTrue(list.slice(1, 2).readOnlyView().isReadOnly());
+		list.clear();
+		Assert.assertTrue(view.isEmpty());
+	}
+
+	@Test
+	public void testDequeSlice () {
+		IntDeque deque = new IntDeque(8);
+		for (int i = 0; i < 6; i++) {deque.addLast(i);}
+		for (int i = 1; i <= 4; i++) {deque.addFirst(-i);}
+		IntListView slice = deque.slice(2, 6);
+		Assert.assertEquals(IntList.with(-2, -1, 0, 1, 2, 3), slice.toList());
+		int[] batch = new int[6];
+		Assert.assertEquals(6, slice.iterator().nextBatch(batch, 0, 6));
+		Assert.assertArrayEquals(new int[]{-2, -1, 0, 1, 2, 3}, batch);
+		slice.reverse();
+		Assert.assertEquals(3, deque.get(2));
+		slice.sort();
+		Assert.assertEquals(-2, deque.get(2));
+		Assert.assertEquals(3, deque.get(7));
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.IntIntMultimap;
+import com.github.tommyettinger.ds.IntList;
+import com.github.tommyettinger.ds.LongList;
+import com.github.tommyettinger.ds.LongLongMultimap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class MultimapTest {
+	@Test
+	public void testIntIntMultimap () {
+		Random random = new Random(1L);
+		IntIntMultimap map = new IntIntMultimap(4);
+		LinkedHashMap<Integer, List<Integer>> expected = new LinkedHashMap<>();
+		IntIntMultimap.ValueIterator it = map.valueIterator();
+		IntList out = new IntList();
+		for (int round = 0; round < 20; round++) {
+			for (int n = 0; n < 500; n++) {
+				int key = random.nextInt(300) - 150, value = random.nextInt(1000);
+				map.put(key, value);
+				expected.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+			}
+			Assert.assertFalse(map.isFrozen());
+			Assert.assertEquals(expected.size(), map.keyCount());
+			Assert.assertTrue(map.isFrozen());
+			int total = 0, row = 0;
+			for (Map.Entry<Integer, List<Integer>> e : expected.entrySet()) {
+				int key = e.getKey();
+				List<Integer> vs = e.getValue();
+				total += vs.size();
+				Assert.assertEquals(key, map.keyAt(row++));
+				Assert.assertEquals(vs.size(), map.degree(key));
+				out.clear();
+				map.get(key, out);
+				Assert.assertEquals(vs.size(), out.size());
+				it.reset(key);
+				for (int i = 0; i < vs.size(); i++) {
+					Assert.assertEquals((int)vs.get(i), out.get(i));
+					Assert.assertEquals((int)vs.get(i), it.nextInt());
+				}
+				Assert.assertFalse(it.hasNext());
+				Assert.assertTrue(map.contains(key, vs.get(0)));
+			}
+			Assert.assertEquals(total, map.size());
+			Assert.assertFalse(map.containsKey(1000));
+			Assert.assertEquals(0, map.degree(1000));
+			Assert.assertFalse(it.reset(1000).hasNext());
+		}
+		IntList keys = new IntList(), values = new IntList();
+		for (Map.Entry<Integer, List<Integer>> e : expected.entrySet()) {
+			for (int v : e.getValue()) {
+				keys.add(e.getKey());
+				values.add(v);
+			}
+		}
+		IntIntMultimap bulk = new IntIntMultimap(keys, values);
+		Assert.assertEquals(map, bulk);
+		Assert.assertEquals(map.hashCode(), bulk.hashCode());
+		Assert.assertEquals(map, new IntIntMultimap(map));
+		IntIntMultimap merged = new IntIntMultimap();
+		merged.putAll(map);
+		Assert.assertEquals(map, merged);
+		merged.put(7, 7);
+		Assert.assertNotEquals(map, merged);
+
+		map.sortValues();
+		int[] offsets = map.getOffsetArray(), vals = map.getValueArray();
+		for (int r = 0; r < map.keyCount(); r++) {
+			for (int i = offsets[r] + 1; i < offsets[r + 1]; i++) {Assert.assertTrue(vals[i - 1] <= vals[i]);}
+		}
+		IntList degrees = map.degrees(new IntList());
+		Assert.assertEquals(map.degree(map.keyAt(3)), degrees.get(3));
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertEquals("{}", map.toString());
+		map.putAll(new int[]{1, 2, 1}, new int[]{10, 20, 11});
+		Assert.assertEquals("{1=[10, 11], 2=[20]}", map.toString());
+	}
+
+	@Test
+	public void testLongLongMultimap () {
+		Random random = new Random(2L);
+		LongLongMultimap map = new LongLongMultimap();
+		LinkedHashMap<Long, List<Long>> expected = new LinkedHashMap<>();
+		LongLongMultimap.ValueIterator it = map.valueIterator();
+		for (int round = 0; round < 10; round++) {
+			for (int n = 0; n < 400; n++) {
+				long key = (random.nextInt(200) - 100) * 0x100000001L, value = random.nextLong();
+				map.put(key, value);
+				expected.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+			}
+			for (Map.Entry<Long, List<Long>> e : expected.entrySet()) {
+				List<Long> vs = e.getValue();
+				Assert.assertEquals(vs.size(), map.degree(e.getKey()));
+				it.reset(e.getKey());
+				for (long v : vs) {Assert.assertEquals(v, it.nextLong());}
+				Assert.assertFalse(it.hasNext());
+			}
+		}
+		LongList keys = new LongList(), values = new LongList();
+		for (Map.Entry<Long, List<Long>> e : expected.entrySet()) {
+			for (long v : e.getValue()) {
+				keys.add(e.getKey());
+				values.add(v);
+			}
+		}
+		Assert.assertEquals(map, new LongLongMultimap(keys, values));
+		Assert.assertEquals(expected.size(), map.keys().size());
+	}
+}
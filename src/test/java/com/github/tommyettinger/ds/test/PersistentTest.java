@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.ObjectList;
+import com.github.tommyettinger.ds.ObjectObjectMap;
+import com.github.tommyettinger.ds.ObjectSet;
+import com.github.tommyettinger.ds.PersistentList;
+import com.github.tommyettinger.ds.PersistentMap;
+import com.github.tommyettinger.ds.PersistentSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class PersistentTest {
+	@Test
+	public void testMapAgainstHashMap () {
+		Random random = new Random(1L);
+		HashMap<Integer, String> expected = new HashMap<>();
+		PersistentMap<Integer, String> map = PersistentMap.empty();
+		ArrayList<PersistentMap<Integer, String>> versions = new ArrayList<>();
+		ArrayList<HashMap<Integer, String>> snapshots = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			int k = random.nextInt(3000);
+			if (random.nextInt(3) == 0) {
+				map = map.minus(k);
+				expected.remove(k);
+			} else {
+				map = map.plus(k, "v" + i);
+				expected.put(k, "v" + i);
+			}
+			if (i % 1000 == 0) {
+				versions.add(map);
+				snapshots.add(new HashMap<>(expected));
+			}
+		}
+		Assert.assertEquals(expected, map);
+		Assert.assertEquals(map, expected);
+		for (int i = 0; i < versions.size(); i++) {
+			Assert.assertEquals(snapshots.get(i), versions.get(i));
+		}
+		ObjectObjectMap<Integer, String> copy = new ObjectObjectMap<>(expected);
+		Assert.assertEquals(copy, map);
+		Assert.assertEquals(copy.hashCode(), map.hashCode());
+		Assert.assertSame(map, map.minus(-1));
+		Assert.assertThrows(UnsupportedOperationException.class, () -> PersistentMap.<String, String>empty().put("a", "b"));
+	}
+
+	@Test
+	public void testCollidingKeys () {
+		String[] keys = new String[64];
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < keys.length; i++) {
+			sb.setLength(0);
+			for (int b = 0; b < 6; b++) {
+				sb.append((i >>> b & 1) == 0 ? "Aa" : "BB");
+			}
+			keys[i] = sb.toString();
+		}
+		PersistentMap<String, Integer> map = PersistentMap.empty();
+		for (int i = 0; i < keys.length; i++) {
+			map = map.plus(keys[i], i);
+		}
+		map = map.plus("other", -1).plus(null, 5);
+		Assert.assertEquals(keys.length + 1, map.size());
+		for (int i = 0; i < keys.length; i++) {
+			Assert.assertEquals(i, (int)map.get(keys[i]));
+		}
+		PersistentMap<String, Integer> smaller = map;
+		for (int i = 0; i < keys.length; i += 2) {
+			smaller = smaller.minus(keys[i]);
+		}
+		Assert.assertEquals(keys.length / 2 + 1, smaller.size());
+		for (int i = 0; i < keys.length; i++) {
+			Assert.assertEquals((i & 1) == 1, smaller.containsKey(keys[i]));
+			Assert.assertTrue(map.containsKey(keys[i]));
+		}
+		int count = 0;
+		for (Map.Entry<String, Integer> e : smaller) {
+			Assert.assertEquals(e.getValue(), smaller.get(e.getKey()));
+			count++;
+		}
+		Assert.assertEquals(smaller.size(), count);
+	}
+
+	@Test
+	public void testMapTransient () {
+		PersistentMap<String, Integer> base = PersistentMap.empty();
+		for (int i = 0; i < 500; i++) {
+			base = base.plus("k" + i, i);
+		}
+		PersistentMap.Transient<String, Integer> t = base.toTransient();
+		for (int i = 0; i < 500; i += 2) {
+			Assert.assertEquals(i, (int)t.remove("k" + i));
+		}
+		for (int i = 500; i < 1000; i++) {
+			Assert.assertNull(t.put("k" + i, i));
+		}
+		Assert.assertEquals(1, (int)t.put("k1", 100));
+		PersistentMap<String, Integer> next = t.toPersistent();
+		Assert.assertThrows(IllegalStateException.class, () -> t.put("late", 0));
+		Assert.assertEquals(750, next.size());
+		Assert.assertEquals(500, base.size());
+		Assert.assertEquals(1, (int)base.get("k1"));
+		Assert.assertEquals(100, (int)next.get("k1"));
+		Assert.assertEquals(0, (int)base.get("k0"));
+		Assert.assertNull(next.get("k0"));
+		Assert.assertEquals(999, (int)next.get("k999"));
+		Assert.assertFalse(base.containsKey("k999"));
+	}
+
+	@Test
+	public void testSet () {
+		Random random = new Random(2L);
+		ObjectSet<Integer> expected = new ObjectSet<>();
+		PersistentSet<Integer> set = PersistentSet.empty();
+		for (int i = 0; i < 10000; i++) {
+			int k = random.nextInt(2000);
+			if (random.nextBoolean()) {
+				set = set.plus(k);
+				expected.add(k);
+			} else {
+				set = set.minus(k);
+				expected.remove(k);
+			}
+		}
+		Assert.assertEquals(expected, set);
+		Assert.assertEquals(set, expected);
+		Assert.assertEquals(expected.hashCode(), set.hashCode());
+		PersistentSet.Transient<Integer> t = set.toTransient();
+		for (int i = 0; i < 2000; i++) {
+			t.add(i);
+		}
+		PersistentSet<Integer> full = t.toPersistent();
+		Assert.assertEquals(2000, full.size());
+		Assert.assertEquals(expected.size(), set.size());
+		Assert.assertThrows(UnsupportedOperationException.class, () -> full.add(1));
+	}
+
+	@Test
+	public void testList () {
+		Random random = new Random(3L);
+		ObjectList<Integer> expected = new ObjectList<>();
+		PersistentList<Integer> list = PersistentList.empty();
+		ArrayList<PersistentList<Integer>> versions = new ArrayList<>();
+		ArrayList<ObjectList<Integer>> snapshots = new ArrayList<>();
+		for (int i = 0; i < 40000; i++) {
+			int r = random.nextInt(10);
+			if (r < 6 || expected.isEmpty()) {
+				list = list.plus(i);
+				expected.add(i);
+			} else if (r < 8) {
+				int idx = random.nextInt(expected.size());
+				list = list.update(idx, -i);
+				expected.set(idx, -i);
+			} else {
+				list = list.minusLast();
+				expected.pop();
+			}
+			if (i % 4000 == 0) {
+				versions.add(list);
+				snapshots.add(new ObjectList<>(expected));
+			}
+		}
+		Assert.assertEquals(expected, list);
+		Assert.assertEquals(list, expected);
+		Assert.assertEquals(expected.hashCode(), list.hashCode());
+		for (int i = 0; i < versions.size(); i++) {
+			Assert.assertEquals(snapshots.get(i), versions.get(i));
+		}
+		while (list.notEmpty()) {
+			Assert.assertEquals(expected.pop(), list.peek());
+			list = list.minusLast();
+		}
+		Assert.assertThrows(IllegalStateException.class, list::minusLast);
+	}
+
+	@Test
+	public void testListTransient () {
+		PersistentList<String> base = PersistentList.with("a", "b", "c");
+		PersistentList.Transient<String> t = base.toTransient();
+		for (int i = 0; i < 5000; i++) {
+			t.add("n" + i);
+		}
+		Assert.assertEquals("b", t.set(1, "B"));
+		Assert.assertEquals("n4999", t.pop());
+		for (int i = 0; i < 1200; i++) {
+			t.pop();
+		}
+		t.set(100, "hundred");
+		PersistentList<String> next = t.toPersistent();
+		Assert.assertThrows(IllegalStateException.class, () -> t.add("late"));
+		Assert.assertEquals(3 + 5000 - 1201, next.size());
+		Assert.assertEquals("B", next.get(1));
+		Assert.assertEquals("hundred", next.get(100));
+		Assert.assertEquals("n" + (5000 - 1202), next.get(next.size() - 1));
+		Assert.assertEquals(PersistentList.with("a", "b", "c"), base);
+		PersistentList<String> grown = next.plusAll(ObjectList.with("x", "y"));
+		Assert.assertEquals(next.size() + 2, grown.size());
+		Assert.assertEquals("y", grown.peek());
+		Assert.assertEquals("n" + (5000 - 1202), next.peek());
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.AliasSampler;
+import com.github.tommyettinger.ds.FenwickSampler;
+import com.github.tommyettinger.ds.FloatList;
+import com.github.tommyettinger.ds.IntList;
+import com.github.tommyettinger.ds.ObjectList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class SamplerTest {
+	private static final int DRAWS = 200000;
+
+	private static void checkCounts (double[] weights, int[] counts) {
+		double total = 0.0;
+		for (double w : weights) {total += w;}
+		for (int i = 0; i < weights.length; i++) {
+			double expected = DRAWS * weights[i] / total;
+			if (weights[i] == 0.0) {
+				Assert.assertEquals(0, counts[i]);
+			} else {
+				Assert.assertEquals(expected, counts[i], 5.0 * Math.sqrt(expected) + 1.0);
+			}
+		}
+	}
+
+	@Test
+	public void testAliasSampler () {
+		Random random = new Random(1L);
+		FloatList weights = new FloatList();
+		for (int i = 0; i < 100; i++) {weights.add(i % 7 == 3 ? 0f : random.nextFloat() * (i % 5 + 1));}
+		AliasSampler sampler = new AliasSampler(weights);
+		Assert.assertEquals(100, sampler.size());
+		int[] counts = new int[100];
+		for (int i = 0; i < DRAWS; i++) {counts[sampler.sampleIndex(random)]++;}
+		double[] ws = new double[100];
+		double total = 0.0;
+		for (int i = 0; i < 100; i++) {total += ws[i] = weights.get(i);}
+		checkCounts(ws, counts);
+		for (int i = 0; i < 100; i++) {Assert.assertEquals(ws[i] / total, sampler.chanceOf(i), 1e-9);}
+
+		ObjectList<String> names = new ObjectList<>();
+		IntList ids = new IntList();
+		for (int i = 0; i < 100; i++) {
+			names.add("n" + i);
+			ids.add(i * 10);
+		}
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertNotEquals(0, ws[Integer.parseInt(sampler.sample(random, names).substring(1))], 0.0);
+			Assert.assertEquals(0, sampler.sample(random, ids) % 10);
+		}
+		sampler.set(new double[]{0.0, 5.0, 0.0}, 0, 3);
+		for (int i = 0; i < 100; i++) {Assert.assertEquals(1, sampler.sampleIndex(random));}
+		Assert.assertThrows(IllegalArgumentException.class, () -> sampler.set(new float[]{1f, -1f}, 0, 2));
+		Assert.assertThrows(IllegalArgumentException.class, () -> sampler.set(new float[]{0f, 0f}, 0, 2));
+		sampler.clear();
+		Assert.assertEquals(-1, sampler.sampleIndex(random));
+		Assert.assertNull(sampler.sample(random, names));
+	}
+
+	@Test
+	public void testFenwickSampler () {
+		Random random = new Random(2L);
+		FenwickSampler sampler = new FenwickSampler(2);
+		double[] ws = new double[77];
+		for (int i = 0; i < ws.length; i++) {
+			ws[i] = i % 6 == 1 ? 0.0 : random.nextDouble() * 3.0;
+			sampler.add(ws[i]);
+		}
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i <= ws.length; i++) {
+				double sum = 0.0;
+				for (int j = 0; j < i; j++) {sum += ws[j];}
+				Assert.assertEquals(sum, sampler.prefixSum(i), 1e-9);
+			}
+			int[] counts = new int[ws.length];
+			for (int i = 0; i < DRAWS; i++) {counts[sampler.sampleIndex(random)]++;}
+			checkCounts(ws, counts);
+			for (int n = 0; n < 40; n++) {
+				int i = random.nextInt(ws.length);
+				double w = random.nextInt(4) == 0 ? 0.0 : random.nextDouble() * 10.0;
+				Assert.assertEquals(ws[i], sampler.set(i, w), 0.0);
+				ws[i] = w;
+			}
+		}
+		sampler.rebuild();
+		double total = 0.0;
+		for (double w : ws) {total += w;}
+		Assert.assertEquals(total, sampler.total(), 1e-9);
+		Assert.assertEquals(sampler.total(), new FenwickSampler(ws).total(), 1e-9);
+
+		FenwickSampler small = new FenwickSampler(new float[]{0f, 0f, 2f, 0f});
+		Assert.assertEquals(2, small.findIndex(100.0));
+		Assert.assertEquals(2, small.sample(random, IntList.with(0, 1, 2, 3)));
+		small.set(2, 0.0);
+		Assert.assertEquals(-1, small.sampleIndex(random));
+		Assert.assertEquals(0, small.sample(random, IntList.with(0, 1, 2, 3)));
+		Assert.assertThrows(IllegalArgumentException.class, () -> small.add(Double.NaN));
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.CaseInsensitiveSet;
+import com.github.tommyettinger.ds.IntOrderedSet;
+import com.github.tommyettinger.ds.IntSet;
+import com.github.tommyettinger.ds.LongSet;
+import com.github.tommyettinger.ds.ObjectOrderedSet;
+import com.github.tommyettinger.ds.ObjectSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class SetAlgebraTest {
+	@Test
+	public void testIntSet() {
+		Random random = new Random(99L);
+		int[][] sizes = {{0, 0}, {0, 40}, {10, 3000}, {3000, 10}, {1000, 1000}};
+		for (int[] sz : sizes) {
+			IntSet a = new IntSet(), b = new IntOrderedSet();
+			Set<Integer> ja = new HashSet<>(), jb = new HashSet<>();
+			int bound = Math.max(sz[0], sz[1]) + 1;
+			for (int i = 0; i < sz[0]; i++) {int r = random.nextInt(bound); a.add(r); ja.add(r);}
+			for (int i = 0; i < sz[1]; i++) {int r = random.nextInt(bound); b.add(r); jb.add(r);}
+			IntSet copyA = new IntSet(a), copyB = new IntSet(b);
+
+			Set<Integer> expected = new HashSet<>(ja);
+			expected.addAll(jb);
+			check(expected, IntSet.union(a, b));
+			expected = new HashSet<>(ja);
+			expected.retainAll(jb);
+			check(expected, IntSet.intersection(a, b));
+			Assert.assertEquals(expected.size(), IntSet.intersectionSize(a, b));
+			int both = expected.size();
+			expected = new HashSet<>(ja);
+			expected.removeAll(jb);
+			check(expected, IntSet.difference(a, b));
+			expected = new HashSet<>(jb);
+			expected.removeAll(ja);
+			check(expected, IntSet.difference(b, a));
+			Set<Integer> sym = new HashSet<>(ja);
+			sym.addAll(jb);
+			Set<Integer> common = new HashSet<>(ja);
+			common.retainAll(jb);
+			sym.removeAll(common);
+			check(sym, IntSet.symmetricDifference(a, b));
+			int either = ja.size() + jb.size() - both;
+			Assert.assertEquals(either == 0 ? 1.0 : both / (double)either, IntSet.jaccard(a, b), 0.0);
+
+			Assert.assertEquals(copyA, a);
+			Assert.assertEquals(copyB, b);
+		}
+	}
+
+	private static void check(Set<Integer> expected, IntSet actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		for (int e : expected) Assert.assertTrue(actual.contains(e));
+		int count = 0;
+		for (IntSet.IntSetIterator it = actual.iterator(); it.hasNext(); it.nextInt()) count++;
+		Assert.assertEquals(expected.size(), count);
+	}
+
+	@Test
+	public void testLongSet() {
+		LongSet a = LongSet.with(0L, 1L, 2L, 3L, 1L << 40), b = LongSet.with(2L, 3L, 4L, 1L << 40);
+		Assert.assertEquals(LongSet.with(0L, 1L, 2L, 3L, 4L, 1L << 40), LongSet.union(a, b));
+		Assert.assertEquals(LongSet.with(2L, 3L, 1L << 40), LongSet.intersection(a, b));
+		Assert.assertEquals(LongSet.with(0L, 1L), LongSet.difference(a, b));
+		Assert.assertEquals(LongSet.with(0L, 1L, 4L), LongSet.symmetricDifference(a, b));
+		Assert.assertEquals(0.5, LongSet.jaccard(a, b), 0.0);
+		Assert.assertEquals(1.0, LongSet.jaccard(new LongSet(), new LongSet()), 0.0);
+	}
+
+	@Test
+	public void testObjectSet() {
+		ObjectSet<String> a = ObjectSet.with("a", "b", "c", "d", "e");
+		ObjectOrderedSet<String> b = ObjectOrderedSet.with("d", "e", "f");
+		Assert.assertEquals(ObjectSet.with("a", "b", "c", "d", "e", "f"), ObjectSet.union(a, b));
+		Assert.assertEquals(ObjectSet.with("d", "e"), ObjectSet.intersection(a, b));
+		Assert.assertEquals(ObjectSet.with("a", "b", "c"), ObjectSet.difference(a, b));
+		Assert.assertEquals(ObjectSet.with("f"), ObjectSet.difference(b, a));
+		Assert.assertEquals(ObjectSet.with("a", "b", "c", "f"), ObjectSet.symmetricDifference(a, b));
+		Assert.assertEquals(2, ObjectSet.intersectionSize(a, b));
+		Assert.assertEquals(2.0 / 6.0, ObjectSet.jaccard(a, b), 0.0);
+		Assert.assertEquals(5, a.size());
+		Assert.assertEquals(3, b.size());
+
+		// Membership is tested with the contains() of b for difference, and of the larger set for intersection.
+		Assert.assertEquals(ObjectSet.with("c", "d", "e"), ObjectSet.difference(a, CaseInsensitiveSet.with("A", "B")));
+		CaseInsensitiveSet upper = CaseInsensitiveSet.with("A", "B", "W", "X", "Y", "Z");
+		Assert.assertEquals(2, ObjectSet.intersectionSize(a, upper));
+		Assert.assertEquals(ObjectSet.with("a", "b"), ObjectSet.intersection(a, upper));
+	}
+}
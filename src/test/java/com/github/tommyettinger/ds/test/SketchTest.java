@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.CountMinSketch;
+import com.github.tommyettinger.ds.HyperLogLog;
+import com.github.tommyettinger.ds.ObjectIntMap;
+import com.github.tommyettinger.ds.ObjectLongOrderedMap;
+import com.github.tommyettinger.ds.SpaceSavingCounter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class SketchTest {
+	/**
+	 * Roughly Zipf-distributed keys from 0 to 9999; key 0 is the most common.
+	 */
+	private static int zipf (Random random) {
+		return (int)Math.min(9999, Math.floor(Math.pow(10000.0, random.nextDouble()) - 1.0));
+	}
+
+	@Test
+	public void testCountMinSketch () {
+		Random random = new Random(1L);
+		ObjectIntMap<String> exact = new ObjectIntMap<>();
+		CountMinSketch a = new CountMinSketch(2048, 4), b = new CountMinSketch(2048, 4);
+		for (int i = 0; i < 200000; i++) {
+			String key = "k" + zipf(random);
+			exact.getAndIncrement(key, 0, 1);
+			(i % 2 == 0 ? a : b).add(key);
+		}
+		a.merge(b);
+		Assert.assertEquals(200000L, a.getTotal());
+		int bad = 0;
+		for (ObjectIntMap.Entry<String> e : exact) {
+			int est = a.get(e.key);
+			Assert.assertTrue(est >= e.value);
+			if (est - e.value > 2 * 200000 / 2048) {bad++;}
+		}
+		Assert.assertTrue(bad < exact.size() / 20);
+		Assert.assertTrue(a.get("never seen") <= 2 * 200000 / 2048);
+		Assert.assertThrows(IllegalArgumentException.class, () -> a.merge(new CountMinSketch(1024, 4)));
+
+		CountMinSketch longs = new CountMinSketch(256, 3);
+		Assert.assertEquals(0, longs.getAndIncrement(123456789012L, 5));
+		Assert.assertTrue(longs.get(123456789012L) >= 5);
+	}
+
+	@Test
+	public void testHyperLogLog () {
+		for (int n : new int[]{10, 1000, 100000, 2000000}) {
+			HyperLogLog a = new HyperLogLog(), b = new HyperLogLog();
+			for (int i = 0; i < n; i++) {
+				a.add(i * 3L);
+				b.add(i * 3L + (i & 1));
+				b.add("s" + (i & 1023));
+			}
+			HyperLogLog merged = new HyperLogLog(a);
+			merged.merge(b);
+			double err = Math.abs(a.size() - n) / (double)n;
+			Assert.assertTrue("n=" + n + " estimate=" + a.size(), err < 0.05);
+			long expected = n + n / 2 + Math.min(n, 1024);
+			double mergedErr = Math.abs(merged.size() - expected) / (double)expected;
+			Assert.assertTrue("n=" + n + " merged=" + merged.size(), mergedErr < 0.05);
+		}
+		HyperLogLog empty = new HyperLogLog(8);
+		Assert.assertTrue(empty.isEmpty());
+		Assert.assertEquals(0L, empty.size());
+	}
+
+	@Test
+	public void testSpaceSaving () {
+		Random random = new Random(2L);
+		ObjectIntMap<Integer> exact = new ObjectIntMap<>();
+		SpaceSavingCounter<Integer> a = new SpaceSavingCounter<>(200), b = new SpaceSavingCounter<>(200);
+		for (int i = 0; i < 300000; i++) {
+			int key = zipf(random);
+			exact.getAndIncrement(key, 0, 1);
+			(i % 3 == 0 ? a : b).add(key);
+			Assert.assertTrue(a.size() <= 200);
+		}
+		a.merge(b);
+		Assert.assertEquals(300000L, a.getTotal());
+		Assert.assertEquals(200, a.size());
+		ObjectLongOrderedMap<Integer> top = a.top(10);
+		Assert.assertEquals(10, top.size());
+		for (int i = 0; i < 10; i++) {
+			Assert.assertTrue(top.containsKey(i));
+			long est = top.get(i);
+			int truth = exact.get(i);
+			Assert.assertTrue(est >= truth);
+			Assert.assertTrue(est - a.getError(i) <= truth);
+		}
+		long previous = Long.MAX_VALUE;
+		for (int i = 0; i < top.size(); i++) {
+			long v = top.getAt(i);
+			Assert.assertTrue(v <= previous);
+			previous = v;
+		}
+
+		SpaceSavingCounter<String> small = new SpaceSavingCounter<>(2);
+		small.add("x");
+		small.add("x");
+		small.add("y");
+		small.add("z");
+		Assert.assertFalse(small.containsKey("y"));
+		Assert.assertEquals(2L, small.get("z"));
+		Assert.assertEquals(1L, small.getError("z"));
+		Assert.assertEquals(2L, small.get("x"));
+	}
+}
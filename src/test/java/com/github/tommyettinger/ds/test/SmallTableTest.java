@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.CaseInsensitiveMap;
+import com.github.tommyettinger.ds.IdentityObjectMap;
+import com.github.tommyettinger.ds.IntIntMap;
+import com.github.tommyettinger.ds.IntIntOrderedMap;
+import com.github.tommyettinger.ds.IntSet;
+import com.github.tommyettinger.ds.ObjectObjectMap;
+import com.github.tommyettinger.ds.ObjectObjectOrderedMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+public class SmallTableTest {
+	@Test
+	public void testLazyAllocation () {
+		ObjectObjectMap<String, String> map = new ObjectObjectMap<>();
+		int tableSize = map.getTableSize();
+		Assert.assertNull(map.get("a"));
+		Assert.assertNull(map.remove("a"));
+		Assert.assertFalse(map.containsKey("a"));
+		Assert.assertEquals("{}", map.toString());
+		Assert.assertEquals(new ObjectObjectMap<String, String>(map), map);
+		map.put("a", "A");
+		Assert.assertTrue(map.getTableSize() < tableSize);
+		Assert.assertEquals("A", map.get("a"));
+		for (int i = 0; i < 40; i++) {
+			map.put("k" + i, "v");
+			Assert.assertTrue(map.getTableSize() <= 16 || map.getTableSize() == tableSize);
+		}
+		Assert.assertEquals(tableSize, map.getTableSize());
+		Assert.assertEquals("A", map.get("a"));
+
+		IntIntMap ints = new IntIntMap();
+		tableSize = ints.getTableSize();
+		Assert.assertEquals(0, ints.remove(5));
+		Assert.assertEquals(new IntIntMap(ints), ints);
+		ints.put(0, 10);
+		Assert.assertEquals(new IntIntMap(ints), ints);
+		ints.put(5, 50);
+		Assert.assertEquals(50, ints.get(5));
+		Assert.assertTrue(ints.getTableSize() < tableSize);
+		Assert.assertEquals(new IntIntMap(ints), ints);
+		for (int i = 1; i <= 40; i++) {
+			ints.put(i * 7, i);
+		}
+		Assert.assertEquals(tableSize, ints.getTableSize());
+		Assert.assertEquals(5, ints.get(35));
+		Assert.assertEquals(10, ints.get(0));
+
+		IntSet set = new IntSet();
+		Assert.assertFalse(set.contains(3));
+		Assert.assertFalse(set.remove(3));
+		IntSet union = IntSet.union(set, IntSet.with(1, 2, 3));
+		Assert.assertEquals(3, union.size());
+		Assert.assertTrue(set.add(3));
+		Assert.assertEquals(new IntSet(set), set);
+		for (int i = 1; i <= 40; i++) {
+			set.add(i * 7);
+		}
+		Assert.assertEquals(41, set.size());
+		Assert.assertTrue(set.contains(280));
+		Assert.assertEquals(new IntSet(set), set);
+	}
+
+	@Test
+	public void testEnsureCapacityBeforeAllocation () {
+		ObjectObjectMap<String, String> map = new ObjectObjectMap<>();
+		int tableSize = map.getTableSize();
+		map.ensureCapacity(3);
+		Assert.assertEquals(tableSize, map.getTableSize());
+		HashMap<String, String> two = new HashMap<>();
+		two.put("a", "A");
+		two.put("b", "B");
+		map.putAll(two);
+		Assert.assertTrue(map.getTableSize() < tableSize);
+		Assert.assertEquals("A", map.get("a"));
+		ObjectObjectOrderedMap<String, String> ordered = new ObjectObjectOrderedMap<>();
+		ordered.putAll(two);
+		Assert.assertTrue(ordered.getTableSize() < tableSize);
+		map.ensureCapacity(tableSize * 4);
+		Assert.assertTrue(map.getTableSize() > tableSize);
+		Assert.assertEquals("B", map.get("b"));
+
+		IntIntMap ints = new IntIntMap();
+		tableSize = ints.getTableSize();
+		ints.ensureCapacity(3);
+		ints.put(1, 10);
+		ints.put(2, 20);
+		Assert.assertTrue(ints.getTableSize() < tableSize);
+		IntIntOrderedMap orderedInts = new IntIntOrderedMap();
+		orderedInts.ensureCapacity(2);
+		orderedInts.putAll(ints);
+		Assert.assertTrue(orderedInts.getTableSize() < tableSize);
+		orderedInts.ensureCapacity(tableSize);
+		Assert.assertTrue(orderedInts.getTableSize() > tableSize);
+		Assert.assertEquals(20, orderedInts.get(2));
+
+		IntSet set = new IntSet();
+		set.ensureCapacity(3);
+		set.addAll(1, 2);
+		Assert.assertTrue(set.contains(2));
+		Assert.assertEquals(2, set.size());
+	}
+
+	@Test
+	public void testSmallObjectObjectMap () {
+		Random random = new Random(1L);
+		ObjectObjectMap<Integer, Integer> map = new ObjectObjectOrderedMap<>(3);
+		HashMap<Integer, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 20000; i++) {
+			int k = random.nextInt(i < 10000 ? 12 : 40);
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(expected.remove(k), map.remove(k));
+			} else {
+				Assert.assertEquals(expected.put(k, i), map.put(k, i));
+			}
+			Assert.assertEquals(expected.size(), map.size());
+			Assert.assertEquals(expected.get(k), map.get(k));
+			if (i % 1000 == 999) {
+				map.shrink(0);
+				Assert.assertEquals(expected, new HashMap<>(map));
+			}
+		}
+		ObjectObjectMap<Integer, Integer> small = new ObjectObjectMap<>(4);
+		for (int i = 0; i < 8; i++) {
+			small.put(i, i);
+		}
+		Iterator<Map.Entry<Integer, Integer>> it = small.iterator();
+		while (it.hasNext()) {
+			if ((it.next().getKey() & 1) == 0) it.remove();
+		}
+		Assert.assertEquals(4, small.size());
+		for (int i = 0; i < 8; i++) {
+			Assert.assertEquals((i & 1) == 1, small.containsKey(i));
+		}
+	}
+
+	@Test
+	public void testSmallSubclasses () {
+		IdentityObjectMap<String, Integer> identity = new IdentityObjectMap<>(2);
+		String a = "a", other = new String("a");
+		identity.put(a, 1);
+		identity.put(other, 2);
+		Assert.assertEquals(2, identity.size());
+		Assert.assertEquals(Integer.valueOf(2), identity.get(other));
+
+		CaseInsensitiveMap<Integer> ci = new CaseInsensitiveMap<>(2);
+		ci.put("Hello", 1);
+		ci.put("HELLO", 2);
+		Assert.assertEquals(1, ci.size());
+		Assert.assertEquals(Integer.valueOf(2), ci.get("hello"));
+	}
+
+	@Test
+	public void testSmallPrimitives () {
+		Random random = new Random(2L);
+		IntIntMap map = new IntIntMap(2);
+		IntSet set = new IntSet(2);
+		HashMap<Integer, Integer> expectedMap = new HashMap<>();
+		HashSet<Integer> expectedSet = new HashSet<>();
+		for (int i = 0; i < 20000; i++) {
+			int k = random.nextInt(i < 10000 ? 12 : 40) - 3;
+			if (random.nextInt(3) == 0) {
+				Integer old = expectedMap.remove(k);
+				Assert.assertEquals(old == null ? 0 : old, map.remove(k));
+				Assert.assertEquals(expectedSet.remove(k), set.remove(k));
+			} else {
+				Integer old = expectedMap.put(k, i);
+				Assert.assertEquals(old == null ? 0 : old, map.put(k, i));
+				Assert.assertEquals(expectedSet.add(k), set.add(k));
+			}
+			Assert.assertEquals(expectedMap.size(), map.size());
+			Assert.assertEquals(expectedSet.size(), set.size());
+			Assert.assertEquals(expectedMap.containsKey(k), map.containsKey(k));
+			Assert.assertEquals(expectedSet.contains(k), set.contains(k));
+			if (i % 1000 == 999) {
+				map.shrink(0);
+				set.shrink(0);
+				for (int j = -3; j < 37; j++) {
+					Assert.assertEquals(expectedMap.getOrDefault(j, -1).intValue(), map.getOrDefault(j, -1));
+					Assert.assertEquals(expectedSet.contains(j), set.contains(j));
+				}
+			}
+		}
+	}
+}
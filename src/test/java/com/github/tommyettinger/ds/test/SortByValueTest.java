@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.EnumIntOrderedMap;
+import com.github.tommyettinger.ds.IntIntOrderedMap;
+import com.github.tommyettinger.ds.IntList;
+import com.github.tommyettinger.ds.ObjectFloatOrderedMap;
+import com.github.tommyettinger.ds.ObjectList;
+import com.github.tommyettinger.ds.ObjectObjectOrderedMap;
+import com.github.tommyettinger.ds.support.sort.IntComparators;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+public class SortByValueTest {
+	@Test
+	public void testIntIntStable() {
+		Random random = new Random(123L);
+		IntIntOrderedMap map = new IntIntOrderedMap();
+		for (int i = 0; i < 500; i++) {
+			map.put(random.nextInt(), random.nextInt(20));
+		}
+		ArrayList<Integer> expected = new ArrayList<>(map.size());
+		for (int i = 0; i < map.size(); i++) expected.add(map.order().get(i));
+		expected.sort(Comparator.comparingInt(map::get));
+		map.sortByValue(IntComparators.NATURAL_COMPARATOR);
+		IntList order = map.order();
+		Assert.assertEquals(expected.size(), order.size());
+		for (int i = 0; i < order.size(); i++) {
+			Assert.assertEquals((int)expected.get(i), order.get(i));
+		}
+		map.sortByValue(IntComparators.OPPOSITE_COMPARATOR);
+		for (int i = 1; i < order.size(); i++) {
+			Assert.assertTrue(map.get(order.get(i - 1)) >= map.get(order.get(i)));
+		}
+	}
+
+	@Test
+	public void testObjectFloat() {
+		ObjectFloatOrderedMap<String> map = new ObjectFloatOrderedMap<>();
+		map.put("d", 4f);
+		map.put("a", 1f);
+		map.put("c", 3f);
+		map.put("b", 1f);
+		map.sortByValue((a, b) -> Float.compare(a, b));
+		Assert.assertEquals(ObjectList.with("a", "b", "c", "d"), map.order());
+		Assert.assertEquals(3f, map.getAt(2), 0f);
+	}
+
+	@Test
+	public void testObjectObjectNatural() {
+		ObjectObjectOrderedMap<Integer, String> map = new ObjectObjectOrderedMap<>();
+		for (int i = 0; i < 100; i++) {
+			map.put(i, "v" + (99 - i) / 10);
+		}
+		map.sortByValue(null);
+		ObjectList<Integer> order = map.order();
+		for (int i = 1; i < order.size(); i++) {
+			int c = map.get(order.get(i - 1)).compareTo(map.get(order.get(i)));
+			Assert.assertTrue(c <= 0);
+			// ties keep their original (ascending key) order
+			if (c == 0) Assert.assertTrue(order.get(i - 1) < order.get(i));
+		}
+		Assert.assertEquals(Integer.valueOf(90), order.first());
+	}
+
+	@Test
+	public void testEnumInt() {
+		EnumIntOrderedMap map = new EnumIntOrderedMap(TimeUnit.class);
+		map.put(TimeUnit.SECONDS, 3);
+		map.put(TimeUnit.DAYS, -1);
+		map.put(TimeUnit.HOURS, 3);
+		map.put(TimeUnit.NANOSECONDS, 0);
+		map.sortByValue(IntComparators.NATURAL_COMPARATOR);
+		Assert.assertEquals(ObjectList.with(TimeUnit.DAYS, TimeUnit.NANOSECONDS, TimeUnit.SECONDS, TimeUnit.HOURS),
+			map.order());
+	}
+
+	@Test
+	public void testArgsort() {
+		final int[] items = {5, 1, 4, 1, 5, 9, 2, 6, 5, 3};
+		int[] order = IntComparators.argsort(items.length, (a, b) -> Integer.compare(items[a], items[b]));
+		Assert.assertArrayEquals(new int[]{1, 3, 6, 9, 2, 0, 4, 8, 7, 5}, order);
+		int[] copy = items.clone();
+		IntComparators.mergeSort(copy, 2, 8, IntComparators.NATURAL_COMPARATOR);
+		Assert.assertArrayEquals(new int[]{5, 1, 1, 2, 4, 5, 6, 9, 5, 3}, copy);
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.DoubleList;
+import com.github.tommyettinger.ds.IntDeque;
+import com.github.tommyettinger.ds.IntIntMap;
+import com.github.tommyettinger.ds.IntList;
+import com.github.tommyettinger.ds.LongDeque;
+import com.github.tommyettinger.ds.LongList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class SortedListOpsTest {
+	private static IntList sortedRandom(Random random, int size, int bound) {
+		IntList list = new IntList(size);
+		for (int i = 0; i < size; i++) list.add(random.nextInt(bound));
+		list.sort();
+		return list;
+	}
+
+	/**
+	 * Copies list into an IntDeque whose head is not at index 0, by adding the first half with addFirst().
+	 */
+	private static IntDeque wrapped(IntList list) {
+		IntDeque deque = new IntDeque(list.size() + 4);
+		int half = list.size() / 2;
+		for (int i = half; i < list.size(); i++) deque.addLast(list.get(i));
+		for (int i = half - 1; i >= 0; i--) deque.addFirst(list.get(i));
+		return deque;
+	}
+
+	private static IntIntMap counts(IntList list) {
+		IntIntMap map = new IntIntMap(list.size());
+		for (int i = 0; i < list.size(); i++) map.getAndIncrement(list.get(i), 0, 1);
+		return map;
+	}
+
+	/**
+	 * Builds the expected sorted multiset result, given how many times each item in range should appear.
+	 */
+	private interface Multiplicity {
+		int of(int a, int b);
+	}
+
+	private static IntList expected(IntList a, IntList b, int bound, Multiplicity mult) {
+		IntIntMap ca = counts(a), cb = counts(b);
+		IntList out = new IntList();
+		for (int v = 0; v < bound; v++) {
+			for (int c = mult.of(ca.get(v), cb.get(v)); c > 0; c--) out.add(v);
+		}
+		return out;
+	}
+
+	@Test
+	public void testPairwise() {
+		Random random = new Random(42L);
+		int[][] sizes = {{0, 10}, {50, 60}, {10, 5000}, {5000, 10}, {1000, 1000}, {3, 40000}};
+		for (int[] sz : sizes) {
+			int bound = Math.max(sz[0], sz[1]) / 2 + 2;
+			IntList a = sortedRandom(random, sz[0], bound), b = sortedRandom(random, sz[1], bound);
+			Assert.assertEquals(expected(a, b, bound, Math::min), a.intersectSorted(b, new IntList()));
+			Assert.assertEquals(expected(a, b, bound, Math::max), a.unionSorted(b, new IntList()));
+			Assert.assertEquals(expected(a, b, bound, Integer::sum), a.mergeSorted(b, new IntList()));
+			Assert.assertEquals(expected(a, b, bound, (x, y) -> Math.max(0, x - y)), a.differenceSorted(b, new IntList()));
+		}
+		IntList dest = IntList.with(-1);
+		IntList.with(1, 2, 3).intersectSorted(IntList.with(2, 3, 4), dest);
+		Assert.assertEquals(IntList.with(-1, 2, 3), dest);
+	}
+
+	@Test
+	public void testIntersectAll() {
+		Random random = new Random(7L);
+		IntList a = sortedRandom(random, 20000, 30000);
+		IntList b = sortedRandom(random, 300, 30000);
+		IntList c = sortedRandom(random, 20000, 30000);
+		IntList pairwise = a.intersectSorted(b, new IntList()).intersectSorted(c, new IntList());
+		Assert.assertEquals(pairwise, IntList.intersectAllSorted(new IntList(), a, b, c));
+		Assert.assertEquals(IntList.with(2, 2, 5), IntList.intersectAllSorted(new IntList(),
+			IntList.with(1, 2, 2, 2, 5, 9), IntList.with(2, 2, 5), IntList.with(0, 2, 2, 3, 5, 5)));
+		Assert.assertEquals(0, IntList.intersectAllSorted(new IntList(), a, new IntList()).size());
+		Assert.assertEquals(a, IntList.intersectAllSorted(new IntList(), a));
+	}
+
+	@Test
+	public void testSearch() {
+		LongList list = LongList.with(1L, 3L, 3L, 3L, 7L);
+		Assert.assertEquals(1, list.lowerBound(3L));
+		Assert.assertEquals(4, list.upperBound(3L));
+		Assert.assertEquals(4, list.lowerBound(4L));
+		Assert.assertEquals(5, list.upperBound(7L));
+		Assert.assertEquals(0, list.lowerBound(-9L));
+		Assert.assertEquals(-5, list.binarySearch(4L));
+
+		DoubleList doubles = DoubleList.with(-0.0, 0.0, 1.5, Double.NaN);
+		Assert.assertEquals(1, doubles.lowerBound(0.0));
+		Assert.assertEquals(3, doubles.lowerBound(Double.NaN));
+		// DoubleList.equals() uses ==, which never matches NaN, so this compares the arrays.
+		Assert.assertArrayEquals(new double[]{0.0, Double.NaN},
+			doubles.intersectSorted(DoubleList.with(0.0, 2.0, Double.NaN), new DoubleList()).toArray(), 0.0);
+		Assert.assertArrayEquals(new double[]{-0.0, 1.5},
+			doubles.differenceSorted(DoubleList.with(0.0, 2.0, Double.NaN), new DoubleList()).toArray(), 0.0);
+	}
+
+	@Test
+	public void testWrappedDeques() {
+		Random random = new Random(99L);
+		int[][] sizes = {{0, 10}, {50, 60}, {10, 5000}, {5000, 10}, {1000, 1000}};
+		for (int[] sz : sizes) {
+			int bound = Math.max(sz[0], sz[1]) / 2 + 2;
+			IntList a = sortedRandom(random, sz[0], bound), b = sortedRandom(random, sz[1], bound);
+			IntList inter = a.intersectSorted(b, new IntList()), union = a.unionSorted(b, new IntList()),
+				merge = a.mergeSorted(b, new IntList()), diff = a.differenceSorted(b, new IntList());
+			Assert.assertEquals(inter, wrapped(a).intersectSorted(b, new IntList()));
+			Assert.assertEquals(inter, a.intersectSorted(wrapped(b), new IntList()));
+			Assert.assertEquals(union, wrapped(a).unionSorted(wrapped(b), new IntList()));
+			Assert.assertEquals(merge, wrapped(a).mergeSorted(b, new IntList()));
+			Assert.assertEquals(merge, a.mergeSorted(wrapped(b), new IntList()));
+			Assert.assertEquals(diff, wrapped(a).differenceSorted(wrapped(b), new IntList()));
+
+			IntDeque dest = wrapped(IntList.with(-3, -2, -1));
+			wrapped(a).unionSorted(b, dest);
+			IntList expected = IntList.with(-3, -2, -1);
+			expected.addAll(union);
+			Assert.assertEquals(expected, new IntList(dest.toArray()));
+			Assert.assertEquals(expected.size(), dest.size());
+			Assert.assertEquals(-3, dest.first());
+			if (union.notEmpty()) Assert.assertEquals(union.get(union.size() - 1), dest.last());
+		}
+
+		IntList a = sortedRandom(random, 2000, 3000), b = sortedRandom(random, 40, 3000), c = sortedRandom(random, 2000, 3000);
+		IntList all = IntList.intersectAllSorted(new IntList(), a, b, c);
+		Assert.assertEquals(all, IntList.intersectAllSorted(new IntList(), wrapped(a), wrapped(b), wrapped(c)));
+		IntDeque dest = wrapped(IntList.with(-1, -1));
+		IntList.intersectAllSorted(dest, a, wrapped(b), c);
+		IntList expected = IntList.with(-1, -1);
+		expected.addAll(all);
+		Assert.assertEquals(expected, new IntList(dest.toArray()));
+
+		IntDeque deque = wrapped(IntList.with(1, 3, 3, 3, 7));
+		Assert.assertEquals(1, deque.lowerBound(3));
+		Assert.assertEquals(4, deque.upperBound(3));
+		Assert.assertEquals(-5, deque.binarySearch(4));
+		Assert.assertEquals(4, deque.binarySearch(7));
+		Assert.assertEquals(IntList.with(1, 3, 3, 3, 7), new IntList(deque.toArray()));
+		deque.addFirst(0);
+		Assert.assertEquals(0, deque.binarySearch(0));
+		Assert.assertEquals(2, deque.lowerBound(3));
+
+		// Appending past the capacity of a deque whose head isn't at 0 has to move the head to 0.
+		IntDeque shifted = new IntDeque(4);
+		shifted.addAll(IntList.with(1, 2, 3));
+		shifted.removeFirst();
+		shifted.addAll(IntList.with(4, 5, 6, 7));
+		Assert.assertEquals(IntList.with(2, 3, 4, 5, 6, 7), new IntList(shifted.toArray()));
+		Assert.assertEquals(7, shifted.last());
+
+		LongDeque longs = new LongDeque(8);
+		longs.addLast(30L);
+		longs.addLast(40L);
+		longs.addFirst(20L);
+		longs.addFirst(10L);
+		Assert.assertEquals(2, longs.binarySearch(30L));
+		Assert.assertEquals(LongList.with(20L, 30L), longs.intersectSorted(LongList.with(5L, 20L, 30L), new LongList()));
+	}
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.IntIntMap;
+import com.github.tommyettinger.ds.IntIntSortedMap;
+import com.github.tommyettinger.ds.IntList;
+import com.github.tommyettinger.ds.IntSet;
+import com.github.tommyettinger.ds.IntSortedSet;
+import com.github.tommyettinger.ds.LongObjectMap;
+import com.github.tommyettinger.ds.LongObjectSortedMap;
+import com.github.tommyettinger.ds.LongSortedSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class SortedMapTest {
+	private static void checkSame(TreeMap<Integer, Integer> expected, IntIntSortedMap actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		Iterator<Map.Entry<Integer, Integer>> it = expected.entrySet().iterator();
+		for (IntIntMap.Entry e : actual) {
+			Map.Entry<Integer, Integer> x = it.next();
+			Assert.assertEquals((int)x.getKey(), e.key);
+			Assert.assertEquals((int)x.getValue(), e.value);
+		}
+		Assert.assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void testRandomIntInt() {
+		Random random = new Random(123L);
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		IntIntSortedMap actual = new IntIntSortedMap();
+		actual.defaultValue = -1;
+		for (int i = 0; i < 50000; i++) {
+			int key = random.nextInt(5000) - 2500, value = random.nextInt();
+			if (random.nextInt(3) == 0) {
+				Integer old = expected.remove(key);
+				Assert.assertEquals(old == null ? -1 : old, actual.remove(key));
+			} else {
+				Integer old = expected.put(key, value);
+				Assert.assertEquals(old == null ? -1 : old, actual.put(key, value));
+			}
+		}
+		checkSame(expected, actual);
+		Assert.assertEquals((int)expected.firstKey(), actual.firstKey());
+		Assert.assertEquals((int)expected.lastKey(), actual.lastKey());
+		for (int key = -2600; key <= 2600; key += 7) {
+			Integer f = expected.floorKey(key), l = expected.lowerKey(key), c = expected.ceilingKey(key), h = expected.higherKey(key);
+			Assert.assertEquals(f == null ? 9999 : f, actual.floorKey(key, 9999));
+			Assert.assertEquals(l == null ? 9999 : l, actual.lowerKey(key, 9999));
+			Assert.assertEquals(c == null ? 9999 : c, actual.ceilingKey(key, 9999));
+			Assert.assertEquals(h == null ? 9999 : h, actual.higherKey(key, 9999));
+			Assert.assertEquals(expected.containsKey(key), actual.containsKey(key));
+		}
+		for (int i = 0; i < 200; i++) {
+			int a = random.nextInt(6000) - 3000, b = random.nextInt(6000) - 3000;
+			int lo = Math.min(a, b), hi = Math.max(a, b);
+			SortedMap<Integer, Integer> sub = expected.subMap(lo, hi);
+			IntIntSortedMap.SubMap view = actual.subMap(lo, hi);
+			Assert.assertEquals(sub.size(), view.size());
+			Assert.assertEquals(sub.isEmpty(), view.isEmpty());
+			IntList keys = view.keys().toList();
+			Assert.assertEquals(sub.size(), keys.size());
+			int j = 0;
+			for (int k : sub.keySet()) Assert.assertEquals(k, keys.get(j++));
+			if (!sub.isEmpty()) {
+				Assert.assertEquals((int)sub.firstKey(), view.firstKey());
+				Assert.assertEquals((int)sub.lastKey(), view.lastKey());
+			}
+			Assert.assertEquals(expected.headMap(hi).size(), actual.headMap(hi).size());
+			Assert.assertEquals(expected.tailMap(lo).size(), actual.tailMap(lo).size());
+		}
+		Assert.assertEquals(0, actual.subMap(100, -100).size());
+		Assert.assertTrue(actual.subMap(100, -100).isEmpty());
+
+		IntIntSortedMap copy = new IntIntSortedMap(actual);
+		Assert.assertEquals(actual, copy);
+		Assert.assertEquals(actual.hashCode(), copy.hashCode());
+
+		actual.subMap(-1000, 1000).clear();
+		expected.subMap(-1000, 1000).clear();
+		checkSame(expected, actual);
+		IntIntSortedMap.EntryIterator it = actual.iterator();
+		while (it.hasNext()) {
+			if ((it.next().key & 1) == 0) it.remove();
+		}
+		expected.keySet().removeIf(k -> (k & 1) == 0);
+		checkSame(expected, actual);
+		Assert.assertNotEquals(actual, copy);
+		try {
+			actual.subMap(0, 10).put(10, 1);
+			Assert.fail("Putting outside a view's range should throw.");
+		} catch (IllegalArgumentException ignored) {
+		}
+	}
+
+	@Test
+	public void testBulkLoad() {
+		int n = 100000;
+		int[] keys = new int[n], values = new int[n];
+		for (int i = 0; i < n; i++) {
+			keys[i] = i * 3 - n;
+			values[i] = i;
+		}
+		IntIntSortedMap map = new IntIntSortedMap(keys, values);
+		Assert.assertEquals(n, map.size());
+		for (int i = 0; i < n; i++) {
+			Assert.assertEquals(i, map.get(keys[i]));
+		}
+		IntIntSortedMap.EntryIterator range = map.iterator(0, 300);
+		int count = 0;
+		while (range.hasNext()) {
+			IntIntMap.Entry e = range.next();
+			Assert.assertTrue(e.key >= 0 && e.key < 300);
+			count++;
+		}
+		Assert.assertEquals(map.subMap(0, 300).size(), count);
+		for (int i = 0; i < n; i += 2) {
+			map.put(keys[i] + 1, -i);
+		}
+		for (int i = 0; i < n; i += 3) {
+			Assert.assertEquals(i, map.remove(keys[i]));
+		}
+		for (int i = 0; i < n; i++) {
+			Assert.assertEquals(i % 3 != 0, map.containsKey(keys[i]));
+			if ((i & 1) == 0) Assert.assertEquals(-i, map.get(keys[i] + 1));
+		}
+		try {
+			map.putAllSorted(new int[]{1, 3, 2}, new int[3]);
+			Assert.fail("Unsorted keys should throw.");
+		} catch (IllegalArgumentException ignored) {
+		}
+	}
+
+	@Test
+	public void testLongObject() {
+		Random random = new Random(456L);
+		TreeMap<Long, String> expected = new TreeMap<>();
+		LongObjectSortedMap<String> actual = new LongObjectSortedMap<>();
+		for (int i = 0; i < 20000; i++) {
+			long key = random.nextLong() >> 50;
+			if (random.nextBoolean()) {
+				Assert.assertEquals(expected.remove(key), actual.remove(key));
+			} else {
+				String value = "v" + i;
+				Assert.assertEquals(expected.put(key, value), actual.put(key, value));
+			}
+		}
+		Assert.assertEquals(expected.size(), actual.size());
+		Iterator<Map.Entry<Long, String>> it = expected.entrySet().iterator();
+		for (LongObjectMap.Entry<String> e : actual) {
+			Map.Entry<Long, String> x = it.next();
+			Assert.assertEquals((long)x.getKey(), e.key);
+			Assert.assertEquals(x.getValue(), e.value);
+		}
+		Iterator<String> values = actual.values();
+		for (String v : expected.values()) {
+			Assert.assertEquals(v, values.next());
+		}
+		Assert.assertFalse(values.hasNext());
+		Assert.assertTrue(actual.containsValue(expected.firstEntry().getValue()));
+		Assert.assertNull(actual.get(Long.MAX_VALUE));
+		Long c = expected.ceilingKey(0L);
+		Assert.assertEquals(c == null ? Long.MIN_VALUE : c, actual.ceilingKey(0L, Long.MIN_VALUE));
+		Assert.assertEquals(new LongObjectSortedMap<>(actual), actual);
+	}
+
+	@Test
+	public void testSets() {
+		Random random = new Random(789L);
+		TreeSet<Integer> expected = new TreeSet<>();
+		IntSortedSet actual = new IntSortedSet();
+		IntSet hashed = new IntSet();
+		for (int i = 0; i < 30000; i++) {
+			int item = random.nextInt(4000);
+			if (random.nextInt(4) == 0) {
+				Assert.assertEquals(expected.remove(item), actual.remove(item));
+				hashed.remove(item);
+			} else {
+				Assert.assertEquals(expected.add(item), actual.add(item));
+				hashed.add(item);
+			}
+		}
+		Assert.assertEquals(expected.size(), actual.size());
+		Assert.assertEquals(hashed, actual);
+		Assert.assertEquals(hashed.hashCode(), actual.hashCode());
+		Assert.assertEquals((int)expected.first(), actual.first());
+		Assert.assertEquals((int)expected.last(), actual.last());
+		for (int item = -10; item < 4010; item += 3) {
+			Integer f = expected.floor(item), h = expected.higher(item);
+			Assert.assertEquals(f == null ? -1 : f, actual.floor(item, -1));
+			Assert.assertEquals(h == null ? -1 : h, actual.higher(item, -1));
+		}
+		Assert.assertEquals(expected.subSet(1000, 2000).size(), actual.subSet(1000, 2000).size());
+		Assert.assertEquals(expected.headSet(1000).size(), actual.headSet(1000).size());
+		actual.tailSet(3000).clear();
+		expected.tailSet(3000).clear();
+		Assert.assertEquals(expected.size(), actual.size());
+		Assert.assertEquals(expected.last().intValue(), actual.last());
+
+		long[] sorted = new long[1000];
+		for (int i = 0; i < sorted.length; i++) sorted[i] = i * 10L - 5000L;
+		LongSortedSet longs = new LongSortedSet(sorted);
+		Assert.assertEquals(1000, longs.size());
+		Assert.assertTrue(longs.contains(-5000L));
+		Assert.assertFalse(longs.contains(-4999L));
+		Assert.assertEquals(-4990L, longs.higher(-5000L, 0L));
+		Assert.assertEquals(5, longs.subSet(0L, 50L).size());
+		Assert.assertEquals(new LongSortedSet(longs), longs);
+	}
+}
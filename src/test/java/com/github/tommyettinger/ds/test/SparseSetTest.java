@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.IntObjectMap;
+import com.github.tommyettinger.ds.IntObjectSparseMap;
+import com.github.tommyettinger.ds.IntSet;
+import com.github.tommyettinger.ds.IntSparseSet;
+import com.github.tommyettinger.ds.support.util.IntIterator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+
+public class SparseSetTest {
+	@Test
+	public void testIntSparseSet () {
+		Random random = new Random(1L);
+		IntSparseSet set = new IntSparseSet(4);
+		HashSet<Integer> expected = new HashSet<>();
+		for (int i = 0; i < 50000; i++) {
+			int item = random.nextInt(i < 25000 ? 3000 : 200000);
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(expected.remove(item), set.remove(item));
+			} else {
+				Assert.assertEquals(expected.add(item), set.add(item));
+			}
+			Assert.assertEquals(expected.size(), set.size());
+			Assert.assertEquals(expected.contains(item), set.contains(item));
+			if (i == 30000) {
+				set.clear();
+				expected.clear();
+				Assert.assertFalse(set.contains(item));
+			}
+		}
+		IntSet hashed = new IntSet(set);
+		Assert.assertEquals(hashed, set);
+		Assert.assertEquals(set, hashed);
+		Assert.assertEquals(hashed.hashCode(), set.hashCode());
+		Assert.assertEquals(set, new IntSparseSet(set));
+		for (int i = 0; i < set.size(); i++) {
+			Assert.assertEquals(i, set.indexOf(set.getAt(i)));
+		}
+
+		IntIterator it = set.iterator();
+		int seen = 0;
+		while (it.hasNext()) {
+			int item = it.nextInt();
+			Assert.assertTrue(expected.contains(item));
+			seen++;
+			if ((item & 1) == 0) {
+				it.remove();
+				expected.remove(item);
+			}
+		}
+		Assert.assertEquals(hashed.size(), seen);
+		Assert.assertEquals(expected.size(), set.size());
+		for (int item : expected) {
+			Assert.assertTrue(set.contains(item));
+		}
+		Assert.assertFalse(set.contains(-1));
+		Assert.assertFalse(set.remove(-5));
+		Assert.assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+		set.clear(0);
+		Assert.assertTrue(set.isEmpty());
+		Assert.assertTrue(set.add(Integer.MAX_VALUE));
+		Assert.assertTrue(set.contains(Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void testIntObjectSparseMap () {
+		Random random = new Random(2L);
+		IntObjectSparseMap<String> map = new IntObjectSparseMap<>(2);
+		HashMap<Integer, String> expected = new HashMap<>();
+		for (int i = 0; i < 50000; i++) {
+			int key = random.nextInt(i < 25000 ? 1000 : 100000);
+			String value = "v" + i;
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(expected.remove(key), map.remove(key));
+			} else {
+				Assert.assertEquals(expected.put(key, value), map.put(key, value));
+			}
+			Assert.assertEquals(expected.size(), map.size());
+			Assert.assertEquals(expected.get(key), map.get(key));
+		}
+		IntObjectMap<String> hashed = new IntObjectMap<>();
+		for (IntObjectMap.Entry<String> e : map) {
+			Assert.assertEquals(expected.get(e.key), e.value);
+			hashed.put(e.key, e.value);
+		}
+		Assert.assertEquals(hashed.size(), map.size());
+		Assert.assertEquals(hashed.hashCode(), map.hashCode());
+		IntObjectSparseMap<String> copy = new IntObjectSparseMap<>(hashed);
+		Assert.assertEquals(map, copy);
+		Assert.assertEquals(map, new IntObjectSparseMap<>(map));
+		Assert.assertEquals(hashed.keySet(), map.keySet());
+		Assert.assertEquals(expected.size(), map.values().size());
+		for (int i = 0; i < map.size(); i++) {
+			Assert.assertEquals(expected.get(map.keyAt(i)), map.getAt(i));
+		}
+
+		Iterator<String> values = map.values().iterator();
+		while (values.hasNext()) {
+			String v = values.next();
+			if (v.hashCode() % 3 == 0) {values.remove();}
+		}
+		for (IntObjectMap.Entry<String> e : map) {
+			Assert.assertNotEquals(0, e.value.hashCode() % 3);
+		}
+		int k = map.keyAt(0);
+		Assert.assertEquals(k, map.findKey(map.get(k), -1));
+		Assert.assertTrue(map.containsValue(map.get(k)));
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertNull(map.get(k));
+		Assert.assertThrows(IllegalArgumentException.class, () -> map.put(-3, "x"));
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tommyettinger.ds.test;
+
+import com.github.tommyettinger.ds.SpatialHashGrid;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+public class SpatialHashGridTest {
+	private static HashSet<Integer> bruteBox (HashMap<Integer, float[]> points, float[] min, float[] max) {
+		HashSet<Integer> found = new HashSet<>();
+		for (Map.Entry<Integer, float[]> e : points.entrySet()) {
+			float[] p = e.getValue();
+			boolean in = true;
+			for (int d = 0; d < 3; d++) {in &= p[d] >= min[d] && p[d] <= max[d];}
+			if (in) {found.add(e.getKey());}
+		}
+		return found;
+	}
+
+	private static HashSet<Integer> bruteRadius (HashMap<Integer, float[]> points, float[] c, float r) {
+		HashSet<Integer> found = new HashSet<>();
+		for (Map.Entry<Integer, float[]> e : points.entrySet()) {
+			float[] p = e.getValue();
+			float dx = p[0] - c[0], dy = p[1] - c[1], dz = p[2] - c[2];
+			if (dx * dx + dy * dy + dz * dz <= r * r) {found.add(e.getKey());}
+		}
+		return found;
+	}
+
+	private static void check (int dimensions, long seed) {
+		Random random = new Random(seed);
+		SpatialHashGrid<Integer> grid = new SpatialHashGrid<>(8f, dimensions, 4);
+		HashMap<Integer, float[]> points = new HashMap<>();
+		for (int round = 0; round < 40; round++) {
+			for (int n = 0; n < 100; n++) {
+				int id = random.nextInt(600);
+				int op = random.nextInt(8);
+				if (op == 0) {
+					Assert.assertEquals(points.remove(id) != null, grid.remove(id));
+				} else {
+					float[] p = {random.nextFloat() * 200f - 100f, random.nextFloat() * 200f - 100f,
+						dimensions == 3 ? random.nextFloat() * 60f - 30f : 0f};
+					Assert.assertEquals(points.put(id, p) == null, grid.put(id, p[0], p[1], p[2]));
+				}
+			}
+			Assert.assertEquals(points.size(), grid.size());
+			if (round % 5 == 4) {
+				for (Map.Entry<Integer, float[]> e : points.entrySet()) {
+					float[] p = e.getValue();
+					p[0] += random.nextFloat() * 20f - 10f;
+					p[1] += random.nextFloat() * 20f - 10f;
+					if (dimensions == 3) {p[2] += random.nextFloat() * 20f - 10f;}
+					grid.setPositionAt(grid.indexOf(e.getKey()), p[0], p[1], p[2]);
+				}
+				grid.rebin();
+			}
+			for (int q = 0; q < 20; q++) {
+				float[] c = {random.nextFloat() * 220f - 110f, random.nextFloat() * 220f - 110f,
+					dimensions == 3 ? random.nextFloat() * 60f - 30f : 0f};
+				float r = random.nextFloat() * (q == 0 ? 400f : 30f);
+				float[] min = {c[0] - r, c[1] - r * 0.5f, dimensions == 3 ? c[2] - r : 0f};
+				float[] max = {c[0] + r * 0.75f, c[1] + r, dimensions == 3 ? c[2] + r : 0f};
+				Assert.assertEquals(bruteBox(points, min, max),
+					grid.queryBox(min[0], min[1], min[2], max[0], max[1], max[2], new HashSet<>()));
+				Assert.assertEquals(bruteRadius(points, c, r), grid.queryRadius(c[0], c[1], c[2], r, new HashSet<>()));
+				HashSet<Integer> near = grid.neighbors(c[0], c[1], c[2], new HashSet<>());
+				Assert.assertTrue(near.containsAll(bruteRadius(points, c, 8f)));
+				for (int id : near) {
+					float[] p = points.get(id);
+					for (int d = 0; d < dimensions; d++) {
+						Assert.assertTrue(Math.abs(Math.floor(p[d] / 8f) - Math.floor(c[d] / 8f)) <= 1);
+					}
+				}
+			}
+		}
+		grid.clear();
+		Assert.assertTrue(grid.isEmpty());
+		Assert.assertEquals(0, grid.getCellCount());
+		Assert.assertTrue(grid.queryRadius(0f, 0f, 0f, 1000f, new HashSet<>()).isEmpty());
+	}
+
+	@Test
+	public void testGrid2D () {
+		check(2, 1L);
+	}
+
+	@Test
+	public void testGrid3D () {
+		check(3, 2L);
+	}
+
+	@Test
+	public void testPacking () {
+		int[] values = {0, 1, -1, 12345, -1048576, 1048575};
+		for (int x : values) {
+			for (int y : values) {
+				long k2 = SpatialHashGrid.packCell(x, y);
+				Assert.assertEquals(x, SpatialHashGrid.unpackCellX(k2, 2));
+				Assert.assertEquals(y, SpatialHashGrid.unpackCellY(k2, 2));
+				for (int z : values) {
+					long k3 = SpatialHashGrid.packCell(x, y, z);
+					Assert.assertEquals(x, SpatialHashGrid.unpackCellX(k3, 3));
+					Assert.assertEquals(y, SpatialHashGrid.unpackCellY(k3, 3));
+					Assert.assertEquals(z, SpatialHashGrid.unpackCellZ(k3, 3));
+				}
+			}
+		}
+	}
+}